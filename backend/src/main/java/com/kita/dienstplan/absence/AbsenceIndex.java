@@ -0,0 +1,319 @@
+package com.kita.dienstplan.absence;
+
+import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+
+import java.math.BigDecimal;
+import java.text.Collator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Interval index over absence ranges, grouped by staff member.
+ * Each staff member's ranges are sorted by start date with a running maximum of end dates,
+ * so "which absence covers this staff member on this day" is a binary search plus a short
+ * backwards scan that stops as soon as no earlier range can reach the day.
+ * Where ranges overlap, the one starting last wins.
+ *
+ * The overlay methods merge ranges into the per-day shapes the read paths already use
+ * (matrix rows, ledger rows, entry DTOs): a covered 'normal' entry takes the absence's status
+ * with no working time, and covered days without any entry are added. Ranges are expanded only
+ * for the window being read.
+ */
+public final class AbsenceIndex {
+
+    private static final AbsenceIndex EMPTY = new AbsenceIndex(Map.of());
+
+    private final Map<Long, StaffRanges> byStaff;
+
+    private AbsenceIndex(Map<Long, StaffRanges> byStaff) {
+        this.byStaff = byStaff;
+    }
+
+    public static AbsenceIndex of(Collection<Absence> absences) {
+        if (absences.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Long, StaffRanges> byStaff = new HashMap<>();
+        absences.stream()
+                .collect(Collectors.groupingBy(absence -> absence.getStaff().getId()))
+                .forEach((staffId, ranges) -> byStaff.put(staffId, new StaffRanges(ranges)));
+        return new AbsenceIndex(byStaff);
+    }
+
+    public static AbsenceIndex empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return byStaff.isEmpty();
+    }
+
+    public Set<Long> staffIds() {
+        return byStaff.keySet();
+    }
+
+    /**
+     * The absence covering a staff member on a day, or null
+     */
+    public Absence covering(Long staffId, LocalDate day) {
+        StaffRanges ranges = byStaff.get(staffId);
+        return ranges == null ? null : ranges.covering(day);
+    }
+
+    /**
+     * The status that applies to an entry: the absence's for a covered 'normal' entry, else its own
+     */
+    public String effectiveStatus(Long staffId, LocalDate day, String status) {
+        if (!"normal".equalsIgnoreCase(status)) {
+            return status;
+        }
+        Absence absence = covering(staffId, day);
+        return absence != null ? absence.getStatus() : status;
+    }
+
+    /**
+     * Every covered (absence, day) pair within a window, each staff day once
+     */
+    public void forEachDay(LocalDate from, LocalDate to, BiConsumer<Absence, LocalDate> action) {
+        byStaff.values().forEach(ranges -> ranges.forEachDay(from, to, action));
+    }
+
+    /**
+     * Every covered (absence, day) pair of one staff member, each day once
+     */
+    public void forEachDay(Long staffId, BiConsumer<Absence, LocalDate> action) {
+        StaffRanges ranges = byStaff.get(staffId);
+        if (ranges != null) {
+            ranges.forEachDay(LocalDate.MIN, LocalDate.MAX, action);
+        }
+    }
+
+    /**
+     * Overlay week matrix rows (layout of ScheduleEntryRepository.findWeekMatrixRows).
+     * Added days carry entry id 0; when days are added the rows are re-sorted by name, staff, day.
+     */
+    public List<Object[]> overlayMatrixRows(WeeklySchedule week, List<Object[]> rows) {
+        if (isEmpty() || week.getStartDate() == null) {
+            return rows;
+        }
+        LocalDate monday = week.getStartDate();
+        List<Object[]> result = new ArrayList<>(rows.size());
+        Set<Long> seen = new HashSet<>();
+        for (Object[] row : rows) {
+            Long staffId = (Long) row[0];
+            LocalDate day = monday.plusDays((Integer) row[6]);
+            seen.add(slotKey(staffId, day));
+            Absence absence = "normal".equalsIgnoreCase((String) row[9]) ? covering(staffId, day) : null;
+            if (absence == null) {
+                result.add(row);
+            } else {
+                Object[] overlaid = row.clone();
+                overlaid[7] = null;
+                overlaid[8] = null;
+                overlaid[9] = absence.getStatus();
+                overlaid[10] = 0;
+                overlaid[11] = 0;
+                result.add(overlaid);
+            }
+        }
+        int before = result.size();
+        forEachDay(monday, monday.plusDays(6), (absence, day) -> {
+            Staff staff = absence.getStaff();
+            if (seen.add(slotKey(staff.getId(), day))) {
+                result.add(new Object[]{staff.getId(), staff.getFullName(), staff.getRole(),
+                        staff.getGroup() != null ? staff.getGroup().getName() : null, staff.getIsPraktikant(),
+                        0L, (int) (day.toEpochDay() - monday.toEpochDay()), null, null, absence.getStatus(), 0, 0});
+            }
+        });
+        if (result.size() > before) {
+            Collator collator = Collator.getInstance(Locale.GERMAN);
+            result.sort(Comparator.comparing((Object[] row) -> (String) row[1], Comparator.nullsLast(collator))
+                    .thenComparing(row -> (Long) row[0])
+                    .thenComparing(row -> (Integer) row[6]));
+        }
+        return result;
+    }
+
+    /**
+     * Overlay hours-ledger rows (layout staffId, weeklyHours, workDate, status, workingMinutes)
+     * for a date range; added days carry no working minutes
+     */
+    public List<Object[]> overlayLedgerRows(LocalDate from, LocalDate to, List<Object[]> rows) {
+        if (isEmpty()) {
+            return rows;
+        }
+        List<Object[]> result = new ArrayList<>(rows.size());
+        Set<Long> seen = new HashSet<>();
+        for (Object[] row : rows) {
+            result.add(overlayLedgerRow(row, seen));
+        }
+        forEachDay(from, to, (absence, day) -> {
+            if (seen.add(slotKey(absence.getStaff().getId(), day))) {
+                result.add(ledgerRow(absence, day));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Overlay one ledger row and remember its slot
+     */
+    public Object[] overlayLedgerRow(Object[] row, Set<Long> seen) {
+        Long staffId = (Long) row[0];
+        LocalDate day = (LocalDate) row[2];
+        seen.add(slotKey(staffId, day));
+        String status = effectiveStatus(staffId, day, (String) row[3]);
+        if (Objects.equals(status, row[3])) {
+            return row;
+        }
+        return new Object[]{staffId, row[1], day, status, 0};
+    }
+
+    /**
+     * Ledger row for an absence day without an entry
+     */
+    public static Object[] ledgerRow(Absence absence, LocalDate day) {
+        BigDecimal weeklyHours = absence.getStaff().getWeeklyHours();
+        return new Object[]{absence.getStaff().getId(), weeklyHours, day, absence.getStatus(), 0};
+    }
+
+    /**
+     * Overlay entry DTOs of a window; added days are appended
+     *
+     * @param staffId          restrict added days to this staff member; all if null
+     * @param weeklyScheduleId week of the added days, if the window is one week
+     */
+    public List<ScheduleEntryDTO> overlayEntries(List<ScheduleEntryDTO> entries, LocalDate from, LocalDate to,
+                                                 Long staffId, Long weeklyScheduleId) {
+        if (isEmpty()) {
+            return entries;
+        }
+        List<ScheduleEntryDTO> result = new ArrayList<>(entries);
+        Set<Long> seen = new HashSet<>();
+        for (ScheduleEntryDTO entry : entries) {
+            if (entry.getStaffId() == null || entry.getWorkDate() == null) {
+                continue;
+            }
+            seen.add(slotKey(entry.getStaffId(), entry.getWorkDate()));
+            Absence absence = "normal".equalsIgnoreCase(entry.getStatus())
+                    ? covering(entry.getStaffId(), entry.getWorkDate()) : null;
+            if (absence != null) {
+                applyAbsence(entry, absence);
+            }
+        }
+        forEachDay(from, to, (absence, day) -> {
+            Staff staff = absence.getStaff();
+            if ((staffId == null || staffId.equals(staff.getId())) && seen.add(slotKey(staff.getId(), day))) {
+                result.add(entryFor(absence, day, weeklyScheduleId));
+            }
+        });
+        return result;
+    }
+
+    private static void applyAbsence(ScheduleEntryDTO entry, Absence absence) {
+        entry.setStatus(absence.getStatus());
+        entry.setStartTime(null);
+        entry.setEndTime(null);
+        entry.setShiftTypeId(null);
+        entry.setWorkingHoursMinutes(0);
+        entry.setBreakMinutes(0);
+        entry.setAbsenceId(absence.getId());
+        entry.setWorkingHoursFormatted();
+        entry.setBreakTimeFormatted();
+    }
+
+    /**
+     * Entry DTO for an absence day; the id stays null unless an overlaid entry exists
+     */
+    public static ScheduleEntryDTO entryFor(Absence absence, LocalDate day, Long weeklyScheduleId) {
+        Staff staff = absence.getStaff();
+        ScheduleEntryDTO entry = new ScheduleEntryDTO();
+        entry.setWeeklyScheduleId(weeklyScheduleId);
+        entry.setStaffId(staff.getId());
+        entry.setStaffName(staff.getFullName());
+        entry.setStaffRole(staff.getRole());
+        entry.setGroupName(staff.getGroup() != null ? staff.getGroup().getName() : null);
+        entry.setDayOfWeek(day.getDayOfWeek().getValue() - 1);
+        entry.setWorkDate(day);
+        entry.setNotes(absence.getNotes());
+        applyAbsence(entry, absence);
+        return entry;
+    }
+
+    public static long slotKey(Long staffId, LocalDate day) {
+        return (staffId << 32) | day.toEpochDay();
+    }
+
+    /**
+     * One staff member's ranges sorted by start, with the running maximum end
+     */
+    private static final class StaffRanges {
+
+        private final Absence[] ranges;
+        private final long[] starts;
+        private final long[] maxEnds;
+
+        StaffRanges(List<Absence> absences) {
+            ranges = absences.toArray(new Absence[0]);
+            Arrays.sort(ranges, Comparator.comparing(Absence::getStartDate).thenComparing(Absence::getId,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+            starts = new long[ranges.length];
+            maxEnds = new long[ranges.length];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < ranges.length; i++) {
+                starts[i] = ranges[i].getStartDate().toEpochDay();
+                maxEnd = Math.max(maxEnd, ranges[i].getEndDate().toEpochDay());
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        Absence covering(LocalDate day) {
+            long epochDay = day.toEpochDay();
+            // Last range starting on or before the day, then back while a range can still reach it
+            int i = upperBound(epochDay) - 1;
+            for (; i >= 0 && maxEnds[i] >= epochDay; i--) {
+                if (ranges[i].covers(day)) {
+                    return ranges[i];
+                }
+            }
+            return null;
+        }
+
+        void forEachDay(LocalDate from, LocalDate to, BiConsumer<Absence, LocalDate> action) {
+            for (Absence absence : ranges) {
+                absence.days(from, to)
+                        .filter(day -> ranges.length == 1 || covering(day) == absence)
+                        .forEach(day -> action.accept(absence, day));
+            }
+        }
+
+        private int upperBound(long epochDay) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= epochDay) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.kita.dienstplan.archive;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One year of archived weeks in an append-only file of blocks, read through a memory map.
+ * A block is a fixed header followed by the deflated entries of one week; a tombstone block
+ * (header only) retracts a week after it was restored. Blocks are never rewritten, a week
+ * archived again simply gets a newer block.
+ *
+ * The sparse index holds one position per week, rebuilt from the headers on open. A torn block
+ * at the end of the file, left by a crash during an append, is cut off.
+ */
+@Slf4j
+final class ArchiveSegment implements Closeable {
+
+    static final int MAGIC = 0x4B444131; // "KDA1"
+    static final byte WEEK = 1;
+    static final byte TOMBSTONE = 2;
+    // magic + type + week id + week number + year + monday + entries + raw length + compressed length + crc
+    static final int HEADER_BYTES = 4 + 1 + 8 + 4 + 4 + 8 + 4 + 4 + 4 + 4;
+
+    private static final int NO_TIME = -1;
+
+    private record Block(long offset, long weeklyScheduleId, int weekNumber, LocalDate monday, int entryCount,
+                         int rawLength, int compressedLength, int crc) {
+    }
+
+    final int year;
+    private final Path file;
+    private final FileChannel channel;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Block> byWeek = new HashMap<>();
+    private final TreeMap<LocalDate, Block> byMonday = new TreeMap<>();
+    private MappedByteBuffer mapped;
+    private long size;
+
+    private ArchiveSegment(int year, Path file, FileChannel channel) {
+        this.year = year;
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Open or create the segment file of a year and index its blocks
+     */
+    static ArchiveSegment open(int year, Path file) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            ArchiveSegment segment = new ArchiveSegment(year, file, channel);
+            segment.index(channel.size());
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open archive segment " + file, e);
+        }
+    }
+
+    private void index(long fileSize) throws IOException {
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+        long offset = 0;
+        while (offset + HEADER_BYTES <= fileSize) {
+            Block block = header(offset);
+            if (block == null || offset + HEADER_BYTES + block.compressedLength() > fileSize) {
+                break;
+            }
+            put(block);
+            offset += HEADER_BYTES + block.compressedLength();
+        }
+        if (offset < fileSize) {
+            log.warn("Cutting off {} bytes of an incomplete block at the end of {}", fileSize - offset, file);
+            channel.truncate(offset);
+            channel.force(true);
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, offset);
+        }
+        size = offset;
+    }
+
+    /**
+     * Header of the block at an offset; null if it is not a block. Tombstones have no entries.
+     */
+    private Block header(long offset) {
+        ByteBuffer buffer = mapped.duplicate();
+        buffer.position(Math.toIntExact(offset));
+        if (buffer.getInt() != MAGIC) {
+            return null;
+        }
+        byte type = buffer.get();
+        long weeklyScheduleId = buffer.getLong();
+        int weekNumber = buffer.getInt();
+        buffer.getInt(); // year, implied by the segment
+        LocalDate monday = LocalDate.ofEpochDay(buffer.getLong());
+        int entryCount = buffer.getInt();
+        int rawLength = buffer.getInt();
+        int compressedLength = buffer.getInt();
+        int crc = buffer.getInt();
+        if (type == TOMBSTONE) {
+            return tombstone(offset, weeklyScheduleId, weekNumber, monday);
+        }
+        return type == WEEK
+                ? new Block(offset, weeklyScheduleId, weekNumber, monday, entryCount, rawLength, compressedLength, crc)
+                : null;
+    }
+
+    // Tombstones are indexed with a negative entry count
+    private static Block tombstone(long offset, long weeklyScheduleId, int weekNumber, LocalDate monday) {
+        return new Block(offset, weeklyScheduleId, weekNumber, monday, -1, 0, 0, 0);
+    }
+
+    private void put(Block block) {
+        Block previous = block.entryCount() < 0 ? byWeek.remove(block.weeklyScheduleId())
+                : byWeek.put(block.weeklyScheduleId(), block);
+        if (previous != null) {
+            byMonday.remove(previous.monday(), previous);
+        }
+        if (block.entryCount() >= 0) {
+            byMonday.put(block.monday(), block);
+        }
+    }
+
+    /**
+     * Append a week and flush it to disk; it replaces an earlier block of the same week
+     */
+    void append(ArchivedWeek week) {
+        byte[] raw = encode(week.entries());
+        byte[] compressed = deflate(raw);
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+        write(WEEK, week, raw.length, compressed, (int) crc.getValue());
+    }
+
+    /**
+     * Retract a week with a tombstone block
+     *
+     * @return false if the segment holds no such week
+     */
+    boolean remove(long weeklyScheduleId) {
+        lock.readLock().lock();
+        Block block;
+        try {
+            block = byWeek.get(weeklyScheduleId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (block == null) {
+            return false;
+        }
+        write(TOMBSTONE, new ArchivedWeek(weeklyScheduleId, block.weekNumber(), year, block.monday(), List.of()),
+                0, new byte[0], 0);
+        return true;
+    }
+
+    private void write(byte type, ArchivedWeek week, int rawLength, byte[] compressed, int crc) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + compressed.length);
+        buffer.putInt(MAGIC)
+                .put(type)
+                .putLong(week.weeklyScheduleId())
+                .putInt(week.weekNumber())
+                .putInt(year)
+                .putLong(week.monday().toEpochDay())
+                .putInt(week.entries().size())
+                .putInt(rawLength)
+                .putInt(compressed.length)
+                .putInt(crc)
+                .put(compressed)
+                .flip();
+        lock.writeLock().lock();
+        try {
+            long offset = size;
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            channel.force(false);
+            size = offset + buffer.limit();
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            put(type == TOMBSTONE
+                    ? tombstone(offset, week.weeklyScheduleId(), week.weekNumber(), week.monday())
+                    : new Block(offset, week.weeklyScheduleId(), week.weekNumber(), week.monday(),
+                            week.entries().size(), rawLength, compressed.length, crc));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to archive segment " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean contains(long weeklyScheduleId) {
+        lock.readLock().lock();
+        try {
+            return byWeek.containsKey(weeklyScheduleId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The archived entries of a week; null if the segment holds no such week
+     */
+    ArchivedWeek read(long weeklyScheduleId) {
+        lock.readLock().lock();
+        try {
+            Block block = byWeek.get(weeklyScheduleId);
+            return block != null ? decode(block) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Archived weeks overlapping a date range, ordered by their Monday
+     */
+    List<ArchivedWeek> readBetween(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            List<ArchivedWeek> weeks = new ArrayList<>();
+            for (Block block : byMonday.subMap(from.minusDays(6), true, to, true).values()) {
+                weeks.add(decode(block));
+            }
+            return weeks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long fileBytes() {
+        return size;
+    }
+
+    int weeks() {
+        lock.readLock().lock();
+        try {
+            return byWeek.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long entries() {
+        lock.readLock().lock();
+        try {
+            return byWeek.values().stream().mapToLong(Block::entryCount).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long rawBytes() {
+        lock.readLock().lock();
+        try {
+            return byWeek.values().stream().mapToLong(Block::rawLength).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ArchivedWeek decode(Block block) {
+        ByteBuffer compressed = mapped.duplicate();
+        compressed.position(Math.toIntExact(block.offset() + HEADER_BYTES));
+        compressed.limit(compressed.position() + block.compressedLength());
+        compressed = compressed.slice();
+        CRC32 crc = new CRC32();
+        crc.update(compressed.duplicate());
+        if ((int) crc.getValue() != block.crc()) {
+            throw new IllegalStateException("Archive block of week " + block.weeklyScheduleId() + " in " + file
+                    + " is corrupt");
+        }
+        byte[] raw = new byte[block.rawLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Archive block of week " + block.weeklyScheduleId() + " in " + file
+                    + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        return new ArchivedWeek(block.weeklyScheduleId(), block.weekNumber(), year, block.monday(),
+                decodeEntries(raw, block.entryCount()));
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] encode(List<ArchivedEntry> entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entries.size() * 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (ArchivedEntry entry : entries) {
+                out.writeLong(entry.id());
+                out.writeLong(entry.staffId());
+                out.writeByte(entry.dayOfWeek());
+                out.writeInt(Math.toIntExact(entry.workDate().toEpochDay()));
+                out.writeInt(entry.startTime() != null ? entry.startTime().toSecondOfDay() : NO_TIME);
+                out.writeInt(entry.endTime() != null ? entry.endTime().toSecondOfDay() : NO_TIME);
+                writeString(out, entry.status());
+                out.writeInt(entry.workingHoursMinutes());
+                out.writeInt(entry.breakMinutes());
+                writeString(out, entry.notes());
+                out.writeInt(entry.shiftTypeId() != null ? entry.shiftTypeId() : NO_TIME);
+                writeString(out, entry.createdBy());
+                writeDateTime(out, entry.createdAt());
+                writeString(out, entry.updatedBy());
+                writeDateTime(out, entry.updatedAt());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<ArchivedEntry> decodeEntries(byte[] raw, int count) {
+        List<ArchivedEntry> entries = new ArrayList<>(count);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw))) {
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                long staffId = in.readLong();
+                int dayOfWeek = in.readByte();
+                LocalDate workDate = LocalDate.ofEpochDay(in.readInt());
+                int start = in.readInt();
+                int end = in.readInt();
+                String status = readString(in);
+                int workingMinutes = in.readInt();
+                int breakMinutes = in.readInt();
+                String notes = readString(in);
+                int shiftTypeId = in.readInt();
+                entries.add(new ArchivedEntry(id, staffId, dayOfWeek, workDate,
+                        start != NO_TIME ? LocalTime.ofSecondOfDay(start) : null,
+                        end != NO_TIME ? LocalTime.ofSecondOfDay(end) : null,
+                        status, workingMinutes, breakMinutes, notes,
+                        shiftTypeId != NO_TIME ? (short) shiftTypeId : null,
+                        readString(in), readDateTime(in), readString(in), readDateTime(in)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entries;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
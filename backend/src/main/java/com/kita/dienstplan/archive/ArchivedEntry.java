@@ -0,0 +1,14 @@
+package com.kita.dienstplan.archive;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A schedule entry as kept in an archive segment, with every column needed to restore it
+ */
+public record ArchivedEntry(long id, long staffId, int dayOfWeek, LocalDate workDate, LocalTime startTime,
+                            LocalTime endTime, String status, int workingHoursMinutes, int breakMinutes,
+                            String notes, Short shiftTypeId, String createdBy, LocalDateTime createdAt,
+                            String updatedBy, LocalDateTime updatedAt) {
+}
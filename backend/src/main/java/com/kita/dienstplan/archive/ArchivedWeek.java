@@ -0,0 +1,14 @@
+package com.kita.dienstplan.archive;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The entries of one week as one block of an archive segment
+ *
+ * @param year   the week-based year of the week, which picks the segment
+ * @param monday first day of the week
+ */
+public record ArchivedWeek(long weeklyScheduleId, int weekNumber, int year, LocalDate monday,
+                           List<ArchivedEntry> entries) {
+}
@@ -0,0 +1,119 @@
+package com.kita.dienstplan.archive;
+
+import com.kita.dienstplan.dto.ArchiveSegmentDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Archived weeks in one segment file per week-based year (segment-YYYY.kda) in a directory.
+ * Segments are opened and indexed on start; a segment is created by the first week of its year.
+ * Appends are flushed to disk before they return.
+ */
+public final class SegmentStore implements Closeable {
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d{4})\\.kda");
+
+    private final Path directory;
+    private final ConcurrentSkipListMap<Integer, ArchiveSegment> segments = new ConcurrentSkipListMap<>();
+
+    public SegmentStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Matcher name = SEGMENT_FILE.matcher(file.getFileName().toString());
+                    if (name.matches()) {
+                        int year = Integer.parseInt(name.group(1));
+                        segments.put(year, ArchiveSegment.open(year, file));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open archive directory " + directory, e);
+        }
+    }
+
+    /**
+     * Append a week to the segment of its year; it replaces an earlier copy of the same week
+     */
+    public synchronized void append(ArchivedWeek week) {
+        segments.computeIfAbsent(week.year(), year ->
+                ArchiveSegment.open(year, directory.resolve(fileName(year)))).append(week);
+    }
+
+    /**
+     * Retract a week after it was restored
+     *
+     * @return false if no segment holds the week
+     */
+    public synchronized boolean remove(long weeklyScheduleId, int year) {
+        ArchiveSegment segment = segments.get(year);
+        return segment != null && segment.remove(weeklyScheduleId);
+    }
+
+    public boolean contains(long weeklyScheduleId, int year) {
+        ArchiveSegment segment = segments.get(year);
+        return segment != null && segment.contains(weeklyScheduleId);
+    }
+
+    /**
+     * An archived week, looked up in the segment of its year
+     */
+    public Optional<ArchivedWeek> read(long weeklyScheduleId, int year) {
+        ArchiveSegment segment = segments.get(year);
+        return segment != null ? Optional.ofNullable(segment.read(weeklyScheduleId)) : Optional.empty();
+    }
+
+    /**
+     * Archived weeks overlapping a date range, ordered by their Monday.
+     * Week-based years straddle calendar years, so the segments of the neighbouring years are asked too.
+     */
+    public List<ArchivedWeek> readBetween(LocalDate from, LocalDate to) {
+        List<ArchivedWeek> weeks = new ArrayList<>();
+        for (ArchiveSegment segment : segments.subMap(from.getYear() - 1, true, to.getYear() + 1, true).values()) {
+            weeks.addAll(segment.readBetween(from, to));
+        }
+        weeks.sort((a, b) -> a.monday().compareTo(b.monday()));
+        return weeks;
+    }
+
+    public boolean isEmpty() {
+        return segments.values().stream().allMatch(segment -> segment.weeks() == 0);
+    }
+
+    public List<ArchiveSegmentDTO> stats() {
+        return segments.values().stream()
+                .map(segment -> new ArchiveSegmentDTO(segment.year, segment.file().getFileName().toString(),
+                        segment.fileBytes(), segment.weeks(), segment.entries(), segment.rawBytes()))
+                .toList();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (ArchiveSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        segments.clear();
+    }
+
+    static String fileName(int year) {
+        return "segment-" + year + ".kda";
+    }
+}
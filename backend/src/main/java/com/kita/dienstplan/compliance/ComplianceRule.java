@@ -0,0 +1,51 @@
+package com.kita.dienstplan.compliance;
+
+import com.kita.dienstplan.dto.ScheduleEntryDTO;
+
+/**
+ * Working-time rules checked by the WorkingTimeValidator
+ * Limits follow the Arbeitszeitgesetz (ArbZG); all values are in minutes
+ */
+public enum ComplianceRule {
+
+    /**
+     * §3 ArbZG: at most 10 hours of work per day
+     */
+    MAX_DAILY_WORK("§3 ArbZG", "Working time %s exceeds the daily maximum of %s"),
+
+    /**
+     * §4 ArbZG: 30 minutes break above 6 hours of work, 45 minutes above 9 hours
+     */
+    MIN_BREAK("§4 ArbZG", "Break %s is shorter than the required %s"),
+
+    /**
+     * §5 ArbZG: 11 hours of uninterrupted rest between two working days
+     */
+    MIN_REST("§5 ArbZG", "Rest period %s is shorter than the required %s"),
+
+    /**
+     * Two shifts of the same staff member overlap
+     */
+    OVERLAP(null, "Shift overlaps the previous shift by %s");
+
+    private final String reference;
+    private final String messageFormat;
+
+    ComplianceRule(String reference, String messageFormat) {
+        this.reference = reference;
+        this.messageFormat = messageFormat;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    /**
+     * Human-readable message, e.g. "Break 0:30 is shorter than the required 0:45 (§4 ArbZG)"
+     */
+    public String describe(int actualMinutes, int limitMinutes) {
+        String message = String.format(messageFormat,
+                ScheduleEntryDTO.formatMinutes(actualMinutes), ScheduleEntryDTO.formatMinutes(limitMinutes));
+        return reference != null ? message + " (" + reference + ")" : message;
+    }
+}
@@ -0,0 +1,121 @@
+package com.kita.dienstplan.compliance;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * One staff member's worked shifts as parallel primitive arrays, kept sorted by start.
+ * Times are absolute minutes (epoch day * 1440 + minute of day), so overnight shifts
+ * and week boundaries need no special handling in the validator.
+ */
+public final class ShiftTimeline {
+
+    /**
+     * Entry id used for a shift that has not been saved yet
+     */
+    public static final long UNSAVED = 0L;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final long staffId;
+    private long[] entryIds;
+    private int[] days;
+    private int[] starts;
+    private int[] ends;
+    private int[] breaks;
+    private int size;
+
+    public ShiftTimeline(long staffId) {
+        this(staffId, 8);
+    }
+
+    public ShiftTimeline(long staffId, int capacity) {
+        int initial = Math.max(capacity, 1);
+        this.staffId = staffId;
+        this.entryIds = new long[initial];
+        this.days = new int[initial];
+        this.starts = new int[initial];
+        this.ends = new int[initial];
+        this.breaks = new int[initial];
+    }
+
+    /**
+     * Add a shift; an end before the start is read as an overnight shift, like ScheduleEntry does
+     */
+    public void add(long entryId, LocalDate workDate, LocalTime startTime, LocalTime endTime, int breakMinutes) {
+        add(entryId, workDate, startTime.toSecondOfDay() / 60, endTime.toSecondOfDay() / 60, breakMinutes);
+    }
+
+    /**
+     * Add a shift with minute-of-day times, as stored in start_minute/end_minute
+     */
+    public void add(long entryId, LocalDate workDate, int startMinute, int endMinute, int breakMinutes) {
+        int day = (int) workDate.toEpochDay();
+        int start = day * MINUTES_PER_DAY + startMinute;
+        int end = day * MINUTES_PER_DAY + endMinute;
+        if (end < start) {
+            end += MINUTES_PER_DAY;
+        }
+        add(entryId, day, start, end, breakMinutes);
+    }
+
+    void add(long entryId, int day, int start, int end, int breakMinutes) {
+        if (size == starts.length) {
+            grow();
+        }
+        // Rows usually arrive ordered, so this insertion step rarely moves anything
+        int index = size;
+        while (index > 0 && starts[index - 1] > start) {
+            entryIds[index] = entryIds[index - 1];
+            days[index] = days[index - 1];
+            starts[index] = starts[index - 1];
+            ends[index] = ends[index - 1];
+            breaks[index] = breaks[index - 1];
+            index--;
+        }
+        entryIds[index] = entryId;
+        days[index] = day;
+        starts[index] = start;
+        ends[index] = end;
+        breaks[index] = breakMinutes;
+        size++;
+    }
+
+    public long getStaffId() {
+        return staffId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    long entryId(int index) {
+        return entryIds[index];
+    }
+
+    int day(int index) {
+        return days[index];
+    }
+
+    int start(int index) {
+        return starts[index];
+    }
+
+    int end(int index) {
+        return ends[index];
+    }
+
+    int breakMinutes(int index) {
+        return breaks[index];
+    }
+
+    private void grow() {
+        int capacity = starts.length * 2;
+        entryIds = Arrays.copyOf(entryIds, capacity);
+        days = Arrays.copyOf(days, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        breaks = Arrays.copyOf(breaks, capacity);
+    }
+}
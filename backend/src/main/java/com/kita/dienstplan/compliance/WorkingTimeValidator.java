@@ -0,0 +1,124 @@
+package com.kita.dienstplan.compliance;
+
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Checks a ShiftTimeline against the ArbZG limits in a single pass over its sorted arrays.
+ * Days outside the reported range are read as context only, so rest periods across
+ * week boundaries are checked without reporting the neighbouring weeks' own violations.
+ */
+public final class WorkingTimeValidator {
+
+    public static final int MAX_DAILY_WORK_MINUTES = 10 * 60;
+    public static final int MIN_REST_MINUTES = 11 * 60;
+    public static final int SHORT_BREAK_THRESHOLD_MINUTES = 6 * 60;
+    public static final int SHORT_BREAK_MINUTES = 30;
+    public static final int LONG_BREAK_THRESHOLD_MINUTES = 9 * 60;
+    public static final int LONG_BREAK_MINUTES = 45;
+
+    private WorkingTimeValidator() {
+    }
+
+    /**
+     * Validate all shifts and report violations on days within [fromDate, toDate]
+     *
+     * @return number of violations added to {@code violations}
+     */
+    public static int validate(ShiftTimeline timeline, LocalDate fromDate, LocalDate toDate,
+                               List<ComplianceViolationDTO> violations) {
+        int fromDay = (int) fromDate.toEpochDay();
+        int toDay = (int) toDate.toEpochDay();
+        int found = 0;
+
+        int latestEnd = Integer.MIN_VALUE;
+        int latestIndex = -1;
+        int currentDay = Integer.MIN_VALUE;
+        int dayWork = 0;
+        int dayLastIndex = -1;
+
+        for (int i = 0; i < timeline.size(); i++) {
+            int day = timeline.day(i);
+            int start = timeline.start(i);
+            int end = timeline.end(i);
+            int breakMinutes = timeline.breakMinutes(i);
+            int work = end - start - breakMinutes;
+            boolean reported = day >= fromDay && day <= toDay;
+
+            if (day != currentDay) {
+                found += checkDailyWork(timeline, dayLastIndex, currentDay, dayWork, fromDay, toDay, violations);
+                currentDay = day;
+                dayWork = 0;
+            }
+            dayWork += work;
+            dayLastIndex = i;
+
+            int requiredBreak = requiredBreak(work);
+            if (reported && breakMinutes < requiredBreak) {
+                violations.add(violation(timeline, i, -1, ComplianceRule.MIN_BREAK, breakMinutes, requiredBreak));
+                found++;
+            }
+
+            if (latestIndex >= 0) {
+                if (start < latestEnd) {
+                    if (reported) {
+                        violations.add(violation(timeline, i, latestIndex, ComplianceRule.OVERLAP,
+                                latestEnd - start, 0));
+                        found++;
+                    }
+                } else if (timeline.day(latestIndex) != day && start - latestEnd < MIN_REST_MINUTES) {
+                    if (reported) {
+                        violations.add(violation(timeline, i, latestIndex, ComplianceRule.MIN_REST,
+                                start - latestEnd, MIN_REST_MINUTES));
+                        found++;
+                    }
+                }
+            }
+            if (end > latestEnd) {
+                latestEnd = end;
+                latestIndex = i;
+            }
+        }
+        found += checkDailyWork(timeline, dayLastIndex, currentDay, dayWork, fromDay, toDay, violations);
+        return found;
+    }
+
+    /**
+     * Minimum break for the given working minutes (§4 ArbZG)
+     */
+    public static int requiredBreak(int workMinutes) {
+        if (workMinutes > LONG_BREAK_THRESHOLD_MINUTES) {
+            return LONG_BREAK_MINUTES;
+        }
+        return workMinutes > SHORT_BREAK_THRESHOLD_MINUTES ? SHORT_BREAK_MINUTES : 0;
+    }
+
+    private static int checkDailyWork(ShiftTimeline timeline, int lastIndex, int day, int work,
+                                      int fromDay, int toDay, List<ComplianceViolationDTO> violations) {
+        if (lastIndex < 0 || day < fromDay || day > toDay || work <= MAX_DAILY_WORK_MINUTES) {
+            return 0;
+        }
+        violations.add(violation(timeline, lastIndex, -1, ComplianceRule.MAX_DAILY_WORK,
+                work, MAX_DAILY_WORK_MINUTES));
+        return 1;
+    }
+
+    private static ComplianceViolationDTO violation(ShiftTimeline timeline, int index, int relatedIndex,
+                                                    ComplianceRule rule, int actual, int limit) {
+        return new ComplianceViolationDTO(
+                timeline.getStaffId(),
+                entryId(timeline.entryId(index)),
+                relatedIndex >= 0 ? entryId(timeline.entryId(relatedIndex)) : null,
+                LocalDate.ofEpochDay(timeline.day(index)),
+                rule,
+                actual,
+                limit,
+                rule.describe(actual, limit));
+    }
+
+    private static Long entryId(long id) {
+        return id == ShiftTimeline.UNSAVED ? null : id;
+    }
+}
@@ -0,0 +1,85 @@
+package com.kita.dienstplan.config;
+
+import com.kita.dienstplan.datasource.ReadYourWritesPins;
+import com.kita.dienstplan.datasource.ReplicaHealthMonitor;
+import com.kita.dienstplan.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read replica Configuration (datasource.replicas.enabled=true)
+ * Read-only transactions go to the replicas listed in datasource.replicas.urls, writes and
+ * everything else to spring.datasource (see ReplicaRoutingDataSource). Replicas take the
+ * primary's credentials and driver unless given their own; their pools start even if a replica
+ * is down, the health monitor keeps it out of rotation until it answers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    /**
+     * Connection pool of the primary, configured by spring.datasource.*; with workload pools
+     * enabled, WorkloadDataSourceConfiguration provides the primary instead
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(DataSourceProperties properties,
+                                                     @Value("${datasource.replicas.urls}") String urls,
+                                                     @Value("${datasource.replicas.username:}") String username,
+                                                     @Value("${datasource.replicas.password:}") String password,
+                                                     @Value("${datasource.replicas.pool-size:10}") int poolSize,
+                                                     @Value("${datasource.replicas.max-lag-seconds:5}") long maxLagSeconds,
+                                                     @Value("${datasource.replicas.lag-query:}") String lagQuery) {
+        List<ReplicaHealthMonitor.Replica> replicas = new ArrayList<>();
+        List<String> jdbcUrls = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < jdbcUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(jdbcUrls.get(i));
+            config.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            config.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setMaximumPoolSize(poolSize);
+            config.setReadOnly(true);
+            // Start without the replica rather than fail; the monitor decides when it is used
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new ReplicaHealthMonitor.Replica("replica-" + i, new HikariDataSource(config)));
+        }
+        return new ReplicaHealthMonitor(replicas, maxLagSeconds, lagQuery);
+    }
+
+    @Bean
+    public ReadYourWritesPins readYourWritesPins(@Value("${datasource.replicas.pin-seconds:10}") long pinSeconds) {
+        return new ReadYourWritesPins(Duration.ofSeconds(pinSeconds));
+    }
+
+    /**
+     * The application's data source, routing between the primary and the replicas
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, ReplicaHealthMonitor monitor,
+                                 ReadYourWritesPins pins) {
+        return ReplicaRoutingDataSource.lazy(primary, monitor, pins);
+    }
+}
@@ -0,0 +1,13 @@
+package com.kita.dienstplan.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration
+ * Enables background jobs such as the rollup refresher
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
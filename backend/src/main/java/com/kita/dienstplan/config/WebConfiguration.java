@@ -0,0 +1,74 @@
+package com.kita.dienstplan.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Web MVC configuration
+ * Registers binary wire formats (CBOR, Smile) next to JSON so every controller
+ * can answer them through normal Accept-header content negotiation.
+ * Binary mappers are built once from the application's Jackson settings and
+ * advertise a schema version as a media type parameter (e.g. application/cbor;v=1).
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfiguration implements WebMvcConfigurer {
+
+    /**
+     * Version of the binary payload layout; bump when DTO shapes change incompatibly
+     */
+    public static final String BINARY_SCHEMA_VERSION = "1";
+
+    public static final MediaType APPLICATION_CBOR_VERSIONED =
+            new MediaType("application", "cbor", Map.of("v", BINARY_SCHEMA_VERSION));
+
+    public static final MediaType APPLICATION_SMILE_VERSIONED =
+            new MediaType("application", "x-jackson-smile", Map.of("v", BINARY_SCHEMA_VERSION));
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replace Spring's default binary converters, which ignore spring.jackson.* settings
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+
+        MappingJackson2CborHttpMessageConverter cbor =
+                new MappingJackson2CborHttpMessageConverter(binaryMapper(new CBORFactory()));
+        cbor.setSupportedMediaTypes(List.of(APPLICATION_CBOR_VERSIONED, MediaType.APPLICATION_CBOR));
+
+        MappingJackson2SmileHttpMessageConverter smile =
+                new MappingJackson2SmileHttpMessageConverter(binaryMapper(new SmileFactory()));
+        smile.setSupportedMediaTypes(List.of(APPLICATION_SMILE_VERSIONED,
+                new MediaType("application", "x-jackson-smile")));
+
+        converters.add(cbor);
+        converters.add(smile);
+    }
+
+    /**
+     * Build a binary mapper sharing modules and date settings with the JSON mapper
+     */
+    private ObjectMapper binaryMapper(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json);
+        return builder
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+    }
+}
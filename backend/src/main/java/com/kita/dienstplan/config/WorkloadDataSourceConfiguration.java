@@ -0,0 +1,74 @@
+package com.kita.dienstplan.config;
+
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.datasource.WorkloadPool;
+import com.kita.dienstplan.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Workload pool Configuration (datasource.workloads.enabled=true)
+ * One Hikari pool per workload on spring.datasource, sized and timed by
+ * datasource.workloads.&lt;workload&gt;.* (driver-properties: comma-separated name=value pairs passed
+ * to the JDBC driver); methods choose theirs with @UseWorkload.
+ * The routing data source is the primary database, also for ReplicaDataSourceConfiguration.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.workloads.enabled", havingValue = "true")
+public class WorkloadDataSourceConfiguration {
+
+    private static final String PREFIX = "datasource.workloads.";
+
+    @Bean(name = "primaryDataSource")
+    public WorkloadRoutingDataSource workloadDataSource(DataSourceProperties properties, Environment environment) {
+        List<WorkloadPool> pools = Arrays.stream(Workload.values())
+                .map(workload -> new WorkloadPool(workload, pool(properties, environment, workload)))
+                .toList();
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    /**
+     * The application's data source when it does not route to read replicas
+     */
+    @Bean(destroyMethod = "")
+    @Primary
+    @ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(@Qualifier("primaryDataSource") WorkloadRoutingDataSource workloads) {
+        return workloads;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment, Workload workload) {
+        String prefix = PREFIX + workload.key() + ".";
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(workload.key());
+        pool.setMaximumPoolSize(environment.getProperty(prefix + "pool-size", Integer.class, 10));
+        pool.setMinimumIdle(environment.getProperty(prefix + "min-idle", Integer.class, pool.getMaximumPoolSize()));
+        pool.setConnectionTimeout(environment.getProperty(prefix + "connection-timeout-ms", Long.class, 30_000L));
+        String isolation = environment.getProperty(prefix + "transaction-isolation", "");
+        if (!isolation.isBlank()) {
+            pool.setTransactionIsolation(isolation.trim());
+        }
+        String initSql = environment.getProperty(prefix + "connection-init-sql", "");
+        if (!initSql.isBlank()) {
+            pool.setConnectionInitSql(initSql.trim());
+        }
+        // Driver settings of this pool only, e.g. useCursorFetch=true for the streaming workloads
+        for (String property : environment.getProperty(prefix + "driver-properties", "").split(",")) {
+            String[] pair = property.split("=", 2);
+            if (pair.length == 2 && !pair[0].isBlank()) {
+                pool.addDataSourceProperty(pair[0].trim(), pair[1].trim());
+            }
+        }
+        return pool;
+    }
+}
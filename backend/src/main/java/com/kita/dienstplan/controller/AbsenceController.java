@@ -0,0 +1,119 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.AbsenceCompactionResultDTO;
+import com.kita.dienstplan.dto.AbsenceDTO;
+import com.kita.dienstplan.service.AbsenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for absence ranges (Urlaub, krank, Schule, Fachschule)
+ */
+@RestController
+@RequestMapping("/api/absences")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AbsenceController {
+
+    private final AbsenceService absenceService;
+
+    /**
+     * GET /api/absences?staffId=3 or /api/absences?startDate=2026-07-01&endDate=2026-07-31
+     * Absences of a staff member, or all absences overlapping a date range
+     */
+    @GetMapping
+    public ResponseEntity<List<AbsenceDTO>> getAbsences(
+            @RequestParam(required = false) Long staffId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (staffId != null) {
+            return ResponseEntity.ok(absenceService.getAbsencesForStaff(staffId));
+        }
+        if (startDate == null || endDate == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(absenceService.getAbsences(startDate, endDate));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AbsenceDTO> getAbsence(@PathVariable Long id) {
+        return absenceService.getAbsence(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/absences
+     * e.g. {"staffId": 3, "status": "Urlaub", "startDate": "2026-07-06", "endDate": "2026-07-24"}
+     * weekdays (1 = Monday ... 7 = Sunday) default to Monday to Friday
+     */
+    @PostMapping
+    public ResponseEntity<AbsenceDTO> createAbsence(@RequestBody AbsenceRequest request) {
+        if (request.getStaffId() == null || request.getStatus() == null
+                || request.getStartDate() == null || request.getEndDate() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return absenceService.createAbsence(request.getStaffId(), request.getStatus(), request.getStartDate(),
+                            request.getEndDate(), request.getWeekdays(), request.getNotes())
+                    .map(absence -> ResponseEntity.status(HttpStatus.CREATED).body(absence))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * PUT /api/absences/{id}
+     * Fields left out are unchanged
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<AbsenceDTO> updateAbsence(@PathVariable Long id, @RequestBody AbsenceRequest request) {
+        try {
+            return absenceService.updateAbsence(id, request.getStatus(), request.getStartDate(),
+                            request.getEndDate(), request.getWeekdays(), request.getNotes())
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAbsence(@PathVariable Long id) {
+        return absenceService.deleteAbsence(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * POST /api/absences/compact?startDate=2026-01-01&endDate=2026-12-31
+     * Fold per-day absence entries of a date range into absence ranges
+     */
+    @PostMapping("/compact")
+    public ResponseEntity<AbsenceCompactionResultDTO> compact(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(absenceService.compact(startDate, endDate));
+    }
+}
+
+// Request DTOs
+@lombok.Data
+class AbsenceRequest {
+    private Long staffId;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<Integer> weekdays;
+    private String notes;
+}
@@ -0,0 +1,73 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.ArchiveSegmentDTO;
+import com.kita.dienstplan.dto.WeeklyScheduleDTO;
+import com.kita.dienstplan.service.ArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for the archive of finished weeks
+ */
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ArchiveController {
+
+    private final ArchiveService archiveService;
+
+    /**
+     * GET /api/archive
+     * Segment files with the weeks and entries they hold
+     */
+    @GetMapping
+    public ResponseEntity<List<ArchiveSegmentDTO>> getSegments() {
+        return ResponseEntity.ok(archiveService.getSegments());
+    }
+
+    /**
+     * POST /api/archive/run
+     * Archive every week old enough now instead of waiting for the daily job
+     */
+    @PostMapping("/run")
+    public ResponseEntity<List<WeeklyScheduleDTO>> archiveEligible() {
+        return ResponseEntity.ok(archiveService.archiveEligible());
+    }
+
+    /**
+     * POST /api/archive/weeks/{weeklyScheduleId}
+     * Archive one week
+     */
+    @PostMapping("/weeks/{weeklyScheduleId}")
+    public ResponseEntity<WeeklyScheduleDTO> archiveWeek(@PathVariable Long weeklyScheduleId) {
+        try {
+            return archiveService.archiveWeek(weeklyScheduleId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * POST /api/archive/weeks/{weeklyScheduleId}/restore
+     * Move the entries of an archived week back into the schedule
+     */
+    @PostMapping("/weeks/{weeklyScheduleId}/restore")
+    public ResponseEntity<WeeklyScheduleDTO> restoreWeek(@PathVariable Long weeklyScheduleId) {
+        try {
+            return archiveService.restoreWeek(weeklyScheduleId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
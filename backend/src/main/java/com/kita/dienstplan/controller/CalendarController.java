@@ -0,0 +1,106 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.service.CalendarFeedService;
+import com.kita.dienstplan.service.CalendarFeedService.CalendarFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST Controller for iCalendar subscription feeds
+ * Feed URLs are public but signed with a per-feed token, since calendar apps cannot send a JWT
+ */
+@RestController
+@RequestMapping("/api/calendar")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    private final CalendarFeedService calendarFeedService;
+
+    /**
+     * GET /api/calendar/staff/{staffId}.ics?token=...
+     * iCalendar feed of one staff member's shifts
+     */
+    @GetMapping("/staff/{staffId}.ics")
+    public ResponseEntity<String> getStaffFeed(
+            @PathVariable Long staffId,
+            @RequestParam(required = false) String token,
+            WebRequest request) {
+        if (!calendarFeedService.isValidStaffToken(staffId, token)) {
+            return ResponseEntity.notFound().build();
+        }
+        return respond(calendarFeedService.getStaffFeed(staffId), request);
+    }
+
+    /**
+     * GET /api/calendar/groups/{groupId}.ics?token=...
+     * iCalendar feed of all shifts in a group
+     */
+    @GetMapping("/groups/{groupId}.ics")
+    public ResponseEntity<String> getGroupFeed(
+            @PathVariable Long groupId,
+            @RequestParam(required = false) String token,
+            WebRequest request) {
+        if (!calendarFeedService.isValidGroupToken(groupId, token)) {
+            return ResponseEntity.notFound().build();
+        }
+        return respond(calendarFeedService.getGroupFeed(groupId), request);
+    }
+
+    /**
+     * GET /api/calendar/staff/{staffId}/subscription
+     * Signed feed URL for a staff member (requires login)
+     */
+    @GetMapping("/staff/{staffId}/subscription")
+    public ResponseEntity<Map<String, String>> getStaffSubscription(@PathVariable Long staffId) {
+        String url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/calendar/staff/{staffId}.ics")
+                .queryParam("token", calendarFeedService.staffToken(staffId))
+                .buildAndExpand(staffId)
+                .toUriString();
+        return ResponseEntity.ok(Map.of("url", url));
+    }
+
+    /**
+     * GET /api/calendar/groups/{groupId}/subscription
+     * Signed feed URL for a group (requires login)
+     */
+    @GetMapping("/groups/{groupId}/subscription")
+    public ResponseEntity<Map<String, String>> getGroupSubscription(@PathVariable Long groupId) {
+        String url = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/calendar/groups/{groupId}.ics")
+                .queryParam("token", calendarFeedService.groupToken(groupId))
+                .buildAndExpand(groupId)
+                .toUriString();
+        return ResponseEntity.ok(Map.of("url", url));
+    }
+
+    private ResponseEntity<String> respond(Optional<CalendarFeed> feed, WebRequest request) {
+        if (feed.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = feed.get().getEtag();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofMinutes(15)).cachePrivate();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_CALENDAR)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(feed.get().getBody());
+    }
+}
@@ -0,0 +1,74 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.ComplianceReportDTO;
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
+import com.kita.dienstplan.service.ComplianceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for working-time compliance reports (ArbZG)
+ */
+@RestController
+@RequestMapping("/api/compliance")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ComplianceController {
+
+    private final ComplianceService complianceService;
+
+    /**
+     * GET /api/compliance/week/{year}/{week}
+     * Violations of all staff in a week
+     */
+    @GetMapping("/week/{year}/{week}")
+    public ResponseEntity<ComplianceReportDTO> getWeekReport(
+            @PathVariable Integer year,
+            @PathVariable Integer week) {
+        return complianceService.validateWeek(week, year)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/compliance/staff/{staffId}/week/{year}/{week}
+     * Violations of one staff member in a week
+     */
+    @GetMapping("/staff/{staffId}/week/{year}/{week}")
+    public ResponseEntity<List<ComplianceViolationDTO>> getStaffWeekViolations(
+            @PathVariable Long staffId,
+            @PathVariable Integer year,
+            @PathVariable Integer week) {
+        return complianceService.validateStaffWeek(staffId, week, year)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/compliance/year/{year}
+     * Violations of all staff in a calendar year
+     */
+    @GetMapping("/year/{year}")
+    public ResponseEntity<ComplianceReportDTO> getYearReport(@PathVariable Integer year) {
+        return ResponseEntity.ok(complianceService.validateYear(year));
+    }
+
+    /**
+     * GET /api/compliance/range?startDate=2026-01-01&endDate=2026-06-30
+     * Violations of all staff in a date range
+     */
+    @GetMapping("/range")
+    public ResponseEntity<ComplianceReportDTO> getRangeReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(complianceService.validateRange(startDate, endDate));
+    }
+}
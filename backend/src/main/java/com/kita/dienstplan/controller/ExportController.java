@@ -0,0 +1,144 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.export.ExportFormat;
+import com.kita.dienstplan.export.ExportJob;
+import com.kita.dienstplan.service.ExportJobService;
+import com.kita.dienstplan.service.PayrollExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * REST Controller for payroll exports
+ * Short ranges are streamed directly; longer ranges run as background jobs
+ */
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private final PayrollExportService payrollExportService;
+    private final ExportJobService exportJobService;
+    private final long maxSyncDays;
+
+    @Autowired
+    public ExportController(PayrollExportService payrollExportService,
+                            ExportJobService exportJobService,
+                            @Value("${export.payroll.max-sync-days:93}") long maxSyncDays) {
+        this.payrollExportService = payrollExportService;
+        this.exportJobService = exportJobService;
+        this.maxSyncDays = maxSyncDays;
+    }
+
+    /**
+     * GET /api/exports/payroll?startDate=2026-01-01&endDate=2026-01-31&format=csv
+     * Stream the export; ranges longer than max-sync-days are queued instead
+     * (202 with the job URL in the Location header); 400 for ranges reaching into archived weeks
+     */
+    @GetMapping("/payroll")
+    public ResponseEntity<StreamingResponseBody> exportPayroll(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = parseFormat(format);
+        if (exportFormat == null || endDate.isBefore(startDate)
+                || payrollExportService.coversArchivedWeeks(startDate, endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxSyncDays) {
+            ExportJob job = exportJobService.submit(startDate, endDate, exportFormat);
+            return ResponseEntity.accepted().location(jobLocation(job)).build();
+        }
+
+        StreamingResponseBody body = out -> payrollExportService.export(startDate, endDate, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment(
+                        "lohnexport_" + startDate + "_" + endDate + "." + exportFormat.getExtension()))
+                .body(body);
+    }
+
+    /**
+     * POST /api/exports/payroll/jobs?startDate=...&endDate=...&format=xlsx
+     * Queue an export regardless of its size
+     */
+    @PostMapping("/payroll/jobs")
+    public ResponseEntity<ExportJob> submitPayrollJob(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = parseFormat(format);
+        if (exportFormat == null || endDate.isBefore(startDate)
+                || payrollExportService.coversArchivedWeeks(startDate, endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return accepted(exportJobService.submit(startDate, endDate, exportFormat));
+    }
+
+    /**
+     * GET /api/exports/jobs/{id}
+     * Job status
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ExportJob> getJob(@PathVariable String id) {
+        return exportJobService.getJob(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/exports/jobs/{id}/download
+     * Result file of a finished job (409 while the job is still running or failed)
+     */
+    @GetMapping("/jobs/{id}/download")
+    public ResponseEntity<Resource> downloadJob(@PathVariable String id) {
+        return exportJobService.getJob(id)
+                .map(job -> {
+                    if (!job.isDone()) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).<Resource>build();
+                    }
+                    return ResponseEntity.ok()
+                            .contentType(MediaType.parseMediaType(job.getFormat().getContentType()))
+                            .header(HttpHeaders.CONTENT_DISPOSITION, attachment(job.getFileName()))
+                            .<Resource>body(new FileSystemResource(job.getFile()));
+                })
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<ExportJob> accepted(ExportJob job) {
+        return ResponseEntity.accepted().location(jobLocation(job)).body(job);
+    }
+
+    private static URI jobLocation(ExportJob job) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/exports/jobs/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.fromParam(format);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String attachment(String fileName) {
+        return ContentDisposition.attachment().filename(fileName).build().toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.HistoryAggregateDTO;
+import com.kita.dienstplan.dto.HistoryStatsDTO;
+import com.kita.dienstplan.history.HistoryDimension;
+import com.kita.dienstplan.history.HistoryQuery;
+import com.kita.dienstplan.service.HistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * REST Controller for cross-year analytics over the schedule history
+ */
+@RestController
+@RequestMapping("/api/history")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class HistoryController {
+
+    private final HistoryService historyService;
+
+    /**
+     * GET /api/history/aggregate?from=2024-01-01&to=2026-12-31&status=krank&groupBy=year&groupBy=group
+     * Entries and working minutes matching the filters, grouped by up to two of
+     * year, month, weekday, staff, group and status
+     */
+    @GetMapping("/aggregate")
+    public ResponseEntity<HistoryAggregateDTO> aggregate(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Set<String> status,
+            @RequestParam(required = false) List<String> groupBy,
+            @RequestParam(required = false) Long groupId,
+            @RequestParam(required = false) Long staffId,
+            @RequestParam(defaultValue = "true") boolean includePraktikanten) {
+        try {
+            List<HistoryDimension> dimensions = groupBy == null ? List.of() : groupBy.stream()
+                    .map(dimension -> HistoryDimension.valueOf(dimension.trim().toUpperCase(Locale.ROOT)))
+                    .toList();
+            return ResponseEntity.ok(historyService.aggregate(
+                    new HistoryQuery(from, to, status, dimensions, groupId, staffId, includePraktikanten)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/history/stats
+     * Rows and memory of the history store per year
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<HistoryStatsDTO> getStats() {
+        return ResponseEntity.ok(historyService.getStats());
+    }
+
+    /**
+     * POST /api/history/reload
+     * Rebuild the history store from the database
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<HistoryStatsDTO> reload() {
+        return ResponseEntity.ok(historyService.reload());
+    }
+}
@@ -0,0 +1,77 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.HolidayFillResultDTO;
+import com.kita.dienstplan.dto.SpecialDayDTO;
+import com.kita.dienstplan.holiday.DayKind;
+import com.kita.dienstplan.service.HolidayCalendarService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for public holidays, Kita closure days and team days
+ */
+@RestController
+@RequestMapping("/api/holidays")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class HolidayController {
+
+    private final HolidayCalendarService holidayCalendarService;
+
+    /**
+     * GET /api/holidays/2026
+     * Holidays, closure and team days of a year
+     */
+    @GetMapping("/{year}")
+    public ResponseEntity<List<SpecialDayDTO>> getDays(@PathVariable int year) {
+        return ResponseEntity.ok(holidayCalendarService.getDays(year));
+    }
+
+    /**
+     * POST /api/holidays/closure-days
+     * Add a closure or team day, e.g. {"date": "2026-12-28", "kind": "CLOSURE", "name": "Schließzeit"}
+     * A date that already has a closure day is rejected by the unique key (409)
+     */
+    @PostMapping("/closure-days")
+    public ResponseEntity<SpecialDayDTO> addClosureDay(@RequestBody ClosureDayRequest request) {
+        if (request.getDate() == null || request.getName() == null || request.getName().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(holidayCalendarService.addClosureDay(
+                    request.getDate(), request.getKind(), request.getName()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/closure-days/{id}")
+    public ResponseEntity<Void> deleteClosureDay(@PathVariable Long id) {
+        return holidayCalendarService.deleteClosureDay(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * POST /api/holidays/2026/fill?convertPlanned=true
+     * Book the closed weekdays of a year as Feiertag for all active staff
+     */
+    @PostMapping("/{year}/fill")
+    public ResponseEntity<HolidayFillResultDTO> fill(@PathVariable int year,
+                                                     @RequestParam(defaultValue = "true") boolean convertPlanned) {
+        return ResponseEntity.ok(holidayCalendarService.fillHolidays(year, convertPlanned));
+    }
+}
+
+// Request DTOs
+@lombok.Data
+class ClosureDayRequest {
+    private LocalDate date;
+    private DayKind kind;
+    private String name;
+}
@@ -0,0 +1,73 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.HoursBalanceDTO;
+import com.kita.dienstplan.dto.HoursPeriodDTO;
+import com.kita.dienstplan.entity.HoursAccountPeriod.PeriodType;
+import com.kita.dienstplan.service.HoursAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for hours accounts (Soll/Ist balances)
+ */
+@RestController
+@RequestMapping("/api/hours-accounts")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class HoursAccountController {
+
+    private final HoursAccountService hoursAccountService;
+
+    /**
+     * GET /api/hours-accounts/staff/{staffId}
+     * Current balance of a staff member
+     */
+    @GetMapping("/staff/{staffId}")
+    public ResponseEntity<HoursBalanceDTO> getBalance(@PathVariable Long staffId) {
+        return hoursAccountService.getBalance(staffId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/hours-accounts/staff/{staffId}/history?period=WEEK&startDate=2026-01-01&endDate=2026-03-31
+     * Weekly or monthly history with running balance
+     */
+    @GetMapping("/staff/{staffId}/history")
+    public ResponseEntity<List<HoursPeriodDTO>> getHistory(
+            @PathVariable Long staffId,
+            @RequestParam(defaultValue = "WEEK") PeriodType period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(hoursAccountService.getHistory(staffId, period, startDate, endDate));
+    }
+
+    /**
+     * GET /api/hours-accounts/outliers?thresholdMinutes=600&limit=20
+     * Staff with the largest plus or minus balances
+     */
+    @GetMapping("/outliers")
+    public ResponseEntity<List<HoursBalanceDTO>> getOutliers(
+            @RequestParam(defaultValue = "600") int thresholdMinutes,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(hoursAccountService.getOutliers(Math.abs(thresholdMinutes), Math.max(1, limit)));
+    }
+
+    /**
+     * POST /api/hours-accounts/rebuild
+     * Recompute all accounts from the schedule (after bulk imports)
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        return ResponseEntity.ok(Map.of("accounts", hoursAccountService.rebuild()));
+    }
+}
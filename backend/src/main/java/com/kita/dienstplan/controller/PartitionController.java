@@ -0,0 +1,73 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.PartitionDTO;
+import com.kita.dienstplan.dto.PartitionMaintenanceResultDTO;
+import com.kita.dienstplan.service.PartitionMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for the yearly partitions of schedule entries (MySQL only)
+ */
+@RestController
+@RequestMapping("/api/partitions")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class PartitionController {
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    /**
+     * GET /api/partitions
+     * Partitions with estimated rows and sizes; empty where partitioning is not in use
+     */
+    @GetMapping
+    public ResponseEntity<List<PartitionDTO>> getPartitions() {
+        return ResponseEntity.ok(partitionMaintenanceService.getPartitions());
+    }
+
+    /**
+     * POST /api/partitions/maintain
+     * Run the daily maintenance now: create upcoming years, archive or drop expired ones
+     */
+    @PostMapping("/maintain")
+    public ResponseEntity<PartitionMaintenanceResultDTO> maintain() {
+        return ResponseEntity.ok(partitionMaintenanceService.maintain());
+    }
+
+    /**
+     * POST /api/partitions/{year}/archive
+     * Move the entries of a past year into the table schedule_entries_archive_{year}
+     */
+    @PostMapping("/{year}/archive")
+    public ResponseEntity<Void> archiveYear(@PathVariable Integer year) {
+        try {
+            return partitionMaintenanceService.archiveYear(year)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * DELETE /api/partitions/{year}
+     * Delete the entries of a past year by dropping its partition
+     */
+    @DeleteMapping("/{year}")
+    public ResponseEntity<Void> dropYear(@PathVariable Integer year) {
+        try {
+            return partitionMaintenanceService.dropYear(year)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.RollupDTO;
+import com.kita.dienstplan.dto.RollupRefreshResultDTO;
+import com.kita.dienstplan.entity.ScheduleRollup.Dimension;
+import com.kita.dienstplan.entity.ScheduleRollup.Granularity;
+import com.kita.dienstplan.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * REST Controller for reporting over pre-aggregated schedule rollups
+ */
+@RestController
+@RequestMapping("/api/rollups")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class RollupController {
+
+    private final RollupService rollupService;
+
+    /**
+     * GET /api/rollups?granularity=year&dimension=group&from=2020-01-01&to=2026-12-31
+     * Worked and break minutes and status days per period and staff member, group or role;
+     * periods are selected by their first day
+     */
+    @GetMapping
+    public ResponseEntity<List<RollupDTO>> getRollups(
+            @RequestParam String granularity,
+            @RequestParam String dimension,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String key) {
+        try {
+            return ResponseEntity.ok(rollupService.getRollups(
+                    Granularity.valueOf(granularity.trim().toUpperCase(Locale.ROOT)),
+                    Dimension.valueOf(dimension.trim().toUpperCase(Locale.ROOT)),
+                    from, to, key));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * POST /api/rollups/refresh
+     * Bring the rollups up to date now instead of waiting for the background refresh
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<RollupRefreshResultDTO> refresh() {
+        return ResponseEntity.ok(rollupService.refresh());
+    }
+
+    /**
+     * POST /api/rollups/rebuild
+     * Drop all rollups and build them again from the schedule entries
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<RollupRefreshResultDTO> rebuild() {
+        return ResponseEntity.ok(rollupService.rebuild());
+    }
+}
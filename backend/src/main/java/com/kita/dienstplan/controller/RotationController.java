@@ -0,0 +1,127 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.RotationExpansionResultDTO;
+import com.kita.dienstplan.dto.RotationPatternDTO;
+import com.kita.dienstplan.service.RotationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST Controller for rotation patterns and their expansion into schedule entries
+ */
+@RestController
+@RequestMapping("/api/rotations")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class RotationController {
+
+    private final RotationService rotationService;
+
+    /**
+     * GET /api/rotations or /api/rotations?staffId=1
+     */
+    @GetMapping
+    public ResponseEntity<List<RotationPatternDTO>> getPatterns(@RequestParam(required = false) Long staffId) {
+        return ResponseEntity.ok(staffId != null
+                ? rotationService.getPatternsForStaff(staffId)
+                : rotationService.getPatterns());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RotationPatternDTO> getPattern(@PathVariable Long id) {
+        return rotationService.getPattern(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/rotations
+     * Create a pattern, e.g. {"staffId": 1, "name": "Früh/Spät", "slots": ["FRUEH", "SPAET", "-"],
+     * "validFrom": "2026-03-02"}
+     */
+    @PostMapping
+    public ResponseEntity<RotationPatternDTO> createPattern(@RequestBody RotationPatternRequest request) {
+        if (request.getStaffId() == null || request.getName() == null || request.getValidFrom() == null
+                || invalidValidity(request)) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<RotationPatternDTO> created;
+        try {
+            created = rotationService.createPattern(request.getStaffId(), request.getName(),
+                    request.getSlots(), request.getValidFrom(), request.getValidUntil());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return created
+                .map(pattern -> ResponseEntity.status(HttpStatus.CREATED).body(pattern))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<RotationPatternDTO> updatePattern(
+            @PathVariable Long id,
+            @RequestBody RotationPatternRequest request) {
+        if (invalidValidity(request)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return rotationService.updatePattern(id, request.getName(), request.getSlots(),
+                            request.getValidFrom(), request.getValidUntil(), request.getIsActive())
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePattern(@PathVariable Long id) {
+        return rotationService.deletePattern(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * POST /api/rotations/expand
+     * Expand patterns into schedule entries, e.g. {"startDate": "2026-03-02", "endDate": "2026-12-31"}
+     * Days that already have an entry are left untouched
+     */
+    @PostMapping("/expand")
+    public ResponseEntity<RotationExpansionResultDTO> expand(@RequestBody RotationExpandRequest request) {
+        if (request.getStartDate() == null || request.getEndDate() == null
+                || request.getEndDate().isBefore(request.getStartDate())) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(rotationService.expand(request.getStartDate(), request.getEndDate(),
+                request.getStaffIds()));
+    }
+
+    private static boolean invalidValidity(RotationPatternRequest request) {
+        return request.getValidFrom() != null && request.getValidUntil() != null
+                && request.getValidUntil().isBefore(request.getValidFrom());
+    }
+}
+
+// Request DTOs
+@lombok.Data
+class RotationPatternRequest {
+    private Long staffId;
+    private String name;
+    private List<String> slots;
+    private LocalDate validFrom;
+    private LocalDate validUntil;
+    private Boolean isActive;
+}
+
+@lombok.Data
+class RotationExpandRequest {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<Long> staffIds;
+}
@@ -0,0 +1,111 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.SandboxCommitResultDTO;
+import com.kita.dienstplan.dto.SandboxDTO;
+import com.kita.dienstplan.service.SandboxService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalTime;
+
+/**
+ * REST Controller for what-if sandboxes: in-memory copies of a week that can be edited,
+ * evaluated and then committed in one transaction or discarded
+ */
+@RestController
+@RequestMapping("/api/sandboxes")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SandboxController {
+
+    private final SandboxService sandboxService;
+
+    /**
+     * POST /api/sandboxes/week/{year}/{week}
+     * Open a sandbox on a week
+     */
+    @PostMapping("/week/{year}/{week}")
+    public ResponseEntity<SandboxDTO> open(@PathVariable Integer year, @PathVariable Integer week) {
+        return sandboxService.open(year, week)
+                .map(sandbox -> ResponseEntity.status(HttpStatus.CREATED).body(sandbox))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SandboxDTO> get(@PathVariable String id) {
+        return sandboxService.get(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/sandboxes/{id}/entries
+     * e.g. {"staffId": 3, "dayOfWeek": 2, "startTime": "07:00", "endTime": "15:00"}
+     */
+    @PostMapping("/{id}/entries")
+    public ResponseEntity<SandboxDTO> addEntry(@PathVariable String id, @RequestBody SandboxEntryRequest request) {
+        if (request.getStaffId() == null || request.getDayOfWeek() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return sandboxService.addEntry(id, request.getStaffId(), request.getDayOfWeek(), request.getStartTime(),
+                            request.getEndTime(), request.getStatus(), request.getNotes(), request.getShiftTypeId())
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * PUT /api/sandboxes/{id}/entries/{entryId}
+     * Fields left out are unchanged
+     */
+    @PutMapping("/{id}/entries/{entryId}")
+    public ResponseEntity<SandboxDTO> updateEntry(@PathVariable String id, @PathVariable Long entryId,
+                                                  @RequestBody SandboxEntryRequest request) {
+        return sandboxService.updateEntry(id, entryId, request.getStartTime(), request.getEndTime(),
+                        request.getStatus(), request.getNotes(), request.getShiftTypeId())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}/entries/{entryId}")
+    public ResponseEntity<SandboxDTO> deleteEntry(@PathVariable String id, @PathVariable Long entryId) {
+        return sandboxService.deleteEntry(id, entryId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/sandboxes/{id}/commit
+     * Write the sandbox's net changes and close it; 409 if an entry it changes was changed meanwhile
+     */
+    @PostMapping("/{id}/commit")
+    public ResponseEntity<SandboxCommitResultDTO> commit(@PathVariable String id) {
+        return sandboxService.commit(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> discard(@PathVariable String id) {
+        return sandboxService.discard(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
+
+// Request DTOs
+@lombok.Data
+class SandboxEntryRequest {
+    private Long staffId;
+    private Integer dayOfWeek;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String status;
+    private String notes;
+    private Short shiftTypeId;
+}
@@ -2,10 +2,11 @@ package com.kita.dienstplan.controller;
 
 import com.kita.dienstplan.dto.DailyTotalDTO;
 import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.dto.WeekMatrixDTO;
+import com.kita.dienstplan.dto.WeeklyStaffTotalDTO;
 import com.kita.dienstplan.entity.ScheduleEntry;
 import com.kita.dienstplan.entity.Staff;
 import com.kita.dienstplan.entity.WeeklySchedule;
-import com.kita.dienstplan.repository.ScheduleEntryRepository;
 import com.kita.dienstplan.repository.StaffRepository;
 import com.kita.dienstplan.repository.WeeklyScheduleRepository;
 import com.kita.dienstplan.service.ScheduleService;
@@ -32,18 +33,32 @@ public class ScheduleController {
     private final ScheduleService scheduleService;
     private final WeeklyScheduleRepository weeklyScheduleRepository;
     private final StaffRepository staffRepository;
-    private final ScheduleEntryRepository scheduleEntryRepository;
 
     /**
      * GET /api/schedules/week/{year}/{week}
-     * Get all schedule entries for a specific week
+     * Get all schedule entries for a specific week;
+     * with minuteTimes=true, times are sent as minutes of the day (startMinute/endMinute)
      */
     @GetMapping("/week/{year}/{week}")
     public ResponseEntity<List<ScheduleEntryDTO>> getScheduleForWeek(
             @PathVariable Integer year,
-            @PathVariable Integer week) {
+            @PathVariable Integer week,
+            @RequestParam(defaultValue = "false") boolean minuteTimes) {
         List<ScheduleEntryDTO> entries = scheduleService.getScheduleForWeek(week, year);
-        return ResponseEntity.ok(entries);
+        return ResponseEntity.ok(withTimes(entries, minuteTimes));
+    }
+
+    /**
+     * GET /api/schedules/week/{year}/{week}/matrix
+     * Get the compact staff x day matrix for a specific week
+     */
+    @GetMapping("/week/{year}/{week}/matrix")
+    public ResponseEntity<WeekMatrixDTO> getWeekMatrix(
+            @PathVariable Integer year,
+            @PathVariable Integer week) {
+        return scheduleService.getWeekMatrix(week, year)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     /**
@@ -54,9 +69,10 @@ public class ScheduleController {
     public ResponseEntity<List<ScheduleEntryDTO>> getScheduleForStaffInWeek(
             @PathVariable Long staffId,
             @PathVariable Integer year,
-            @PathVariable Integer week) {
+            @PathVariable Integer week,
+            @RequestParam(defaultValue = "false") boolean minuteTimes) {
         List<ScheduleEntryDTO> entries = scheduleService.getScheduleForStaffInWeek(staffId, week, year);
-        return ResponseEntity.ok(entries);
+        return ResponseEntity.ok(withTimes(entries, minuteTimes));
     }
 
     /**
@@ -65,9 +81,10 @@ public class ScheduleController {
      */
     @GetMapping("/date/{date}")
     public ResponseEntity<List<ScheduleEntryDTO>> getScheduleForDate(
-            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "false") boolean minuteTimes) {
         List<ScheduleEntryDTO> entries = scheduleService.getScheduleForDate(date);
-        return ResponseEntity.ok(entries);
+        return ResponseEntity.ok(withTimes(entries, minuteTimes));
     }
 
     /**
@@ -77,9 +94,22 @@ public class ScheduleController {
     @GetMapping("/on-duty")
     public ResponseEntity<List<ScheduleEntryDTO>> getWhoIsWorkingAt(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time,
+            @RequestParam(defaultValue = "false") boolean minuteTimes) {
         List<ScheduleEntryDTO> entries = scheduleService.getWhoIsWorkingAt(date, time);
-        return ResponseEntity.ok(entries);
+        return ResponseEntity.ok(withTimes(entries, minuteTimes));
+    }
+
+    /**
+     * GET /api/schedules/status/krank?startDate=2026-02-01&endDate=2026-02-28
+     * Entries with a status in a date range, absence ranges included
+     */
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<ScheduleEntryDTO>> getEntriesByStatus(
+            @PathVariable String status,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(scheduleService.getEntriesByStatus(status, startDate, endDate));
     }
 
     /**
@@ -94,12 +124,23 @@ public class ScheduleController {
         return ResponseEntity.ok(totals);
     }
 
+    /**
+     * GET /api/schedules/weekly-staff-totals/{year}/{week}
+     * Get worked and break minutes and status days per staff member for a week
+     */
+    @GetMapping("/weekly-staff-totals/{year}/{week}")
+    public ResponseEntity<List<WeeklyStaffTotalDTO>> getWeeklyStaffTotals(
+            @PathVariable Integer year,
+            @PathVariable Integer week) {
+        return ResponseEntity.ok(scheduleService.getWeeklyStaffTotals(week, year));
+    }
+
     /**
      * POST /api/schedules/entries
      * Create a new schedule entry
      */
     @PostMapping("/entries")
-    public ResponseEntity<Void> createScheduleEntry(
+    public ResponseEntity<ScheduleEntryDTO> createScheduleEntry(
             @RequestBody CreateScheduleEntryRequest request) {
 
         // Validate and fetch related entities
@@ -117,14 +158,14 @@ public class ScheduleController {
         entry.setWorkDate(request.getWorkDate());
         entry.setStartTime(request.getStartTime());
         entry.setEndTime(request.getEndTime());
+        entry.setShiftTypeId(request.getShiftTypeId());
         entry.setStatus(request.getStatus());
         entry.setNotes(request.getNotes());
 
-        // Save directly without converting to DTO to avoid serialization issues
-        scheduleEntryRepository.save(entry);
-
-        // Return 201 Created with no body (avoids all serialization issues)
-        return ResponseEntity.status(HttpStatus.CREATED).build();
+        // Save through the service so change events are published;
+        // the DTO is built inside the transaction, avoiding serialization issues
+        ScheduleEntryDTO created = scheduleService.createScheduleEntry(entry);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     /**
@@ -139,6 +180,7 @@ public class ScheduleController {
         ScheduleEntry entry = new ScheduleEntry();
         entry.setStartTime(request.getStartTime());
         entry.setEndTime(request.getEndTime());
+        entry.setShiftTypeId(request.getShiftTypeId());
         entry.setStatus(request.getStatus());
         entry.setNotes(request.getNotes());
 
@@ -155,6 +197,13 @@ public class ScheduleController {
         scheduleService.deleteScheduleEntry(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static List<ScheduleEntryDTO> withTimes(List<ScheduleEntryDTO> entries, boolean minuteTimes) {
+        if (minuteTimes) {
+            entries.forEach(ScheduleEntryDTO::useMinuteTimes);
+        }
+        return entries;
+    }
 }
 
 // Request DTOs
@@ -166,6 +215,7 @@ class CreateScheduleEntryRequest {
     private LocalDate workDate;
     private LocalTime startTime;
     private LocalTime endTime;
+    private Short shiftTypeId;
     private String status;
     private String notes;
 }
@@ -174,6 +224,7 @@ class CreateScheduleEntryRequest {
 class UpdateScheduleEntryRequest {
     private LocalTime startTime;
     private LocalTime endTime;
+    private Short shiftTypeId;
     private String status;
     private String notes;
 }
@@ -0,0 +1,69 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.service.SchedulePdfService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * REST Controller for printable Dienstplan PDFs
+ */
+@RestController
+@RequestMapping("/api/schedules")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SchedulePdfController {
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final SchedulePdfService schedulePdfService;
+
+    /**
+     * GET /api/schedules/week/{year}/{week}/pdf
+     * Printable Dienstplan for one week
+     */
+    @GetMapping("/week/{year}/{week}/pdf")
+    public ResponseEntity<byte[]> getWeekPdf(@PathVariable Integer year, @PathVariable Integer week) {
+        return schedulePdfService.renderWeek(week, year)
+                .map(pdf -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                                .filename("Dienstplan_" + year + "_KW" + week + ".pdf").build().toString())
+                        .body(pdf))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/schedules/year/{year}/pdf
+     * All weeks of a year as a ZIP of PDFs, rendered in parallel
+     */
+    @GetMapping("/year/{year}/pdf")
+    public ResponseEntity<StreamingResponseBody> getYearPdfs(@PathVariable Integer year) {
+        Map<String, byte[]> files = schedulePdfService.renderYear(year);
+        if (files.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        StreamingResponseBody body = out -> {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            for (Map.Entry<String, byte[]> file : files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue());
+                zip.closeEntry();
+            }
+            zip.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("Dienstplan_" + year + ".zip").build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,73 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.ShiftTypeDTO;
+import com.kita.dienstplan.dto.ShiftTypeUsageDTO;
+import com.kita.dienstplan.entity.ShiftType;
+import com.kita.dienstplan.service.ShiftCatalogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for the shift-type catalogue
+ */
+@RestController
+@RequestMapping("/api/shift-types")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ShiftTypeController {
+
+    private final ShiftCatalogService shiftCatalogService;
+
+    @GetMapping
+    public ResponseEntity<List<ShiftTypeDTO>> getShiftTypes() {
+        return ResponseEntity.ok(shiftCatalogService.getShiftTypes());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ShiftTypeDTO> getShiftType(@PathVariable Short id) {
+        return shiftCatalogService.getShiftType(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/shift-types
+     * Create a shift type, e.g. {"code": "FRUEH", "name": "Früh", "startTime": "07:30", "endTime": "16:00"}
+     */
+    @PostMapping
+    public ResponseEntity<ShiftTypeDTO> createShiftType(@RequestBody ShiftType shiftType) {
+        if (shiftType.getCode() == null || shiftType.getCode().isBlank()
+                || shiftType.getName() == null || shiftType.getName().isBlank()
+                || shiftType.getStartTime() == null || shiftType.getEndTime() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(shiftCatalogService.createShiftType(shiftType));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ShiftTypeDTO> updateShiftType(@PathVariable Short id, @RequestBody ShiftType shiftType) {
+        return shiftCatalogService.updateShiftType(id, shiftType)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/shift-types/usage?startDate=2026-01-01&endDate=2026-03-31
+     * Entry count and working time per shift type
+     */
+    @GetMapping("/usage")
+    public ResponseEntity<List<ShiftTypeUsageDTO>> getUsage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(shiftCatalogService.getUsage(startDate, endDate));
+    }
+}
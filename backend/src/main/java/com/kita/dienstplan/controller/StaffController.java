@@ -7,12 +7,15 @@ import com.kita.dienstplan.entity.Staff;
 import com.kita.dienstplan.entity.WeeklySchedule;
 import com.kita.dienstplan.repository.WeeklyScheduleRepository;
 import com.kita.dienstplan.service.GroupService;
+import com.kita.dienstplan.service.ScheduleService;
 import com.kita.dienstplan.service.StaffService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -68,6 +71,18 @@ public class StaffController {
         }
         return ResponseEntity.notFound().build();
     }
+
+    /**
+     * Soft delete: inactive from the day after terminationDate (default today), history kept
+     */
+    @PostMapping("/{id}/archive")
+    public ResponseEntity<StaffDTO> archiveStaff(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate terminationDate) {
+        return staffService.archiveStaff(id, terminationDate)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
 
 /**
@@ -130,6 +145,7 @@ class GroupController {
 class WeeklyScheduleController {
 
     private final WeeklyScheduleRepository weeklyScheduleRepository;
+    private final ScheduleService scheduleService;
 
     @GetMapping
     public ResponseEntity<List<com.kita.dienstplan.dto.WeeklyScheduleDTO>> getAllWeeklySchedules() {
@@ -185,7 +201,7 @@ class WeeklyScheduleController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteWeeklySchedule(@PathVariable Long id) {
-        weeklyScheduleRepository.deleteById(id);
+        scheduleService.deleteWeek(id);
         return ResponseEntity.noContent().build();
     }
 }
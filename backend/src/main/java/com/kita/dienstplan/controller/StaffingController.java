@@ -0,0 +1,85 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.StaffingReportDTO;
+import com.kita.dienstplan.dto.StaffingRuleDTO;
+import com.kita.dienstplan.service.StaffingRuleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for minimum-staffing rules and their evaluation per week
+ */
+@RestController
+@RequestMapping("/api/staffing")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class StaffingController {
+
+    private final StaffingRuleService staffingRuleService;
+
+    @GetMapping("/rules")
+    public ResponseEntity<List<StaffingRuleDTO>> getRules() {
+        return ResponseEntity.ok(staffingRuleService.getRules());
+    }
+
+    @GetMapping("/rules/{id}")
+    public ResponseEntity<StaffingRuleDTO> getRule(@PathVariable Long id) {
+        return staffingRuleService.getRule(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/staffing/rules
+     * e.g. {"name": "Krippe Kernzeit", "groupId": 1, "startTime": "08:00", "endTime": "15:00",
+     *       "roles": ["Erzieher", "Erzieherin"], "minStaff": 2}
+     * weekdays (1 = Monday ... 7 = Sunday) default to Monday to Friday; no groupId means the whole Kita
+     */
+    @PostMapping("/rules")
+    public ResponseEntity<StaffingRuleDTO> createRule(@RequestBody StaffingRuleDTO request) {
+        try {
+            return staffingRuleService.createRule(request)
+                    .map(rule -> ResponseEntity.status(HttpStatus.CREATED).body(rule))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * PUT /api/staffing/rules/{id}
+     * Replaces the rule
+     */
+    @PutMapping("/rules/{id}")
+    public ResponseEntity<StaffingRuleDTO> updateRule(@PathVariable Long id, @RequestBody StaffingRuleDTO request) {
+        try {
+            return staffingRuleService.updateRule(id, request)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        return staffingRuleService.deleteRule(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * GET /api/staffing/week/{year}/{week}
+     * Per rule and day: qualifying staff per 15-minute slot, pass/fail and under-staffed stretches
+     */
+    @GetMapping("/week/{year}/{week}")
+    public ResponseEntity<StaffingReportDTO> getWeekReport(@PathVariable Integer year, @PathVariable Integer week) {
+        return staffingRuleService.getWeekReport(year, week)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,65 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.SubstituteCandidateDTO;
+import com.kita.dienstplan.service.SubstituteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * REST Controller for finding substitutes when a shift has to be covered at short notice
+ */
+@RestController
+@RequestMapping("/api/substitutes")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class SubstituteController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final SubstituteService substituteService;
+
+    /**
+     * GET /api/substitutes?date=2026-02-02&start=07:00&end=15:00&absentStaffId=3
+     * Ranked candidates for the window; the absent staff member's group ranks first unless groupId is given
+     */
+    @GetMapping
+    public ResponseEntity<List<SubstituteCandidateDTO>> findCandidates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime end,
+            @RequestParam(required = false) Long absentStaffId,
+            @RequestParam(required = false) Long groupId,
+            @RequestParam(defaultValue = "false") boolean includePraktikanten,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(substituteService.findCandidates(date, start, end, absentStaffId, groupId,
+                    includePraktikanten, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * POST /api/substitutes/warm?startDate=2026-02-02&endDate=2026-02-03
+     * Build the availability indexes of some days ahead of the first call
+     */
+    @PostMapping("/warm")
+    public ResponseEntity<Void> warm(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (endDate.isBefore(startDate) || startDate.plusDays(31).isBefore(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        substituteService.warm(startDate, endDate);
+        return ResponseEntity.noContent().build();
+    }
+}
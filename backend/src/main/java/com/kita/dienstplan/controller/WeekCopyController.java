@@ -0,0 +1,115 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.WeekCopyRequest;
+import com.kita.dienstplan.dto.WeekCopyResultDTO;
+import com.kita.dienstplan.dto.WeekTemplateDTO;
+import com.kita.dienstplan.service.WeekCopyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for server-side week copy
+ */
+@RestController
+@RequestMapping("/api/schedules")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class WeekCopyController {
+
+    private final WeekCopyService weekCopyService;
+
+    /**
+     * POST /api/schedules/week/{year}/{week}/copy
+     * Copy a week into another week, e.g. {"targetYear": 2026, "targetWeek": 7}
+     */
+    @PostMapping("/week/{year}/{week}/copy")
+    public ResponseEntity<WeekCopyResultDTO> copyWeek(
+            @PathVariable Integer year,
+            @PathVariable Integer week,
+            @RequestBody WeekCopyRequest request) {
+        if (!request.hasTarget()
+                || (year.equals(request.getTargetYear()) && week.equals(request.getTargetWeek()))) {
+            return ResponseEntity.badRequest().build();
+        }
+        return weekCopyService.copyWeek(year, week, request)
+                .map(result -> ResponseEntity.status(HttpStatus.CREATED).body(result))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
+
+/**
+ * REST Controller for named week templates
+ */
+@RestController
+@RequestMapping("/api/week-templates")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+class WeekTemplateController {
+
+    private final WeekCopyService weekCopyService;
+
+    @GetMapping
+    public ResponseEntity<List<WeekTemplateDTO>> getTemplates() {
+        return ResponseEntity.ok(weekCopyService.getTemplates());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<WeekTemplateDTO> getTemplate(@PathVariable Long id) {
+        return weekCopyService.getTemplate(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/week-templates
+     * Save a week as a template, e.g. {"name": "Regelwoche", "sourceYear": 2026, "sourceWeek": 6}
+     */
+    @PostMapping
+    public ResponseEntity<WeekTemplateDTO> createTemplate(@RequestBody CreateWeekTemplateRequest request) {
+        if (request.getName() == null || request.getName().isBlank()
+                || request.getSourceYear() == null || request.getSourceWeek() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return weekCopyService.createTemplate(request.getName().trim(), request.getDescription(),
+                        request.getSourceYear(), request.getSourceWeek(), request.getStaffIds())
+                .map(template -> ResponseEntity.status(HttpStatus.CREATED).body(template))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/week-templates/{id}/apply
+     * Instantiate a template into a week, e.g. {"targetYear": 2026, "targetWeek": 7}
+     */
+    @PostMapping("/{id}/apply")
+    public ResponseEntity<WeekCopyResultDTO> applyTemplate(
+            @PathVariable Long id,
+            @RequestBody WeekCopyRequest request) {
+        if (!request.hasTarget()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return weekCopyService.applyTemplate(id, request)
+                .map(result -> ResponseEntity.status(HttpStatus.CREATED).body(result))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTemplate(@PathVariable Long id) {
+        return weekCopyService.deleteTemplate(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
+
+// Request DTOs
+@lombok.Data
+class CreateWeekTemplateRequest {
+    private String name;
+    private String description;
+    private Integer sourceYear;
+    private Integer sourceWeek;
+    private List<Long> staffIds;
+}
@@ -0,0 +1,30 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.WorkloadPoolDTO;
+import com.kita.dienstplan.service.WorkloadPoolService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for the workload connection pools
+ */
+@RestController
+@RequestMapping("/api/workloads")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class WorkloadController {
+
+    private final WorkloadPoolService workloadPoolService;
+
+    /**
+     * GET /api/workloads
+     * Size, usage, waits and timeouts of each workload pool; empty when they are disabled
+     */
+    @GetMapping
+    public ResponseEntity<List<WorkloadPoolDTO>> getPools() {
+        return ResponseEntity.ok(workloadPoolService.getPools());
+    }
+}
@@ -0,0 +1,44 @@
+package com.kita.dienstplan.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Reads of the current thread that go to the primary even in read-only transactions.
+ * Caches that are evicted on commit fill under it: a replica still behind the commit would
+ * otherwise put the evicted state back until the next change. The route is decided when a
+ * connection is taken (see ReplicaRoutingDataSource), so only connections taken during the call
+ * are affected; a transaction that already read keeps its connection.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * Run work with its reads on the primary
+     */
+    public static <T> T call(Supplier<T> work) {
+        if (ACTIVE.get() != null) {
+            return work.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    public static void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package com.kita.dienstplan.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users who wrote recently, whose reads stay on the primary until replicas have caught up
+ */
+public class ReadYourWritesPins {
+
+    // Expired pins are swept once the map grows past this
+    private static final int SWEEP_SIZE = 1024;
+
+    private final long windowNanos;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesPins(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Send the user's reads to the primary for the window, starting now
+     */
+    public void pin(String user) {
+        if (windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        pinnedUntil.put(user, now + windowNanos);
+        if (pinnedUntil.size() > SWEEP_SIZE) {
+            pinnedUntil.values().removeIf(until -> until - now <= 0);
+        }
+    }
+
+    public boolean isPinned(String user) {
+        Long until = pinnedUntil.get(user);
+        return until != null && until - System.nanoTime() > 0;
+    }
+}
@@ -0,0 +1,128 @@
+package com.kita.dienstplan.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the read replicas on a fixed delay and hands out the usable ones round-robin.
+ *
+ * A replica is usable while it answers and lags the primary by at most maxLagSeconds. The lag
+ * comes from the configured query (a single number of seconds) or, on MySQL, from
+ * SHOW REPLICA STATUS; a server that is not replicating counts as current, a replica whose
+ * replication stopped does not. All replicas start unusable until the first check.
+ */
+@Slf4j
+public class ReplicaHealthMonitor implements Closeable {
+
+    public record Replica(String name, DataSource dataSource) {
+    }
+
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<Replica> usable = List.of();
+
+    /**
+     * @param lagQuery query returning the replica's lag in seconds; blank for the MySQL default
+     */
+    public ReplicaHealthMonitor(List<Replica> replicas, long maxLagSeconds, String lagQuery) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${datasource.replicas.health-interval-ms:5000}")
+    public void check() {
+        List<Replica> healthy = new ArrayList<>();
+        for (Replica replica : replicas) {
+            Long lag = lagSeconds(replica);
+            boolean ok = lag != null && lag <= maxLagSeconds;
+            boolean was = usable.contains(replica);
+            if (ok) {
+                healthy.add(replica);
+            }
+            if (ok != was) {
+                if (ok) {
+                    log.info("Replica {} is in use again (lag {} s)", replica.name(), lag);
+                } else {
+                    log.warn("Replica {} taken out of rotation ({})", replica.name(),
+                            lag == null ? "unreachable or not replicating" : "lag " + lag + " s");
+                }
+            }
+        }
+        usable = List.copyOf(healthy);
+    }
+
+    /**
+     * Name of the next usable replica; empty if none is
+     */
+    public Optional<String> pick() {
+        List<Replica> candidates = usable;
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size())).name());
+    }
+
+    private Long lagSeconds(Replica replica) {
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.dataSource());
+            if (lagQuery != null) {
+                Number lag = jdbcTemplate.queryForObject(lagQuery, Number.class);
+                return lag != null ? lag.longValue() : null;
+            }
+            if (!isMySql(jdbcTemplate)) {
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                return 0L;
+            }
+            List<Map<String, Object>> status = jdbcTemplate.queryForList("SHOW REPLICA STATUS");
+            if (status.isEmpty()) {
+                return 0L;
+            }
+            for (String column : LAG_COLUMNS) {
+                if (status.get(0).containsKey(column)) {
+                    Object lag = status.get(0).get(column);
+                    return lag != null ? ((Number) lag).longValue() : null;
+                }
+            }
+            return null;
+        } catch (RuntimeException e) {
+            log.debug("Health check of replica {} failed: {}", replica.name(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isMySql(JdbcTemplate jdbcTemplate) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
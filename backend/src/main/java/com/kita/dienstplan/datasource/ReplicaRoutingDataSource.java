@@ -0,0 +1,85 @@
+package com.kita.dienstplan.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to a usable replica and everything else to the primary.
+ *
+ * A user who starts a write is pinned to the primary, again once it commits, so their reads
+ * within the pin window see their own writes. Reads without a user (jobs) are never pinned.
+ * Reads that fill a cache evicted on commit use the primary too (see {@link PrimaryReads}), so a
+ * lagging replica cannot refill the cache with the state from before the change.
+ * The key is decided when a connection is taken, so the data source must sit behind a
+ * LazyConnectionDataSourceProxy (see {@link #lazy}): JPA opens the connection before the
+ * transaction's read-only flag is published, the proxy defers that to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaHealthMonitor monitor;
+    private final ReadYourWritesPins pins;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaHealthMonitor monitor, ReadYourWritesPins pins) {
+        this.monitor = monitor;
+        this.pins = pins;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        monitor.getReplicas().forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Routing data source behind a lazy connection proxy, as the application's data source
+     */
+    public static DataSource lazy(DataSource primary, ReplicaHealthMonitor monitor, ReadYourWritesPins pins) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, monitor, pins));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) {
+                pinUntilAfterCommit(user);
+            }
+            return PRIMARY;
+        }
+        if (PrimaryReads.isActive() || (user != null && pins.isPinned(user))) {
+            return PRIMARY;
+        }
+        return monitor.pick().orElse(PRIMARY);
+    }
+
+    private void pinUntilAfterCommit(String user) {
+        pins.pin(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pins.pin(user);
+                }
+            });
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || "anonymousUser".equals(authentication.getPrincipal())) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,20 @@
+package com.kita.dienstplan.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a bean method, or every method of a bean, on the pool of a workload.
+ * The outermost annotated call wins: a report that calls an unannotated or interactive method
+ * stays on the reporting pool. Calls from within the same bean bypass the proxy and are not seen.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UseWorkload {
+
+    Workload value();
+}
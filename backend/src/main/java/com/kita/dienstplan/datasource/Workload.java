@@ -0,0 +1,23 @@
+package com.kita.dienstplan.datasource;
+
+import java.util.Locale;
+
+/**
+ * Kinds of database work, each with its own connection pool so long reports and jobs cannot
+ * take the connections of the week views
+ */
+public enum Workload {
+    /** Requests a user waits for; the default */
+    INTERACTIVE,
+    /** Exports, year reports and analytics */
+    REPORTING,
+    /** Scheduled jobs and bulk operations */
+    BATCH;
+
+    /**
+     * Name used in property keys and pool names
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,48 @@
+package com.kita.dienstplan.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Sets the workload of {@link UseWorkload} methods for the duration of the call.
+ * Ordered before the transaction interceptor, so the transaction's connection comes from the
+ * workload's pool.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadAspect {
+
+    @Around("@annotation(com.kita.dienstplan.datasource.UseWorkload) || @within(com.kita.dienstplan.datasource.UseWorkload)")
+    public Object withWorkload(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (WorkloadContext.isSet()) {
+            return joinPoint.proceed();
+        }
+        WorkloadContext.set(workload(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.clear();
+        }
+    }
+
+    private static Workload workload(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                targetClass);
+        UseWorkload annotation = AnnotatedElementUtils.findMergedAnnotation(method, UseWorkload.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, UseWorkload.class);
+        }
+        return annotation != null ? annotation.value() : Workload.INTERACTIVE;
+    }
+}
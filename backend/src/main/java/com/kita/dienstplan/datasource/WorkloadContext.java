@@ -0,0 +1,46 @@
+package com.kita.dienstplan.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Workload of the current thread, {@link Workload#INTERACTIVE} unless set
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.INTERACTIVE;
+    }
+
+    /**
+     * Run work under a workload unless the thread already has one
+     */
+    public static <T> T call(Workload workload, Supplier<T> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+        CURRENT.set(workload);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    static boolean isSet() {
+        return CURRENT.get() != null;
+    }
+
+    static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
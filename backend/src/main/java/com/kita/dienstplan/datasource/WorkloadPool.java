@@ -0,0 +1,75 @@
+package com.kita.dienstplan.datasource;
+
+import com.kita.dienstplan.dto.WorkloadPoolDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The connection pool of one workload, acting as its bulkhead: when the pool is exhausted,
+ * callers of that workload wait up to the pool's connection timeout and then fail, while the
+ * other workloads keep their connections. Counts acquisitions, wait times and timeouts.
+ */
+public class WorkloadPool extends DelegatingDataSource implements Closeable {
+
+    private final Workload workload;
+    private final HikariDataSource pool;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public WorkloadPool(Workload workload, HikariDataSource pool) {
+        super(pool);
+        this.workload = workload;
+        this.pool = pool;
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Connection connection = pool.getConnection();
+            record(System.nanoTime() - start);
+            return connection;
+        } catch (SQLTransientConnectionException e) {
+            timeouts.increment();
+            throw e;
+        }
+    }
+
+    private void record(long nanos) {
+        acquired.increment();
+        waitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public WorkloadPoolDTO getStats() {
+        // The pool starts with its first connection
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        long count = acquired.sum();
+        return new WorkloadPoolDTO(workload.key(), pool.getMaximumPoolSize(), pool.getConnectionTimeout(),
+                bean != null ? bean.getActiveConnections() : 0,
+                bean != null ? bean.getIdleConnections() : 0,
+                bean != null ? bean.getThreadsAwaitingConnection() : 0,
+                count, timeouts.sum(),
+                count > 0 ? waitNanos.sum() / count / 1_000_000.0 : 0,
+                maxWaitNanos.get() / 1_000_000.0);
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+}
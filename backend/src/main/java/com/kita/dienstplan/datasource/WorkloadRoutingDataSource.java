@@ -0,0 +1,45 @@
+package com.kita.dienstplan.datasource;
+
+import com.kita.dienstplan.dto.WorkloadPoolDTO;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Takes connections from the pool of the current thread's workload (see {@link WorkloadContext}).
+ * With read replicas enabled this is the primary behind ReplicaRoutingDataSource, so writes and
+ * pinned reads are isolated by workload while replica reads use the replica pools.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<Workload, WorkloadPool> pools;
+
+    public WorkloadRoutingDataSource(List<WorkloadPool> pools) {
+        this.pools = new EnumMap<>(Workload.class);
+        pools.forEach(pool -> this.pools.put(pool.getWorkload(), pool));
+        if (!this.pools.keySet().containsAll(List.of(Workload.values()))) {
+            throw new IllegalArgumentException("Every workload needs a pool");
+        }
+        setTargetDataSources(new HashMap<>(this.pools));
+        setDefaultTargetDataSource(this.pools.get(Workload.INTERACTIVE));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+
+    public List<WorkloadPoolDTO> getStats() {
+        return pools.values().stream().map(WorkloadPool::getStats).toList();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(WorkloadPool::close);
+    }
+}
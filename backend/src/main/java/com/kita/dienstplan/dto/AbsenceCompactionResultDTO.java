@@ -0,0 +1,20 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for the result of folding per-day absence entries into absence ranges
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AbsenceCompactionResultDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer rangesCreated;
+    private Integer entriesRemoved;
+}
@@ -0,0 +1,39 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.entity.Absence;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for an absence range; weekdays lists the covered days (1 = Monday ... 7 = Sunday)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AbsenceDTO {
+    private Long id;
+    private Long staffId;
+    private String staffName;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<Integer> weekdays;
+    private String notes;
+
+    public static AbsenceDTO of(Absence absence) {
+        List<Integer> weekdays = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (absence.coversWeekday(day)) {
+                weekdays.add(day.getValue());
+            }
+        }
+        return new AbsenceDTO(absence.getId(), absence.getStaff().getId(), absence.getStaff().getFullName(),
+                absence.getStatus(), absence.getStartDate(), absence.getEndDate(), weekdays, absence.getNotes());
+    }
+}
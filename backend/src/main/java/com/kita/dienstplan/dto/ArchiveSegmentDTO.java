@@ -0,0 +1,20 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One yearly archive segment file with the weeks it holds
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveSegmentDTO {
+    private Integer year;
+    private String fileName;
+    private Long fileBytes;     // including blocks superseded by a restore or a later archival
+    private Integer weeks;
+    private Long entries;
+    private Long rawBytes;      // uncompressed size of the weeks held
+}
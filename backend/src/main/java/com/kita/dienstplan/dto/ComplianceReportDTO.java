@@ -0,0 +1,45 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.compliance.ComplianceRule;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a working-time compliance report over a date range
+ */
+@Data
+@NoArgsConstructor
+public class ComplianceReportDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer staffCount;
+    private Integer shiftCount;
+    private Integer violationCount;
+    private Map<ComplianceRule, Integer> violationsByRule;
+    private List<ComplianceViolationDTO> violations;
+
+    /**
+     * Build a report and count the violations per rule
+     */
+    public static ComplianceReportDTO of(LocalDate startDate, LocalDate endDate, int staffCount, int shiftCount,
+                                         List<ComplianceViolationDTO> violations) {
+        ComplianceReportDTO report = new ComplianceReportDTO();
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
+        report.setStaffCount(staffCount);
+        report.setShiftCount(shiftCount);
+        report.setViolationCount(violations.size());
+        Map<ComplianceRule, Integer> byRule = new EnumMap<>(ComplianceRule.class);
+        for (ComplianceViolationDTO violation : violations) {
+            byRule.merge(violation.getRule(), 1, Integer::sum);
+        }
+        report.setViolationsByRule(byRule);
+        report.setViolations(violations);
+        return report;
+    }
+}
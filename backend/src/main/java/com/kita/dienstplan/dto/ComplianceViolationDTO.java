@@ -0,0 +1,26 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.compliance.ComplianceRule;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for a single working-time violation
+ * relatedEntryId is the earlier shift for rest and overlap violations; entryId is null for unsaved shifts
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplianceViolationDTO {
+    private Long staffId;
+    private Long entryId;
+    private Long relatedEntryId;
+    private LocalDate workDate;
+    private ComplianceRule rule;
+    private Integer actualMinutes;
+    private Integer limitMinutes;
+    private String message;
+}
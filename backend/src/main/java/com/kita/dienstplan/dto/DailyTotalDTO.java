@@ -1,5 +1,7 @@
 package com.kita.dienstplan.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kita.dienstplan.holiday.DayKind;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,6 +25,24 @@ public class DailyTotalDTO {
     private Long staffCountWithoutPraktikanten;
     private Long totalStaffCount;
 
+    /**
+     * Holiday, closure or team day; omitted on regular days
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DayKind specialDayKind;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String specialDayName;
+
+    public DailyTotalDTO(Integer dayOfWeek, LocalDate workDate, String dayName,
+                         Integer totalMinutesWithoutPraktikanten, Integer totalMinutesWithPraktikanten,
+                         String hoursWithoutPraktikanten, String hoursWithPraktikanten,
+                         Long staffCountWithoutPraktikanten, Long totalStaffCount) {
+        this(dayOfWeek, workDate, dayName, totalMinutesWithoutPraktikanten, totalMinutesWithPraktikanten,
+                hoursWithoutPraktikanten, hoursWithPraktikanten, staffCountWithoutPraktikanten, totalStaffCount,
+                null, null);
+    }
+
     public void setFormattedHours() {
         this.hoursWithoutPraktikanten = formatMinutes(totalMinutesWithoutPraktikanten);
         this.hoursWithPraktikanten = formatMinutes(totalMinutesWithPraktikanten);
@@ -42,36 +62,3 @@ public class DailyTotalDTO {
         return String.format("%d:%02d", hours, mins);
     }
 }
-
-/**
- * DTO for weekly staff totals
- */
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-class WeeklyStaffTotalDTO {
-    private Long staffId;
-    private String fullName;
-    private String role;
-    private String groupName;
-    private Integer totalWorkingMinutes;
-    private Integer totalBreakMinutes;
-    private String totalHoursFormatted;
-    private String totalBreakFormatted;
-    private Long daysWorked;
-    private Long daysSick;
-    private Long daysOff;
-    private Long schoolDays;
-
-    public void setFormattedTotals() {
-        this.totalHoursFormatted = formatMinutes(totalWorkingMinutes);
-        this.totalBreakFormatted = formatMinutes(totalBreakMinutes);
-    }
-
-    private String formatMinutes(Integer minutes) {
-        if (minutes == null || minutes == 0) return "0:00";
-        int hours = minutes / 60;
-        int mins = minutes % 60;
-        return String.format("%d:%02d", hours, mins);
-    }
-}
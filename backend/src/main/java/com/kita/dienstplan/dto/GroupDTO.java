@@ -1,9 +1,12 @@
 package com.kita.dienstplan.dto;
 
 import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.Staff;
+import org.hibernate.Hibernate;
 import org.springframework.lang.NonNull;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Data Transfer Object for Group entity.
@@ -26,9 +29,18 @@ public class GroupDTO {
 
     /**
      * Convert Group entity to DTO.
-     * Calculates staffCount from staffMembers collection size.
+     * Counts staffMembers only if the collection is loaded already, as for a group just created;
+     * otherwise pass the count from GroupRepository.
      */
     public static GroupDTO fromEntity(@NonNull Group entity) {
+        List<Staff> staffMembers = entity.getStaffMembers();
+        return fromEntity(entity, staffMembers != null && Hibernate.isInitialized(staffMembers) ? staffMembers.size() : 0);
+    }
+
+    /**
+     * Convert Group entity to DTO with a staff count queried separately
+     */
+    public static GroupDTO fromEntity(@NonNull Group entity, int staffCount) {
         GroupDTO dto = new GroupDTO();
         dto.setId(entity.getId());
         dto.setName(entity.getName());
@@ -39,18 +51,7 @@ public class GroupDTO {
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
 
-        // Calculate staff count from collection
-        try {
-            if (entity.getStaffMembers() != null) {
-                dto.setStaffCount(entity.getStaffMembers().size());
-            } else {
-                dto.setStaffCount(0);
-            }
-        } catch (Exception e) {
-            // Staff members not loaded, set to 0
-            dto.setStaffCount(0);
-        }
-
+        dto.setStaffCount(staffCount);
         return dto;
     }
 
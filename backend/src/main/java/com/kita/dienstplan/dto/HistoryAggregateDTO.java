@@ -0,0 +1,37 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Result of a history aggregation: one bucket per combination of the grouping keys that has rows.
+ * A row is an entry or an absence day without one; workingMinutes is the Ist time after the absence overlay.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryAggregateDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private List<String> groupBy;
+    private List<Bucket> buckets;
+    private Long scannedRows;
+    private Long elapsedMicros;
+
+    /**
+     * Totals of one key combination; keys are ids or codes, labels are for display
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private List<String> keys;
+        private List<String> labels;
+        private Long entries;
+        private Long workingMinutes;
+    }
+}
@@ -0,0 +1,30 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Size of the in-memory history store, in total and per year
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoryStatsDTO {
+    private Boolean loaded;
+    private Long rows;
+    private Long bytes;
+    private Double bytesPerRow;
+    private List<Year> years;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Year {
+        private Integer year;
+        private Long rows;
+        private Long bytes;
+    }
+}
@@ -0,0 +1,19 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of filling Feiertag entries for a year's closed days
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayFillResultDTO {
+    private Integer year;
+    private Integer closedDays;
+    private Integer weeksCreated;
+    private Integer entriesCreated;
+    private Integer entriesConverted;
+}
@@ -0,0 +1,38 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.entity.HoursAccount;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Current Soll/Ist balance of a staff member
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoursBalanceDTO {
+    private Long staffId;
+    private String staffName;
+    private BigDecimal weeklyHours;
+    private Integer targetMinutes;
+    private Integer actualMinutes;
+    private Integer balanceMinutes;
+    private String balanceFormatted;
+
+    public static HoursBalanceDTO of(HoursAccount account, String staffName, BigDecimal weeklyHours) {
+        return new HoursBalanceDTO(account.getStaffId(), staffName, weeklyHours,
+                account.getTargetMinutes(), account.getActualMinutes(), account.getBalanceMinutes(),
+                formatBalance(account.getBalanceMinutes()));
+    }
+
+    /**
+     * Signed H:MM, e.g. "+12:30" or "-3:15"
+     */
+    public static String formatBalance(int minutes) {
+        int abs = Math.abs(minutes);
+        return (minutes < 0 ? "-" : "+") + String.format("%d:%02d", abs / 60, abs % 60);
+    }
+}
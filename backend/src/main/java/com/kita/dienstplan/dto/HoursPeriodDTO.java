@@ -0,0 +1,31 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.entity.HoursAccountPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One week or month of a staff member's hours account, with the running balance at its end
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoursPeriodDTO {
+    private String periodType;
+    private LocalDate periodStart;
+    private Integer targetMinutes;
+    private Integer actualMinutes;
+    private Integer balanceMinutes;
+    private Integer runningBalanceMinutes;
+    private String runningBalanceFormatted;
+    private Integer entryCount;
+
+    public static HoursPeriodDTO of(HoursAccountPeriod period, int runningBalance) {
+        return new HoursPeriodDTO(period.getPeriodType().name(), period.getPeriodStart(),
+                period.getTargetMinutes(), period.getActualMinutes(), period.getBalanceMinutes(),
+                runningBalance, HoursBalanceDTO.formatBalance(runningBalance), period.getEntryCount());
+    }
+}
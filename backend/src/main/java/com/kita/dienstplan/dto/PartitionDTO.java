@@ -0,0 +1,22 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One partition of schedule_entries with the sizes MySQL estimates for it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionDTO {
+    private String name;
+    private Integer year;           // null for the catch-all partition
+    private LocalDate upperBound;   // exclusive; null for MAXVALUE
+    private Long rows;
+    private Long dataBytes;
+    private Long indexBytes;
+}
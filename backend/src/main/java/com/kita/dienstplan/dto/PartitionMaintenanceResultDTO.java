@@ -0,0 +1,22 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a partition maintenance run: partitions created, archived and dropped.
+ * Not supported means the database is not MySQL or schedule_entries is not partitioned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionMaintenanceResultDTO {
+    private Boolean supported;
+    private List<String> created;
+    private List<String> archived;
+    private List<String> dropped;
+    private List<PartitionDTO> partitions;
+}
@@ -0,0 +1,40 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.entity.ScheduleRollup;
+import com.kita.dienstplan.entity.ScheduleRollup.Dimension;
+import com.kita.dienstplan.entity.ScheduleRollup.Granularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated totals of one staff member, group or role over one period
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupDTO {
+    private Granularity granularity;
+    private LocalDate periodStart;
+    private Dimension dimension;
+    private String key;
+    private String label;
+    private Integer workedMinutes;
+    private Integer breakMinutes;
+    private Integer entryDays;
+    private Integer normalDays;
+    private Integer freiDays;
+    private Integer krankDays;
+    private Integer urlaubDays;
+    private Integer schuleDays;
+    private Integer feiertagDays;
+
+    public static RollupDTO of(ScheduleRollup rollup, String label) {
+        return new RollupDTO(rollup.getGranularity(), rollup.getPeriodStart(), rollup.getDimension(),
+                rollup.getDimensionKey(), label, rollup.getWorkedMinutes(), rollup.getBreakMinutes(),
+                rollup.getEntryDays(), rollup.getNormalDays(), rollup.getFreiDays(), rollup.getKrankDays(),
+                rollup.getUrlaubDays(), rollup.getSchuleDays(), rollup.getFeiertagDays());
+    }
+}
@@ -0,0 +1,22 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a rollup refresh: rebuilt days, rebuilt week/month/year periods and rows written
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRefreshResultDTO {
+    private Boolean fullRebuild;
+    private Integer daysRefreshed;
+    private Integer periodsRefreshed;
+    private Integer rowsWritten;
+    private LocalDateTime watermark;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,23 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of expanding rotation patterns into schedule entries
+ * skippedSlots counts days that already had an entry and were left untouched
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RotationExpansionResultDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer patternCount;
+    private Integer weeksCreated;
+    private Integer entriesCreated;
+    private Integer skippedSlots;
+}
@@ -0,0 +1,32 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.entity.RotationPattern;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for a rotation pattern; slots are shift codes, "-" for a free day
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RotationPatternDTO {
+    private Long id;
+    private Long staffId;
+    private String staffName;
+    private String name;
+    private List<String> slots;
+    private LocalDate validFrom;
+    private LocalDate validUntil;
+    private Boolean isActive;
+
+    public static RotationPatternDTO of(RotationPattern pattern) {
+        return new RotationPatternDTO(pattern.getId(), pattern.getStaff().getId(), pattern.getStaff().getFullName(),
+                pattern.getName(), List.of(pattern.getSlots().split(",")), pattern.getValidFrom(),
+                pattern.getValidUntil(), pattern.getIsActive());
+    }
+}
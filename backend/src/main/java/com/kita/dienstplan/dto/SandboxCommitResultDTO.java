@@ -0,0 +1,27 @@
+package com.kita.dienstplan.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of committing a sandbox
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SandboxCommitResultDTO {
+    private Long weeklyScheduleId;
+    private Integer entriesCreated;
+    private Integer entriesUpdated;
+    private Integer entriesDeleted;
+
+    /**
+     * Working-time warnings for the written entries (compliance.mode=warn); omitted when empty
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<ComplianceViolationDTO> violations;
+}
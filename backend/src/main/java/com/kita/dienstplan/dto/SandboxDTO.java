@@ -0,0 +1,25 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A sandbox's view of a week: its entries with absences overlaid, and the daily totals and
+ * staffing-rule coverage computed from them. Entries added in the sandbox have negative ids.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SandboxDTO {
+    private String id;
+    private Long weeklyScheduleId;
+    private Integer weekNumber;
+    private Integer year;
+    private Integer changes;
+    private List<ScheduleEntryDTO> entries;
+    private List<DailyTotalDTO> dailyTotals;
+    private StaffingReportDTO staffing;
+}
@@ -1,11 +1,13 @@
 package com.kita.dienstplan.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 /**
  * DTO for ScheduleEntry
@@ -22,14 +24,57 @@ public class ScheduleEntryDTO {
     private String groupName;
     private Integer dayOfWeek;
     private LocalDate workDate;
+
+    /**
+     * Shift times as ISO strings; omitted when there are none or minute times are sent instead
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private LocalTime startTime;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private LocalTime endTime;
+
     private String status;
     private Integer workingHoursMinutes;
     private Integer breakMinutes;
     private String workingHoursFormatted;
     private String breakTimeFormatted;
     private String notes;
+    private Short shiftTypeId;
+
+    /**
+     * Name of the holiday, closure or team day the entry falls on; omitted on regular days
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String specialDay;
+
+    /**
+     * Absence range this day comes from, when the status is overlaid by an absence; omitted otherwise
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long absenceId;
+
+    /**
+     * Working-time warnings for this write (compliance.mode=warn); omitted when empty
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<ComplianceViolationDTO> violations;
+
+    /**
+     * Shift times as minutes since midnight, in place of startTime/endTime; only after useMinuteTimes
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer startMinute;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer endMinute;
+
+    public ScheduleEntryDTO(Long id, Long weeklyScheduleId, Long staffId, String staffName, String staffRole,
+                            String groupName, Integer dayOfWeek, LocalDate workDate, LocalTime startTime,
+                            LocalTime endTime, String status, Integer workingHoursMinutes, Integer breakMinutes,
+                            String workingHoursFormatted, String breakTimeFormatted, String notes) {
+        this(id, weeklyScheduleId, staffId, staffName, staffRole, groupName, dayOfWeek, workDate, startTime,
+                endTime, status, workingHoursMinutes, breakMinutes, workingHoursFormatted, breakTimeFormatted,
+                notes, null, null, null, null, null, null);
+    }
 
     /**
      * Convert minutes to formatted time
@@ -41,6 +86,16 @@ public class ScheduleEntryDTO {
         return String.format("%d:%02d", hours, mins);
     }
 
+    /**
+     * Switch to the compact wire form: times as integer minutes of the day instead of ISO strings
+     */
+    public void useMinuteTimes() {
+        startMinute = startTime != null ? startTime.getHour() * 60 + startTime.getMinute() : null;
+        endMinute = endTime != null ? endTime.getHour() * 60 + endTime.getMinute() : null;
+        startTime = null;
+        endTime = null;
+    }
+
     public void setWorkingHoursFormatted() {
         this.workingHoursFormatted = formatMinutes(workingHoursMinutes);
     }
@@ -0,0 +1,35 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.ShiftType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+/**
+ * DTO for a catalogue shift with its derived working time
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftTypeDTO {
+    private Short id;
+    private String code;
+    private String name;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private Integer workingMinutes;
+    private Integer breakMinutes;
+    private String color;
+    private Boolean isActive;
+
+    public static ShiftTypeDTO of(ShiftType shiftType) {
+        long total = ScheduleEntry.totalMinutes(shiftType.getStartTime(), shiftType.getEndTime());
+        int breakMinutes = ScheduleEntry.breakMinutesFor(total);
+        return new ShiftTypeDTO(shiftType.getId(), shiftType.getCode(), shiftType.getName(),
+                shiftType.getStartTime(), shiftType.getEndTime(), (int) (total - breakMinutes), breakMinutes,
+                shiftType.getColor(), shiftType.getIsActive());
+    }
+}
@@ -0,0 +1,20 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How often a catalogue shift was planned in a date range
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShiftTypeUsageDTO {
+    private Short shiftTypeId;
+    private String code;
+    private String name;
+    private Long entryCount;
+    private Long workingMinutes;
+    private String workingHoursFormatted;
+}
@@ -0,0 +1,23 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.holiday.DayKind;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for a public holiday, closure day or team day
+ * closureDayId is set for planner-maintained days only (computed holidays cannot be deleted)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpecialDayDTO {
+    private LocalDate date;
+    private DayKind kind;
+    private String name;
+    private Boolean closed;
+    private Long closureDayId;
+}
@@ -38,7 +38,7 @@ public class StaffDTO {
 
     /**
      * Convert Staff entity to DTO.
-     * Safely handles lazy-loaded group relationship.
+     * Reads the group, so load the staff member with Staff.WITH_GROUP or convert inside a transaction.
      */
     public static StaffDTO fromEntity(@NonNull Staff entity) {
         StaffDTO dto = new StaffDTO();
@@ -60,16 +60,9 @@ public class StaffDTO {
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
 
-        // Safely handle lazy-loaded group relationship
-        try {
-            if (entity.getGroup() != null) {
-                dto.setGroupId(entity.getGroup().getId());
-                dto.setGroupName(entity.getGroup().getName());
-            }
-        } catch (Exception e) {
-            // Group not loaded, leave fields null
-            dto.setGroupId(null);
-            dto.setGroupName(null);
+        if (entity.getGroup() != null) {
+            dto.setGroupId(entity.getGroup().getId());
+            dto.setGroupName(entity.getGroup().getName());
         }
 
         return dto;
@@ -0,0 +1,60 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Evaluation of the active staffing rules for one week.
+ * Every rule gets one RuleDay per weekday it applies on, with the qualifying staff count of each
+ * slot of its window (slot i starts at startTime + i * slotMinutes) and the under-staffed stretches.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingReportDTO {
+    private Long weeklyScheduleId;
+    private Integer weekNumber;
+    private Integer year;
+    private Integer slotMinutes;
+    private Boolean satisfied;
+    private Integer failingSlots;
+    private List<RuleDay> days;
+
+    /**
+     * One rule on one day
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RuleDay {
+        private Long ruleId;
+        private String ruleName;
+        private String groupName;
+        private Integer dayOfWeek;
+        private LocalDate workDate;
+        private LocalTime startTime;
+        private LocalTime endTime;
+        private Integer minStaff;
+        private Boolean satisfied;
+        private int[] counts;
+        private List<Gap> gaps;
+    }
+
+    /**
+     * Consecutive slots below the minimum; present is the lowest count within them
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Gap {
+        private LocalTime startTime;
+        private LocalTime endTime;
+        private Integer present;
+        private Integer required;
+    }
+}
@@ -0,0 +1,46 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.entity.StaffingRule;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a minimum-staffing rule
+ * weekdays are 1 = Monday ... 7 = Sunday; an empty roles list means any role
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingRuleDTO {
+    private Long id;
+    private String name;
+    private Long groupId;
+    private String groupName;
+    private List<Integer> weekdays;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private List<String> roles;
+    private Boolean includePraktikanten;
+    private Integer minStaff;
+    private Boolean active;
+
+    public static StaffingRuleDTO of(StaffingRule rule) {
+        List<Integer> weekdays = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (rule.appliesOn(day)) {
+                weekdays.add(day.getValue());
+            }
+        }
+        return new StaffingRuleDTO(rule.getId(), rule.getName(),
+                rule.getGroup() != null ? rule.getGroup().getId() : null,
+                rule.getGroup() != null ? rule.getGroup().getName() : null,
+                weekdays, rule.getStartTime(), rule.getEndTime(), rule.roleList(),
+                rule.getIncludePraktikanten(), rule.getMinStaff(), rule.getIsActive());
+    }
+}
@@ -0,0 +1,29 @@
+package com.kita.dienstplan.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.kita.dienstplan.substitute.Availability;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one ranked candidate to cover a shift
+ * Rest minutes are null when there is no shift on the neighbouring day
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SubstituteCandidateDTO {
+    private Long staffId;
+    private String staffName;
+    private String role;
+    private String groupName;
+    private Boolean praktikant;
+    private Boolean sameGroup;
+    private Availability availability;
+    private Integer remainingMinutes;
+    private Integer overtimeMinutes;
+    private Integer restBeforeMinutes;
+    private Integer restAfterMinutes;
+}
@@ -0,0 +1,23 @@
+package com.kita.dienstplan.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request to fill a target week from another week or from a template
+ * staffIds restricts the copy to some staff (all staff if empty); existing entries in the
+ * target week are kept unless replaceExisting is set
+ */
+@Data
+public class WeekCopyRequest {
+    private Integer targetYear;
+    private Integer targetWeek;
+    private List<Long> staffIds;
+    private boolean resetStatus = true;
+    private boolean replaceExisting = false;
+
+    public boolean hasTarget() {
+        return targetYear != null && targetWeek != null && targetWeek >= 1 && targetWeek <= 53;
+    }
+}
@@ -0,0 +1,23 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of a week copy or template instantiation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekCopyResultDTO {
+    private Long weeklyScheduleId;
+    private Integer year;
+    private Integer weekNumber;
+    private LocalDate startDate;
+    private Boolean weekCreated;
+    private Integer deletedEntries;
+    private Integer copiedEntries;
+}
@@ -0,0 +1,209 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.holiday.DayKind;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact staff x day representation of a week.
+ * Staff details are sent once in the staff dictionary; every day then carries
+ * dense arrays indexed by staff position (minute-of-day times, status codes, minutes).
+ * A value of -1 in start/end/status means "no entry for this cell".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekMatrixDTO {
+
+    public static final int DAYS_PER_WEEK = 7;
+    public static final int NO_VALUE = -1;
+
+    /**
+     * Known statuses, pre-seeded so their codes stay stable between responses
+     */
+    private static final String[] KNOWN_STATUSES = {
+            "normal", "frei", "krank", "Schule", "Fachschule", "Urlaub", "Feiertag"
+    };
+
+    private Long weeklyScheduleId;
+    private Integer weekNumber;
+    private Integer year;
+    private LocalDate startDate;
+    private List<String> statuses;
+    private List<StaffColumn> staff;
+    private List<DayColumn> days;
+
+    /**
+     * One staff dictionary entry, referenced by its position in the per-day arrays
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StaffColumn {
+        private Long id;
+        private String name;
+        private String role;
+        private String groupName;
+        private Boolean praktikant;
+        private Integer weeklyMinutes;
+    }
+
+    /**
+     * Dense per-day arrays, all of length staff.size()
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DayColumn {
+        private Integer dayOfWeek;
+        private LocalDate workDate;
+        private long[] entryIds;
+        private int[] start;
+        private int[] end;
+        private int[] status;
+        private int[] workingMinutes;
+        private int[] breakMinutes;
+        private Integer totalMinutesWithoutPraktikanten;
+        private Integer totalMinutesWithPraktikanten;
+        private Integer staffCountWithoutPraktikanten;
+        private Integer totalStaffCount;
+        private DayKind specialDayKind;
+        private String specialDayName;
+    }
+
+    /**
+     * Build the matrix in a single pass over projection rows ordered by staff, then day.
+     * Row layout: staffId, fullName, role, groupName, isPraktikant,
+     * entryId, dayOfWeek, startTime, endTime, status, workingHoursMinutes, breakMinutes
+     */
+    public static WeekMatrixDTO fromRows(WeeklySchedule schedule, List<Object[]> rows) {
+        int capacity = rows.size();
+        List<String> statuses = new ArrayList<>(Arrays.asList(KNOWN_STATUSES));
+        Map<String, Integer> statusCodes = new HashMap<>();
+        for (int i = 0; i < KNOWN_STATUSES.length; i++) {
+            statusCodes.put(KNOWN_STATUSES[i], i);
+        }
+
+        long[][] entryIds = new long[DAYS_PER_WEEK][capacity];
+        int[][] start = newFilled(capacity);
+        int[][] end = newFilled(capacity);
+        int[][] status = newFilled(capacity);
+        int[][] working = new int[DAYS_PER_WEEK][capacity];
+        int[][] breaks = new int[DAYS_PER_WEEK][capacity];
+        int[] totalWithout = new int[DAYS_PER_WEEK];
+        int[] totalWith = new int[DAYS_PER_WEEK];
+        int[] countWithout = new int[DAYS_PER_WEEK];
+        int[] countAll = new int[DAYS_PER_WEEK];
+
+        List<StaffColumn> staff = new ArrayList<>();
+        Long currentStaffId = null;
+        StaffColumn current = null;
+        int index = -1;
+
+        for (Object[] row : rows) {
+            Long staffId = (Long) row[0];
+            if (!staffId.equals(currentStaffId)) {
+                currentStaffId = staffId;
+                boolean praktikant = Boolean.TRUE.equals(row[4]);
+                current = new StaffColumn(staffId, (String) row[1], (String) row[2], (String) row[3], praktikant, 0);
+                staff.add(current);
+                index++;
+            }
+
+            Integer dayOfWeek = (Integer) row[6];
+            if (dayOfWeek == null || dayOfWeek < 0 || dayOfWeek >= DAYS_PER_WEEK) {
+                continue;
+            }
+            int day = dayOfWeek;
+            int minutes = row[10] != null ? ((Number) row[10]).intValue() : 0;
+
+            entryIds[day][index] = (Long) row[5];
+            start[day][index] = toMinuteOfDay((LocalTime) row[7]);
+            end[day][index] = toMinuteOfDay((LocalTime) row[8]);
+            status[day][index] = statusCode((String) row[9], statuses, statusCodes);
+            working[day][index] = minutes;
+            breaks[day][index] = row[11] != null ? ((Number) row[11]).intValue() : 0;
+
+            current.setWeeklyMinutes(current.getWeeklyMinutes() + minutes);
+            totalWith[day] += minutes;
+            countAll[day]++;
+            if (!current.getPraktikant()) {
+                totalWithout[day] += minutes;
+                countWithout[day]++;
+            }
+        }
+
+        int staffCount = staff.size();
+        List<DayColumn> days = new ArrayList<>(DAYS_PER_WEEK);
+        for (int day = 0; day < DAYS_PER_WEEK; day++) {
+            days.add(new DayColumn(
+                    day,
+                    schedule.getStartDate() != null ? schedule.getStartDate().plusDays(day) : null,
+                    Arrays.copyOf(entryIds[day], staffCount),
+                    Arrays.copyOf(start[day], staffCount),
+                    Arrays.copyOf(end[day], staffCount),
+                    Arrays.copyOf(status[day], staffCount),
+                    Arrays.copyOf(working[day], staffCount),
+                    Arrays.copyOf(breaks[day], staffCount),
+                    totalWithout[day],
+                    totalWith[day],
+                    countWithout[day],
+                    countAll[day],
+                    null,
+                    null));
+        }
+
+        return new WeekMatrixDTO(
+                schedule.getId(),
+                schedule.getWeekNumber(),
+                schedule.getYear(),
+                schedule.getStartDate(),
+                statuses,
+                staff,
+                days);
+    }
+
+    private static int[][] newFilled(int capacity) {
+        int[][] arrays = new int[DAYS_PER_WEEK][capacity];
+        for (int[] array : arrays) {
+            Arrays.fill(array, NO_VALUE);
+        }
+        return arrays;
+    }
+
+    private static int toMinuteOfDay(LocalTime time) {
+        return time != null ? time.getHour() * 60 + time.getMinute() : NO_VALUE;
+    }
+
+    private static int statusCode(String value, List<String> statuses, Map<String, Integer> statusCodes) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        Integer code = statusCodes.get(value);
+        if (code == null) {
+            // Tolerate case differences (e.g. 'NORMAL' sent by older clients)
+            for (int i = 0; i < KNOWN_STATUSES.length; i++) {
+                if (KNOWN_STATUSES[i].equalsIgnoreCase(value)) {
+                    code = i;
+                    break;
+                }
+            }
+        }
+        if (code == null) {
+            code = statuses.size();
+            statuses.add(value);
+        }
+        statusCodes.put(value, code);
+        return code;
+    }
+}
@@ -0,0 +1,29 @@
+package com.kita.dienstplan.dto;
+
+import com.kita.dienstplan.entity.WeekTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a week template with its size
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeekTemplateDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private Integer entryCount;
+    private Integer staffCount;
+    private String createdBy;
+    private LocalDateTime createdAt;
+
+    public static WeekTemplateDTO of(WeekTemplate template, int entryCount, int staffCount) {
+        return new WeekTemplateDTO(template.getId(), template.getName(), template.getDescription(),
+                entryCount, staffCount, template.getCreatedBy(), template.getCreatedAt());
+    }
+}
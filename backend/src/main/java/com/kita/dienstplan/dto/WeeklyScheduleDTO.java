@@ -25,6 +25,7 @@ public class WeeklyScheduleDTO {
     private LocalDateTime createdAt;
     private String updatedBy;
     private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
 
     /**
      * Create DTO from entity
@@ -43,6 +44,7 @@ public class WeeklyScheduleDTO {
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedBy(entity.getUpdatedBy());
         dto.setUpdatedAt(entity.getUpdatedAt());
+        dto.setArchivedAt(entity.getArchivedAt());
 
         return dto;
     }
@@ -0,0 +1,38 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for weekly staff totals
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyStaffTotalDTO {
+    private Long staffId;
+    private String fullName;
+    private String role;
+    private String groupName;
+    private Integer totalWorkingMinutes;
+    private Integer totalBreakMinutes;
+    private String totalHoursFormatted;
+    private String totalBreakFormatted;
+    private Long daysWorked;
+    private Long daysSick;
+    private Long daysOff;
+    private Long schoolDays;
+
+    public void setFormattedTotals() {
+        this.totalHoursFormatted = formatMinutes(totalWorkingMinutes);
+        this.totalBreakFormatted = formatMinutes(totalBreakMinutes);
+    }
+
+    private String formatMinutes(Integer minutes) {
+        if (minutes == null || minutes == 0) return "0:00";
+        int hours = minutes / 60;
+        int mins = minutes % 60;
+        return String.format("%d:%02d", hours, mins);
+    }
+}
@@ -0,0 +1,24 @@
+package com.kita.dienstplan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bulkhead metrics of one workload connection pool
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadPoolDTO {
+    private String workload;
+    private Integer maxPoolSize;
+    private Long connectionTimeoutMs;
+    private Integer active;
+    private Integer idle;
+    private Integer waiting;
+    private Long acquired;
+    private Long timeouts;
+    private Double averageWaitMs;
+    private Double maxWaitMs;
+}
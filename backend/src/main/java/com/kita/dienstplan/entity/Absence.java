@@ -0,0 +1,127 @@
+package com.kita.dienstplan.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Entity representing a staff absence over a date range (Urlaub, krank, Schule, Fachschule)
+ * The weekdays bitmask selects the covered days (Mon = 1 ... Sun = 64), so a vacation is one row
+ * with WORKDAYS and a weekly Berufsschule day is one row with a single bit set.
+ * On the days it covers, an absence overlays planned 'normal' entries; other entries are kept.
+ */
+@Entity
+@Table(name = "absences")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class Absence {
+
+    public static final short WORKDAYS = 0b0011111;
+    public static final short ALL_DAYS = 0b1111111;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "staff_id", nullable = false)
+    @JsonIgnoreProperties({"scheduleEntries", "group"})
+    private Staff staff;
+
+    @Column(nullable = false)
+    @Convert(converter = EntryStatusConverter.class)
+    private String status; // krank, Urlaub, Schule, Fachschule
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private Short weekdays = WORKDAYS;
+
+    @Column(length = 500)
+    private String notes;
+
+    @CreatedBy
+    @Column(name = "created_by", updatable = false, length = 50)
+    private String createdBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedBy
+    @Column(name = "updated_by", length = 50)
+    private String updatedBy;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Whether the absence applies on a day
+     */
+    public boolean covers(LocalDate day) {
+        return !day.isBefore(startDate) && !day.isAfter(endDate) && coversWeekday(day.getDayOfWeek());
+    }
+
+    public boolean coversWeekday(DayOfWeek dayOfWeek) {
+        return (weekdays & weekdayBit(dayOfWeek)) != 0;
+    }
+
+    /**
+     * The covered days within a window, generated lazily
+     */
+    public Stream<LocalDate> days(LocalDate from, LocalDate to) {
+        LocalDate first = from.isAfter(startDate) ? from : startDate;
+        LocalDate last = to.isBefore(endDate) ? to : endDate;
+        if (first.isAfter(last)) {
+            return Stream.empty();
+        }
+        return Stream.iterate(first, day -> !day.isAfter(last), day -> day.plusDays(1))
+                .filter(day -> coversWeekday(day.getDayOfWeek()));
+    }
+
+    public static int weekdayBit(DayOfWeek dayOfWeek) {
+        return 1 << (dayOfWeek.getValue() - 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        // Hibernate proxies are subclasses; their id is read without initializing them
+        if (!(o instanceof Absence other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // Constant, so the hash does not change when the id is assigned on persist
+        return Absence.class.hashCode();
+    }
+}
@@ -0,0 +1,107 @@
+package com.kita.dienstplan.entity;
+
+import java.util.Locale;
+
+/**
+ * Status of a schedule entry, template row or absence, stored as a one-byte code (V15).
+ * Entities keep the label as their attribute through EntryStatusConverter, so the API is
+ * unchanged; any spelling of a label (NORMAL, Krank, urlaub) is stored as the same code and
+ * read back in the canonical spelling. Codes never change once assigned.
+ */
+public enum EntryStatus {
+    NORMAL(Codes.NORMAL, "normal"),
+    FREI(Codes.FREI, "frei"),
+    KRANK(Codes.KRANK, "krank"),
+    URLAUB(Codes.URLAUB, "Urlaub"),
+    SCHULE(Codes.SCHULE, "Schule"),
+    FACHSCHULE(Codes.FACHSCHULE, "Fachschule"),
+    FEIERTAG(Codes.FEIERTAG, "Feiertag"),
+    FORTBILDUNG(Codes.FORTBILDUNG, "Fortbildung");
+
+    /**
+     * Codes as constants, for native SQL in query annotations
+     */
+    public static final class Codes {
+        public static final byte NORMAL = 1;
+        public static final byte FREI = 2;
+        public static final byte KRANK = 3;
+        public static final byte URLAUB = 4;
+        public static final byte SCHULE = 5;
+        public static final byte FACHSCHULE = 6;
+        public static final byte FEIERTAG = 7;
+        public static final byte FORTBILDUNG = 8;
+
+        private Codes() {
+        }
+    }
+
+    private static final EntryStatus[] BY_CODE = new EntryStatus[Codes.FORTBILDUNG + 1];
+
+    static {
+        for (EntryStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+    }
+
+    private final byte code;
+    private final String label;
+
+    EntryStatus(byte code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Whether a label names this status, in any spelling
+     */
+    public boolean is(String label) {
+        return label != null && this.label.equalsIgnoreCase(label.trim());
+    }
+
+    /**
+     * Status of a label in any spelling; null for null or blank
+     *
+     * @throws IllegalArgumentException for an unknown label
+     */
+    public static EntryStatus of(String label) {
+        if (label == null || label.isBlank()) {
+            return null;
+        }
+        String key = label.trim().toLowerCase(Locale.ROOT);
+        for (EntryStatus status : values()) {
+            if (status.label.toLowerCase(Locale.ROOT).equals(key)) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status: " + label);
+    }
+
+    /**
+     * Canonical spelling of a label; null for null or blank
+     *
+     * @throws IllegalArgumentException for an unknown label
+     */
+    public static String canonical(String label) {
+        EntryStatus status = of(label);
+        return status != null ? status.label : null;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown code
+     */
+    public static EntryStatus fromCode(int code) {
+        EntryStatus status = code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown status code: " + code);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,23 @@
+package com.kita.dienstplan.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a status label as its EntryStatus code; query literals and parameters compared with a
+ * converted attribute go through it as well
+ */
+@Converter
+public class EntryStatusConverter implements AttributeConverter<String, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(String label) {
+        EntryStatus status = EntryStatus.of(label);
+        return status != null ? status.code() : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(Byte code) {
+        return code != null ? EntryStatus.fromCode(code).label() : null;
+    }
+}
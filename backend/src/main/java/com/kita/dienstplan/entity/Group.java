@@ -4,8 +4,10 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedBy;
@@ -22,13 +24,23 @@ import java.util.List;
 @Entity
 @Table(name = "age_groups")
 @EntityListeners(AuditingEntityListener.class)
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Group {
 
+    /**
+     * Row of the id sequence table this entity's ids come from
+     */
+    public static final String ID_SEQUENCE = "age_groups";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = Group.ID_SEQUENCE)
+    @TableGenerator(name = Group.ID_SEQUENCE, table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN, valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = Group.ID_SEQUENCE, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -57,6 +69,7 @@ public class Group {
     private LocalDateTime updatedAt;
 
     // One group has many staff members
+    @ToString.Exclude
     @OneToMany(mappedBy = "group", cascade = CascadeType.ALL)
     @JsonIgnoreProperties("group")
     private List<Staff> staffMembers = new ArrayList<>();
@@ -71,4 +84,22 @@ public class Group {
         staffMembers.remove(staff);
         staff.setGroup(null);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        // Hibernate proxies are subclasses; their id is read without initializing them
+        if (!(o instanceof Group other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // Constant, so the hash does not change when the id is assigned on persist
+        return Group.class.hashCode();
+    }
 }
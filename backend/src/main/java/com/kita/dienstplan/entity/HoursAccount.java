@@ -0,0 +1,52 @@
+package com.kita.dienstplan.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running Soll/Ist balance of one staff member.
+ * Updated by deltas on every schedule entry change; never recomputed from history
+ * except by an explicit rebuild.
+ */
+@Entity
+@Table(name = "hours_accounts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoursAccount {
+
+    @Id
+    @Column(name = "staff_id")
+    private Long staffId;
+
+    @Column(name = "target_minutes", nullable = false)
+    private Integer targetMinutes = 0; // Soll
+
+    @Column(name = "actual_minutes", nullable = false)
+    private Integer actualMinutes = 0; // Ist (planned + credited absences)
+
+    @Column(name = "balance_minutes", nullable = false)
+    private Integer balanceMinutes = 0;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public HoursAccount(Long staffId) {
+        this.staffId = staffId;
+    }
+
+    /**
+     * Apply a Soll/Ist delta and keep the stored balance in step
+     */
+    public void apply(int targetDelta, int actualDelta) {
+        this.targetMinutes += targetDelta;
+        this.actualMinutes += actualDelta;
+        this.balanceMinutes = actualMinutes - targetMinutes;
+    }
+}
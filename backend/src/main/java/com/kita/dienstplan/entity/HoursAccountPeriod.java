@@ -0,0 +1,70 @@
+package com.kita.dienstplan.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Soll/Ist totals of one staff member for one week or month.
+ * Weeks start on Monday; a week is booked to the month its Monday falls in.
+ */
+@Entity
+@Table(name = "hours_account_periods",
+       uniqueConstraints = @UniqueConstraint(
+           columnNames = {"staff_id", "period_type", "period_start"}
+       ))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoursAccountPeriod {
+
+    public enum PeriodType { WEEK, MONTH }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "staff_id", nullable = false)
+    private Long staffId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "period_type", nullable = false, length = 10)
+    private PeriodType periodType;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "target_minutes", nullable = false)
+    private Integer targetMinutes = 0;
+
+    @Column(name = "actual_minutes", nullable = false)
+    private Integer actualMinutes = 0;
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount = 0;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public HoursAccountPeriod(Long staffId, PeriodType periodType, LocalDate periodStart) {
+        this.staffId = staffId;
+        this.periodType = periodType;
+        this.periodStart = periodStart;
+    }
+
+    public int getBalanceMinutes() {
+        return actualMinutes - targetMinutes;
+    }
+
+    public void apply(int targetDelta, int actualDelta, int entryDelta) {
+        this.targetMinutes += targetDelta;
+        this.actualMinutes += actualDelta;
+        this.entryCount += entryDelta;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kita.dienstplan.entity;
+
+/**
+ * Table-backed id sequences (V14) of the entities written in bulk.
+ * Hibernate takes blocks of ALLOCATION_SIZE ids per round trip (pooled-lo), so inserts are no longer
+ * tied to AUTO_INCREMENT and can be batched; set-based SQL inserts reserve their ids through
+ * IdBlockAllocator from the same rows. Each row holds the next free id of its sequence.
+ */
+public final class IdSequences {
+
+    public static final String TABLE = "id_sequences";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdSequences() {
+    }
+}
@@ -0,0 +1,41 @@
+package com.kita.dienstplan.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Dates whose rollups must be rebuilt because of a change the updated_at watermark cannot see
+ * (deleted or moved entries, set-based writes, absence and staff changes)
+ */
+@Entity
+@Table(name = "rollup_dirty_ranges")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupDirtyRange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public RollupDirtyRange(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+}
@@ -2,9 +2,12 @@ package com.kita.dienstplan.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedBy;
@@ -14,7 +17,6 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.temporal.ChronoUnit;
 
 /**
  * Entity representing a schedule entry (shift) for a staff member
@@ -26,21 +28,43 @@ import java.time.temporal.ChronoUnit;
        uniqueConstraints = @UniqueConstraint(
            columnNames = {"weekly_schedule_id", "staff_id", "day_of_week"}
        ))
+@NamedEntityGraph(name = ScheduleEntry.WITH_STAFF,
+       attributeNodes = @NamedAttributeNode(value = "staff", subgraph = "staff"),
+       subgraphs = @NamedSubgraph(name = "staff", attributeNodes = @NamedAttributeNode("group")))
 @EntityListeners(AuditingEntityListener.class)
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class ScheduleEntry {
 
+    /**
+     * Fetch plan of entry DTOs: the staff member and their group, the week only by id
+     */
+    public static final String WITH_STAFF = "ScheduleEntry.withStaff";
+
+    /**
+     * Row of the id sequence table this entity's ids come from
+     */
+    public static final String ID_SEQUENCE = "schedule_entries";
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = ScheduleEntry.ID_SEQUENCE)
+    @TableGenerator(name = ScheduleEntry.ID_SEQUENCE, table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN, valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = ScheduleEntry.ID_SEQUENCE, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "weekly_schedule_id", nullable = false)
     @JsonIgnoreProperties("scheduleEntries")
     private WeeklySchedule weeklySchedule;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "staff_id", nullable = false)
     @JsonIgnoreProperties({"scheduleEntries", "group"})
@@ -58,8 +82,22 @@ public class ScheduleEntry {
     @Column(name = "end_time")
     private LocalTime endTime;
 
-    @Column(length = 50)
-    private String status = "normal"; // normal, frei, krank, Schule, Fachschule, Urlaub, Feiertag
+    /**
+     * Start time as minutes since midnight; a generated column (V16), kept in step by the time setters
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "start_minute", insertable = false, updatable = false)
+    private Short startMinute;
+
+    /**
+     * End time as minutes since midnight; a generated column (V16), kept in step by the time setters
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "end_minute", insertable = false, updatable = false)
+    private Short endMinute;
+
+    @Convert(converter = EntryStatusConverter.class)
+    private String status = "normal"; // normal, frei, krank, Schule, Fachschule, Urlaub, Feiertag, Fortbildung
 
     @Column(name = "working_hours_minutes")
     private Integer workingHoursMinutes = 0;
@@ -86,38 +124,84 @@ public class ScheduleEntry {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Column(name = "shift_type_id")
+    private Short shiftTypeId; // catalogue shift this entry was planned as, if any
+
+    public ScheduleEntry(Long id, WeeklySchedule weeklySchedule, Staff staff, Integer dayOfWeek, LocalDate workDate,
+                         LocalTime startTime, LocalTime endTime, String status, Integer workingHoursMinutes,
+                         Integer breakMinutes, String notes, String createdBy, LocalDateTime createdAt,
+                         String updatedBy, LocalDateTime updatedAt) {
+        this(id, weeklySchedule, staff, dayOfWeek, workDate, startTime, endTime, minuteOfDay(startTime),
+                minuteOfDay(endTime), status, workingHoursMinutes, breakMinutes, notes, createdBy, createdAt,
+                updatedBy, updatedAt, null);
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+        this.startMinute = minuteOfDay(startTime);
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+        this.endMinute = minuteOfDay(endTime);
+    }
+
     /**
      * Auto-calculate working hours and breaks before persisting
      */
     @PrePersist
     @PreUpdate
     public void calculateWorkingHours() {
-        if (!"normal".equalsIgnoreCase(status) || startTime == null || endTime == null) {
+        if (!EntryStatus.NORMAL.is(status) || startTime == null || endTime == null) {
             workingHoursMinutes = 0;
             breakMinutes = 0;
             return;
         }
 
-        // Calculate total minutes
-        long totalMinutes = ChronoUnit.MINUTES.between(startTime, endTime);
-        
-        // Handle overnight shifts
-        if (totalMinutes < 0) {
-            totalMinutes += 24 * 60;
-        }
-
-        // Calculate break (30 minutes if > 6 hours)
-        double totalHours = totalMinutes / 60.0;
-        if (totalHours > 6) {
-            breakMinutes = 30;
-        } else {
-            breakMinutes = 0;
-        }
+        long totalMinutes = totalMinutes(startTime, endTime);
+        breakMinutes = breakMinutesFor(totalMinutes);
 
         // Working minutes = total - break
         workingHoursMinutes = (int) (totalMinutes - breakMinutes);
     }
 
+    /**
+     * Minutes between start and end, handling overnight shifts
+     */
+    public static long totalMinutes(LocalTime startTime, LocalTime endTime) {
+        return totalMinutes(minuteOfDay(startTime), minuteOfDay(endTime));
+    }
+
+    /**
+     * Minutes between a start and end minute of day, handling overnight shifts
+     */
+    public static int totalMinutes(int startMinute, int endMinute) {
+        int totalMinutes = endMinute - startMinute;
+        return totalMinutes < 0 ? totalMinutes + MINUTES_PER_DAY : totalMinutes;
+    }
+
+    /**
+     * Minutes since midnight, as stored in start_minute/end_minute; null for null
+     */
+    public static Short minuteOfDay(LocalTime time) {
+        return time != null ? (short) (time.getHour() * 60 + time.getMinute()) : null;
+    }
+
+    /**
+     * Time of a minute since midnight; null for null
+     */
+    public static LocalTime timeOfMinute(Number minute) {
+        return minute != null ? LocalTime.of(minute.intValue() / 60, minute.intValue() % 60) : null;
+    }
+
+    /**
+     * Break deducted from a shift: 30 minutes if longer than 6 hours.
+     * Shared with set-based writers that bypass the entity lifecycle.
+     */
+    public static int breakMinutesFor(long totalMinutes) {
+        return totalMinutes > 6 * 60 ? 30 : 0;
+    }
+
     /**
      * Get formatted working hours as H:MM
      */
@@ -137,4 +221,22 @@ public class ScheduleEntry {
         int minutes = breakMinutes % 60;
         return String.format("%d:%02d", hours, minutes);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        // Hibernate proxies are subclasses; their id is read without initializing them
+        if (!(o instanceof ScheduleEntry other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // Constant, so the hash does not change when the id is assigned on persist
+        return ScheduleEntry.class.hashCode();
+    }
 }
@@ -0,0 +1,122 @@
+package com.kita.dienstplan.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Pre-aggregated totals of one staff member, group or role over one day, ISO week, month or year.
+ * Weeks are keyed by their Monday and may cross month and year boundaries.
+ * The key is the staff id, the group id (0 for staff without a group) or the role.
+ */
+@Entity
+@Table(name = "schedule_rollups",
+       uniqueConstraints = @UniqueConstraint(
+           columnNames = {"granularity", "dimension", "dimension_key", "period_start"}
+       ))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleRollup {
+
+    public enum Granularity { DAY, WEEK, MONTH, YEAR }
+
+    public enum Dimension { STAFF, GROUP, ROLE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 5)
+    private Granularity granularity;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 5)
+    private Dimension dimension;
+
+    @Column(name = "dimension_key", nullable = false, length = 100)
+    private String dimensionKey;
+
+    @Column(name = "worked_minutes", nullable = false)
+    private Integer workedMinutes = 0;
+
+    @Column(name = "break_minutes", nullable = false)
+    private Integer breakMinutes = 0;
+
+    @Column(name = "entry_days", nullable = false)
+    private Integer entryDays = 0;
+
+    @Column(name = "normal_days", nullable = false)
+    private Integer normalDays = 0;
+
+    @Column(name = "frei_days", nullable = false)
+    private Integer freiDays = 0;
+
+    @Column(name = "krank_days", nullable = false)
+    private Integer krankDays = 0;
+
+    @Column(name = "urlaub_days", nullable = false)
+    private Integer urlaubDays = 0;
+
+    @Column(name = "schule_days", nullable = false)
+    private Integer schuleDays = 0;
+
+    @Column(name = "feiertag_days", nullable = false)
+    private Integer feiertagDays = 0;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ScheduleRollup(Granularity granularity, LocalDate periodStart, Dimension dimension, String dimensionKey) {
+        this.granularity = granularity;
+        this.periodStart = periodStart;
+        this.dimension = dimension;
+        this.dimensionKey = dimensionKey;
+    }
+
+    /**
+     * Count one staff day with its (effective) status
+     */
+    public void addDay(String status, int worked, int breaks) {
+        workedMinutes += worked;
+        breakMinutes += breaks;
+        entryDays++;
+        switch (status != null ? status.toLowerCase(Locale.ROOT) : "") {
+            case "normal" -> normalDays++;
+            case "frei" -> freiDays++;
+            case "krank" -> krankDays++;
+            case "urlaub" -> urlaubDays++;
+            case "schule", "fachschule" -> schuleDays++;
+            case "feiertag" -> feiertagDays++;
+            default -> {
+                // Other statuses only count as entry days
+            }
+        }
+    }
+
+    /**
+     * Add finer totals, in the column order of ScheduleRollupRepository.sumRows from index 2
+     */
+    public void addTotals(Object[] row) {
+        workedMinutes += ((Number) row[2]).intValue();
+        breakMinutes += ((Number) row[3]).intValue();
+        entryDays += ((Number) row[4]).intValue();
+        normalDays += ((Number) row[5]).intValue();
+        freiDays += ((Number) row[6]).intValue();
+        krankDays += ((Number) row[7]).intValue();
+        urlaubDays += ((Number) row[8]).intValue();
+        schuleDays += ((Number) row[9]).intValue();
+        feiertagDays += ((Number) row[10]).intValue();
+    }
+}
@@ -4,8 +4,10 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedBy;
@@ -23,14 +25,30 @@ import java.util.List;
  */
 @Entity
 @Table(name = "staff")
+@NamedEntityGraph(name = Staff.WITH_GROUP, attributeNodes = @NamedAttributeNode("group"))
 @EntityListeners(AuditingEntityListener.class)
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Staff {
 
+    /**
+     * Fetch plan of the staff views: the staff member with their group
+     */
+    public static final String WITH_GROUP = "Staff.withGroup";
+
+    /**
+     * Row of the id sequence table this entity's ids come from
+     */
+    public static final String ID_SEQUENCE = "staff";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = Staff.ID_SEQUENCE)
+    @TableGenerator(name = Staff.ID_SEQUENCE, table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN, valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = Staff.ID_SEQUENCE, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "first_name", nullable = false, length = 100)
@@ -45,6 +63,7 @@ public class Staff {
     @Column(nullable = false, length = 100)
     private String role;
 
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "group_id")
     @JsonIgnoreProperties("staffMembers")
@@ -90,8 +109,10 @@ public class Staff {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    // One staff member has many schedule entries
-    @OneToMany(mappedBy = "staff", cascade = CascadeType.ALL, orphanRemoval = true)
+    // One staff member has many schedule entries; read-only side, entries are deleted set-based
+    // by StaffService as schedule_entries has no foreign keys on MySQL (V12)
+    @ToString.Exclude
+    @OneToMany(mappedBy = "staff")
     @JsonIgnoreProperties("staff")
     private List<ScheduleEntry> scheduleEntries = new ArrayList<>();
 
@@ -105,4 +126,22 @@ public class Staff {
         scheduleEntries.remove(entry);
         entry.setStaff(null);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        // Hibernate proxies are subclasses; their id is read without initializing them
+        if (!(o instanceof Staff other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // Constant, so the hash does not change when the id is assigned on persist
+        return Staff.class.hashCode();
+    }
 }
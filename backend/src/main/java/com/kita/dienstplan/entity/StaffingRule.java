@@ -0,0 +1,119 @@
+package com.kita.dienstplan.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entity representing a minimum-staffing rule
+ * Between startTime and endTime on the selected weekdays (bitmask as in Absence), at least minStaff
+ * qualifying staff must be on duty. Qualifying staff belong to the group (any group if null), have one
+ * of the comma-separated roles (any role if null) and are Praktikanten only if includePraktikanten is set.
+ */
+@Entity
+@Table(name = "staffing_rules")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "group_id")
+    @JsonIgnoreProperties("staffMembers")
+    private Group group;
+
+    @Column(nullable = false)
+    private Short weekdays = Absence.WORKDAYS;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(length = 255)
+    private String roles; // e.g. "Erzieher,Erzieherin,Leitung"
+
+    @Column(name = "include_praktikanten", nullable = false)
+    private Boolean includePraktikanten = false;
+
+    @Column(name = "min_staff", nullable = false)
+    private Integer minStaff;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    @CreatedBy
+    @Column(name = "created_by", updatable = false, length = 50)
+    private String createdBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedBy
+    @Column(name = "updated_by", length = 50)
+    private String updatedBy;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public boolean appliesOn(DayOfWeek dayOfWeek) {
+        return (weekdays & Absence.weekdayBit(dayOfWeek)) != 0;
+    }
+
+    /**
+     * The role filter as a list; empty if any role qualifies
+     */
+    public List<String> roleList() {
+        if (roles == null || roles.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(roles.split(",")).map(String::trim).filter(role -> !role.isEmpty()).toList();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        // Hibernate proxies are subclasses; their id is read without initializing them
+        if (!(o instanceof StaffingRule other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // Constant, so the hash does not change when the id is assigned on persist
+        return StaffingRule.class.hashCode();
+    }
+}
@@ -4,8 +4,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedBy;
@@ -24,13 +26,23 @@ import java.util.List;
 @Table(name = "weekly_schedules",
        uniqueConstraints = @UniqueConstraint(columnNames = {"week_number", "`YEAR`"}))
 @EntityListeners(AuditingEntityListener.class)
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class WeeklySchedule {
 
+    /**
+     * Row of the id sequence table this entity's ids come from
+     */
+    public static final String ID_SEQUENCE = "weekly_schedules";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = WeeklySchedule.ID_SEQUENCE)
+    @TableGenerator(name = WeeklySchedule.ID_SEQUENCE, table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN, valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = WeeklySchedule.ID_SEQUENCE, allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "week_number", nullable = false)
@@ -64,11 +76,22 @@ public class WeeklySchedule {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    // One weekly schedule has many schedule entries
-    @OneToMany(mappedBy = "weeklySchedule", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt; // set while the entries live in an archive segment
+
+    // One weekly schedule has many schedule entries; read-only side, see ScheduleService.deleteWeek
+    @ToString.Exclude
+    @OneToMany(mappedBy = "weeklySchedule")
     @JsonIgnore
     private List<ScheduleEntry> scheduleEntries = new ArrayList<>();
 
+    public WeeklySchedule(Long id, Integer weekNumber, Integer year, LocalDate startDate, LocalDate endDate,
+                          String notes, String createdBy, LocalDateTime createdAt, String updatedBy,
+                          LocalDateTime updatedAt, List<ScheduleEntry> scheduleEntries) {
+        this(id, weekNumber, year, startDate, endDate, notes, createdBy, createdAt, updatedBy, updatedAt, null,
+                scheduleEntries);
+    }
+
     // Helper methods
     public void addScheduleEntry(ScheduleEntry entry) {
         scheduleEntries.add(entry);
@@ -79,4 +102,22 @@ public class WeeklySchedule {
         scheduleEntries.remove(entry);
         entry.setWeeklySchedule(null);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        // Hibernate proxies are subclasses; their id is read without initializing them
+        if (!(o instanceof WeeklySchedule other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // Constant, so the hash does not change when the id is assigned on persist
+        return WeeklySchedule.class.hashCode();
+    }
 }
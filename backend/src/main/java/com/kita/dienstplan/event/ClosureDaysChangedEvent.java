@@ -0,0 +1,13 @@
+package com.kita.dienstplan.event;
+
+import lombok.Value;
+
+/**
+ * Published when a planner adds or removes a closure or team day, so that
+ * precomputed year calendars are rebuilt once the change is committed
+ */
+@Value
+public class ClosureDaysChangedEvent {
+
+    int year;
+}
@@ -0,0 +1,25 @@
+package com.kita.dienstplan.event;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Published after a set-based write (week copy, template instantiation) changed many
+ * schedule entries at once without per-entry events. Listeners recompute what they
+ * derive for the affected weeks and staff instead of applying per-entry deltas.
+ * An empty staffIds set means all staff.
+ */
+@Value
+public class ScheduleEntriesBulkChangedEvent {
+
+    Set<Long> weeklyScheduleIds;
+    LocalDate startDate;
+    LocalDate endDate;
+    Set<Long> staffIds;
+
+    public boolean affectsStaff(Long staffId) {
+        return staffIds.isEmpty() || staffIds.contains(staffId);
+    }
+}
@@ -0,0 +1,68 @@
+package com.kita.dienstplan.event;
+
+import com.kita.dienstplan.entity.ScheduleEntry;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published by ScheduleService whenever a single schedule entry is created, updated or deleted.
+ * Carries the entry state before and after the change so listeners can apply deltas
+ * without re-reading the database. before is null on create, after is null on delete.
+ */
+@Value
+public class ScheduleEntryChangedEvent {
+
+    Long entryId;
+    Long weeklyScheduleId;
+    Long staffId;
+    Long groupId;
+    EntryState before;
+    EntryState after;
+
+    public boolean isCreated() {
+        return before == null && after != null;
+    }
+
+    public boolean isDeleted() {
+        return before != null && after == null;
+    }
+
+    /**
+     * Immutable copy of the fields listeners care about
+     */
+    @Value
+    public static class EntryState {
+        Integer dayOfWeek;
+        LocalDate workDate;
+        LocalTime startTime;
+        LocalTime endTime;
+        String status;
+        int workingMinutes;
+        int breakMinutes;
+
+        public static EntryState of(ScheduleEntry entry) {
+            return new EntryState(
+                    entry.getDayOfWeek(),
+                    entry.getWorkDate(),
+                    entry.getStartTime(),
+                    entry.getEndTime(),
+                    entry.getStatus(),
+                    entry.getWorkingHoursMinutes() != null ? entry.getWorkingHoursMinutes() : 0,
+                    entry.getBreakMinutes() != null ? entry.getBreakMinutes() : 0);
+        }
+    }
+
+    /**
+     * Build an event from the entity, resolving ids without initializing lazy proxies
+     */
+    public static ScheduleEntryChangedEvent of(ScheduleEntry entry, EntryState before, EntryState after) {
+        Long staffId = entry.getStaff() != null ? entry.getStaff().getId() : null;
+        // Reading the id of a lazy group proxy does not initialize it
+        Long groupId = entry.getStaff() != null && entry.getStaff().getGroup() != null
+                ? entry.getStaff().getGroup().getId() : null;
+        Long weeklyScheduleId = entry.getWeeklySchedule() != null ? entry.getWeeklySchedule().getId() : null;
+        return new ScheduleEntryChangedEvent(entry.getId(), weeklyScheduleId, staffId, groupId, before, after);
+    }
+}
@@ -0,0 +1,13 @@
+package com.kita.dienstplan.event;
+
+import lombok.Value;
+
+/**
+ * Published when a staff member is created, updated or deleted, so that indexes
+ * built from staff attributes (group, role, Praktikant) are dropped once the change is committed
+ */
+@Value
+public class StaffChangedEvent {
+
+    Long staffId;
+}
@@ -0,0 +1,13 @@
+package com.kita.dienstplan.event;
+
+import lombok.Value;
+
+/**
+ * Published when a staffing rule is created, updated or deleted, so that compiled
+ * rules and evaluated weeks are rebuilt once the change is committed
+ */
+@Value
+public class StaffingRulesChangedEvent {
+
+    Long ruleId;
+}
@@ -0,0 +1,12 @@
+package com.kita.dienstplan.exception;
+
+/**
+ * Thrown when entries are written into a week whose entries were moved to the archive;
+ * the week has to be restored first
+ */
+public class ArchivedWeekException extends RuntimeException {
+
+    public ArchivedWeekException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.kita.dienstplan.exception;
+
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
+
+import java.util.List;
+
+/**
+ * Thrown when a schedule write breaks working-time rules while compliance.mode=block
+ */
+public class ComplianceViolationException extends RuntimeException {
+
+    private final List<ComplianceViolationDTO> violations;
+
+    public ComplianceViolationException(List<ComplianceViolationDTO> violations) {
+        super("Schedule entry violates working-time rules: " + violations.get(0).getMessage());
+        this.violations = List.copyOf(violations);
+    }
+
+    public List<ComplianceViolationDTO> getViolations() {
+        return violations;
+    }
+}
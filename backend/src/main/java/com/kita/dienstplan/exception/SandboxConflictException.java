@@ -0,0 +1,12 @@
+package com.kita.dienstplan.exception;
+
+/**
+ * Thrown when a sandbox is committed but entries it changes were changed or deleted
+ * by someone else after the sandbox was opened
+ */
+public class SandboxConflictException extends RuntimeException {
+
+    public SandboxConflictException(String message) {
+        super(message);
+    }
+}
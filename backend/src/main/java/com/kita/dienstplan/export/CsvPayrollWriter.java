@@ -0,0 +1,73 @@
+package com.kita.dienstplan.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Semicolon-separated CSV with a UTF-8 BOM, as expected by German Excel installations
+ */
+public class CsvPayrollWriter implements PayrollWriter {
+
+    private static final char SEPARATOR = ';';
+
+    private final Writer writer;
+
+    public CsvPayrollWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    @Override
+    public void writeHeader() throws IOException {
+        writer.write('\uFEFF'); // BOM so Excel detects UTF-8
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATOR);
+            }
+            writer.write(COLUMNS[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void writeLine(PayrollLine line) throws IOException {
+        field(line.getMonth() != null ? line.getMonth().toString() : "");
+        field(line.getStaffId() != null ? line.getStaffId().toString() : "");
+        field(line.getStaffName());
+        field(line.getRole());
+        field(line.getGroupName());
+        field(line.getKind() == PayrollLine.Kind.STAFF ? (line.isPraktikant() ? "ja" : "nein") : "");
+        field(String.valueOf(line.getWorkDays()));
+        field(String.valueOf(line.getWorkedMinutes()));
+        field(PayrollLine.formatMinutes(line.getWorkedMinutes()));
+        field(String.valueOf(line.getBreakMinutes()));
+        field(String.valueOf(line.getSickDays()));
+        field(String.valueOf(line.getVacationDays()));
+        writer.write(String.valueOf(line.getSchoolDays()));
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    private void field(String value) throws IOException {
+        writer.write(escape(value));
+        writer.write(SEPARATOR);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,47 @@
+package com.kita.dienstplan.export;
+
+import java.io.OutputStream;
+import java.util.function.Function;
+
+/**
+ * Supported payroll export file formats
+ */
+public enum ExportFormat {
+
+    CSV("csv", "text/csv;charset=UTF-8", CsvPayrollWriter::new),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", XlsxPayrollWriter::new);
+
+    private final String extension;
+    private final String contentType;
+    private final Function<OutputStream, PayrollWriter> writerFactory;
+
+    ExportFormat(String extension, String contentType, Function<OutputStream, PayrollWriter> writerFactory) {
+        this.extension = extension;
+        this.contentType = contentType;
+        this.writerFactory = writerFactory;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public PayrollWriter createWriter(OutputStream out) {
+        return writerFactory.apply(out);
+    }
+
+    /**
+     * Parse a request parameter such as "csv" or "XLSX"
+     */
+    public static ExportFormat fromParam(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value);
+    }
+}
@@ -0,0 +1,62 @@
+package com.kita.dienstplan.export;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A background payroll export; the result file is downloadable once the job is DONE
+ */
+@Getter
+public class ExportJob {
+
+    public enum Status { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final ExportFormat format;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final LocalDateTime createdAt;
+
+    @JsonIgnore
+    private final Path file;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public ExportJob(String id, ExportFormat format, LocalDate startDate, LocalDate endDate, Path file) {
+        this.id = id;
+        this.format = format;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.file = file;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getFileName() {
+        return "lohnexport_" + startDate + "_" + endDate + "." + format.getExtension();
+    }
+
+    public boolean isDone() {
+        return status == Status.DONE;
+    }
+
+    public void markRunning() {
+        this.status = Status.RUNNING;
+    }
+
+    public void markDone() {
+        this.finishedAt = LocalDateTime.now();
+        this.status = Status.DONE;
+    }
+
+    public void markFailed(String error) {
+        this.finishedAt = LocalDateTime.now();
+        this.error = error;
+        this.status = Status.FAILED;
+    }
+}
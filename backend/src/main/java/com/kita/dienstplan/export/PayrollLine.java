@@ -0,0 +1,88 @@
+package com.kita.dienstplan.export;
+
+import lombok.Getter;
+
+import java.time.YearMonth;
+
+/**
+ * One line of the payroll export: a staff member's totals for a month,
+ * a month subtotal over all staff, or the grand total of the range.
+ * Lines are mutable accumulators so the export needs only one instance per level.
+ */
+@Getter
+public class PayrollLine {
+
+    public enum Kind { STAFF, MONTH_SUBTOTAL, TOTAL }
+
+    private final Kind kind;
+    private final YearMonth month;
+    private final Long staffId;
+    private final String staffName;
+    private final String role;
+    private final String groupName;
+    private final boolean praktikant;
+
+    private int workDays;
+    private int workedMinutes;
+    private int breakMinutes;
+    private int sickDays;
+    private int vacationDays;
+    private int schoolDays;
+
+    public PayrollLine(Kind kind, YearMonth month, Long staffId, String staffName,
+                       String role, String groupName, boolean praktikant) {
+        this.kind = kind;
+        this.month = month;
+        this.staffId = staffId;
+        this.staffName = staffName;
+        this.role = role;
+        this.groupName = groupName;
+        this.praktikant = praktikant;
+    }
+
+    public static PayrollLine subtotal(YearMonth month) {
+        return new PayrollLine(Kind.MONTH_SUBTOTAL, month, null, "Summe " + month, null, null, false);
+    }
+
+    public static PayrollLine total() {
+        return new PayrollLine(Kind.TOTAL, null, null, "Gesamt", null, null, false);
+    }
+
+    /**
+     * Count one schedule entry
+     */
+    public void addEntry(String status, int workingMinutes, int breakMinutes) {
+        this.workedMinutes += workingMinutes;
+        this.breakMinutes += breakMinutes;
+        if (status == null || "normal".equalsIgnoreCase(status)) {
+            if (workingMinutes > 0) {
+                workDays++;
+            }
+        } else if ("krank".equalsIgnoreCase(status)) {
+            sickDays++;
+        } else if ("Urlaub".equalsIgnoreCase(status)) {
+            vacationDays++;
+        } else if ("Schule".equalsIgnoreCase(status) || "Fachschule".equalsIgnoreCase(status)) {
+            schoolDays++;
+        }
+    }
+
+    /**
+     * Add another line's totals to this one
+     */
+    public void add(PayrollLine other) {
+        this.workDays += other.workDays;
+        this.workedMinutes += other.workedMinutes;
+        this.breakMinutes += other.breakMinutes;
+        this.sickDays += other.sickDays;
+        this.vacationDays += other.vacationDays;
+        this.schoolDays += other.schoolDays;
+    }
+
+    /**
+     * Format minutes as H:MM, like the daily totals
+     */
+    public static String formatMinutes(int minutes) {
+        return String.format("%d:%02d", minutes / 60, minutes % 60);
+    }
+}
@@ -0,0 +1,22 @@
+package com.kita.dienstplan.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sink for payroll lines in a specific file format.
+ * Implementations must write lines as they arrive and not buffer the whole export.
+ * Closing finishes the document but leaves the underlying stream open.
+ */
+public interface PayrollWriter extends Closeable {
+
+    String[] COLUMNS = {
+            "Monat", "Mitarbeiter-ID", "Name", "Rolle", "Gruppe", "Praktikant",
+            "Arbeitstage", "Arbeitszeit (Min)", "Arbeitszeit (Std)", "Pause (Min)",
+            "Krank (Tage)", "Urlaub (Tage)", "Schule (Tage)"
+    };
+
+    void writeHeader() throws IOException;
+
+    void writeLine(PayrollLine line) throws IOException;
+}
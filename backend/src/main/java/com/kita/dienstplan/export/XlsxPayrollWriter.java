@@ -0,0 +1,94 @@
+package com.kita.dienstplan.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * XLSX writer on top of POI's streaming SXSSF workbook.
+ * Only the last ROW_WINDOW rows are kept in memory; older rows are flushed to a temp file.
+ */
+public class XlsxPayrollWriter implements PayrollWriter {
+
+    private static final int ROW_WINDOW = 100;
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+    private final CellStyle boldStyle;
+    private int rowIndex;
+
+    public XlsxPayrollWriter(OutputStream out) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet("Lohnexport");
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        this.boldStyle = workbook.createCellStyle();
+        this.boldStyle.setFont(bold);
+    }
+
+    @Override
+    public void writeHeader() {
+        Row row = sheet.createRow(rowIndex++);
+        for (int i = 0; i < COLUMNS.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(COLUMNS[i]);
+            cell.setCellStyle(boldStyle);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    @Override
+    public void writeLine(PayrollLine line) {
+        Row row = sheet.createRow(rowIndex++);
+        int column = 0;
+        text(row, column++, line.getMonth() != null ? line.getMonth().toString() : null);
+        if (line.getStaffId() != null) {
+            row.createCell(column).setCellValue(line.getStaffId());
+        }
+        column++;
+        text(row, column++, line.getStaffName());
+        text(row, column++, line.getRole());
+        text(row, column++, line.getGroupName());
+        text(row, column++, line.getKind() == PayrollLine.Kind.STAFF ? (line.isPraktikant() ? "ja" : "nein") : null);
+        row.createCell(column++).setCellValue(line.getWorkDays());
+        row.createCell(column++).setCellValue(line.getWorkedMinutes());
+        text(row, column++, PayrollLine.formatMinutes(line.getWorkedMinutes()));
+        row.createCell(column++).setCellValue(line.getBreakMinutes());
+        row.createCell(column++).setCellValue(line.getSickDays());
+        row.createCell(column++).setCellValue(line.getVacationDays());
+        row.createCell(column).setCellValue(line.getSchoolDays());
+
+        if (line.getKind() != PayrollLine.Kind.STAFF) {
+            for (Cell cell : row) {
+                cell.setCellStyle(boldStyle);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.write(out);
+            out.flush();
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static void text(Row row, int column, String value) {
+        if (value != null) {
+            row.createCell(column).setCellValue(value);
+        }
+    }
+}
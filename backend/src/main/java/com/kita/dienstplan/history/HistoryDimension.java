@@ -0,0 +1,8 @@
+package com.kita.dienstplan.history;
+
+/**
+ * What history aggregations can be grouped by
+ */
+public enum HistoryDimension {
+    YEAR, MONTH, WEEKDAY, STAFF, GROUP, STATUS
+}
@@ -0,0 +1,211 @@
+package com.kita.dienstplan.history;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One year of history in parallel primitive arrays, one row per staff day.
+ * Rows of schedule entries are sorted by entry id so a change is found by binary search;
+ * absence days without an entry carry entry id 0 and sit in front of them.
+ * Times are minutes of the day, -1 where the entry has none; days are days of the year.
+ */
+final class HistoryPartition {
+
+    static final int NO_TIME = -1;
+    // entryId + staff + day + start + end + status + minutes
+    static final int BYTES_PER_ROW = 4 + 2 + 2 + 2 + 2 + 1 + 2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    final int year;
+
+    int size;
+    // Rows [0, unlinked) are absence days without an entry
+    int unlinked;
+    int[] entryIds;
+    short[] staff;
+    short[] days;
+    short[] starts;
+    short[] ends;
+    byte[] statuses;
+    short[] minutes;
+
+    HistoryPartition(int year) {
+        this.year = year;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        entryIds = new int[capacity];
+        staff = new short[capacity];
+        days = new short[capacity];
+        starts = new short[capacity];
+        ends = new short[capacity];
+        statuses = new byte[capacity];
+        minutes = new short[capacity];
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= entryIds.length) {
+            return;
+        }
+        int capacity = Math.max(needed, entryIds.length + (entryIds.length >> 1));
+        entryIds = Arrays.copyOf(entryIds, capacity);
+        staff = Arrays.copyOf(staff, capacity);
+        days = Arrays.copyOf(days, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        minutes = Arrays.copyOf(minutes, capacity);
+    }
+
+    /**
+     * Append an entry row while loading; entry ids must arrive in ascending order
+     */
+    void append(int entryId, int staffIndex, int day, int start, int end, int status, int workingMinutes) {
+        if (size > unlinked && entryIds[size - 1] >= entryId) {
+            throw new IllegalStateException("History rows must be appended in entry id order");
+        }
+        ensureCapacity(size + 1);
+        set(size++, entryId, staffIndex, day, start, end, status, workingMinutes);
+    }
+
+    /**
+     * Put absence days without an entry in front of the loaded rows, with one shift of the arrays
+     */
+    void prependUnlinked(int count, short[] staffIndexes, short[] dayIndexes, byte[] statusCodes) {
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(size + count);
+        shift(unlinked, count);
+        System.arraycopy(staffIndexes, 0, staff, unlinked, count);
+        System.arraycopy(dayIndexes, 0, days, unlinked, count);
+        System.arraycopy(statusCodes, 0, statuses, unlinked, count);
+        Arrays.fill(entryIds, unlinked, unlinked + count, 0);
+        Arrays.fill(starts, unlinked, unlinked + count, (short) NO_TIME);
+        Arrays.fill(ends, unlinked, unlinked + count, (short) NO_TIME);
+        Arrays.fill(minutes, unlinked, unlinked + count, (short) 0);
+        unlinked += count;
+    }
+
+    /**
+     * Insert or overwrite the row of an entry; caller holds the write lock
+     */
+    void upsert(int entryId, int staffIndex, int day, int start, int end, int status, int workingMinutes) {
+        int i = find(entryId);
+        if (i < 0) {
+            i = -i - 1;
+            ensureCapacity(size + 1);
+            shift(i, 1);
+        }
+        set(i, entryId, staffIndex, day, start, end, status, workingMinutes);
+    }
+
+    /**
+     * Remove the row of an entry; caller holds the write lock
+     */
+    boolean remove(int entryId) {
+        int i = find(entryId);
+        if (i < 0) {
+            return false;
+        }
+        unshift(i, 1);
+        return true;
+    }
+
+    /**
+     * Add an absence day without an entry unless it is there already; caller holds the write lock
+     */
+    void addUnlinked(int staffIndex, int day, int status) {
+        if (findUnlinked(staffIndex, day) >= 0) {
+            return;
+        }
+        ensureCapacity(size + 1);
+        shift(unlinked, 1);
+        set(unlinked++, 0, staffIndex, day, NO_TIME, NO_TIME, status, 0);
+    }
+
+    /**
+     * Remove an absence day without an entry; caller holds the write lock
+     */
+    boolean removeUnlinked(int staffIndex, int day) {
+        int i = findUnlinked(staffIndex, day);
+        if (i < 0) {
+            return false;
+        }
+        unshift(i, 1);
+        unlinked--;
+        return true;
+    }
+
+    /**
+     * Drop the spare capacity left by loading
+     */
+    void trim() {
+        if (size < entryIds.length) {
+            entryIds = Arrays.copyOf(entryIds, size);
+            staff = Arrays.copyOf(staff, size);
+            days = Arrays.copyOf(days, size);
+            starts = Arrays.copyOf(starts, size);
+            ends = Arrays.copyOf(ends, size);
+            statuses = Arrays.copyOf(statuses, size);
+            minutes = Arrays.copyOf(minutes, size);
+        }
+    }
+
+    long bytes() {
+        return (long) entryIds.length * BYTES_PER_ROW;
+    }
+
+    private void set(int i, int entryId, int staffIndex, int day, int start, int end, int status, int workingMinutes) {
+        entryIds[i] = entryId;
+        staff[i] = (short) staffIndex;
+        days[i] = (short) day;
+        starts[i] = (short) start;
+        ends[i] = (short) end;
+        statuses[i] = (byte) status;
+        minutes[i] = (short) workingMinutes;
+    }
+
+    /**
+     * Position of an entry row, or -(insertion point) - 1
+     */
+    private int find(int entryId) {
+        return Arrays.binarySearch(entryIds, unlinked, size, entryId);
+    }
+
+    private int findUnlinked(int staffIndex, int day) {
+        for (int i = 0; i < unlinked; i++) {
+            if (staff[i] == staffIndex && days[i] == day) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void shift(int from, int count) {
+        int tail = size - from;
+        System.arraycopy(entryIds, from, entryIds, from + count, tail);
+        System.arraycopy(staff, from, staff, from + count, tail);
+        System.arraycopy(days, from, days, from + count, tail);
+        System.arraycopy(starts, from, starts, from + count, tail);
+        System.arraycopy(ends, from, ends, from + count, tail);
+        System.arraycopy(statuses, from, statuses, from + count, tail);
+        System.arraycopy(minutes, from, minutes, from + count, tail);
+        size += count;
+    }
+
+    private void unshift(int from, int count) {
+        int tail = size - from - count;
+        System.arraycopy(entryIds, from + count, entryIds, from, tail);
+        System.arraycopy(staff, from + count, staff, from, tail);
+        System.arraycopy(days, from + count, days, from, tail);
+        System.arraycopy(starts, from + count, starts, from, tail);
+        System.arraycopy(ends, from + count, ends, from, tail);
+        System.arraycopy(statuses, from + count, statuses, from, tail);
+        System.arraycopy(minutes, from + count, minutes, from, tail);
+        size -= count;
+    }
+}
@@ -0,0 +1,17 @@
+package com.kita.dienstplan.history;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A filtered aggregation over the history store
+ *
+ * @param statuses statuses to count, case-insensitive; all if null or empty
+ * @param groupBy  up to two dimensions; one total if empty
+ * @param groupId  only staff currently in this group; all if null
+ * @param staffId  only this staff member; all if null
+ */
+public record HistoryQuery(LocalDate from, LocalDate to, Set<String> statuses, List<HistoryDimension> groupBy,
+                           Long groupId, Long staffId, boolean includePraktikanten) {
+}
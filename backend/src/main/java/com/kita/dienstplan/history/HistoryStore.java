@@ -0,0 +1,526 @@
+package com.kita.dienstplan.history;
+
+import com.kita.dienstplan.dto.HistoryAggregateDTO;
+import com.kita.dienstplan.dto.HistoryStatsDTO;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Columnar in-memory copy of the schedule history, partitioned by year.
+ * Rows reference staff members and statuses by small dictionary indexes, so a row takes
+ * HistoryPartition.BYTES_PER_ROW bytes. An aggregation turns its filters and grouping into lookup
+ * tables per day, staff index and status code, then scans the rows of each year in chunks on a
+ * fork/join pool; the scan loop has no branches, rows that do not pass land in a discarded bucket.
+ *
+ * Writers lock one partition at a time; a scan holds the read lock of the year it is scanning.
+ * The group of a row is the staff member's current group.
+ */
+public final class HistoryStore {
+
+    static final int MAX_BUCKETS = 1 << 16;
+    private static final int SCAN_CHUNK = 1 << 15;
+    private static final int MAX_STAFF = Short.MAX_VALUE;
+    private static final int STATUS_CODES = Byte.MAX_VALUE + 1;
+    private static final String[] KNOWN_STATUSES = {
+            "normal", "frei", "krank", "Schule", "Fachschule", "Urlaub", "Feiertag"
+    };
+
+    private final ConcurrentSkipListMap<Integer, HistoryPartition> partitions = new ConcurrentSkipListMap<>();
+    private final ForkJoinPool pool;
+
+    // Dictionaries, guarded by this; index 0 of the groups is "no group"
+    private final Map<Long, Integer> staffIndexes = new HashMap<>();
+    private long[] staffIds = new long[64];
+    private String[] staffNames = new String[64];
+    private int[] staffGroups = new int[64];
+    private boolean[] staffPraktikant = new boolean[64];
+    private int staffCount;
+    private final Map<Long, Integer> groupIndexes = new HashMap<>();
+    private final List<Long> groupIds = new ArrayList<>(Arrays.asList((Long) null));
+    private final List<String> groupNames = new ArrayList<>(Arrays.asList((String) null));
+    private final Map<String, Integer> statusCodes = new HashMap<>();
+    private final List<String> statusLabels = new ArrayList<>();
+
+    public HistoryStore(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+        for (String status : KNOWN_STATUSES) {
+            statusCode(status);
+        }
+    }
+
+    /**
+     * Register a staff member or update their attributes
+     */
+    public synchronized void putStaff(long staffId, String fullName, Long groupId, String groupName,
+                                      boolean praktikant) {
+        int i = staffIndex(staffId);
+        staffNames[i] = fullName;
+        staffPraktikant[i] = praktikant;
+        if (groupId == null) {
+            staffGroups[i] = 0;
+        } else {
+            int group = groupIndexes.computeIfAbsent(groupId, id -> {
+                groupIds.add(id);
+                groupNames.add(groupName);
+                return groupIds.size() - 1;
+            });
+            groupNames.set(group, groupName);
+            staffGroups[i] = group;
+        }
+    }
+
+    /**
+     * Insert or replace the row of an entry
+     *
+     * @param start null if the entry has no times
+     */
+    public void upsert(long entryId, long staffId, LocalDate day, LocalTime start, LocalTime end, String status,
+                       int workingMinutes) {
+        int staff = staffIndex(staffId);
+        int code = statusCode(status);
+        HistoryPartition partition = partitions.computeIfAbsent(day.getYear(), HistoryPartition::new);
+        partition.lock.writeLock().lock();
+        try {
+            partition.upsert(Math.toIntExact(entryId), staff, day.getDayOfYear(), minuteOfDay(start),
+                    minuteOfDay(end), code, workingMinutes);
+        } finally {
+            partition.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the row of an entry on a day; false if there is none
+     */
+    public boolean remove(long entryId, LocalDate day) {
+        HistoryPartition partition = partitions.get(day.getYear());
+        if (partition == null) {
+            return false;
+        }
+        partition.lock.writeLock().lock();
+        try {
+            return partition.remove(Math.toIntExact(entryId));
+        } finally {
+            partition.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add the row of an absence day without an entry, unless it is there already
+     */
+    public void addAbsenceDay(long staffId, LocalDate day, String status) {
+        int staff = staffIndex(staffId);
+        int code = statusCode(status);
+        HistoryPartition partition = partitions.computeIfAbsent(day.getYear(), HistoryPartition::new);
+        partition.lock.writeLock().lock();
+        try {
+            partition.addUnlinked(staff, day.getDayOfYear(), code);
+        } finally {
+            partition.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the row of an absence day without an entry; false if there is none
+     */
+    public boolean removeAbsenceDay(long staffId, LocalDate day) {
+        HistoryPartition partition = partitions.get(day.getYear());
+        if (partition == null) {
+            return false;
+        }
+        int staff = staffIndex(staffId);
+        partition.lock.writeLock().lock();
+        try {
+            return partition.removeUnlinked(staff, day.getDayOfYear());
+        } finally {
+            partition.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Start building partitions to replace a range of years
+     */
+    public Loader loader() {
+        return new Loader();
+    }
+
+    public void clear() {
+        partitions.clear();
+    }
+
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Counts and working minutes of the rows matching a query, grouped by up to two dimensions
+     *
+     * @throws IllegalArgumentException for an inverted range, more than two dimensions or too many buckets
+     */
+    public HistoryAggregateDTO aggregate(HistoryQuery query) {
+        long started = System.nanoTime();
+        LocalDate from = query.from();
+        LocalDate to = query.to();
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("A history query needs a from date on or before its to date");
+        }
+        List<HistoryDimension> groupBy = query.groupBy() != null ? query.groupBy() : List.of();
+        if (groupBy.size() > 2 || groupBy.size() != Set.copyOf(groupBy).size()) {
+            throw new IllegalArgumentException("Group by at most two different dimensions");
+        }
+
+        Dictionaries dictionaries = snapshot();
+        int[] cardinalities = new int[groupBy.size()];
+        long buckets = 1;
+        for (int d = 0; d < cardinalities.length; d++) {
+            cardinalities[d] = Math.max(1, cardinality(groupBy.get(d), from, to, dictionaries));
+            buckets *= cardinalities[d];
+        }
+        if (buckets > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Too many buckets (" + buckets + "), narrow the range or grouping");
+        }
+        int[] strides = new int[cardinalities.length];
+        for (int d = strides.length - 1, stride = 1; d >= 0; stride *= cardinalities[d--]) {
+            strides[d] = stride;
+        }
+
+        // Slot 0 collects the rows that do not pass the filters
+        int width = (int) buckets + 1;
+        long[] totals = new long[2 * width];
+        long scanned = 0;
+        for (HistoryPartition partition : partitions.subMap(from.getYear(), true, to.getYear(), true).values()) {
+            partition.lock.readLock().lock();
+            try {
+                Scan scan = prepare(partition, query, groupBy, strides, dictionaries);
+                long[] result = pool.invoke(new ScanTask(partition, scan, 0, partition.size, width));
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += result[i];
+                }
+                scanned += partition.size;
+            } finally {
+                partition.lock.readLock().unlock();
+            }
+        }
+
+        List<HistoryAggregateDTO.Bucket> result = new ArrayList<>();
+        for (int bucket = 1; bucket < width; bucket++) {
+            if (totals[bucket] == 0) {
+                continue;
+            }
+            List<String> keys = new ArrayList<>(groupBy.size());
+            List<String> labels = new ArrayList<>(groupBy.size());
+            int rest = bucket - 1;
+            for (int d = 0; d < strides.length; d++) {
+                int key = rest / strides[d];
+                rest %= strides[d];
+                describe(groupBy.get(d), key, from, dictionaries, keys, labels);
+            }
+            result.add(new HistoryAggregateDTO.Bucket(keys, labels, totals[bucket], totals[width + bucket]));
+        }
+        return new HistoryAggregateDTO(from, to, groupBy.stream().map(Enum::name).toList(), result, scanned,
+                (System.nanoTime() - started) / 1000);
+    }
+
+    /**
+     * Rows and allocated bytes, in total and per year
+     */
+    public HistoryStatsDTO stats(boolean loaded) {
+        List<HistoryStatsDTO.Year> years = new ArrayList<>();
+        long rows = 0;
+        long bytes = 0;
+        for (HistoryPartition partition : partitions.values()) {
+            partition.lock.readLock().lock();
+            try {
+                years.add(new HistoryStatsDTO.Year(partition.year, (long) partition.size, partition.bytes()));
+                rows += partition.size;
+                bytes += partition.bytes();
+            } finally {
+                partition.lock.readLock().unlock();
+            }
+        }
+        return new HistoryStatsDTO(loaded, rows, bytes, rows > 0 ? (double) bytes / rows : null, years);
+    }
+
+    private synchronized int staffIndex(long staffId) {
+        Integer i = staffIndexes.get(staffId);
+        if (i != null) {
+            return i;
+        }
+        if (staffCount == MAX_STAFF) {
+            throw new IllegalStateException("History store holds at most " + MAX_STAFF + " staff members");
+        }
+        if (staffCount == staffIds.length) {
+            int capacity = staffIds.length * 2;
+            staffIds = Arrays.copyOf(staffIds, capacity);
+            staffNames = Arrays.copyOf(staffNames, capacity);
+            staffGroups = Arrays.copyOf(staffGroups, capacity);
+            staffPraktikant = Arrays.copyOf(staffPraktikant, capacity);
+        }
+        staffIds[staffCount] = staffId;
+        staffIndexes.put(staffId, staffCount);
+        return staffCount++;
+    }
+
+    private synchronized int statusCode(String status) {
+        String key = status != null ? status.trim().toLowerCase(Locale.ROOT) : "";
+        Integer code = statusCodes.get(key);
+        if (code != null) {
+            return code;
+        }
+        if (statusLabels.size() == STATUS_CODES) {
+            throw new IllegalStateException("History store holds at most " + STATUS_CODES + " statuses");
+        }
+        statusLabels.add(status);
+        statusCodes.put(key, statusLabels.size() - 1);
+        return statusLabels.size() - 1;
+    }
+
+    private synchronized int staffCount() {
+        return staffCount;
+    }
+
+    /**
+     * Copy of the dictionaries a query resolves its filters and labels against
+     */
+    private record Dictionaries(long[] staffIds, String[] staffNames, int[] staffGroups, boolean[] staffPraktikant,
+                                int staffCount, List<Long> groupIds, List<String> groupNames,
+                                List<String> statusLabels) {
+    }
+
+    private synchronized Dictionaries snapshot() {
+        return new Dictionaries(Arrays.copyOf(staffIds, staffCount), Arrays.copyOf(staffNames, staffCount),
+                Arrays.copyOf(staffGroups, staffCount), Arrays.copyOf(staffPraktikant, staffCount), staffCount,
+                List.copyOf(groupIds.subList(1, groupIds.size())), new ArrayList<>(groupNames),
+                new ArrayList<>(statusLabels));
+    }
+
+    private static int cardinality(HistoryDimension dimension, LocalDate from, LocalDate to,
+                                   Dictionaries dictionaries) {
+        return switch (dimension) {
+            case YEAR -> to.getYear() - from.getYear() + 1;
+            case MONTH -> monthIndex(to, from) + 1;
+            case WEEKDAY -> 7;
+            case STAFF -> dictionaries.staffCount();
+            case GROUP -> dictionaries.groupNames().size();
+            case STATUS -> dictionaries.statusLabels().size();
+        };
+    }
+
+    private static int monthIndex(LocalDate day, LocalDate from) {
+        return (day.getYear() - from.getYear()) * 12 + day.getMonthValue() - from.getMonthValue();
+    }
+
+    private static void describe(HistoryDimension dimension, int key, LocalDate from, Dictionaries dictionaries,
+                                 List<String> keys, List<String> labels) {
+        switch (dimension) {
+            case YEAR -> {
+                keys.add(String.valueOf(from.getYear() + key));
+                labels.add(String.valueOf(from.getYear() + key));
+            }
+            case MONTH -> {
+                keys.add(YearMonth.from(from).plusMonths(key).toString());
+                labels.add(YearMonth.from(from).plusMonths(key).toString());
+            }
+            case WEEKDAY -> {
+                keys.add(String.valueOf(key + 1));
+                labels.add(DayOfWeek.of(key + 1).getDisplayName(TextStyle.FULL, Locale.GERMAN));
+            }
+            case STAFF -> {
+                keys.add(String.valueOf(dictionaries.staffIds()[key]));
+                labels.add(dictionaries.staffNames()[key]);
+            }
+            case GROUP -> {
+                keys.add(key == 0 ? null : String.valueOf(dictionaries.groupIds().get(key - 1)));
+                labels.add(dictionaries.groupNames().get(key));
+            }
+            case STATUS -> {
+                keys.add(dictionaries.statusLabels().get(key));
+                labels.add(dictionaries.statusLabels().get(key));
+            }
+        }
+    }
+
+    /**
+     * Lookup tables of one partition: a row passes if all three ok flags are 1,
+     * and its bucket is the sum of the three keys plus one
+     */
+    private record Scan(int[] dayOk, int[] dayKey, int[] staffOk, int[] staffKey, int[] statusOk, int[] statusKey) {
+    }
+
+    private Scan prepare(HistoryPartition partition, HistoryQuery query, List<HistoryDimension> groupBy,
+                         int[] strides, Dictionaries dictionaries) {
+        LocalDate from = query.from();
+        int[] dayOk = new int[367];
+        int[] dayKey = new int[367];
+        LocalDate first = LocalDate.ofYearDay(partition.year, 1);
+        for (int day = 1; day <= first.lengthOfYear(); day++) {
+            LocalDate date = first.withDayOfYear(day);
+            dayOk[day] = date.isBefore(from) || date.isAfter(query.to()) ? 0 : 1;
+            for (int d = 0; d < strides.length; d++) {
+                int key = switch (groupBy.get(d)) {
+                    case YEAR -> partition.year - from.getYear();
+                    case MONTH -> monthIndex(date, from);
+                    case WEEKDAY -> date.getDayOfWeek().getValue() - 1;
+                    default -> 0;
+                };
+                dayKey[day] += key * strides[d];
+            }
+        }
+
+        // Staff registered after the snapshot may appear in rows; they do not pass
+        int[] staffOk = new int[Math.max(staffCount(), dictionaries.staffCount())];
+        int[] staffKey = new int[staffOk.length];
+        // An unknown group matches nobody
+        int groupPosition = query.groupId() != null ? dictionaries.groupIds().indexOf(query.groupId()) : 0;
+        Integer groupFilter = query.groupId() == null ? null : groupPosition < 0 ? -1 : groupPosition + 1;
+        for (int s = 0; s < dictionaries.staffCount(); s++) {
+            boolean ok = (query.staffId() == null || query.staffId() == dictionaries.staffIds()[s])
+                    && (groupFilter == null || groupFilter == dictionaries.staffGroups()[s])
+                    && (query.includePraktikanten() || !dictionaries.staffPraktikant()[s]);
+            staffOk[s] = ok ? 1 : 0;
+            for (int d = 0; d < strides.length; d++) {
+                int key = switch (groupBy.get(d)) {
+                    case STAFF -> s;
+                    case GROUP -> dictionaries.staffGroups()[s];
+                    default -> 0;
+                };
+                staffKey[s] += key * strides[d];
+            }
+        }
+
+        int[] statusOk = new int[STATUS_CODES];
+        int[] statusKey = new int[STATUS_CODES];
+        Set<String> statuses = query.statuses() == null ? Set.of() : query.statuses().stream()
+                .map(status -> status.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        for (int c = 0; c < dictionaries.statusLabels().size(); c++) {
+            String label = dictionaries.statusLabels().get(c);
+            boolean ok = statuses.isEmpty()
+                    || statuses.contains(label != null ? label.trim().toLowerCase(Locale.ROOT) : "");
+            statusOk[c] = ok ? 1 : 0;
+            for (int d = 0; d < strides.length; d++) {
+                statusKey[c] += (groupBy.get(d) == HistoryDimension.STATUS ? c : 0) * strides[d];
+            }
+        }
+        return new Scan(dayOk, dayKey, staffOk, staffKey, statusOk, statusKey);
+    }
+
+    /**
+     * Counts (first half) and minutes (second half) per bucket of a row range, split until chunks are small
+     */
+    private static final class ScanTask extends RecursiveTask<long[]> {
+
+        private final HistoryPartition partition;
+        private final Scan scan;
+        private final int lo;
+        private final int hi;
+        private final int width;
+
+        ScanTask(HistoryPartition partition, Scan scan, int lo, int hi, int width) {
+            this.partition = partition;
+            this.scan = scan;
+            this.lo = lo;
+            this.hi = hi;
+            this.width = width;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (hi - lo > SCAN_CHUNK) {
+                int mid = (lo + hi) >>> 1;
+                ScanTask left = new ScanTask(partition, scan, lo, mid, width);
+                left.fork();
+                long[] right = new ScanTask(partition, scan, mid, hi, width).compute();
+                long[] totals = left.join();
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += right[i];
+                }
+                return totals;
+            }
+            short[] days = partition.days;
+            short[] staff = partition.staff;
+            byte[] statuses = partition.statuses;
+            short[] minutes = partition.minutes;
+            int[] dayOk = scan.dayOk();
+            int[] dayKey = scan.dayKey();
+            int[] staffOk = scan.staffOk();
+            int[] staffKey = scan.staffKey();
+            int[] statusOk = scan.statusOk();
+            int[] statusKey = scan.statusKey();
+            long[] totals = new long[2 * width];
+            for (int i = lo; i < hi; i++) {
+                int day = days[i];
+                int s = staff[i];
+                int status = statuses[i];
+                int bucket = (dayOk[day] & staffOk[s] & statusOk[status])
+                        * (dayKey[day] + staffKey[s] + statusKey[status] + 1);
+                totals[bucket]++;
+                totals[width + bucket] += minutes[i];
+            }
+            return totals;
+        }
+    }
+
+    /**
+     * Collects the rows of a range of years, then swaps them in.
+     * Entries must arrive in ascending id order; absence days without an entry in any order.
+     */
+    public final class Loader {
+
+        private final Map<Integer, HistoryPartition> built = new HashMap<>();
+        private final Map<Integer, HistoryPartition> unlinked = new HashMap<>();
+        private long rows;
+
+        private Loader() {
+        }
+
+        public void entry(long entryId, long staffId, LocalDate day, LocalTime start, LocalTime end, String status,
+                          int workingMinutes) {
+            built.computeIfAbsent(day.getYear(), HistoryPartition::new).append(Math.toIntExact(entryId),
+                    staffIndex(staffId), day.getDayOfYear(), minuteOfDay(start), minuteOfDay(end),
+                    statusCode(status), workingMinutes);
+            rows++;
+        }
+
+        public void absenceDay(long staffId, LocalDate day, String status) {
+            // Collected in a partition of their own and moved in front of the entries on install
+            HistoryPartition days = unlinked.computeIfAbsent(day.getYear(), HistoryPartition::new);
+            days.append(days.size + 1, staffIndex(staffId), day.getDayOfYear(), HistoryPartition.NO_TIME,
+                    HistoryPartition.NO_TIME, statusCode(status), 0);
+            rows++;
+        }
+
+        public long rows() {
+            return rows;
+        }
+
+        /**
+         * Replace the partitions of the years between fromYear and toYear with the collected rows
+         */
+        public void install(int fromYear, int toYear) {
+            unlinked.forEach((year, days) -> built.computeIfAbsent(year, HistoryPartition::new)
+                    .prependUnlinked(days.size, days.staff, days.days, days.statuses));
+            built.values().forEach(HistoryPartition::trim);
+            partitions.subMap(fromYear, true, toYear, true).keySet().removeIf(year -> !built.containsKey(year));
+            partitions.putAll(built);
+        }
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time == null ? HistoryPartition.NO_TIME : time.getHour() * 60 + time.getMinute();
+    }
+}
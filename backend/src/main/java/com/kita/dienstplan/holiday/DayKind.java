@@ -0,0 +1,36 @@
+package com.kita.dienstplan.holiday;
+
+/**
+ * Kinds of special days in the Kita calendar
+ * Holidays are computed; closure and team days are maintained by planners (closure_days table)
+ */
+public enum DayKind {
+
+    /**
+     * Public holiday in Berlin; the Kita is closed
+     */
+    HOLIDAY(true),
+
+    /**
+     * Kita closure day (Schließtag), e.g. between Christmas and New Year; the Kita is closed
+     */
+    CLOSURE(true),
+
+    /**
+     * Team or training day (Teamtag); children are not cared for, staff work
+     */
+    TEAM_DAY(false);
+
+    private final boolean closed;
+
+    DayKind(boolean closed) {
+        this.closed = closed;
+    }
+
+    /**
+     * Whether staff have the day off, so that it is booked as Feiertag
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+}
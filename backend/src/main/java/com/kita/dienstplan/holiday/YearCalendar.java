@@ -0,0 +1,84 @@
+package com.kita.dienstplan.holiday;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed special days of one year, indexed by day of year.
+ * One byte per day holds the DayKind (0 = regular day), so a lookup is an array access;
+ * names are only kept for special days. Immutable once built, safe to share between threads.
+ */
+public final class YearCalendar {
+
+    private static final DayKind[] KINDS = DayKind.values();
+
+    private final int year;
+    private final byte[] kinds;
+    private final String[] names;
+
+    private YearCalendar(int year) {
+        this.year = year;
+        int length = LocalDate.of(year, 1, 1).lengthOfYear();
+        this.kinds = new byte[length];
+        this.names = new String[length];
+    }
+
+    /**
+     * Build a year from the computed holidays and the planner-maintained days.
+     * A holiday takes precedence over a closure or team day on the same date.
+     */
+    public static YearCalendar build(int year, Map<LocalDate, String> holidays,
+                                     Map<LocalDate, Map.Entry<DayKind, String>> plannedDays) {
+        YearCalendar calendar = new YearCalendar(year);
+        plannedDays.forEach((date, day) -> calendar.put(date, day.getKey(), day.getValue()));
+        holidays.forEach((date, name) -> calendar.put(date, DayKind.HOLIDAY, name));
+        return calendar;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Kind of a day of this year, or null for a regular day
+     */
+    public DayKind kind(LocalDate date) {
+        int code = kinds[index(date)];
+        return code == 0 ? null : KINDS[code - 1];
+    }
+
+    /**
+     * Name of a special day of this year, or null for a regular day
+     */
+    public String name(LocalDate date) {
+        return names[index(date)];
+    }
+
+    /**
+     * Special days of this year in date order
+     */
+    public List<LocalDate> specialDays() {
+        List<LocalDate> days = new ArrayList<>();
+        for (int i = 0; i < kinds.length; i++) {
+            if (kinds[i] != 0) {
+                days.add(LocalDate.ofYearDay(year, i + 1));
+            }
+        }
+        return days;
+    }
+
+    private void put(LocalDate date, DayKind kind, String name) {
+        int index = index(date);
+        kinds[index] = (byte) (kind.ordinal() + 1);
+        names[index] = name;
+    }
+
+    private int index(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException(date + " is not in " + year);
+        }
+        return date.getDayOfYear() - 1;
+    }
+}
@@ -0,0 +1,183 @@
+package com.kita.dienstplan.pdf;
+
+import com.kita.dienstplan.dto.WeekMatrixDTO;
+import com.kita.dienstplan.dto.WeekMatrixDTO.DayColumn;
+import com.kita.dienstplan.dto.WeekMatrixDTO.StaffColumn;
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Element;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders the printed weekly Dienstplan: one row per staff member, one column per day,
+ * followed by daily totals with and without Praktikanten.
+ * Stateless apart from the shared template, so it is safe to call from several threads.
+ */
+@Component
+@RequiredArgsConstructor
+public class DienstplanPdfRenderer {
+
+    private static final int WORKDAYS = 5;
+
+    private final DienstplanPdfTemplate template;
+
+    public byte[] render(WeekMatrixDTO matrix) {
+        List<DayColumn> days = visibleDays(matrix);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        Document document = new Document(PageSize.A4.rotate(), 24, 24, 24, 24);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            LocalDate startDate = matrix.getStartDate();
+            LocalDate endDate = startDate.plusDays(days.get(days.size() - 1).getDayOfWeek());
+            Paragraph title = new Paragraph(template.formatTitle(startDate, endDate), template.getTitleFont());
+            title.setAlignment(Element.ALIGN_CENTER);
+            document.add(title);
+            Paragraph subtitle = new Paragraph(template.getSubtitle() + " · KW " + matrix.getWeekNumber()
+                    + "/" + matrix.getYear(), template.getSubtitleFont());
+            subtitle.setAlignment(Element.ALIGN_CENTER);
+            subtitle.setSpacingAfter(8);
+            document.add(subtitle);
+
+            document.add(table(matrix, days));
+        } catch (DocumentException e) {
+            throw new RuntimeException("Could not render Dienstplan PDF", e);
+        } finally {
+            document.close();
+        }
+        return out.toByteArray();
+    }
+
+    private PdfPTable table(WeekMatrixDTO matrix, List<DayColumn> days) throws DocumentException {
+        float[] widths = new float[2 + days.size()];
+        widths[0] = template.getNameWidth();
+        widths[1] = template.getWeekWidth();
+        for (int i = 0; i < days.size(); i++) {
+            widths[2 + i] = template.getDayWidth();
+        }
+        PdfPTable table = new PdfPTable(widths);
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+
+        table.addCell(headerCell(template.getNameLabel()));
+        table.addCell(headerCell(template.getWeekLabel()));
+        for (DayColumn day : days) {
+            String date = day.getWorkDate() != null ? "\n" + template.getDayDateFormat().format(day.getWorkDate()) : "";
+            table.addCell(headerCell(template.getDayLabels()[day.getDayOfWeek()] + date));
+        }
+
+        List<StaffColumn> staff = matrix.getStaff();
+        for (int i = 0; i < staff.size(); i++) {
+            StaffColumn column = staff.get(i);
+            Color background = Boolean.TRUE.equals(column.getPraktikant()) ? template.getPraktikantColor() : null;
+
+            Phrase name = new Phrase(column.getName(), template.getBoldFont());
+            if (column.getRole() != null) {
+                name.add(new Phrase("\n" + column.getRole(), template.getSmallFont()));
+            }
+            table.addCell(cell(name, background, Element.ALIGN_LEFT));
+            table.addCell(cell(new Phrase(formatMinutes(column.getWeeklyMinutes()), template.getBodyFont()),
+                    background, Element.ALIGN_CENTER));
+
+            for (DayColumn day : days) {
+                table.addCell(dayCell(matrix, day, i, background));
+            }
+        }
+
+        addTotalsRow(table, days, template.getTotalsWithoutLabel(), true);
+        addTotalsRow(table, days, template.getTotalsWithLabel(), false);
+        return table;
+    }
+
+    private PdfPCell dayCell(WeekMatrixDTO matrix, DayColumn day, int index, Color rowBackground) {
+        int statusCode = day.getStatus()[index];
+        if (statusCode == WeekMatrixDTO.NO_VALUE) {
+            return cell(new Phrase("", template.getBodyFont()), rowBackground, Element.ALIGN_CENTER);
+        }
+        String status = matrix.getStatuses().get(statusCode);
+        int start = day.getStart()[index];
+        int end = day.getEnd()[index];
+
+        if ("normal".equalsIgnoreCase(status) && start != WeekMatrixDTO.NO_VALUE && end != WeekMatrixDTO.NO_VALUE) {
+            Phrase phrase = new Phrase(formatTime(start) + " – " + formatTime(end), template.getBodyFont());
+            phrase.add(new Phrase("\n" + formatMinutes(day.getWorkingMinutes()[index])
+                    + " / " + formatMinutes(day.getBreakMinutes()[index]), template.getSmallFont()));
+            return cell(phrase, rowBackground, Element.ALIGN_CENTER);
+        }
+        Color statusColor = template.statusColor(status);
+        return cell(new Phrase(status, template.getBoldFont()),
+                statusColor != null ? statusColor : rowBackground, Element.ALIGN_CENTER);
+    }
+
+    private void addTotalsRow(PdfPTable table, List<DayColumn> days, String label, boolean withoutPraktikanten) {
+        Color background = template.getTotalsColor();
+        table.addCell(cell(new Phrase(label, template.getBoldFont()), background, Element.ALIGN_LEFT));
+
+        int weekTotal = 0;
+        for (DayColumn day : days) {
+            weekTotal += withoutPraktikanten ? day.getTotalMinutesWithoutPraktikanten() : day.getTotalMinutesWithPraktikanten();
+        }
+        table.addCell(cell(new Phrase(formatMinutes(weekTotal), template.getBoldFont()), background, Element.ALIGN_CENTER));
+
+        for (DayColumn day : days) {
+            int minutes = withoutPraktikanten ? day.getTotalMinutesWithoutPraktikanten() : day.getTotalMinutesWithPraktikanten();
+            int count = withoutPraktikanten ? day.getStaffCountWithoutPraktikanten() : day.getTotalStaffCount();
+            Phrase phrase = new Phrase(formatMinutes(minutes), template.getBoldFont());
+            phrase.add(new Phrase("\n" + count + " " + template.getStaffCountLabel(), template.getSmallFont()));
+            table.addCell(cell(phrase, background, Element.ALIGN_CENTER));
+        }
+    }
+
+    private PdfPCell headerCell(String text) {
+        PdfPCell cell = cell(new Phrase(text, template.getHeaderFont()), template.getHeaderColor(), Element.ALIGN_CENTER);
+        cell.setPaddingBottom(5);
+        return cell;
+    }
+
+    private static PdfPCell cell(Phrase phrase, Color background, int alignment) {
+        PdfPCell cell = new PdfPCell(phrase);
+        cell.setHorizontalAlignment(alignment);
+        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        cell.setPadding(3);
+        if (background != null) {
+            cell.setBackgroundColor(background);
+        }
+        return cell;
+    }
+
+    /**
+     * Monday to Friday, plus weekend days that actually have entries
+     */
+    private static List<DayColumn> visibleDays(WeekMatrixDTO matrix) {
+        List<DayColumn> days = new ArrayList<>();
+        for (DayColumn day : matrix.getDays()) {
+            if (day.getDayOfWeek() < WORKDAYS || day.getTotalStaffCount() > 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    private static String formatTime(int minuteOfDay) {
+        return String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    private static String formatMinutes(Integer minutes) {
+        int value = minutes != null ? minutes : 0;
+        return String.format("%d:%02d", value / 60, value % 60);
+    }
+}
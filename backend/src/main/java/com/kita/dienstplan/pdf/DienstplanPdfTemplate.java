@@ -0,0 +1,129 @@
+package com.kita.dienstplan.pdf;
+
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Parsed Dienstplan PDF layout (fonts, colours, labels, column widths).
+ * Built once from templates/dienstplan-pdf.properties and shared read-only
+ * by all render threads.
+ */
+@Getter
+@Component
+public class DienstplanPdfTemplate {
+
+    private final String title;
+    private final String subtitle;
+    private final DateTimeFormatter dateFormat;
+    private final DateTimeFormatter dayDateFormat;
+    private final Font titleFont;
+    private final Font subtitleFont;
+    private final Font bodyFont;
+    private final Font boldFont;
+    private final Font smallFont;
+    private final Font headerFont;
+    private final float nameWidth;
+    private final float weekWidth;
+    private final float dayWidth;
+    private final String nameLabel;
+    private final String weekLabel;
+    private final String[] dayLabels;
+    private final String totalsWithoutLabel;
+    private final String totalsWithLabel;
+    private final String staffCountLabel;
+    private final Color headerColor;
+    private final Color totalsColor;
+    private final Color praktikantColor;
+    private final Map<String, Color> statusColors;
+
+    @Autowired
+    public DienstplanPdfTemplate(
+            @Value("${pdf.dienstplan.template:classpath:templates/dienstplan-pdf.properties}") Resource resource) {
+        this(load(resource));
+    }
+
+    DienstplanPdfTemplate(Properties properties) {
+        this.title = properties.getProperty("title");
+        this.subtitle = properties.getProperty("subtitle", "");
+        this.dateFormat = DateTimeFormatter.ofPattern(properties.getProperty("date.format", "dd.MM.yyyy"));
+        this.dayDateFormat = DateTimeFormatter.ofPattern(properties.getProperty("day.date.format", "dd.MM."));
+
+        Color headerText = color(properties, "color.header.text", Color.WHITE);
+        this.titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, size(properties, "font.size.title"));
+        this.subtitleFont = FontFactory.getFont(FontFactory.HELVETICA, size(properties, "font.size.subtitle"));
+        this.bodyFont = FontFactory.getFont(FontFactory.HELVETICA, size(properties, "font.size.body"));
+        this.boldFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, size(properties, "font.size.body"));
+        this.smallFont = FontFactory.getFont(FontFactory.HELVETICA, size(properties, "font.size.small"), Font.NORMAL, Color.DARK_GRAY);
+        this.headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, size(properties, "font.size.body"), Font.NORMAL, headerText);
+
+        this.nameWidth = size(properties, "column.name.width");
+        this.weekWidth = size(properties, "column.week.width");
+        this.dayWidth = size(properties, "column.day.width");
+        this.nameLabel = properties.getProperty("column.name.label");
+        this.weekLabel = properties.getProperty("column.week.label");
+        this.dayLabels = properties.getProperty("day.labels").split(",");
+        this.totalsWithoutLabel = properties.getProperty("totals.without");
+        this.totalsWithLabel = properties.getProperty("totals.with");
+        this.staffCountLabel = properties.getProperty("staff.count.label");
+
+        this.headerColor = color(properties, "color.header", Color.DARK_GRAY);
+        this.totalsColor = color(properties, "color.totals", Color.LIGHT_GRAY);
+        this.praktikantColor = color(properties, "color.praktikant", Color.WHITE);
+        Map<String, Color> colors = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith("color.status.")) {
+                colors.put(key.substring("color.status.".length()).toLowerCase(Locale.ROOT), color(properties, key, null));
+            }
+        }
+        this.statusColors = Map.copyOf(colors);
+    }
+
+    public String formatTitle(LocalDate startDate, LocalDate endDate) {
+        return MessageFormat.format(title, dateFormat.format(startDate), dateFormat.format(endDate));
+    }
+
+    /**
+     * Background for a status cell, or null for the default background
+     */
+    public Color statusColor(String status) {
+        return status != null ? statusColors.get(status.toLowerCase(Locale.ROOT)) : null;
+    }
+
+    private static Properties load(Resource resource) {
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read PDF template " + resource, e);
+        }
+        return properties;
+    }
+
+    private static float size(Properties properties, String key) {
+        return Float.parseFloat(properties.getProperty(key));
+    }
+
+    private static Color color(Properties properties, String key, Color fallback) {
+        String value = properties.getProperty(key);
+        return value != null ? Color.decode(value.trim()) : fallback;
+    }
+}
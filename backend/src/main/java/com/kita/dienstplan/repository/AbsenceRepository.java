@@ -0,0 +1,56 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.Absence;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for Absence entity
+ * Overlap queries (start <= to AND end >= from) are served by the range indexes of V9
+ */
+@Repository
+public interface AbsenceRepository extends JpaRepository<Absence, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "staff")
+    Optional<Absence> findById(Long id);
+
+    /**
+     * Absences overlapping a date range, with staff and group for building per-day views
+     */
+    @Query("SELECT a FROM Absence a " +
+           "JOIN FETCH a.staff s " +
+           "LEFT JOIN FETCH s.group " +
+           "WHERE a.startDate <= :endDate AND a.endDate >= :startDate " +
+           "ORDER BY a.startDate, a.id")
+    List<Absence> findOverlapping(@Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * Absences of one staff member overlapping a date range
+     */
+    @Query("SELECT a FROM Absence a " +
+           "JOIN FETCH a.staff s " +
+           "WHERE s.id = :staffId " +
+           "AND a.startDate <= :endDate AND a.endDate >= :startDate " +
+           "ORDER BY a.startDate, a.id")
+    List<Absence> findOverlappingForStaff(@Param("staffId") Long staffId,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+
+    /**
+     * All absences with staff, for the hours-account rebuild
+     */
+    @Query("SELECT a FROM Absence a JOIN FETCH a.staff s ORDER BY s.id, a.startDate")
+    List<Absence> findAllWithStaff();
+
+    @Query("SELECT a FROM Absence a JOIN FETCH a.staff s WHERE s.id = :staffId ORDER BY a.startDate")
+    List<Absence> findByStaffId(@Param("staffId") Long staffId);
+}
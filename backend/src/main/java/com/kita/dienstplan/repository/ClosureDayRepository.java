@@ -0,0 +1,19 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.ClosureDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for ClosureDay entity
+ */
+@Repository
+public interface ClosureDayRepository extends JpaRepository<ClosureDay, Long> {
+
+    List<ClosureDay> findByDateBetweenOrderByDate(LocalDate startDate, LocalDate endDate);
+
+    boolean existsByDate(LocalDate date);
+}
@@ -2,6 +2,8 @@ package com.kita.dienstplan.repository;
 
 import com.kita.dienstplan.entity.Group;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -32,4 +34,17 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
      * Check if group name exists
      */
     boolean existsByName(String name);
+
+    /**
+     * Number of staff members, active or not, per group that has any.
+     * Row layout: groupId, count
+     */
+    @Query("SELECT s.group.id, COUNT(s) FROM Staff s WHERE s.group IS NOT NULL GROUP BY s.group.id")
+    List<Object[]> countStaffByGroup();
+
+    /**
+     * Number of staff members of a group, active or not
+     */
+    @Query("SELECT COUNT(s) FROM Staff s WHERE s.group.id = :groupId")
+    long countStaff(@Param("groupId") Long groupId);
 }
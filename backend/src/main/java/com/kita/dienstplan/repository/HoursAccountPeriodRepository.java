@@ -0,0 +1,44 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.HoursAccountPeriod;
+import com.kita.dienstplan.entity.HoursAccountPeriod.PeriodType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for HoursAccountPeriod entity
+ */
+@Repository
+public interface HoursAccountPeriodRepository extends JpaRepository<HoursAccountPeriod, Long> {
+
+    Optional<HoursAccountPeriod> findByStaffIdAndPeriodTypeAndPeriodStart(Long staffId,
+                                                                         PeriodType periodType,
+                                                                         LocalDate periodStart);
+
+    List<HoursAccountPeriod> findByStaffIdAndPeriodTypeAndPeriodStartBetweenOrderByPeriodStart(
+            Long staffId, PeriodType periodType, LocalDate startDate, LocalDate endDate);
+
+    List<HoursAccountPeriod> findByPeriodTypeAndPeriodStartBetween(PeriodType periodType,
+                                                                  LocalDate startDate,
+                                                                  LocalDate endDate);
+
+    /**
+     * Sum of period balances from a date on; the balance before that date is the account balance minus this
+     */
+    @Query("SELECT COALESCE(SUM(p.actualMinutes - p.targetMinutes), 0) FROM HoursAccountPeriod p " +
+           "WHERE p.staffId = :staffId AND p.periodType = :periodType AND p.periodStart >= :startDate")
+    Long sumBalanceFrom(@Param("staffId") Long staffId,
+                        @Param("periodType") PeriodType periodType,
+                        @Param("startDate") LocalDate startDate);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM HoursAccountPeriod p")
+    int deleteAllInBulk();
+}
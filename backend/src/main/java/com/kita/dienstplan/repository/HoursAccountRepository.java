@@ -0,0 +1,42 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.HoursAccount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for HoursAccount entity
+ */
+@Repository
+public interface HoursAccountRepository extends JpaRepository<HoursAccount, Long> {
+
+    /**
+     * Load an account with a row lock; serializes concurrent ledger updates of one staff member
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM HoursAccount a WHERE a.staffId = :staffId")
+    Optional<HoursAccount> findByStaffIdForUpdate(@Param("staffId") Long staffId);
+
+    /**
+     * Accounts whose balance is at least the threshold away from zero, largest first.
+     * Row layout: HoursAccount, staff fullName, staff weeklyHours
+     */
+    @Query("SELECT a, s.fullName, s.weeklyHours FROM HoursAccount a " +
+           "JOIN Staff s ON s.id = a.staffId " +
+           "WHERE a.balanceMinutes >= :threshold OR a.balanceMinutes <= -:threshold " +
+           "ORDER BY ABS(a.balanceMinutes) DESC, s.fullName")
+    List<Object[]> findOutliers(@Param("threshold") Integer threshold, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM HoursAccount a")
+    int deleteAllInBulk();
+}
@@ -0,0 +1,55 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.IdSequences;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves contiguous id ranges from the id sequence table for rows written with plain SQL
+ * (JDBC batches, INSERT ... SELECT), so they never collide with the blocks Hibernate takes for entities.
+ * Like Hibernate's table generator, the row is locked and advanced in its own short transaction,
+ * so concurrent writers wait only for the update and not for each other's transactions.
+ */
+@Repository
+public class IdBlockAllocator {
+
+    private static final String SELECT_SQL = "SELECT " + IdSequences.VALUE_COLUMN + " FROM " + IdSequences.TABLE +
+            " WHERE " + IdSequences.NAME_COLUMN + " = ? FOR UPDATE";
+    private static final String UPDATE_SQL = "UPDATE " + IdSequences.TABLE + " SET " + IdSequences.VALUE_COLUMN +
+            " = ? WHERE " + IdSequences.NAME_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    @Autowired
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserve count consecutive ids of a sequence
+     *
+     * @return the first id of the range [first, first + count)
+     * @throws IllegalStateException if the sequence has no row
+     */
+    public long reserve(String sequence, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+        Long first = newTransaction.execute(status -> {
+            Long next = jdbcTemplate.query(SELECT_SQL, rs -> rs.next() ? rs.getLong(1) : null, sequence);
+            if (next == null) {
+                throw new IllegalStateException("No id sequence " + sequence);
+            }
+            jdbcTemplate.update(UPDATE_SQL, next + count, sequence);
+            return next;
+        });
+        return first;
+    }
+}
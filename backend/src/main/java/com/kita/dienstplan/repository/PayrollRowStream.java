@@ -0,0 +1,18 @@
+package com.kita.dienstplan.repository;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Streamed payroll rows; a fragment of ScheduleEntryRepository, as the fetch size depends on the database
+ */
+public interface PayrollRowStream {
+
+    /**
+     * Stream payroll rows for a date range, ordered by month, then staff.
+     * Must be consumed inside a transaction.
+     * Row layout: staffId, fullName, role, groupName, isPraktikant,
+     * workDate, status, workingHoursMinutes, breakMinutes
+     */
+    Stream<Object[]> streamPayrollRows(LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,55 @@
+package com.kita.dienstplan.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Payroll rows streamed with memory that stays flat for any range, on every connection pool.
+ * Connector/J buffers a whole result unless the connection sets useCursorFetch (only the reporting
+ * and batch workload pools do) or the fetch size is Integer.MIN_VALUE, which streams row by row.
+ * The latter is used on MySQL, so the export streams with the workload pools off as well. While such
+ * a stream is open its connection can run no other statement: load everything else before reading it.
+ * Other databases fetch in chunks of FETCH_SIZE.
+ */
+@RequiredArgsConstructor
+public class PayrollRowStreamImpl implements PayrollRowStream {
+
+    static final int FETCH_SIZE = 500;
+    static final int MYSQL_ROW_STREAMING = Integer.MIN_VALUE;
+
+    private static final String QUERY = "SELECT s.id, s.fullName, s.role, g.name, s.isPraktikant, " +
+            "se.workDate, se.status, se.workingHoursMinutes, se.breakMinutes " +
+            "FROM ScheduleEntry se " +
+            "JOIN se.staff s " +
+            "LEFT JOIN s.group g " +
+            "WHERE se.workDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY YEAR(se.workDate), MONTH(se.workDate), s.fullName, s.id, se.workDate";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<Object[]> streamPayrollRows(LocalDate startDate, LocalDate endDate) {
+        return entityManager.createQuery(QUERY, Object[].class)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize(dialect()))
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    static int fetchSize(Dialect dialect) {
+        return dialect instanceof MySQLDialect ? MYSQL_ROW_STREAMING : FETCH_SIZE;
+    }
+
+    private Dialect dialect() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+    }
+}
@@ -0,0 +1,12 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.RollupDirtyRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for RollupDirtyRange entity
+ */
+@Repository
+public interface RollupDirtyRangeRepository extends JpaRepository<RollupDirtyRange, Long> {
+}
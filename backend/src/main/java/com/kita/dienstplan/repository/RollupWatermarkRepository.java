@@ -0,0 +1,12 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.RollupWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for RollupWatermark entity
+ */
+@Repository
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+}
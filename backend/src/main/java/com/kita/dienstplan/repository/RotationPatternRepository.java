@@ -0,0 +1,52 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.RotationPattern;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for RotationPattern entity
+ */
+@Repository
+public interface RotationPatternRepository extends JpaRepository<RotationPattern, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "staff")
+    Optional<RotationPattern> findById(Long id);
+
+    @Query("SELECT rp FROM RotationPattern rp " +
+           "JOIN FETCH rp.staff s " +
+           "ORDER BY s.fullName, rp.validFrom")
+    List<RotationPattern> findAllWithStaff();
+
+    @Query("SELECT rp FROM RotationPattern rp " +
+           "WHERE rp.staff.id = :staffId " +
+           "ORDER BY rp.validFrom")
+    List<RotationPattern> findByStaffId(@Param("staffId") Long staffId);
+
+    /**
+     * Active patterns of active staff overlapping a date range, newest first per staff member,
+     * so that the first pattern to claim a day wins during expansion.
+     * Row layout: staffId, slots, validFrom, validUntil
+     */
+    @Query("SELECT s.id, rp.slots, rp.validFrom, rp.validUntil " +
+           "FROM RotationPattern rp " +
+           "JOIN rp.staff s " +
+           "WHERE rp.isActive = true AND s.isActive = true " +
+           "AND rp.validFrom <= :endDate " +
+           "AND (rp.validUntil IS NULL OR rp.validUntil >= :startDate) " +
+           "AND (:allStaff = true OR s.id IN (:staffIds)) " +
+           "ORDER BY s.id, rp.validFrom DESC")
+    List<Object[]> findExpansionRows(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate,
+                                     @Param("allStaff") boolean allStaff,
+                                     @Param("staffIds") Collection<Long> staffIds);
+}
@@ -0,0 +1,117 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.EntryStatus;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC batch insert of generated schedule entries (rotation expansion).
+ * Rows are buffered and sent in batches of BATCH_SIZE, so a year for the whole staff is a few
+ * hundred round trips instead of tens of thousands of entity saves. Working minutes and breaks
+ * are computed with the same rules as ScheduleEntry's lifecycle callback, which is bypassed here.
+ * Ids are reserved from the entry id sequence once per batch.
+ * Must run inside the caller's transaction; it shares the JPA connection.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScheduleEntryBatchWriter {
+
+    public static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO schedule_entries " +
+            "(id, weekly_schedule_id, staff_id, day_of_week, work_date, start_time, end_time, shift_type_id, " +
+            "status, working_hours_minutes, break_minutes, created_by, created_at, updated_by, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, ?, CURRENT_TIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idBlockAllocator;
+
+    /**
+     * A new entry; times and shift type are null for days off
+     */
+    public record NewEntry(long weeklyScheduleId, long staffId, LocalDate workDate,
+                           LocalTime startTime, LocalTime endTime, Short shiftTypeId, String status) {
+    }
+
+    /**
+     * Start a batch whose rows are audited as written by the given user
+     */
+    public Batch open(String auditor) {
+        return new Batch(auditor);
+    }
+
+    /**
+     * Buffer of pending rows; call flush() once after the last add()
+     */
+    public final class Batch {
+
+        private final String auditor;
+        private final List<NewEntry> pending = new ArrayList<>(BATCH_SIZE);
+        private int written;
+
+        private Batch(String auditor) {
+            this.auditor = auditor;
+        }
+
+        public void add(NewEntry entry) {
+            pending.add(entry);
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Send the buffered rows
+         *
+         * @return total rows written by this batch so far
+         */
+        public int flush() {
+            if (!pending.isEmpty()) {
+                long firstId = idBlockAllocator.reserve(ScheduleEntry.ID_SEQUENCE, pending.size());
+                int[] row = {0};
+                jdbcTemplate.batchUpdate(INSERT_SQL, pending, pending.size(), (ps, entry) -> {
+                    EntryStatus status = EntryStatus.of(entry.status());
+                    boolean working = status == EntryStatus.NORMAL
+                            && entry.startTime() != null && entry.endTime() != null;
+                    long total = working ? ScheduleEntry.totalMinutes(entry.startTime(), entry.endTime()) : 0;
+                    int breakMinutes = working ? ScheduleEntry.breakMinutesFor(total) : 0;
+
+                    ps.setLong(1, firstId + row[0]++);
+                    ps.setLong(2, entry.weeklyScheduleId());
+                    ps.setLong(3, entry.staffId());
+                    ps.setInt(4, entry.workDate().getDayOfWeek().getValue() - 1);
+                    ps.setDate(5, Date.valueOf(entry.workDate()));
+                    ps.setTime(6, entry.startTime() == null ? null : Time.valueOf(entry.startTime()));
+                    ps.setTime(7, entry.endTime() == null ? null : Time.valueOf(entry.endTime()));
+                    if (entry.shiftTypeId() == null) {
+                        ps.setNull(8, Types.SMALLINT);
+                    } else {
+                        ps.setShort(8, entry.shiftTypeId());
+                    }
+                    if (status == null) {
+                        ps.setNull(9, Types.TINYINT);
+                    } else {
+                        ps.setByte(9, status.code());
+                    }
+                    ps.setInt(10, (int) (total - breakMinutes));
+                    ps.setInt(11, breakMinutes);
+                    ps.setString(12, auditor);
+                    ps.setString(13, auditor);
+                });
+                written += pending.size();
+                pending.clear();
+            }
+            return written;
+        }
+    }
+}
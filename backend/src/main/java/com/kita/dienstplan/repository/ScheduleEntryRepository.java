@@ -1,68 +1,200 @@
 package com.kita.dienstplan.repository;
 
+import com.kita.dienstplan.entity.EntryStatus;
 import com.kita.dienstplan.entity.ScheduleEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
- * Repository for ScheduleEntry entity
+ * Repository for ScheduleEntry entity.
+ * On MySQL schedule_entries is range-partitioned by work_date year (V12). Reads by week first
+ * resolve the week's Monday from weekly_schedules and then filter on a constant work_date range,
+ * so only the partition holding that week is opened.
+ * Finders that feed ScheduleEntryDTO fetch the staff member and their group with the entry,
+ * by fetch join or the ScheduleEntry.WITH_STAFF graph.
+ * The payroll stream lives in PayrollRowStreamImpl.
  */
 @Repository
-public interface ScheduleEntryRepository extends JpaRepository<ScheduleEntry, Long> {
+public interface ScheduleEntryRepository extends JpaRepository<ScheduleEntry, Long>, PayrollRowStream {
+
+    /**
+     * Entries of a week lie between its Monday and this many days later
+     */
+    int WEEK_SPAN_DAYS = 6;
+
+    @Override
+    @EntityGraph(ScheduleEntry.WITH_STAFF)
+    Optional<ScheduleEntry> findById(Long id);
+
+    /**
+     * Id and Monday of a week, as a single row; none if the week does not exist
+     */
+    @Query("SELECT ws.id, ws.startDate FROM WeeklySchedule ws " +
+           "WHERE ws.weekNumber = :weekNumber AND ws.year = :year AND ws.startDate IS NOT NULL")
+    List<Object[]> findWeekStart(@Param("weekNumber") Integer weekNumber,
+                                 @Param("year") Integer year);
+
+    /**
+     * Monday of a week
+     */
+    @Query("SELECT ws.startDate FROM WeeklySchedule ws WHERE ws.id = :weeklyScheduleId AND ws.startDate IS NOT NULL")
+    Optional<LocalDate> findWeekStart(@Param("weeklyScheduleId") Long weeklyScheduleId);
+
+    /**
+     * Earliest and latest Monday of some weeks, as a single row
+     */
+    @Query("SELECT MIN(ws.startDate), MAX(ws.startDate) FROM WeeklySchedule ws WHERE ws.id IN :weeklyScheduleIds")
+    List<Object[]> findWeekStartRange(@Param("weeklyScheduleIds") Collection<Long> weeklyScheduleIds);
+
+    /**
+     * Whether a week overlapping the range is archived, i.e. its entries are no longer in this table.
+     * Readers that cover the live window only reject such ranges (see ArchiveService).
+     */
+    @Query("SELECT COUNT(ws) > 0 FROM WeeklySchedule ws " +
+           "WHERE ws.archivedAt IS NOT NULL AND ws.startDate <= :endDate AND ws.endDate >= :startDate")
+    boolean existsArchivedWeekBetween(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
 
     /**
      * Find all entries for a specific week
      */
+    default List<ScheduleEntry> findByWeekNumberAndYear(Integer weekNumber, Integer year) {
+        return findWeekStart(weekNumber, year).stream().findFirst()
+                .map(week -> findByWeek((Long) week[0], (LocalDate) week[1],
+                        ((LocalDate) week[1]).plusDays(WEEK_SPAN_DAYS)))
+                .orElseGet(List::of);
+    }
+
     @Query("SELECT se FROM ScheduleEntry se " +
            "JOIN FETCH se.staff s " +
+           "LEFT JOIN FETCH s.group " +
            "JOIN FETCH se.weeklySchedule ws " +
-           "WHERE ws.weekNumber = :weekNumber AND ws.year = :year " +
+           "WHERE ws.id = :weeklyScheduleId " +
+           "AND se.workDate BETWEEN :startDate AND :endDate " +
            "ORDER BY s.fullName, se.dayOfWeek")
-    List<ScheduleEntry> findByWeekNumberAndYear(@Param("weekNumber") Integer weekNumber, 
-                                                 @Param("year") Integer year);
+    List<ScheduleEntry> findByWeek(@Param("weeklyScheduleId") Long weeklyScheduleId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+
+    /**
+     * Scalar projection of a week for the compact matrix view.
+     * Avoids entity hydration; rows are ordered by staff, then day.
+     */
+    @Query("SELECT s.id, s.fullName, s.role, g.name, s.isPraktikant, " +
+           "se.id, se.dayOfWeek, se.startTime, se.endTime, se.status, " +
+           "se.workingHoursMinutes, se.breakMinutes " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "LEFT JOIN s.group g " +
+           "WHERE se.weeklySchedule.id = :weeklyScheduleId " +
+           "AND se.workDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY s.fullName, s.id, se.dayOfWeek")
+    List<Object[]> findWeekMatrixRows(@Param("weeklyScheduleId") Long weeklyScheduleId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    default List<Object[]> findWeekMatrixRows(Long weeklyScheduleId) {
+        return findWeekStart(weeklyScheduleId)
+                .map(monday -> findWeekMatrixRows(weeklyScheduleId, monday, monday.plusDays(WEEK_SPAN_DAYS)))
+                .orElseGet(List::of);
+    }
 
     /**
      * Find entries for a specific staff member in a week
      */
+    default List<ScheduleEntry> findByStaffAndWeek(Long staffId, Integer weekNumber, Integer year) {
+        return findWeekStart(weekNumber, year).stream().findFirst()
+                .map(week -> findByStaffAndWeek(staffId, (Long) week[0], (LocalDate) week[1],
+                        ((LocalDate) week[1]).plusDays(WEEK_SPAN_DAYS)))
+                .orElseGet(List::of);
+    }
+
     @Query("SELECT se FROM ScheduleEntry se " +
-           "WHERE se.staff.id = :staffId " +
-           "AND se.weeklySchedule.weekNumber = :weekNumber " +
-           "AND se.weeklySchedule.year = :year " +
+           "JOIN FETCH se.staff s " +
+           "LEFT JOIN FETCH s.group " +
+           "WHERE s.id = :staffId " +
+           "AND se.weeklySchedule.id = :weeklyScheduleId " +
+           "AND se.workDate BETWEEN :startDate AND :endDate " +
            "ORDER BY se.dayOfWeek")
     List<ScheduleEntry> findByStaffAndWeek(@Param("staffId") Long staffId,
-                                           @Param("weekNumber") Integer weekNumber,
-                                           @Param("year") Integer year);
+                                           @Param("weeklyScheduleId") Long weeklyScheduleId,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find entries of one staff member within a date range (calendar feeds)
+     */
+    @Query("SELECT se FROM ScheduleEntry se " +
+           "JOIN FETCH se.staff s " +
+           "WHERE s.id = :staffId " +
+           "AND se.workDate >= :startDate " +
+           "AND se.workDate <= :endDate " +
+           "ORDER BY se.workDate")
+    List<ScheduleEntry> findByStaffAndDateRange(@Param("staffId") Long staffId,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+
+    /**
+     * Find entries of all members of a group within a date range (calendar feeds)
+     */
+    @Query("SELECT se FROM ScheduleEntry se " +
+           "JOIN FETCH se.staff s " +
+           "WHERE s.group.id = :groupId " +
+           "AND se.workDate >= :startDate " +
+           "AND se.workDate <= :endDate " +
+           "ORDER BY se.workDate, s.fullName")
+    List<ScheduleEntry> findByGroupAndDateRange(@Param("groupId") Long groupId,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
 
     /**
      * Find entries for a specific date
      */
+    @EntityGraph(ScheduleEntry.WITH_STAFF)
     List<ScheduleEntry> findByWorkDateOrderByStaff_FullName(LocalDate workDate);
 
     /**
      * Find who is working at a specific date and time
      */
+    default List<ScheduleEntry> findWhoIsWorkingAt(LocalDate date, LocalTime time) {
+        return findWhoIsWorkingAt(date, (int) ScheduleEntry.minuteOfDay(time));
+    }
+
+    /**
+     * Find who is working at a specific date and minute of the day, on the on-duty index
+     */
     @Query("SELECT se FROM ScheduleEntry se " +
            "JOIN FETCH se.staff s " +
+           "LEFT JOIN FETCH s.group " +
            "WHERE se.workDate = :date " +
            "AND se.status = 'normal' " +
-           "AND se.startTime <= :time " +
-           "AND se.endTime >= :time " +
+           "AND se.startMinute <= :minute " +
+           "AND se.endMinute >= :minute " +
            "ORDER BY s.fullName")
-    List<ScheduleEntry> findWhoIsWorkingAt(@Param("date") LocalDate date, 
-                                            @Param("time") LocalTime time);
+    List<ScheduleEntry> findWhoIsWorkingAt(@Param("date") LocalDate date,
+                                            @Param("minute") int minute);
 
     /**
      * Find entries by status (e.g., all sick days)
      */
     @Query("SELECT se FROM ScheduleEntry se " +
            "JOIN FETCH se.staff s " +
+           "LEFT JOIN FETCH s.group " +
            "WHERE se.status = :status " +
            "AND se.workDate >= :startDate " +
            "AND se.workDate <= :endDate " +
@@ -74,6 +206,13 @@ public interface ScheduleEntryRepository extends JpaRepository<ScheduleEntry, Lo
     /**
      * Get daily totals (with and without Praktikanten)
      */
+    default List<Object[]> getDailyTotals(Integer weekNumber, Integer year) {
+        return findWeekStart(weekNumber, year).stream().findFirst()
+                .map(week -> getDailyTotals((Long) week[0], (LocalDate) week[1],
+                        ((LocalDate) week[1]).plusDays(WEEK_SPAN_DAYS)))
+                .orElseGet(List::of);
+    }
+
     @Query("SELECT " +
            "se.dayOfWeek, " +
            "se.workDate, " +
@@ -83,16 +222,24 @@ public interface ScheduleEntryRepository extends JpaRepository<ScheduleEntry, Lo
            "COUNT(*) " +
            "FROM ScheduleEntry se " +
            "JOIN se.staff s " +
-           "WHERE se.weeklySchedule.weekNumber = :weekNumber " +
-           "AND se.weeklySchedule.year = :year " +
+           "WHERE se.weeklySchedule.id = :weeklyScheduleId " +
+           "AND se.workDate BETWEEN :startDate AND :endDate " +
            "GROUP BY se.dayOfWeek, se.workDate " +
            "ORDER BY se.dayOfWeek")
-    List<Object[]> getDailyTotals(@Param("weekNumber") Integer weekNumber, 
-                                   @Param("year") Integer year);
+    List<Object[]> getDailyTotals(@Param("weeklyScheduleId") Long weeklyScheduleId,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
 
     /**
      * Get weekly totals per staff member
      */
+    default List<Object[]> getWeeklyStaffTotals(Integer weekNumber, Integer year) {
+        return findWeekStart(weekNumber, year).stream().findFirst()
+                .map(week -> getWeeklyStaffTotals((Long) week[0], (LocalDate) week[1],
+                        ((LocalDate) week[1]).plusDays(WEEK_SPAN_DAYS)))
+                .orElseGet(List::of);
+    }
+
     @Query("SELECT " +
            "s.id, " +
            "s.fullName, " +
@@ -107,12 +254,240 @@ public interface ScheduleEntryRepository extends JpaRepository<ScheduleEntry, Lo
            "FROM ScheduleEntry se " +
            "JOIN se.staff s " +
            "LEFT JOIN s.group g " +
-           "WHERE se.weeklySchedule.weekNumber = :weekNumber " +
-           "AND se.weeklySchedule.year = :year " +
+           "WHERE se.weeklySchedule.id = :weeklyScheduleId " +
+           "AND se.workDate BETWEEN :startDate AND :endDate " +
            "GROUP BY s.id, s.fullName, s.role, g.name " +
            "ORDER BY g.name, s.fullName")
-    List<Object[]> getWeeklyStaffTotals(@Param("weekNumber") Integer weekNumber, 
-                                        @Param("year") Integer year);
+    List<Object[]> getWeeklyStaffTotals(@Param("weeklyScheduleId") Long weeklyScheduleId,
+                                        @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Content version of each week: entry count, id checksum and latest entry/staff change.
+     * Any create, update or delete changes at least one of these values.
+     * Row layout: weeklyScheduleId, count, sum of ids, max entry updatedAt, max staff updatedAt
+     */
+    @Query("SELECT se.weeklySchedule.id, COUNT(se), SUM(se.id), MAX(se.updatedAt), MAX(s.updatedAt) " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "WHERE se.weeklySchedule.id IN :weeklyScheduleIds " +
+           "AND se.workDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY se.weeklySchedule.id")
+    List<Object[]> findWeekVersionStamps(@Param("weeklyScheduleIds") Collection<Long> weeklyScheduleIds,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    default List<Object[]> findWeekVersionStamps(Collection<Long> weeklyScheduleIds) {
+        Object[] range = findWeekStartRange(weeklyScheduleIds).get(0);
+        if (range[0] == null) {
+            return List.of();
+        }
+        return findWeekVersionStamps(weeklyScheduleIds, (LocalDate) range[0],
+                ((LocalDate) range[1]).plusDays(WEEK_SPAN_DAYS));
+    }
+
+    /**
+     * Stream all entries for the hours-account rebuild, ordered by staff, then date.
+     * Row layout: staffId, weeklyHours, workDate, status, workingHoursMinutes
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id, s.weeklyHours, se.workDate, se.status, se.workingHoursMinutes " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "ORDER BY s.id, se.workDate")
+    Stream<Object[]> streamLedgerRows();
+
+    /**
+     * Stream worked shifts in a date range for compliance checks, ordered by staff, then start.
+     * Row layout: staffId, entryId, workDate, startMinute, endMinute, breakMinutes
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s.id, se.id, se.workDate, se.startMinute, se.endMinute, se.breakMinutes " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "WHERE se.workDate BETWEEN :startDate AND :endDate " +
+           "AND se.status = 'normal' " +
+           "AND se.startMinute IS NOT NULL AND se.endMinute IS NOT NULL " +
+           "ORDER BY s.id, se.workDate, se.startMinute")
+    Stream<Object[]> streamShiftRows(@Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+
+    /**
+     * Worked shifts of one staff member in a date range, same row layout as streamShiftRows
+     */
+    @Query("SELECT s.id, se.id, se.workDate, se.startMinute, se.endMinute, se.breakMinutes " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "WHERE s.id = :staffId " +
+           "AND se.workDate BETWEEN :startDate AND :endDate " +
+           "AND se.status = 'normal' " +
+           "AND se.startMinute IS NOT NULL AND se.endMinute IS NOT NULL " +
+           "ORDER BY se.workDate, se.startMinute")
+    List<Object[]> findStaffShiftRows(@Param("staffId") Long staffId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    /**
+     * Ledger rows of a date range, same layout as streamLedgerRows
+     */
+    @Query("SELECT s.id, s.weeklyHours, se.workDate, se.status, se.workingHoursMinutes " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "WHERE se.workDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY s.id, se.workDate")
+    List<Object[]> findLedgerRows(@Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * Occupied (staff, day) slots of a date range, for writers that must not overwrite entries.
+     * Row layout: staffId, workDate
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT se.staff.id, se.workDate FROM ScheduleEntry se " +
+           "WHERE se.workDate BETWEEN :startDate AND :endDate")
+    Stream<Object[]> streamOccupiedSlots(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Per-day absence entries without notes that can be folded into absence ranges,
+     * ordered by staff, status and date.
+     * Row layout: entryId, staffId, workDate, status
+     */
+    @Query("SELECT se.id, se.staff.id, se.workDate, se.status FROM ScheduleEntry se " +
+           "WHERE se.workDate BETWEEN :startDate AND :endDate " +
+           "AND se.status IN ('krank', 'Urlaub', 'Schule', 'Fachschule') " +
+           "AND (se.notes IS NULL OR se.notes = '') " +
+           "ORDER BY se.staff.id, se.status, se.workDate")
+    List<Object[]> findCompactableAbsenceRows(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+
+    /**
+     * Entries of some staff members in a date range, for merging absence ranges.
+     * Row layout: entryId, staffId, workDate, status, weeklyScheduleId
+     */
+    @Query("SELECT se.id, se.staff.id, se.workDate, se.status, se.weeklySchedule.id FROM ScheduleEntry se " +
+           "WHERE se.staff.id IN :staffIds " +
+           "AND se.workDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findStatusSlots(@Param("staffIds") Collection<Long> staffIds,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+
+    /**
+     * Entry count and working minutes per catalogue shift in a date range.
+     * Row layout: shiftTypeId, entryCount, workingMinutes
+     */
+    @Query("SELECT se.shiftTypeId, COUNT(se), SUM(se.workingHoursMinutes) " +
+           "FROM ScheduleEntry se " +
+           "WHERE se.workDate BETWEEN :startDate AND :endDate " +
+           "AND se.shiftTypeId IS NOT NULL " +
+           "GROUP BY se.shiftTypeId " +
+           "ORDER BY se.shiftTypeId")
+    List<Object[]> findShiftTypeUsage(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    long countByWeeklyScheduleId(Long weeklyScheduleId);
+
+    /**
+     * Copy the entries of one week into another in a single INSERT ... SELECT.
+     * Dates are derived from the target week's start date and the weekday, inactive staff are skipped
+     * and existing (staff, day) slots in the target week are left untouched.
+     * With resetStatus, one-off absences (krank, Urlaub, Feiertag) become plain 'normal' days.
+     * The auditor is bound through CONCAT so that H2 can type the parameter in the select list.
+     * Notes are week-specific and not copied.
+     * Ids are numbered from firstId on; reserve at least as many as the source week has entries.
+     *
+     * @return number of entries inserted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO schedule_entries " +
+                   "(id, weekly_schedule_id, staff_id, day_of_week, work_date, start_time, end_time, shift_type_id, " +
+                   "status, working_hours_minutes, break_minutes, created_by, created_at, updated_by, updated_at) " +
+                   "SELECT :firstId + ROW_NUMBER() OVER (ORDER BY se.id) - 1, w.id, se.staff_id, se.day_of_week, " +
+                   "TIMESTAMPADD(DAY, se.day_of_week, w.start_date), se.start_time, se.end_time, se.shift_type_id, " +
+                   "CASE WHEN :resetStatus = TRUE AND se.status IN (" + EntryStatus.Codes.KRANK + ", " +
+                   EntryStatus.Codes.URLAUB + ", " + EntryStatus.Codes.FEIERTAG + ") " +
+                   "THEN " + EntryStatus.Codes.NORMAL + " ELSE se.status END, " +
+                   "se.working_hours_minutes, se.break_minutes, " +
+                   "CONCAT(:auditor, ''), CURRENT_TIMESTAMP, CONCAT(:auditor, ''), CURRENT_TIMESTAMP " +
+                   "FROM schedule_entries se " +
+                   "JOIN staff s ON s.id = se.staff_id " +
+                   "JOIN weekly_schedules w ON w.id = :targetWeekId " +
+                   "WHERE se.weekly_schedule_id = :sourceWeekId " +
+                   "AND s.is_active = TRUE " +
+                   "AND (:allStaff = TRUE OR se.staff_id IN (:staffIds)) " +
+                   "AND NOT EXISTS (SELECT 1 FROM schedule_entries t " +
+                   "WHERE t.weekly_schedule_id = w.id " +
+                   "AND t.staff_id = se.staff_id AND t.day_of_week = se.day_of_week)",
+           nativeQuery = true)
+    int copyWeekEntries(@Param("firstId") long firstId,
+                        @Param("sourceWeekId") Long sourceWeekId,
+                        @Param("targetWeekId") Long targetWeekId,
+                        @Param("allStaff") boolean allStaff,
+                        @Param("staffIds") Collection<Long> staffIds,
+                        @Param("resetStatus") boolean resetStatus,
+                        @Param("auditor") String auditor);
+
+    /**
+     * Delete the entries of a week, optionally only for some staff, in one statement
+     *
+     * @return number of entries deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM schedule_entries " +
+                   "WHERE weekly_schedule_id = :weeklyScheduleId " +
+                   "AND (:allStaff = TRUE OR staff_id IN (:staffIds))",
+           nativeQuery = true)
+    int deleteWeekEntries(@Param("weeklyScheduleId") Long weeklyScheduleId,
+                          @Param("allStaff") boolean allStaff,
+                          @Param("staffIds") Collection<Long> staffIds);
+
+    /**
+     * Weeks and date range of the entries of a staff member from a date on, for the change event of a delete.
+     * Row layout: weeklyScheduleId, min workDate, max workDate; one row per week
+     */
+    @Query("SELECT se.weeklySchedule.id, MIN(se.workDate), MAX(se.workDate) " +
+           "FROM ScheduleEntry se " +
+           "WHERE se.staff.id = :staffId AND se.workDate >= :fromDate " +
+           "GROUP BY se.weeklySchedule.id")
+    List<Object[]> findStaffWeeksFrom(@Param("staffId") Long staffId,
+                                      @Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Delete the entries of a staff member from a date on in one statement
+     *
+     * @return number of entries deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM schedule_entries WHERE staff_id = :staffId AND work_date >= :fromDate",
+           nativeQuery = true)
+    int deleteStaffEntriesFrom(@Param("staffId") Long staffId,
+                               @Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Turn the planned working days of active staff on the given dates into Feiertag entries
+     * in one statement; times, shift and minutes are cleared as for any absence.
+     *
+     * @return number of entries converted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE schedule_entries SET status = " + EntryStatus.Codes.FEIERTAG + ", start_time = NULL, end_time = NULL, " +
+                   "shift_type_id = NULL, working_hours_minutes = 0, break_minutes = 0, " +
+                   "updated_by = :auditor, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE work_date IN (:dates) " +
+                   "AND status = " + EntryStatus.Codes.NORMAL + " " +
+                   "AND staff_id IN (SELECT s.id FROM staff s WHERE s.is_active = TRUE)",
+           nativeQuery = true)
+    int convertToHoliday(@Param("dates") Collection<LocalDate> dates,
+                         @Param("auditor") String auditor);
 
     /**
      * Check if entry already exists for staff on a specific day in a week
@@ -120,4 +495,104 @@ public interface ScheduleEntryRepository extends JpaRepository<ScheduleEntry, Lo
     boolean existsByWeeklySchedule_IdAndStaff_IdAndDayOfWeek(Long weeklyScheduleId, 
                                                               Long staffId, 
                                                               Integer dayOfWeek);
+
+    /**
+     * Entries of all staff in a date range for the substitute finder.
+     * Row layout: staffId, workDate, status, startMinute, endMinute, workingHoursMinutes
+     */
+    @Query("SELECT se.staff.id, se.workDate, se.status, se.startMinute, se.endMinute, se.workingHoursMinutes " +
+           "FROM ScheduleEntry se " +
+           "WHERE se.workDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findAvailabilityRows(@Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Entries of a week with the staff attributes staffing rules filter on.
+     * Row layout: staffId, groupId, role, isPraktikant, workDate, status, startMinute, endMinute
+     */
+    @Query("SELECT s.id, g.id, s.role, s.isPraktikant, se.workDate, se.status, se.startMinute, se.endMinute " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "LEFT JOIN s.group g " +
+           "WHERE se.weeklySchedule.id = :weeklyScheduleId " +
+           "AND se.workDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findStaffingRows(@Param("weeklyScheduleId") Long weeklyScheduleId,
+                                    @Param("startDate") LocalDate startDate,
+                                    @Param("endDate") LocalDate endDate);
+
+    default List<Object[]> findStaffingRows(Long weeklyScheduleId) {
+        return findWeekStart(weeklyScheduleId)
+                .map(monday -> findStaffingRows(weeklyScheduleId, monday, monday.plusDays(WEEK_SPAN_DAYS)))
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Entries of a week with the staff attributes a sandbox snapshot keeps.
+     * Row layout: entryId, staffId, fullName, role, groupId, groupName, isPraktikant,
+     * dayOfWeek, workDate, startTime, endTime, status, notes, shiftTypeId, updatedAt
+     */
+    @Query("SELECT se.id, s.id, s.fullName, s.role, g.id, g.name, s.isPraktikant, " +
+           "se.dayOfWeek, se.workDate, se.startTime, se.endTime, se.status, se.notes, se.shiftTypeId, se.updatedAt " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "LEFT JOIN s.group g " +
+           "WHERE se.weeklySchedule.id = :weeklyScheduleId " +
+           "AND se.workDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY s.fullName, s.id, se.dayOfWeek")
+    List<Object[]> findSandboxRows(@Param("weeklyScheduleId") Long weeklyScheduleId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+
+    default List<Object[]> findSandboxRows(Long weeklyScheduleId) {
+        return findWeekStart(weeklyScheduleId)
+                .map(monday -> findSandboxRows(weeklyScheduleId, monday, monday.plusDays(WEEK_SPAN_DAYS)))
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Stream the entries of a date range for the history store, ordered by id.
+     * Row layout: entryId, staffId, workDate, startTime, endTime, status, workingHoursMinutes
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT se.id, s.id, se.workDate, se.startTime, se.endTime, se.status, se.workingHoursMinutes " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "WHERE se.workDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY se.id")
+    Stream<Object[]> streamHistoryRows(@Param("startDate") LocalDate startDate,
+                                       @Param("endDate") LocalDate endDate);
+
+    /**
+     * Earliest and latest work date as a single row; both null without entries
+     */
+    @Query("SELECT MIN(se.workDate), MAX(se.workDate) FROM ScheduleEntry se")
+    List<Object[]> findWorkDateRange();
+
+    /**
+     * Entries of a date range for the day rollups.
+     * Row layout: staffId, role, groupId, workDate, status, workingHoursMinutes, breakMinutes
+     */
+    @Query("SELECT s.id, s.role, g.id, se.workDate, se.status, se.workingHoursMinutes, se.breakMinutes " +
+           "FROM ScheduleEntry se " +
+           "JOIN se.staff s " +
+           "LEFT JOIN s.group g " +
+           "WHERE se.workDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findRollupRows(@Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * Work dates of entries written after a point in time, with the latest write per date.
+     * Row layout: workDate, max updatedAt
+     */
+    @Query("SELECT se.workDate, MAX(se.updatedAt) " +
+           "FROM ScheduleEntry se " +
+           "WHERE se.updatedAt > :since " +
+           "GROUP BY se.workDate")
+    List<Object[]> findWorkDatesUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT MAX(se.updatedAt) FROM ScheduleEntry se")
+    LocalDateTime findLatestUpdate();
 }
@@ -0,0 +1,65 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.ScheduleRollup;
+import com.kita.dienstplan.entity.ScheduleRollup.Dimension;
+import com.kita.dienstplan.entity.ScheduleRollup.Granularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for ScheduleRollup entity
+ */
+@Repository
+public interface ScheduleRollupRepository extends JpaRepository<ScheduleRollup, Long> {
+
+    List<ScheduleRollup> findByGranularityAndDimensionAndPeriodStartBetweenOrderByPeriodStartAscDimensionKeyAsc(
+            Granularity granularity, Dimension dimension, LocalDate startDate, LocalDate endDate);
+
+    List<ScheduleRollup> findByGranularityAndDimensionAndDimensionKeyAndPeriodStartBetweenOrderByPeriodStart(
+            Granularity granularity, Dimension dimension, String dimensionKey, LocalDate startDate,
+            LocalDate endDate);
+
+    /**
+     * Totals of one granularity within a date range, per dimension and key.
+     * Row layout: dimension, dimensionKey, workedMinutes, breakMinutes, entryDays, normalDays,
+     * freiDays, krankDays, urlaubDays, schuleDays, feiertagDays
+     */
+    @Query("SELECT r.dimension, r.dimensionKey, SUM(r.workedMinutes), SUM(r.breakMinutes), SUM(r.entryDays), " +
+           "SUM(r.normalDays), SUM(r.freiDays), SUM(r.krankDays), SUM(r.urlaubDays), SUM(r.schuleDays), " +
+           "SUM(r.feiertagDays) " +
+           "FROM ScheduleRollup r " +
+           "WHERE r.granularity = :granularity " +
+           "AND r.periodStart BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.dimension, r.dimensionKey")
+    List<Object[]> sumRows(@Param("granularity") Granularity granularity,
+                           @Param("startDate") LocalDate startDate,
+                           @Param("endDate") LocalDate endDate);
+
+    /**
+     * First and last day a staff member has day rollups for, as a single row
+     */
+    @Query("SELECT MIN(r.periodStart), MAX(r.periodStart) FROM ScheduleRollup r " +
+           "WHERE r.granularity = 'DAY' " +
+           "AND r.dimension = 'STAFF' " +
+           "AND r.dimensionKey = :staffKey")
+    List<Object[]> findStaffDayRange(@Param("staffKey") String staffKey);
+
+    @Modifying
+    @Query("DELETE FROM ScheduleRollup r WHERE r.granularity = :granularity " +
+           "AND r.periodStart BETWEEN :startDate AND :endDate")
+    int deleteRange(@Param("granularity") Granularity granularity,
+                    @Param("startDate") LocalDate startDate,
+                    @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("DELETE FROM ScheduleRollup r WHERE r.granularity = :granularity AND r.periodStart IN :periodStarts")
+    int deletePeriods(@Param("granularity") Granularity granularity,
+                      @Param("periodStarts") Collection<LocalDate> periodStarts);
+}
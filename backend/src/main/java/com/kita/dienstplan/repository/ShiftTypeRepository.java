@@ -0,0 +1,21 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.ShiftType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for ShiftType entity
+ */
+@Repository
+public interface ShiftTypeRepository extends JpaRepository<ShiftType, Short> {
+
+    Optional<ShiftType> findByCode(String code);
+
+    boolean existsByCode(String code);
+
+    List<ShiftType> findAllByOrderByStartTimeAscCodeAsc();
+}
@@ -1,6 +1,7 @@
 package com.kita.dienstplan.repository;
 
 import com.kita.dienstplan.entity.Staff;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,11 +11,20 @@ import java.util.List;
 import java.util.Optional;
 
 /**
- * Repository for Staff entity
+ * Repository for Staff entity.
+ * Finders that feed StaffDTO load the group with the staff member (Staff.WITH_GROUP).
  */
 @Repository
 public interface StaffRepository extends JpaRepository<Staff, Long> {
 
+    @Override
+    @EntityGraph(Staff.WITH_GROUP)
+    List<Staff> findAll();
+
+    @Override
+    @EntityGraph(Staff.WITH_GROUP)
+    Optional<Staff> findById(Long id);
+
     /**
      * Find staff by full name
      */
@@ -23,11 +33,13 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
     /**
      * Find all active staff
      */
+    @EntityGraph(Staff.WITH_GROUP)
     List<Staff> findByIsActiveTrueOrderByFullName();
 
     /**
      * Find staff by group ID
      */
+    @EntityGraph(Staff.WITH_GROUP)
     @Query("SELECT s FROM Staff s WHERE s.group.id = :groupId AND s.isActive = true ORDER BY s.fullName")
     List<Staff> findByGroupIdAndActive(@Param("groupId") Long groupId);
 
@@ -62,4 +74,43 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
            "ORDER BY s.fullName")
     List<Staff> findStaffWithScheduleForWeek(@Param("weekNumber") Integer weekNumber, 
                                              @Param("year") Integer year);
+
+    /**
+     * Active staff for the substitute finder, without entity hydration.
+     * Row layout: id, fullName, role, groupId, groupName, isPraktikant, weeklyHours
+     */
+    @Query("SELECT s.id, s.fullName, s.role, g.id, g.name, s.isPraktikant, s.weeklyHours " +
+           "FROM Staff s " +
+           "LEFT JOIN s.group g " +
+           "WHERE s.isActive = true " +
+           "ORDER BY s.fullName")
+    List<Object[]> findActiveAvailabilityRows();
+
+    /**
+     * All staff, active or not, with the attributes the history store groups and filters by.
+     * Row layout: id, fullName, groupId, groupName, isPraktikant
+     */
+    @Query("SELECT s.id, s.fullName, g.id, g.name, s.isPraktikant " +
+           "FROM Staff s " +
+           "LEFT JOIN s.group g " +
+           "ORDER BY s.id")
+    List<Object[]> findHistoryStaffRows();
+
+    /**
+     * All staff with the attributes rollups are keyed and labelled by.
+     * Row layout: id, fullName, role, groupId
+     */
+    @Query("SELECT s.id, s.fullName, s.role, g.id " +
+           "FROM Staff s " +
+           "LEFT JOIN s.group g")
+    List<Object[]> findRollupStaffRows();
+
+    /**
+     * All staff, active or not, with the attributes week views label entries with.
+     * Row layout: id, fullName, role, groupName, isPraktikant
+     */
+    @Query("SELECT s.id, s.fullName, s.role, g.name, s.isPraktikant " +
+           "FROM Staff s " +
+           "LEFT JOIN s.group g")
+    List<Object[]> findArchiveStaffRows();
 }
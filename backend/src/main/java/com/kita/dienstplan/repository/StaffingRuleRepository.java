@@ -0,0 +1,33 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.StaffingRule;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for StaffingRule entity
+ */
+@Repository
+public interface StaffingRuleRepository extends JpaRepository<StaffingRule, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "group")
+    Optional<StaffingRule> findById(Long id);
+
+    /**
+     * All rules with their group, for listing and compiling
+     */
+    @Query("SELECT r FROM StaffingRule r LEFT JOIN FETCH r.group ORDER BY r.id")
+    List<StaffingRule> findAllWithGroup();
+
+    /**
+     * Active rules with their group, for compiling
+     */
+    @Query("SELECT r FROM StaffingRule r LEFT JOIN FETCH r.group WHERE r.isActive = true ORDER BY r.id")
+    List<StaffingRule> findActiveWithGroup();
+}
@@ -0,0 +1,97 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.EntryStatus;
+import com.kita.dienstplan.entity.WeekTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for WeekTemplate entity
+ * Template rows are copied with native INSERT ... SELECT statements, never loaded as entities
+ */
+@Repository
+public interface WeekTemplateRepository extends JpaRepository<WeekTemplate, Long> {
+
+    boolean existsByName(String name);
+
+    List<WeekTemplate> findAllByOrderByName();
+
+    /**
+     * Entry and staff counts per template.
+     * Row layout: templateId, entryCount, staffCount
+     */
+    @Query(value = "SELECT te.template_id, COUNT(*), COUNT(DISTINCT te.staff_id) " +
+                   "FROM week_template_entries te " +
+                   "WHERE te.template_id IN (:templateIds) " +
+                   "GROUP BY te.template_id",
+           nativeQuery = true)
+    List<Object[]> countEntries(@Param("templateIds") Collection<Long> templateIds);
+
+    @Query(value = "SELECT COUNT(*) FROM week_template_entries WHERE template_id = :templateId", nativeQuery = true)
+    long countEntries(@Param("templateId") Long templateId);
+
+    /**
+     * Store the entries of a week as template rows, without dates
+     *
+     * @return number of rows stored
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO week_template_entries " +
+                   "(template_id, staff_id, day_of_week, start_time, end_time, shift_type_id, status, " +
+                   "working_hours_minutes, break_minutes) " +
+                   "SELECT wt.id, se.staff_id, se.day_of_week, se.start_time, se.end_time, se.shift_type_id, se.status, " +
+                   "se.working_hours_minutes, se.break_minutes " +
+                   "FROM schedule_entries se " +
+                   "JOIN week_templates wt ON wt.id = :templateId " +
+                   "WHERE se.weekly_schedule_id = :weeklyScheduleId " +
+                   "AND (:allStaff = TRUE OR se.staff_id IN (:staffIds))",
+           nativeQuery = true)
+    int insertEntriesFromWeek(@Param("templateId") Long templateId,
+                              @Param("weeklyScheduleId") Long weeklyScheduleId,
+                              @Param("allStaff") boolean allStaff,
+                              @Param("staffIds") Collection<Long> staffIds);
+
+    /**
+     * Instantiate a template into a week: dates are derived from the week's start date and the weekday,
+     * inactive staff are skipped and existing (staff, day) slots in the week are left untouched.
+     * With resetStatus, one-off absences (krank, Urlaub, Feiertag) become plain 'normal' days.
+     * The auditor is bound through CONCAT so that H2 can type the parameter in the select list.
+     * Ids are numbered from firstId on; reserve at least as many as the template has rows.
+     *
+     * @return number of schedule entries inserted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO schedule_entries " +
+                   "(id, weekly_schedule_id, staff_id, day_of_week, work_date, start_time, end_time, shift_type_id, " +
+                   "status, working_hours_minutes, break_minutes, created_by, created_at, updated_by, updated_at) " +
+                   "SELECT :firstId + ROW_NUMBER() OVER (ORDER BY te.id) - 1, w.id, te.staff_id, te.day_of_week, " +
+                   "TIMESTAMPADD(DAY, te.day_of_week, w.start_date), te.start_time, te.end_time, te.shift_type_id, " +
+                   "CASE WHEN :resetStatus = TRUE AND te.status IN (" + EntryStatus.Codes.KRANK + ", " +
+                   EntryStatus.Codes.URLAUB + ", " + EntryStatus.Codes.FEIERTAG + ") " +
+                   "THEN " + EntryStatus.Codes.NORMAL + " ELSE te.status END, " +
+                   "te.working_hours_minutes, te.break_minutes, " +
+                   "CONCAT(:auditor, ''), CURRENT_TIMESTAMP, CONCAT(:auditor, ''), CURRENT_TIMESTAMP " +
+                   "FROM week_template_entries te " +
+                   "JOIN staff s ON s.id = te.staff_id " +
+                   "JOIN weekly_schedules w ON w.id = :weeklyScheduleId " +
+                   "WHERE te.template_id = :templateId " +
+                   "AND s.is_active = TRUE " +
+                   "AND (:allStaff = TRUE OR te.staff_id IN (:staffIds)) " +
+                   "AND NOT EXISTS (SELECT 1 FROM schedule_entries t " +
+                   "WHERE t.weekly_schedule_id = w.id " +
+                   "AND t.staff_id = te.staff_id AND t.day_of_week = te.day_of_week)",
+           nativeQuery = true)
+    int applyToWeek(@Param("firstId") long firstId,
+                    @Param("templateId") Long templateId,
+                    @Param("weeklyScheduleId") Long weeklyScheduleId,
+                    @Param("allStaff") boolean allStaff,
+                    @Param("staffIds") Collection<Long> staffIds,
+                    @Param("resetStatus") boolean resetStatus,
+                    @Param("auditor") String auditor);
+}
@@ -2,10 +2,14 @@ package com.kita.dienstplan.repository;
 
 import com.kita.dienstplan.entity.WeeklySchedule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -40,4 +44,40 @@ public interface WeeklyScheduleRepository extends JpaRepository<WeeklySchedule,
      */
     @Query("SELECT ws FROM WeeklySchedule ws WHERE ws.year BETWEEN :startYear AND :endYear ORDER BY ws.year DESC, ws.weekNumber DESC")
     List<WeeklySchedule> findByYearRange(@Param("startYear") Integer startYear, @Param("endYear") Integer endYear);
+
+    /**
+     * Find schedules whose week starts within a date range
+     */
+    List<WeeklySchedule> findByStartDateBetween(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Weeks still held in schedule_entries that ended before a date, oldest first
+     */
+    List<WeeklySchedule> findByArchivedAtIsNullAndEndDateBeforeOrderByStartDate(LocalDate endDate);
+
+    /**
+     * Set or clear the archive mark of a week without loading it
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE WeeklySchedule ws SET ws.archivedAt = :archivedAt WHERE ws.id = :id")
+    int updateArchivedAt(@Param("id") Long id, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Those of the given weeks that are marked archived
+     */
+    @Query("SELECT ws.id FROM WeeklySchedule ws WHERE ws.id IN :ids AND ws.archivedAt IS NOT NULL")
+    List<Long> findArchivedIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delete the entries of a week in one statement instead of loading every entry.
+     * schedule_entries has no foreign keys on MySQL (V12), so they go before the week
+     * (see ScheduleService#deleteWeek).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM schedule_entries WHERE weekly_schedule_id = :id", nativeQuery = true)
+    int deleteWeekEntries(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM WeeklySchedule ws WHERE ws.id = :id")
+    int deleteWeek(@Param("id") Long id);
 }
@@ -0,0 +1,44 @@
+package com.kita.dienstplan.sandbox;
+
+import com.kita.dienstplan.entity.ScheduleEntry;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Immutable schedule entry inside a sandbox.
+ * Entries of the base week keep their database id and the updatedAt they were read with,
+ * so a commit can tell whether someone else changed them since; added entries have negative ids.
+ */
+public record SandboxEntry(long id, long staffId, int dayOfWeek, LocalDate workDate, LocalTime startTime,
+                           LocalTime endTime, String status, String notes, Short shiftTypeId,
+                           LocalDateTime updatedAt) {
+
+    public boolean isAdded() {
+        return id < 0;
+    }
+
+    /**
+     * Working minutes by the same rules as ScheduleEntry.calculateWorkingHours
+     */
+    public int workingMinutes() {
+        if (!"normal".equalsIgnoreCase(status) || startTime == null || endTime == null) {
+            return 0;
+        }
+        long total = ScheduleEntry.totalMinutes(startTime, endTime);
+        return (int) (total - ScheduleEntry.breakMinutesFor(total));
+    }
+
+    public int breakMinutes() {
+        if (!"normal".equalsIgnoreCase(status) || startTime == null || endTime == null) {
+            return 0;
+        }
+        return ScheduleEntry.breakMinutesFor(ScheduleEntry.totalMinutes(startTime, endTime));
+    }
+
+    SandboxEntry with(LocalTime startTime, LocalTime endTime, String status, String notes, Short shiftTypeId) {
+        return new SandboxEntry(id, staffId, dayOfWeek, workDate, startTime, endTime, status, notes, shiftTypeId,
+                updatedAt);
+    }
+}
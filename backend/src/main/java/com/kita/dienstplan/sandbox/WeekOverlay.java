@@ -0,0 +1,165 @@
+package com.kita.dienstplan.sandbox;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A sandbox: copy-on-write overlay of a shared WeekSnapshot.
+ * Only edited and added entries (by id) and the ids of deleted base entries are stored; reads merge
+ * them over the snapshot. An edit that restores a base entry drops its override, so diff() is always
+ * the net change against the snapshot.
+ */
+public final class WeekOverlay {
+
+    /**
+     * Net change against the base snapshot
+     *
+     * @param updated base entries with their new values
+     * @param deleted base entries removed in the sandbox
+     */
+    public record Diff(List<SandboxEntry> added, List<SandboxEntry> updated, List<SandboxEntry> deleted) {
+
+        public boolean isEmpty() {
+            return added.isEmpty() && updated.isEmpty() && deleted.isEmpty();
+        }
+    }
+
+    private final String id;
+    private final WeekSnapshot base;
+    private final Map<Long, SandboxEntry> changed = new LinkedHashMap<>();
+    private final Set<Long> deleted = new HashSet<>();
+    private long nextAddedId = -1;
+    private volatile long lastAccess;
+
+    public WeekOverlay(String id, WeekSnapshot base) {
+        this.id = id;
+        this.base = base;
+        touch();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public WeekSnapshot getBase() {
+        return base;
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    public void touch() {
+        lastAccess = System.nanoTime();
+    }
+
+    /**
+     * Add an entry for a staff member on a day of the week
+     *
+     * @throws IllegalArgumentException for an unknown staff member, an invalid day or a day the staff member
+     *                                  already has an entry on
+     */
+    public synchronized SandboxEntry add(long staffId, int dayOfWeek, LocalTime startTime, LocalTime endTime,
+                                         String status, String notes, Short shiftTypeId) {
+        if (base.staff(staffId) == null) {
+            throw new IllegalArgumentException("Unknown or inactive staff member: " + staffId);
+        }
+        if (dayOfWeek < 0 || dayOfWeek > 6) {
+            throw new IllegalArgumentException("Day of week must be 0 (Monday) to 6 (Sunday): " + dayOfWeek);
+        }
+        for (SandboxEntry entry : entries()) {
+            if (entry.staffId() == staffId && entry.dayOfWeek() == dayOfWeek) {
+                throw new IllegalArgumentException("Staff member already has an entry on that day");
+            }
+        }
+        SandboxEntry entry = new SandboxEntry(nextAddedId--, staffId, dayOfWeek, base.getMonday().plusDays(dayOfWeek),
+                startTime, endTime, status != null ? status : "normal", notes, shiftTypeId, null);
+        changed.put(entry.id(), entry);
+        return entry;
+    }
+
+    /**
+     * Change times, status, notes and shift type of an entry; null values are left unchanged
+     *
+     * @return the changed entry, or null if the sandbox has no such entry
+     */
+    public synchronized SandboxEntry update(long entryId, LocalTime startTime, LocalTime endTime, String status,
+                                            String notes, Short shiftTypeId) {
+        SandboxEntry current = current(entryId);
+        if (current == null) {
+            return null;
+        }
+        SandboxEntry updated = current.with(
+                startTime != null ? startTime : current.startTime(),
+                endTime != null ? endTime : current.endTime(),
+                status != null ? status : current.status(),
+                notes != null ? notes : current.notes(),
+                shiftTypeId != null ? shiftTypeId : current.shiftTypeId());
+        if (updated.equals(base.entry(entryId))) {
+            changed.remove(entryId);
+        } else {
+            changed.put(entryId, updated);
+        }
+        return updated;
+    }
+
+    /**
+     * @return false if the sandbox has no such entry
+     */
+    public synchronized boolean remove(long entryId) {
+        if (current(entryId) == null) {
+            return false;
+        }
+        changed.remove(entryId);
+        if (entryId > 0) {
+            deleted.add(entryId);
+        }
+        return true;
+    }
+
+    /**
+     * The sandbox's view of the week: base entries with edits and deletions applied, then added entries
+     */
+    public synchronized List<SandboxEntry> entries() {
+        List<SandboxEntry> result = new ArrayList<>(base.entries().size() + changed.size());
+        for (SandboxEntry entry : base.entries()) {
+            if (!deleted.contains(entry.id())) {
+                result.add(changed.getOrDefault(entry.id(), entry));
+            }
+        }
+        for (SandboxEntry entry : changed.values()) {
+            if (entry.isAdded()) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public synchronized Diff diff() {
+        List<SandboxEntry> added = new ArrayList<>();
+        List<SandboxEntry> updated = new ArrayList<>();
+        for (SandboxEntry entry : changed.values()) {
+            (entry.isAdded() ? added : updated).add(entry);
+        }
+        List<SandboxEntry> removed = deleted.stream().map(base::entry).filter(Objects::nonNull).toList();
+        return new Diff(added, updated, removed);
+    }
+
+    public synchronized int changeCount() {
+        return changed.size() + deleted.size();
+    }
+
+    private SandboxEntry current(long entryId) {
+        if (deleted.contains(entryId)) {
+            return null;
+        }
+        SandboxEntry entry = changed.get(entryId);
+        return entry != null ? entry : base.entry(entryId);
+    }
+}
@@ -0,0 +1,107 @@
+package com.kita.dienstplan.sandbox;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.entity.WeeklySchedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only copy of a week as the sandboxes opened on it see it: entries, the staff they and any
+ * added entry can refer to, and the week's absence ranges. One snapshot is shared by every sandbox
+ * opened on the week until a change to the week is committed; sandboxes only store what they change.
+ */
+public final class WeekSnapshot {
+
+    /**
+     * The staff attributes a sandbox view needs
+     *
+     * @param groupId 0 if the staff member has no group
+     */
+    public record StaffInfo(long id, String fullName, String role, long groupId, String groupName,
+                            boolean praktikant) {
+    }
+
+    private final Long weeklyScheduleId;
+    private final Integer weekNumber;
+    private final Integer year;
+    private final LocalDate monday;
+    private final Map<Long, SandboxEntry> entries;
+    private final Map<Long, StaffInfo> staff;
+    private final AbsenceIndex absences;
+
+    private WeekSnapshot(WeeklySchedule week, Map<Long, SandboxEntry> entries, Map<Long, StaffInfo> staff,
+                         AbsenceIndex absences) {
+        this.weeklyScheduleId = week.getId();
+        this.weekNumber = week.getWeekNumber();
+        this.year = week.getYear();
+        this.monday = week.getStartDate();
+        this.entries = Collections.unmodifiableMap(entries);
+        this.staff = Collections.unmodifiableMap(staff);
+        this.absences = absences;
+    }
+
+    /**
+     * @param entryRows entries of the week: entryId, staffId, fullName, role, groupId, groupName, isPraktikant,
+     *                  dayOfWeek, workDate, startTime, endTime, status, notes, shiftTypeId, updatedAt
+     * @param staffRows active staff: id, fullName, role, groupId, groupName, isPraktikant, weeklyHours
+     */
+    public static WeekSnapshot of(WeeklySchedule week, List<Object[]> entryRows, List<Object[]> staffRows,
+                                  AbsenceIndex absences) {
+        Map<Long, SandboxEntry> entries = new LinkedHashMap<>();
+        Map<Long, StaffInfo> staff = new HashMap<>();
+        for (Object[] row : staffRows) {
+            staff.put((Long) row[0], new StaffInfo((Long) row[0], (String) row[1], (String) row[2],
+                    row[3] != null ? (Long) row[3] : 0L, (String) row[4], Boolean.TRUE.equals(row[5])));
+        }
+        for (Object[] row : entryRows) {
+            Long staffId = (Long) row[1];
+            // Entries of staff who have left are kept with their own attributes
+            staff.computeIfAbsent(staffId, id -> new StaffInfo(id, (String) row[2], (String) row[3],
+                    row[4] != null ? (Long) row[4] : 0L, (String) row[5], Boolean.TRUE.equals(row[6])));
+            entries.put((Long) row[0], new SandboxEntry((Long) row[0], staffId, (Integer) row[7],
+                    (LocalDate) row[8], (LocalTime) row[9], (LocalTime) row[10], (String) row[11],
+                    (String) row[12], (Short) row[13], (LocalDateTime) row[14]));
+        }
+        return new WeekSnapshot(week, entries, staff, absences);
+    }
+
+    public Long getWeeklyScheduleId() {
+        return weeklyScheduleId;
+    }
+
+    public Integer getWeekNumber() {
+        return weekNumber;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public LocalDate getMonday() {
+        return monday;
+    }
+
+    public AbsenceIndex getAbsences() {
+        return absences;
+    }
+
+    public SandboxEntry entry(long id) {
+        return entries.get(id);
+    }
+
+    public Collection<SandboxEntry> entries() {
+        return entries.values();
+    }
+
+    public StaffInfo staff(long id) {
+        return staff.get(id);
+    }
+}
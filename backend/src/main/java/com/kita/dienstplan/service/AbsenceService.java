@@ -0,0 +1,268 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.AbsenceCompactionResultDTO;
+import com.kita.dienstplan.dto.AbsenceDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for absence ranges (Urlaub, krank, Schule, Fachschule).
+ * Every change publishes a ScheduleEntriesBulkChangedEvent for the affected staff member and dates,
+ * so hours accounts re-total those weeks and cached exports are dropped.
+ * compact() folds existing per-day absence entries into ranges without changing any total.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AbsenceService {
+
+    // Keeps the IN list of the folded-entry DELETE at a size every driver handles well
+    private static final int DELETE_CHUNK = 1000;
+
+    private static final List<String> STATUSES = List.of("krank", "Urlaub", "Schule", "Fachschule");
+
+    private final AbsenceRepository absenceRepository;
+    private final StaffRepository staffRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final WeeklyScheduleRepository weeklyScheduleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<AbsenceDTO> getAbsences(LocalDate startDate, LocalDate endDate) {
+        return absenceRepository.findOverlapping(startDate, endDate).stream().map(AbsenceDTO::of).toList();
+    }
+
+    public List<AbsenceDTO> getAbsencesForStaff(Long staffId) {
+        return absenceRepository.findByStaffId(staffId).stream().map(AbsenceDTO::of).toList();
+    }
+
+    public Optional<AbsenceDTO> getAbsence(Long id) {
+        return absenceRepository.findById(id).map(AbsenceDTO::of);
+    }
+
+    /**
+     * Create an absence range, if the staff member exists
+     *
+     * @param weekdays covered days (1 = Monday ... 7 = Sunday); Monday to Friday if null or empty
+     * @throws IllegalArgumentException for an unknown status, an inverted range or an invalid weekday
+     */
+    @Transactional
+    public Optional<AbsenceDTO> createAbsence(Long staffId, String status, LocalDate startDate, LocalDate endDate,
+                                              List<Integer> weekdays, String notes) {
+        String canonical = canonicalStatus(status);
+        short mask = weekdayMask(weekdays);
+        checkRange(startDate, endDate);
+        return staffRepository.findById(staffId).map(staff -> {
+            Absence absence = new Absence();
+            absence.setStaff(staff);
+            absence.setStatus(canonical);
+            absence.setStartDate(startDate);
+            absence.setEndDate(endDate);
+            absence.setWeekdays(mask);
+            absence.setNotes(notes);
+            Absence saved = absenceRepository.saveAndFlush(absence);
+            publishChange(staffId, startDate, endDate);
+            return AbsenceDTO.of(saved);
+        });
+    }
+
+    /**
+     * Update status, dates, weekdays and notes; null values are left unchanged
+     *
+     * @throws IllegalArgumentException for an unknown status, an inverted range or an invalid weekday
+     */
+    @Transactional
+    public Optional<AbsenceDTO> updateAbsence(Long id, String status, LocalDate startDate, LocalDate endDate,
+                                              List<Integer> weekdays, String notes) {
+        String canonical = status != null ? canonicalStatus(status) : null;
+        Short mask = weekdays != null ? weekdayMask(weekdays) : null;
+        return absenceRepository.findById(id).map(absence -> {
+            LocalDate previousStart = absence.getStartDate();
+            LocalDate previousEnd = absence.getEndDate();
+            if (canonical != null) {
+                absence.setStatus(canonical);
+            }
+            if (startDate != null) {
+                absence.setStartDate(startDate);
+            }
+            if (endDate != null) {
+                absence.setEndDate(endDate);
+            }
+            if (mask != null) {
+                absence.setWeekdays(mask);
+            }
+            if (notes != null) {
+                absence.setNotes(notes);
+            }
+            checkRange(absence.getStartDate(), absence.getEndDate());
+            Absence saved = absenceRepository.saveAndFlush(absence);
+            publishChange(saved.getStaff().getId(), min(previousStart, saved.getStartDate()),
+                    max(previousEnd, saved.getEndDate()));
+            return AbsenceDTO.of(saved);
+        });
+    }
+
+    @Transactional
+    public boolean deleteAbsence(Long id) {
+        Optional<Absence> absence = absenceRepository.findById(id);
+        if (absence.isEmpty()) {
+            return false;
+        }
+        absenceRepository.delete(absence.get());
+        absenceRepository.flush();
+        publishChange(absence.get().getStaff().getId(), absence.get().getStartDate(), absence.get().getEndDate());
+        return true;
+    }
+
+    /**
+     * Fold per-day absence entries of a date range into absence ranges.
+     * krank and Urlaub days on consecutive working days (Mon-Fri) become one Mon-Fri range;
+     * Schule and Fachschule days exactly one week apart become a weekly range.
+     * Only runs of at least two days without notes are folded, so no information is lost
+     * and every day keeps its status and hours credit.
+     */
+    @Transactional
+    @UseWorkload(Workload.BATCH)
+    public AbsenceCompactionResultDTO compact(LocalDate startDate, LocalDate endDate) {
+        List<Object[]> rows = scheduleEntryRepository.findCompactableAbsenceRows(startDate, endDate);
+        List<Absence> ranges = new ArrayList<>();
+        List<Long> folded = new ArrayList<>();
+        Set<Long> staffIds = new HashSet<>();
+
+        List<Object[]> run = new ArrayList<>();
+        for (Object[] row : rows) {
+            if (!run.isEmpty() && !continuesRun(run.get(run.size() - 1), row)) {
+                foldRun(run, ranges, folded, staffIds);
+                run.clear();
+            }
+            run.add(row);
+        }
+        foldRun(run, ranges, folded, staffIds);
+
+        if (!ranges.isEmpty()) {
+            absenceRepository.saveAll(ranges);
+            absenceRepository.flush();
+            for (int i = 0; i < folded.size(); i += DELETE_CHUNK) {
+                scheduleEntryRepository.deleteAllByIdInBatch(folded.subList(i, Math.min(i + DELETE_CHUNK, folded.size())));
+            }
+            eventPublisher.publishEvent(new ScheduleEntriesBulkChangedEvent(weekIds(startDate, endDate),
+                    startDate, endDate, staffIds));
+        }
+        log.info("Folded {} absence entries between {} and {} into {} ranges",
+                folded.size(), startDate, endDate, ranges.size());
+        return new AbsenceCompactionResultDTO(startDate, endDate, ranges.size(), folded.size());
+    }
+
+    private boolean continuesRun(Object[] previous, Object[] row) {
+        if (!previous[1].equals(row[1]) || !((String) previous[3]).equalsIgnoreCase((String) row[3])) {
+            return false;
+        }
+        LocalDate last = (LocalDate) previous[2];
+        LocalDate next = (LocalDate) row[2];
+        return recurringWeekly((String) row[3]) ? next.equals(last.plusWeeks(1)) : next.equals(nextWorkday(last));
+    }
+
+    private void foldRun(List<Object[]> run, List<Absence> ranges, List<Long> folded, Set<Long> staffIds) {
+        if (run.size() < 2) {
+            return;
+        }
+        Object[] first = run.get(0);
+        Long staffId = (Long) first[1];
+        LocalDate start = (LocalDate) first[2];
+        String status = canonicalStatus((String) first[3]);
+        Absence absence = new Absence();
+        absence.setStaff(staffRepository.getReferenceById(staffId));
+        absence.setStatus(status);
+        absence.setStartDate(start);
+        absence.setEndDate((LocalDate) run.get(run.size() - 1)[2]);
+        absence.setWeekdays(recurringWeekly(status)
+                ? (short) Absence.weekdayBit(start.getDayOfWeek())
+                : Absence.WORKDAYS);
+        ranges.add(absence);
+        run.forEach(row -> folded.add((Long) row[0]));
+        staffIds.add(staffId);
+    }
+
+    private void publishChange(Long staffId, LocalDate startDate, LocalDate endDate) {
+        eventPublisher.publishEvent(new ScheduleEntriesBulkChangedEvent(weekIds(startDate, endDate),
+                startDate, endDate, Set.of(staffId)));
+    }
+
+    private Set<Long> weekIds(LocalDate startDate, LocalDate endDate) {
+        return weeklyScheduleRepository.findByStartDateBetween(startDate.with(DayOfWeek.MONDAY), endDate).stream()
+                .map(WeeklySchedule::getId)
+                .collect(Collectors.toSet());
+    }
+
+    static String canonicalStatus(String status) {
+        if (status != null) {
+            for (String known : STATUSES) {
+                if (known.equalsIgnoreCase(status.trim())) {
+                    return known;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown absence status: " + status);
+    }
+
+    static short weekdayMask(List<Integer> weekdays) {
+        if (weekdays == null || weekdays.isEmpty()) {
+            return Absence.WORKDAYS;
+        }
+        int mask = 0;
+        for (Integer weekday : weekdays) {
+            if (weekday == null || weekday < 1 || weekday > 7) {
+                throw new IllegalArgumentException("Weekday must be 1 (Monday) to 7 (Sunday): " + weekday);
+            }
+            mask |= Absence.weekdayBit(DayOfWeek.of(weekday));
+        }
+        return (short) mask;
+    }
+
+    private static boolean recurringWeekly(String status) {
+        return "schule".equalsIgnoreCase(status) || "fachschule".equalsIgnoreCase(status);
+    }
+
+    private static LocalDate nextWorkday(LocalDate day) {
+        LocalDate next = day.plusDays(1);
+        while (next.getDayOfWeek() == DayOfWeek.SATURDAY || next.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            next = next.plusDays(1);
+        }
+        return next;
+    }
+
+    private static void checkRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("An absence needs a start date on or before its end date");
+        }
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
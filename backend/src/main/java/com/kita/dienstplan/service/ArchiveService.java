@@ -0,0 +1,402 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.archive.ArchivedEntry;
+import com.kita.dienstplan.archive.ArchivedWeek;
+import com.kita.dienstplan.archive.SegmentStore;
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.ArchiveSegmentDTO;
+import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.dto.WeeklyScheduleDTO;
+import com.kita.dienstplan.entity.EntryStatus;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Moves the entries of finished weeks out of schedule_entries into the compressed yearly segment
+ * files of a SegmentStore, and back on request.
+ *
+ * A week qualifies once it ended more than archive.min-age-days ago. Its entries are appended to
+ * the segment (and flushed) first, then deleted from the table and the week marked archived_at in
+ * one transaction; a failed transaction leaves only an unused block behind, because reads go to
+ * the archive for marked weeks only. Restoring inserts the entries again with their ids and audit
+ * columns and clears the mark, then retracts the block.
+ *
+ * The week, date and staff views read through to the archive. Everything derived from the table
+ * (history store, rollups, hours accounts, payroll export, compliance reports) covers the live
+ * window only: both directions publish a ScheduleEntriesBulkChangedEvent for the week, so derived
+ * state drops archived weeks and takes restored ones back, and range queries reaching into archived
+ * weeks are rejected (ScheduleEntryRepository#existsArchivedWeekBetween). Archival is therefore off by default.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ArchiveService {
+
+    private static final List<Long> NO_STAFF_FILTER = List.of(-1L);
+    private static final String RESTORE_SQL = "INSERT INTO schedule_entries " +
+            "(id, weekly_schedule_id, staff_id, day_of_week, work_date, start_time, end_time, shift_type_id, " +
+            "status, working_hours_minutes, break_minutes, notes, created_by, created_at, updated_by, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final WeeklyScheduleRepository weeklyScheduleRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final StaffRepository staffRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SegmentStore store;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int minAgeDays;
+
+    @Autowired
+    public ArchiveService(WeeklyScheduleRepository weeklyScheduleRepository,
+                          ScheduleEntryRepository scheduleEntryRepository,
+                          StaffRepository staffRepository,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${archive.directory:./data/archive}") String directory,
+                          @Value("${archive.enabled:false}") boolean enabled,
+                          @Value("${archive.min-age-days:365}") int minAgeDays) {
+        this(weeklyScheduleRepository, scheduleEntryRepository, staffRepository, jdbcTemplate, transactionManager,
+                eventPublisher, new SegmentStore(Path.of(directory)), Clock.systemDefaultZone(), enabled, minAgeDays);
+    }
+
+    ArchiveService(WeeklyScheduleRepository weeklyScheduleRepository, ScheduleEntryRepository scheduleEntryRepository,
+                   StaffRepository staffRepository, JdbcTemplate jdbcTemplate,
+                   PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                   SegmentStore store, Clock clock, boolean enabled, int minAgeDays) {
+        this.weeklyScheduleRepository = weeklyScheduleRepository;
+        this.scheduleEntryRepository = scheduleEntryRepository;
+        this.staffRepository = staffRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.store = store;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.minAgeDays = minAgeDays;
+    }
+
+    public List<ArchiveSegmentDTO> getSegments() {
+        return store.stats();
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    @UseWorkload(Workload.BATCH)
+    public void scheduledArchival() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<WeeklyScheduleDTO> archived = archiveEligible();
+            if (!archived.isEmpty()) {
+                log.info("Archived {} weeks", archived.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Archival failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Archive every week old enough, one transaction per week
+     *
+     * @return the weeks archived
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @UseWorkload(Workload.BATCH)
+    public synchronized List<WeeklyScheduleDTO> archiveEligible() {
+        List<WeeklyScheduleDTO> archived = new ArrayList<>();
+        for (WeeklySchedule week : weeklyScheduleRepository.findByArchivedAtIsNullAndEndDateBeforeOrderByStartDate(
+                cutoff())) {
+            archived.add(writeTransaction.execute(status -> archive(week)));
+        }
+        return archived;
+    }
+
+    /**
+     * Archive one week
+     *
+     * @return empty if the week does not exist
+     * @throws IllegalArgumentException if the week ended too recently
+     * @throws IllegalStateException if the week is archived already
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized Optional<WeeklyScheduleDTO> archiveWeek(Long weeklyScheduleId) {
+        return Optional.ofNullable(writeTransaction.execute(status -> weeklyScheduleRepository.findById(weeklyScheduleId)
+                .map(week -> {
+                    if (week.getArchivedAt() != null) {
+                        throw new IllegalStateException("Week " + weeklyScheduleId + " is archived already");
+                    }
+                    if (!week.getEndDate().isBefore(cutoff())) {
+                        throw new IllegalArgumentException("Only weeks that ended more than " + minAgeDays
+                                + " days ago can be archived");
+                    }
+                    return archive(week);
+                })
+                .orElse(null)));
+    }
+
+    /**
+     * Move the entries of an archived week back into schedule_entries
+     *
+     * @return empty if the week does not exist
+     * @throws IllegalStateException if the week is not archived or an archived entry has an unknown status
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized Optional<WeeklyScheduleDTO> restoreWeek(Long weeklyScheduleId) {
+        Optional<WeeklySchedule> restored = Optional.ofNullable(writeTransaction.execute(status ->
+                weeklyScheduleRepository.findById(weeklyScheduleId)
+                        .map(week -> {
+                            if (week.getArchivedAt() == null) {
+                                throw new IllegalStateException("Week " + weeklyScheduleId + " is not archived");
+                            }
+                            List<ArchivedEntry> entries = read(week)
+                                    .orElseThrow(() -> new IllegalStateException("Archive holds no entries of week "
+                                            + weeklyScheduleId))
+                                    .entries();
+                            insert(week.getId(), entries);
+                            weeklyScheduleRepository.updateArchivedAt(week.getId(), null);
+                            week.setArchivedAt(null);
+                            publishChanged(week);
+                            log.info("Restored week {}/{} ({} entries)", week.getWeekNumber(), week.getYear(),
+                                    entries.size());
+                            return week;
+                        })
+                        .orElse(null)));
+        // Retract the block only once the entries are back for good
+        restored.ifPresent(week -> store.remove(week.getId(), week.getYear()));
+        return restored.map(WeeklyScheduleDTO::fromEntity);
+    }
+
+    private WeeklyScheduleDTO archive(WeeklySchedule week) {
+        LocalDate monday = week.getStartDate();
+        List<ArchivedEntry> entries = scheduleEntryRepository
+                .findByWeek(week.getId(), monday, monday.plusDays(ScheduleEntryRepository.WEEK_SPAN_DAYS))
+                .stream()
+                .map(ArchiveService::toArchived)
+                .toList();
+        store.append(new ArchivedWeek(week.getId(), week.getWeekNumber(), week.getYear(), monday, entries));
+
+        LocalDateTime archivedAt = LocalDateTime.now(clock);
+        weeklyScheduleRepository.updateArchivedAt(week.getId(), archivedAt);
+        scheduleEntryRepository.deleteWeekEntries(week.getId(), true, NO_STAFF_FILTER);
+        week.setArchivedAt(archivedAt);
+        publishChanged(week);
+        log.info("Archived week {}/{} ({} entries)", week.getWeekNumber(), week.getYear(), entries.size());
+        return WeeklyScheduleDTO.fromEntity(week);
+    }
+
+    private void publishChanged(WeeklySchedule week) {
+        eventPublisher.publishEvent(new ScheduleEntriesBulkChangedEvent(Set.of(week.getId()), week.getStartDate(),
+                week.getStartDate().plusDays(ScheduleEntryRepository.WEEK_SPAN_DAYS), Set.of()));
+    }
+
+    private void insert(Long weeklyScheduleId, List<ArchivedEntry> entries) {
+        // Resolve every status first, so an unknown one fails the restore before any row is written
+        record Row(ArchivedEntry entry, Byte status) {
+        }
+        List<Row> rows = entries.stream()
+                .map(entry -> new Row(entry, statusCode(weeklyScheduleId, entry)))
+                .toList();
+        jdbcTemplate.batchUpdate(RESTORE_SQL, rows, 500, (ps, row) -> {
+            ArchivedEntry entry = row.entry();
+            ps.setLong(1, entry.id());
+            ps.setLong(2, weeklyScheduleId);
+            ps.setLong(3, entry.staffId());
+            ps.setInt(4, entry.dayOfWeek());
+            ps.setDate(5, Date.valueOf(entry.workDate()));
+            ps.setTime(6, entry.startTime() != null ? Time.valueOf(entry.startTime()) : null);
+            ps.setTime(7, entry.endTime() != null ? Time.valueOf(entry.endTime()) : null);
+            if (entry.shiftTypeId() != null) {
+                ps.setShort(8, entry.shiftTypeId());
+            } else {
+                ps.setNull(8, Types.SMALLINT);
+            }
+            if (row.status() != null) {
+                ps.setByte(9, row.status());
+            } else {
+                ps.setNull(9, Types.TINYINT);
+            }
+            ps.setInt(10, entry.workingHoursMinutes());
+            ps.setInt(11, entry.breakMinutes());
+            ps.setString(12, entry.notes());
+            ps.setString(13, entry.createdBy());
+            ps.setTimestamp(14, entry.createdAt() != null ? Timestamp.valueOf(entry.createdAt()) : null);
+            ps.setString(15, entry.updatedBy());
+            ps.setTimestamp(16, entry.updatedAt() != null ? Timestamp.valueOf(entry.updatedAt()) : null);
+        });
+    }
+
+    /**
+     * Code of an archived entry's status; none for a null or blank status
+     *
+     * @throws IllegalStateException for a status outside EntryStatus
+     */
+    private static Byte statusCode(Long weeklyScheduleId, ArchivedEntry entry) {
+        try {
+            EntryStatus status = EntryStatus.of(entry.status());
+            return status != null ? status.code() : null;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Archived entry " + entry.id() + " of week " + weeklyScheduleId
+                    + " has an unknown status '" + entry.status() + "'", e);
+        }
+    }
+
+    // Read-through for the week, date and staff views; callers check archivedAt first
+
+    /**
+     * Archived entries of a week, optionally of one staff member, ordered by staff name and day
+     */
+    public List<ScheduleEntryDTO> findWeekEntries(WeeklySchedule week, Long staffId) {
+        return read(week)
+                .map(archived -> toDTOs(List.of(archived), week.getStartDate(), week.getEndDate(), staffId))
+                .orElseGet(List::of);
+    }
+
+    /**
+     * Archived entries within a date range, ordered by date and staff name
+     */
+    public List<ScheduleEntryDTO> findEntriesBetween(LocalDate startDate, LocalDate endDate) {
+        if (store.isEmpty()) {
+            return List.of();
+        }
+        List<ArchivedWeek> weeks = store.readBetween(startDate, endDate);
+        if (weeks.isEmpty()) {
+            return List.of();
+        }
+        // Blocks of weeks restored since, or left by a failed archival, are not current
+        Set<Long> archived = new HashSet<>(weeklyScheduleRepository.findArchivedIds(
+                weeks.stream().map(ArchivedWeek::weeklyScheduleId).toList()));
+        List<ScheduleEntryDTO> entries = toDTOs(weeks.stream()
+                .filter(week -> archived.contains(week.weeklyScheduleId()))
+                .toList(), startDate, endDate, null);
+        entries.sort(Comparator.comparing(ScheduleEntryDTO::getWorkDate)
+                .thenComparing(ScheduleEntryDTO::getStaffName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return entries;
+    }
+
+    /**
+     * Archived week in the row layout of ScheduleEntryRepository.findWeekMatrixRows
+     */
+    public List<Object[]> findWeekMatrixRows(WeeklySchedule week) {
+        Optional<ArchivedWeek> archived = read(week);
+        if (archived.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Object[]> staff = staffRows();
+        List<Object[]> rows = new ArrayList<>();
+        for (ArchivedEntry entry : archived.get().entries()) {
+            Object[] member = staff.getOrDefault(entry.staffId(), new Object[]{entry.staffId(), null, null, null, false});
+            rows.add(new Object[]{entry.staffId(), member[1], member[2], member[3], member[4],
+                    entry.id(), entry.dayOfWeek(), entry.startTime(), entry.endTime(), entry.status(),
+                    entry.workingHoursMinutes(), entry.breakMinutes()});
+        }
+        rows.sort(Comparator.comparing((Object[] row) -> (String) row[1], Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(row -> (Long) row[0])
+                .thenComparing(row -> (Integer) row[6]));
+        return rows;
+    }
+
+    private Optional<ArchivedWeek> read(WeeklySchedule week) {
+        return store.read(week.getId(), week.getYear());
+    }
+
+    private List<ScheduleEntryDTO> toDTOs(List<ArchivedWeek> weeks, LocalDate startDate, LocalDate endDate,
+                                          Long staffId) {
+        Map<Long, Object[]> staff = staffRows();
+        List<ScheduleEntryDTO> dtos = new ArrayList<>();
+        for (ArchivedWeek week : weeks) {
+            for (ArchivedEntry entry : week.entries()) {
+                if ((staffId != null && entry.staffId() != staffId)
+                        || entry.workDate().isBefore(startDate) || entry.workDate().isAfter(endDate)) {
+                    continue;
+                }
+                Object[] member = staff.get(entry.staffId());
+                ScheduleEntryDTO dto = new ScheduleEntryDTO();
+                dto.setId(entry.id());
+                dto.setWeeklyScheduleId(week.weeklyScheduleId());
+                dto.setStaffId(entry.staffId());
+                dto.setStaffName(member != null ? (String) member[1] : "Unknown");
+                dto.setStaffRole(member != null ? (String) member[2] : "Unknown");
+                dto.setGroupName(member != null ? (String) member[3] : null);
+                dto.setDayOfWeek(entry.dayOfWeek());
+                dto.setWorkDate(entry.workDate());
+                dto.setStartTime(entry.startTime());
+                dto.setEndTime(entry.endTime());
+                dto.setShiftTypeId(entry.shiftTypeId());
+                dto.setStatus(entry.status());
+                dto.setWorkingHoursMinutes(entry.workingHoursMinutes());
+                dto.setBreakMinutes(entry.breakMinutes());
+                dto.setNotes(entry.notes());
+                dto.setWorkingHoursFormatted();
+                dto.setBreakTimeFormatted();
+                dtos.add(dto);
+            }
+        }
+        dtos.sort(Comparator.comparing(ScheduleEntryDTO::getStaffName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(ScheduleEntryDTO::getDayOfWeek));
+        return dtos;
+    }
+
+    private Map<Long, Object[]> staffRows() {
+        Map<Long, Object[]> staff = new HashMap<>();
+        for (Object[] row : staffRepository.findArchiveStaffRows()) {
+            staff.put((Long) row[0], row);
+        }
+        return staff;
+    }
+
+    private LocalDate cutoff() {
+        return LocalDate.now(clock).minusDays(minAgeDays);
+    }
+
+    private static ArchivedEntry toArchived(ScheduleEntry entry) {
+        return new ArchivedEntry(entry.getId(), entry.getStaff().getId(), entry.getDayOfWeek(), entry.getWorkDate(),
+                entry.getStartTime(), entry.getEndTime(), entry.getStatus(),
+                entry.getWorkingHoursMinutes() != null ? entry.getWorkingHoursMinutes() : 0,
+                entry.getBreakMinutes() != null ? entry.getBreakMinutes() : 0,
+                entry.getNotes(), entry.getShiftTypeId(), entry.getCreatedBy(), entry.getCreatedAt(),
+                entry.getUpdatedBy(), entry.getUpdatedAt());
+    }
+
+    @PreDestroy
+    void close() {
+        store.close();
+    }
+}
@@ -0,0 +1,419 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.datasource.PrimaryReads;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.StaffChangedEvent;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.GroupRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders iCalendar (RFC 5545) feeds of schedule entries per staff member and per group.
+ * Rendered feeds are cached until an entry of that staff member (or group) or the staff member
+ * changes, so calendar apps polling every few minutes are served from memory. A hit takes no
+ * transaction or connection; a miss renders in a read-only transaction on the primary.
+ * The feed covers a rolling window of whole weeks around today. Absence ranges are overlaid
+ * like in the schedule views: a covered shift shows as the absence, and covered days without
+ * an entry are added as all-day events.
+ */
+@Service
+public class CalendarFeedService {
+
+    static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    private static final String UID_DOMAIN = "kita-casa-azul";
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter TIME_LABEL = DateTimeFormatter.ofPattern("H:mm");
+
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final StaffRepository staffRepository;
+    private final GroupRepository groupRepository;
+    private final AbsenceRepository absenceRepository;
+    private final int pastWeeks;
+    private final int futureWeeks;
+    private final byte[] tokenSecret;
+    private final TransactionTemplate readTransaction;
+
+    private final Map<String, CalendarFeed> cache = new ConcurrentHashMap<>();
+    // Bumped on every invalidation; a feed rendered across an invalidation is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public CalendarFeedService(ScheduleEntryRepository scheduleEntryRepository,
+                               StaffRepository staffRepository,
+                               GroupRepository groupRepository,
+                               AbsenceRepository absenceRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${calendar.feed.past-weeks:4}") int pastWeeks,
+                               @Value("${calendar.feed.future-weeks:12}") int futureWeeks,
+                               @Value("${calendar.feed.secret:${jwt.secret}}") String tokenSecret) {
+        this.scheduleEntryRepository = scheduleEntryRepository;
+        this.staffRepository = staffRepository;
+        this.groupRepository = groupRepository;
+        this.absenceRepository = absenceRepository;
+        this.pastWeeks = pastWeeks;
+        this.futureWeeks = futureWeeks;
+        this.tokenSecret = tokenSecret.getBytes(StandardCharsets.UTF_8);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * A rendered feed with its entity tag
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CalendarFeed {
+        private final String body;
+        private final String etag;
+        private final LocalDate windowStart;
+    }
+
+    /**
+     * Get the feed for one staff member, rendering it only on cache miss
+     */
+    public Optional<CalendarFeed> getStaffFeed(Long staffId) {
+        LocalDate windowStart = windowStart();
+        CalendarFeed cached = cache.get(staffKey(staffId));
+        if (cached != null && cached.getWindowStart().equals(windowStart)) {
+            return Optional.of(cached);
+        }
+        long renderGeneration = generation.get();
+        return PrimaryReads.call(() -> readTransaction.execute(status ->
+                staffRepository.findById(staffId).map(staff -> {
+                    LocalDate windowEnd = windowEnd(windowStart);
+                    List<ScheduleEntry> entries = scheduleEntryRepository.findByStaffAndDateRange(
+                            staffId, windowStart, windowEnd);
+                    AbsenceIndex absences = AbsenceIndex.of(
+                            absenceRepository.findOverlappingForStaff(staffId, windowStart, windowEnd));
+                    CalendarFeed feed = render("Dienstplan " + staff.getFullName(), entries, absences, false,
+                            windowStart);
+                    cacheIfCurrent(staffKey(staffId), feed, renderGeneration);
+                    return feed;
+                })));
+    }
+
+    /**
+     * Get the feed for all members of a group, rendering it only on cache miss
+     */
+    public Optional<CalendarFeed> getGroupFeed(Long groupId) {
+        LocalDate windowStart = windowStart();
+        CalendarFeed cached = cache.get(groupKey(groupId));
+        if (cached != null && cached.getWindowStart().equals(windowStart)) {
+            return Optional.of(cached);
+        }
+        long renderGeneration = generation.get();
+        return PrimaryReads.call(() -> readTransaction.execute(status ->
+                groupRepository.findById(groupId).map(group -> {
+                    LocalDate windowEnd = windowEnd(windowStart);
+                    List<ScheduleEntry> entries = scheduleEntryRepository.findByGroupAndDateRange(
+                            groupId, windowStart, windowEnd);
+                    AbsenceIndex absences = AbsenceIndex.of(absenceRepository.findOverlapping(windowStart, windowEnd)
+                            .stream()
+                            .filter(absence -> absence.getStaff().getGroup() != null
+                                    && groupId.equals(absence.getStaff().getGroup().getId()))
+                            .toList());
+                    CalendarFeed feed = render("Dienstplan " + group.getName(), entries, absences, true,
+                            windowStart);
+                    cacheIfCurrent(groupKey(groupId), feed, renderGeneration);
+                    return feed;
+                })));
+    }
+
+    /**
+     * Drop cached feeds affected by an entry change once the change is committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleEntryChanged(ScheduleEntryChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.getStaffId() != null) {
+            cache.remove(staffKey(event.getStaffId()));
+        }
+        if (event.getGroupId() != null) {
+            cache.remove(groupKey(event.getGroupId()));
+        } else {
+            // Group unknown: drop all group feeds rather than serve a stale one
+            cache.keySet().removeIf(key -> key.startsWith("group:"));
+        }
+    }
+
+    /**
+     * A set-based write may touch any staff or group feed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleEntriesBulkChanged(ScheduleEntriesBulkChangedEvent event) {
+        evictAll();
+    }
+
+    /**
+     * Renaming, moving or deleting a staff member changes their feed and the group feeds listing them
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStaffChanged(StaffChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.getStaffId() != null) {
+            cache.remove(staffKey(event.getStaffId()));
+        }
+        cache.keySet().removeIf(key -> key.startsWith("group:"));
+    }
+
+    /**
+     * Drop every cached feed
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    /**
+     * Subscription token for a staff feed; calendar apps cannot send a JWT, so the feed URL carries it
+     */
+    public String staffToken(Long staffId) {
+        return sign(staffKey(staffId));
+    }
+
+    /**
+     * Subscription token for a group feed
+     */
+    public String groupToken(Long groupId) {
+        return sign(groupKey(groupId));
+    }
+
+    public boolean isValidStaffToken(Long staffId, String token) {
+        return token != null && MessageDigest.isEqual(
+                staffToken(staffId).getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isValidGroupToken(Long groupId, String token) {
+        return token != null && MessageDigest.isEqual(
+                groupToken(groupId).getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void cacheIfCurrent(String key, CalendarFeed feed, long renderGeneration) {
+        if (generation.get() == renderGeneration) {
+            cache.put(key, feed);
+        }
+    }
+
+    LocalDate windowStart() {
+        return LocalDate.now(BERLIN)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                .minusWeeks(pastWeeks);
+    }
+
+    private LocalDate windowEnd(LocalDate windowStart) {
+        return windowStart.plusWeeks(pastWeeks + futureWeeks + 1L).minusDays(1);
+    }
+
+    private CalendarFeed render(String name, List<ScheduleEntry> entries, AbsenceIndex absences, boolean includeNames,
+                                LocalDate windowStart) {
+        StringBuilder ics = new StringBuilder(512 + entries.size() * 256);
+        line(ics, "BEGIN:VCALENDAR");
+        line(ics, "VERSION:2.0");
+        line(ics, "PRODID:-//Kita Casa Azul//Dienstplan//DE");
+        line(ics, "CALSCALE:GREGORIAN");
+        line(ics, "METHOD:PUBLISH");
+        line(ics, "X-WR-CALNAME:" + escape(name));
+        line(ics, "X-WR-TIMEZONE:" + BERLIN.getId());
+        line(ics, "REFRESH-INTERVAL;VALUE=DURATION:PT15M");
+        line(ics, "X-PUBLISHED-TTL:PT15M");
+        appendTimezone(ics);
+
+        Set<Long> seen = new HashSet<>();
+        for (ScheduleEntry entry : entries) {
+            if (entry.getStaff() != null && entry.getWorkDate() != null) {
+                seen.add(AbsenceIndex.slotKey(entry.getStaff().getId(), entry.getWorkDate()));
+            }
+            appendEvent(ics, entry, absences, includeNames, windowStart);
+        }
+        absences.forEachDay(windowStart, windowEnd(windowStart), (absence, day) -> {
+            if (seen.add(AbsenceIndex.slotKey(absence.getStaff().getId(), day))) {
+                appendAbsenceDay(ics, absence, day, includeNames, windowStart);
+            }
+        });
+
+        line(ics, "END:VCALENDAR");
+        String body = ics.toString();
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body.getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new CalendarFeed(body, etag, windowStart);
+    }
+
+    private void appendEvent(StringBuilder ics, ScheduleEntry entry, AbsenceIndex absences, boolean includeNames,
+                             LocalDate windowStart) {
+        String status = entry.getStatus() != null ? entry.getStatus() : "normal";
+        if ("frei".equalsIgnoreCase(status)) {
+            return;
+        }
+
+        Staff staff = entry.getStaff();
+        if (staff != null && entry.getWorkDate() != null) {
+            status = absences.effectiveStatus(staff.getId(), entry.getWorkDate(), status);
+        }
+        String prefix = includeNames && staff != null ? staff.getFullName() + ": " : "";
+        boolean timed = "normal".equalsIgnoreCase(status)
+                && entry.getStartTime() != null && entry.getEndTime() != null;
+
+        line(ics, "BEGIN:VEVENT");
+        line(ics, "UID:schedule-entry-" + entry.getId() + "@" + UID_DOMAIN);
+        line(ics, "DTSTAMP:" + utcStamp(entry.getUpdatedAt(), windowStart));
+        if (timed) {
+            LocalDate endDate = entry.getEndTime().isAfter(entry.getStartTime())
+                    ? entry.getWorkDate() : entry.getWorkDate().plusDays(1); // Overnight shift
+            line(ics, "DTSTART;TZID=" + BERLIN.getId() + ":"
+                    + LOCAL_DATE_TIME.format(entry.getWorkDate().atTime(entry.getStartTime())));
+            line(ics, "DTEND;TZID=" + BERLIN.getId() + ":"
+                    + LOCAL_DATE_TIME.format(endDate.atTime(entry.getEndTime())));
+            line(ics, "SUMMARY:" + escape(prefix + "Dienst " + TIME_LABEL.format(entry.getStartTime())
+                    + "–" + TIME_LABEL.format(entry.getEndTime())));
+        } else {
+            line(ics, "DTSTART;VALUE=DATE:" + DATE.format(entry.getWorkDate()));
+            line(ics, "DTEND;VALUE=DATE:" + DATE.format(entry.getWorkDate().plusDays(1)));
+            line(ics, "SUMMARY:" + escape(prefix + status));
+            line(ics, "TRANSP:TRANSPARENT");
+        }
+        if (entry.getNotes() != null && !entry.getNotes().isBlank()) {
+            line(ics, "DESCRIPTION:" + escape(entry.getNotes()));
+        }
+        if (entry.getUpdatedAt() != null) {
+            line(ics, "LAST-MODIFIED:" + utcStamp(entry.getUpdatedAt(), windowStart));
+        }
+        line(ics, "END:VEVENT");
+    }
+
+    /**
+     * All-day event for an absence day without an entry
+     */
+    private void appendAbsenceDay(StringBuilder ics, Absence absence, LocalDate day, boolean includeNames,
+                                  LocalDate windowStart) {
+        String prefix = includeNames ? absence.getStaff().getFullName() + ": " : "";
+
+        line(ics, "BEGIN:VEVENT");
+        line(ics, "UID:absence-" + absence.getId() + "-" + DATE.format(day) + "@" + UID_DOMAIN);
+        line(ics, "DTSTAMP:" + utcStamp(absence.getUpdatedAt(), windowStart));
+        line(ics, "DTSTART;VALUE=DATE:" + DATE.format(day));
+        line(ics, "DTEND;VALUE=DATE:" + DATE.format(day.plusDays(1)));
+        line(ics, "SUMMARY:" + escape(prefix + absence.getStatus()));
+        line(ics, "TRANSP:TRANSPARENT");
+        if (absence.getNotes() != null && !absence.getNotes().isBlank()) {
+            line(ics, "DESCRIPTION:" + escape(absence.getNotes()));
+        }
+        if (absence.getUpdatedAt() != null) {
+            line(ics, "LAST-MODIFIED:" + utcStamp(absence.getUpdatedAt(), windowStart));
+        }
+        line(ics, "END:VEVENT");
+    }
+
+    /**
+     * Europe/Berlin definition so clients without a timezone database resolve TZID correctly
+     */
+    private void appendTimezone(StringBuilder ics) {
+        line(ics, "BEGIN:VTIMEZONE");
+        line(ics, "TZID:" + BERLIN.getId());
+        line(ics, "BEGIN:DAYLIGHT");
+        line(ics, "TZOFFSETFROM:+0100");
+        line(ics, "TZOFFSETTO:+0200");
+        line(ics, "TZNAME:CEST");
+        line(ics, "DTSTART:19700329T020000");
+        line(ics, "RRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=-1SU");
+        line(ics, "END:DAYLIGHT");
+        line(ics, "BEGIN:STANDARD");
+        line(ics, "TZOFFSETFROM:+0200");
+        line(ics, "TZOFFSETTO:+0100");
+        line(ics, "TZNAME:CET");
+        line(ics, "DTSTART:19701025T030000");
+        line(ics, "RRULE:FREQ=YEARLY;BYMONTH=10;BYDAY=-1SU");
+        line(ics, "END:STANDARD");
+        line(ics, "END:VTIMEZONE");
+    }
+
+    /**
+     * DTSTAMP must be stable between renders, otherwise the ETag would change on every rebuild
+     */
+    private String utcStamp(LocalDateTime timestamp, LocalDate fallback) {
+        LocalDateTime value = timestamp != null ? timestamp : fallback.atTime(LocalTime.MIDNIGHT);
+        return LOCAL_DATE_TIME.format(value.atZone(BERLIN).withZoneSameInstant(ZoneOffset.UTC)) + "Z";
+    }
+
+    /**
+     * Append a content line, folded at 75 octets as required by RFC 5545
+     */
+    private static void line(StringBuilder ics, String content) {
+        int octets = 0;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            int size = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (octets + size > 75) {
+                ics.append("\r\n ");
+                octets = 1;
+            }
+            ics.appendCodePoint(codePoint);
+            octets += size;
+            i += Character.charCount(codePoint);
+        }
+        ics.append("\r\n");
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    private String sign(String key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(tokenSecret, "HmacSHA256"));
+            byte[] digest = mac.doFinal(key.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 32);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not sign calendar feed token", e);
+        }
+    }
+
+    private static String staffKey(Long staffId) {
+        return "staff:" + staffId;
+    }
+
+    private static String groupKey(Long groupId) {
+        return "group:" + groupId;
+    }
+}
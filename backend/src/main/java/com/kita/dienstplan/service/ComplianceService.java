@@ -0,0 +1,275 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.compliance.ComplianceRule;
+import com.kita.dienstplan.compliance.ShiftTimeline;
+import com.kita.dienstplan.compliance.WorkingTimeValidator;
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.ComplianceReportDTO;
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.exception.ComplianceViolationException;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Working-time compliance (ArbZG) for schedule writes and reports.
+ * Shifts are loaded as scalar rows into per-staff ShiftTimelines and checked by the
+ * WorkingTimeValidator; one day of context on each side covers rest periods across
+ * week and year boundaries. Range reports validate the staff timelines in parallel.
+ * A shift on a day covered by an absence range is not worked (see AbsenceIndex) and is left out.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ComplianceService {
+
+    /**
+     * What happens when a write breaks a rule
+     */
+    public enum Mode {
+        OFF, WARN, BLOCK
+    }
+
+    // Timeline id of the unsaved entry in checkEntry; real ids are positive
+    private static final long CHECKED_ENTRY = -1L;
+    private static final Comparator<ComplianceViolationDTO> REPORT_ORDER =
+            Comparator.comparing(ComplianceViolationDTO::getWorkDate)
+                    .thenComparing(ComplianceViolationDTO::getStaffId)
+                    .thenComparing(ComplianceViolationDTO::getRule);
+
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final WeeklyScheduleRepository weeklyScheduleRepository;
+    private final AbsenceRepository absenceRepository;
+    private final Mode mode;
+    private final int parallelism;
+    private final ExecutorService validationPool;
+
+    @Autowired
+    public ComplianceService(ScheduleEntryRepository scheduleEntryRepository,
+                             WeeklyScheduleRepository weeklyScheduleRepository,
+                             AbsenceRepository absenceRepository,
+                             @Value("${compliance.mode:warn}") String mode,
+                             @Value("${compliance.threads:0}") int threads) {
+        this.scheduleEntryRepository = scheduleEntryRepository;
+        this.weeklyScheduleRepository = weeklyScheduleRepository;
+        this.absenceRepository = absenceRepository;
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.validationPool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "compliance-validate");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Check an entry that is about to be saved against the staff member's neighbouring days.
+     * Only violations involving this entry are returned: those of its own day, and the rest or
+     * overlap of the next day's shifts towards it. In BLOCK mode they are thrown instead.
+     */
+    public List<ComplianceViolationDTO> checkEntry(ScheduleEntry entry) {
+        if (mode == Mode.OFF || !isWorkedShift(entry) || entry.getStaff() == null) {
+            return List.of();
+        }
+        Long staffId = entry.getStaff().getId();
+        LocalDate day = entry.getWorkDate();
+        // An unsaved entry needs an id of its own here: the validator reports UNSAVED as null,
+        // which cannot be told apart from a violation without a related entry
+        long entryId = entry.getId() != null ? entry.getId() : CHECKED_ENTRY;
+        AbsenceIndex absences = AbsenceIndex.of(
+                absenceRepository.findOverlappingForStaff(staffId, day.minusDays(1), day.plusDays(1)));
+        if (absences.covering(staffId, day) != null) {
+            return List.of();
+        }
+
+        ShiftTimeline timeline = new ShiftTimeline(staffId, 4);
+        for (Object[] row : scheduleEntryRepository.findStaffShiftRows(staffId, day.minusDays(1), day.plusDays(1))) {
+            if ((Long) row[1] != entryId && !isCovered(absences, row)) {
+                addRow(timeline, row);
+            }
+        }
+        timeline.add(entryId, day, entry.getStartTime(), entry.getEndTime(), breakMinutes(entry));
+
+        List<ComplianceViolationDTO> all = new ArrayList<>();
+        WorkingTimeValidator.validate(timeline, day, day.plusDays(1), all);
+
+        List<ComplianceViolationDTO> violations = new ArrayList<>();
+        for (ComplianceViolationDTO violation : all) {
+            boolean related = Objects.equals(violation.getRelatedEntryId(), entryId);
+            boolean involvesEntry = day.equals(violation.getWorkDate())
+                    ? related || Objects.equals(violation.getEntryId(), entryId)
+                            || violation.getRule() == ComplianceRule.MAX_DAILY_WORK
+                    : related;
+            if (involvesEntry) {
+                if (Objects.equals(violation.getEntryId(), CHECKED_ENTRY)) {
+                    violation.setEntryId(null);
+                }
+                if (Objects.equals(violation.getRelatedEntryId(), CHECKED_ENTRY)) {
+                    violation.setRelatedEntryId(null);
+                }
+                violations.add(violation);
+            }
+        }
+        if (mode == Mode.BLOCK && !violations.isEmpty()) {
+            throw new ComplianceViolationException(violations);
+        }
+        return violations;
+    }
+
+    /**
+     * Violations of one staff member in a week, if the week exists
+     */
+    public Optional<List<ComplianceViolationDTO>> validateStaffWeek(Long staffId, Integer weekNumber, Integer year) {
+        return weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .map(week -> {
+                    LocalDate start = week.getStartDate();
+                    LocalDate end = start.plusDays(6);
+                    AbsenceIndex absences = AbsenceIndex.of(absenceRepository.findOverlappingForStaff(
+                            staffId, start.minusDays(1), end.plusDays(1)));
+                    ShiftTimeline timeline = new ShiftTimeline(staffId);
+                    for (Object[] row : scheduleEntryRepository.findStaffShiftRows(
+                            staffId, start.minusDays(1), end.plusDays(1))) {
+                        if (!isCovered(absences, row)) {
+                            addRow(timeline, row);
+                        }
+                    }
+                    List<ComplianceViolationDTO> violations = new ArrayList<>();
+                    WorkingTimeValidator.validate(timeline, start, end, violations);
+                    return violations;
+                });
+    }
+
+    /**
+     * Report for all staff in a week, if the week exists
+     */
+    public Optional<ComplianceReportDTO> validateWeek(Integer weekNumber, Integer year) {
+        return weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .map(week -> validateRange(week.getStartDate(), week.getStartDate().plusDays(6)));
+    }
+
+    /**
+     * Report for all staff in a calendar year
+     */
+    @UseWorkload(Workload.REPORTING)
+    public ComplianceReportDTO validateYear(Integer year) {
+        return validateRange(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    /**
+     * Report for all staff in a date range.
+     * Rows are streamed once into timelines in the calling transaction,
+     * then the timelines are validated in parallel chunks.
+     *
+     * @throws IllegalArgumentException if the range reaches into archived weeks
+     */
+    @UseWorkload(Workload.REPORTING)
+    public ComplianceReportDTO validateRange(LocalDate startDate, LocalDate endDate) {
+        if (scheduleEntryRepository.existsArchivedWeekBetween(startDate, endDate)) {
+            throw new IllegalArgumentException("Range reaches into archived weeks");
+        }
+        AbsenceIndex absences = AbsenceIndex.of(
+                absenceRepository.findOverlapping(startDate.minusDays(1), endDate.plusDays(1)));
+        List<ShiftTimeline> timelines = new ArrayList<>();
+        int shiftCount = 0;
+        try (Stream<Object[]> rows = scheduleEntryRepository.streamShiftRows(
+                startDate.minusDays(1), endDate.plusDays(1))) {
+            ShiftTimeline current = null;
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                if (isCovered(absences, row)) {
+                    continue;
+                }
+                Long staffId = (Long) row[0];
+                if (current == null || current.getStaffId() != staffId) {
+                    current = new ShiftTimeline(staffId, 64);
+                    timelines.add(current);
+                }
+                addRow(current, row);
+                LocalDate workDate = (LocalDate) row[2];
+                if (!workDate.isBefore(startDate) && !workDate.isAfter(endDate)) {
+                    shiftCount++;
+                }
+            }
+        }
+
+        List<ComplianceViolationDTO> violations = validateAll(timelines, startDate, endDate);
+        violations.sort(REPORT_ORDER);
+        return ComplianceReportDTO.of(startDate, endDate, timelines.size(), shiftCount, violations);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        validationPool.shutdownNow();
+    }
+
+    private List<ComplianceViolationDTO> validateAll(List<ShiftTimeline> timelines,
+                                                     LocalDate startDate, LocalDate endDate) {
+        int chunkSize = Math.max(1, (timelines.size() + parallelism - 1) / parallelism);
+        List<CompletableFuture<List<ComplianceViolationDTO>>> chunks = new ArrayList<>();
+        for (int from = 0; from < timelines.size(); from += chunkSize) {
+            List<ShiftTimeline> chunk = timelines.subList(from, Math.min(from + chunkSize, timelines.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> {
+                List<ComplianceViolationDTO> found = new ArrayList<>();
+                for (ShiftTimeline timeline : chunk) {
+                    WorkingTimeValidator.validate(timeline, startDate, endDate, found);
+                }
+                return found;
+            }, validationPool));
+        }
+
+        List<ComplianceViolationDTO> violations = new ArrayList<>();
+        for (CompletableFuture<List<ComplianceViolationDTO>> chunk : chunks) {
+            violations.addAll(chunk.join());
+        }
+        return violations;
+    }
+
+    private static void addRow(ShiftTimeline timeline, Object[] row) {
+        Integer breakMinutes = (Integer) row[5];
+        timeline.add((Long) row[1], (LocalDate) row[2], ((Number) row[3]).intValue(), ((Number) row[4]).intValue(),
+                breakMinutes != null ? breakMinutes : 0);
+    }
+
+    private static boolean isCovered(AbsenceIndex absences, Object[] row) {
+        return absences.covering((Long) row[0], (LocalDate) row[2]) != null;
+    }
+
+    private static boolean isWorkedShift(ScheduleEntry entry) {
+        return "normal".equalsIgnoreCase(entry.getStatus())
+                && entry.getStartTime() != null
+                && entry.getEndTime() != null
+                && entry.getWorkDate() != null;
+    }
+
+    private static int breakMinutes(ScheduleEntry entry) {
+        // Derive the break the same way saving will, without touching the managed entity
+        ScheduleEntry probe = new ScheduleEntry();
+        probe.setStatus(entry.getStatus());
+        probe.setStartTime(entry.getStartTime());
+        probe.setEndTime(entry.getEndTime());
+        probe.calculateWorkingHours();
+        return probe.getBreakMinutes();
+    }
+}
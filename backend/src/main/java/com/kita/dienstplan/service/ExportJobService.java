@@ -0,0 +1,112 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.export.ExportFormat;
+import com.kita.dienstplan.export.ExportJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs large payroll exports in the background and keeps the result files
+ * on disk until they expire. Job state is kept in memory only.
+ */
+@Slf4j
+@Service
+public class ExportJobService {
+
+    private final PayrollExportService payrollExportService;
+    private final Path directory;
+    private final Duration retention;
+    private final ExecutorService executor;
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ExportJobService(PayrollExportService payrollExportService,
+                            @Value("${export.jobs.directory:${java.io.tmpdir}/kita-exports}") String directory,
+                            @Value("${export.jobs.retention-hours:24}") long retentionHours,
+                            @Value("${export.jobs.threads:2}") int threads) {
+        this.payrollExportService = payrollExportService;
+        this.directory = Path.of(directory);
+        this.retention = Duration.ofHours(retentionHours);
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "payroll-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue an export and return immediately
+     */
+    public ExportJob submit(LocalDate startDate, LocalDate endDate, ExportFormat format) {
+        purgeExpired();
+        String id = UUID.randomUUID().toString();
+        ExportJob job = new ExportJob(id, format, startDate, endDate,
+                directory.resolve(id + "." + format.getExtension()));
+        jobs.put(id, job);
+        executor.submit(() -> run(job));
+        return job;
+    }
+
+    public Optional<ExportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(ExportJob job) {
+        job.markRunning();
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = Files.newOutputStream(job.getFile())) {
+                payrollExportService.export(job.getStartDate(), job.getEndDate(), job.getFormat(), out);
+            }
+            job.markDone();
+        } catch (Exception e) {
+            log.error("Payroll export {} failed", job.getId(), e);
+            deleteQuietly(job.getFile());
+            job.markFailed(e.getMessage());
+        }
+    }
+
+    /**
+     * Drop finished jobs older than the retention period together with their files
+     */
+    void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff);
+            if (expired) {
+                deleteQuietly(job.getFile());
+            }
+            return expired;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -26,18 +27,14 @@ public class GroupService {
      * Get all groups.
      */
     public List<GroupDTO> getAllGroups() {
-        return groupRepository.findAll().stream()
-                .map(GroupDTO::fromEntity)
-                .collect(Collectors.toList());
+        return toDTOs(groupRepository.findAll());
     }
 
     /**
      * Get all active groups.
      */
     public List<GroupDTO> getActiveGroups() {
-        return groupRepository.findByIsActiveTrueOrderByName().stream()
-                .map(GroupDTO::fromEntity)
-                .collect(Collectors.toList());
+        return toDTOs(groupRepository.findByIsActiveTrueOrderByName());
     }
 
     /**
@@ -45,7 +42,7 @@ public class GroupService {
      */
     public Optional<GroupDTO> getGroupById(Long id) {
         return groupRepository.findById(id)
-                .map(GroupDTO::fromEntity);
+                .map(group -> GroupDTO.fromEntity(group, (int) groupRepository.countStaff(id)));
     }
 
     /**
@@ -68,7 +65,7 @@ public class GroupService {
             group.setIsActive(groupDetails.getIsActive());
 
             Group updatedGroup = groupRepository.save(group);
-            return GroupDTO.fromEntity(updatedGroup);
+            return GroupDTO.fromEntity(updatedGroup, (int) groupRepository.countStaff(id));
         });
     }
 
@@ -83,4 +80,15 @@ public class GroupService {
         }
         return false;
     }
+
+    /**
+     * Convert groups with their staff counts from one grouped query instead of loading staffMembers
+     */
+    private List<GroupDTO> toDTOs(List<Group> groups) {
+        Map<Long, Long> counts = groupRepository.countStaffByGroup().stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        return groups.stream()
+                .map(group -> GroupDTO.fromEntity(group, counts.getOrDefault(group.getId(), 0L).intValue()))
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,245 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.datasource.PrimaryReads;
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.HistoryAggregateDTO;
+import com.kita.dienstplan.dto.HistoryStatsDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.event.StaffChangedEvent;
+import com.kita.dienstplan.history.HistoryQuery;
+import com.kita.dienstplan.history.HistoryStore;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Cross-year analytics over the in-memory HistoryStore.
+ * The store is loaded when the application is ready (or on the first query) with the absence overlay
+ * applied: a covered 'normal' entry counts with the absence's status and no working time, and covered
+ * days without an entry are rows of their own. Committed entry changes are applied row by row;
+ * set-based writes and absence changes reload the years they touch, staff changes refresh names and groups.
+ * Loads and changes are applied one at a time; loads read from the primary, so a lagging replica
+ * cannot hand back the state from before a change.
+ */
+@Slf4j
+@Service
+public class HistoryService {
+
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final StaffRepository staffRepository;
+    private final AbsenceRepository absenceRepository;
+    private final TransactionTemplate readTransaction;
+    private final boolean preload;
+    private final HistoryStore store;
+
+    private volatile boolean loaded;
+    private volatile AbsenceIndex absences = AbsenceIndex.empty();
+
+    @Autowired
+    public HistoryService(ScheduleEntryRepository scheduleEntryRepository,
+                          StaffRepository staffRepository,
+                          AbsenceRepository absenceRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${history.preload:true}") boolean preload,
+                          @Value("${history.parallelism:0}") int parallelism) {
+        this.scheduleEntryRepository = scheduleEntryRepository;
+        this.staffRepository = staffRepository;
+        this.absenceRepository = absenceRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.preload = preload;
+        this.store = new HistoryStore(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @UseWorkload(Workload.BATCH)
+    public void preload() {
+        if (!preload) {
+            return;
+        }
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("History store not loaded at startup, loading on the first query: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Filtered aggregation over the history
+     *
+     * @throws IllegalArgumentException for an inverted range, more than two dimensions or too many buckets,
+     *                                  or a range reaching into archived weeks
+     */
+    public HistoryAggregateDTO aggregate(HistoryQuery query) {
+        if (scheduleEntryRepository.existsArchivedWeekBetween(query.from(), query.to())) {
+            throw new IllegalArgumentException("Range reaches into archived weeks");
+        }
+        ensureLoaded();
+        return store.aggregate(query);
+    }
+
+    public HistoryStatsDTO getStats() {
+        return store.stats(loaded);
+    }
+
+    /**
+     * Rebuild the whole store from the database
+     */
+    @UseWorkload(Workload.BATCH)
+    public synchronized HistoryStatsDTO reload() {
+        long started = System.nanoTime();
+        long rows = PrimaryReads.call(() -> readTransaction.execute(status -> load(null, null)));
+        loaded = true;
+        log.info("Loaded {} history rows in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        return getStats();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onScheduleEntryChanged(ScheduleEntryChangedEvent event) {
+        if (!loaded || event.getEntryId() == null || event.getStaffId() == null) {
+            return;
+        }
+        long staffId = event.getStaffId();
+        EntryState before = event.getBefore();
+        if (before != null && store.remove(event.getEntryId(), before.getWorkDate())) {
+            // The absence day shows again once no entry covers it
+            Absence absence = absences.covering(staffId, before.getWorkDate());
+            if (absence != null) {
+                store.addAbsenceDay(staffId, before.getWorkDate(), absence.getStatus());
+            }
+        }
+        EntryState after = event.getAfter();
+        if (after != null) {
+            String status = absences.effectiveStatus(staffId, after.getWorkDate(), after.getStatus());
+            boolean overlaid = !Objects.equals(status, after.getStatus());
+            store.removeAbsenceDay(staffId, after.getWorkDate());
+            store.upsert(event.getEntryId(), staffId, after.getWorkDate(),
+                    overlaid ? null : after.getStartTime(), overlaid ? null : after.getEndTime(),
+                    status, overlaid ? 0 : after.getWorkingMinutes());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onScheduleEntriesBulkChanged(ScheduleEntriesBulkChangedEvent event) {
+        if (loaded) {
+            PrimaryReads.call(() -> readTransaction.execute(status ->
+                    load(event.getStartDate().getYear(), event.getEndDate().getYear())));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onStaffChanged(StaffChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        // A deleted staff member takes their entries along
+        if (event.getStaffId() != null && !staffRepository.existsById(event.getStaffId())) {
+            reload();
+        } else {
+            PrimaryReads.run(() -> readTransaction.executeWithoutResult(status -> loadStaff()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        store.close();
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace the years between fromYear and toYear, or all years if both are null
+     *
+     * @return rows loaded
+     */
+    private long load(Integer fromYear, Integer toYear) {
+        List<Absence> all = absenceRepository.findAllWithStaff();
+        AbsenceIndex index = AbsenceIndex.of(all);
+        loadStaff();
+
+        LocalDate start;
+        LocalDate end;
+        if (fromYear != null) {
+            start = LocalDate.of(fromYear, 1, 1);
+            end = LocalDate.of(toYear, 12, 31);
+        } else {
+            Object[] range = scheduleEntryRepository.findWorkDateRange().get(0);
+            start = (LocalDate) range[0];
+            end = (LocalDate) range[1];
+            for (Absence absence : all) {
+                start = start == null || absence.getStartDate().isBefore(start) ? absence.getStartDate() : start;
+                end = end == null || absence.getEndDate().isAfter(end) ? absence.getEndDate() : end;
+            }
+            if (start == null) {
+                store.clear();
+                absences = index;
+                return 0;
+            }
+        }
+
+        HistoryStore.Loader loader = store.loader();
+        Set<Long> seen = new HashSet<>();
+        try (Stream<Object[]> rows = scheduleEntryRepository.streamHistoryRows(start, end)) {
+            rows.forEach(row -> {
+                Long staffId = (Long) row[1];
+                LocalDate day = (LocalDate) row[2];
+                String status = (String) row[5];
+                seen.add(AbsenceIndex.slotKey(staffId, day));
+                String effective = index.effectiveStatus(staffId, day, status);
+                boolean overlaid = !Objects.equals(effective, status);
+                loader.entry((Long) row[0], staffId, day,
+                        overlaid ? null : (LocalTime) row[3], overlaid ? null : (LocalTime) row[4], effective,
+                        overlaid || row[6] == null ? 0 : ((Number) row[6]).intValue());
+            });
+        }
+        index.forEachDay(start, end, (absence, day) -> {
+            Long staffId = absence.getStaff().getId();
+            if (seen.add(AbsenceIndex.slotKey(staffId, day))) {
+                loader.absenceDay(staffId, day, absence.getStatus());
+            }
+        });
+        loader.install(fromYear != null ? start.getYear() : Integer.MIN_VALUE,
+                fromYear != null ? end.getYear() : Integer.MAX_VALUE);
+        absences = index;
+        return loader.rows();
+    }
+
+    private void loadStaff() {
+        for (Object[] row : staffRepository.findHistoryStaffRows()) {
+            store.putStaff((Long) row[0], (String) row[1], (Long) row[2], (String) row[3],
+                    Boolean.TRUE.equals(row[4]));
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.HolidayFillResultDTO;
+import com.kita.dienstplan.dto.SpecialDayDTO;
+import com.kita.dienstplan.entity.ClosureDay;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ClosureDaysChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.holiday.BerlinHolidays;
+import com.kita.dienstplan.holiday.DayKind;
+import com.kita.dienstplan.holiday.YearCalendar;
+import com.kita.dienstplan.repository.ClosureDayRepository;
+import com.kita.dienstplan.repository.ScheduleEntryBatchWriter;
+import com.kita.dienstplan.repository.ScheduleEntryBatchWriter.NewEntry;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Service for the holiday and closure-day calendar.
+ * Each year is built once from the computed Berlin holidays and the closure_days rows into a
+ * YearCalendar, so dayKind() is a map lookup plus an array access and can run on every write path.
+ * A year is dropped as soon as its closure days change, so the writing transaction sees the change,
+ * and again once that transaction completes, so no reader keeps a calendar built in between.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class HolidayCalendarService {
+
+    public static final String HOLIDAY_STATUS = "Feiertag";
+
+    private final ClosureDayRepository closureDayRepository;
+    private final StaffRepository staffRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final ScheduleEntryBatchWriter batchWriter;
+    private final WeekProvisioningService weekProvisioningService;
+    private final AuditorAware<String> auditorProvider;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Integer, YearCalendar> years = new ConcurrentHashMap<>();
+
+    /**
+     * Kind of a day, or null for a regular day
+     */
+    public DayKind dayKind(LocalDate date) {
+        return date == null ? null : calendar(date.getYear()).kind(date);
+    }
+
+    /**
+     * Name of a holiday, closure or team day, or null for a regular day
+     */
+    public String dayName(LocalDate date) {
+        return date == null ? null : calendar(date.getYear()).name(date);
+    }
+
+    /**
+     * Whether the Kita is closed on a day (public holiday or closure day)
+     */
+    public boolean isClosed(LocalDate date) {
+        DayKind kind = dayKind(date);
+        return kind != null && kind.isClosed();
+    }
+
+    /**
+     * All holidays, closure and team days of a year in date order
+     */
+    public List<SpecialDayDTO> getDays(int year) {
+        YearCalendar calendar = calendar(year);
+        Map<LocalDate, Long> closureIds = new HashMap<>();
+        closureDayRepository.findByDateBetweenOrderByDate(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))
+                .forEach(day -> closureIds.put(day.getDate(), day.getId()));
+        return calendar.specialDays().stream()
+                .map(date -> {
+                    DayKind kind = calendar.kind(date);
+                    return new SpecialDayDTO(date, kind, calendar.name(date), kind.isClosed(),
+                            kind == DayKind.HOLIDAY ? null : closureIds.get(date));
+                })
+                .toList();
+    }
+
+    /**
+     * Add a closure or team day
+     *
+     * @throws IllegalArgumentException if the kind is HOLIDAY (holidays are computed) or missing
+     */
+    @Transactional
+    public SpecialDayDTO addClosureDay(LocalDate date, DayKind kind, String name) {
+        if (kind == null || kind == DayKind.HOLIDAY) {
+            throw new IllegalArgumentException("Only CLOSURE and TEAM_DAY can be added");
+        }
+        ClosureDay day = new ClosureDay();
+        day.setDate(date);
+        day.setKind(kind);
+        day.setName(name);
+        ClosureDay saved = closureDayRepository.saveAndFlush(day);
+        years.remove(date.getYear());
+        eventPublisher.publishEvent(new ClosureDaysChangedEvent(date.getYear()));
+        return new SpecialDayDTO(saved.getDate(), saved.getKind(), saved.getName(), kind.isClosed(), saved.getId());
+    }
+
+    @Transactional
+    public boolean deleteClosureDay(Long id) {
+        Optional<ClosureDay> day = closureDayRepository.findById(id);
+        if (day.isEmpty()) {
+            return false;
+        }
+        closureDayRepository.delete(day.get());
+        closureDayRepository.flush();
+        years.remove(day.get().getDate().getYear());
+        eventPublisher.publishEvent(new ClosureDaysChangedEvent(day.get().getDate().getYear()));
+        return true;
+    }
+
+    /**
+     * Book the closed weekdays (Mon-Fri) of a year as Feiertag for all active staff.
+     * Free slots are filled in JDBC batches; with convertPlanned, planned 'normal' days on those dates
+     * are turned into Feiertag in one UPDATE. Other absences (krank, Urlaub, ...) are kept.
+     * Weekends are skipped, so no hours are credited for days that were never working days.
+     */
+    @Transactional
+    @UseWorkload(Workload.BATCH)
+    public HolidayFillResultDTO fillHolidays(int year, boolean convertPlanned) {
+        YearCalendar calendar = calendar(year);
+        List<LocalDate> closedDays = calendar.specialDays().stream()
+                .filter(date -> calendar.kind(date).isClosed())
+                .filter(date -> date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY)
+                .toList();
+        if (closedDays.isEmpty()) {
+            return new HolidayFillResultDTO(year, 0, 0, 0, 0);
+        }
+
+        String auditor = auditorProvider.getCurrentAuditor().orElse("system");
+        int converted = convertPlanned ? scheduleEntryRepository.convertToHoliday(closedDays, auditor) : 0;
+
+        WeekProvisioningService.Weeks weeks = weekProvisioningService.ensureWeeksFor(closedDays);
+        LocalDate first = closedDays.get(0);
+        LocalDate last = closedDays.get(closedDays.size() - 1);
+        Set<Long> occupied = new HashSet<>();
+        try (Stream<Object[]> rows = scheduleEntryRepository.streamOccupiedSlots(first, last)) {
+            rows.forEach(row -> occupied.add(slotKey((Long) row[0], (LocalDate) row[1])));
+        }
+
+        List<Long> staffIds = staffRepository.findByIsActiveTrueOrderByFullName().stream()
+                .map(Staff::getId)
+                .toList();
+        ScheduleEntryBatchWriter.Batch batch = batchWriter.open(auditor);
+        Set<Long> touchedWeeks = new HashSet<>();
+        for (LocalDate day : closedDays) {
+            WeeklySchedule week = weeks.forDay(day);
+            touchedWeeks.add(week.getId());
+            for (Long staffId : staffIds) {
+                if (occupied.add(slotKey(staffId, day))) {
+                    batch.add(new NewEntry(week.getId(), staffId, day, null, null, null, HOLIDAY_STATUS));
+                }
+            }
+        }
+        int written = batch.flush();
+        log.info("Filled {} closed days of {}: {} Feiertag entries created, {} planned entries converted",
+                closedDays.size(), year, written, converted);
+
+        if (written > 0 || converted > 0) {
+            eventPublisher.publishEvent(new ScheduleEntriesBulkChangedEvent(touchedWeeks, first, last, Set.of()));
+        }
+        return new HolidayFillResultDTO(year, closedDays.size(), weeks.created(), written, converted);
+    }
+
+    /**
+     * Rebuild a year once the transaction that changed its closure days completed (commit or rollback)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onClosureDaysChanged(ClosureDaysChangedEvent event) {
+        years.remove(event.getYear());
+    }
+
+    private YearCalendar calendar(int year) {
+        return years.computeIfAbsent(year, this::buildYear);
+    }
+
+    private YearCalendar buildYear(int year) {
+        Map<LocalDate, Map.Entry<DayKind, String>> plannedDays = new HashMap<>();
+        closureDayRepository.findByDateBetweenOrderByDate(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))
+                .forEach(day -> plannedDays.put(day.getDate(),
+                        new AbstractMap.SimpleImmutableEntry<>(day.getKind(), day.getName())));
+        return YearCalendar.build(year, BerlinHolidays.forYear(year), plannedDays);
+    }
+
+    private static long slotKey(Long staffId, LocalDate day) {
+        return (staffId << 32) | day.toEpochDay();
+    }
+}
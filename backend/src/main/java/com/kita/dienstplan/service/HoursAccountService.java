@@ -0,0 +1,411 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.HoursBalanceDTO;
+import com.kita.dienstplan.dto.HoursPeriodDTO;
+import com.kita.dienstplan.entity.HoursAccount;
+import com.kita.dienstplan.entity.HoursAccountPeriod;
+import com.kita.dienstplan.entity.HoursAccountPeriod.PeriodType;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.HoursAccountPeriodRepository;
+import com.kita.dienstplan.repository.HoursAccountRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Hours accounts (Soll/Ist) per staff member, by week and month.
+ *
+ * Rules, applied identically by the incremental path and the rebuild:
+ * - Soll: the contracted weekly minutes are booked once per week in which the staff member has entries
+ * - Ist: planned working minutes; absences (krank, Urlaub, Feiertag, Schule, Fachschule) are credited
+ *   with an average day (weekly minutes / 5); 'frei' counts nothing
+ * - a week is booked to the month its Monday falls in
+ * Changing a contract's weekly hours only affects later bookings; rebuild to restate history.
+ *
+ * Every entry change is applied as a delta in the writing transaction: one locked account row
+ * plus one week and one month row, regardless of how much history exists.
+ * Set-based writes re-total only the weeks they touched and apply the difference the same way.
+ * Absence ranges count like per-day entries on the days they cover (see AbsenceIndex); a change
+ * on such a day re-totals its week, because the range decides what the entry is worth.
+ * Accounts cover the live window: archiving a week re-totals it without its entries, restoring
+ * books them again, and the rebuild sees only unarchived weeks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class HoursAccountService {
+
+    private static final Set<String> CREDITED_ABSENCES = Set.of("krank", "urlaub", "feiertag", "schule", "fachschule");
+    private static final int WORKDAYS_PER_WEEK = 5;
+
+    private final HoursAccountRepository hoursAccountRepository;
+    private final HoursAccountPeriodRepository hoursAccountPeriodRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final StaffRepository staffRepository;
+    private final AbsenceRepository absenceRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Apply an entry change to the ledger inside the transaction that made it
+     */
+    @EventListener
+    @Transactional
+    public void onScheduleEntryChanged(ScheduleEntryChangedEvent event) {
+        if (event.getStaffId() == null) {
+            return;
+        }
+        if (coveredByAbsence(event)) {
+            onScheduleEntriesBulkChanged(new ScheduleEntriesBulkChangedEvent(Set.of(),
+                    firstDay(event), lastDay(event), Set.of(event.getStaffId())));
+            return;
+        }
+        HoursAccount account = lockAccount(event.getStaffId());
+        int weeklyMinutes = weeklyMinutes(staffRepository.findById(event.getStaffId())
+                .map(Staff::getWeeklyHours).orElse(null));
+
+        // Book the new state first so an update within one week never releases the week's Soll
+        if (event.getAfter() != null) {
+            book(account, event.getAfter(), 1, weeklyMinutes);
+        }
+        if (event.getBefore() != null) {
+            book(account, event.getBefore(), -1, weeklyMinutes);
+        }
+    }
+
+    /**
+     * Re-total the weeks touched by a set-based write and apply the differences
+     * to the week, month and account rows inside the writing transaction
+     */
+    @EventListener
+    @Transactional
+    public void onScheduleEntriesBulkChanged(ScheduleEntriesBulkChangedEvent event) {
+        LocalDate from = periodStart(PeriodType.WEEK, event.getStartDate());
+        LocalDate to = periodStart(PeriodType.WEEK, event.getEndDate());
+
+        // Fresh week totals from the entries, keyed by staff, then week; sorted so locks are taken in order
+        Map<Long, Map<LocalDate, HoursAccountPeriod>> fresh = new TreeMap<>();
+        List<Object[]> rows = AbsenceIndex.of(absenceRepository.findOverlapping(from, to.plusDays(6)))
+                .overlayLedgerRows(from, to.plusDays(6), scheduleEntryRepository.findLedgerRows(from, to.plusDays(6)));
+        for (Object[] row : rows) {
+            Long staffId = (Long) row[0];
+            if (!event.affectsStaff(staffId)) {
+                continue;
+            }
+            int weeklyMinutes = weeklyMinutes((BigDecimal) row[1]);
+            LocalDate weekStart = periodStart(PeriodType.WEEK, (LocalDate) row[2]);
+            int workingMinutes = row[4] != null ? ((Number) row[4]).intValue() : 0;
+            HoursAccountPeriod week = fresh.computeIfAbsent(staffId, id -> new TreeMap<>())
+                    .computeIfAbsent(weekStart, start -> new HoursAccountPeriod(staffId, PeriodType.WEEK, start));
+            week.apply(week.getEntryCount() == 0 ? weeklyMinutes : 0,
+                    actualMinutes((String) row[3], workingMinutes, weeklyMinutes), 1);
+        }
+
+        Map<Long, Map<LocalDate, HoursAccountPeriod>> stored = new TreeMap<>();
+        for (HoursAccountPeriod week : hoursAccountPeriodRepository
+                .findByPeriodTypeAndPeriodStartBetween(PeriodType.WEEK, from, to)) {
+            if (event.affectsStaff(week.getStaffId())) {
+                stored.computeIfAbsent(week.getStaffId(), id -> new TreeMap<>()).put(week.getPeriodStart(), week);
+                fresh.computeIfAbsent(week.getStaffId(), id -> new TreeMap<>());
+            }
+        }
+
+        fresh.forEach((staffId, weeks) -> {
+            Map<LocalDate, HoursAccountPeriod> storedWeeks = stored.getOrDefault(staffId, Map.of());
+            Set<LocalDate> weekStarts = new TreeSet<>(storedWeeks.keySet());
+            weekStarts.addAll(weeks.keySet());
+            HoursAccount account = null;
+            for (LocalDate weekStart : weekStarts) {
+                HoursAccountPeriod now = weeks.get(weekStart);
+                HoursAccountPeriod before = storedWeeks.get(weekStart);
+                int target = minutes(now, true) - minutes(before, true);
+                int actual = minutes(now, false) - minutes(before, false);
+                int entries = (now != null ? now.getEntryCount() : 0) - (before != null ? before.getEntryCount() : 0);
+                if (target == 0 && actual == 0 && entries == 0) {
+                    continue;
+                }
+                if (account == null) {
+                    account = lockAccount(staffId);
+                }
+                HoursAccountPeriod week = before != null ? before : new HoursAccountPeriod(staffId, PeriodType.WEEK, weekStart);
+                HoursAccountPeriod month = period(staffId, PeriodType.MONTH, weekStart.withDayOfMonth(1));
+                week.apply(target, actual, entries);
+                month.apply(target, actual, entries);
+                account.apply(target, actual);
+                hoursAccountPeriodRepository.save(week);
+                hoursAccountPeriodRepository.save(month);
+            }
+            if (account != null) {
+                hoursAccountRepository.save(account);
+            }
+        });
+    }
+
+    /**
+     * Current balance of a staff member (zero if nothing was planned yet)
+     */
+    public Optional<HoursBalanceDTO> getBalance(Long staffId) {
+        return staffRepository.findById(staffId).map(staff -> HoursBalanceDTO.of(
+                hoursAccountRepository.findById(staffId).orElseGet(() -> new HoursAccount(staffId)),
+                staff.getFullName(), staff.getWeeklyHours()));
+    }
+
+    /**
+     * Weeks or months of a staff member between two dates, with the running balance at the end of each
+     *
+     * @throws IllegalArgumentException if the range reaches into archived weeks
+     */
+    public List<HoursPeriodDTO> getHistory(Long staffId, PeriodType periodType, LocalDate startDate, LocalDate endDate) {
+        LocalDate from = periodStart(periodType, startDate);
+        if (scheduleEntryRepository.existsArchivedWeekBetween(from, endDate)) {
+            throw new IllegalArgumentException("Range reaches into archived weeks");
+        }
+        int balance = hoursAccountRepository.findById(staffId).map(HoursAccount::getBalanceMinutes).orElse(0);
+        int running = balance - hoursAccountPeriodRepository.sumBalanceFrom(staffId, periodType, from).intValue();
+
+        List<HoursPeriodDTO> history = new ArrayList<>();
+        for (HoursAccountPeriod period : hoursAccountPeriodRepository
+                .findByStaffIdAndPeriodTypeAndPeriodStartBetweenOrderByPeriodStart(staffId, periodType, from, endDate)) {
+            running += period.getBalanceMinutes();
+            history.add(HoursPeriodDTO.of(period, running));
+        }
+        return history;
+    }
+
+    /**
+     * Staff whose balance is at least thresholdMinutes above or below zero, largest deviation first
+     */
+    @UseWorkload(Workload.REPORTING)
+    public List<HoursBalanceDTO> getOutliers(int thresholdMinutes, int limit) {
+        List<HoursBalanceDTO> outliers = new ArrayList<>();
+        for (Object[] row : hoursAccountRepository.findOutliers(thresholdMinutes, PageRequest.of(0, limit))) {
+            outliers.add(HoursBalanceDTO.of((HoursAccount) row[0], (String) row[1], (BigDecimal) row[2]));
+        }
+        return outliers;
+    }
+
+    /**
+     * Recreate all accounts from schedule_entries after bulk loads or rule changes.
+     * Streams entries ordered by staff and keeps only one staff member's periods in memory.
+     * Run while no schedule edits are in flight.
+     *
+     * @return number of accounts written
+     */
+    @Transactional
+    @UseWorkload(Workload.BATCH)
+    public int rebuild() {
+        hoursAccountPeriodRepository.deleteAllInBulk();
+        hoursAccountRepository.deleteAllInBulk();
+
+        int accounts = 0;
+        Long currentStaffId = null;
+        HoursAccount account = null;
+        Map<LocalDate, HoursAccountPeriod> weeks = new HashMap<>();
+        Map<LocalDate, HoursAccountPeriod> months = new HashMap<>();
+        AbsenceIndex absences = AbsenceIndex.of(absenceRepository.findAllWithStaff());
+        Set<Long> seen = new HashSet<>();
+        Set<Long> pendingStaff = new HashSet<>(absences.staffIds());
+
+        try (Stream<Object[]> rows = scheduleEntryRepository.streamLedgerRows()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Long staffId = (Long) row[0];
+                if (!staffId.equals(currentStaffId)) {
+                    addAbsenceDays(absences, currentStaffId, seen, account, weeks, months);
+                    accounts += flush(account, weeks, months);
+                    currentStaffId = staffId;
+                    account = new HoursAccount(staffId);
+                    seen.clear();
+                    pendingStaff.remove(staffId);
+                }
+                accumulate(absences.overlayLedgerRow(row, seen), account, weeks, months);
+            }
+        }
+        addAbsenceDays(absences, currentStaffId, seen, account, weeks, months);
+        accounts += flush(account, weeks, months);
+
+        // Staff members whose only bookings are absence ranges
+        for (Long staffId : pendingStaff) {
+            seen.clear();
+            account = new HoursAccount(staffId);
+            addAbsenceDays(absences, staffId, seen, account, weeks, months);
+            accounts += flush(account, weeks, months);
+        }
+        log.info("Rebuilt {} hours accounts", accounts);
+        return accounts;
+    }
+
+    private static void addAbsenceDays(AbsenceIndex absences, Long staffId, Set<Long> seen, HoursAccount account,
+                                       Map<LocalDate, HoursAccountPeriod> weeks, Map<LocalDate, HoursAccountPeriod> months) {
+        if (staffId == null) {
+            return;
+        }
+        absences.forEachDay(staffId, (absence, day) -> {
+            if (seen.add(AbsenceIndex.slotKey(staffId, day))) {
+                accumulate(AbsenceIndex.ledgerRow(absence, day), account, weeks, months);
+            }
+        });
+    }
+
+    /**
+     * Add one ledger row (staffId, weeklyHours, workDate, status, workingMinutes) to the in-memory periods
+     */
+    private static void accumulate(Object[] row, HoursAccount account,
+                                   Map<LocalDate, HoursAccountPeriod> weeks, Map<LocalDate, HoursAccountPeriod> months) {
+        Long staffId = (Long) row[0];
+        int weeklyMinutes = weeklyMinutes((BigDecimal) row[1]);
+        LocalDate workDate = (LocalDate) row[2];
+        String status = (String) row[3];
+        int workingMinutes = row[4] != null ? ((Number) row[4]).intValue() : 0;
+
+        LocalDate weekStart = periodStart(PeriodType.WEEK, workDate);
+        HoursAccountPeriod week = weeks.computeIfAbsent(weekStart,
+                start -> new HoursAccountPeriod(staffId, PeriodType.WEEK, start));
+        HoursAccountPeriod month = months.computeIfAbsent(weekStart.withDayOfMonth(1),
+                start -> new HoursAccountPeriod(staffId, PeriodType.MONTH, start));
+        int target = week.getEntryCount() == 0 ? weeklyMinutes : 0;
+        int actual = actualMinutes(status, workingMinutes, weeklyMinutes);
+
+        week.apply(target, actual, 1);
+        month.apply(target, actual, 1);
+        account.apply(target, actual);
+    }
+
+    private boolean coveredByAbsence(ScheduleEntryChangedEvent event) {
+        AbsenceIndex absences = AbsenceIndex.of(absenceRepository.findOverlappingForStaff(event.getStaffId(),
+                firstDay(event), lastDay(event)));
+        return covered(absences, event.getStaffId(), event.getBefore())
+                || covered(absences, event.getStaffId(), event.getAfter());
+    }
+
+    private static boolean covered(AbsenceIndex absences, Long staffId, EntryState state) {
+        return state != null && absences.covering(staffId, state.getWorkDate()) != null;
+    }
+
+    private static LocalDate firstDay(ScheduleEntryChangedEvent event) {
+        if (event.getBefore() == null || event.getAfter() == null) {
+            return (event.getBefore() != null ? event.getBefore() : event.getAfter()).getWorkDate();
+        }
+        LocalDate before = event.getBefore().getWorkDate();
+        LocalDate after = event.getAfter().getWorkDate();
+        return before.isBefore(after) ? before : after;
+    }
+
+    private static LocalDate lastDay(ScheduleEntryChangedEvent event) {
+        if (event.getBefore() == null || event.getAfter() == null) {
+            return (event.getBefore() != null ? event.getBefore() : event.getAfter()).getWorkDate();
+        }
+        LocalDate before = event.getBefore().getWorkDate();
+        LocalDate after = event.getAfter().getWorkDate();
+        return before.isAfter(after) ? before : after;
+    }
+
+    private int flush(HoursAccount account, Map<LocalDate, HoursAccountPeriod> weeks,
+                      Map<LocalDate, HoursAccountPeriod> months) {
+        if (account == null) {
+            return 0;
+        }
+        hoursAccountRepository.save(account);
+        hoursAccountPeriodRepository.saveAll(weeks.values());
+        hoursAccountPeriodRepository.saveAll(months.values());
+        weeks.clear();
+        months.clear();
+        // Keep the persistence context small across thousands of staff-weeks
+        entityManager.flush();
+        entityManager.clear();
+        return 1;
+    }
+
+    private void book(HoursAccount account, EntryState state, int sign, int weeklyMinutes) {
+        Long staffId = account.getStaffId();
+        LocalDate weekStart = periodStart(PeriodType.WEEK, state.getWorkDate());
+        HoursAccountPeriod week = period(staffId, PeriodType.WEEK, weekStart);
+        HoursAccountPeriod month = period(staffId, PeriodType.MONTH, weekStart.withDayOfMonth(1));
+
+        int target = 0;
+        if (sign > 0 && week.getEntryCount() == 0) {
+            target = weeklyMinutes; // First entry of the week books its Soll
+        } else if (sign < 0 && week.getEntryCount() == 1) {
+            target = -week.getTargetMinutes(); // Last entry removed: release what was booked
+        }
+        int actual = sign * actualMinutes(state.getStatus(), state.getWorkingMinutes(), weeklyMinutes);
+
+        week.apply(target, actual, sign);
+        month.apply(target, actual, sign);
+        account.apply(target, actual);
+        hoursAccountPeriodRepository.save(week);
+        hoursAccountPeriodRepository.save(month);
+        hoursAccountRepository.save(account);
+    }
+
+    private HoursAccount lockAccount(Long staffId) {
+        return hoursAccountRepository.findByStaffIdForUpdate(staffId)
+                .orElseGet(() -> hoursAccountRepository.saveAndFlush(new HoursAccount(staffId)));
+    }
+
+    private HoursAccountPeriod period(Long staffId, PeriodType type, LocalDate start) {
+        return hoursAccountPeriodRepository.findByStaffIdAndPeriodTypeAndPeriodStart(staffId, type, start)
+                .orElseGet(() -> new HoursAccountPeriod(staffId, type, start));
+    }
+
+    private static int minutes(HoursAccountPeriod period, boolean target) {
+        if (period == null) {
+            return 0;
+        }
+        return target ? period.getTargetMinutes() : period.getActualMinutes();
+    }
+
+    static int actualMinutes(String status, int workingMinutes, int weeklyMinutes) {
+        if (status == null) {
+            return workingMinutes;
+        }
+        String normalized = status.toLowerCase();
+        if ("frei".equals(normalized)) {
+            return 0;
+        }
+        if (CREDITED_ABSENCES.contains(normalized)) {
+            return weeklyMinutes / WORKDAYS_PER_WEEK;
+        }
+        return workingMinutes;
+    }
+
+    static int weeklyMinutes(BigDecimal weeklyHours) {
+        return weeklyHours != null ? weeklyHours.multiply(BigDecimal.valueOf(60)).intValue() : 0;
+    }
+
+    static LocalDate periodStart(PeriodType type, LocalDate date) {
+        return type == PeriodType.WEEK
+                ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : date.withDayOfMonth(1);
+    }
+}
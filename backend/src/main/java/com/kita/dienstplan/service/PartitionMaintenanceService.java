@@ -0,0 +1,249 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.PartitionDTO;
+import com.kita.dienstplan.dto.PartitionMaintenanceResultDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the yearly range partitions of schedule_entries (V12) on MySQL.
+ *
+ * A daily job splits the catch-all partition so every year up to a few years ahead has its own
+ * partition before the first entry of that year is written. With a retention configured, partitions
+ * of years before it are exchanged into a plain archive table (schedule_entries_archive_YYYY, kept
+ * in the same schema) or dropped. Both are metadata operations that do not touch the other
+ * partitions. The partition of the first year also holds all earlier dates.
+ * Rollups keep the totals of archived and dropped years; reload the history store afterwards.
+ * On other databases (H2 in tests) and unpartitioned tables everything is a no-op.
+ * DDL commits implicitly on MySQL, so nothing here runs inside a transaction.
+ */
+@Slf4j
+@Service
+@UseWorkload(Workload.BATCH)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PartitionMaintenanceService {
+
+    static final String TABLE = "schedule_entries";
+    static final String ARCHIVE_PREFIX = "schedule_entries_archive_";
+    static final String CATCH_ALL = "pmax";
+
+    private static final Pattern YEAR_PARTITION = Pattern.compile("p(\\d{4})");
+    private static final Pattern DATE_BOUND = Pattern.compile("'(\\d{4}-\\d{2}-\\d{2})'");
+
+    private static final String PARTITIONS_SQL = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS, " +
+            "DATA_LENGTH, INDEX_LENGTH FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + TABLE + "' AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+    private static final String TABLE_EXISTS_SQL = "SELECT COUNT(*) FROM information_schema.TABLES " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?";
+
+    public enum ExpiredAction { ARCHIVE, DROP }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+    private final boolean maintenanceEnabled;
+    private final int futureYears;
+    private final int retentionYears;
+    private final ExpiredAction expiredAction;
+
+    @Autowired
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       @Value("${partitions.maintenance-enabled:true}") boolean maintenanceEnabled,
+                                       @Value("${partitions.future-years:2}") int futureYears,
+                                       @Value("${partitions.retention-years:0}") int retentionYears,
+                                       @Value("${partitions.expired-action:archive}") String expiredAction) {
+        this(jdbcTemplate, Clock.systemDefaultZone(), maintenanceEnabled, futureYears, retentionYears,
+                ExpiredAction.valueOf(expiredAction.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    PartitionMaintenanceService(JdbcTemplate jdbcTemplate, Clock clock, boolean maintenanceEnabled,
+                                int futureYears, int retentionYears, ExpiredAction expiredAction) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clock = clock;
+        this.maintenanceEnabled = maintenanceEnabled;
+        this.futureYears = futureYears;
+        this.retentionYears = retentionYears;
+        this.expiredAction = expiredAction;
+    }
+
+    /**
+     * Partitions of schedule_entries in range order; empty where partitioning is not in use
+     */
+    public List<PartitionDTO> getPartitions() {
+        if (!isMySql()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> {
+            String name = rs.getString(1);
+            Matcher year = YEAR_PARTITION.matcher(name);
+            Matcher bound = DATE_BOUND.matcher(String.valueOf(rs.getString(2)));
+            return new PartitionDTO(name,
+                    year.matches() ? Integer.valueOf(year.group(1)) : null,
+                    bound.find() ? LocalDate.parse(bound.group(1)) : null,
+                    rs.getLong(3), rs.getLong(4), rs.getLong(5));
+        });
+    }
+
+    @Scheduled(cron = "${partitions.maintenance-cron:0 30 3 * * *}")
+    public void scheduledMaintenance() {
+        if (!maintenanceEnabled) {
+            return;
+        }
+        try {
+            PartitionMaintenanceResultDTO result = maintain();
+            if (!result.getCreated().isEmpty() || !result.getArchived().isEmpty() || !result.getDropped().isEmpty()) {
+                log.info("Partition maintenance: created {}, archived {}, dropped {}",
+                        result.getCreated(), result.getArchived(), result.getDropped());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Create the partitions of the coming years and archive or drop those past the retention
+     */
+    public synchronized PartitionMaintenanceResultDTO maintain() {
+        List<PartitionDTO> partitions = getPartitions();
+        if (partitions.isEmpty()) {
+            return new PartitionMaintenanceResultDTO(false, List.of(), List.of(), List.of(), List.of());
+        }
+        int currentYear = LocalDate.now(clock).getYear();
+        List<String> created = createYears(partitions, currentYear + futureYears);
+
+        List<String> archived = new ArrayList<>();
+        List<String> dropped = new ArrayList<>();
+        if (retentionYears > 0) {
+            for (PartitionDTO partition : partitions) {
+                Integer year = partition.getYear();
+                if (year == null || year >= currentYear - retentionYears) {
+                    continue;
+                }
+                if (expiredAction == ExpiredAction.DROP) {
+                    dropPartition(partition.getName());
+                    dropped.add(partition.getName());
+                } else if (!tableExists(ARCHIVE_PREFIX + year)) {
+                    // Archived partitions stay behind empty; the archive table marks them done
+                    exchangePartition(partition.getName(), ARCHIVE_PREFIX + year);
+                    archived.add(ARCHIVE_PREFIX + year);
+                }
+            }
+        }
+        return new PartitionMaintenanceResultDTO(true, created, archived, dropped, getPartitions());
+    }
+
+    /**
+     * Move the entries of a past year into schedule_entries_archive_YYYY
+     *
+     * @return false if partitioning is not in use or the year has no partition
+     * @throws IllegalArgumentException for the current or a future year
+     * @throws IllegalStateException if the archive table exists already
+     */
+    public synchronized boolean archiveYear(int year) {
+        String partition = expiredPartition(year);
+        if (partition == null) {
+            return false;
+        }
+        if (tableExists(ARCHIVE_PREFIX + year)) {
+            throw new IllegalStateException(ARCHIVE_PREFIX + year + " exists already");
+        }
+        exchangePartition(partition, ARCHIVE_PREFIX + year);
+        return true;
+    }
+
+    /**
+     * Delete the entries of a past year by dropping its partition
+     *
+     * @return false if partitioning is not in use or the year has no partition
+     * @throws IllegalArgumentException for the current or a future year
+     */
+    public synchronized boolean dropYear(int year) {
+        String partition = expiredPartition(year);
+        if (partition == null) {
+            return false;
+        }
+        dropPartition(partition);
+        return true;
+    }
+
+    private String expiredPartition(int year) {
+        if (year >= LocalDate.now(clock).getYear()) {
+            throw new IllegalArgumentException("Only partitions of past years can be archived or dropped");
+        }
+        return getPartitions().stream()
+                .filter(partition -> Integer.valueOf(year).equals(partition.getYear()))
+                .map(PartitionDTO::getName)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Add partitions for the years after the last yearly partition up to a year, splitting the
+     * catch-all partition if there is one
+     */
+    private List<String> createYears(List<PartitionDTO> partitions, int untilYear) {
+        int lastYear = partitions.stream()
+                .filter(partition -> partition.getYear() != null)
+                .mapToInt(PartitionDTO::getYear)
+                .max()
+                .orElse(untilYear);
+        if (lastYear >= untilYear) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>();
+        List<String> definitions = new ArrayList<>();
+        for (int year = lastYear + 1; year <= untilYear; year++) {
+            names.add("p" + year);
+            definitions.add("PARTITION p" + year + " VALUES LESS THAN ('" + LocalDate.of(year + 1, 1, 1) + "')");
+        }
+        boolean hasCatchAll = partitions.stream().anyMatch(partition -> CATCH_ALL.equals(partition.getName()));
+        String sql = hasCatchAll
+                ? "ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + CATCH_ALL + " INTO (" +
+                  String.join(", ", definitions) + ", PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE))"
+                : "ALTER TABLE " + TABLE + " ADD PARTITION (" + String.join(", ", definitions) + ")";
+        jdbcTemplate.execute(sql);
+        log.info("Created partitions {} of {}", names, TABLE);
+        return names;
+    }
+
+    private void exchangePartition(String partition, String archiveTable) {
+        jdbcTemplate.execute("CREATE TABLE " + archiveTable + " LIKE " + TABLE);
+        jdbcTemplate.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " EXCHANGE PARTITION " + partition +
+                " WITH TABLE " + archiveTable);
+        log.info("Archived partition {} of {} into {}", partition, TABLE, archiveTable);
+    }
+
+    private void dropPartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition);
+        log.info("Dropped partition {} of {}", partition, TABLE);
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbcTemplate.queryForObject(TABLE_EXISTS_SQL, Integer.class, table);
+        return count != null && count > 0;
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
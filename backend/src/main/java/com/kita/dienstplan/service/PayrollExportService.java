@@ -0,0 +1,245 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.export.ExportFormat;
+import com.kita.dienstplan.export.PayrollLine;
+import com.kita.dienstplan.export.PayrollWriter;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.Collator;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Payroll export: per-staff monthly totals with month subtotals for a date range.
+ * Computed in a single ordered pass over a streamed projection, so memory use
+ * does not depend on the size of the range. Absence ranges overlapping the range are
+ * loaded up front and merged into the pass (see AbsenceIndex), so days folded by
+ * AbsenceService.compact() keep their counts.
+ */
+@Service
+@UseWorkload(Workload.REPORTING)
+@RequiredArgsConstructor
+public class PayrollExportService {
+
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final AbsenceRepository absenceRepository;
+
+    /**
+     * Whether the range reaches into archived weeks, which the export does not cover
+     */
+    @Transactional(readOnly = true)
+    public boolean coversArchivedWeeks(LocalDate startDate, LocalDate endDate) {
+        return scheduleEntryRepository.existsArchivedWeekBetween(startDate, endDate);
+    }
+
+    /**
+     * Write the export for [startDate, endDate] to the given stream (which is left open)
+     */
+    @Transactional(readOnly = true)
+    public void export(LocalDate startDate, LocalDate endDate, ExportFormat format, OutputStream out)
+            throws IOException {
+        try (PayrollWriter writer = format.createWriter(out)) {
+            export(startDate, endDate, writer);
+        }
+    }
+
+    /**
+     * Stream rows ordered by month, then staff, emitting a line whenever the staff
+     * member or month changes and a subtotal whenever the month changes.
+     * Row layout: see ScheduleEntryRepository#streamPayrollRows
+     */
+    @Transactional(readOnly = true)
+    public void export(LocalDate startDate, LocalDate endDate, PayrollWriter writer) throws IOException {
+        if (scheduleEntryRepository.existsArchivedWeekBetween(startDate, endDate)) {
+            throw new IllegalArgumentException("Range reaches into archived weeks");
+        }
+        writer.writeHeader();
+
+        PayrollPass pass = new PayrollPass(writer, startDate, endDate,
+                AbsenceIndex.of(absenceRepository.findOverlapping(startDate, endDate)));
+        try (Stream<Object[]> rows = scheduleEntryRepository.streamPayrollRows(startDate, endDate)) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                pass.add(iterator.next());
+            }
+        }
+        pass.finish();
+    }
+
+    /**
+     * One export pass. Absence days are merged in per month: a covered 'normal' entry counts as
+     * the absence without working time, and covered days without an entry are added to the staff
+     * member's line, or to a line of their own placed by name among the streamed ones.
+     */
+    private static final class PayrollPass {
+
+        private final PayrollWriter writer;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final AbsenceIndex absences;
+        private final PayrollLine total = PayrollLine.total();
+
+        private YearMonth month;
+        private PayrollLine subtotal;
+        private boolean monthWritten;
+        private PayrollLine current;
+        // Days of the current staff member that have an entry
+        private final Set<LocalDate> seen = new HashSet<>();
+        // Absence days of the current month by staff member, in line order
+        private final TreeMap<StaffKey, Map<LocalDate, String>> pending = new TreeMap<>(StaffKey.ORDER);
+
+        PayrollPass(PayrollWriter writer, LocalDate startDate, LocalDate endDate, AbsenceIndex absences) {
+            this.writer = writer;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.absences = absences;
+        }
+
+        void add(Object[] row) throws IOException {
+            Long staffId = (Long) row[0];
+            LocalDate day = (LocalDate) row[5];
+            moveTo(YearMonth.from(day));
+
+            if (current == null || !current.getStaffId().equals(staffId)) {
+                finishStaff();
+                StaffKey key = new StaffKey(staffId, (String) row[1], (String) row[2], (String) row[3],
+                        Boolean.TRUE.equals(row[4]));
+                while (!pending.isEmpty() && StaffKey.ORDER.compare(pending.firstKey(), key) < 0) {
+                    writeAbsencesOnly(pending.pollFirstEntry());
+                }
+                current = key.line(month);
+            }
+
+            String status = (String) row[6];
+            String effective = absences.effectiveStatus(staffId, day, status);
+            boolean overlaid = !Objects.equals(effective, status);
+            seen.add(day);
+            current.addEntry(effective, overlaid ? 0 : intValue(row[7]), overlaid ? 0 : intValue(row[8]));
+        }
+
+        void finish() throws IOException {
+            moveTo(YearMonth.from(endDate).plusMonths(1));
+            writer.writeLine(total);
+        }
+
+        /**
+         * Close the current month and those up to the given one; months between them only
+         * get lines if they hold absence days
+         */
+        private void moveTo(YearMonth next) throws IOException {
+            if (next.equals(month)) {
+                return;
+            }
+            YearMonth from = month == null ? YearMonth.from(startDate) : month.plusMonths(1);
+            if (month != null) {
+                finishMonth();
+            }
+            for (YearMonth between = from; between.isBefore(next); between = between.plusMonths(1)) {
+                startMonth(between);
+                finishMonth();
+            }
+            if (!next.isAfter(YearMonth.from(endDate))) {
+                startMonth(next);
+            }
+        }
+
+        private void startMonth(YearMonth next) {
+            month = next;
+            subtotal = PayrollLine.subtotal(next);
+            monthWritten = false;
+            LocalDate from = next.atDay(1).isBefore(startDate) ? startDate : next.atDay(1);
+            LocalDate to = next.atEndOfMonth().isAfter(endDate) ? endDate : next.atEndOfMonth();
+            absences.forEachDay(from, to, (absence, day) -> pending
+                    .computeIfAbsent(StaffKey.of(absence.getStaff()), key -> new TreeMap<>())
+                    .put(day, absence.getStatus()));
+        }
+
+        private void finishMonth() throws IOException {
+            finishStaff();
+            while (!pending.isEmpty()) {
+                writeAbsencesOnly(pending.pollFirstEntry());
+            }
+            if (monthWritten) {
+                writer.writeLine(subtotal);
+                total.add(subtotal);
+            }
+        }
+
+        private void finishStaff() throws IOException {
+            if (current == null) {
+                return;
+            }
+            Map<LocalDate, String> days = pending.remove(StaffKey.of(current));
+            if (days != null) {
+                days.forEach((day, status) -> {
+                    if (!seen.contains(day)) {
+                        current.addEntry(status, 0, 0);
+                    }
+                });
+            }
+            write(current);
+            current = null;
+            seen.clear();
+        }
+
+        private void writeAbsencesOnly(Map.Entry<StaffKey, Map<LocalDate, String>> staffDays) throws IOException {
+            PayrollLine line = staffDays.getKey().line(month);
+            staffDays.getValue().values().forEach(status -> line.addEntry(status, 0, 0));
+            write(line);
+        }
+
+        private void write(PayrollLine line) throws IOException {
+            writer.writeLine(line);
+            subtotal.add(line);
+            monthWritten = true;
+        }
+    }
+
+    /**
+     * Staff attributes of a payroll line, ordered like the streamed rows (name, then id)
+     */
+    private record StaffKey(Long id, String fullName, String role, String groupName, boolean praktikant) {
+
+        static final Comparator<StaffKey> ORDER = Comparator
+                .comparing(StaffKey::fullName, Comparator.nullsFirst(Collator.getInstance(Locale.GERMAN)))
+                .thenComparing(StaffKey::id);
+
+        static StaffKey of(Staff staff) {
+            return new StaffKey(staff.getId(), staff.getFullName(), staff.getRole(),
+                    staff.getGroup() != null ? staff.getGroup().getName() : null,
+                    Boolean.TRUE.equals(staff.getIsPraktikant()));
+        }
+
+        static StaffKey of(PayrollLine line) {
+            return new StaffKey(line.getStaffId(), line.getStaffName(), line.getRole(), line.getGroupName(),
+                    line.isPraktikant());
+        }
+
+        PayrollLine line(YearMonth month) {
+            return new PayrollLine(PayrollLine.Kind.STAFF, month, id, fullName, role, groupName, praktikant);
+        }
+    }
+
+    private static int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+}
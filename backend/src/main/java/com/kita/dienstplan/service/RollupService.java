@@ -0,0 +1,364 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.RollupDTO;
+import com.kita.dienstplan.dto.RollupRefreshResultDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.HoursAccountPeriod.PeriodType;
+import com.kita.dienstplan.entity.RollupDirtyRange;
+import com.kita.dienstplan.entity.RollupWatermark;
+import com.kita.dienstplan.entity.ScheduleRollup;
+import com.kita.dienstplan.entity.ScheduleRollup.Dimension;
+import com.kita.dienstplan.entity.ScheduleRollup.Granularity;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.event.StaffChangedEvent;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.GroupRepository;
+import com.kita.dienstplan.repository.RollupDirtyRangeRepository;
+import com.kita.dienstplan.repository.RollupWatermarkRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.ScheduleRollupRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the schedule rollups (day, ISO week, month and year, each by staff, group and role)
+ * and serves them for reporting.
+ *
+ * A refresh collects the dates to rebuild from two sources: entries whose updated_at is past the
+ * watermark (minus an overlap for transactions that committed late), and the dirty ranges queued by
+ * the listeners below inside the writing transaction for everything updated_at cannot show
+ * (deleted or moved entries, set-based writes, absence and staff changes). Day rows of those dates
+ * are rebuilt from the entries with the absence overlay; week and month rows are re-summed from the
+ * day rows and year rows from the month rows. The first refresh builds everything.
+ * Refreshes run one at a time, on a fixed delay and on demand.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class RollupService {
+
+    static final String ENTRY_WATERMARK = "schedule_entries";
+
+    // Watermark when there are no entries yet, so the next refresh does not rebuild again
+    private static final LocalDateTime NO_ENTRIES = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // Day rows are rebuilt in runs of at most this many days
+    private static final int MAX_RUN_DAYS = 31;
+
+    private final ScheduleRollupRepository rollupRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final RollupDirtyRangeRepository dirtyRangeRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final StaffRepository staffRepository;
+    private final GroupRepository groupRepository;
+    private final AbsenceRepository absenceRepository;
+    private final TransactionTemplate writeTransaction;
+    private final boolean refreshEnabled;
+    private final Duration overlap;
+
+    @Autowired
+    public RollupService(ScheduleRollupRepository rollupRepository,
+                         RollupWatermarkRepository watermarkRepository,
+                         RollupDirtyRangeRepository dirtyRangeRepository,
+                         ScheduleEntryRepository scheduleEntryRepository,
+                         StaffRepository staffRepository,
+                         GroupRepository groupRepository,
+                         AbsenceRepository absenceRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${rollups.refresh-enabled:true}") boolean refreshEnabled,
+                         @Value("${rollups.watermark-overlap-seconds:120}") long overlapSeconds) {
+        this.rollupRepository = rollupRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.dirtyRangeRepository = dirtyRangeRepository;
+        this.scheduleEntryRepository = scheduleEntryRepository;
+        this.staffRepository = staffRepository;
+        this.groupRepository = groupRepository;
+        this.absenceRepository = absenceRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.refreshEnabled = refreshEnabled;
+        this.overlap = Duration.ofSeconds(overlapSeconds);
+    }
+
+    /**
+     * Rollups of one granularity and dimension whose period starts within a date range
+     *
+     * @param key only this staff id, group id or role; all if null
+     * @throws IllegalArgumentException if the range is inverted or reaches into archived weeks
+     */
+    @UseWorkload(Workload.REPORTING)
+    public List<RollupDTO> getRollups(Granularity granularity, Dimension dimension, LocalDate startDate,
+                                      LocalDate endDate, String key) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("startDate must be on or before endDate");
+        }
+        if (scheduleEntryRepository.existsArchivedWeekBetween(startDate, endDate)) {
+            throw new IllegalArgumentException("Range reaches into archived weeks");
+        }
+        List<ScheduleRollup> rollups = key == null
+                ? rollupRepository.findByGranularityAndDimensionAndPeriodStartBetweenOrderByPeriodStartAscDimensionKeyAsc(
+                        granularity, dimension, startDate, endDate)
+                : rollupRepository.findByGranularityAndDimensionAndDimensionKeyAndPeriodStartBetweenOrderByPeriodStart(
+                        granularity, dimension, key, startDate, endDate);
+        Map<String, String> labels = labels(dimension);
+        return rollups.stream()
+                .map(rollup -> RollupDTO.of(rollup, labels.getOrDefault(rollup.getDimensionKey(), rollup.getDimensionKey())))
+                .toList();
+    }
+
+    // Queue what the updated_at watermark cannot see, in the writing transaction
+
+    @EventListener
+    @Transactional
+    public void onScheduleEntryChanged(ScheduleEntryChangedEvent event) {
+        EntryState before = event.getBefore();
+        EntryState after = event.getAfter();
+        if (before != null && before.getWorkDate() != null
+                && (after == null || !before.getWorkDate().equals(after.getWorkDate()))) {
+            dirtyRangeRepository.save(new RollupDirtyRange(before.getWorkDate(), before.getWorkDate()));
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onScheduleEntriesBulkChanged(ScheduleEntriesBulkChangedEvent event) {
+        dirtyRangeRepository.save(new RollupDirtyRange(event.getStartDate(), event.getEndDate()));
+    }
+
+    /**
+     * A new group or role, or a deletion, changes every day the staff member has rollups for
+     */
+    @EventListener
+    @Transactional
+    public void onStaffChanged(StaffChangedEvent event) {
+        if (event.getStaffId() == null) {
+            return;
+        }
+        Object[] range = rollupRepository.findStaffDayRange(String.valueOf(event.getStaffId())).get(0);
+        if (range[0] != null) {
+            dirtyRangeRepository.save(new RollupDirtyRange((LocalDate) range[0], (LocalDate) range[1]));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${rollups.refresh-interval-ms:60000}",
+               initialDelayString = "${rollups.refresh-interval-ms:60000}")
+    @UseWorkload(Workload.BATCH)
+    public void scheduledRefresh() {
+        if (!refreshEnabled) {
+            return;
+        }
+        try {
+            RollupRefreshResultDTO result = refresh();
+            if (result.getDaysRefreshed() > 0) {
+                log.info("Refreshed rollups of {} days and {} periods in {} ms", result.getDaysRefreshed(),
+                        result.getPeriodsRefreshed(), result.getElapsedMillis());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Rollup refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the rollups of every date changed since the last refresh; everything on the first run
+     */
+    @UseWorkload(Workload.BATCH)
+    public synchronized RollupRefreshResultDTO refresh() {
+        return writeTransaction.execute(status -> {
+            long started = System.nanoTime();
+            RollupWatermark watermark = watermarkRepository.findById(ENTRY_WATERMARK)
+                    .orElseGet(() -> new RollupWatermark(ENTRY_WATERMARK));
+            if (watermark.getWatermark() == null) {
+                return rebuildAll(watermark, started);
+            }
+
+            NavigableSet<LocalDate> days = new TreeSet<>();
+            LocalDateTime latest = watermark.getWatermark();
+            for (Object[] row : scheduleEntryRepository.findWorkDatesUpdatedSince(latest.minus(overlap))) {
+                days.add((LocalDate) row[0]);
+                LocalDateTime updatedAt = (LocalDateTime) row[1];
+                latest = updatedAt != null && updatedAt.isAfter(latest) ? updatedAt : latest;
+            }
+            List<RollupDirtyRange> ranges = dirtyRangeRepository.findAll();
+            for (RollupDirtyRange range : ranges) {
+                range.getStartDate().datesUntil(range.getEndDate().plusDays(1)).forEach(days::add);
+            }
+
+            int[] written = rebuildDays(days);
+            watermark.setWatermark(latest);
+            watermarkRepository.save(watermark);
+            dirtyRangeRepository.deleteAllInBatch(ranges);
+            return new RollupRefreshResultDTO(false, days.size(), written[1], written[0], latest,
+                    (System.nanoTime() - started) / 1_000_000);
+        });
+    }
+
+    /**
+     * Drop all rollups and build them again from the entries
+     */
+    @UseWorkload(Workload.BATCH)
+    public synchronized RollupRefreshResultDTO rebuild() {
+        return writeTransaction.execute(status -> rebuildAll(watermarkRepository.findById(ENTRY_WATERMARK)
+                .orElseGet(() -> new RollupWatermark(ENTRY_WATERMARK)), System.nanoTime()));
+    }
+
+    private RollupRefreshResultDTO rebuildAll(RollupWatermark watermark, long started) {
+        // Taken before reading, so entries written meanwhile are picked up by the next refresh
+        LocalDateTime latest = Objects.requireNonNullElse(scheduleEntryRepository.findLatestUpdate(), NO_ENTRIES);
+        List<RollupDirtyRange> ranges = dirtyRangeRepository.findAll();
+        rollupRepository.deleteAllInBatch();
+
+        NavigableSet<LocalDate> days = new TreeSet<>();
+        Object[] range = scheduleEntryRepository.findWorkDateRange().get(0);
+        LocalDate first = (LocalDate) range[0];
+        LocalDate last = (LocalDate) range[1];
+        for (Absence absence : absenceRepository.findAll()) {
+            first = first == null || absence.getStartDate().isBefore(first) ? absence.getStartDate() : first;
+            last = last == null || absence.getEndDate().isAfter(last) ? absence.getEndDate() : last;
+        }
+        if (first != null) {
+            first.datesUntil(last.plusDays(1)).forEach(days::add);
+        }
+
+        int[] written = rebuildDays(days);
+        watermark.setWatermark(latest);
+        watermarkRepository.save(watermark);
+        dirtyRangeRepository.deleteAllInBatch(ranges);
+        log.info("Rebuilt rollups of {} days: {} rows", days.size(), written[0]);
+        return new RollupRefreshResultDTO(true, days.size(), written[1], written[0], latest,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Rebuild the day rows of some dates, then the week, month and year rows containing them
+     *
+     * @return rows written, coarser periods rebuilt
+     */
+    private int[] rebuildDays(NavigableSet<LocalDate> days) {
+        if (days.isEmpty()) {
+            return new int[]{0, 0};
+        }
+        Map<Long, Object[]> staff = staffRepository.findRollupStaffRows().stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], Function.identity()));
+        int rows = 0;
+        LocalDate runStart = null;
+        LocalDate runEnd = null;
+        for (LocalDate day : days) {
+            if (runStart != null && (!day.equals(runEnd.plusDays(1)) || runStart.plusDays(MAX_RUN_DAYS - 1).isBefore(day))) {
+                rows += rebuildRun(runStart, runEnd, staff);
+                runStart = null;
+            }
+            runStart = runStart == null ? day : runStart;
+            runEnd = day;
+        }
+        rows += rebuildRun(runStart, runEnd, staff);
+
+        Set<LocalDate> weeks = new TreeSet<>();
+        Set<LocalDate> months = new TreeSet<>();
+        Set<LocalDate> years = new TreeSet<>();
+        for (LocalDate day : days) {
+            weeks.add(HoursAccountService.periodStart(PeriodType.WEEK, day));
+            months.add(day.withDayOfMonth(1));
+            years.add(day.withDayOfYear(1));
+        }
+        rows += resum(Granularity.WEEK, weeks, Granularity.DAY, start -> start.plusDays(6));
+        rows += resum(Granularity.MONTH, months, Granularity.DAY, start -> start.with(TemporalAdjusters.lastDayOfMonth()));
+        rows += resum(Granularity.YEAR, years, Granularity.MONTH, start -> start.withDayOfYear(start.lengthOfYear()));
+        return new int[]{rows, weeks.size() + months.size() + years.size()};
+    }
+
+    private int rebuildRun(LocalDate start, LocalDate end, Map<Long, Object[]> staff) {
+        rollupRepository.deleteRange(Granularity.DAY, start, end);
+        AbsenceIndex absences = AbsenceIndex.of(absenceRepository.findOverlapping(start, end));
+        Map<String, ScheduleRollup> rollups = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (Object[] row : scheduleEntryRepository.findRollupRows(start, end)) {
+            Long staffId = (Long) row[0];
+            LocalDate day = (LocalDate) row[3];
+            String status = (String) row[4];
+            seen.add(AbsenceIndex.slotKey(staffId, day));
+            String effective = absences.effectiveStatus(staffId, day, status);
+            boolean overlaid = !Objects.equals(effective, status);
+            addDay(rollups, day, staffId, (String) row[1], (Long) row[2], effective,
+                    overlaid || row[5] == null ? 0 : ((Number) row[5]).intValue(),
+                    overlaid || row[6] == null ? 0 : ((Number) row[6]).intValue());
+        }
+        absences.forEachDay(start, end, (absence, day) -> {
+            Long staffId = absence.getStaff().getId();
+            Object[] attributes = staff.get(staffId);
+            if (attributes != null && seen.add(AbsenceIndex.slotKey(staffId, day))) {
+                addDay(rollups, day, staffId, (String) attributes[2], (Long) attributes[3], absence.getStatus(), 0, 0);
+            }
+        });
+        rollupRepository.saveAll(rollups.values());
+        return rollups.size();
+    }
+
+    private static void addDay(Map<String, ScheduleRollup> rollups, LocalDate day, Long staffId, String role,
+                               Long groupId, String status, int worked, int breaks) {
+        rollup(rollups, day, Dimension.STAFF, String.valueOf(staffId)).addDay(status, worked, breaks);
+        rollup(rollups, day, Dimension.GROUP, String.valueOf(groupId != null ? groupId : 0L)).addDay(status, worked, breaks);
+        rollup(rollups, day, Dimension.ROLE, role != null ? role : "").addDay(status, worked, breaks);
+    }
+
+    private static ScheduleRollup rollup(Map<String, ScheduleRollup> rollups, LocalDate day, Dimension dimension,
+                                         String key) {
+        return rollups.computeIfAbsent(day + "|" + dimension + "|" + key,
+                k -> new ScheduleRollup(Granularity.DAY, day, dimension, key));
+    }
+
+    /**
+     * Replace the rows of some periods with the sums of the finer rows within them
+     */
+    private int resum(Granularity granularity, Set<LocalDate> periodStarts, Granularity finer,
+                      Function<LocalDate, LocalDate> periodEnd) {
+        rollupRepository.deletePeriods(granularity, periodStarts);
+        List<ScheduleRollup> rollups = new ArrayList<>();
+        for (LocalDate start : periodStarts) {
+            for (Object[] row : rollupRepository.sumRows(finer, start, periodEnd.apply(start))) {
+                ScheduleRollup rollup = new ScheduleRollup(granularity, start, (Dimension) row[0], (String) row[1]);
+                rollup.addTotals(row);
+                rollups.add(rollup);
+            }
+        }
+        rollupRepository.saveAll(rollups);
+        return rollups.size();
+    }
+
+    private Map<String, String> labels(Dimension dimension) {
+        return switch (dimension) {
+            case STAFF -> staffRepository.findRollupStaffRows().stream()
+                    .collect(Collectors.toMap(row -> String.valueOf(row[0]), row -> (String) row[1]));
+            case GROUP -> groupRepository.findAll().stream()
+                    .collect(Collectors.toMap(group -> String.valueOf(group.getId()), Group::getName));
+            case ROLE -> Map.of();
+        };
+    }
+}
@@ -0,0 +1,214 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.RotationExpansionResultDTO;
+import com.kita.dienstplan.dto.RotationPatternDTO;
+import com.kita.dienstplan.entity.RotationPattern;
+import com.kita.dienstplan.entity.ShiftType;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.repository.RotationPatternRepository;
+import com.kita.dienstplan.repository.ScheduleEntryBatchWriter;
+import com.kita.dienstplan.repository.ScheduleEntryBatchWriter.NewEntry;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Service for per-staff rotation patterns and their expansion into schedule entries.
+ * Expansion generates entries day by day straight into a JDBC batch, never as entities or a full
+ * list, so a year for the whole staff is streamed in batches of ScheduleEntryBatchWriter.BATCH_SIZE.
+ * Days that already have an entry are never overwritten.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RotationService {
+
+    // Bound in place of an empty staff filter, which IN () cannot express
+    private static final List<Long> NO_STAFF_FILTER = List.of(-1L);
+
+    private final RotationPatternRepository rotationPatternRepository;
+    private final StaffRepository staffRepository;
+    private final WeekProvisioningService weekProvisioningService;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final ScheduleEntryBatchWriter batchWriter;
+    private final ShiftCatalogService shiftCatalogService;
+    private final AuditorAware<String> auditorProvider;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<RotationPatternDTO> getPatterns() {
+        return rotationPatternRepository.findAllWithStaff().stream().map(RotationPatternDTO::of).toList();
+    }
+
+    public List<RotationPatternDTO> getPatternsForStaff(Long staffId) {
+        return rotationPatternRepository.findByStaffId(staffId).stream().map(RotationPatternDTO::of).toList();
+    }
+
+    public Optional<RotationPatternDTO> getPattern(Long id) {
+        return rotationPatternRepository.findById(id).map(RotationPatternDTO::of);
+    }
+
+    /**
+     * Create a pattern for a staff member, if the staff member exists
+     *
+     * @throws IllegalArgumentException if a slot is not a known shift code or "-"
+     */
+    @Transactional
+    public Optional<RotationPatternDTO> createPattern(Long staffId, String name, List<String> slots,
+                                                      LocalDate validFrom, LocalDate validUntil) {
+        String encoded = encodeSlots(slots);
+        return staffRepository.findById(staffId).map(staff -> {
+            RotationPattern pattern = new RotationPattern();
+            pattern.setStaff(staff);
+            pattern.setName(name);
+            pattern.setSlots(encoded);
+            pattern.setValidFrom(validFrom);
+            pattern.setValidUntil(validUntil);
+            return RotationPatternDTO.of(rotationPatternRepository.save(pattern));
+        });
+    }
+
+    /**
+     * Update name, slots, validity and active flag; null values are left unchanged
+     *
+     * @throws IllegalArgumentException if a slot is not a known shift code or "-"
+     */
+    @Transactional
+    public Optional<RotationPatternDTO> updatePattern(Long id, String name, List<String> slots,
+                                                      LocalDate validFrom, LocalDate validUntil, Boolean isActive) {
+        String encoded = slots != null ? encodeSlots(slots) : null;
+        return rotationPatternRepository.findById(id).map(pattern -> {
+            if (name != null) {
+                pattern.setName(name);
+            }
+            if (encoded != null) {
+                pattern.setSlots(encoded);
+            }
+            if (validFrom != null) {
+                pattern.setValidFrom(validFrom);
+            }
+            if (validUntil != null) {
+                pattern.setValidUntil(validUntil);
+            }
+            if (isActive != null) {
+                pattern.setIsActive(isActive);
+            }
+            return RotationPatternDTO.of(rotationPatternRepository.save(pattern));
+        });
+    }
+
+    @Transactional
+    public boolean deletePattern(Long id) {
+        if (!rotationPatternRepository.existsById(id)) {
+            return false;
+        }
+        rotationPatternRepository.deleteById(id);
+        return true;
+    }
+
+    /**
+     * Expand the active patterns of active staff into schedule entries for a date range.
+     * Missing weeks are created; days that already have an entry are skipped.
+     *
+     * @param staffIds restrict to these staff members; all staff if null or empty
+     */
+    @Transactional
+    @UseWorkload(Workload.BATCH)
+    public RotationExpansionResultDTO expand(LocalDate startDate, LocalDate endDate, List<Long> staffIds) {
+        boolean allStaff = staffIds == null || staffIds.isEmpty();
+        List<Object[]> patterns = rotationPatternRepository.findExpansionRows(startDate, endDate,
+                allStaff, allStaff ? NO_STAFF_FILTER : staffIds);
+        if (patterns.isEmpty()) {
+            return new RotationExpansionResultDTO(startDate, endDate, 0, 0, 0, 0);
+        }
+
+        Map<String, ShiftType> catalogue = shiftCatalogService.getShiftTypesByCode();
+        WeekProvisioningService.Weeks weeks = weekProvisioningService.ensureWeeks(startDate, endDate);
+
+        Set<Long> occupied = new HashSet<>();
+        try (Stream<Object[]> rows = scheduleEntryRepository.streamOccupiedSlots(startDate, endDate)) {
+            rows.forEach(row -> occupied.add(slotKey((Long) row[0], (LocalDate) row[1])));
+        }
+
+        ScheduleEntryBatchWriter.Batch batch = batchWriter.open(auditorProvider.getCurrentAuditor().orElse("system"));
+        Set<Long> touchedWeeks = new HashSet<>();
+        int skipped = 0;
+        for (Object[] row : patterns) {
+            Long staffId = (Long) row[0];
+            ShiftType[] cycle = decodeSlots((String) row[1], catalogue);
+            LocalDate validFrom = (LocalDate) row[2];
+            LocalDate validUntil = (LocalDate) row[3];
+            LocalDate last = validUntil != null && validUntil.isBefore(endDate) ? validUntil : endDate;
+
+            for (LocalDate day = validFrom.isAfter(startDate) ? validFrom : startDate;
+                 !day.isAfter(last); day = day.plusDays(1)) {
+                if (!occupied.add(slotKey(staffId, day))) {
+                    skipped++;
+                    continue;
+                }
+                ShiftType shift = cycle[(int) Math.floorMod(day.toEpochDay() - validFrom.toEpochDay(), cycle.length)];
+                WeeklySchedule week = weeks.forDay(day);
+                touchedWeeks.add(week.getId());
+                batch.add(shift == null
+                        ? new NewEntry(week.getId(), staffId, day, null, null, null, "frei")
+                        : new NewEntry(week.getId(), staffId, day, shift.getStartTime(), shift.getEndTime(),
+                                shift.getId(), "normal"));
+            }
+        }
+        int written = batch.flush();
+        log.info("Expanded {} rotation patterns for {} to {}: {} entries, {} days already planned",
+                patterns.size(), startDate, endDate, written, skipped);
+
+        if (written > 0) {
+            eventPublisher.publishEvent(new ScheduleEntriesBulkChangedEvent(touchedWeeks, startDate, endDate,
+                    allStaff ? Set.of() : new HashSet<>(staffIds)));
+        }
+        return new RotationExpansionResultDTO(startDate, endDate, patterns.size(), weeks.created(), written, skipped);
+    }
+
+    private String encodeSlots(List<String> slots) {
+        if (slots == null || slots.isEmpty()) {
+            throw new IllegalArgumentException("A rotation pattern needs at least one slot");
+        }
+        Set<String> codes = shiftCatalogService.getShiftTypesByCode().keySet();
+        List<String> normalized = slots.stream().map(ShiftCatalogService::normalizeCode).toList();
+        for (String code : normalized) {
+            if (!RotationPattern.FREE_SLOT.equals(code) && !codes.contains(code)) {
+                throw new IllegalArgumentException("Unknown shift code: " + code);
+            }
+        }
+        return String.join(",", normalized);
+    }
+
+    /**
+     * One catalogue shift per cycle day, null for a free day or a code no longer in the catalogue
+     */
+    private static ShiftType[] decodeSlots(String slots, Map<String, ShiftType> catalogue) {
+        String[] codes = slots.split(",");
+        ShiftType[] cycle = new ShiftType[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            cycle[i] = catalogue.get(codes[i]);
+        }
+        return cycle;
+    }
+
+    private static long slotKey(Long staffId, LocalDate day) {
+        return (staffId << 32) | day.toEpochDay();
+    }
+}
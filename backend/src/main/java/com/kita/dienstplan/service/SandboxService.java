@@ -0,0 +1,369 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
+import com.kita.dienstplan.dto.DailyTotalDTO;
+import com.kita.dienstplan.dto.SandboxCommitResultDTO;
+import com.kita.dienstplan.dto.SandboxDTO;
+import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.event.StaffChangedEvent;
+import com.kita.dienstplan.exception.SandboxConflictException;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import com.kita.dienstplan.sandbox.SandboxEntry;
+import com.kita.dienstplan.sandbox.WeekOverlay;
+import com.kita.dienstplan.sandbox.WeekSnapshot;
+import com.kita.dienstplan.staffing.WeekStaffing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * What-if sandboxes over a week.
+ * A sandbox is a WeekOverlay on a WeekSnapshot that is shared by all sandboxes of the week, so an open
+ * sandbox costs only its own edits. Edits stay in memory; totals and staffing coverage are computed
+ * from the overlay. commit() writes the net diff in one transaction, after checking that none of the
+ * entries it touches was changed by someone else since the snapshot was read.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class SandboxService {
+
+    private final WeeklyScheduleRepository weeklyScheduleRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final StaffRepository staffRepository;
+    private final AbsenceRepository absenceRepository;
+    private final ComplianceService complianceService;
+    private final HolidayCalendarService holidayCalendarService;
+    private final StaffingRuleService staffingRuleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long idleNanos;
+    private final int maxOpen;
+
+    private final Map<String, WeekOverlay> sandboxes = new ConcurrentHashMap<>();
+    private final Map<Long, WeekSnapshot> snapshots = new ConcurrentHashMap<>();
+    // Bumped on every eviction, so a snapshot read while a change committed is not shared
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public SandboxService(WeeklyScheduleRepository weeklyScheduleRepository,
+                          ScheduleEntryRepository scheduleEntryRepository,
+                          StaffRepository staffRepository,
+                          AbsenceRepository absenceRepository,
+                          ComplianceService complianceService,
+                          HolidayCalendarService holidayCalendarService,
+                          StaffingRuleService staffingRuleService,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${sandbox.idle-ttl-minutes:120}") long idleMinutes,
+                          @Value("${sandbox.max-open:50}") int maxOpen) {
+        this.weeklyScheduleRepository = weeklyScheduleRepository;
+        this.scheduleEntryRepository = scheduleEntryRepository;
+        this.staffRepository = staffRepository;
+        this.absenceRepository = absenceRepository;
+        this.complianceService = complianceService;
+        this.holidayCalendarService = holidayCalendarService;
+        this.staffingRuleService = staffingRuleService;
+        this.eventPublisher = eventPublisher;
+        this.idleNanos = Duration.ofMinutes(idleMinutes).toNanos();
+        this.maxOpen = maxOpen;
+    }
+
+    /**
+     * Open a sandbox on a week, if the week exists
+     */
+    public Optional<SandboxDTO> open(Integer year, Integer weekNumber) {
+        return weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .filter(week -> week.getStartDate() != null)
+                .map(week -> {
+                    expireIdle();
+                    if (sandboxes.size() >= maxOpen) {
+                        sandboxes.values().stream()
+                                .min(Comparator.comparingLong(WeekOverlay::getLastAccess))
+                                .ifPresent(oldest -> sandboxes.remove(oldest.getId()));
+                    }
+                    WeekOverlay overlay = new WeekOverlay(UUID.randomUUID().toString(), snapshot(week));
+                    sandboxes.put(overlay.getId(), overlay);
+                    log.debug("Opened sandbox {} on week {}/{}", overlay.getId(), weekNumber, year);
+                    return view(overlay);
+                });
+    }
+
+    public Optional<SandboxDTO> get(String id) {
+        return sandbox(id).map(this::view);
+    }
+
+    /**
+     * Add an entry to a sandbox
+     *
+     * @param dayOfWeek 0 = Monday ... 6 = Sunday
+     * @throws IllegalArgumentException for an unknown staff member, an invalid day or an occupied day
+     */
+    public Optional<SandboxDTO> addEntry(String id, Long staffId, Integer dayOfWeek, LocalTime startTime,
+                                         LocalTime endTime, String status, String notes, Short shiftTypeId) {
+        return sandbox(id).map(overlay -> {
+            overlay.add(staffId, dayOfWeek, startTime, endTime, status, notes, shiftTypeId);
+            return view(overlay);
+        });
+    }
+
+    /**
+     * Edit an entry of a sandbox; null values are left unchanged. Empty if the sandbox or entry is unknown.
+     */
+    public Optional<SandboxDTO> updateEntry(String id, Long entryId, LocalTime startTime, LocalTime endTime,
+                                            String status, String notes, Short shiftTypeId) {
+        return sandbox(id)
+                .filter(overlay -> overlay.update(entryId, startTime, endTime, status, notes, shiftTypeId) != null)
+                .map(this::view);
+    }
+
+    /**
+     * Remove an entry from a sandbox. Empty if the sandbox or entry is unknown.
+     */
+    public Optional<SandboxDTO> deleteEntry(String id, Long entryId) {
+        return sandbox(id)
+                .filter(overlay -> overlay.remove(entryId))
+                .map(this::view);
+    }
+
+    public boolean discard(String id) {
+        return sandboxes.remove(id) != null;
+    }
+
+    /**
+     * Write a sandbox's net changes in one transaction and close it
+     *
+     * @throws SandboxConflictException if an entry it changes was changed or deleted since the sandbox was opened
+     */
+    @Transactional
+    public Optional<SandboxCommitResultDTO> commit(String id) {
+        Optional<WeekOverlay> sandbox = sandbox(id);
+        if (sandbox.isEmpty()) {
+            return Optional.empty();
+        }
+        WeekOverlay overlay = sandbox.get();
+        WeekSnapshot base = overlay.getBase();
+        WeekOverlay.Diff diff = overlay.diff();
+        if (diff.isEmpty()) {
+            sandboxes.remove(id);
+            return Optional.of(new SandboxCommitResultDTO(base.getWeeklyScheduleId(), 0, 0, 0, List.of()));
+        }
+
+        // Optimistic check: every touched entry must still be as the snapshot read it
+        List<Long> touched = new ArrayList<>();
+        diff.updated().forEach(entry -> touched.add(entry.id()));
+        diff.deleted().forEach(entry -> touched.add(entry.id()));
+        Map<Long, ScheduleEntry> current = scheduleEntryRepository.findAllById(touched).stream()
+                .collect(Collectors.toMap(ScheduleEntry::getId, Function.identity()));
+        for (Long entryId : touched) {
+            ScheduleEntry entry = current.get(entryId);
+            if (entry == null || !Objects.equals(entry.getUpdatedAt(), base.entry(entryId).updatedAt())) {
+                throw new SandboxConflictException("Schedule entry " + entryId + " was changed since the sandbox was opened");
+            }
+        }
+
+        List<ScheduleEntryChangedEvent> events = new ArrayList<>();
+        // Deletes first, so an entry can be removed and re-added on the same day
+        if (!diff.deleted().isEmpty()) {
+            List<Long> deletedIds = diff.deleted().stream().map(SandboxEntry::id).toList();
+            deletedIds.forEach(entryId -> {
+                ScheduleEntry entry = current.get(entryId);
+                events.add(ScheduleEntryChangedEvent.of(entry, EntryState.of(entry), null));
+            });
+            scheduleEntryRepository.deleteAllByIdInBatch(deletedIds);
+        }
+        List<ScheduleEntry> written = new ArrayList<>();
+        List<EntryState> before = new ArrayList<>();
+        for (SandboxEntry change : diff.updated()) {
+            ScheduleEntry entry = current.get(change.id());
+            before.add(EntryState.of(entry));
+            apply(entry, change);
+            written.add(entry);
+        }
+        WeeklySchedule week = weeklyScheduleRepository.getReferenceById(base.getWeeklyScheduleId());
+        for (SandboxEntry change : diff.added()) {
+            ScheduleEntry entry = new ScheduleEntry();
+            entry.setWeeklySchedule(week);
+            entry.setStaff(staffRepository.getReferenceById(change.staffId()));
+            entry.setDayOfWeek(change.dayOfWeek());
+            entry.setWorkDate(change.workDate());
+            apply(entry, change);
+            written.add(entry);
+            before.add(null);
+        }
+        scheduleEntryRepository.saveAll(written);
+        scheduleEntryRepository.flush();
+
+        // Checked against the written week; in block mode a violation rolls the whole commit back
+        List<ComplianceViolationDTO> violations = new ArrayList<>();
+        for (int i = 0; i < written.size(); i++) {
+            ScheduleEntry entry = written.get(i);
+            violations.addAll(complianceService.checkEntry(entry));
+            events.add(ScheduleEntryChangedEvent.of(entry, before.get(i), EntryState.of(entry)));
+        }
+        events.forEach(eventPublisher::publishEvent);
+        sandboxes.remove(id);
+        log.info("Committed sandbox {} on week {}/{}: {} created, {} updated, {} deleted", id,
+                base.getWeekNumber(), base.getYear(), diff.added().size(), diff.updated().size(), diff.deleted().size());
+        return Optional.of(new SandboxCommitResultDTO(base.getWeeklyScheduleId(), diff.added().size(),
+                diff.updated().size(), diff.deleted().size(), violations));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onScheduleEntryChanged(ScheduleEntryChangedEvent event) {
+        generation.incrementAndGet();
+        snapshots.remove(event.getWeeklyScheduleId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onScheduleEntriesBulkChanged(ScheduleEntriesBulkChangedEvent event) {
+        generation.incrementAndGet();
+        snapshots.entrySet().removeIf(snapshot -> event.getWeeklyScheduleIds().contains(snapshot.getKey())
+                || (!snapshot.getValue().getMonday().isAfter(event.getEndDate())
+                && !snapshot.getValue().getMonday().plusDays(6).isBefore(event.getStartDate())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onStaffChanged(StaffChangedEvent event) {
+        generation.incrementAndGet();
+        snapshots.clear();
+    }
+
+    private Optional<WeekOverlay> sandbox(String id) {
+        expireIdle();
+        WeekOverlay overlay = sandboxes.get(id);
+        if (overlay != null) {
+            overlay.touch();
+        }
+        return Optional.ofNullable(overlay);
+    }
+
+    private void expireIdle() {
+        long now = System.nanoTime();
+        sandboxes.values().removeIf(overlay -> now - overlay.getLastAccess() > idleNanos);
+        // Snapshots no open sandbox refers to are read again on the next open
+        snapshots.values().removeIf(snapshot -> sandboxes.values().stream()
+                .noneMatch(overlay -> overlay.getBase() == snapshot));
+    }
+
+    private WeekSnapshot snapshot(WeeklySchedule week) {
+        WeekSnapshot snapshot = snapshots.get(week.getId());
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long before = generation.get();
+        snapshot = WeekSnapshot.of(week, scheduleEntryRepository.findSandboxRows(week.getId()),
+                staffRepository.findActiveAvailabilityRows(),
+                AbsenceIndex.of(absenceRepository.findOverlapping(week.getStartDate(), week.getStartDate().plusDays(6))));
+        if (generation.get() == before) {
+            snapshots.put(week.getId(), snapshot);
+        }
+        return snapshot;
+    }
+
+    private static void apply(ScheduleEntry entry, SandboxEntry change) {
+        entry.setStartTime(change.startTime());
+        entry.setEndTime(change.endTime());
+        entry.setStatus(change.status());
+        entry.setNotes(change.notes());
+        entry.setShiftTypeId(change.shiftTypeId());
+    }
+
+    private SandboxDTO view(WeekOverlay overlay) {
+        WeekSnapshot base = overlay.getBase();
+        LocalDate monday = base.getMonday();
+        List<SandboxEntry> entries = overlay.entries();
+
+        List<ScheduleEntryDTO> dtos = new ArrayList<>(entries.size());
+        List<Object[]> staffingRows = new ArrayList<>(entries.size());
+        for (SandboxEntry entry : entries) {
+            WeekSnapshot.StaffInfo staff = base.staff(entry.staffId());
+            dtos.add(toDTO(base, entry, staff));
+            staffingRows.add(new Object[]{entry.staffId(), staff.groupId() != 0L ? staff.groupId() : null,
+                    staff.role(), staff.praktikant(), entry.workDate(), entry.status(),
+                    ScheduleEntry.minuteOfDay(entry.startTime()), ScheduleEntry.minuteOfDay(entry.endTime())});
+        }
+        dtos = base.getAbsences().overlayEntries(dtos, monday, monday.plusDays(6), null, base.getWeeklyScheduleId());
+
+        WeekStaffing staffing = WeekStaffing.build(staffingRuleService.compiledRules(), monday, staffingRows,
+                base.getAbsences());
+        return new SandboxDTO(overlay.getId(), base.getWeeklyScheduleId(), base.getWeekNumber(), base.getYear(),
+                overlay.changeCount(), dtos, dailyTotals(base, dtos),
+                StaffingRuleService.report(base.getWeeklyScheduleId(), base.getWeekNumber(), base.getYear(), staffing));
+    }
+
+    private static ScheduleEntryDTO toDTO(WeekSnapshot base, SandboxEntry entry, WeekSnapshot.StaffInfo staff) {
+        ScheduleEntryDTO dto = new ScheduleEntryDTO();
+        dto.setId(entry.id());
+        dto.setWeeklyScheduleId(base.getWeeklyScheduleId());
+        dto.setStaffId(entry.staffId());
+        dto.setStaffName(staff.fullName());
+        dto.setStaffRole(staff.role());
+        dto.setGroupName(staff.groupName());
+        dto.setDayOfWeek(entry.dayOfWeek());
+        dto.setWorkDate(entry.workDate());
+        dto.setStartTime(entry.startTime());
+        dto.setEndTime(entry.endTime());
+        dto.setStatus(entry.status());
+        dto.setWorkingHoursMinutes(entry.workingMinutes());
+        dto.setBreakMinutes(entry.breakMinutes());
+        dto.setNotes(entry.notes());
+        dto.setShiftTypeId(entry.shiftTypeId());
+        dto.setWorkingHoursFormatted();
+        dto.setBreakTimeFormatted();
+        return dto;
+    }
+
+    /**
+     * Daily totals with the semantics of ScheduleEntryRepository.getDailyTotals
+     */
+    private List<DailyTotalDTO> dailyTotals(WeekSnapshot base, List<ScheduleEntryDTO> entries) {
+        Map<Integer, DailyTotalDTO> byDay = new TreeMap<>();
+        for (ScheduleEntryDTO entry : entries) {
+            WeekSnapshot.StaffInfo staff = base.staff(entry.getStaffId());
+            boolean praktikant = staff != null && staff.praktikant();
+            int minutes = entry.getWorkingHoursMinutes() != null ? entry.getWorkingHoursMinutes() : 0;
+            DailyTotalDTO total = byDay.computeIfAbsent(entry.getDayOfWeek(), day ->
+                    new DailyTotalDTO(day, entry.getWorkDate(), null, 0, 0, null, null, 0L, 0L));
+            total.setTotalMinutesWithoutPraktikanten(total.getTotalMinutesWithoutPraktikanten() + (praktikant ? 0 : minutes));
+            total.setTotalMinutesWithPraktikanten(total.getTotalMinutesWithPraktikanten() + minutes);
+            total.setStaffCountWithoutPraktikanten(total.getStaffCountWithoutPraktikanten() + (praktikant ? 0 : 1));
+            total.setTotalStaffCount(total.getTotalStaffCount() + 1);
+        }
+        byDay.values().forEach(total -> {
+            total.setSpecialDayKind(holidayCalendarService.dayKind(total.getWorkDate()));
+            total.setSpecialDayName(holidayCalendarService.dayName(total.getWorkDate()));
+            total.setDayNameFromNumber();
+            total.setFormattedHours();
+        });
+        return new ArrayList<>(byDay.values());
+    }
+}
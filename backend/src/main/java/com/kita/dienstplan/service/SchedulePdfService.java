@@ -0,0 +1,205 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.datasource.UseWorkload;
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.dto.WeekMatrixDTO;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.pdf.DienstplanPdfRenderer;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Printable Dienstplan PDFs per week.
+ * Output is cached per week and content version, so reprinting an unchanged week
+ * costs one small aggregate query. Batches load their data sequentially in the
+ * calling transaction and render the cache misses in parallel.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SchedulePdfService {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyMMdd");
+
+    private final WeeklyScheduleRepository weeklyScheduleRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final AbsenceRepository absenceRepository;
+    private final ArchiveService archiveService;
+    private final DienstplanPdfRenderer renderer;
+    private final ExecutorService renderPool;
+    private final Map<Long, RenderedWeek> cache;
+
+    @Autowired
+    public SchedulePdfService(WeeklyScheduleRepository weeklyScheduleRepository,
+                              ScheduleEntryRepository scheduleEntryRepository,
+                              AbsenceRepository absenceRepository,
+                              ArchiveService archiveService,
+                              DienstplanPdfRenderer renderer,
+                              @Value("${pdf.dienstplan.threads:0}") int threads,
+                              @Value("${pdf.dienstplan.cache-size:256}") int cacheSize) {
+        this.weeklyScheduleRepository = weeklyScheduleRepository;
+        this.scheduleEntryRepository = scheduleEntryRepository;
+        this.absenceRepository = absenceRepository;
+        this.archiveService = archiveService;
+        this.renderer = renderer;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.renderPool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "pdf-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Access-ordered LRU, bounded so a full-year batch cannot grow it without limit
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RenderedWeek> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    private record RenderedWeek(String version, byte[] pdf) {
+    }
+
+    /**
+     * PDF for a single week, if the week exists
+     */
+    public Optional<byte[]> renderWeek(Integer weekNumber, Integer year) {
+        return weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .map(week -> renderWeeks(List.of(week)).get(week));
+    }
+
+    /**
+     * PDFs for all weeks of a year, keyed by file name in PDienstplan style, ordered by week
+     */
+    @UseWorkload(Workload.REPORTING)
+    public Map<String, byte[]> renderYear(Integer year) {
+        List<WeeklySchedule> weeks = new ArrayList<>(weeklyScheduleRepository.findByYearOrderByWeekNumberDesc(year));
+        weeks.sort(Comparator.comparing(WeeklySchedule::getWeekNumber));
+
+        Map<WeeklySchedule, byte[]> rendered = renderWeeks(weeks);
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        rendered.forEach((week, pdf) -> files.put(fileName(week), pdf));
+        return files;
+    }
+
+    /**
+     * Render a batch of weeks, reusing cached output for weeks whose content version is unchanged
+     */
+    public Map<WeeklySchedule, byte[]> renderWeeks(List<WeeklySchedule> weeks) {
+        Map<Long, String> versions = versions(weeks);
+
+        Map<WeeklySchedule, byte[]> result = new LinkedHashMap<>();
+        Map<WeeklySchedule, CompletableFuture<byte[]>> pending = new LinkedHashMap<>();
+        AbsenceIndex absences = null;
+        for (WeeklySchedule week : weeks) {
+            String version = versions.get(week.getId());
+            RenderedWeek cached = cache.get(week.getId());
+            if (cached != null && cached.version().equals(version)) {
+                result.put(week, cached.pdf());
+                continue;
+            }
+            // Load in this thread (inside the transaction), render on the pool
+            if (absences == null) {
+                absences = absences(weeks);
+            }
+            List<Object[]> rows = week.getArchivedAt() != null
+                    ? archiveService.findWeekMatrixRows(week)
+                    : scheduleEntryRepository.findWeekMatrixRows(week.getId());
+            WeekMatrixDTO matrix = WeekMatrixDTO.fromRows(week, absences.overlayMatrixRows(week, rows));
+            result.put(week, null);
+            pending.put(week, CompletableFuture.supplyAsync(() -> renderer.render(matrix), renderPool));
+        }
+
+        pending.forEach((week, future) -> {
+            byte[] pdf = future.join();
+            cache.put(week.getId(), new RenderedWeek(versions.get(week.getId()), pdf));
+            result.put(week, pdf);
+        });
+        return result;
+    }
+
+    /**
+     * Absence ranges of a whole batch, loaded once on the first cache miss
+     */
+    private AbsenceIndex absences(List<WeeklySchedule> weeks) {
+        List<WeeklySchedule> dated = weeks.stream().filter(week -> week.getStartDate() != null).toList();
+        if (dated.isEmpty()) {
+            return AbsenceIndex.empty();
+        }
+        WeeklySchedule first = Collections.min(dated, Comparator.comparing(WeeklySchedule::getStartDate));
+        WeeklySchedule last = Collections.max(dated, Comparator.comparing(WeeklySchedule::getStartDate));
+        return AbsenceIndex.of(absenceRepository.findOverlapping(first.getStartDate(), last.getStartDate().plusDays(6)));
+    }
+
+    /**
+     * Drop the cached PDF of a week once one of its entries changed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleEntryChanged(ScheduleEntryChangedEvent event) {
+        if (event.getWeeklyScheduleId() != null) {
+            cache.remove(event.getWeeklyScheduleId());
+        }
+    }
+
+    /**
+     * Drop the cached PDFs of all weeks touched by a set-based write
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleEntriesBulkChanged(ScheduleEntriesBulkChangedEvent event) {
+        event.getWeeklyScheduleIds().forEach(cache::remove);
+    }
+
+    /**
+     * PDienstplan-style file name, e.g. "PDienstplan 250901-250905.pdf"
+     */
+    public static String fileName(WeeklySchedule week) {
+        return "PDienstplan " + FILE_DATE.format(week.getStartDate()) + "-"
+                + FILE_DATE.format(week.getStartDate().plusDays(4)) + ".pdf";
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    private Map<Long, String> versions(List<WeeklySchedule> weeks) {
+        Map<Long, String> versions = new HashMap<>();
+        for (WeeklySchedule week : weeks) {
+            versions.put(week.getId(), week.getUpdatedAt() + "|empty");
+        }
+        if (weeks.isEmpty()) {
+            return versions;
+        }
+        Map<Long, WeeklySchedule> byId = weeks.stream()
+                .collect(Collectors.toMap(WeeklySchedule::getId, week -> week));
+        for (Object[] row : scheduleEntryRepository.findWeekVersionStamps(byId.keySet())) {
+            Long weekId = (Long) row[0];
+            versions.put(weekId, byId.get(weekId).getUpdatedAt() + "|" + row[1] + "|" + row[2]
+                    + "|" + row[3] + "|" + row[4]);
+        }
+        return versions;
+    }
+}
@@ -1,24 +1,51 @@
 package com.kita.dienstplan.service;
 
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
 import com.kita.dienstplan.dto.DailyTotalDTO;
 import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.dto.WeekMatrixDTO;
+import com.kita.dienstplan.dto.WeeklyStaffTotalDTO;
+import com.kita.dienstplan.entity.EntryStatus;
 import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.ShiftType;
 import com.kita.dienstplan.entity.Staff;
 import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.exception.ArchivedWeekException;
+import com.kita.dienstplan.repository.AbsenceRepository;
 import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.ShiftTypeRepository;
 import com.kita.dienstplan.repository.StaffRepository;
 import com.kita.dienstplan.repository.WeeklyScheduleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
  * Service for schedule management
+ * All entry writes go through this service so a ScheduleEntryChangedEvent is published for each change
+ * Writes are checked against working-time rules first (see ComplianceService for warn/block modes)
+ * An entry planned as a catalogue shift takes the shift's times unless times are given explicitly
+ * Holidays and closure days are resolved through HolidayCalendarService's O(1) per-year lookup
+ * Absence ranges are merged into every read on the fly (see AbsenceIndex); they are never expanded into rows
+ * Entries of archived weeks are read from the archive segments (see ArchiveService); such weeks take no new entries
  */
 @Service
 @RequiredArgsConstructor
@@ -28,15 +55,46 @@ public class ScheduleService {
     private final ScheduleEntryRepository scheduleEntryRepository;
     private final WeeklyScheduleRepository weeklyScheduleRepository;
     private final StaffRepository staffRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ComplianceService complianceService;
+    private final ShiftTypeRepository shiftTypeRepository;
+    private final HolidayCalendarService holidayCalendarService;
+    private final AbsenceRepository absenceRepository;
+    private final ArchiveService archiveService;
 
     /**
      * Get all schedule entries for a specific week
      */
     public List<ScheduleEntryDTO> getScheduleForWeek(Integer weekNumber, Integer year) {
         List<ScheduleEntry> entries = scheduleEntryRepository.findByWeekNumberAndYear(weekNumber, year);
-        return entries.stream()
+        List<ScheduleEntryDTO> dtos = entries.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .filter(week -> week.getStartDate() != null)
+                .map(week -> AbsenceIndex.of(absenceRepository.findOverlapping(week.getStartDate(),
+                                week.getStartDate().plusDays(6)))
+                        .overlayEntries(weekEntries(week, dtos, null), week.getStartDate(),
+                                week.getStartDate().plusDays(6), null, week.getId()))
+                .orElse(dtos);
+    }
+
+    /**
+     * Get the compact staff x day matrix for a week.
+     * Built in one pass from a scalar projection, without per-cell DTOs.
+     */
+    public Optional<WeekMatrixDTO> getWeekMatrix(Integer weekNumber, Integer year) {
+        return weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .map(schedule -> {
+                    WeekMatrixDTO matrix = WeekMatrixDTO.fromRows(
+                            schedule,
+                            overlayAbsences(schedule, matrixRows(schedule)));
+                    for (WeekMatrixDTO.DayColumn day : matrix.getDays()) {
+                        day.setSpecialDayKind(holidayCalendarService.dayKind(day.getWorkDate()));
+                        day.setSpecialDayName(holidayCalendarService.dayName(day.getWorkDate()));
+                    }
+                    return matrix;
+                });
     }
 
     /**
@@ -44,9 +102,16 @@ public class ScheduleService {
      */
     public List<ScheduleEntryDTO> getScheduleForStaffInWeek(Long staffId, Integer weekNumber, Integer year) {
         List<ScheduleEntry> entries = scheduleEntryRepository.findByStaffAndWeek(staffId, weekNumber, year);
-        return entries.stream()
+        List<ScheduleEntryDTO> dtos = entries.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        return weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .filter(week -> week.getStartDate() != null)
+                .map(week -> AbsenceIndex.of(absenceRepository.findOverlappingForStaff(staffId, week.getStartDate(),
+                                week.getStartDate().plusDays(6)))
+                        .overlayEntries(weekEntries(week, dtos, staffId), week.getStartDate(),
+                                week.getStartDate().plusDays(6), staffId, week.getId()))
+                .orElse(dtos);
     }
 
     /**
@@ -54,9 +119,17 @@ public class ScheduleService {
      */
     public List<ScheduleEntryDTO> getScheduleForDate(LocalDate date) {
         List<ScheduleEntry> entries = scheduleEntryRepository.findByWorkDateOrderByStaff_FullName(date);
-        return entries.stream()
+        List<ScheduleEntryDTO> dtos = entries.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        List<ScheduleEntryDTO> archived = archivedEntries(date, date);
+        if (!archived.isEmpty()) {
+            dtos.addAll(archived);
+            dtos.sort(Comparator.comparing(ScheduleEntryDTO::getStaffName,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return AbsenceIndex.of(absenceRepository.findOverlapping(date, date))
+                .overlayEntries(dtos, date, date, null, null);
     }
 
     /**
@@ -64,17 +137,82 @@ public class ScheduleService {
      */
     public List<ScheduleEntryDTO> getWhoIsWorkingAt(LocalDate date, LocalTime time) {
         List<ScheduleEntry> entries = scheduleEntryRepository.findWhoIsWorkingAt(date, time);
-        return entries.stream()
+        AbsenceIndex absences = AbsenceIndex.of(absenceRepository.findOverlapping(date, date));
+        List<ScheduleEntryDTO> working = entries.stream()
+                .filter(entry -> absences.isEmpty() || absences.covering(entry.getStaff().getId(), date) == null)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        List<ScheduleEntryDTO> archived = archivedEntries(date, date).stream()
+                .filter(dto -> "normal".equals(dto.getStatus()) && dto.getStartTime() != null
+                        && dto.getEndTime() != null && !dto.getStartTime().isAfter(time)
+                        && !dto.getEndTime().isBefore(time))
+                .filter(dto -> absences.isEmpty() || absences.covering(dto.getStaffId(), date) == null)
+                .toList();
+        if (!archived.isEmpty()) {
+            working.addAll(archived);
+            working.sort(Comparator.comparing(ScheduleEntryDTO::getStaffName,
+                    Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        return working;
+    }
+
+    /**
+     * Entries with a status in a date range (e.g. all sick days), absence ranges included.
+     * Range days are reported where no entry exists or a planned 'normal' entry is overlaid;
+     * the latter keep that entry's id. Ordered by date, then staff name.
+     */
+    public List<ScheduleEntryDTO> getEntriesByStatus(String status, LocalDate startDate, LocalDate endDate) {
+        List<ScheduleEntryDTO> result = scheduleEntryRepository.findByStatusAndDateRange(status, startDate, endDate)
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toCollection(ArrayList::new));
+        List<ScheduleEntryDTO> archived = archivedEntries(startDate, endDate).stream()
+                .filter(dto -> status.equalsIgnoreCase(dto.getStatus()))
+                .toList();
+        if (!archived.isEmpty()) {
+            result.addAll(archived);
+            result.sort(Comparator.comparing(ScheduleEntryDTO::getWorkDate)
+                    .thenComparing(ScheduleEntryDTO::getStaffName, Comparator.nullsLast(Comparator.naturalOrder())));
+        }
+        AbsenceIndex absences = AbsenceIndex.of(absenceRepository.findOverlapping(startDate, endDate).stream()
+                .filter(absence -> absence.getStatus().equalsIgnoreCase(status))
+                .toList());
+        if (absences.isEmpty()) {
+            return result;
+        }
+
+        // Slots already taken by an entry; a 'normal' entry is overlaid and lends its id and week
+        Map<Long, Object[]> slots = new HashMap<>();
+        scheduleEntryRepository.findStatusSlots(absences.staffIds(), startDate, endDate)
+                .forEach(row -> slots.put(AbsenceIndex.slotKey((Long) row[1], (LocalDate) row[2]), row));
+        absences.forEachDay(startDate, endDate, (absence, day) -> {
+            Object[] slot = slots.get(AbsenceIndex.slotKey(absence.getStaff().getId(), day));
+            if (slot == null || "normal".equalsIgnoreCase((String) slot[3])) {
+                ScheduleEntryDTO dto = AbsenceIndex.entryFor(absence, day, slot != null ? (Long) slot[4] : null);
+                dto.setId(slot != null ? (Long) slot[0] : null);
+                dto.setSpecialDay(holidayCalendarService.dayName(day));
+                result.add(dto);
+            }
+        });
+        result.sort(Comparator.comparing(ScheduleEntryDTO::getWorkDate)
+                .thenComparing(ScheduleEntryDTO::getStaffName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
     }
 
     /**
      * Get daily totals for a week
      */
     public List<DailyTotalDTO> getDailyTotals(Integer weekNumber, Integer year) {
-        List<Object[]> results = scheduleEntryRepository.getDailyTotals(weekNumber, year);
-        
+        Optional<WeeklySchedule> week = weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .filter(schedule -> schedule.getStartDate() != null);
+        AbsenceIndex absences = week
+                .map(schedule -> AbsenceIndex.of(absenceRepository.findOverlapping(schedule.getStartDate(),
+                        schedule.getStartDate().plusDays(6))))
+                .orElse(AbsenceIndex.empty());
+        List<Object[]> results = absences.isEmpty() && !isArchived(week)
+                ? scheduleEntryRepository.getDailyTotals(weekNumber, year)
+                : dailyTotalRows(week.get(), absences.overlayMatrixRows(week.get(), matrixRows(week.get())));
+
         return results.stream()
                 .map(row -> {
                     DailyTotalDTO dto = new DailyTotalDTO();
@@ -84,6 +222,8 @@ public class ScheduleService {
                     dto.setTotalMinutesWithPraktikanten(((Number) row[3]).intValue());
                     dto.setStaffCountWithoutPraktikanten((Long) row[4]);
                     dto.setTotalStaffCount((Long) row[5]);
+                    dto.setSpecialDayKind(holidayCalendarService.dayKind(dto.getWorkDate()));
+                    dto.setSpecialDayName(holidayCalendarService.dayName(dto.getWorkDate()));
                     dto.setDayNameFromNumber();
                     dto.setFormattedHours();
                     return dto;
@@ -91,17 +231,71 @@ public class ScheduleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get worked and break minutes and status days per staff member for a week
+     */
+    public List<WeeklyStaffTotalDTO> getWeeklyStaffTotals(Integer weekNumber, Integer year) {
+        Optional<WeeklySchedule> week = weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .filter(schedule -> schedule.getStartDate() != null);
+        AbsenceIndex absences = week
+                .map(schedule -> AbsenceIndex.of(absenceRepository.findOverlapping(schedule.getStartDate(),
+                        schedule.getStartDate().plusDays(6))))
+                .orElse(AbsenceIndex.empty());
+        List<Object[]> results = absences.isEmpty() && !isArchived(week)
+                ? scheduleEntryRepository.getWeeklyStaffTotals(weekNumber, year)
+                : weeklyStaffTotalRows(absences.overlayMatrixRows(week.get(), matrixRows(week.get())));
+
+        return results.stream()
+                .map(row -> {
+                    WeeklyStaffTotalDTO dto = new WeeklyStaffTotalDTO();
+                    dto.setStaffId((Long) row[0]);
+                    dto.setFullName((String) row[1]);
+                    dto.setRole((String) row[2]);
+                    dto.setGroupName((String) row[3]);
+                    dto.setTotalWorkingMinutes(row[4] != null ? ((Number) row[4]).intValue() : 0);
+                    dto.setTotalBreakMinutes(row[5] != null ? ((Number) row[5]).intValue() : 0);
+                    dto.setDaysWorked(((Number) row[6]).longValue());
+                    dto.setDaysSick(((Number) row[7]).longValue());
+                    dto.setDaysOff(((Number) row[8]).longValue());
+                    dto.setSchoolDays(((Number) row[9]).longValue());
+                    dto.setFormattedTotals();
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
     /**
      * Create a new schedule entry
+     *
+     * @throws ArchivedWeekException if the entry's week is archived
      */
     @Transactional
     public ScheduleEntryDTO createScheduleEntry(ScheduleEntry entry) {
-        // Validation happens in controller
+        // Validation happens in controller; working-time rules are checked here
+        if (entry.getWeeklySchedule() != null && entry.getWeeklySchedule().getArchivedAt() != null) {
+            throw new ArchivedWeekException("Week is archived; restore it before adding entries");
+        }
+        entry.setStatus(EntryStatus.canonical(entry.getStatus()));
+        if (entry.getStatus() == null && holidayCalendarService.isClosed(entry.getWorkDate())) {
+            entry.setStatus(HolidayCalendarService.HOLIDAY_STATUS);
+        }
+        if (entry.getShiftTypeId() != null) {
+            ShiftType shift = findShiftType(entry.getShiftTypeId());
+            if (entry.getStartTime() == null) {
+                entry.setStartTime(shift.getStartTime());
+            }
+            if (entry.getEndTime() == null) {
+                entry.setEndTime(shift.getEndTime());
+            }
+        }
+        List<ComplianceViolationDTO> violations = complianceService.checkEntry(entry);
         ScheduleEntry saved = scheduleEntryRepository.save(entry);
         // Flush to ensure data is persisted
         scheduleEntryRepository.flush();
+        eventPublisher.publishEvent(ScheduleEntryChangedEvent.of(saved, null, EntryState.of(saved)));
         // Convert to DTO immediately within transaction
         ScheduleEntryDTO dto = convertToDTO(saved);
+        dto.setViolations(violations);
         return dto;
     }
 
@@ -112,8 +306,15 @@ public class ScheduleService {
     public ScheduleEntryDTO updateScheduleEntry(Long id, ScheduleEntry updatedEntry) {
         ScheduleEntry existing = scheduleEntryRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Schedule entry not found"));
+        EntryState before = EntryState.of(existing);
 
-        // Update fields
+        // Update fields; a new shift type brings its times, explicit times still win
+        if (updatedEntry.getShiftTypeId() != null) {
+            ShiftType shift = findShiftType(updatedEntry.getShiftTypeId());
+            existing.setShiftTypeId(shift.getId());
+            existing.setStartTime(shift.getStartTime());
+            existing.setEndTime(shift.getEndTime());
+        }
         if (updatedEntry.getStartTime() != null) {
             existing.setStartTime(updatedEntry.getStartTime());
         }
@@ -121,15 +322,41 @@ public class ScheduleService {
             existing.setEndTime(updatedEntry.getEndTime());
         }
         if (updatedEntry.getStatus() != null) {
-            existing.setStatus(updatedEntry.getStatus());
+            existing.setStatus(EntryStatus.canonical(updatedEntry.getStatus()));
         }
         if (updatedEntry.getNotes() != null) {
             existing.setNotes(updatedEntry.getNotes());
         }
+        // A day off or hand-edited times no longer follow the catalogue shift
+        if (existing.getShiftTypeId() != null && updatedEntry.getShiftTypeId() == null
+                && !followsShift(existing)) {
+            existing.setShiftTypeId(null);
+        }
+
+        List<ComplianceViolationDTO> violations = complianceService.checkEntry(existing);
 
         // Save and return (auto-calculation happens in @PreUpdate)
         ScheduleEntry saved = scheduleEntryRepository.save(existing);
-        return convertToDTO(saved);
+        eventPublisher.publishEvent(ScheduleEntryChangedEvent.of(saved, before, EntryState.of(saved)));
+        ScheduleEntryDTO dto = convertToDTO(saved);
+        dto.setViolations(violations);
+        return dto;
+    }
+
+    /**
+     * Delete a week and its entries with one statement each; unknown ids are ignored.
+     * Listeners get one bulk change for the whole week.
+     */
+    @Transactional
+    public void deleteWeek(Long id) {
+        weeklyScheduleRepository.findById(id).ifPresent(week -> {
+            weeklyScheduleRepository.deleteWeekEntries(id);
+            weeklyScheduleRepository.deleteWeek(id);
+            if (week.getStartDate() != null) {
+                eventPublisher.publishEvent(new ScheduleEntriesBulkChangedEvent(Set.of(id), week.getStartDate(),
+                        week.getStartDate().plusDays(ScheduleEntryRepository.WEEK_SPAN_DAYS), Set.of()));
+            }
+        });
     }
 
     /**
@@ -137,7 +364,103 @@ public class ScheduleService {
      */
     @Transactional
     public void deleteScheduleEntry(Long id) {
+        Optional<ScheduleEntry> existing = scheduleEntryRepository.findById(id);
         scheduleEntryRepository.deleteById(id);
+        existing.ifPresent(entry ->
+                eventPublisher.publishEvent(ScheduleEntryChangedEvent.of(entry, EntryState.of(entry), null)));
+    }
+
+    private boolean followsShift(ScheduleEntry entry) {
+        return "normal".equalsIgnoreCase(entry.getStatus())
+                && shiftTypeRepository.findById(entry.getShiftTypeId())
+                        .filter(shift -> shift.getStartTime().equals(entry.getStartTime())
+                                && shift.getEndTime().equals(entry.getEndTime()))
+                        .isPresent();
+    }
+
+    private ShiftType findShiftType(Short id) {
+        return shiftTypeRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Shift type not found"));
+    }
+
+    private static boolean isArchived(Optional<WeeklySchedule> week) {
+        return week.isPresent() && week.get().getArchivedAt() != null;
+    }
+
+    /**
+     * Matrix rows of a week, from the archive if it is archived
+     */
+    private List<Object[]> matrixRows(WeeklySchedule week) {
+        return week.getArchivedAt() != null
+                ? archiveService.findWeekMatrixRows(week)
+                : scheduleEntryRepository.findWeekMatrixRows(week.getId());
+    }
+
+    /**
+     * Entries of a week from the archive if it is archived, else the ones read from the table
+     */
+    private List<ScheduleEntryDTO> weekEntries(WeeklySchedule week, List<ScheduleEntryDTO> dtos, Long staffId) {
+        if (week.getArchivedAt() == null) {
+            return dtos;
+        }
+        List<ScheduleEntryDTO> archived = archiveService.findWeekEntries(week, staffId);
+        archived.forEach(dto -> dto.setSpecialDay(holidayCalendarService.dayName(dto.getWorkDate())));
+        return archived;
+    }
+
+    private List<ScheduleEntryDTO> archivedEntries(LocalDate startDate, LocalDate endDate) {
+        List<ScheduleEntryDTO> archived = archiveService.findEntriesBetween(startDate, endDate);
+        archived.forEach(dto -> dto.setSpecialDay(holidayCalendarService.dayName(dto.getWorkDate())));
+        return archived;
+    }
+
+    private List<Object[]> overlayAbsences(WeeklySchedule week, List<Object[]> matrixRows) {
+        if (week.getStartDate() == null) {
+            return matrixRows;
+        }
+        return AbsenceIndex.of(absenceRepository.findOverlapping(week.getStartDate(), week.getStartDate().plusDays(6)))
+                .overlayMatrixRows(week, matrixRows);
+    }
+
+    /**
+     * Daily totals in the layout of ScheduleEntryRepository.getDailyTotals, from (overlaid) matrix rows
+     */
+    private static List<Object[]> dailyTotalRows(WeeklySchedule week, List<Object[]> matrixRows) {
+        Map<Integer, Object[]> byDay = new TreeMap<>();
+        for (Object[] row : matrixRows) {
+            Integer dayOfWeek = (Integer) row[6];
+            int minutes = row[10] != null ? ((Number) row[10]).intValue() : 0;
+            boolean praktikant = Boolean.TRUE.equals(row[4]);
+            Object[] totals = byDay.computeIfAbsent(dayOfWeek, day ->
+                    new Object[]{day, week.getStartDate().plusDays(day), 0L, 0L, 0L, 0L});
+            totals[2] = (Long) totals[2] + (praktikant ? 0 : minutes);
+            totals[3] = (Long) totals[3] + minutes;
+            totals[4] = (Long) totals[4] + (praktikant ? 0 : 1);
+            totals[5] = (Long) totals[5] + 1;
+        }
+        return new ArrayList<>(byDay.values());
+    }
+
+    /**
+     * Weekly staff totals in the layout of ScheduleEntryRepository.getWeeklyStaffTotals, from (overlaid) matrix rows
+     */
+    private static List<Object[]> weeklyStaffTotalRows(List<Object[]> matrixRows) {
+        Map<Long, Object[]> byStaff = new LinkedHashMap<>();
+        for (Object[] row : matrixRows) {
+            Object[] totals = byStaff.computeIfAbsent((Long) row[0], id ->
+                    new Object[]{id, row[1], row[2], row[3], 0L, 0L, 0L, 0L, 0L, 0L});
+            String status = (String) row[9];
+            totals[4] = (Long) totals[4] + (row[10] != null ? ((Number) row[10]).intValue() : 0);
+            totals[5] = (Long) totals[5] + (row[11] != null ? ((Number) row[11]).intValue() : 0);
+            totals[6] = (Long) totals[6] + ("normal".equals(status) ? 1 : 0);
+            totals[7] = (Long) totals[7] + ("krank".equals(status) ? 1 : 0);
+            totals[8] = (Long) totals[8] + ("frei".equals(status) ? 1 : 0);
+            totals[9] = (Long) totals[9] + ("Schule".equals(status) || "Fachschule".equals(status) ? 1 : 0);
+        }
+        List<Object[]> result = new ArrayList<>(byStaff.values());
+        result.sort(Comparator.comparing((Object[] row) -> (String) row[3], Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(row -> (String) row[1], Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
     }
 
     /**
@@ -147,43 +470,25 @@ public class ScheduleService {
         ScheduleEntryDTO dto = new ScheduleEntryDTO();
         dto.setId(entry.getId());
 
-        // Safely extract relationship IDs to avoid lazy loading issues
-        try {
-            if (entry.getWeeklySchedule() != null) {
-                dto.setWeeklyScheduleId(entry.getWeeklySchedule().getId());
-            }
-        } catch (Exception e) {
-            // Handle lazy loading exception
-            dto.setWeeklyScheduleId(null);
+        // The week is read by id only; staff and group come with the entry (ScheduleEntry.WITH_STAFF)
+        if (entry.getWeeklySchedule() != null) {
+            dto.setWeeklyScheduleId(entry.getWeeklySchedule().getId());
         }
-
-        try {
-            if (entry.getStaff() != null) {
-                dto.setStaffId(entry.getStaff().getId());
-                dto.setStaffName(entry.getStaff().getFullName());
-                dto.setStaffRole(entry.getStaff().getRole());
-
-                // Safely access group which might be lazy-loaded
-                try {
-                    if (entry.getStaff().getGroup() != null) {
-                        dto.setGroupName(entry.getStaff().getGroup().getName());
-                    }
-                } catch (Exception groupEx) {
-                    // Group not loaded, leave as null
-                    dto.setGroupName(null);
-                }
+        if (entry.getStaff() != null) {
+            dto.setStaffId(entry.getStaff().getId());
+            dto.setStaffName(entry.getStaff().getFullName());
+            dto.setStaffRole(entry.getStaff().getRole());
+            if (entry.getStaff().getGroup() != null) {
+                dto.setGroupName(entry.getStaff().getGroup().getName());
             }
-        } catch (Exception e) {
-            // Handle staff lazy loading exception
-            dto.setStaffId(null);
-            dto.setStaffName("Unknown");
-            dto.setStaffRole("Unknown");
         }
 
         dto.setDayOfWeek(entry.getDayOfWeek());
         dto.setWorkDate(entry.getWorkDate());
         dto.setStartTime(entry.getStartTime());
         dto.setEndTime(entry.getEndTime());
+        dto.setShiftTypeId(entry.getShiftTypeId());
+        dto.setSpecialDay(holidayCalendarService.dayName(entry.getWorkDate()));
         dto.setStatus(entry.getStatus());
         dto.setWorkingHoursMinutes(entry.getWorkingHoursMinutes());
         dto.setBreakMinutes(entry.getBreakMinutes());
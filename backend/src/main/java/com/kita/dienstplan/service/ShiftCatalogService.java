@@ -0,0 +1,109 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.dto.ShiftTypeDTO;
+import com.kita.dienstplan.dto.ShiftTypeUsageDTO;
+import com.kita.dienstplan.entity.ShiftType;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.ShiftTypeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the shift-type catalogue
+ * Usage statistics group entries by the SMALLINT shift key in the database and resolve
+ * names from the (small) catalogue afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ShiftCatalogService {
+
+    private final ShiftTypeRepository shiftTypeRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+
+    public List<ShiftTypeDTO> getShiftTypes() {
+        return shiftTypeRepository.findAllByOrderByStartTimeAscCodeAsc().stream()
+                .map(ShiftTypeDTO::of)
+                .toList();
+    }
+
+    public Optional<ShiftTypeDTO> getShiftType(Short id) {
+        return shiftTypeRepository.findById(id).map(ShiftTypeDTO::of);
+    }
+
+    /**
+     * Catalogue by code, for expanding rotation patterns
+     */
+    public Map<String, ShiftType> getShiftTypesByCode() {
+        return shiftTypeRepository.findAll().stream()
+                .collect(Collectors.toMap(ShiftType::getCode, Function.identity()));
+    }
+
+    /**
+     * Create a shift type; codes are stored upper-case
+     */
+    @Transactional
+    public ShiftTypeDTO createShiftType(ShiftType shiftType) {
+        shiftType.setCode(normalizeCode(shiftType.getCode()));
+        return ShiftTypeDTO.of(shiftTypeRepository.save(shiftType));
+    }
+
+    /**
+     * Update name, times, color and active flag; the code is immutable because patterns reference it
+     */
+    @Transactional
+    public Optional<ShiftTypeDTO> updateShiftType(Short id, ShiftType details) {
+        return shiftTypeRepository.findById(id).map(existing -> {
+            if (details.getName() != null) {
+                existing.setName(details.getName());
+            }
+            if (details.getStartTime() != null) {
+                existing.setStartTime(details.getStartTime());
+            }
+            if (details.getEndTime() != null) {
+                existing.setEndTime(details.getEndTime());
+            }
+            if (details.getColor() != null) {
+                existing.setColor(details.getColor());
+            }
+            if (details.getIsActive() != null) {
+                existing.setIsActive(details.getIsActive());
+            }
+            return ShiftTypeDTO.of(shiftTypeRepository.save(existing));
+        });
+    }
+
+    /**
+     * Entry count and working time per shift type in a date range
+     */
+    public List<ShiftTypeUsageDTO> getUsage(LocalDate startDate, LocalDate endDate) {
+        Map<Short, ShiftType> catalogue = shiftTypeRepository.findAll().stream()
+                .collect(Collectors.toMap(ShiftType::getId, Function.identity()));
+        return scheduleEntryRepository.findShiftTypeUsage(startDate, endDate).stream()
+                .map(row -> {
+                    Short id = ((Number) row[0]).shortValue();
+                    long minutes = row[2] == null ? 0 : ((Number) row[2]).longValue();
+                    ShiftType shiftType = catalogue.get(id);
+                    return new ShiftTypeUsageDTO(id,
+                            shiftType != null ? shiftType.getCode() : null,
+                            shiftType != null ? shiftType.getName() : null,
+                            ((Number) row[1]).longValue(), minutes,
+                            ScheduleEntryDTO.formatMinutes((int) minutes));
+                })
+                .toList();
+    }
+
+    static String normalizeCode(String code) {
+        return code == null ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -3,19 +3,28 @@ package com.kita.dienstplan.service;
 import com.kita.dienstplan.dto.StaffDTO;
 import com.kita.dienstplan.entity.Group;
 import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.StaffChangedEvent;
 import com.kita.dienstplan.repository.GroupRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
 import com.kita.dienstplan.repository.StaffRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service layer for Staff entity operations.
  * All methods return DTOs to prevent circular reference issues.
+ * Changes publish a StaffChangedEvent for indexes built from staff attributes.
+ * Schedule entries of a staff member are deleted with one statement, never loaded one by one.
  */
 @Service
 @Transactional(readOnly = true)
@@ -24,9 +33,18 @@ public class StaffService {
     @Autowired
     private StaffRepository staffRepository;
 
+    // Earliest MySQL DATE, for deleting all entries of a staff member
+    private static final LocalDate ALL_DATES = LocalDate.of(1000, 1, 1);
+
     @Autowired
     private GroupRepository groupRepository;
 
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Get all staff members.
      */
@@ -74,6 +92,7 @@ public class StaffService {
         }
 
         Staff savedStaff = staffRepository.save(staff);
+        eventPublisher.publishEvent(new StaffChangedEvent(savedStaff.getId()));
         return StaffDTO.fromEntity(savedStaff);
     }
 
@@ -104,19 +123,64 @@ public class StaffService {
             }
 
             Staff updatedStaff = staffRepository.save(staff);
+            eventPublisher.publishEvent(new StaffChangedEvent(id));
             return StaffDTO.fromEntity(updatedStaff);
         });
     }
 
     /**
-     * Delete staff member.
+     * Delete staff member with all their history.
+     * Listeners get a bulk change for the weeks of the deleted entries and a StaffChangedEvent.
      */
     @Transactional
     public boolean deleteStaff(Long id) {
         if (staffRepository.existsById(id)) {
+            deleteEntriesFrom(id, ALL_DATES);
             staffRepository.deleteById(id);
+            eventPublisher.publishEvent(new StaffChangedEvent(id));
             return true;
         }
         return false;
     }
+
+    /**
+     * Retire a staff member instead of deleting them: mark them inactive from a date and drop only
+     * their planned entries after it, so hours accounts, rollups and payroll keep their history.
+     *
+     * @param terminationDate last working day, today if null
+     */
+    @Transactional
+    public Optional<StaffDTO> archiveStaff(Long id, LocalDate terminationDate) {
+        return staffRepository.findById(id).map(staff -> {
+            LocalDate lastDay = terminationDate != null ? terminationDate : LocalDate.now();
+            staff.setIsActive(false);
+            staff.setTerminationDate(lastDay);
+            StaffDTO archived = StaffDTO.fromEntity(staffRepository.save(staff));
+            deleteEntriesFrom(id, lastDay.plusDays(1));
+            eventPublisher.publishEvent(new StaffChangedEvent(id));
+            return archived;
+        });
+    }
+
+    /**
+     * Delete a staff member's entries from a date on and publish one bulk change for their weeks
+     */
+    private void deleteEntriesFrom(Long id, LocalDate fromDate) {
+        List<Object[]> weeks = scheduleEntryRepository.findStaffWeeksFrom(id, fromDate);
+        if (weeks.isEmpty()) {
+            return;
+        }
+        scheduleEntryRepository.deleteStaffEntriesFrom(id, fromDate);
+        Set<Long> weekIds = new HashSet<>();
+        LocalDate start = null;
+        LocalDate end = null;
+        for (Object[] week : weeks) {
+            weekIds.add((Long) week[0]);
+            LocalDate first = (LocalDate) week[1];
+            LocalDate last = (LocalDate) week[2];
+            start = start == null || first.isBefore(start) ? first : start;
+            end = end == null || last.isAfter(end) ? last : end;
+        }
+        eventPublisher.publishEvent(new ScheduleEntriesBulkChangedEvent(weekIds, start, end, Set.of(id)));
+    }
 }
@@ -0,0 +1,241 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.datasource.PrimaryReads;
+import com.kita.dienstplan.dto.StaffingReportDTO;
+import com.kita.dienstplan.dto.StaffingRuleDTO;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.StaffingRule;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.StaffChangedEvent;
+import com.kita.dienstplan.event.StaffingRulesChangedEvent;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.GroupRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffingRuleRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import com.kita.dienstplan.staffing.CompiledRule;
+import com.kita.dienstplan.staffing.WeekStaffing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for minimum-staffing rules.
+ * Active rules are compiled once into CompiledRule objects; each week read is evaluated once into a
+ * WeekStaffing and kept, and every committed entry change is applied to a kept week as a delta.
+ * Bulk changes and absence changes drop the weeks they touch; staff and rule changes drop all weeks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class StaffingRuleService {
+
+    private static final int MAX_CACHED_WEEKS = 64;
+
+    private final StaffingRuleRepository staffingRuleRepository;
+    private final GroupRepository groupRepository;
+    private final WeeklyScheduleRepository weeklyScheduleRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final AbsenceRepository absenceRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile CompiledRule[] compiled;
+    private final Map<Long, WeekStaffing> weeks = new ConcurrentHashMap<>();
+    // Bumped on every change, so a week or rule set built while a change committed is not kept
+    private final AtomicLong generation = new AtomicLong();
+
+    public List<StaffingRuleDTO> getRules() {
+        return staffingRuleRepository.findAllWithGroup().stream().map(StaffingRuleDTO::of).toList();
+    }
+
+    public Optional<StaffingRuleDTO> getRule(Long id) {
+        return staffingRuleRepository.findById(id).map(StaffingRuleDTO::of);
+    }
+
+    /**
+     * Create a rule, if its group exists
+     *
+     * @throws IllegalArgumentException for a missing name, an empty window, a minimum below 1 or an invalid weekday
+     */
+    @Transactional
+    public Optional<StaffingRuleDTO> createRule(StaffingRuleDTO request) {
+        Optional<Group> group = Optional.empty();
+        if (request.getGroupId() != null) {
+            group = groupRepository.findById(request.getGroupId());
+            if (group.isEmpty()) {
+                return Optional.empty();
+            }
+        }
+        StaffingRule rule = new StaffingRule();
+        apply(rule, request, group.orElse(null));
+        StaffingRule saved = staffingRuleRepository.saveAndFlush(rule);
+        eventPublisher.publishEvent(new StaffingRulesChangedEvent(saved.getId()));
+        return Optional.of(StaffingRuleDTO.of(saved));
+    }
+
+    /**
+     * Replace a rule; empty if the rule or its group does not exist
+     *
+     * @throws IllegalArgumentException for a missing name, an empty window, a minimum below 1 or an invalid weekday
+     */
+    @Transactional
+    public Optional<StaffingRuleDTO> updateRule(Long id, StaffingRuleDTO request) {
+        Optional<StaffingRule> rule = staffingRuleRepository.findById(id);
+        Optional<Group> group = request.getGroupId() != null ? groupRepository.findById(request.getGroupId())
+                : Optional.empty();
+        if (rule.isEmpty() || (request.getGroupId() != null && group.isEmpty())) {
+            return Optional.empty();
+        }
+        apply(rule.get(), request, group.orElse(null));
+        StaffingRule saved = staffingRuleRepository.saveAndFlush(rule.get());
+        eventPublisher.publishEvent(new StaffingRulesChangedEvent(id));
+        return Optional.of(StaffingRuleDTO.of(saved));
+    }
+
+    @Transactional
+    public boolean deleteRule(Long id) {
+        if (!staffingRuleRepository.existsById(id)) {
+            return false;
+        }
+        staffingRuleRepository.deleteById(id);
+        eventPublisher.publishEvent(new StaffingRulesChangedEvent(id));
+        return true;
+    }
+
+    /**
+     * Evaluate the active rules for a week; reads from the primary, as it may fill the week cache
+     */
+    public Optional<StaffingReportDTO> getWeekReport(Integer year, Integer weekNumber) {
+        return PrimaryReads.call(() -> weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year)
+                .map(week -> report(week.getId(), week.getWeekNumber(), week.getYear(), week(week))));
+    }
+
+    /**
+     * The active rules, compiled
+     */
+    public CompiledRule[] compiledRules() {
+        return PrimaryReads.call(() -> rules(generation.get()));
+    }
+
+    static StaffingReportDTO report(Long weeklyScheduleId, Integer weekNumber, Integer year, WeekStaffing staffing) {
+        int failingSlots = staffing.failingSlots();
+        return new StaffingReportDTO(weeklyScheduleId, weekNumber, year, CompiledRule.SLOT_MINUTES,
+                failingSlots == 0, failingSlots, staffing.evaluate());
+    }
+
+    // After commit only: a delta from a rolled-back write must not be applied
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleEntryChanged(ScheduleEntryChangedEvent event) {
+        generation.incrementAndGet();
+        WeekStaffing staffing = weeks.get(event.getWeeklyScheduleId());
+        if (staffing == null) {
+            return;
+        }
+        boolean applied = true;
+        if (event.getBefore() != null) {
+            ScheduleEntryChangedEvent.EntryState before = event.getBefore();
+            applied = staffing.apply(event.getStaffId(), before.getWorkDate(), before.getStatus(),
+                    before.getStartTime(), before.getEndTime(), -1);
+        }
+        if (applied && event.getAfter() != null) {
+            ScheduleEntryChangedEvent.EntryState after = event.getAfter();
+            applied = staffing.apply(event.getStaffId(), after.getWorkDate(), after.getStatus(),
+                    after.getStartTime(), after.getEndTime(), 1);
+        }
+        if (!applied) {
+            weeks.remove(event.getWeeklyScheduleId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onScheduleEntriesBulkChanged(ScheduleEntriesBulkChangedEvent event) {
+        generation.incrementAndGet();
+        weeks.entrySet().removeIf(week -> event.getWeeklyScheduleIds().contains(week.getKey())
+                || (!week.getValue().getMonday().isAfter(event.getEndDate())
+                && !week.getValue().getMonday().plusDays(6).isBefore(event.getStartDate())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onStaffChanged(StaffChangedEvent event) {
+        generation.incrementAndGet();
+        weeks.clear();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onStaffingRulesChanged(StaffingRulesChangedEvent event) {
+        generation.incrementAndGet();
+        compiled = null;
+        weeks.clear();
+    }
+
+    private WeekStaffing week(WeeklySchedule week) {
+        WeekStaffing staffing = weeks.get(week.getId());
+        if (staffing != null) {
+            return staffing;
+        }
+        long before = generation.get();
+        CompiledRule[] rules = rules(before);
+        staffing = WeekStaffing.build(rules, week.getStartDate(),
+                scheduleEntryRepository.findStaffingRows(week.getId()),
+                AbsenceIndex.of(absenceRepository.findOverlapping(week.getStartDate(), week.getEndDate())));
+        if (generation.get() == before) {
+            if (weeks.size() >= MAX_CACHED_WEEKS) {
+                weeks.clear();
+            }
+            weeks.put(week.getId(), staffing);
+        }
+        log.debug("Evaluated {} staffing rules for week {}/{}", rules.length, week.getWeekNumber(), week.getYear());
+        return staffing;
+    }
+
+    private CompiledRule[] rules(long generationBefore) {
+        CompiledRule[] rules = compiled;
+        if (rules == null) {
+            rules = staffingRuleRepository.findActiveWithGroup().stream()
+                    .map(CompiledRule::compile)
+                    .toArray(CompiledRule[]::new);
+            if (generation.get() == generationBefore) {
+                compiled = rules;
+            }
+        }
+        return rules;
+    }
+
+    private static void apply(StaffingRule rule, StaffingRuleDTO request, Group group) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("A staffing rule needs a name");
+        }
+        if (request.getStartTime() == null || request.getEndTime() == null
+                || !request.getEndTime().isAfter(request.getStartTime())) {
+            throw new IllegalArgumentException("A staffing rule window must end after it starts");
+        }
+        if (request.getMinStaff() == null || request.getMinStaff() < 1) {
+            throw new IllegalArgumentException("A staffing rule needs a minimum of at least 1");
+        }
+        rule.setName(request.getName().trim());
+        rule.setGroup(group);
+        rule.setWeekdays(AbsenceService.weekdayMask(request.getWeekdays()));
+        rule.setStartTime(request.getStartTime());
+        rule.setEndTime(request.getEndTime());
+        rule.setRoles(request.getRoles() == null || request.getRoles().isEmpty() ? null
+                : String.join(",", request.getRoles().stream().map(String::trim).toList()));
+        rule.setIncludePraktikanten(Boolean.TRUE.equals(request.getIncludePraktikanten()));
+        rule.setMinStaff(request.getMinStaff());
+        rule.setIsActive(request.getActive() == null || request.getActive());
+    }
+}
@@ -0,0 +1,178 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.datasource.PrimaryReads;
+import com.kita.dienstplan.dto.SubstituteCandidateDTO;
+import com.kita.dienstplan.entity.HoursAccountPeriod.PeriodType;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.StaffChangedEvent;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import com.kita.dienstplan.substitute.DayAvailability;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ranks staff who could cover a shift, e.g. after a same-day sick call.
+ * Each day's DayAvailability is built once and kept warm, so a lookup is a pass over flat arrays.
+ * A schedule change drops every cached day whose index it affects (the day itself, its neighbours
+ * for rest periods and the rest of its week for booked hours) once the writing transaction completes.
+ * A staff change drops every cached day.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class SubstituteService {
+
+    private final StaffRepository staffRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final AbsenceRepository absenceRepository;
+    private final long ttlNanos;
+
+    private final Map<LocalDate, CachedDay> days = new ConcurrentHashMap<>();
+    // Bumped on every eviction, so a day built while a change committed is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private record CachedDay(DayAvailability availability, long builtAt) {
+    }
+
+    @Autowired
+    public SubstituteService(StaffRepository staffRepository,
+                             ScheduleEntryRepository scheduleEntryRepository,
+                             AbsenceRepository absenceRepository,
+                             @Value("${substitutes.index-ttl-seconds:300}") long ttlSeconds) {
+        this.staffRepository = staffRepository;
+        this.scheduleEntryRepository = scheduleEntryRepository;
+        this.absenceRepository = absenceRepository;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    /**
+     * Ranked candidates to cover a time window on a day
+     *
+     * @param absentStaffId staff member being replaced; excluded, and their group preferred unless groupId is set
+     * @param groupId       group whose members rank first
+     * @throws IllegalArgumentException if the window does not end after it starts
+     */
+    public List<SubstituteCandidateDTO> findCandidates(LocalDate date, LocalTime startTime, LocalTime endTime,
+                                                       Long absentStaffId, Long groupId,
+                                                       boolean includePraktikanten, int limit) {
+        DayAvailability availability = availability(date);
+        Long preferredGroupId = groupId != null || absentStaffId == null ? groupId : availability.groupOf(absentStaffId);
+        return availability.rank(startTime, endTime, preferredGroupId, absentStaffId, includePraktikanten, limit);
+    }
+
+    /**
+     * Build the indexes of some days ahead of the first lookup
+     */
+    public void warm(LocalDate startDate, LocalDate endDate) {
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            availability(day);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onScheduleEntryChanged(ScheduleEntryChangedEvent event) {
+        if (event.getBefore() != null) {
+            evictAround(event.getBefore().getWorkDate(), event.getBefore().getWorkDate());
+        }
+        if (event.getAfter() != null) {
+            evictAround(event.getAfter().getWorkDate(), event.getAfter().getWorkDate());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onScheduleEntriesBulkChanged(ScheduleEntriesBulkChangedEvent event) {
+        evictAround(event.getStartDate(), event.getEndDate());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onStaffChanged(StaffChangedEvent event) {
+        generation.incrementAndGet();
+        days.clear();
+    }
+
+    private DayAvailability availability(LocalDate date) {
+        long now = System.nanoTime();
+        CachedDay cached = days.get(date);
+        if (cached == null || now - cached.builtAt() > ttlNanos) {
+            long before = generation.get();
+            cached = new CachedDay(PrimaryReads.call(() -> build(date)), now);
+            if (generation.get() == before) {
+                days.put(date, cached);
+            }
+            days.values().removeIf(day -> now - day.builtAt() > ttlNanos);
+        }
+        return cached.availability();
+    }
+
+    private DayAvailability build(LocalDate date) {
+        LocalDate weekStart = HoursAccountService.periodStart(PeriodType.WEEK, date);
+        LocalDate weekEnd = weekStart.plusDays(6);
+        LocalDate from = date.minusDays(1).isBefore(weekStart) ? date.minusDays(1) : weekStart;
+        LocalDate to = date.plusDays(1).isAfter(weekEnd) ? date.plusDays(1) : weekEnd;
+
+        List<Object[]> staffRows = staffRepository.findActiveAvailabilityRows();
+        List<Object[]> entryRows = scheduleEntryRepository.findAvailabilityRows(from, to);
+        AbsenceIndex absences = AbsenceIndex.of(absenceRepository.findOverlapping(from, to));
+
+        // Hours already booked in the week, by the same rules as the hours accounts
+        Map<Long, Integer> weeklyMinutes = new HashMap<>();
+        staffRows.forEach(row -> weeklyMinutes.put((Long) row[0], HoursAccountService.weeklyMinutes((BigDecimal) row[6])));
+        Map<Long, Integer> booked = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (Object[] row : entryRows) {
+            Long staffId = (Long) row[0];
+            LocalDate workDate = (LocalDate) row[1];
+            if (workDate.isBefore(weekStart) || workDate.isAfter(weekEnd) || !weeklyMinutes.containsKey(staffId)) {
+                continue;
+            }
+            seen.add(AbsenceIndex.slotKey(staffId, workDate));
+            String status = absences.effectiveStatus(staffId, workDate, (String) row[2]);
+            int working = row[5] != null && Objects.equals(status, row[2]) ? ((Number) row[5]).intValue() : 0;
+            booked.merge(staffId, HoursAccountService.actualMinutes(status, working, weeklyMinutes.get(staffId)),
+                    Integer::sum);
+        }
+        absences.forEachDay(weekStart, weekEnd, (absence, day) -> {
+            Long staffId = absence.getStaff().getId();
+            if (weeklyMinutes.containsKey(staffId) && seen.add(AbsenceIndex.slotKey(staffId, day))) {
+                booked.merge(staffId, HoursAccountService.actualMinutes(absence.getStatus(), 0,
+                        weeklyMinutes.get(staffId)), Integer::sum);
+            }
+        });
+
+        DayAvailability availability = DayAvailability.build(date, staffRows, entryRows, absences, booked);
+        log.debug("Built substitute index for {} with {} staff", date, availability.size());
+        return availability;
+    }
+
+    /**
+     * Drop cached days whose index depends on entries between two dates
+     */
+    private void evictAround(LocalDate startDate, LocalDate endDate) {
+        LocalDate from = HoursAccountService.periodStart(PeriodType.WEEK, startDate.minusDays(1));
+        LocalDate to = HoursAccountService.periodStart(PeriodType.WEEK, endDate.plusDays(1)).plusDays(6);
+        generation.incrementAndGet();
+        days.keySet().removeIf(day -> !day.isBefore(from) && !day.isAfter(to));
+    }
+}
@@ -0,0 +1,208 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.WeekCopyRequest;
+import com.kita.dienstplan.dto.WeekCopyResultDTO;
+import com.kita.dienstplan.dto.WeekTemplateDTO;
+import com.kita.dienstplan.entity.WeekTemplate;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.exception.ArchivedWeekException;
+import com.kita.dienstplan.repository.IdBlockAllocator;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.WeekTemplateRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Server-side week copy and week templates.
+ * Entries are cloned with one INSERT ... SELECT in the database, so a week of any size
+ * is one statement in one transaction; the target week is created if it does not exist.
+ * Because no per-entry events fire, a ScheduleEntriesBulkChangedEvent is published instead.
+ * Entry ids come from a block reserved up front for all rows the statement may insert.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class WeekCopyService {
+
+    // Bound in place of an empty staff filter, which IN () cannot express
+    private static final List<Long> NO_STAFF_FILTER = List.of(-1L);
+
+    private final WeeklyScheduleRepository weeklyScheduleRepository;
+    private final ScheduleEntryRepository scheduleEntryRepository;
+    private final WeekTemplateRepository weekTemplateRepository;
+    private final IdBlockAllocator idBlockAllocator;
+    private final AuditorAware<String> auditorProvider;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Copy a week into the request's target week, if the source week exists
+     */
+    @Transactional
+    public Optional<WeekCopyResultDTO> copyWeek(Integer sourceYear, Integer sourceWeek, WeekCopyRequest request) {
+        return weeklyScheduleRepository.findByWeekNumberAndYear(sourceWeek, sourceYear)
+                .map(source -> fillWeek(request, (target, allStaff, staffIds) ->
+                        scheduleEntryRepository.copyWeekEntries(
+                                reserveIds(scheduleEntryRepository.countByWeeklyScheduleId(source.getId())),
+                                source.getId(), target.getId(), allStaff, staffIds, request.isResetStatus(), auditor())));
+    }
+
+    /**
+     * Instantiate a template into the request's target week, if the template exists
+     */
+    @Transactional
+    public Optional<WeekCopyResultDTO> applyTemplate(Long templateId, WeekCopyRequest request) {
+        return weekTemplateRepository.findById(templateId)
+                .map(template -> fillWeek(request, (target, allStaff, staffIds) ->
+                        weekTemplateRepository.applyToWeek(
+                                reserveIds(weekTemplateRepository.countEntries(template.getId())),
+                                template.getId(), target.getId(), allStaff, staffIds, request.isResetStatus(), auditor())));
+    }
+
+    /**
+     * Save a week's entries as a named template, if the week exists
+     */
+    @Transactional
+    public Optional<WeekTemplateDTO> createTemplate(String name, String description,
+                                                    Integer sourceYear, Integer sourceWeek, List<Long> staffIds) {
+        return weeklyScheduleRepository.findByWeekNumberAndYear(sourceWeek, sourceYear).map(source -> {
+            WeekTemplate template = new WeekTemplate();
+            template.setName(name);
+            template.setDescription(description);
+            template = weekTemplateRepository.saveAndFlush(template);
+
+            boolean allStaff = staffIds == null || staffIds.isEmpty();
+            weekTemplateRepository.insertEntriesFromWeek(template.getId(), source.getId(),
+                    allStaff, allStaff ? NO_STAFF_FILTER : staffIds);
+            return toDTO(template, counts(List.of(template.getId())));
+        });
+    }
+
+    public List<WeekTemplateDTO> getTemplates() {
+        List<WeekTemplate> templates = weekTemplateRepository.findAllByOrderByName();
+        Map<Long, int[]> counts = counts(templates.stream().map(WeekTemplate::getId).toList());
+        return templates.stream().map(template -> toDTO(template, counts)).toList();
+    }
+
+    public Optional<WeekTemplateDTO> getTemplate(Long id) {
+        return weekTemplateRepository.findById(id).map(template -> toDTO(template, counts(List.of(id))));
+    }
+
+    /**
+     * Delete a template and its rows (cascaded by the foreign key)
+     *
+     * @return false if the template does not exist
+     */
+    @Transactional
+    public boolean deleteTemplate(Long id) {
+        if (!weekTemplateRepository.existsById(id)) {
+            return false;
+        }
+        weekTemplateRepository.deleteById(id);
+        return true;
+    }
+
+    /**
+     * Monday of an ISO week
+     */
+    public static LocalDate weekStart(int year, int week) {
+        return LocalDate.of(year, 1, 4)
+                .with(IsoFields.WEEK_OF_WEEK_BASED_YEAR, week)
+                .with(DayOfWeek.MONDAY);
+    }
+
+    /**
+     * One set-based insert into a target week
+     */
+    @FunctionalInterface
+    private interface WeekInsert {
+        int insert(WeeklySchedule target, boolean allStaff, Collection<Long> staffIds);
+    }
+
+    private WeekCopyResultDTO fillWeek(WeekCopyRequest request, WeekInsert insert) {
+        boolean weekCreated = !weeklyScheduleRepository
+                .existsByWeekNumberAndYear(request.getTargetWeek(), request.getTargetYear());
+        WeeklySchedule target = weekCreated
+                ? createWeek(request.getTargetYear(), request.getTargetWeek())
+                : weeklyScheduleRepository.findByWeekNumberAndYear(request.getTargetWeek(), request.getTargetYear())
+                        .orElseThrow();
+        if (target.getArchivedAt() != null) {
+            throw new ArchivedWeekException("Target week is archived; restore it before filling it");
+        }
+
+        List<Long> staffIds = request.getStaffIds();
+        boolean allStaff = staffIds == null || staffIds.isEmpty();
+        Collection<Long> staffFilter = allStaff ? NO_STAFF_FILTER : staffIds;
+
+        int deleted = 0;
+        if (request.isReplaceExisting() && !weekCreated) {
+            deleted = scheduleEntryRepository.deleteWeekEntries(target.getId(), allStaff, staffFilter);
+        }
+        int copied = insert.insert(target, allStaff, staffFilter);
+        log.info("Filled week {}/{} with {} entries ({} replaced)",
+                target.getWeekNumber(), target.getYear(), copied, deleted);
+
+        if (copied > 0 || deleted > 0) {
+            Set<Long> affectedStaff = allStaff ? Set.of() : new HashSet<>(staffIds);
+            eventPublisher.publishEvent(new ScheduleEntriesBulkChangedEvent(Set.of(target.getId()),
+                    target.getStartDate(), target.getStartDate().plusDays(6), affectedStaff));
+        }
+        return new WeekCopyResultDTO(target.getId(), target.getYear(), target.getWeekNumber(),
+                target.getStartDate(), weekCreated, deleted, copied);
+    }
+
+    private WeeklySchedule createWeek(int year, int week) {
+        WeeklySchedule schedule = new WeeklySchedule();
+        schedule.setYear(year);
+        schedule.setWeekNumber(week);
+        schedule.setStartDate(weekStart(year, week));
+        schedule.setEndDate(schedule.getStartDate().plusDays(6));
+        return weeklyScheduleRepository.saveAndFlush(schedule);
+    }
+
+    private Map<Long, int[]> counts(Collection<Long> templateIds) {
+        Map<Long, int[]> counts = new HashMap<>();
+        if (templateIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : weekTemplateRepository.countEntries(templateIds)) {
+            counts.put(((Number) row[0]).longValue(),
+                    new int[]{((Number) row[1]).intValue(), ((Number) row[2]).intValue()});
+        }
+        return counts;
+    }
+
+    private static WeekTemplateDTO toDTO(WeekTemplate template, Map<Long, int[]> counts) {
+        int[] count = counts.getOrDefault(template.getId(), new int[2]);
+        return WeekTemplateDTO.of(template, count[0], count[1]);
+    }
+
+    /**
+     * First id of a block large enough for an insert of at most count rows
+     */
+    private long reserveIds(long count) {
+        return idBlockAllocator.reserve(ScheduleEntry.ID_SEQUENCE, (int) count);
+    }
+
+    private String auditor() {
+        return auditorProvider.getCurrentAuditor().orElse("system");
+    }
+}
@@ -0,0 +1,105 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Looks up, and creates where missing, the weekly schedules of a date range in one pass,
+ * for bulk generators (rotation expansion, holiday fill) that write entries by JDBC batch
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class WeekProvisioningService {
+
+    private final WeeklyScheduleRepository weeklyScheduleRepository;
+
+    /**
+     * The weekly schedules of every ISO week touching a range, keyed by weekKey
+     *
+     * @param weeks   week lookup by weekKey(day)
+     * @param created number of weeks that had to be created
+     */
+    public record Weeks(Map<Integer, WeeklySchedule> weeks, int created) {
+
+        public WeeklySchedule forDay(LocalDate day) {
+            return weeks.get(weekKey(day));
+        }
+    }
+
+    /**
+     * Collect the weekly schedules of every ISO week touching the range, creating missing ones
+     */
+    @Transactional
+    public Weeks ensureWeeks(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> mondays = new ArrayList<>();
+        for (LocalDate monday = startDate.with(DayOfWeek.MONDAY); !monday.isAfter(endDate);
+             monday = monday.plusWeeks(1)) {
+            mondays.add(monday);
+        }
+        return provision(startDate, endDate, mondays);
+    }
+
+    /**
+     * Collect the weekly schedules of the ISO weeks containing the given days only, creating missing ones
+     */
+    @Transactional
+    public Weeks ensureWeeksFor(Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return new Weeks(Map.of(), 0);
+        }
+        SortedSet<LocalDate> mondays = new TreeSet<>();
+        days.forEach(day -> mondays.add(day.with(DayOfWeek.MONDAY)));
+        return provision(mondays.first(), mondays.last().plusDays(6), mondays);
+    }
+
+    private Weeks provision(LocalDate startDate, LocalDate endDate, Collection<LocalDate> mondays) {
+        Map<Integer, WeeklySchedule> weeks = new HashMap<>();
+        int created = 0;
+        for (WeeklySchedule week : weeklyScheduleRepository.findByStartDateBetween(
+                startDate.with(DayOfWeek.MONDAY), endDate)) {
+            weeks.put(week.getYear() * 100 + week.getWeekNumber(), week);
+        }
+        for (LocalDate monday : mondays) {
+            int key = weekKey(monday);
+            if (!weeks.containsKey(key)) {
+                int year = monday.get(IsoFields.WEEK_BASED_YEAR);
+                int weekNumber = monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+                // A week may exist with a start date outside the range (e.g. imported data)
+                Optional<WeeklySchedule> existing = weeklyScheduleRepository.findByWeekNumberAndYear(weekNumber, year);
+                if (existing.isPresent()) {
+                    weeks.put(key, existing.get());
+                    continue;
+                }
+                WeeklySchedule week = new WeeklySchedule();
+                week.setYear(year);
+                week.setWeekNumber(weekNumber);
+                week.setStartDate(monday);
+                week.setEndDate(monday.plusDays(6));
+                weeks.put(key, weeklyScheduleRepository.save(week));
+                created++;
+            }
+        }
+        weeklyScheduleRepository.flush();
+        return new Weeks(weeks, created);
+    }
+
+    static int weekKey(LocalDate day) {
+        return day.get(IsoFields.WEEK_BASED_YEAR) * 100 + day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+    }
+}
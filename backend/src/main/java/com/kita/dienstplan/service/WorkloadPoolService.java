@@ -0,0 +1,27 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.datasource.WorkloadRoutingDataSource;
+import com.kita.dienstplan.dto.WorkloadPoolDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Bulkhead metrics of the workload connection pools
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkloadPoolService {
+
+    private final ObjectProvider<WorkloadRoutingDataSource> workloadDataSource;
+
+    /**
+     * Metrics per pool; empty when workload pools are disabled
+     */
+    public List<WorkloadPoolDTO> getPools() {
+        WorkloadRoutingDataSource dataSource = workloadDataSource.getIfAvailable();
+        return dataSource != null ? dataSource.getStats() : List.of();
+    }
+}
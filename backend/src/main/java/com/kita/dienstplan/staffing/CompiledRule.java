@@ -0,0 +1,103 @@
+package com.kita.dienstplan.staffing;
+
+import com.kita.dienstplan.entity.StaffingRule;
+
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A staffing rule compiled for evaluation: the staff filter is folded into one predicate
+ * (only the clauses the rule sets) and the time window into a range of 15-minute slots of the day.
+ * The window is widened to whole slots, so 07:10-16:50 is checked as 07:00-17:00.
+ */
+public final class CompiledRule {
+
+    public static final int SLOT_MINUTES = 15;
+
+    private final long id;
+    private final String name;
+    private final String groupName;
+    private final int weekdays;
+    private final int firstSlot;
+    private final int slotCount;
+    private final int minStaff;
+    private final Predicate<StaffProfile> qualifies;
+
+    private CompiledRule(StaffingRule rule, Predicate<StaffProfile> qualifies) {
+        this.id = rule.getId() != null ? rule.getId() : 0L;
+        this.name = rule.getName();
+        this.groupName = rule.getGroup() != null ? rule.getGroup().getName() : null;
+        this.weekdays = rule.getWeekdays();
+        int start = minuteOfDay(rule.getStartTime());
+        int end = minuteOfDay(rule.getEndTime());
+        this.firstSlot = start / SLOT_MINUTES;
+        this.slotCount = (end + SLOT_MINUTES - 1) / SLOT_MINUTES - firstSlot;
+        this.minStaff = rule.getMinStaff();
+        this.qualifies = qualifies;
+    }
+
+    public static CompiledRule compile(StaffingRule rule) {
+        Predicate<StaffProfile> qualifies = staff -> true;
+        if (rule.getGroup() != null) {
+            long groupId = rule.getGroup().getId();
+            qualifies = qualifies.and(staff -> staff.groupId() == groupId);
+        }
+        if (!Boolean.TRUE.equals(rule.getIncludePraktikanten())) {
+            qualifies = qualifies.and(staff -> !staff.praktikant());
+        }
+        Set<String> roles = rule.roleList().stream()
+                .map(role -> role.toLowerCase(Locale.GERMAN))
+                .collect(Collectors.toUnmodifiableSet());
+        if (!roles.isEmpty()) {
+            qualifies = qualifies.and(staff -> staff.role() != null
+                    && roles.contains(staff.role().trim().toLowerCase(Locale.GERMAN)));
+        }
+        return new CompiledRule(rule, qualifies);
+    }
+
+    public boolean qualifies(StaffProfile staff) {
+        return qualifies.test(staff);
+    }
+
+    /**
+     * @param day 0 = Monday ... 6 = Sunday
+     */
+    public boolean appliesOn(int day) {
+        return (weekdays & (1 << day)) != 0;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    public int getFirstSlot() {
+        return firstSlot;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public int getMinStaff() {
+        return minStaff;
+    }
+
+    public static LocalTime slotStart(int slot) {
+        return slot * SLOT_MINUTES >= 24 * 60 ? LocalTime.MAX : LocalTime.ofSecondOfDay(slot * SLOT_MINUTES * 60L);
+    }
+
+    static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -0,0 +1,9 @@
+package com.kita.dienstplan.staffing;
+
+/**
+ * The staff attributes staffing rules filter on
+ *
+ * @param groupId 0 if the staff member has no group
+ */
+public record StaffProfile(long staffId, long groupId, String role, boolean praktikant) {
+}
@@ -0,0 +1,197 @@
+package com.kita.dienstplan.staffing;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.dto.StaffingReportDTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running staffing counts of one week against a set of compiled rules.
+ * Each (rule, day) the rule applies on holds the number of qualifying staff per slot of its window,
+ * and the number of those slots below the minimum is kept alongside, so pass/fail of the whole week
+ * is known without a scan. An entry change is applied as a delta: the old shift is subtracted,
+ * the new one added, touching only the slots and rules it concerns.
+ *
+ * A shift counts for a slot it covers completely; only 'normal' entries with times count, and not
+ * on days an absence range covers. Which rules a staff member counts for is decided once per staff
+ * member when the week is built.
+ */
+public final class WeekStaffing {
+
+    private static final int DAYS = 7;
+
+    private final CompiledRule[] rules;
+    private final LocalDate monday;
+    private final AbsenceIndex absences;
+    // Staff id -> indexes of the rules the staff member qualifies for
+    private final Map<Long, int[]> qualifying = new HashMap<>();
+    // [rule * 7 + day] -> qualifying staff per slot; null where the rule does not apply
+    private final int[][] counts;
+    private final int[] failing;
+    private int failingSlots;
+
+    private WeekStaffing(CompiledRule[] rules, LocalDate monday, AbsenceIndex absences) {
+        this.rules = rules;
+        this.monday = monday;
+        this.absences = absences;
+        this.counts = new int[rules.length * DAYS][];
+        this.failing = new int[rules.length * DAYS];
+        for (int r = 0; r < rules.length; r++) {
+            for (int day = 0; day < DAYS; day++) {
+                if (rules[r].appliesOn(day)) {
+                    counts[r * DAYS + day] = new int[rules[r].getSlotCount()];
+                    // Every slot starts empty, below any minimum
+                    failing[r * DAYS + day] = rules[r].getSlotCount();
+                    failingSlots += rules[r].getSlotCount();
+                }
+            }
+        }
+    }
+
+    /**
+     * Evaluate a week
+     *
+     * @param rows      entries of the week: staffId, groupId, role, isPraktikant, workDate, status, startMinute, endMinute
+     * @param absences  absence ranges overlapping the week
+     */
+    public static WeekStaffing build(CompiledRule[] rules, LocalDate monday, List<Object[]> rows,
+                                     AbsenceIndex absences) {
+        WeekStaffing week = new WeekStaffing(rules, monday, absences);
+        for (Object[] row : rows) {
+            Long staffId = (Long) row[0];
+            week.register(new StaffProfile(staffId, row[1] != null ? (Long) row[1] : 0L, (String) row[2],
+                    Boolean.TRUE.equals(row[3])));
+            if (row[6] != null && row[7] != null) {
+                week.apply(staffId, (LocalDate) row[4], (String) row[5], ((Number) row[6]).intValue(),
+                        ((Number) row[7]).intValue(), 1);
+            }
+        }
+        return week;
+    }
+
+    private void register(StaffProfile staff) {
+        qualifying.computeIfAbsent(staff.staffId(), id -> {
+            List<Integer> indexes = new ArrayList<>();
+            for (int r = 0; r < rules.length; r++) {
+                if (rules[r].qualifies(staff)) {
+                    indexes.add(r);
+                }
+            }
+            return indexes.stream().mapToInt(Integer::intValue).toArray();
+        });
+    }
+
+    /**
+     * Add (delta 1) or remove (delta -1) one entry
+     *
+     * @return false if a counting shift belongs to a staff member the week was not built with;
+     *         the week must then be rebuilt
+     */
+    public boolean apply(Long staffId, LocalDate workDate, String status,
+                         LocalTime startTime, LocalTime endTime, int delta) {
+        if (startTime == null || endTime == null) {
+            return true;
+        }
+        return apply(staffId, workDate, status, CompiledRule.minuteOfDay(startTime), CompiledRule.minuteOfDay(endTime),
+                delta);
+    }
+
+    /**
+     * Add (delta 1) or remove (delta -1) one entry with minute-of-day times
+     *
+     * @return false if a counting shift belongs to a staff member the week was not built with
+     */
+    public synchronized boolean apply(Long staffId, LocalDate workDate, String status,
+                                      int startMinute, int endMinute, int delta) {
+        if (workDate == null || !"normal".equalsIgnoreCase(status)) {
+            return true;
+        }
+        int day = (int) (workDate.toEpochDay() - monday.toEpochDay());
+        if (day < 0 || day >= DAYS || absences.covering(staffId, workDate) != null) {
+            return true;
+        }
+        int[] ruleIndexes = qualifying.get(staffId);
+        if (ruleIndexes == null) {
+            return false;
+        }
+        // Slots the shift covers completely
+        int firstSlot = (startMinute + CompiledRule.SLOT_MINUTES - 1) / CompiledRule.SLOT_MINUTES;
+        int endSlot = endMinute / CompiledRule.SLOT_MINUTES;
+        for (int r : ruleIndexes) {
+            int cell = r * DAYS + day;
+            int[] slots = counts[cell];
+            if (slots == null) {
+                continue;
+            }
+            CompiledRule rule = rules[r];
+            int from = Math.max(firstSlot - rule.getFirstSlot(), 0);
+            int to = Math.min(endSlot - rule.getFirstSlot(), slots.length);
+            int min = rule.getMinStaff();
+            for (int i = from; i < to; i++) {
+                boolean wasShort = slots[i] < min;
+                slots[i] += delta;
+                if (wasShort != slots[i] < min) {
+                    int change = wasShort ? -1 : 1;
+                    failing[cell] += change;
+                    failingSlots += change;
+                }
+            }
+        }
+        return true;
+    }
+
+    public LocalDate getMonday() {
+        return monday;
+    }
+
+    public synchronized int failingSlots() {
+        return failingSlots;
+    }
+
+    /**
+     * Per rule and day: slot counts, pass/fail and the under-staffed stretches
+     */
+    public synchronized List<StaffingReportDTO.RuleDay> evaluate() {
+        List<StaffingReportDTO.RuleDay> result = new ArrayList<>();
+        for (int r = 0; r < rules.length; r++) {
+            CompiledRule rule = rules[r];
+            for (int day = 0; day < DAYS; day++) {
+                int[] slots = counts[r * DAYS + day];
+                if (slots == null) {
+                    continue;
+                }
+                result.add(new StaffingReportDTO.RuleDay(rule.getId(), rule.getName(), rule.getGroupName(), day,
+                        monday.plusDays(day), CompiledRule.slotStart(rule.getFirstSlot()),
+                        CompiledRule.slotStart(rule.getFirstSlot() + slots.length), rule.getMinStaff(),
+                        failing[r * DAYS + day] == 0, slots.clone(), gaps(rule, slots)));
+            }
+        }
+        return result;
+    }
+
+    private static List<StaffingReportDTO.Gap> gaps(CompiledRule rule, int[] slots) {
+        List<StaffingReportDTO.Gap> gaps = new ArrayList<>();
+        int min = rule.getMinStaff();
+        int i = 0;
+        while (i < slots.length) {
+            if (slots[i] >= min) {
+                i++;
+                continue;
+            }
+            int start = i;
+            int lowest = slots[i];
+            while (i < slots.length && slots[i] < min) {
+                lowest = Math.min(lowest, slots[i]);
+                i++;
+            }
+            gaps.add(new StaffingReportDTO.Gap(CompiledRule.slotStart(rule.getFirstSlot() + start),
+                    CompiledRule.slotStart(rule.getFirstSlot() + i), lowest, min));
+        }
+        return gaps;
+    }
+}
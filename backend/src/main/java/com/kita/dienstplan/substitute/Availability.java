@@ -0,0 +1,22 @@
+package com.kita.dienstplan.substitute;
+
+/**
+ * How a staff member could cover a shift, in order of preference
+ */
+public enum Availability {
+
+    /**
+     * Nothing planned on the day
+     */
+    FREE,
+
+    /**
+     * Working on the day, but the shift does not overlap and the day stays within the daily maximum
+     */
+    EXTEND,
+
+    /**
+     * Planned as 'frei'; would have to be called in on a day off
+     */
+    DAY_OFF
+}
@@ -0,0 +1,223 @@
+package com.kita.dienstplan.substitute;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.compliance.WorkingTimeValidator;
+import com.kita.dienstplan.dto.SubstituteCandidateDTO;
+
+import java.math.BigDecimal;
+import java.text.Collator;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Availability of all active staff on one day, in flat arrays indexed by staff position.
+ * Built once per day from the staff list, the entries of the day and its neighbours and the
+ * hours booked in the week; any time window can then be ranked in one pass over the arrays.
+ *
+ * A candidate must not be absent, must not already work during the window, must keep the
+ * ArbZG daily maximum and the 11 hours of rest to the shifts of the previous and next day.
+ * Candidates are ranked: regular staff before Praktikanten, the preferred group first,
+ * least overtime, FREE before EXTEND before DAY_OFF, most remaining contract hours.
+ */
+public final class DayAvailability {
+
+    private static final byte NONE = 0;
+    private static final byte DAY_OFF = 1;
+    private static final byte WORKING = 2;
+    private static final byte BLOCKED = 3;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int NO_PREVIOUS = Integer.MIN_VALUE;
+    private static final int NO_NEXT = Integer.MAX_VALUE;
+
+    private final LocalDate date;
+    private final Map<Long, Integer> positions;
+    private final long[] staffIds;
+    private final String[] names;
+    private final String[] roles;
+    private final long[] groupIds;
+    private final String[] groupNames;
+    private final boolean[] praktikant;
+    private final int[] weeklyMinutes;
+    private final int[] bookedMinutes;
+    private final byte[] state;
+    private final int[] firstStart;
+    private final int[] lastEnd;
+    private final int[] dayWork;
+    // Relative to midnight of the day: previous day's end is negative, next day's start above 1440
+    private final int[] previousEnd;
+    private final int[] nextStart;
+
+    private DayAvailability(LocalDate date, int size) {
+        this.date = date;
+        this.positions = new HashMap<>(size * 2);
+        this.staffIds = new long[size];
+        this.names = new String[size];
+        this.roles = new String[size];
+        this.groupIds = new long[size];
+        this.groupNames = new String[size];
+        this.praktikant = new boolean[size];
+        this.weeklyMinutes = new int[size];
+        this.bookedMinutes = new int[size];
+        this.state = new byte[size];
+        this.firstStart = new int[size];
+        this.lastEnd = new int[size];
+        this.dayWork = new int[size];
+        this.previousEnd = new int[size];
+        this.nextStart = new int[size];
+        Arrays.fill(firstStart, NO_NEXT);
+        Arrays.fill(lastEnd, NO_PREVIOUS);
+        Arrays.fill(previousEnd, NO_PREVIOUS);
+        Arrays.fill(nextStart, NO_NEXT);
+    }
+
+    /**
+     * Build the index of a day
+     *
+     * @param staffRows     active staff: id, fullName, role, groupId, groupName, isPraktikant, weeklyHours
+     * @param entryRows     entries around the day: staffId, workDate, status, startMinute, endMinute
+     * @param absences      absence ranges covering at least the day and its neighbours
+     * @param bookedMinutes Ist minutes already booked in the day's week, by staff id
+     */
+    public static DayAvailability build(LocalDate date, List<Object[]> staffRows, List<Object[]> entryRows,
+                                        AbsenceIndex absences, Map<Long, Integer> bookedMinutes) {
+        DayAvailability day = new DayAvailability(date, staffRows.size());
+        for (int i = 0; i < staffRows.size(); i++) {
+            Object[] row = staffRows.get(i);
+            Long staffId = (Long) row[0];
+            day.positions.put(staffId, i);
+            day.staffIds[i] = staffId;
+            day.names[i] = (String) row[1];
+            day.roles[i] = (String) row[2];
+            day.groupIds[i] = row[3] != null ? (Long) row[3] : 0L;
+            day.groupNames[i] = (String) row[4];
+            day.praktikant[i] = Boolean.TRUE.equals(row[5]);
+            day.weeklyMinutes[i] = row[6] != null ? ((BigDecimal) row[6]).multiply(BigDecimal.valueOf(60)).intValue() : 0;
+            day.bookedMinutes[i] = bookedMinutes.getOrDefault(staffId, 0);
+            if (absences.covering(staffId, date) != null) {
+                day.state[i] = BLOCKED;
+            }
+        }
+        for (Object[] row : entryRows) {
+            Integer i = day.positions.get((Long) row[0]);
+            if (i != null) {
+                day.add(i, (LocalDate) row[1],
+                        absences.effectiveStatus((Long) row[0], (LocalDate) row[1], (String) row[2]),
+                        (Number) row[3], (Number) row[4]);
+            }
+        }
+        return day;
+    }
+
+    private void add(int i, LocalDate workDate, String status, Number startMinute, Number endMinute) {
+        boolean shift = "normal".equalsIgnoreCase(status) && startMinute != null && endMinute != null;
+        long offset = workDate.toEpochDay() - date.toEpochDay();
+        if (offset == -1 && shift) {
+            previousEnd[i] = Math.max(previousEnd[i], endMinute.intValue() - MINUTES_PER_DAY);
+        } else if (offset == 1 && shift) {
+            nextStart[i] = Math.min(nextStart[i], startMinute.intValue() + MINUTES_PER_DAY);
+        } else if (offset == 0 && state[i] != BLOCKED) {
+            if (shift) {
+                int start = startMinute.intValue();
+                int end = endMinute.intValue();
+                state[i] = WORKING;
+                firstStart[i] = Math.min(firstStart[i], start);
+                lastEnd[i] = Math.max(lastEnd[i], end);
+                dayWork[i] += workMinutes(end - start);
+            } else if ("frei".equalsIgnoreCase(status)) {
+                state[i] = state[i] == WORKING ? WORKING : DAY_OFF;
+            } else {
+                // Absences, Feiertag, and planned days without times cannot be covered
+                state[i] = BLOCKED;
+            }
+        }
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int size() {
+        return staffIds.length;
+    }
+
+    /**
+     * Group of an active staff member, or null
+     */
+    public Long groupOf(Long staffId) {
+        Integer i = positions.get(staffId);
+        return i == null || groupIds[i] == 0L ? null : groupIds[i];
+    }
+
+    /**
+     * Ranked candidates for a time window on this day
+     *
+     * @param preferredGroupId group whose members rank first; none if null
+     * @param excludedStaffId  staff member to leave out (the one reporting sick); none if null
+     * @throws IllegalArgumentException if the window does not end after it starts
+     */
+    public List<SubstituteCandidateDTO> rank(LocalTime startTime, LocalTime endTime, Long preferredGroupId,
+                                             Long excludedStaffId, boolean includePraktikanten, int limit) {
+        int start = minuteOfDay(startTime);
+        int end = minuteOfDay(endTime);
+        if (end <= start) {
+            throw new IllegalArgumentException("A shift must end after it starts");
+        }
+        int work = workMinutes(end - start);
+        List<SubstituteCandidateDTO> candidates = new ArrayList<>();
+        if (work > WorkingTimeValidator.MAX_DAILY_WORK_MINUTES) {
+            return candidates;
+        }
+        long preferred = preferredGroupId != null ? preferredGroupId : -1L;
+        long excluded = excludedStaffId != null ? excludedStaffId : -1L;
+
+        for (int i = 0; i < staffIds.length; i++) {
+            if (staffIds[i] == excluded || state[i] == BLOCKED || (praktikant[i] && !includePraktikanten)) {
+                continue;
+            }
+            Availability availability = switch (state[i]) {
+                case WORKING -> start < lastEnd[i] && end > firstStart[i]
+                        || dayWork[i] + work > WorkingTimeValidator.MAX_DAILY_WORK_MINUTES ? null : Availability.EXTEND;
+                case DAY_OFF -> Availability.DAY_OFF;
+                default -> Availability.FREE;
+            };
+            if (availability == null) {
+                continue;
+            }
+            Integer restBefore = previousEnd[i] != NO_PREVIOUS ? start - previousEnd[i] : null;
+            Integer restAfter = nextStart[i] != NO_NEXT ? nextStart[i] - end : null;
+            if ((restBefore != null && restBefore < WorkingTimeValidator.MIN_REST_MINUTES)
+                    || (restAfter != null && restAfter < WorkingTimeValidator.MIN_REST_MINUTES)) {
+                continue;
+            }
+            int remaining = weeklyMinutes[i] - bookedMinutes[i];
+            candidates.add(new SubstituteCandidateDTO(staffIds[i], names[i], roles[i], groupNames[i], praktikant[i],
+                    groupIds[i] == preferred, availability, remaining, Math.max(0, work - Math.max(remaining, 0)),
+                    restBefore, restAfter));
+        }
+
+        Collator collator = Collator.getInstance(Locale.GERMAN);
+        candidates.sort(Comparator.comparing(SubstituteCandidateDTO::getPraktikant)
+                .thenComparing(SubstituteCandidateDTO::getSameGroup, Comparator.reverseOrder())
+                .thenComparing(SubstituteCandidateDTO::getOvertimeMinutes)
+                .thenComparing(SubstituteCandidateDTO::getAvailability)
+                .thenComparing(SubstituteCandidateDTO::getRemainingMinutes, Comparator.reverseOrder())
+                .thenComparing(SubstituteCandidateDTO::getStaffName, Comparator.nullsLast(collator)));
+        return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+    }
+
+    private static int workMinutes(int span) {
+        return span - WorkingTimeValidator.requiredBreak(span);
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -0,0 +1,34 @@
+-- ============================================================================
+-- MIGRATION V10: Staffing rules
+-- ============================================================================
+-- Description: Minimum-staffing rules (Betreuungsschlüssel) as rows: within a
+--              time window on the selected weekdays (bitmask, Mon = 1 ...
+--              Sun = 64), at least min_staff qualifying staff must be on duty.
+--              Qualifying staff belong to group_id (any group if NULL), have
+--              one of the comma-separated roles (any role if NULL) and are
+--              Praktikanten only if include_praktikanten is set.
+--              Rules are compiled once and evaluated per 15-minute slot.
+-- Date: 2026-10-19
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS staffing_rules (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    group_id BIGINT,
+    weekdays SMALLINT NOT NULL DEFAULT 31,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    roles VARCHAR(255),
+    include_praktikanten BOOLEAN NOT NULL DEFAULT FALSE,
+    min_staff INT NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_staffing_rules_group FOREIGN KEY (group_id) REFERENCES age_groups(id) ON DELETE CASCADE,
+    CONSTRAINT chk_staffing_rules_window CHECK (end_time > start_time),
+    CONSTRAINT chk_staffing_rules_min CHECK (min_staff >= 1),
+    CONSTRAINT chk_staffing_rules_weekdays CHECK (weekdays BETWEEN 1 AND 127),
+    INDEX idx_staffing_rules_group (group_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,47 @@
+-- ============================================================================
+-- MIGRATION V11: Schedule rollups
+-- ============================================================================
+-- Description: Pre-aggregated worked minutes, break minutes and status-day
+--              counts per day, ISO week (keyed by its Monday), month and year,
+--              each crossed with staff member, group and role. Absence ranges
+--              are applied as in the week views. Day rows are rebuilt from the
+--              entries, coarser rows from the day and month rows.
+--              A background refresher picks up changed entries through the
+--              updated_at watermark in rollup_watermarks; deletes, set-based
+--              writes, absence and staff changes queue their dates in
+--              rollup_dirty_ranges inside the writing transaction.
+-- Date: 2026-10-19
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS schedule_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    granularity VARCHAR(5) NOT NULL COMMENT 'DAY, WEEK, MONTH or YEAR',
+    period_start DATE NOT NULL COMMENT 'The day, Monday of the ISO week, first day of the month or year',
+    dimension VARCHAR(5) NOT NULL COMMENT 'STAFF, GROUP or ROLE',
+    dimension_key VARCHAR(100) NOT NULL COMMENT 'Staff id, group id (0 = no group) or role',
+    worked_minutes INT NOT NULL DEFAULT 0,
+    break_minutes INT NOT NULL DEFAULT 0,
+    entry_days INT NOT NULL DEFAULT 0 COMMENT 'Staff days with an entry or absence',
+    normal_days INT NOT NULL DEFAULT 0,
+    frei_days INT NOT NULL DEFAULT 0,
+    krank_days INT NOT NULL DEFAULT 0,
+    urlaub_days INT NOT NULL DEFAULT 0,
+    schule_days INT NOT NULL DEFAULT 0 COMMENT 'Schule and Fachschule',
+    feiertag_days INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT unique_schedule_rollup UNIQUE (granularity, dimension, dimension_key, period_start),
+    INDEX idx_schedule_rollups_period (granularity, dimension, period_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS rollup_watermarks (
+    name VARCHAR(50) PRIMARY KEY,
+    watermark DATETIME(6) COMMENT 'Latest source updated_at already rolled up',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS rollup_dirty_ranges (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,47 @@
+-- ============================================================================
+-- MIGRATION V12: Partition schedule_entries by work_date year
+-- ============================================================================
+-- Description: Range-partitions schedule_entries on work_date, one partition
+--              per calendar year, so reads carrying a work_date range only
+--              open (and cache) the partitions of those years, and old years
+--              can be dropped or exchanged into archive tables without
+--              touching the current one.
+--              MySQL requires the partitioning column in every unique key and
+--              does not support foreign keys on partitioned tables:
+--              - the primary key becomes (id, work_date); id stays unique
+--                through AUTO_INCREMENT (from V14 on, the id sequence)
+--              - unique_schedule_entry gains work_date, which is fixed by the
+--                week and day anyway
+--              - the foreign keys to weekly_schedules, staff and shift_types
+--                are dropped, and nothing cascades to entries any more: the
+--                services delete them set-based before the parent row
+--                (ScheduleService.deleteWeek via
+--                WeeklyScheduleRepository.deleteWeekEntries,
+--                StaffService.deleteStaff via
+--                ScheduleEntryRepository.deleteStaffEntriesFrom); shift
+--                types are only ever deactivated, never deleted
+--              p2024 also holds all earlier dates; pmax catches dates past the
+--              last yearly partition until the maintenance job splits it
+--              (PartitionMaintenanceService, daily).
+--              The table is rebuilt once while this runs.
+-- Date: 2026-10-19
+-- ============================================================================
+
+ALTER TABLE schedule_entries DROP FOREIGN KEY schedule_entries_ibfk_1;
+ALTER TABLE schedule_entries DROP FOREIGN KEY schedule_entries_ibfk_2;
+ALTER TABLE schedule_entries DROP FOREIGN KEY fk_schedule_entries_shift_type;
+
+ALTER TABLE schedule_entries
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, work_date),
+    DROP INDEX unique_schedule_entry,
+    ADD UNIQUE KEY unique_schedule_entry (weekly_schedule_id, staff_id, day_of_week, work_date);
+
+ALTER TABLE schedule_entries
+    PARTITION BY RANGE COLUMNS (work_date) (
+        PARTITION p2024 VALUES LESS THAN ('2025-01-01'),
+        PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+        PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+        PARTITION p2027 VALUES LESS THAN ('2028-01-01'),
+        PARTITION pmax VALUES LESS THAN (MAXVALUE)
+    );
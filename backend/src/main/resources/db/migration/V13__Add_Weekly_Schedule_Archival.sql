@@ -0,0 +1,16 @@
+-- ============================================================================
+-- MIGRATION V13: Archival of old weeks into segment files
+-- ============================================================================
+-- Description: Weeks that ended more than a year ago are moved out of
+--              schedule_entries into compressed, append-only segment files on
+--              disk, one per year (see ArchiveService). The week row stays;
+--              archived_at marks weeks whose entries live in a segment, so
+--              reads know to go there instead. Restoring a week inserts its
+--              entries again with their original ids and clears the mark.
+-- Date: 2026-10-19
+-- ============================================================================
+
+ALTER TABLE weekly_schedules
+    ADD COLUMN archived_at TIMESTAMP NULL COMMENT 'Set while the entries of the week are archived';
+
+CREATE INDEX idx_weekly_schedules_archived ON weekly_schedules(archived_at, end_date);
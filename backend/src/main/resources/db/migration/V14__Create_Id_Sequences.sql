@@ -0,0 +1,35 @@
+-- ============================================================================
+-- MIGRATION V14: Table-backed id sequences for batched inserts
+-- ============================================================================
+-- Description: AUTO_INCREMENT ids make Hibernate send every insert on its own
+--              to read the generated key back, so JDBC batching never applies.
+--              age_groups, staff, weekly_schedules and schedule_entries now take
+--              their ids from id_sequences in blocks (see IdSequences); native
+--              bulk inserts reserve their ranges from the same rows. Existing ids
+--              are kept: each sequence starts above both the highest id and the
+--              table's AUTO_INCREMENT counter, which also covers ids of entries
+--              held in archive segments or archive tables. The AUTO_INCREMENT
+--              attribute stays for rows written by hand.
+-- Date: 2026-10-19
+-- ============================================================================
+
+-- Read the current AUTO_INCREMENT counters, not cached statistics
+SET SESSION information_schema_stats_expiry = 0;
+
+CREATE TABLE id_sequences (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY COMMENT 'Table whose ids the row hands out',
+    next_val BIGINT NOT NULL COMMENT 'Next free id'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT t.TABLE_NAME,
+       GREATEST(COALESCE(t.AUTO_INCREMENT, 1),
+                CASE t.TABLE_NAME
+                    WHEN 'age_groups' THEN (SELECT COALESCE(MAX(id), 0) + 1 FROM age_groups)
+                    WHEN 'staff' THEN (SELECT COALESCE(MAX(id), 0) + 1 FROM staff)
+                    WHEN 'weekly_schedules' THEN (SELECT COALESCE(MAX(id), 0) + 1 FROM weekly_schedules)
+                    ELSE (SELECT COALESCE(MAX(id), 0) + 1 FROM schedule_entries)
+                END)
+FROM information_schema.TABLES t
+WHERE t.TABLE_SCHEMA = DATABASE()
+  AND t.TABLE_NAME IN ('age_groups', 'staff', 'weekly_schedules', 'schedule_entries');
@@ -0,0 +1,85 @@
+-- ============================================================================
+-- MIGRATION V15: One-byte status codes
+-- ============================================================================
+-- Description: The status of schedule entries, week template rows and absences
+--              was free text compared by literal in every query, in mixed
+--              spellings ('normal', 'NORMAL', 'Urlaub', 'URLAUB'). It becomes a
+--              TINYINT code of EntryStatus, so the status index and the
+--              CASE-based aggregations work on small integers and spelling no
+--              longer matters:
+--                1 normal, 2 frei, 3 krank, 4 Urlaub, 5 Schule,
+--                6 Fachschule, 7 Feiertag, 8 Fortbildung
+--              Codes are assigned case-insensitively. A status outside this set
+--              stops the migration at the CHECK constraint, before any text
+--              column is dropped. Staff roles stay text: they are an open set
+--              of job titles.
+-- Date: 2026-10-19
+-- ============================================================================
+
+-- ----------------------------------------------------------------------------
+-- schedule_entries
+-- ----------------------------------------------------------------------------
+ALTER TABLE schedule_entries ADD COLUMN status_code TINYINT NULL AFTER status;
+
+UPDATE schedule_entries SET status_code = CASE LOWER(TRIM(status))
+    WHEN 'normal' THEN 1
+    WHEN 'frei' THEN 2
+    WHEN 'krank' THEN 3
+    WHEN 'urlaub' THEN 4
+    WHEN 'schule' THEN 5
+    WHEN 'fachschule' THEN 6
+    WHEN 'feiertag' THEN 7
+    WHEN 'fortbildung' THEN 8
+END;
+
+ALTER TABLE schedule_entries ADD CONSTRAINT chk_schedule_entries_status_known
+    CHECK (status IS NULL OR status_code IS NOT NULL);
+ALTER TABLE schedule_entries DROP CHECK chk_schedule_entries_status_known;
+
+ALTER TABLE schedule_entries DROP COLUMN status;
+ALTER TABLE schedule_entries
+    RENAME COLUMN status_code TO status,
+    ALTER COLUMN status SET DEFAULT 1;
+CREATE INDEX idx_schedule_entries_status ON schedule_entries(status);
+
+-- ----------------------------------------------------------------------------
+-- week_template_entries
+-- ----------------------------------------------------------------------------
+ALTER TABLE week_template_entries ADD COLUMN status_code TINYINT NULL AFTER status;
+
+UPDATE week_template_entries SET status_code = CASE LOWER(TRIM(status))
+    WHEN 'normal' THEN 1
+    WHEN 'frei' THEN 2
+    WHEN 'krank' THEN 3
+    WHEN 'urlaub' THEN 4
+    WHEN 'schule' THEN 5
+    WHEN 'fachschule' THEN 6
+    WHEN 'feiertag' THEN 7
+    WHEN 'fortbildung' THEN 8
+END;
+
+ALTER TABLE week_template_entries ADD CONSTRAINT chk_week_template_entries_status_known
+    CHECK (status IS NULL OR status_code IS NOT NULL);
+ALTER TABLE week_template_entries DROP CHECK chk_week_template_entries_status_known;
+
+ALTER TABLE week_template_entries DROP COLUMN status;
+ALTER TABLE week_template_entries
+    RENAME COLUMN status_code TO status,
+    ALTER COLUMN status SET DEFAULT 1;
+
+-- ----------------------------------------------------------------------------
+-- absences
+-- ----------------------------------------------------------------------------
+ALTER TABLE absences ADD COLUMN status_code TINYINT NULL AFTER status;
+
+UPDATE absences SET status_code = CASE LOWER(TRIM(status))
+    WHEN 'krank' THEN 3
+    WHEN 'urlaub' THEN 4
+    WHEN 'schule' THEN 5
+    WHEN 'fachschule' THEN 6
+END;
+
+ALTER TABLE absences DROP COLUMN status;
+ALTER TABLE absences
+    RENAME COLUMN status_code TO status,
+    MODIFY COLUMN status TINYINT NOT NULL;
@@ -0,0 +1,21 @@
+-- ============================================================================
+-- MIGRATION V16: Minute-of-day shift times
+-- ============================================================================
+-- Description: Adds start_minute and end_minute to schedule_entries, the shift
+--              times as minutes since midnight (0-1439). They are stored
+--              generated columns, so every writer (entities, JDBC batches,
+--              INSERT ... SELECT copies, the holiday UPDATE) keeps them in sync
+--              with start_time/end_time without knowing about them.
+--              On-duty lookups, staffing coverage, substitute availability and
+--              compliance read these integers instead of TIME values, and the
+--              on-duty index serves "who is working at minute m on day d".
+-- Date: 2026-10-19
+-- ============================================================================
+
+ALTER TABLE schedule_entries
+    ADD COLUMN start_minute SMALLINT
+        GENERATED ALWAYS AS (HOUR(start_time) * 60 + MINUTE(start_time)) STORED AFTER end_time,
+    ADD COLUMN end_minute SMALLINT
+        GENERATED ALWAYS AS (HOUR(end_time) * 60 + MINUTE(end_time)) STORED AFTER start_minute;
+
+CREATE INDEX idx_schedule_entries_on_duty ON schedule_entries(work_date, start_minute, end_minute);
@@ -0,0 +1,32 @@
+-- ============================================================================
+-- MIGRATION V5: Hours accounts (Soll/Ist ledger)
+-- ============================================================================
+-- Description: Running per-staff balance of contracted (Soll) versus planned
+--              and credited (Ist) minutes, plus per-week and per-month periods.
+--              Maintained incrementally on every schedule entry change;
+--              POST /api/hours-accounts/rebuild repopulates both tables.
+-- Date: 2026-10-19
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS hours_accounts (
+    staff_id BIGINT PRIMARY KEY,
+    target_minutes INT NOT NULL DEFAULT 0 COMMENT 'Soll: contracted minutes of all planned weeks',
+    actual_minutes INT NOT NULL DEFAULT 0 COMMENT 'Ist: planned minutes plus credited absences',
+    balance_minutes INT NOT NULL DEFAULT 0 COMMENT 'actual_minutes - target_minutes',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_hours_accounts_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE,
+    INDEX idx_hours_accounts_balance (balance_minutes)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS hours_account_periods (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    staff_id BIGINT NOT NULL,
+    period_type VARCHAR(10) NOT NULL COMMENT 'WEEK or MONTH',
+    period_start DATE NOT NULL COMMENT 'Monday of the week, or first day of the month',
+    target_minutes INT NOT NULL DEFAULT 0,
+    actual_minutes INT NOT NULL DEFAULT 0,
+    entry_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_hours_periods_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE,
+    CONSTRAINT unique_hours_period UNIQUE (staff_id, period_type, period_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,33 @@
+-- ============================================================================
+-- MIGRATION V6: Week templates
+-- ============================================================================
+-- Description: Named, reusable week plans. A template stores one row per
+--              staff member and weekday without dates; applying it to a week
+--              is a single INSERT ... SELECT into schedule_entries.
+-- Date: 2026-10-19
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS week_templates (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    description TEXT,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS week_template_entries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    template_id BIGINT NOT NULL,
+    staff_id BIGINT NOT NULL,
+    day_of_week INT NOT NULL COMMENT '0=Monday, 6=Sunday',
+    start_time TIME,
+    end_time TIME,
+    status VARCHAR(50) DEFAULT 'normal',
+    working_hours_minutes INT DEFAULT 0,
+    break_minutes INT DEFAULT 0,
+    CONSTRAINT fk_week_template_entries_template FOREIGN KEY (template_id) REFERENCES week_templates(id) ON DELETE CASCADE,
+    CONSTRAINT fk_week_template_entries_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE,
+    CONSTRAINT unique_week_template_entry UNIQUE (template_id, staff_id, day_of_week)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,61 @@
+-- ============================================================================
+-- MIGRATION V7: Shift-type catalogue and rotation patterns
+-- ============================================================================
+-- Description: Named shifts (Früh, Mittel, Spät) with a SMALLINT key that
+--              schedule entries reference, so aggregation can group by it.
+--              Rotation patterns are per-staff cycles of shift codes that are
+--              expanded into schedule_entries on demand for any date range.
+-- Date: 2026-10-19
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS shift_types (
+    id SMALLINT AUTO_INCREMENT PRIMARY KEY,
+    code VARCHAR(20) NOT NULL UNIQUE,
+    name VARCHAR(50) NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    color VARCHAR(7),
+    is_active BOOLEAN DEFAULT TRUE,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- The three most frequent shifts of the imported schedules
+INSERT INTO shift_types (code, name, start_time, end_time, color, created_by, updated_by) VALUES
+    ('FRUEH',  'Früh',   '07:30:00', '16:00:00', '#4CAF50', 'migration', 'migration'),
+    ('MITTEL', 'Mittel', '08:00:00', '16:00:00', '#2196F3', 'migration', 'migration'),
+    ('SPAET',  'Spät',   '09:00:00', '17:00:00', '#FF9800', 'migration', 'migration');
+
+ALTER TABLE schedule_entries
+    ADD COLUMN shift_type_id SMALLINT NULL AFTER end_time,
+    ADD CONSTRAINT fk_schedule_entries_shift_type FOREIGN KEY (shift_type_id) REFERENCES shift_types(id) ON DELETE SET NULL,
+    ADD INDEX idx_schedule_entries_shift_type (shift_type_id);
+
+ALTER TABLE week_template_entries
+    ADD COLUMN shift_type_id SMALLINT NULL AFTER end_time,
+    ADD CONSTRAINT fk_week_template_entries_shift_type FOREIGN KEY (shift_type_id) REFERENCES shift_types(id) ON DELETE SET NULL;
+
+-- Link existing working days whose times match a catalogue shift exactly
+UPDATE schedule_entries se
+JOIN shift_types st ON st.start_time = se.start_time AND st.end_time = se.end_time
+SET se.shift_type_id = st.id
+WHERE LOWER(se.status) = 'normal';
+
+CREATE TABLE IF NOT EXISTS rotation_patterns (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    staff_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    slots VARCHAR(500) NOT NULL COMMENT 'Comma-separated shift codes, one per day of the cycle; - = frei',
+    valid_from DATE NOT NULL COMMENT 'Anchor: the first slot falls on this date',
+    valid_until DATE,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_rotation_patterns_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE,
+    INDEX idx_rotation_patterns_staff (staff_id),
+    INDEX idx_rotation_patterns_validity (valid_from, valid_until)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
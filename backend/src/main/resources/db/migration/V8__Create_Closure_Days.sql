@@ -0,0 +1,21 @@
+-- ============================================================================
+-- MIGRATION V8: Kita closure days and team days
+-- ============================================================================
+-- Description: Planner-maintained special days. Berlin public holidays are
+--              computed in the application (Easter-based rules) and are not
+--              stored; this table only holds Schließtage (CLOSURE) and
+--              Teamtage (TEAM_DAY), one row per date.
+-- Date: 2026-10-19
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS closure_days (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    closure_date DATE NOT NULL UNIQUE,
+    kind VARCHAR(20) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT chk_closure_days_kind CHECK (kind IN ('CLOSURE', 'TEAM_DAY'))
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,32 @@
+-- ============================================================================
+-- MIGRATION V9: Absence ranges
+-- ============================================================================
+-- Description: Urlaub, krank and the recurring Schule/Fachschule days as one
+--              row per absence instead of one schedule entry per day.
+--              weekdays is a bitmask of the covered days (Mon = 1 ... Sun = 64,
+--              31 = Mon-Fri, 2 = every Tuesday). A range overlays planned
+--              'normal' entries on the days it covers and is expanded per day
+--              only when a week, a daily total or a ledger period is read.
+--              Overlap lookups use the (staff_id, start_date, end_date) and
+--              (start_date, end_date) indexes.
+-- Date: 2026-10-19
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS absences (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    staff_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    weekdays SMALLINT NOT NULL DEFAULT 31,
+    notes VARCHAR(500),
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_absences_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE,
+    CONSTRAINT chk_absences_range CHECK (end_date >= start_date),
+    CONSTRAINT chk_absences_weekdays CHECK (weekdays BETWEEN 1 AND 127),
+    INDEX idx_absences_staff_range (staff_id, start_date, end_date),
+    INDEX idx_absences_range (start_date, end_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,167 @@
+package com.kita.dienstplan.absence;
+
+import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AbsenceIndex
+ * Tests interval lookups and the per-day overlay of matrix, ledger and entry shapes
+ */
+class AbsenceIndexTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 7, 6);
+
+    private final Staff max = staff(1L, "Max Mustermann");
+    private final Staff erika = staff(2L, "Erika Musterfrau");
+
+    @Test
+    void covering_ShouldPreferLatestStartingRange() {
+        // Arrange: three weeks of Urlaub with a sick spell in the middle week
+        Absence urlaub = absence(10L, max, "Urlaub", MONDAY, MONDAY.plusDays(18), Absence.WORKDAYS);
+        Absence krank = absence(11L, max, "krank", MONDAY.plusDays(7), MONDAY.plusDays(9), Absence.WORKDAYS);
+
+        // Act
+        AbsenceIndex index = AbsenceIndex.of(List.of(krank, urlaub));
+
+        // Assert
+        assertSame(urlaub, index.covering(1L, MONDAY));
+        assertSame(krank, index.covering(1L, MONDAY.plusDays(8)));
+        assertSame(urlaub, index.covering(1L, MONDAY.plusDays(10)));
+        assertNull(index.covering(1L, MONDAY.plusDays(5)), "weekend is not covered");
+        assertNull(index.covering(1L, MONDAY.minusDays(1)));
+        assertNull(index.covering(2L, MONDAY));
+    }
+
+    @Test
+    void forEachDay_ShouldVisitEachStaffDayOnce() {
+        // Arrange
+        Absence urlaub = absence(10L, max, "Urlaub", MONDAY, MONDAY.plusDays(18), Absence.WORKDAYS);
+        Absence krank = absence(11L, max, "krank", MONDAY.plusDays(7), MONDAY.plusDays(9), Absence.WORKDAYS);
+        Absence schule = absence(12L, erika, "Schule", MONDAY, MONDAY.plusDays(27),
+                (short) Absence.weekdayBit(MONDAY.getDayOfWeek()));
+        AbsenceIndex index = AbsenceIndex.of(List.of(urlaub, krank, schule));
+        List<String> visited = new ArrayList<>();
+
+        // Act
+        index.forEachDay(MONDAY, MONDAY.plusDays(27), (absence, day) -> visited.add(absence.getStatus() + day));
+
+        // Assert: 15 workdays for Max (3 of them krank), 4 Mondays for Erika
+        assertEquals(19, visited.size());
+        assertEquals(3, visited.stream().filter(day -> day.startsWith("krank")).count());
+        assertEquals(4, visited.stream().filter(day -> day.startsWith("Schule")).count());
+    }
+
+    @Test
+    void overlayMatrixRows_ShouldOverlayNormalRowsAndAddMissingDays() {
+        // Arrange: Max planned Monday (normal) and Tuesday (frei), on leave Monday to Wednesday
+        WeeklySchedule week = new WeeklySchedule();
+        week.setId(28L);
+        week.setStartDate(MONDAY);
+        List<Object[]> rows = List.of(
+                matrixRow(1L, "Max Mustermann", 100L, 0, "normal", 480),
+                matrixRow(1L, "Max Mustermann", 101L, 1, "frei", 0),
+                matrixRow(2L, "Erika Musterfrau", 102L, 0, "normal", 420));
+        AbsenceIndex index = AbsenceIndex.of(List.of(
+                absence(10L, max, "Urlaub", MONDAY, MONDAY.plusDays(2), Absence.WORKDAYS)));
+
+        // Act
+        List<Object[]> overlaid = index.overlayMatrixRows(week, rows);
+
+        // Assert: re-sorted by name, Erika untouched, Max's Monday overlaid and Wednesday added
+        assertEquals(4, overlaid.size());
+        assertEquals(2L, overlaid.get(0)[0]);
+        assertEquals("normal", overlaid.get(0)[9]);
+        assertEquals("Urlaub", overlaid.get(1)[9]);
+        assertEquals(100L, overlaid.get(1)[5]);
+        assertNull(overlaid.get(1)[7]);
+        assertEquals(0, overlaid.get(1)[10]);
+        assertEquals("frei", overlaid.get(2)[9]);
+        assertEquals(0L, overlaid.get(3)[5]);
+        assertEquals(2, overlaid.get(3)[6]);
+        assertEquals("normal", rows.get(0)[9], "input rows are not modified");
+    }
+
+    @Test
+    void overlayEntries_ShouldRestrictAddedDaysToStaff() {
+        // Arrange
+        ScheduleEntryDTO planned = new ScheduleEntryDTO();
+        planned.setId(100L);
+        planned.setStaffId(1L);
+        planned.setWorkDate(MONDAY);
+        planned.setStatus("normal");
+        planned.setStartTime(LocalTime.of(8, 0));
+        planned.setWorkingHoursMinutes(480);
+        AbsenceIndex index = AbsenceIndex.of(List.of(
+                absence(10L, max, "krank", MONDAY, MONDAY.plusDays(1), Absence.WORKDAYS),
+                absence(11L, erika, "Urlaub", MONDAY, MONDAY, Absence.WORKDAYS)));
+
+        // Act
+        List<ScheduleEntryDTO> entries = index.overlayEntries(List.of(planned), MONDAY, MONDAY.plusDays(6), 1L, 28L);
+
+        // Assert
+        assertEquals(2, entries.size());
+        assertEquals("krank", entries.get(0).getStatus());
+        assertEquals(10L, entries.get(0).getAbsenceId());
+        assertNull(entries.get(0).getStartTime());
+        assertEquals(0, entries.get(0).getWorkingHoursMinutes());
+        assertNull(entries.get(1).getId());
+        assertEquals(MONDAY.plusDays(1), entries.get(1).getWorkDate());
+        assertEquals(28L, entries.get(1).getWeeklyScheduleId());
+        assertEquals(1, entries.get(1).getDayOfWeek());
+    }
+
+    @Test
+    void overlayLedgerRows_ShouldCreditAbsenceDaysWithoutEntries() {
+        // Arrange
+        List<Object[]> rows = List.<Object[]>of(new Object[]{1L, new BigDecimal("39.00"), MONDAY, "normal", 480});
+        AbsenceIndex index = AbsenceIndex.of(List.of(
+                absence(10L, max, "Urlaub", MONDAY, MONDAY.plusDays(1), Absence.WORKDAYS)));
+
+        // Act
+        List<Object[]> overlaid = index.overlayLedgerRows(MONDAY, MONDAY.plusDays(6), rows);
+
+        // Assert
+        assertEquals(2, overlaid.size());
+        assertEquals("Urlaub", overlaid.get(0)[3]);
+        assertEquals(0, overlaid.get(0)[4]);
+        assertEquals(MONDAY.plusDays(1), overlaid.get(1)[2]);
+        assertEquals(new BigDecimal("39.00"), overlaid.get(1)[1]);
+    }
+
+    private static Object[] matrixRow(Long staffId, String name, Long entryId, int day, String status, int minutes) {
+        return new Object[]{staffId, name, "Erzieher", null, false, entryId, day,
+                LocalTime.of(8, 0), LocalTime.of(16, 0), status, minutes, 30};
+    }
+
+    private static Absence absence(Long id, Staff staff, String status, LocalDate start, LocalDate end, short weekdays) {
+        Absence absence = new Absence();
+        absence.setId(id);
+        absence.setStaff(staff);
+        absence.setStatus(status);
+        absence.setStartDate(start);
+        absence.setEndDate(end);
+        absence.setWeekdays(weekdays);
+        return absence;
+    }
+
+    private static Staff staff(Long id, String fullName) {
+        Staff staff = new Staff();
+        staff.setId(id);
+        staff.setFullName(fullName);
+        staff.setRole("Erzieher");
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        return staff;
+    }
+}
@@ -0,0 +1,135 @@
+package com.kita.dienstplan.archive;
+
+import com.kita.dienstplan.dto.ArchiveSegmentDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SegmentStore
+ * Verifies round trips through the compressed blocks, date range lookups across segments,
+ * and that the index is rebuilt from the files, tombstones and a torn last block included
+ */
+class SegmentStoreTest {
+
+    private static final LocalDate WEEK_10 = LocalDate.of(2025, 3, 3);
+    // Week 1 of 2026 starts in 2025
+    private static final LocalDate WEEK_1 = LocalDate.of(2025, 12, 29);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ShouldRoundTripEveryColumn() {
+        // Arrange
+        ArchivedEntry shift = new ArchivedEntry(7, 3, 0, WEEK_10, LocalTime.of(7, 0), LocalTime.of(15, 30),
+                "normal", 480, 30, "Frühdienst – Käfer", (short) 2, "admin", LocalDateTime.of(2025, 2, 20, 9, 15, 1),
+                "leitung", LocalDateTime.of(2025, 3, 1, 18, 0));
+        ArchivedEntry sick = new ArchivedEntry(8, 3, 1, WEEK_10.plusDays(1), null, null, "krank", 0, 0,
+                null, null, null, null, null, null);
+
+        // Act
+        try (SegmentStore store = new SegmentStore(directory)) {
+            store.append(new ArchivedWeek(100, 10, 2025, WEEK_10, List.of(shift, sick)));
+            ArchivedWeek week = store.read(100, 2025).orElseThrow();
+
+            // Assert
+            assertEquals(10, week.weekNumber());
+            assertEquals(WEEK_10, week.monday());
+            assertEquals(List.of(shift, sick), week.entries());
+            assertTrue(store.read(100, 2026).isEmpty());
+            assertTrue(store.read(101, 2025).isEmpty());
+        }
+    }
+
+    @Test
+    void readBetween_ShouldFindWeeksAcrossYearSegments() {
+        // Arrange
+        try (SegmentStore store = new SegmentStore(directory)) {
+            store.append(week(100, 10, 2025, WEEK_10, 1));
+            store.append(week(200, 1, 2026, WEEK_1, 11));
+
+            // Act
+            List<ArchivedWeek> newYear = store.readBetween(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 1));
+            List<ArchivedWeek> all = store.readBetween(LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31));
+
+            // Assert: the week is kept in the segment of its week-based year
+            assertEquals(1, newYear.size());
+            assertEquals(200, newYear.get(0).weeklyScheduleId());
+            assertEquals(List.of(100L, 200L), all.stream().map(ArchivedWeek::weeklyScheduleId).toList());
+            assertEquals(List.of(2025, 2026), store.stats().stream().map(ArchiveSegmentDTO::getYear).toList());
+        }
+    }
+
+    @Test
+    void open_ShouldRebuildIndexWithTombstones() {
+        // Arrange
+        try (SegmentStore store = new SegmentStore(directory)) {
+            store.append(week(100, 10, 2025, WEEK_10, 1));
+            store.append(week(101, 11, 2025, WEEK_10.plusWeeks(1), 11));
+            assertTrue(store.remove(100, 2025));
+            assertFalse(store.remove(100, 2025));
+            // Archived again later with other entries
+            store.append(week(101, 11, 2025, WEEK_10.plusWeeks(1), 21));
+        }
+
+        // Act
+        try (SegmentStore store = new SegmentStore(directory)) {
+
+            // Assert
+            assertFalse(store.contains(100, 2025));
+            assertEquals(21, store.read(101, 2025).orElseThrow().entries().get(0).id());
+            ArchiveSegmentDTO segment = store.stats().get(0);
+            assertEquals("segment-2025.kda", segment.getFileName());
+            assertEquals(1, segment.getWeeks());
+            assertEquals(5L, segment.getEntries());
+        }
+    }
+
+    @Test
+    void open_ShouldCutOffTornLastBlock() throws IOException {
+        // Arrange: a crash left half a block behind
+        long complete;
+        try (SegmentStore store = new SegmentStore(directory)) {
+            store.append(week(100, 10, 2025, WEEK_10, 1));
+            complete = store.stats().get(0).getFileBytes();
+            store.append(week(101, 11, 2025, WEEK_10.plusWeeks(1), 11));
+        }
+        Path file = directory.resolve(SegmentStore.fileName(2025));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(complete + ArchiveSegment.HEADER_BYTES + 3);
+        }
+
+        // Act
+        try (SegmentStore store = new SegmentStore(directory)) {
+
+            // Assert
+            assertTrue(store.contains(100, 2025));
+            assertFalse(store.contains(101, 2025));
+            assertEquals(complete, store.stats().get(0).getFileBytes());
+            // Appends continue after the last complete block
+            store.append(week(101, 11, 2025, WEEK_10.plusWeeks(1), 11));
+            assertEquals(5, store.read(101, 2025).orElseThrow().entries().size());
+        }
+    }
+
+    private static ArchivedWeek week(long id, int weekNumber, int year, LocalDate monday, long firstEntryId) {
+        List<ArchivedEntry> entries = new ArrayList<>();
+        for (int day = 0; day < 5; day++) {
+            entries.add(new ArchivedEntry(firstEntryId + day, 1, day, monday.plusDays(day), LocalTime.of(7, 0),
+                    LocalTime.of(15, 0), "normal", 450, 30, null, null, "admin", null, null, null));
+        }
+        return new ArchivedWeek(id, weekNumber, year, monday, entries);
+    }
+}
@@ -0,0 +1,110 @@
+package com.kita.dienstplan.benchmark;
+
+import com.kita.dienstplan.dto.ComplianceReportDTO;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import com.kita.dienstplan.service.ComplianceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compliance benchmark: single-edit checks against a staff member's neighbouring days,
+ * and a whole org-year (60 staff x ~250 working days) validated with 1 thread and in parallel.
+ * Disabled by default; run with: mvn test -Dtest=ComplianceBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ComplianceBenchmarkTest {
+
+    private static final int STAFF = 60;
+    private static final int YEAR = 2026;
+    private static final int EDITS = 100_000;
+
+    @Test
+    void singleEditsAndOrgYear() {
+        List<Object[]> yearRows = buildYearRows();
+        ScheduleEntryRepository entries = mock(ScheduleEntryRepository.class);
+        when(entries.streamShiftRows(any(), any())).thenAnswer(invocation -> yearRows.stream());
+        List<Object[]> neighbours = List.of(
+                new Object[]{1L, 1L, LocalDate.of(YEAR, 3, 2), ScheduleEntry.minuteOfDay(LocalTime.of(12, 30)),
+                        ScheduleEntry.minuteOfDay(LocalTime.of(20, 30)), 30},
+                new Object[]{1L, 3L, LocalDate.of(YEAR, 3, 4), ScheduleEntry.minuteOfDay(LocalTime.of(12, 0)),
+                        ScheduleEntry.minuteOfDay(LocalTime.of(20, 0)), 30});
+        when(entries.findStaffShiftRows(anyLong(), any(), any())).thenReturn(neighbours);
+        WeeklyScheduleRepository weeks = mock(WeeklyScheduleRepository.class);
+        AbsenceRepository absences = mock(AbsenceRepository.class);
+
+        ComplianceService sequential = new ComplianceService(entries, weeks, absences, "warn", 1);
+        ComplianceService parallel = new ComplianceService(entries, weeks, absences, "warn", 0);
+
+        Staff staff = new Staff();
+        staff.setId(1L);
+        ScheduleEntry edit = new ScheduleEntry();
+        edit.setStaff(staff);
+        edit.setWorkDate(LocalDate.of(YEAR, 3, 3));
+        edit.setStartTime(LocalTime.of(6, 0));
+        edit.setEndTime(LocalTime.of(16, 0));
+        edit.setStatus("normal");
+
+        for (int i = 0; i < EDITS; i++) {
+            sequential.checkEntry(edit);
+        }
+        long editStart = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < EDITS; i++) {
+            found += sequential.checkEntry(edit).size();
+        }
+        double editMicros = (System.nanoTime() - editStart) / (double) EDITS / 1_000;
+        assertEquals(EDITS * 2, found); // 45 minute break and rest after the Monday late shift
+        System.out.printf("single edit: %.2f us (repository mocked)%n", editMicros);
+
+        for (int i = 0; i < 5; i++) {
+            sequential.validateYear(YEAR);
+            parallel.validateYear(YEAR);
+        }
+        long sequentialStart = System.nanoTime();
+        ComplianceReportDTO sequentialReport = sequential.validateYear(YEAR);
+        long sequentialMillis = (System.nanoTime() - sequentialStart) / 1_000_000;
+
+        long parallelStart = System.nanoTime();
+        ComplianceReportDTO parallelReport = parallel.validateYear(YEAR);
+        long parallelMillis = (System.nanoTime() - parallelStart) / 1_000_000;
+
+        assertEquals(sequentialReport.getViolations(), parallelReport.getViolations());
+        System.out.printf("org-year: %d shifts, %d violations, 1 thread %d ms, %d threads %d ms%n",
+                sequentialReport.getShiftCount(), sequentialReport.getViolationCount(), sequentialMillis,
+                Runtime.getRuntime().availableProcessors(), parallelMillis);
+    }
+
+    private List<Object[]> buildYearRows() {
+        List<Object[]> rows = new ArrayList<>();
+        long id = 1;
+        for (long staff = 1; staff <= STAFF; staff++) {
+            for (LocalDate day = LocalDate.of(YEAR, 1, 1); day.getYear() == YEAR; day = day.plusDays(1)) {
+                if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    continue;
+                }
+                // Alternate early and late shifts; some late-early pairs break the rest rule
+                boolean late = (day.getDayOfYear() + staff) % 3 == 0;
+                LocalTime start = late ? LocalTime.of(12, 30) : LocalTime.of(6, 30);
+                LocalTime end = late ? LocalTime.of(20, 30) : LocalTime.of(15, 0);
+                rows.add(new Object[]{staff, id++, day, ScheduleEntry.minuteOfDay(start), ScheduleEntry.minuteOfDay(end), 30});
+            }
+        }
+        return rows;
+    }
+}
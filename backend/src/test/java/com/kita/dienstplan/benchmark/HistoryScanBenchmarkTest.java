@@ -0,0 +1,90 @@
+package com.kita.dienstplan.benchmark;
+
+import com.kita.dienstplan.dto.HistoryStatsDTO;
+import com.kita.dienstplan.history.HistoryDimension;
+import com.kita.dienstplan.history.HistoryQuery;
+import com.kita.dienstplan.history.HistoryStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * History store benchmark: ten years of 80 staff in 8 groups, one row per staff day,
+ * scanned across all years with and without filters and with two grouping dimensions.
+ * Disabled by default; run with: mvn test -Dtest=HistoryScanBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class HistoryScanBenchmarkTest {
+
+    private static final int STAFF = 80;
+    private static final int GROUPS = 8;
+    private static final int FIRST_YEAR = 2016;
+    private static final int YEARS = 10;
+    private static final int ROUNDS = 200;
+    private static final String[] STATUSES = {"normal", "normal", "normal", "normal", "frei", "krank", "Urlaub"};
+
+    @Test
+    void multiYearScans() {
+        HistoryStore store = new HistoryStore(Runtime.getRuntime().availableProcessors());
+        try {
+            load(store);
+            HistoryStatsDTO stats = store.stats(true);
+            LocalDate from = LocalDate.of(FIRST_YEAR, 1, 1);
+            LocalDate to = LocalDate.of(FIRST_YEAR + YEARS - 1, 12, 31);
+
+            double total = measure(store, new HistoryQuery(from, to, null, List.of(), null, null, true));
+            double sickByYearAndGroup = measure(store, new HistoryQuery(from, to, Set.of("krank"),
+                    List.of(HistoryDimension.YEAR, HistoryDimension.GROUP), null, null, false));
+            double staffByMonth = measure(store, new HistoryQuery(from, to, null,
+                    List.of(HistoryDimension.STAFF, HistoryDimension.MONTH), null, null, true));
+
+            System.out.printf("%d rows, %.1f bytes per row (%d KB)%n",
+                    stats.getRows(), stats.getBytesPerRow(), stats.getBytes() / 1024);
+            System.out.printf("total: %.2f ms, krank by year x group: %.2f ms, staff x month: %.2f ms%n",
+                    total, sickByYearAndGroup, staffByMonth);
+            assertTrue(stats.getBytesPerRow() < 24);
+            assertTrue(total < 50);
+        } finally {
+            store.close();
+        }
+    }
+
+    private static double measure(HistoryStore store, HistoryQuery query) {
+        for (int i = 0; i < ROUNDS; i++) {
+            store.aggregate(query);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            store.aggregate(query);
+        }
+        return (System.nanoTime() - start) / (double) ROUNDS / 1_000_000;
+    }
+
+    private static void load(HistoryStore store) {
+        for (int s = 1; s <= STAFF; s++) {
+            store.putStaff(s, "Staff " + s, (long) (s % GROUPS) + 1, "Gruppe " + (s % GROUPS + 1), s % 10 == 0);
+        }
+        HistoryStore.Loader loader = store.loader();
+        long entryId = 1;
+        for (LocalDate day = LocalDate.of(FIRST_YEAR, 1, 1); day.getYear() < FIRST_YEAR + YEARS;
+             day = day.plusDays(1)) {
+            if (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            for (int s = 1; s <= STAFF; s++) {
+                String status = STATUSES[(int) ((entryId * 31) % STATUSES.length)];
+                boolean shift = "normal".equals(status);
+                loader.entry(entryId++, s, day, shift ? LocalTime.of(7, 0) : null,
+                        shift ? LocalTime.of(15, 0) : null, status, shift ? 450 : 0);
+            }
+        }
+        loader.install(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+}
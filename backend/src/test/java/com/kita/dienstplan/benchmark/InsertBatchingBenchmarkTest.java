@@ -0,0 +1,123 @@
+package com.kita.dienstplan.benchmark;
+
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.util.TestDataBuilder;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Insert throughput for 10000 schedule entries saved as entities on H2: unbatched, one statement
+ * per entry as IDENTITY ids forced before, against JDBC batches with pooled ids as configured now.
+ * SQL logging is off so the console does not dominate the timings.
+ * Disabled by default; run with: mvn test -Dtest=InsertBatchingBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(TestJpaAuditingConfig.class)
+@Sql(scripts = "/test-schema.sql")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InsertBatchingBenchmarkTest {
+
+    private static final int STAFF = 100;
+    private static final int WEEKS = 15;
+    private static final int ENTRIES = 10_000;
+    private static final int FLUSH_EVERY = 1_000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Test
+    void insertTenThousandEntries() {
+        List<Staff> staff = new ArrayList<>();
+        for (int i = 0; i < STAFF; i++) {
+            staff.add(entityManager.persist(TestDataBuilder.createTestStaff("Staff", "N" + i, null)));
+        }
+        List<WeeklySchedule> weeks = new ArrayList<>();
+        for (int i = 0; i < WEEKS; i++) {
+            LocalDate monday = LocalDate.of(2026, 1, 5).plusWeeks(i);
+            WeeklySchedule week = new WeeklySchedule();
+            week.setYear(monday.get(IsoFields.WEEK_BASED_YEAR));
+            week.setWeekNumber(monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            week.setStartDate(monday);
+            week.setEndDate(monday.plusDays(6));
+            weeks.add(entityManager.persist(week));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Warm-up of both paths
+        insertEntities(staff, weeks, 500, 1);
+        scheduleEntryRepository.deleteAllInBatch();
+        insertEntities(staff, weeks, 500, null);
+        scheduleEntryRepository.deleteAllInBatch();
+
+        double unbatchedMillis = time(() -> insertEntities(staff, weeks, ENTRIES, 1));
+        assertEquals(ENTRIES, scheduleEntryRepository.count());
+        scheduleEntryRepository.deleteAllInBatch();
+
+        double batchedMillis = time(() -> insertEntities(staff, weeks, ENTRIES, null));
+        assertEquals(ENTRIES, scheduleEntryRepository.count());
+
+        System.out.printf("insert %d entries: unbatched %.0f ms (%.0f/s), batched %.0f ms (%.0f/s) (H2)%n",
+                ENTRIES, unbatchedMillis, rate(unbatchedMillis), batchedMillis, rate(batchedMillis));
+    }
+
+    private void insertEntities(List<Staff> staff, List<WeeklySchedule> weeks, int count, Integer batchSize) {
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        session.setJdbcBatchSize(batchSize);
+        for (int i = 0; i < count; i++) {
+            WeeklySchedule week = week(weeks, i);
+            ScheduleEntry entry = TestDataBuilder.createTestScheduleEntry(
+                    entityManager.getEntityManager().getReference(WeeklySchedule.class, week.getId()),
+                    entityManager.getEntityManager().getReference(Staff.class, staff.get(i / 7 % STAFF).getId()),
+                    i % 7, LocalTime.of(7, 0), LocalTime.of(15, 0));
+            entry.setWorkDate(week.getStartDate().plusDays(i % 7));
+            entityManager.persist(entry);
+            if (i % FLUSH_EVERY == FLUSH_EVERY - 1) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        session.setJdbcBatchSize(null);
+    }
+
+    private static WeeklySchedule week(List<WeeklySchedule> weeks, int i) {
+        return weeks.get(i / (7 * STAFF));
+    }
+
+    private static double time(Runnable run) {
+        long start = System.nanoTime();
+        run.run();
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static double rate(double millis) {
+        return ENTRIES / (millis / 1000.0);
+    }
+}
@@ -0,0 +1,99 @@
+package com.kita.dienstplan.benchmark;
+
+import com.kita.dienstplan.dto.RotationExpansionResultDTO;
+import com.kita.dienstplan.entity.ShiftType;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.repository.IdBlockAllocator;
+import com.kita.dienstplan.repository.ScheduleEntryBatchWriter;
+import com.kita.dienstplan.service.RotationService;
+import com.kita.dienstplan.service.ShiftCatalogService;
+import com.kita.dienstplan.service.WeekProvisioningService;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rotation benchmark: 60 staff with two-week patterns expanded over a full year on H2
+ * (~21900 entries written in JDBC batches). Disabled by default;
+ * run with: mvn test -Dtest=RotationExpansionBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, RotationService.class, ShiftCatalogService.class,
+        ScheduleEntryBatchWriter.class, IdBlockAllocator.class, WeekProvisioningService.class})
+@Sql(scripts = "/test-schema.sql")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RotationExpansionBenchmarkTest {
+
+    private static final int STAFF = 60;
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 12, 31);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RotationService rotationService;
+
+    @Test
+    void expandOrgYear() {
+        shiftType("FRUEH", LocalTime.of(7, 30), LocalTime.of(16, 0));
+        shiftType("MITTEL", LocalTime.of(8, 0), LocalTime.of(16, 0));
+        shiftType("SPAET", LocalTime.of(9, 0), LocalTime.of(17, 0));
+        List<String> cycle = List.of("FRUEH", "FRUEH", "MITTEL", "SPAET", "SPAET", "-", "-",
+                "SPAET", "SPAET", "MITTEL", "FRUEH", "FRUEH", "-", "-");
+
+        List<Long> staffIds = new ArrayList<>();
+        for (int i = 0; i < STAFF; i++) {
+            Staff staff = new Staff();
+            staff.setFirstName("Staff");
+            staff.setLastName(String.valueOf(i));
+            staff.setFullName("Staff " + i);
+            staff.setRole("Erzieher");
+            staff.setWeeklyHours(new BigDecimal("39.00"));
+            staff.setIsPraktikant(false);
+            staff.setIsActive(true);
+            staffIds.add(entityManager.persist(staff).getId());
+        }
+        entityManager.flush();
+        for (int i = 0; i < STAFF; i++) {
+            rotationService.createPattern(staffIds.get(i), "Zwei-Wochen-Rhythmus", cycle,
+                    START.minusDays(i % cycle.size()), null);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        long start = System.nanoTime();
+        RotationExpansionResultDTO result = rotationService.expand(START, END, null);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(STAFF * 365, result.getEntriesCreated());
+        System.out.printf("rotation expansion: %d entries, %d weeks created in %d ms (H2, batch size %d)%n",
+                result.getEntriesCreated(), result.getWeeksCreated(), millis, ScheduleEntryBatchWriter.BATCH_SIZE);
+    }
+
+    private void shiftType(String code, LocalTime start, LocalTime end) {
+        ShiftType shiftType = new ShiftType();
+        shiftType.setCode(code);
+        shiftType.setName(code);
+        shiftType.setStartTime(start);
+        shiftType.setEndTime(end);
+        entityManager.persist(shiftType);
+    }
+}
@@ -0,0 +1,102 @@
+package com.kita.dienstplan.benchmark;
+
+import com.kita.dienstplan.dto.WeekMatrixDTO;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.pdf.DienstplanPdfRenderer;
+import com.kita.dienstplan.pdf.DienstplanPdfTemplate;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import com.kita.dienstplan.service.ArchiveService;
+import com.kita.dienstplan.service.SchedulePdfService;
+import com.kita.dienstplan.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * PDF benchmark: render a full year (52 weeks x 25 staff) sequentially, in parallel,
+ * and again from the per-version cache.
+ * Disabled by default; run with: mvn test -Dtest=SchedulePdfBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SchedulePdfBenchmarkTest {
+
+    private static final int WEEKS = 52;
+    private static final int STAFF = 25;
+
+    @Test
+    void renderFullYear() {
+        List<WeeklySchedule> weeks = new ArrayList<>();
+        for (int week = 1; week <= WEEKS; week++) {
+            WeeklySchedule schedule = TestDataBuilder.createTestWeeklySchedule(week, 2026);
+            schedule.setId((long) week);
+            weeks.add(schedule);
+        }
+        List<Object[]> rows = buildRows();
+
+        ScheduleEntryRepository entries = mock(ScheduleEntryRepository.class);
+        when(entries.findWeekMatrixRows(any())).thenReturn(rows);
+        List<Object[]> stamps = new ArrayList<>();
+        for (WeeklySchedule week : weeks) {
+            stamps.add(new Object[]{week.getId(), (long) rows.size(), 1L, null, null});
+        }
+        when(entries.findWeekVersionStamps(any())).thenReturn(stamps);
+
+        DienstplanPdfRenderer renderer = new DienstplanPdfRenderer(
+                new DienstplanPdfTemplate(new ClassPathResource("templates/dienstplan-pdf.properties")));
+
+        // Warm up fonts and JIT
+        for (int i = 0; i < 20; i++) {
+            renderer.render(WeekMatrixDTO.fromRows(weeks.get(0), rows));
+        }
+
+        System.out.printf("%-12s %10s %12s%n", "mode", "ms", "bytes");
+        report("sequential", service(entries, renderer, 1), weeks);
+        SchedulePdfService parallel = service(entries, renderer, 0);
+        report("parallel", parallel, weeks);
+        report("cached", parallel, weeks);
+    }
+
+    private SchedulePdfService service(ScheduleEntryRepository entries, DienstplanPdfRenderer renderer, int threads) {
+        return new SchedulePdfService(mock(WeeklyScheduleRepository.class), entries, mock(AbsenceRepository.class),
+                mock(ArchiveService.class), renderer, threads, 256);
+    }
+
+    private void report(String mode, SchedulePdfService service, List<WeeklySchedule> weeks) {
+        long start = System.nanoTime();
+        Map<WeeklySchedule, byte[]> pdfs = service.renderWeeks(weeks);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(WEEKS, pdfs.size());
+        long bytes = pdfs.values().stream().mapToLong(pdf -> pdf.length).sum();
+        System.out.printf("%-12s %10d %12d%n", mode, millis, bytes);
+    }
+
+    private List<Object[]> buildRows() {
+        List<Object[]> rows = new ArrayList<>();
+        long id = 1;
+        for (int staff = 0; staff < STAFF; staff++) {
+            for (int day = 0; day < 5; day++) {
+                String status = (staff + day) % 11 == 0 ? "krank" : "normal";
+                boolean working = "normal".equals(status);
+                rows.add(new Object[]{(long) staff, "Mitarbeiterin Nummer " + staff, "Erzieherin",
+                        "Käfer", staff % 8 == 0, id++, day,
+                        working ? LocalTime.of(7 + staff % 3, 15) : null,
+                        working ? LocalTime.of(15 + staff % 3, 45) : null,
+                        status, working ? 480 : 0, working ? 30 : 0});
+            }
+        }
+        return rows;
+    }
+}
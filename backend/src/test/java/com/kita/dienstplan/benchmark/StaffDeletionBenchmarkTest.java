@@ -0,0 +1,112 @@
+package com.kita.dienstplan.benchmark;
+
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.service.StaffService;
+import com.kita.dienstplan.util.TestDataBuilder;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Staff deletion benchmark: entity-by-entity removal of every entry (what cascade ALL did) against
+ * the set-based delete of StaffService, for staff with 100, 1000 and 10000 entries on H2.
+ * Disabled by default; run with: mvn test -Dtest=StaffDeletionBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, StaffService.class})
+@Sql(scripts = "/test-schema.sql")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StaffDeletionBenchmarkTest {
+
+    private static final int[] ENTRY_COUNTS = {100, 1_000, 10_000};
+    private static final LocalDate FIRST_MONDAY = LocalDate.of(2000, 1, 3);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StaffService staffService;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Test
+    void deleteStaffWithGrowingHistory() {
+        List<WeeklySchedule> weeks = weeks(ENTRY_COUNTS[ENTRY_COUNTS.length - 1] / 7 + 1);
+        for (int entries : ENTRY_COUNTS) {
+            Staff perEntity = seed("PerEntity" + entries, weeks, entries);
+            long start = System.nanoTime();
+            Staff loaded = entityManager.find(Staff.class, perEntity.getId());
+            for (ScheduleEntry entry : new ArrayList<>(loaded.getScheduleEntries())) {
+                entityManager.remove(entry);
+            }
+            entityManager.remove(loaded);
+            entityManager.flush();
+            entityManager.clear();
+            double perEntityMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+            Staff setBased = seed("SetBased" + entries, weeks, entries);
+            start = System.nanoTime();
+            staffService.deleteStaff(setBased.getId());
+            entityManager.flush();
+            entityManager.clear();
+            double setBasedMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+            assertEquals(0, scheduleEntryRepository.count());
+            System.out.printf("delete staff with %d entries: entity-by-entity %.1f ms, set-based %.1f ms (H2)%n",
+                    entries, perEntityMillis, setBasedMillis);
+        }
+    }
+
+    private List<WeeklySchedule> weeks(int count) {
+        List<WeeklySchedule> weeks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            WeeklySchedule week = new WeeklySchedule();
+            LocalDate monday = FIRST_MONDAY.plusWeeks(i);
+            week.setYear(monday.get(IsoFields.WEEK_BASED_YEAR));
+            week.setWeekNumber(monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            week.setStartDate(monday);
+            week.setEndDate(monday.plusDays(6));
+            weeks.add(entityManager.persist(week));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return weeks;
+    }
+
+    private Staff seed(String lastName, List<WeeklySchedule> weeks, int entries) {
+        Staff staff = entityManager.persist(TestDataBuilder.createTestStaff("Staff", lastName, null));
+        for (int i = 0; i < entries; i++) {
+            entityManager.persist(TestDataBuilder.createTestScheduleEntry(weeks.get(i / 7), staff, i % 7,
+                    LocalTime.of(7, 0), LocalTime.of(15, 30)));
+            if (i % 500 == 499) {
+                entityManager.flush();
+                entityManager.clear();
+                staff = entityManager.find(Staff.class, staff.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return staff;
+    }
+}
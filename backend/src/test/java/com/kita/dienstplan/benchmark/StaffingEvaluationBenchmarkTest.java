@@ -0,0 +1,119 @@
+package com.kita.dienstplan.benchmark;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.StaffingRule;
+import com.kita.dienstplan.staffing.CompiledRule;
+import com.kita.dienstplan.staffing.WeekStaffing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Staffing-rule benchmark: a week of 60 staff in 6 groups against 12 rules (a Kernzeit and an
+ * early/late rule per group), evaluated from scratch and kept current with single-entry deltas.
+ * Disabled by default; run with: mvn test -Dtest=StaffingEvaluationBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StaffingEvaluationBenchmarkTest {
+
+    private static final int STAFF = 60;
+    private static final int GROUPS = 6;
+    private static final int ROUNDS = 20_000;
+    private static final LocalDate MONDAY = LocalDate.of(2026, 2, 2);
+
+    @Test
+    void fullWeekAndDeltas() {
+        CompiledRule[] rules = buildRules();
+        List<Object[]> rows = buildWeekRows();
+
+        for (int i = 0; i < ROUNDS; i++) {
+            WeekStaffing.build(rules, MONDAY, rows, AbsenceIndex.empty()).evaluate();
+        }
+        long buildStart = System.nanoTime();
+        int failing = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            WeekStaffing week = WeekStaffing.build(rules, MONDAY, rows, AbsenceIndex.empty());
+            failing += week.failingSlots();
+            week.evaluate();
+        }
+        double buildMicros = (System.nanoTime() - buildStart) / (double) ROUNDS / 1_000;
+
+        WeekStaffing week = WeekStaffing.build(rules, MONDAY, rows, AbsenceIndex.empty());
+        for (int i = 0; i < ROUNDS; i++) {
+            moveShift(week, i);
+        }
+        long deltaStart = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            moveShift(week, i);
+        }
+        double deltaMicros = (System.nanoTime() - deltaStart) / (double) ROUNDS / 1_000;
+
+        System.out.printf("full week (%d rules, %d entries) build + evaluate: %.1f us, %d failing slots%n",
+                rules.length, rows.size(), buildMicros, failing / ROUNDS);
+        System.out.printf("entry change delta: %.2f us%n", deltaMicros);
+        assertTrue(buildMicros < 1_000, "a full week must evaluate in under a millisecond");
+    }
+
+    /**
+     * Move one staff member's Wednesday shift from early to late and back
+     */
+    private static void moveShift(WeekStaffing week, int round) {
+        long staffId = round % STAFF + 1;
+        LocalDate day = MONDAY.plusDays(2);
+        boolean toLate = round / STAFF % 2 == 0;
+        LocalTime fromStart = toLate ? LocalTime.of(7, 0) : LocalTime.of(9, 0);
+        LocalTime toStart = toLate ? LocalTime.of(9, 0) : LocalTime.of(7, 0);
+        week.apply(staffId, day, "normal", fromStart, fromStart.plusHours(8), -1);
+        week.apply(staffId, day, "normal", toStart, toStart.plusHours(8), 1);
+    }
+
+    private static CompiledRule[] buildRules() {
+        List<CompiledRule> rules = new ArrayList<>();
+        for (long g = 1; g <= GROUPS; g++) {
+            Group group = new Group();
+            group.setId(g);
+            group.setName("Gruppe " + g);
+            rules.add(CompiledRule.compile(rule(group, "08:00", "15:00", "Erzieher,Erzieherin", false, 2)));
+            rules.add(CompiledRule.compile(rule(group, "06:30", "17:30", null, true, 1)));
+        }
+        return rules.toArray(new CompiledRule[0]);
+    }
+
+    private static StaffingRule rule(Group group, String start, String end, String roles,
+                                     boolean includePraktikanten, int minStaff) {
+        StaffingRule rule = new StaffingRule();
+        rule.setId(group.getId() * 10 + minStaff);
+        rule.setName(group.getName());
+        rule.setGroup(group);
+        rule.setStartTime(LocalTime.parse(start));
+        rule.setEndTime(LocalTime.parse(end));
+        rule.setRoles(roles);
+        rule.setIncludePraktikanten(includePraktikanten);
+        rule.setMinStaff(minStaff);
+        return rule;
+    }
+
+    private static List<Object[]> buildWeekRows() {
+        List<Object[]> rows = new ArrayList<>();
+        for (long staffId = 1; staffId <= STAFF; staffId++) {
+            long groupId = staffId % GROUPS + 1;
+            boolean praktikant = staffId % 10 == 0;
+            for (int day = 0; day < 5; day++) {
+                // Wednesday starts early for every staff member, so the deltas can move it back and forth
+                LocalTime start = day == 2 ? LocalTime.of(7, 0) : LocalTime.of(6, 30).plusMinutes(30 * ((staffId + day) % 5));
+                rows.add(new Object[]{staffId, groupId, praktikant ? "Praktikant" : "Erzieher", praktikant,
+                        MONDAY.plusDays(day), "normal", ScheduleEntry.minuteOfDay(start),
+                        ScheduleEntry.minuteOfDay(start.plusHours(8))});
+            }
+        }
+        return rows;
+    }
+}
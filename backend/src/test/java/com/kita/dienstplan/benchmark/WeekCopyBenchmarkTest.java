@@ -0,0 +1,110 @@
+package com.kita.dienstplan.benchmark;
+
+import com.kita.dienstplan.dto.WeekCopyRequest;
+import com.kita.dienstplan.dto.WeekCopyResultDTO;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.repository.IdBlockAllocator;
+import com.kita.dienstplan.service.WeekCopyService;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Week copy benchmark: a 300-staff week (2100 entries) cloned set-based into the next weeks on H2.
+ * Disabled by default; run with: mvn test -Dtest=WeekCopyBenchmarkTest -Dbenchmark=true
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, WeekCopyService.class, IdBlockAllocator.class})
+@Sql(scripts = "/test-schema.sql")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WeekCopyBenchmarkTest {
+
+    private static final int STAFF = 300;
+    private static final int COPIES = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private WeekCopyService weekCopyService;
+
+    @Test
+    void copyLargeWeek() {
+        WeeklySchedule source = new WeeklySchedule();
+        source.setYear(2026);
+        source.setWeekNumber(1);
+        source.setStartDate(WeekCopyService.weekStart(2026, 1));
+        source.setEndDate(source.getStartDate().plusDays(6));
+        entityManager.persist(source);
+
+        long persistStart = System.nanoTime();
+        for (int i = 0; i < STAFF; i++) {
+            Staff staff = new Staff();
+            staff.setFirstName("Staff");
+            staff.setLastName(String.valueOf(i));
+            staff.setFullName("Staff " + i);
+            staff.setRole("Erzieher");
+            staff.setWeeklyHours(new BigDecimal("39.00"));
+            staff.setIsPraktikant(false);
+            staff.setIsActive(true);
+            entityManager.persist(staff);
+            for (int day = 0; day < 7; day++) {
+                ScheduleEntry entry = new ScheduleEntry();
+                entry.setWeeklySchedule(source);
+                entry.setStaff(staff);
+                entry.setDayOfWeek(day);
+                entry.setWorkDate(source.getStartDate().plusDays(day));
+                entry.setStartTime(day < 5 ? LocalTime.of(7, 0) : null);
+                entry.setEndTime(day < 5 ? LocalTime.of(15, 30) : null);
+                entry.setStatus(day < 5 ? "normal" : "frei");
+                entityManager.persist(entry);
+            }
+            if (i % 50 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                source = entityManager.find(WeeklySchedule.class, source.getId());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        double persistMillis = (System.nanoTime() - persistStart) / 1_000_000.0;
+
+        // Warm-up copy into week 2, then timed copies into weeks 3..
+        weekCopyService.copyWeek(2026, 1, request(2));
+        long start = System.nanoTime();
+        int copied = 0;
+        for (int week = 3; week < 3 + COPIES; week++) {
+            WeekCopyResultDTO result = weekCopyService.copyWeek(2026, 1, request(week)).orElseThrow();
+            copied += result.getCopiedEntries();
+        }
+        double millis = (System.nanoTime() - start) / 1_000_000.0 / COPIES;
+
+        assertEquals(COPIES * STAFF * 7, copied);
+        System.out.printf("week copy: %d entries in %.1f ms per week, entity-by-entity seed %.1f ms (H2)%n",
+                STAFF * 7, millis, persistMillis);
+    }
+
+    private WeekCopyRequest request(int week) {
+        WeekCopyRequest request = new WeekCopyRequest();
+        request.setTargetYear(2026);
+        request.setTargetWeek(week);
+        return request;
+    }
+}
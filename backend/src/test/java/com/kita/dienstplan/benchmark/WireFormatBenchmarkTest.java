@@ -0,0 +1,132 @@
+package com.kita.dienstplan.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.dto.WeekMatrixDTO;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.util.TestDataBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Wire format benchmark: bytes on the wire and encode/decode CPU for a full week
+ * (200 staff x 5 days) in JSON, CBOR and Smile, for the entry list with ISO and minute-of-day
+ * times and for the matrix.
+ * Disabled by default; run with: mvn test -Dtest=WireFormatBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WireFormatBenchmarkTest {
+
+    private static final int STAFF = 200;
+    private static final int DAYS = 5;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Test
+    void compareFormatsForFullWeek() throws Exception {
+        WeeklySchedule week = TestDataBuilder.createTestWeeklySchedule(5, 2026);
+        week.setId(1L);
+        List<ScheduleEntryDTO> entries = buildEntries(week);
+        List<ScheduleEntryDTO> minuteEntries = buildEntries(week);
+        minuteEntries.forEach(ScheduleEntryDTO::useMinuteTimes);
+        WeekMatrixDTO matrix = WeekMatrixDTO.fromRows(week, buildRows());
+
+        System.out.printf("%-8s %-8s %10s %12s %12s%n", "payload", "format", "bytes", "encode(us)", "decode(us)");
+        for (String format : List.of("json", "cbor", "smile")) {
+            ObjectMapper mapper = mapper(format);
+            JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, ScheduleEntryDTO.class);
+
+            report("entries", format, mapper, entries, listType);
+            report("minutes", format, mapper, minuteEntries, listType);
+            report("matrix", format, mapper, matrix, mapper.constructType(WeekMatrixDTO.class));
+        }
+    }
+
+    private void report(String payload, String format, ObjectMapper mapper, Object value, JavaType type)
+            throws Exception {
+        byte[] bytes = mapper.writeValueAsBytes(value);
+        for (int i = 0; i < WARMUP; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(value), type);
+        }
+
+        long encodeStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = mapper.writeValueAsBytes(value);
+        }
+        long encodeMicros = (System.nanoTime() - encodeStart) / ITERATIONS / 1_000;
+
+        Object decoded = null;
+        long decodeStart = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            decoded = mapper.readValue(bytes, type);
+        }
+        long decodeMicros = (System.nanoTime() - decodeStart) / ITERATIONS / 1_000;
+
+        assertEquals(value.getClass(), decoded.getClass());
+        System.out.printf("%-8s %-8s %10d %12d %12d%n", payload, format, bytes.length, encodeMicros, decodeMicros);
+    }
+
+    private ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    private List<ScheduleEntryDTO> buildEntries(WeeklySchedule week) {
+        List<ScheduleEntryDTO> entries = new ArrayList<>();
+        long id = 1;
+        for (int staff = 0; staff < STAFF; staff++) {
+            for (int day = 0; day < DAYS; day++) {
+                ScheduleEntryDTO dto = new ScheduleEntryDTO();
+                dto.setId(id++);
+                dto.setWeeklyScheduleId(week.getId());
+                dto.setStaffId((long) staff);
+                dto.setStaffName("Mitarbeiterin Nummer " + staff);
+                dto.setStaffRole("Erzieherin");
+                dto.setGroupName("Portugiesische Kindergruppe");
+                dto.setDayOfWeek(day);
+                dto.setWorkDate(week.getStartDate().plusDays(day));
+                dto.setStartTime(LocalTime.of(7 + staff % 3, 15));
+                dto.setEndTime(LocalTime.of(15 + staff % 3, 45));
+                dto.setStatus("normal");
+                dto.setWorkingHoursMinutes(480);
+                dto.setBreakMinutes(30);
+                dto.setWorkingHoursFormatted();
+                dto.setBreakTimeFormatted();
+                entries.add(dto);
+            }
+        }
+        return entries;
+    }
+
+    private List<Object[]> buildRows() {
+        List<Object[]> rows = new ArrayList<>();
+        long id = 1;
+        for (int staff = 0; staff < STAFF; staff++) {
+            for (int day = 0; day < DAYS; day++) {
+                rows.add(new Object[]{(long) staff, "Mitarbeiterin Nummer " + staff, "Erzieherin",
+                        "Portugiesische Kindergruppe", false, id++, day,
+                        LocalTime.of(7 + staff % 3, 15), LocalTime.of(15 + staff % 3, 45), "normal", 480, 30});
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,131 @@
+package com.kita.dienstplan.benchmark;
+
+import com.kita.dienstplan.datasource.Workload;
+import com.kita.dienstplan.datasource.WorkloadContext;
+import com.kita.dienstplan.datasource.WorkloadPool;
+import com.kita.dienstplan.datasource.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Workload isolation load test: interactive week reads (4 threads) measured alone, next to a batch
+ * job (16 threads holding connections for 50 ms) on one shared pool of 10, and next to the same job
+ * with workload pools (interactive 10, batch 2).
+ * Disabled by default; run with: mvn test -Dtest=WorkloadIsolationBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class WorkloadIsolationBenchmarkTest {
+
+    private static final String URL = "jdbc:h2:mem:workloads;DB_CLOSE_DELAY=-1";
+    private static final int INTERACTIVE_THREADS = 4;
+    private static final int BATCH_THREADS = 16;
+    private static final long BATCH_HOLD_MILLIS = 50;
+    private static final long RUN_MILLIS = 3_000;
+
+    @Test
+    void interactiveLatencyWhileBatchRuns() throws Exception {
+        try (HikariDataSource setup = pool("setup", 1, 30_000)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(setup);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS shifts (id INT PRIMARY KEY, staff INT, minutes INT)");
+            jdbcTemplate.execute("DELETE FROM shifts");
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                rows.add(new Object[]{i, i % 60, 480});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO shifts VALUES (?, ?, ?)", rows);
+        }
+
+        double alone;
+        double shared;
+        double isolated;
+        try (HikariDataSource pool = pool("shared", 10, 30_000)) {
+            alone = run(pool, false);
+            shared = run(pool, true);
+        }
+        WorkloadRoutingDataSource workloads = new WorkloadRoutingDataSource(List.of(
+                new WorkloadPool(Workload.INTERACTIVE, pool("interactive", 10, 2_000)),
+                new WorkloadPool(Workload.REPORTING, pool("reporting", 4, 30_000)),
+                new WorkloadPool(Workload.BATCH, pool("batch", 2, 60_000))));
+        try {
+            isolated = run(workloads, true);
+            System.out.println(workloads.getStats());
+        } finally {
+            workloads.close();
+        }
+
+        System.out.printf("interactive p99: alone %.2f ms, shared pool with batch %.2f ms, " +
+                "workload pools with batch %.2f ms%n", alone, shared, isolated);
+        assertTrue(isolated < shared, "workload pools should keep interactive latency below the shared pool");
+    }
+
+    /**
+     * p99 of the interactive reads in milliseconds, with or without the batch job running
+     */
+    private double run(DataSource dataSource, boolean withBatch) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(INTERACTIVE_THREADS + BATCH_THREADS);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if (withBatch) {
+            for (int i = 0; i < BATCH_THREADS; i++) {
+                executor.submit(() -> WorkloadContext.call(Workload.BATCH, () -> {
+                    while (running.get()) {
+                        holdConnection(dataSource);
+                    }
+                    return null;
+                }));
+            }
+        }
+        for (int i = 0; i < INTERACTIVE_THREADS; i++) {
+            executor.submit(() -> {
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    jdbcTemplate.queryForObject("SELECT SUM(minutes) FROM shifts WHERE staff = 7", Long.class);
+                    latencies.add(System.nanoTime() - start);
+                }
+            });
+        }
+        Thread.sleep(RUN_MILLIS);
+        running.set(false);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return sorted[(int) (sorted.length * 0.99)] / 1_000_000.0;
+    }
+
+    private static void holdConnection(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().executeQuery("SELECT COUNT(*) FROM shifts").close();
+            Thread.sleep(BATCH_HOLD_MILLIS);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static HikariDataSource pool(String name, int size, long connectionTimeoutMillis) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(URL);
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        pool.setConnectionTimeout(connectionTimeoutMillis);
+        return pool;
+    }
+}
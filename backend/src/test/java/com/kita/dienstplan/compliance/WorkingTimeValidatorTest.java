@@ -0,0 +1,223 @@
+package com.kita.dienstplan.compliance;
+
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WorkingTimeValidator
+ * Covers each ArbZG rule at its boundary and the reporting window
+ */
+class WorkingTimeValidatorTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 2, 2);
+
+    @Test
+    void validate_RegularWeek_ShouldFindNothing() {
+        // Arrange
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        for (int day = 0; day < 5; day++) {
+            timeline.add(day + 1, MONDAY.plusDays(day), LocalTime.of(8, 0), LocalTime.of(16, 30), 30);
+        }
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY.plusDays(6));
+
+        // Assert
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    void validate_MoreThanTenHours_ShouldReportDailyMaximum() {
+        // Arrange: 10:15 of work after the 45 minute break
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(1L, MONDAY, LocalTime.of(7, 0), LocalTime.of(18, 0), 45);
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY);
+
+        // Assert
+        assertEquals(1, violations.size());
+        ComplianceViolationDTO violation = violations.get(0);
+        assertEquals(ComplianceRule.MAX_DAILY_WORK, violation.getRule());
+        assertEquals(615, violation.getActualMinutes());
+        assertEquals(600, violation.getLimitMinutes());
+        assertEquals(1L, violation.getEntryId());
+        assertTrue(violation.getMessage().contains("§3 ArbZG"));
+    }
+
+    @Test
+    void validate_ExactlyTenHours_ShouldPass() {
+        // Arrange
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(1L, MONDAY, LocalTime.of(7, 0), LocalTime.of(17, 45), 45);
+
+        // Act & Assert
+        assertTrue(validate(timeline, MONDAY, MONDAY).isEmpty());
+    }
+
+    @Test
+    void validate_MoreThanNineHoursWithThirtyMinuteBreak_ShouldRequireFortyFive() {
+        // Arrange: 9:15 of work, the entity only derives 30 minutes
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(1L, MONDAY, LocalTime.of(7, 0), LocalTime.of(16, 45), 30);
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals(ComplianceRule.MIN_BREAK, violations.get(0).getRule());
+        assertEquals(30, violations.get(0).getActualMinutes());
+        assertEquals(45, violations.get(0).getLimitMinutes());
+    }
+
+    @Test
+    void validate_MoreThanSixHoursWithoutBreak_ShouldRequireThirty() {
+        // Arrange
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(1L, MONDAY, LocalTime.of(8, 0), LocalTime.of(14, 30), 0);
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals(ComplianceRule.MIN_BREAK, violations.get(0).getRule());
+        assertEquals(30, violations.get(0).getLimitMinutes());
+    }
+
+    @Test
+    void validate_ShortRestBetweenDays_ShouldReportOnLaterDay() {
+        // Arrange: ends 22:00, starts 07:00 next day = 9 hours rest
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(1L, MONDAY, LocalTime.of(14, 0), LocalTime.of(22, 0), 30);
+        timeline.add(2L, MONDAY.plusDays(1), LocalTime.of(7, 0), LocalTime.of(12, 0), 0);
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY.plusDays(1));
+
+        // Assert
+        assertEquals(1, violations.size());
+        ComplianceViolationDTO violation = violations.get(0);
+        assertEquals(ComplianceRule.MIN_REST, violation.getRule());
+        assertEquals(540, violation.getActualMinutes());
+        assertEquals(2L, violation.getEntryId());
+        assertEquals(1L, violation.getRelatedEntryId());
+        assertEquals(MONDAY.plusDays(1), violation.getWorkDate());
+    }
+
+    @Test
+    void validate_RestAcrossWeekBoundary_ShouldUseContextDay() {
+        // Arrange: Sunday of the previous week is context only
+        LocalDate sunday = MONDAY.minusDays(1);
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(1L, sunday, LocalTime.of(16, 0), LocalTime.of(23, 0), 30);
+        timeline.add(2L, sunday, LocalTime.of(6, 0), LocalTime.of(9, 0), 0); // added out of order
+        timeline.add(3L, MONDAY, LocalTime.of(6, 0), LocalTime.of(14, 0), 30);
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY.plusDays(6));
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals(ComplianceRule.MIN_REST, violations.get(0).getRule());
+        assertEquals(1L, violations.get(0).getRelatedEntryId());
+        assertEquals(420, violations.get(0).getActualMinutes());
+    }
+
+    @Test
+    void validate_ViolationsOutsideWindow_ShouldNotBeReported() {
+        // Arrange
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(1L, MONDAY.minusDays(1), LocalTime.of(6, 0), LocalTime.of(18, 0), 30);
+
+        // Act & Assert
+        assertTrue(validate(timeline, MONDAY, MONDAY.plusDays(6)).isEmpty());
+    }
+
+    @Test
+    void validate_OvernightShift_ShouldCountRestFromNextMorning() {
+        // Arrange: 22:00-06:00 overnight, next shift 15:00 = 9 hours rest
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(1L, MONDAY, LocalTime.of(22, 0), LocalTime.of(6, 0), 30);
+        timeline.add(2L, MONDAY.plusDays(1), LocalTime.of(15, 0), LocalTime.of(20, 0), 0);
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY.plusDays(1));
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals(ComplianceRule.MIN_REST, violations.get(0).getRule());
+        assertEquals(540, violations.get(0).getActualMinutes());
+    }
+
+    @Test
+    void validate_OverlappingShifts_ShouldReportOverlap() {
+        // Arrange
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(1L, MONDAY, LocalTime.of(8, 0), LocalTime.of(12, 0), 0);
+        timeline.add(2L, MONDAY, LocalTime.of(11, 0), LocalTime.of(14, 0), 0);
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals(ComplianceRule.OVERLAP, violations.get(0).getRule());
+        assertEquals(60, violations.get(0).getActualMinutes());
+        assertEquals(1L, violations.get(0).getRelatedEntryId());
+    }
+
+    @Test
+    void validate_SplitShiftsOnSameDay_ShouldSumDailyWork() {
+        // Arrange: 6:00 + 5:00 = 11 hours on one day, no rest rule within a day
+        ShiftTimeline timeline = new ShiftTimeline(1L, 1);
+        timeline.add(1L, MONDAY, LocalTime.of(6, 0), LocalTime.of(12, 0), 0);
+        timeline.add(2L, MONDAY, LocalTime.of(14, 0), LocalTime.of(19, 0), 0);
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals(ComplianceRule.MAX_DAILY_WORK, violations.get(0).getRule());
+        assertEquals(660, violations.get(0).getActualMinutes());
+        assertEquals(2L, violations.get(0).getEntryId());
+    }
+
+    @Test
+    void validate_UnsavedShift_ShouldReportNullEntryId() {
+        // Arrange
+        ShiftTimeline timeline = new ShiftTimeline(1L);
+        timeline.add(ShiftTimeline.UNSAVED, MONDAY, LocalTime.of(8, 0), LocalTime.of(15, 0), 0);
+
+        // Act
+        List<ComplianceViolationDTO> violations = validate(timeline, MONDAY, MONDAY);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertNull(violations.get(0).getEntryId());
+    }
+
+    @Test
+    void requiredBreak_ShouldFollowArbZGThresholds() {
+        assertEquals(0, WorkingTimeValidator.requiredBreak(360));
+        assertEquals(30, WorkingTimeValidator.requiredBreak(361));
+        assertEquals(30, WorkingTimeValidator.requiredBreak(540));
+        assertEquals(45, WorkingTimeValidator.requiredBreak(541));
+    }
+
+    private List<ComplianceViolationDTO> validate(ShiftTimeline timeline, LocalDate from, LocalDate to) {
+        List<ComplianceViolationDTO> violations = new ArrayList<>();
+        int found = WorkingTimeValidator.validate(timeline, from, to, violations);
+        assertEquals(violations.size(), found);
+        return violations;
+    }
+}
@@ -0,0 +1,124 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.AbsenceCompactionResultDTO;
+import com.kita.dienstplan.dto.AbsenceDTO;
+import com.kita.dienstplan.service.AbsenceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for AbsenceController
+ * Tests absence range maintenance and compaction
+ */
+@WebMvcTest(AbsenceController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class AbsenceControllerTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 7, 6);
+    private static final LocalDate END = LocalDate.of(2026, 7, 24);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AbsenceService absenceService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @Test
+    void getAbsences_ByDateRange_ShouldReturnRanges() throws Exception {
+        when(absenceService.getAbsences(START, END)).thenReturn(List.of(urlaub()));
+
+        mockMvc.perform(get("/api/absences").param("startDate", "2026-07-06").param("endDate", "2026-07-24"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("Urlaub"))
+                .andExpect(jsonPath("$[0].weekdays.length()").value(5));
+    }
+
+    @Test
+    void getAbsences_WithoutFilter_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/absences"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createAbsence_ShouldReturnCreated() throws Exception {
+        when(absenceService.createAbsence(3L, "Urlaub", START, END, null, null)).thenReturn(Optional.of(urlaub()));
+
+        mockMvc.perform(post("/api/absences")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"staffId\":3,\"status\":\"Urlaub\",\"startDate\":\"2026-07-06\",\"endDate\":\"2026-07-24\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    void createAbsence_MissingEndDate_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/absences")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"staffId\":3,\"status\":\"Urlaub\",\"startDate\":\"2026-07-06\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(absenceService, never()).createAbsence(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void createAbsence_UnknownStatus_ShouldReturnBadRequest() throws Exception {
+        when(absenceService.createAbsence(eq(3L), eq("frei"), any(), any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Unknown absence status: frei"));
+
+        mockMvc.perform(post("/api/absences")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"staffId\":3,\"status\":\"frei\",\"startDate\":\"2026-07-06\",\"endDate\":\"2026-07-06\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateAbsence_Unknown_ShouldReturnNotFound() throws Exception {
+        when(absenceService.updateAbsence(anyLong(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(put("/api/absences/99")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"endDate\":\"2026-07-31\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void compact_ShouldReturnCounts() throws Exception {
+        when(absenceService.compact(START, END)).thenReturn(new AbsenceCompactionResultDTO(START, END, 2, 12));
+
+        mockMvc.perform(post("/api/absences/compact").param("startDate", "2026-07-06").param("endDate", "2026-07-24"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rangesCreated").value(2))
+                .andExpect(jsonPath("$.entriesRemoved").value(12));
+    }
+
+    private static AbsenceDTO urlaub() {
+        return new AbsenceDTO(7L, 3L, "Max Mustermann", "Urlaub", START, END, List.of(1, 2, 3, 4, 5), null);
+    }
+}
@@ -0,0 +1,90 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.service.CalendarFeedService;
+import com.kita.dienstplan.service.CalendarFeedService.CalendarFeed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for CalendarController
+ * Tests feed responses, conditional requests and token checks
+ */
+@WebMvcTest(CalendarController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class CalendarControllerTest {
+
+    private static final String ETAG = "\"abc123\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CalendarFeedService calendarFeedService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        CalendarFeed feed = new CalendarFeed("BEGIN:VCALENDAR\r\nEND:VCALENDAR\r\n", ETAG, LocalDate.of(2026, 1, 5));
+        when(calendarFeedService.isValidStaffToken(1L, "good")).thenReturn(true);
+        when(calendarFeedService.getStaffFeed(1L)).thenReturn(Optional.of(feed));
+    }
+
+    @Test
+    void getStaffFeed_ShouldReturnCalendarWithEtag() throws Exception {
+        mockMvc.perform(get("/api/calendar/staff/1.ics").param("token", "good"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/calendar"))
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", containsString("max-age=900")))
+                .andExpect(content().string(startsWith("BEGIN:VCALENDAR")));
+    }
+
+    @Test
+    void getStaffFeed_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/api/calendar/staff/1.ics").param("token", "good")
+                        .header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getStaffFeed_WithInvalidToken_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/calendar/staff/1.ics").param("token", "bad"))
+                .andExpect(status().isNotFound());
+
+        verify(calendarFeedService, never()).getStaffFeed(any());
+    }
+
+    @Test
+    void getGroupSubscription_ShouldReturnSignedUrl() throws Exception {
+        when(calendarFeedService.groupToken(2L)).thenReturn("tok");
+
+        mockMvc.perform(get("/api/calendar/groups/2/subscription"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.url", endsWith("/api/calendar/groups/2.ics?token=tok")));
+    }
+}
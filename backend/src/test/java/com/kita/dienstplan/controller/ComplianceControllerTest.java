@@ -0,0 +1,97 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.compliance.ComplianceRule;
+import com.kita.dienstplan.dto.ComplianceReportDTO;
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
+import com.kita.dienstplan.service.ComplianceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ComplianceController
+ * Tests week, staff-week, year and range reports
+ */
+@WebMvcTest(ComplianceController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class ComplianceControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ComplianceService complianceService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    private final ComplianceViolationDTO restViolation = new ComplianceViolationDTO(1L, 12L, 11L,
+            LocalDate.of(2026, 2, 3), ComplianceRule.MIN_REST, 540, 660,
+            "Rest period 9:00 is shorter than the required 11:00 (§5 ArbZG)");
+
+    @Test
+    void getWeekReport_ShouldReturnReport() throws Exception {
+        when(complianceService.validateWeek(6, 2026)).thenReturn(Optional.of(ComplianceReportDTO.of(
+                LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 8), 3, 15, List.of(restViolation))));
+
+        mockMvc.perform(get("/api/compliance/week/2026/6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.violationCount").value(1))
+                .andExpect(jsonPath("$.violationsByRule.MIN_REST").value(1))
+                .andExpect(jsonPath("$.violations[0].relatedEntryId").value(11));
+    }
+
+    @Test
+    void getWeekReport_UnknownWeek_ShouldReturnNotFound() throws Exception {
+        when(complianceService.validateWeek(40, 2026)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/compliance/week/2026/40"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getStaffWeekViolations_ShouldReturnList() throws Exception {
+        when(complianceService.validateStaffWeek(1L, 6, 2026)).thenReturn(Optional.of(List.of(restViolation)));
+
+        mockMvc.perform(get("/api/compliance/staff/1/week/2026/6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rule").value("MIN_REST"))
+                .andExpect(jsonPath("$[0].actualMinutes").value(540));
+    }
+
+    @Test
+    void getYearReport_ShouldReturnReport() throws Exception {
+        when(complianceService.validateYear(2026)).thenReturn(ComplianceReportDTO.of(
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), 40, 9000, List.of()));
+
+        mockMvc.perform(get("/api/compliance/year/2026"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shiftCount").value(9000))
+                .andExpect(jsonPath("$.violationCount").value(0));
+    }
+
+    @Test
+    void getRangeReport_WithInvertedRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/compliance/range")
+                        .param("startDate", "2026-03-01")
+                        .param("endDate", "2026-02-01"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,143 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.export.ExportFormat;
+import com.kita.dienstplan.export.ExportJob;
+import com.kita.dienstplan.service.ExportJobService;
+import com.kita.dienstplan.service.PayrollExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ExportController
+ * Tests streamed downloads, background job hand-off and job downloads
+ */
+@WebMvcTest(ExportController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PayrollExportService payrollExportService;
+
+    @MockBean
+    private ExportJobService exportJobService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @Test
+    void exportPayroll_ShortRange_ShouldStreamCsv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("Monat;Name\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(payrollExportService).export(any(LocalDate.class), any(LocalDate.class), eq(ExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/exports/payroll")
+                        .param("startDate", "2026-01-01")
+                        .param("endDate", "2026-01-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                        containsString("lohnexport_2026-01-01_2026-01-31.csv")))
+                .andExpect(content().string("Monat;Name\r\n"));
+    }
+
+    @Test
+    void exportPayroll_LongRange_ShouldQueueJob() throws Exception {
+        ExportJob job = new ExportJob("job-1", ExportFormat.XLSX,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), Path.of("job-1.xlsx"));
+        when(exportJobService.submit(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), ExportFormat.XLSX))
+                .thenReturn(job);
+
+        mockMvc.perform(get("/api/exports/payroll")
+                        .param("startDate", "2025-01-01")
+                        .param("endDate", "2025-12-31")
+                        .param("format", "xlsx"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/api/exports/jobs/job-1")));
+    }
+
+    @Test
+    void getJob_ShouldReturnStatusWithoutFilePath() throws Exception {
+        ExportJob job = new ExportJob("job-1", ExportFormat.XLSX,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), Path.of("job-1.xlsx"));
+        when(exportJobService.getJob("job-1")).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/api/exports/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.fileName").value("lohnexport_2025-01-01_2025-12-31.xlsx"))
+                .andExpect(jsonPath("$.file").doesNotExist());
+    }
+
+    @Test
+    void exportPayroll_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/exports/payroll")
+                        .param("startDate", "2026-01-01")
+                        .param("endDate", "2026-01-31")
+                        .param("format", "pdf"))
+                .andExpect(status().isBadRequest());
+
+        verify(exportJobService, never()).submit(any(), any(), any());
+    }
+
+    @Test
+    void exportPayroll_RangeWithArchivedWeeks_ShouldReturnBadRequest() throws Exception {
+        when(payrollExportService.coversArchivedWeeks(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)))
+                .thenReturn(true);
+
+        mockMvc.perform(get("/api/exports/payroll")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-01-31"))
+                .andExpect(status().isBadRequest());
+
+        verify(payrollExportService, never()).export(any(), any(), any(ExportFormat.class), any());
+    }
+
+    @Test
+    void downloadJob_WhileRunning_ShouldReturnConflict() throws Exception {
+        ExportJob job = new ExportJob("job-2", ExportFormat.CSV,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), Path.of("job-2.csv"));
+        job.markRunning();
+        when(exportJobService.getJob("job-2")).thenReturn(Optional.of(job));
+
+        mockMvc.perform(get("/api/exports/jobs/job-2/download"))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,102 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.HistoryAggregateDTO;
+import com.kita.dienstplan.dto.HistoryStatsDTO;
+import com.kita.dienstplan.history.HistoryDimension;
+import com.kita.dienstplan.history.HistoryQuery;
+import com.kita.dienstplan.service.HistoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for HistoryController
+ * Tests aggregation parameters and the store statistics
+ */
+@WebMvcTest(HistoryController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class HistoryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HistoryService historyService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @Test
+    void aggregate_ShouldPassFiltersAndGrouping() throws Exception {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+        when(historyService.aggregate(new HistoryQuery(from, to, Set.of("krank"),
+                List.of(HistoryDimension.YEAR, HistoryDimension.GROUP), null, null, false)))
+                .thenReturn(new HistoryAggregateDTO(from, to, List.of("YEAR", "GROUP"), List.of(
+                        new HistoryAggregateDTO.Bucket(List.of("2025", "3"), List.of("2025", "Käfer"), 41L, 0L)),
+                        52_000L, 850L));
+
+        mockMvc.perform(get("/api/history/aggregate")
+                        .param("from", "2024-01-01")
+                        .param("to", "2026-12-31")
+                        .param("status", "krank")
+                        .param("groupBy", "year", "group")
+                        .param("includePraktikanten", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.buckets[0].labels[1]").value("Käfer"))
+                .andExpect(jsonPath("$.buckets[0].entries").value(41))
+                .andExpect(jsonPath("$.scannedRows").value(52000));
+    }
+
+    @Test
+    void aggregate_UnknownDimension_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/history/aggregate")
+                        .param("from", "2024-01-01")
+                        .param("to", "2026-12-31")
+                        .param("groupBy", "shift"))
+                .andExpect(status().isBadRequest());
+
+        verify(historyService, never()).aggregate(any());
+    }
+
+    @Test
+    void aggregate_InvalidQuery_ShouldReturnBadRequest() throws Exception {
+        when(historyService.aggregate(any())).thenThrow(new IllegalArgumentException("inverted range"));
+
+        mockMvc.perform(get("/api/history/aggregate")
+                        .param("from", "2026-12-31")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getStats_ShouldReturnYears() throws Exception {
+        when(historyService.getStats()).thenReturn(new HistoryStatsDTO(true, 20_000L, 300_000L, 15.0,
+                List.of(new HistoryStatsDTO.Year(2026, 20_000L, 300_000L))));
+
+        mockMvc.perform(get("/api/history/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bytesPerRow").value(15.0))
+                .andExpect(jsonPath("$.years[0].year").value(2026));
+    }
+}
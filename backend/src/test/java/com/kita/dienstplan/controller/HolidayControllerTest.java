@@ -0,0 +1,123 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.HolidayFillResultDTO;
+import com.kita.dienstplan.dto.SpecialDayDTO;
+import com.kita.dienstplan.holiday.DayKind;
+import com.kita.dienstplan.service.HolidayCalendarService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for HolidayController
+ * Tests the year calendar, closure-day maintenance and the Feiertag fill
+ */
+@WebMvcTest(HolidayController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class HolidayControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HolidayCalendarService holidayCalendarService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @Test
+    void getDays_ShouldReturnYearCalendar() throws Exception {
+        when(holidayCalendarService.getDays(2026)).thenReturn(List.of(
+                new SpecialDayDTO(LocalDate.of(2026, 4, 3), DayKind.HOLIDAY, "Karfreitag", true, null)));
+
+        mockMvc.perform(get("/api/holidays/2026"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].date").value("2026-04-03"))
+                .andExpect(jsonPath("$[0].kind").value("HOLIDAY"))
+                .andExpect(jsonPath("$[0].name").value("Karfreitag"));
+    }
+
+    @Test
+    void addClosureDay_ShouldReturnCreated() throws Exception {
+        when(holidayCalendarService.addClosureDay(LocalDate.of(2026, 12, 28), DayKind.CLOSURE, "Schließzeit"))
+                .thenReturn(new SpecialDayDTO(LocalDate.of(2026, 12, 28), DayKind.CLOSURE, "Schließzeit", true, 5L));
+
+        mockMvc.perform(post("/api/holidays/closure-days")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"date\":\"2026-12-28\",\"kind\":\"CLOSURE\",\"name\":\"Schließzeit\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.closureDayId").value(5));
+    }
+
+    @Test
+    void addClosureDay_MissingName_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/holidays/closure-days")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"date\":\"2026-12-28\",\"kind\":\"CLOSURE\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(holidayCalendarService, never()).addClosureDay(any(), any(), any());
+    }
+
+    @Test
+    void addClosureDay_HolidayKind_ShouldReturnBadRequest() throws Exception {
+        when(holidayCalendarService.addClosureDay(any(), eq(DayKind.HOLIDAY), any()))
+                .thenThrow(new IllegalArgumentException("Only CLOSURE and TEAM_DAY can be added"));
+
+        mockMvc.perform(post("/api/holidays/closure-days")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"date\":\"2026-06-01\",\"kind\":\"HOLIDAY\",\"name\":\"Frei\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void addClosureDay_DuplicateDate_ShouldReturnConflict() throws Exception {
+        when(holidayCalendarService.addClosureDay(any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        mockMvc.perform(post("/api/holidays/closure-days")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"date\":\"2026-12-28\",\"kind\":\"CLOSURE\",\"name\":\"Schließzeit\"}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deleteClosureDay_Unknown_ShouldReturnNotFound() throws Exception {
+        when(holidayCalendarService.deleteClosureDay(9L)).thenReturn(false);
+
+        mockMvc.perform(delete("/api/holidays/closure-days/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void fill_ShouldPassConvertFlag() throws Exception {
+        when(holidayCalendarService.fillHolidays(2026, false))
+                .thenReturn(new HolidayFillResultDTO(2026, 7, 5, 14, 0));
+
+        mockMvc.perform(post("/api/holidays/2026/fill").param("convertPlanned", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entriesCreated").value(14));
+    }
+}
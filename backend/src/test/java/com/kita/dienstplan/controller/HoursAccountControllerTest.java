@@ -0,0 +1,98 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.HoursBalanceDTO;
+import com.kita.dienstplan.dto.HoursPeriodDTO;
+import com.kita.dienstplan.entity.HoursAccountPeriod.PeriodType;
+import com.kita.dienstplan.service.HoursAccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for HoursAccountController
+ * Tests balance, history, outlier and rebuild endpoints
+ */
+@WebMvcTest(HoursAccountController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class HoursAccountControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private HoursAccountService hoursAccountService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @Test
+    void getBalance_ShouldReturnBalance() throws Exception {
+        when(hoursAccountService.getBalance(1L)).thenReturn(Optional.of(new HoursBalanceDTO(
+                1L, "Max Mustermann", new BigDecimal("30.00"), 1800, 1950, 150, "+2:30")));
+
+        mockMvc.perform(get("/api/hours-accounts/staff/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balanceMinutes").value(150))
+                .andExpect(jsonPath("$.balanceFormatted").value("+2:30"));
+    }
+
+    @Test
+    void getBalance_UnknownStaff_ShouldReturnNotFound() throws Exception {
+        when(hoursAccountService.getBalance(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/hours-accounts/staff/99"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getHistory_ShouldReturnMonthlyPeriods() throws Exception {
+        when(hoursAccountService.getHistory(1L, PeriodType.MONTH, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31)))
+                .thenReturn(List.of(new HoursPeriodDTO("MONTH", LocalDate.of(2026, 1, 1),
+                        7200, 7300, 100, 100, "+1:40", 20)));
+
+        mockMvc.perform(get("/api/hours-accounts/staff/1/history")
+                        .param("period", "MONTH")
+                        .param("startDate", "2026-01-01")
+                        .param("endDate", "2026-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].periodType").value("MONTH"))
+                .andExpect(jsonPath("$[0].runningBalanceMinutes").value(100));
+    }
+
+    @Test
+    void getOutliers_ShouldUseDefaults() throws Exception {
+        when(hoursAccountService.getOutliers(600, 20)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/hours-accounts/outliers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldReturnAccountCount() throws Exception {
+        when(hoursAccountService.rebuild()).thenReturn(22);
+
+        mockMvc.perform(post("/api/hours-accounts/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accounts").value(22));
+    }
+}
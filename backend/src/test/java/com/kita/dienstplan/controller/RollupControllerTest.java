@@ -0,0 +1,90 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.RollupDTO;
+import com.kita.dienstplan.dto.RollupRefreshResultDTO;
+import com.kita.dienstplan.entity.ScheduleRollup.Dimension;
+import com.kita.dienstplan.entity.ScheduleRollup.Granularity;
+import com.kita.dienstplan.service.RollupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for RollupController
+ * Tests granularity and dimension parsing and the refresh endpoint
+ */
+@WebMvcTest(RollupController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class RollupControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RollupService rollupService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @Test
+    void getRollups_ShouldParseGranularityAndDimension() throws Exception {
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        LocalDate to = LocalDate.of(2026, 12, 31);
+        when(rollupService.getRollups(Granularity.YEAR, Dimension.GROUP, from, to, null))
+                .thenReturn(List.of(new RollupDTO(Granularity.YEAR, LocalDate.of(2026, 1, 1), Dimension.GROUP,
+                        "3", "Käfer", 96_000, 6_400, 230, 210, 5, 9, 6, 0, 0)));
+
+        mockMvc.perform(get("/api/rollups")
+                        .param("granularity", "year")
+                        .param("dimension", "group")
+                        .param("from", "2020-01-01")
+                        .param("to", "2026-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].label").value("Käfer"))
+                .andExpect(jsonPath("$[0].workedMinutes").value(96000))
+                .andExpect(jsonPath("$[0].krankDays").value(9));
+    }
+
+    @Test
+    void getRollups_UnknownGranularity_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/rollups")
+                        .param("granularity", "quarter")
+                        .param("dimension", "staff")
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-12-31"))
+                .andExpect(status().isBadRequest());
+
+        verify(rollupService, never()).getRollups(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void refresh_ShouldReturnResult() throws Exception {
+        when(rollupService.refresh()).thenReturn(new RollupRefreshResultDTO(false, 3, 4, 40,
+                LocalDateTime.of(2026, 10, 19, 8, 0), 12L));
+
+        mockMvc.perform(post("/api/rollups/refresh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fullRebuild").value(false))
+                .andExpect(jsonPath("$.daysRefreshed").value(3));
+    }
+}
@@ -0,0 +1,128 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.RotationExpansionResultDTO;
+import com.kita.dienstplan.dto.RotationPatternDTO;
+import com.kita.dienstplan.service.RotationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for RotationController
+ * Tests pattern CRUD, slot validation and expansion
+ */
+@WebMvcTest(RotationController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class RotationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RotationService rotationService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    private final RotationPatternDTO pattern = new RotationPatternDTO(4L, 1L, "Max Mustermann", "Früh/Spät",
+            List.of("FRUEH", "SPAET", "-"), LocalDate.of(2026, 3, 2), null, true);
+
+    @Test
+    void getPatterns_ForStaff_ShouldReturnList() throws Exception {
+        when(rotationService.getPatternsForStaff(1L)).thenReturn(List.of(pattern));
+
+        mockMvc.perform(get("/api/rotations").param("staffId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].slots[1]").value("SPAET"));
+    }
+
+    @Test
+    void createPattern_ShouldReturnCreated() throws Exception {
+        when(rotationService.createPattern(eq(1L), eq("Früh/Spät"), anyList(), eq(LocalDate.of(2026, 3, 2)), isNull()))
+                .thenReturn(Optional.of(pattern));
+
+        mockMvc.perform(post("/api/rotations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"staffId\": 1, \"name\": \"Früh/Spät\", \"slots\": [\"FRUEH\", \"SPAET\", \"-\"], " +
+                                "\"validFrom\": \"2026-03-02\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(4));
+    }
+
+    @Test
+    void createPattern_UnknownShiftCode_ShouldReturnBadRequest() throws Exception {
+        when(rotationService.createPattern(eq(1L), any(), anyList(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Unknown shift code: NACHT"));
+
+        mockMvc.perform(post("/api/rotations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"staffId\": 1, \"name\": \"Nacht\", \"slots\": [\"NACHT\"], " +
+                                "\"validFrom\": \"2026-03-02\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createPattern_UntilBeforeFrom_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/rotations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"staffId\": 1, \"name\": \"Früh\", \"slots\": [\"FRUEH\"], " +
+                                "\"validFrom\": \"2026-03-02\", \"validUntil\": \"2026-03-01\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(rotationService, never()).createPattern(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void expand_ShouldReturnResult() throws Exception {
+        when(rotationService.expand(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 12, 31), null))
+                .thenReturn(new RotationExpansionResultDTO(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 12, 31),
+                        12, 44, 3600, 5));
+
+        mockMvc.perform(post("/api/rotations/expand")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startDate\": \"2026-03-02\", \"endDate\": \"2026-12-31\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entriesCreated").value(3600))
+                .andExpect(jsonPath("$.skippedSlots").value(5));
+    }
+
+    @Test
+    void expand_EndBeforeStart_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/rotations/expand")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"startDate\": \"2026-03-02\", \"endDate\": \"2026-03-01\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deletePattern_ShouldReturnNoContent() throws Exception {
+        when(rotationService.deletePattern(4L)).thenReturn(true);
+
+        mockMvc.perform(delete("/api/rotations/4"))
+                .andExpect(status().isNoContent());
+    }
+}
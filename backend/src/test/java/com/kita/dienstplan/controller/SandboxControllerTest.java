@@ -0,0 +1,110 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.SandboxCommitResultDTO;
+import com.kita.dienstplan.dto.SandboxDTO;
+import com.kita.dienstplan.exception.SandboxConflictException;
+import com.kita.dienstplan.service.SandboxService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for SandboxController
+ * Tests opening, editing, committing and discarding sandboxes
+ */
+@WebMvcTest(SandboxController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class SandboxControllerTest {
+
+    private static final String ID = "5f0c2b9e-1d7a-4c1e-9a43-0b6f2d1e7c11";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SandboxService sandboxService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @Test
+    void open_ShouldReturnCreated() throws Exception {
+        when(sandboxService.open(2026, 6))
+                .thenReturn(Optional.of(new SandboxDTO(ID, 3L, 6, 2026, 0, List.of(), List.of(), null)));
+
+        mockMvc.perform(post("/api/sandboxes/week/2026/6"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(ID))
+                .andExpect(jsonPath("$.weeklyScheduleId").value(3));
+    }
+
+    @Test
+    void addEntry_MissingDay_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/sandboxes/" + ID + "/entries")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"staffId\":3,\"startTime\":\"07:00\",\"endTime\":\"15:00\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(sandboxService, never()).addEntry(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void updateEntry_ShouldPassChangedFields() throws Exception {
+        when(sandboxService.updateEntry(eq(ID), eq(12L), eq(null), eq(LocalTime.of(12, 0)), eq(null), eq(null), eq(null)))
+                .thenReturn(Optional.of(new SandboxDTO(ID, 3L, 6, 2026, 1, List.of(), List.of(), null)));
+
+        mockMvc.perform(put("/api/sandboxes/" + ID + "/entries/12")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"endTime\":\"12:00\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").value(1));
+    }
+
+    @Test
+    void commit_ShouldReturnCounts() throws Exception {
+        when(sandboxService.commit(ID)).thenReturn(Optional.of(new SandboxCommitResultDTO(3L, 1, 2, 0, List.of())));
+
+        mockMvc.perform(post("/api/sandboxes/" + ID + "/commit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entriesUpdated").value(2))
+                .andExpect(jsonPath("$.violations").doesNotExist());
+    }
+
+    @Test
+    void commit_Conflict_ShouldReturnConflict() throws Exception {
+        when(sandboxService.commit(ID)).thenThrow(new SandboxConflictException("Schedule entry 12 was changed"));
+
+        mockMvc.perform(post("/api/sandboxes/" + ID + "/commit"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void discard_Unknown_ShouldReturnNotFound() throws Exception {
+        when(sandboxService.discard("missing")).thenReturn(false);
+
+        mockMvc.perform(delete("/api/sandboxes/missing"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,10 +1,16 @@
 package com.kita.dienstplan.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.kita.dienstplan.dto.DailyTotalDTO;
 import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.dto.WeekMatrixDTO;
 import com.kita.dienstplan.entity.Staff;
 import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.exception.ArchivedWeekException;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
 import com.kita.dienstplan.repository.StaffRepository;
 import com.kita.dienstplan.repository.WeeklyScheduleRepository;
 import com.kita.dienstplan.service.ScheduleService;
@@ -26,6 +32,7 @@ import java.util.Collections;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -57,6 +64,9 @@ class ScheduleControllerTest {
     @MockBean
     private StaffRepository staffRepository;
 
+    @MockBean
+    private ScheduleEntryRepository scheduleEntryRepository;
+
     // Security components (needed for Spring Security to initialize)
     @MockBean
     private com.kita.dienstplan.security.JwtService jwtService;
@@ -197,6 +207,26 @@ class ScheduleControllerTest {
         verify(scheduleService, times(1)).getWhoIsWorkingAt(testDate, testTime);
     }
 
+    @Test
+    void getWhoIsWorkingAt_WithMinuteTimes_ShouldSendMinutesInsteadOfTimes() throws Exception {
+        // Arrange
+        LocalDate testDate = LocalDate.of(2026, 2, 2);
+        LocalTime testTime = LocalTime.of(10, 0);
+        when(scheduleService.getWhoIsWorkingAt(testDate, testTime))
+                .thenReturn(Arrays.asList(testEntryDTO));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/schedules/on-duty")
+                        .param("date", "2026-02-02")
+                        .param("time", "10:00")
+                        .param("minuteTimes", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].startMinute", is(480)))
+                .andExpect(jsonPath("$[0].endMinute", is(960)))
+                .andExpect(jsonPath("$[0].startTime").doesNotExist())
+                .andExpect(jsonPath("$[0].endTime").doesNotExist());
+    }
+
     @Test
     void getWhoIsWorkingAt_WithMissingParameters_ShouldReturn400() throws Exception {
         // Act & Assert - Missing time parameter
@@ -279,6 +309,64 @@ class ScheduleControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createScheduleEntry_WithUnknownStatus_ShouldReturn400WithMessage() throws Exception {
+        // Arrange
+        String requestBody = """
+                {
+                    "weeklyScheduleId": 1,
+                    "staffId": 1,
+                    "dayOfWeek": 0,
+                    "workDate": "2026-02-02",
+                    "status": "Dienstreise"
+                }
+                """;
+
+        when(weeklyScheduleRepository.findById(1L))
+                .thenReturn(Optional.of(testWeeklySchedule));
+        when(staffRepository.findById(1L))
+                .thenReturn(Optional.of(testStaff));
+        when(scheduleService.createScheduleEntry(any()))
+                .thenThrow(new IllegalArgumentException("Unknown status: Dienstreise"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/schedules/entries")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Unknown status: Dienstreise")));
+    }
+
+    @Test
+    void createScheduleEntry_InArchivedWeek_ShouldReturn409() throws Exception {
+        // Arrange
+        String requestBody = """
+                {
+                    "weeklyScheduleId": 1,
+                    "staffId": 1,
+                    "dayOfWeek": 0,
+                    "workDate": "2026-02-02",
+                    "status": "normal"
+                }
+                """;
+
+        when(weeklyScheduleRepository.findById(1L))
+                .thenReturn(Optional.of(testWeeklySchedule));
+        when(staffRepository.findById(1L))
+                .thenReturn(Optional.of(testStaff));
+        when(scheduleService.createScheduleEntry(any()))
+                .thenThrow(new ArchivedWeekException("Week is archived; restore it before adding entries"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/schedules/entries")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Conflict")));
+    }
+
     @Test
     void updateScheduleEntry_ShouldReturn200() throws Exception {
         // Arrange
@@ -443,4 +531,85 @@ class ScheduleControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(0)));
     }
+
+    @Test
+    void getWeekMatrix_ShouldReturn200WithCompactMatrix() throws Exception {
+        // Arrange
+        Object[] row = new Object[]{1L, "Max Mustermann", "Erzieher", "Käfer", false,
+                1L, 0, LocalTime.of(8, 0), LocalTime.of(16, 0), "normal", 450, 30};
+        WeekMatrixDTO matrix = WeekMatrixDTO.fromRows(testWeeklySchedule, Collections.singletonList(row));
+        when(scheduleService.getWeekMatrix(5, 2026)).thenReturn(Optional.of(matrix));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/schedules/week/2026/5/matrix"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.staff", hasSize(1)))
+                .andExpect(jsonPath("$.staff[0].name").value("Max Mustermann"))
+                .andExpect(jsonPath("$.days", hasSize(7)))
+                .andExpect(jsonPath("$.days[0].start[0]").value(480))
+                .andExpect(jsonPath("$.days[0].end[0]").value(960))
+                .andExpect(jsonPath("$.days[1].status[0]").value(-1));
+
+        verify(scheduleService, times(1)).getWeekMatrix(5, 2026);
+    }
+
+    @Test
+    void getWeekMatrix_WithUnknownWeek_ShouldReturn404() throws Exception {
+        // Arrange
+        when(scheduleService.getWeekMatrix(99, 2026)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/schedules/week/2026/99/matrix"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getScheduleForWeek_WithCborAccept_ShouldReturnVersionedCbor() throws Exception {
+        // Arrange
+        when(scheduleService.getScheduleForWeek(5, 2026))
+                .thenReturn(Arrays.asList(testEntryDTO));
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/schedules/week/2026/5")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor;v=1"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert - decodes to the same structure as the JSON response
+        JsonNode entries = new CBORMapper().readTree(body);
+        assertEquals(1, entries.size());
+        assertEquals("Max Mustermann", entries.get(0).get("staffName").asText());
+        assertEquals("2026-02-02", entries.get(0).get("workDate").asText());
+    }
+
+    @Test
+    void getDailyTotals_WithSmileAccept_ShouldReturnSmile() throws Exception {
+        // Arrange
+        when(scheduleService.getDailyTotals(5, 2026))
+                .thenReturn(Arrays.asList(testDailyTotalDTO));
+
+        // Act
+        byte[] body = mockMvc.perform(get("/api/schedules/daily-totals/2026/5")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile;v=1"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode totals = new SmileMapper().readTree(body);
+        assertEquals(900, totals.get(0).get("totalMinutesWithoutPraktikanten").asInt());
+    }
+
+    @Test
+    void getScheduleForWeek_WithoutAccept_ShouldDefaultToJson() throws Exception {
+        // Arrange
+        when(scheduleService.getScheduleForWeek(5, 2026))
+                .thenReturn(Arrays.asList(testEntryDTO));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/schedules/week/2026/5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
 }
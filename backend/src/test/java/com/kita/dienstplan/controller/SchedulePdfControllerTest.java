@@ -0,0 +1,74 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.service.SchedulePdfService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for SchedulePdfController
+ * Tests PDF and ZIP responses
+ */
+@WebMvcTest(SchedulePdfController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class SchedulePdfControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SchedulePdfService schedulePdfService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @Test
+    void getWeekPdf_ShouldReturnPdf() throws Exception {
+        when(schedulePdfService.renderWeek(5, 2026)).thenReturn(Optional.of("%PDF-1.4".getBytes()));
+
+        mockMvc.perform(get("/api/schedules/week/2026/5/pdf"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(content().bytes("%PDF-1.4".getBytes()));
+    }
+
+    @Test
+    void getWeekPdf_UnknownWeek_ShouldReturnNotFound() throws Exception {
+        when(schedulePdfService.renderWeek(99, 2026)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/schedules/week/2026/99/pdf"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getYearPdfs_ShouldReturnZip() throws Exception {
+        when(schedulePdfService.renderYear(2026))
+                .thenReturn(Map.of("PDienstplan 260126-260130.pdf", "%PDF-1.4".getBytes()));
+
+        var result = mockMvc.perform(get("/api/schedules/year/2026/pdf"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"));
+    }
+}
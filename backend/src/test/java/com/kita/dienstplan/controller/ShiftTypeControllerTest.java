@@ -0,0 +1,116 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.ShiftTypeDTO;
+import com.kita.dienstplan.dto.ShiftTypeUsageDTO;
+import com.kita.dienstplan.entity.ShiftType;
+import com.kita.dienstplan.service.ShiftCatalogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for ShiftTypeController
+ * Tests catalogue CRUD and usage statistics
+ */
+@WebMvcTest(ShiftTypeController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class ShiftTypeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ShiftCatalogService shiftCatalogService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    private final ShiftTypeDTO frueh = new ShiftTypeDTO((short) 1, "FRUEH", "Früh",
+            LocalTime.of(7, 30), LocalTime.of(16, 0), 480, 30, "#4CAF50", true);
+
+    @Test
+    void getShiftTypes_ShouldReturnCatalogue() throws Exception {
+        when(shiftCatalogService.getShiftTypes()).thenReturn(List.of(frueh));
+
+        mockMvc.perform(get("/api/shift-types"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].code").value("FRUEH"))
+                .andExpect(jsonPath("$[0].workingMinutes").value(480));
+    }
+
+    @Test
+    void getShiftType_Unknown_ShouldReturnNotFound() throws Exception {
+        when(shiftCatalogService.getShiftType((short) 9)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/shift-types/9"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createShiftType_ShouldReturnCreated() throws Exception {
+        when(shiftCatalogService.createShiftType(any(ShiftType.class))).thenReturn(frueh);
+
+        mockMvc.perform(post("/api/shift-types")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\": \"frueh\", \"name\": \"Früh\", \"startTime\": \"07:30\", \"endTime\": \"16:00\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void createShiftType_WithoutTimes_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/shift-types")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\": \"FRUEH\", \"name\": \"Früh\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(shiftCatalogService, never()).createShiftType(any());
+    }
+
+    @Test
+    void getUsage_ShouldReturnTotalsPerShiftType() throws Exception {
+        when(shiftCatalogService.getUsage(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)))
+                .thenReturn(List.of(new ShiftTypeUsageDTO((short) 1, "FRUEH", "Früh", 40L, 19200L, "320:00")));
+
+        mockMvc.perform(get("/api/shift-types/usage")
+                        .param("startDate", "2026-03-01")
+                        .param("endDate", "2026-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].entryCount").value(40))
+                .andExpect(jsonPath("$[0].workingHoursFormatted").value("320:00"));
+    }
+
+    @Test
+    void updateShiftType_ShouldReturnUpdated() throws Exception {
+        when(shiftCatalogService.updateShiftType(eq((short) 1), any(ShiftType.class))).thenReturn(Optional.of(frueh));
+
+        mockMvc.perform(put("/api/shift-types/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"color\": \"#4CAF50\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.color").value("#4CAF50"));
+    }
+}
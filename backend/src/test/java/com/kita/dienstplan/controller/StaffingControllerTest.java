@@ -0,0 +1,107 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.StaffingReportDTO;
+import com.kita.dienstplan.dto.StaffingRuleDTO;
+import com.kita.dienstplan.service.StaffingRuleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for StaffingController
+ * Tests rule maintenance and the week report
+ */
+@WebMvcTest(StaffingController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class StaffingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StaffingRuleService staffingRuleService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    private static final String RULE_JSON = "{\"name\":\"Krippe Kernzeit\",\"groupId\":1,\"startTime\":\"08:00\","
+            + "\"endTime\":\"15:00\",\"roles\":[\"Erzieher\"],\"minStaff\":2}";
+
+    @Test
+    void createRule_ShouldReturnCreated() throws Exception {
+        when(staffingRuleService.createRule(any())).thenReturn(Optional.of(new StaffingRuleDTO(7L, "Krippe Kernzeit",
+                1L, "Käfer", List.of(1, 2, 3, 4, 5), LocalTime.of(8, 0), LocalTime.of(15, 0), List.of("Erzieher"),
+                false, 2, true)));
+
+        mockMvc.perform(post("/api/staffing/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RULE_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.weekdays.length()").value(5));
+    }
+
+    @Test
+    void createRule_Invalid_ShouldReturnBadRequest() throws Exception {
+        when(staffingRuleService.createRule(any()))
+                .thenThrow(new IllegalArgumentException("A staffing rule window must end after it starts"));
+
+        mockMvc.perform(post("/api/staffing/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RULE_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateRule_UnknownGroup_ShouldReturnNotFound() throws Exception {
+        when(staffingRuleService.updateRule(any(), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(put("/api/staffing/rules/7")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(RULE_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getWeekReport_ShouldReturnSlotsAndGaps() throws Exception {
+        StaffingReportDTO.RuleDay monday = new StaffingReportDTO.RuleDay(7L, "Krippe Kernzeit", "Käfer", 0,
+                LocalDate.of(2026, 2, 2), LocalTime.of(8, 0), LocalTime.of(9, 0), 2, false, new int[]{1, 1, 2, 2},
+                List.of(new StaffingReportDTO.Gap(LocalTime.of(8, 0), LocalTime.of(8, 30), 1, 2)));
+        when(staffingRuleService.getWeekReport(2026, 6))
+                .thenReturn(Optional.of(new StaffingReportDTO(3L, 6, 2026, 15, false, 2, List.of(monday))));
+
+        mockMvc.perform(get("/api/staffing/week/2026/6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failingSlots").value(2))
+                .andExpect(jsonPath("$.days[0].counts[2]").value(2))
+                .andExpect(jsonPath("$.days[0].gaps[0].endTime").value("08:30:00"));
+    }
+
+    @Test
+    void deleteRule_Unknown_ShouldReturnNotFound() throws Exception {
+        when(staffingRuleService.deleteRule(9L)).thenReturn(false);
+
+        mockMvc.perform(delete("/api/staffing/rules/9"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,91 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.SubstituteCandidateDTO;
+import com.kita.dienstplan.service.SubstituteService;
+import com.kita.dienstplan.substitute.Availability;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for SubstituteController
+ * Tests the candidate lookup and index warm-up
+ */
+@WebMvcTest(SubstituteController.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class SubstituteControllerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 4);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SubstituteService substituteService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    @Test
+    void findCandidates_ShouldReturnRankedList() throws Exception {
+        when(substituteService.findCandidates(DAY, LocalTime.of(7, 0), LocalTime.of(15, 0), 3L, null, false, 5))
+                .thenReturn(List.of(new SubstituteCandidateDTO(4L, "Clara Muster", "Erzieher", "Käfer", false, true,
+                        Availability.FREE, 240, 210, null, 960)));
+
+        mockMvc.perform(get("/api/substitutes")
+                        .param("date", "2026-02-04")
+                        .param("start", "07:00")
+                        .param("end", "15:00")
+                        .param("absentStaffId", "3")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].staffId").value(4))
+                .andExpect(jsonPath("$[0].availability").value("FREE"))
+                .andExpect(jsonPath("$[0].restAfterMinutes").value(960))
+                .andExpect(jsonPath("$[0].restBeforeMinutes").doesNotExist());
+    }
+
+    @Test
+    void findCandidates_InvalidWindow_ShouldReturnBadRequest() throws Exception {
+        when(substituteService.findCandidates(any(), any(), any(), any(), any(), anyBoolean(), anyInt()))
+                .thenThrow(new IllegalArgumentException("A shift must end after it starts"));
+
+        mockMvc.perform(get("/api/substitutes")
+                        .param("date", "2026-02-04")
+                        .param("start", "15:00")
+                        .param("end", "07:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void warm_TooManyDays_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/substitutes/warm")
+                        .param("startDate", "2026-01-01")
+                        .param("endDate", "2026-12-31"))
+                .andExpect(status().isBadRequest());
+
+        verify(substituteService, never()).warm(any(), any());
+    }
+}
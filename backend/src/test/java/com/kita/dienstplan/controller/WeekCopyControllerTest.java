@@ -0,0 +1,148 @@
+package com.kita.dienstplan.controller;
+
+import com.kita.dienstplan.dto.WeekCopyRequest;
+import com.kita.dienstplan.dto.WeekCopyResultDTO;
+import com.kita.dienstplan.dto.WeekTemplateDTO;
+import com.kita.dienstplan.service.WeekCopyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for WeekCopyController and WeekTemplateController
+ * Tests week copy, template CRUD and template instantiation
+ */
+@WebMvcTest({WeekCopyController.class, WeekTemplateController.class})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false) // Disable security for testing
+class WeekCopyControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private WeekCopyService weekCopyService;
+
+    // Security components (needed for Spring Security to initialize)
+    @MockBean
+    private com.kita.dienstplan.security.JwtService jwtService;
+
+    @MockBean
+    private org.springframework.security.core.userdetails.UserDetailsService userDetailsService;
+
+    private final WeekCopyResultDTO result = new WeekCopyResultDTO(9L, 2026, 7,
+            LocalDate.of(2026, 2, 9), true, 0, 42);
+
+    private final WeekTemplateDTO template = new WeekTemplateDTO(3L, "Regelwoche", null, 42, 6,
+            "admin", LocalDateTime.of(2026, 2, 1, 10, 0));
+
+    @Test
+    void copyWeek_ShouldReturnCreated() throws Exception {
+        when(weekCopyService.copyWeek(eq(2026), eq(6), any(WeekCopyRequest.class))).thenReturn(Optional.of(result));
+
+        mockMvc.perform(post("/api/schedules/week/2026/6/copy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetYear\": 2026, \"targetWeek\": 7}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.weeklyScheduleId").value(9))
+                .andExpect(jsonPath("$.weekCreated").value(true))
+                .andExpect(jsonPath("$.copiedEntries").value(42));
+    }
+
+    @Test
+    void copyWeek_OntoItself_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/schedules/week/2026/6/copy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetYear\": 2026, \"targetWeek\": 6}"))
+                .andExpect(status().isBadRequest());
+
+        verify(weekCopyService, never()).copyWeek(any(), any(), any());
+    }
+
+    @Test
+    void copyWeek_InvalidTargetWeek_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/schedules/week/2026/6/copy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetYear\": 2026, \"targetWeek\": 54}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void copyWeek_UnknownSourceWeek_ShouldReturnNotFound() throws Exception {
+        when(weekCopyService.copyWeek(eq(2026), eq(40), any(WeekCopyRequest.class))).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/schedules/week/2026/40/copy")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetYear\": 2026, \"targetWeek\": 41}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getTemplates_ShouldReturnList() throws Exception {
+        when(weekCopyService.getTemplates()).thenReturn(List.of(template));
+
+        mockMvc.perform(get("/api/week-templates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Regelwoche"))
+                .andExpect(jsonPath("$[0].staffCount").value(6));
+    }
+
+    @Test
+    void createTemplate_ShouldReturnCreated() throws Exception {
+        when(weekCopyService.createTemplate(eq("Regelwoche"), isNull(), eq(2026), eq(6), isNull()))
+                .thenReturn(Optional.of(template));
+
+        mockMvc.perform(post("/api/week-templates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \" Regelwoche \", \"sourceYear\": 2026, \"sourceWeek\": 6}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(3))
+                .andExpect(jsonPath("$.entryCount").value(42));
+    }
+
+    @Test
+    void createTemplate_WithoutName_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/week-templates")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sourceYear\": 2026, \"sourceWeek\": 6}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void applyTemplate_ShouldReturnCreated() throws Exception {
+        when(weekCopyService.applyTemplate(eq(3L), any(WeekCopyRequest.class))).thenReturn(Optional.of(result));
+
+        mockMvc.perform(post("/api/week-templates/3/apply")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"targetYear\": 2026, \"targetWeek\": 7, \"replaceExisting\": true}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.weekNumber").value(7));
+    }
+
+    @Test
+    void deleteTemplate_Unknown_ShouldReturnNotFound() throws Exception {
+        when(weekCopyService.deleteTemplate(99L)).thenReturn(false);
+
+        mockMvc.perform(delete("/api/week-templates/99"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -3,6 +3,7 @@ package com.kita.dienstplan.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kita.dienstplan.entity.WeeklySchedule;
 import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import com.kita.dienstplan.service.ScheduleService;
 import com.kita.dienstplan.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -44,6 +45,9 @@ class WeeklyScheduleControllerTest {
     @MockBean
     private WeeklyScheduleRepository weeklyScheduleRepository;
 
+    @MockBean
+    private ScheduleService scheduleService;
+
     // Security components (needed for Spring Security to initialize)
     @MockBean
     private com.kita.dienstplan.security.JwtService jwtService;
@@ -286,27 +290,27 @@ class WeeklyScheduleControllerTest {
     @Test
     void deleteWeeklySchedule_WithValidId_ShouldReturn204() throws Exception {
         // Arrange
-        doNothing().when(weeklyScheduleRepository).deleteById(1L);
+        doNothing().when(scheduleService).deleteWeek(1L);
 
         // Act & Assert
         mockMvc.perform(delete("/api/weekly-schedules/1")
                         .with(csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(weeklyScheduleRepository, times(1)).deleteById(1L);
+        verify(scheduleService, times(1)).deleteWeek(1L);
     }
 
     @Test
     void deleteWeeklySchedule_ShouldNotCheckExistence() throws Exception {
-        // Even with non-existent ID, deleteById doesn't throw
-        doNothing().when(weeklyScheduleRepository).deleteById(999L);
+        // Even with non-existent ID, deleteWeek doesn't throw
+        doNothing().when(scheduleService).deleteWeek(999L);
 
         // Act & Assert
         mockMvc.perform(delete("/api/weekly-schedules/999")
                         .with(csrf()))
                 .andExpect(status().isNoContent());
 
-        verify(weeklyScheduleRepository, times(1)).deleteById(999L);
+        verify(scheduleService, times(1)).deleteWeek(999L);
     }
 
     @Test
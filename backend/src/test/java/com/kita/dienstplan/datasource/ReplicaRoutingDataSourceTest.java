@@ -0,0 +1,178 @@
+package com.kita.dienstplan.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two in-memory H2 databases, each telling its name from a marker table
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        // The replica reports its lag from a table the test controls
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds INT)");
+        new JdbcTemplate(replica).execute("INSERT INTO replica_lag VALUES (0)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("SHUTDOWN");
+        new JdbcTemplate(replica).execute("SHUTDOWN");
+    }
+
+    @Test
+    void readOnlyTransaction_HealthyReplica_ShouldUseReplica() {
+        // Arrange
+        Routing routing = routing(replica, 5);
+
+        // Act & Assert
+        assertThat(routing.read()).isEqualTo("replica");
+        assertThat(routing.write()).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaLagging_ShouldFallBackToPrimary() {
+        // Arrange
+        Routing routing = routing(replica, 5);
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 30");
+
+        // Act
+        routing.monitor.check();
+
+        // Assert
+        assertThat(routing.read()).isEqualTo("primary");
+
+        // Act: the replica catches up
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 2");
+        routing.monitor.check();
+
+        // Assert
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaUnreachable_ShouldFallBackToPrimary() {
+        // Arrange: a database that does not exist cannot be opened
+        JdbcDataSource missing = new JdbcDataSource();
+        missing.setURL("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        Routing routing = routing(missing, 5);
+
+        // Act & Assert
+        assertThat(routing.monitor.pick()).isEmpty();
+        assertThat(routing.read()).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransaction_AfterOwnWrite_ShouldStayOnPrimary() {
+        // Arrange
+        Routing routing = routing(replica, 5);
+        authenticate("leitung");
+
+        // Act
+        routing.write();
+
+        // Assert: the writer reads from the primary, other users from the replica
+        assertThat(routing.read()).isEqualTo("primary");
+        authenticate("erzieherin");
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_PrimaryReads_ShouldUsePrimary() {
+        // Arrange: a job filling a cache, no user to pin
+        Routing routing = routing(replica, 5);
+
+        // Act & Assert
+        assertThat(PrimaryReads.call(routing::read)).isEqualTo("primary");
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void readOnlyTransaction_PinDisabled_ShouldUseReplicaAfterWrite() {
+        // Arrange
+        ReplicaHealthMonitor monitor = monitor(replica, 5);
+        Routing routing = new Routing(monitor, new ReadYourWritesPins(Duration.ZERO));
+        authenticate("leitung");
+
+        // Act
+        routing.write();
+
+        // Assert
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    private Routing routing(DataSource replicaDataSource, long maxLagSeconds) {
+        return new Routing(monitor(replicaDataSource, maxLagSeconds), new ReadYourWritesPins(Duration.ofSeconds(10)));
+    }
+
+    private ReplicaHealthMonitor monitor(DataSource replicaDataSource, long maxLagSeconds) {
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(
+                List.of(new ReplicaHealthMonitor.Replica("replica-0", replicaDataSource)),
+                maxLagSeconds, "SELECT seconds FROM replica_lag");
+        monitor.check();
+        return monitor;
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, AuthorityUtils.NO_AUTHORITIES));
+    }
+
+    private class Routing {
+
+        final ReplicaHealthMonitor monitor;
+        final JdbcTemplate jdbcTemplate;
+        final DataSourceTransactionManager transactionManager;
+
+        Routing(ReplicaHealthMonitor monitor, ReadYourWritesPins pins) {
+            this.monitor = monitor;
+            DataSource dataSource = ReplicaRoutingDataSource.lazy(primary, monitor, pins);
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.transactionManager = new DataSourceTransactionManager(dataSource);
+        }
+
+        String read() {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+        }
+
+        String write() {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                jdbcTemplate.update("UPDATE marker SET name = name");
+                return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+            });
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.kita.dienstplan.datasource;
+
+import com.kita.dienstplan.dto.WorkloadPoolDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Workload routing over one in-memory H2 database per pool, each telling its workload from a marker table
+ */
+class WorkloadRoutingDataSourceTest {
+
+    private WorkloadRoutingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new WorkloadRoutingDataSource(Arrays.stream(Workload.values())
+                .map(workload -> new WorkloadPool(workload, pool(workload)))
+                .toList());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void getConnection_NoWorkload_ShouldUseInteractivePool() {
+        // Act & Assert
+        assertThat(marker()).isEqualTo("interactive");
+        assertThat(WorkloadContext.call(Workload.BATCH, this::marker)).isEqualTo("batch");
+    }
+
+    @Test
+    void annotatedMethod_ShouldUseItsPool_AndOutermostWorkloadWins() {
+        // Arrange
+        Jobs jobs = proxy(new Jobs());
+
+        // Act & Assert
+        assertThat(jobs.report()).isEqualTo("reporting");
+        assertThat(jobs.interactive()).isEqualTo("interactive");
+        assertThat(jobs.reportCallingBatch(proxy(new Jobs()))).isEqualTo("reporting");
+        assertThat(marker()).isEqualTo("interactive");
+    }
+
+    @Test
+    void typeAnnotation_ShouldApplyToEveryMethod() {
+        // Arrange
+        BatchJobs jobs = proxy(new BatchJobs());
+
+        // Act & Assert
+        assertThat(jobs.run()).isEqualTo("batch");
+    }
+
+    @Test
+    void exhaustedPool_ShouldTimeOutWithoutTouchingOtherPools() throws Exception {
+        // Arrange: the batch pool has one connection, which is taken
+        try (Connection held = WorkloadContext.call(Workload.BATCH, this::connection)) {
+
+            // Act & Assert
+            assertThatThrownBy(() -> WorkloadContext.call(Workload.BATCH, this::connection).close())
+                    .hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+            assertThat(marker()).isEqualTo("interactive");
+        }
+
+        WorkloadPoolDTO batch = dataSource.getStats().stream()
+                .filter(pool -> pool.getWorkload().equals("batch")).findFirst().orElseThrow();
+        assertThat(batch.getMaxPoolSize()).isEqualTo(1);
+        assertThat(batch.getAcquired()).isEqualTo(1);
+        assertThat(batch.getTimeouts()).isEqualTo(1);
+        assertThat(batch.getMaxWaitMs()).isGreaterThanOrEqualTo(0);
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private Connection connection() {
+        try {
+            return dataSource.getConnection();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new WorkloadAspect());
+        return factory.getProxy();
+    }
+
+    private static HikariDataSource pool(Workload workload) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + workload.key() + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        pool.setPoolName(workload.key());
+        pool.setMaximumPoolSize(workload == Workload.BATCH ? 1 : 2);
+        pool.setConnectionTimeout(250);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?)", workload.key());
+        return pool;
+    }
+
+    class Jobs {
+
+        @UseWorkload(Workload.REPORTING)
+        public String report() {
+            return marker();
+        }
+
+        @UseWorkload(Workload.REPORTING)
+        public String reportCallingBatch(Jobs other) {
+            return other.batch();
+        }
+
+        @UseWorkload(Workload.BATCH)
+        public String batch() {
+            return marker();
+        }
+
+        public String interactive() {
+            return marker();
+        }
+    }
+
+    @UseWorkload(Workload.BATCH)
+    class BatchJobs {
+
+        public String run() {
+            return marker();
+        }
+    }
+}
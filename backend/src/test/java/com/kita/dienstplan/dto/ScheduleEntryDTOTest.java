@@ -374,4 +374,30 @@ class ScheduleEntryDTOTest {
         assertEquals("1:00", ScheduleEntryDTO.formatMinutes(60));
         assertEquals("1:01", ScheduleEntryDTO.formatMinutes(61));
     }
+
+    @Test
+    void useMinuteTimes_ShouldReplaceTimesWithMinutesOfDay() {
+        // Arrange
+        dto.setStartTime(LocalTime.of(7, 15));
+        dto.setEndTime(LocalTime.of(15, 45));
+
+        // Act
+        dto.useMinuteTimes();
+
+        // Assert
+        assertEquals(435, dto.getStartMinute());
+        assertEquals(945, dto.getEndMinute());
+        assertNull(dto.getStartTime());
+        assertNull(dto.getEndTime());
+    }
+
+    @Test
+    void useMinuteTimes_WithoutTimes_ShouldLeaveMinutesEmpty() {
+        // Act
+        dto.useMinuteTimes();
+
+        // Assert
+        assertNull(dto.getStartMinute());
+        assertNull(dto.getEndMinute());
+    }
 }
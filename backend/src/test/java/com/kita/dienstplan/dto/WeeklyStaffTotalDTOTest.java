@@ -8,8 +8,6 @@ import static org.junit.jupiter.api.Assertions.*;
 /**
  * Unit tests for WeeklyStaffTotalDTO
  * Tests formatting methods and constructor validation
- *
- * Note: WeeklyStaffTotalDTO is package-private, so we test it from the same package
  */
 class WeeklyStaffTotalDTOTest {
 
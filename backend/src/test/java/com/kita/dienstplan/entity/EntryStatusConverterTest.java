@@ -0,0 +1,58 @@
+package com.kita.dienstplan.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EntryStatus and EntryStatusConverter
+ * Codes are persisted, so they must stay stable and round-trip to the canonical labels
+ */
+class EntryStatusConverterTest {
+
+    private final EntryStatusConverter converter = new EntryStatusConverter();
+
+    @Test
+    void convertToDatabaseColumn_AnySpelling_ShouldStoreSameCode() {
+        assertEquals((byte) 1, converter.convertToDatabaseColumn("normal"));
+        assertEquals((byte) 1, converter.convertToDatabaseColumn("NORMAL"));
+        assertEquals((byte) 4, converter.convertToDatabaseColumn("urlaub"));
+        assertEquals((byte) 4, converter.convertToDatabaseColumn(" URLAUB "));
+        assertEquals((byte) 8, converter.convertToDatabaseColumn("FORTBILDUNG"));
+    }
+
+    @Test
+    void convertToDatabaseColumn_NullOrBlank_ShouldStoreNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToDatabaseColumn(" "));
+    }
+
+    @Test
+    void convertToDatabaseColumn_UnknownLabel_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn("Dienstreise"));
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldReturnCanonicalLabel() {
+        for (EntryStatus status : EntryStatus.values()) {
+            assertEquals(status.label(), converter.convertToEntityAttribute(status.code()));
+            assertEquals(status.label(), converter.convertToEntityAttribute(
+                    converter.convertToDatabaseColumn(status.label().toUpperCase())));
+        }
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void convertToEntityAttribute_UnknownCode_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute((byte) 0));
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute((byte) 9));
+    }
+
+    @Test
+    void is_ShouldMatchLabelInAnySpelling() {
+        assertTrue(EntryStatus.NORMAL.is("Normal"));
+        assertTrue(EntryStatus.SCHULE.is("SCHULE"));
+        assertFalse(EntryStatus.SCHULE.is("Fachschule"));
+        assertFalse(EntryStatus.NORMAL.is(null));
+    }
+}
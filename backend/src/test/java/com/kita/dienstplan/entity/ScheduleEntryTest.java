@@ -479,6 +479,28 @@ class ScheduleEntryTest {
         assertEquals("Test notes", newEntry.getNotes());
     }
 
+    @Test
+    void setTimes_ShouldKeepMinutesOfDayInStep() {
+        // Act
+        entry.setStartTime(LocalTime.of(6, 45));
+        entry.setEndTime(LocalTime.of(14, 15));
+
+        // Assert
+        assertEquals((short) 405, entry.getStartMinute());
+        assertEquals((short) 855, entry.getEndMinute());
+
+        entry.setStartTime(null);
+        assertNull(entry.getStartMinute());
+    }
+
+    @Test
+    void totalMinutes_WithMinutesOfDay_ShouldHandleOvernightShift() {
+        // 22:00 to 06:00 = 8 hours
+        assertEquals(480, ScheduleEntry.totalMinutes(22 * 60, 6 * 60));
+        assertEquals(480, ScheduleEntry.totalMinutes(8 * 60, 16 * 60));
+        assertEquals(LocalTime.of(22, 30), ScheduleEntry.timeOfMinute(22 * 60 + 30));
+    }
+
     @Test
     void setId_ShouldUpdateId() {
         // Act
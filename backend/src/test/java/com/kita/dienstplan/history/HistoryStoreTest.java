@@ -0,0 +1,118 @@
+package com.kita.dienstplan.history;
+
+import com.kita.dienstplan.dto.HistoryAggregateDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HistoryStore
+ * Verifies filtered, grouped scans across years and that single-row changes keep the partitions consistent
+ */
+class HistoryStoreTest {
+
+    private static final LocalTime SEVEN = LocalTime.of(7, 0);
+    private static final LocalTime FIFTEEN = LocalTime.of(15, 0);
+
+    private HistoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new HistoryStore(2);
+        store.putStaff(1, "Anna", 10L, "Käfer", false);
+        store.putStaff(2, "Bernd", 20L, "Bienen", false);
+        store.putStaff(3, "Clara", 10L, "Käfer", true);
+        HistoryStore.Loader loader = store.loader();
+        loader.entry(1, 1, LocalDate.of(2025, 3, 3), SEVEN, FIFTEEN, "normal", 450);
+        loader.entry(2, 2, LocalDate.of(2025, 3, 3), null, null, "krank", 0);
+        loader.entry(3, 3, LocalDate.of(2025, 3, 4), SEVEN, FIFTEEN, "normal", 450);
+        loader.entry(4, 1, LocalDate.of(2026, 2, 2), SEVEN, FIFTEEN, "Normal", 450);
+        loader.absenceDay(2, LocalDate.of(2026, 2, 2), "Urlaub");
+        loader.install(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void aggregate_ShouldFilterAndGroupAcrossYears() {
+        // Act
+        HistoryAggregateDTO byYear = store.aggregate(new HistoryQuery(LocalDate.of(2025, 1, 1),
+                LocalDate.of(2026, 12, 31), Set.of("NORMAL"), List.of(HistoryDimension.YEAR), null, null, false));
+        HistoryAggregateDTO byGroupAndStatus = store.aggregate(new HistoryQuery(LocalDate.of(2025, 1, 1),
+                LocalDate.of(2026, 12, 31), null, List.of(HistoryDimension.GROUP, HistoryDimension.STATUS),
+                null, null, true));
+
+        // Assert: Clara is a Praktikantin, statuses match case-insensitively
+        assertEquals(5L, byYear.getScannedRows());
+        assertEquals(2, byYear.getBuckets().size());
+        assertEquals(List.of("2025"), byYear.getBuckets().get(0).getKeys());
+        assertEquals(450L, byYear.getBuckets().get(0).getWorkingMinutes());
+        assertEquals(1L, byYear.getBuckets().get(1).getEntries());
+
+        assertEquals(3, byGroupAndStatus.getBuckets().size());
+        HistoryAggregateDTO.Bucket kaeferNormal = byGroupAndStatus.getBuckets().get(0);
+        assertEquals(List.of("10", "normal"), kaeferNormal.getKeys());
+        assertEquals(List.of("Käfer", "normal"), kaeferNormal.getLabels());
+        assertEquals(3L, kaeferNormal.getEntries());
+        assertEquals(1350L, kaeferNormal.getWorkingMinutes());
+        assertEquals(List.of("Bienen", "krank"), byGroupAndStatus.getBuckets().get(1).getLabels());
+        assertEquals(List.of("Bienen", "Urlaub"), byGroupAndStatus.getBuckets().get(2).getLabels());
+    }
+
+    @Test
+    void changes_ShouldKeepPartitionsConsistent() {
+        // Act: a new entry on Bernd's Urlaub day replaces the absence row, one entry moves, one is deleted
+        store.removeAbsenceDay(2, LocalDate.of(2026, 2, 2));
+        store.upsert(7, 2, LocalDate.of(2026, 2, 2), null, null, "Urlaub", 0);
+        store.upsert(4, 1, LocalDate.of(2026, 2, 3), SEVEN, LocalTime.of(12, 0), "normal", 300);
+        assertTrue(store.remove(1, LocalDate.of(2025, 3, 3)));
+        assertFalse(store.remove(1, LocalDate.of(2025, 3, 3)));
+        store.addAbsenceDay(1, LocalDate.of(2025, 3, 3), "krank");
+        store.addAbsenceDay(1, LocalDate.of(2025, 3, 3), "krank");
+
+        // Assert
+        HistoryAggregateDTO byStaff = store.aggregate(new HistoryQuery(LocalDate.of(2025, 1, 1),
+                LocalDate.of(2026, 12, 31), null, List.of(HistoryDimension.STAFF), null, null, true));
+        assertEquals(5L, byStaff.getScannedRows());
+        assertEquals(List.of("Anna"), byStaff.getBuckets().get(0).getLabels());
+        assertEquals(2L, byStaff.getBuckets().get(0).getEntries());
+        assertEquals(300L, byStaff.getBuckets().get(0).getWorkingMinutes());
+        assertEquals(2L, byStaff.getBuckets().get(1).getEntries());
+
+        HistoryAggregateDTO february = store.aggregate(new HistoryQuery(LocalDate.of(2026, 2, 3),
+                LocalDate.of(2026, 2, 3), null, List.of(HistoryDimension.WEEKDAY), 10L, null, true));
+        assertEquals(1, february.getBuckets().size());
+        assertEquals(List.of("Dienstag"), february.getBuckets().get(0).getLabels());
+    }
+
+    @Test
+    void loaderAndQueries_ShouldReplaceOnlyTheirYearsAndRejectBadQueries() {
+        // Act: reload 2026 with a single entry
+        HistoryStore.Loader loader = store.loader();
+        loader.entry(9, 2, LocalDate.of(2026, 5, 4), SEVEN, FIFTEEN, "normal", 450);
+        loader.install(2026, 2026);
+
+        // Assert
+        assertEquals(4L, store.stats(true).getRows());
+        assertEquals(2, store.stats(true).getYears().size());
+        assertEquals(3L, store.stats(true).getYears().get(0).getRows());
+        assertThrows(IllegalArgumentException.class, () -> store.aggregate(new HistoryQuery(
+                LocalDate.of(2026, 1, 1), LocalDate.of(2025, 1, 1), null, List.of(), null, null, true)));
+        assertThrows(IllegalArgumentException.class, () -> store.aggregate(new HistoryQuery(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2026, 1, 1), null,
+                List.of(HistoryDimension.YEAR, HistoryDimension.MONTH, HistoryDimension.STATUS), null, null, true)));
+        // An unknown group matches nobody
+        assertTrue(store.aggregate(new HistoryQuery(LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31), null,
+                List.of(), 99L, null, true)).getBuckets().isEmpty());
+    }
+}
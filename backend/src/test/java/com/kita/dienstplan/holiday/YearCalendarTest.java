@@ -0,0 +1,74 @@
+package com.kita.dienstplan.holiday;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BerlinHolidays and YearCalendar
+ * Checks the Easter computus, Berlin-specific holidays and lookup precedence
+ */
+class YearCalendarTest {
+
+    @Test
+    void easterSunday_ShouldMatchKnownDates() {
+        assertEquals(LocalDate.of(2024, 3, 31), BerlinHolidays.easterSunday(2024));
+        assertEquals(LocalDate.of(2025, 4, 20), BerlinHolidays.easterSunday(2025));
+        assertEquals(LocalDate.of(2026, 4, 5), BerlinHolidays.easterSunday(2026));
+        assertEquals(LocalDate.of(2038, 4, 25), BerlinHolidays.easterSunday(2038));
+    }
+
+    @Test
+    void forYear_ShouldContainBerlinHolidays() {
+        // Act
+        Map<LocalDate, String> holidays = BerlinHolidays.forYear(2026);
+
+        // Assert
+        assertEquals(10, holidays.size());
+        assertEquals("Karfreitag", holidays.get(LocalDate.of(2026, 4, 3)));
+        assertEquals("Ostermontag", holidays.get(LocalDate.of(2026, 4, 6)));
+        assertEquals("Christi Himmelfahrt", holidays.get(LocalDate.of(2026, 5, 14)));
+        assertEquals("Pfingstmontag", holidays.get(LocalDate.of(2026, 5, 25)));
+        assertEquals("Internationaler Frauentag", holidays.get(LocalDate.of(2026, 3, 8)));
+    }
+
+    @Test
+    void forYear_ShouldApplyYearSpecificRules() {
+        assertFalse(BerlinHolidays.forYear(2018).containsKey(LocalDate.of(2018, 3, 8)));
+        assertEquals("Tag der Befreiung", BerlinHolidays.forYear(2025).get(LocalDate.of(2025, 5, 8)));
+        assertFalse(BerlinHolidays.forYear(2026).containsKey(LocalDate.of(2026, 5, 8)));
+    }
+
+    @Test
+    void build_HolidayShouldWinOverPlannedDay() {
+        // Arrange
+        Map<LocalDate, Map.Entry<DayKind, String>> planned = Map.of(
+                LocalDate.of(2026, 12, 24), new AbstractMap.SimpleImmutableEntry<>(DayKind.CLOSURE, "Schließzeit"),
+                LocalDate.of(2026, 12, 25), new AbstractMap.SimpleImmutableEntry<>(DayKind.CLOSURE, "Schließzeit"),
+                LocalDate.of(2026, 9, 14), new AbstractMap.SimpleImmutableEntry<>(DayKind.TEAM_DAY, "Teamtag"));
+
+        // Act
+        YearCalendar calendar = YearCalendar.build(2026, BerlinHolidays.forYear(2026), planned);
+
+        // Assert
+        assertEquals(DayKind.CLOSURE, calendar.kind(LocalDate.of(2026, 12, 24)));
+        assertEquals(DayKind.HOLIDAY, calendar.kind(LocalDate.of(2026, 12, 25)));
+        assertEquals("1. Weihnachtstag", calendar.name(LocalDate.of(2026, 12, 25)));
+        assertEquals(DayKind.TEAM_DAY, calendar.kind(LocalDate.of(2026, 9, 14)));
+        assertFalse(calendar.kind(LocalDate.of(2026, 9, 14)).isClosed());
+        assertNull(calendar.kind(LocalDate.of(2026, 9, 15)));
+        assertNull(calendar.name(LocalDate.of(2026, 9, 15)));
+        assertEquals(12, calendar.specialDays().size());
+    }
+
+    @Test
+    void kind_OtherYear_ShouldThrow() {
+        YearCalendar calendar = YearCalendar.build(2026, BerlinHolidays.forYear(2026), Map.of());
+
+        assertThrows(IllegalArgumentException.class, () -> calendar.kind(LocalDate.of(2027, 1, 1)));
+    }
+}
@@ -0,0 +1,143 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.dto.GroupDTO;
+import com.kita.dienstplan.dto.StaffDTO;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.service.GroupService;
+import com.kita.dienstplan.util.TestDataBuilder;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Fetch plans of the read layer, exercised without a surrounding transaction as with
+ * open-session-in-view off: every association a DTO reads must come with the query,
+ * and any lazy load outside a transaction fails.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, GroupService.class})
+@Sql(scripts = "/test-schema.sql")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FetchPlanTest {
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private WeeklyScheduleRepository weeklyScheduleRepository;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Value("${spring.jpa.open-in-view}")
+    private boolean openInView;
+
+    private Group group;
+    private Staff staff;
+    private WeeklySchedule week;
+    private ScheduleEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        group = groupRepository.save(TestDataBuilder.createTestGroup("Käfer", "Käfer group"));
+        staff = staffRepository.save(TestDataBuilder.createTestStaff("Max", "Mustermann", group));
+        staffRepository.save(TestDataBuilder.createTestStaff("Anna", "Schmidt", group));
+        week = weeklyScheduleRepository.save(TestDataBuilder.createTestWeeklySchedule(10, 2026));
+        entry = scheduleEntryRepository.save(TestDataBuilder.createTestScheduleEntry(week, staff));
+    }
+
+    @Test
+    void openInView_ShouldBeDisabled() {
+        // Assert
+        assertThat(openInView).isFalse();
+    }
+
+    @Test
+    void staffFinders_OutsideTransaction_ShouldLoadGroup() {
+        // Act
+        List<Staff> loaded = new ArrayList<>();
+        loaded.addAll(staffRepository.findAll());
+        loaded.add(staffRepository.findById(staff.getId()).orElseThrow());
+        loaded.addAll(staffRepository.findByIsActiveTrueOrderByFullName());
+        loaded.addAll(staffRepository.findByGroupIdAndActive(group.getId()));
+
+        // Assert
+        assertThat(loaded).hasSize(7);
+        assertThat(loaded).extracting(StaffDTO::fromEntity).extracting(StaffDTO::getGroupName).containsOnly("Käfer");
+    }
+
+    @Test
+    void entryFinders_OutsideTransaction_ShouldLoadStaffAndGroup() {
+        // Act
+        List<ScheduleEntry> loaded = new ArrayList<>();
+        loaded.addAll(scheduleEntryRepository.findByWeekNumberAndYear(10, 2026));
+        loaded.addAll(scheduleEntryRepository.findByStaffAndWeek(staff.getId(), 10, 2026));
+        loaded.addAll(scheduleEntryRepository.findByWorkDateOrderByStaff_FullName(entry.getWorkDate()));
+        loaded.addAll(scheduleEntryRepository.findWhoIsWorkingAt(entry.getWorkDate(), LocalTime.of(9, 0)));
+        loaded.addAll(scheduleEntryRepository.findByStatusAndDateRange("normal", week.getStartDate(), week.getEndDate()));
+        loaded.add(scheduleEntryRepository.findById(entry.getId()).orElseThrow());
+
+        // Assert
+        assertThat(loaded).hasSize(6);
+        assertThat(loaded).extracting(loadedEntry -> loadedEntry.getStaff().getGroup().getName()).containsOnly("Käfer");
+        assertThat(loaded).extracting(loadedEntry -> loadedEntry.getWeeklySchedule().getId()).containsOnly(week.getId());
+    }
+
+    @Test
+    void lazyAssociation_OutsideTransaction_ShouldFail() {
+        // Arrange: a finder without a fetch plan
+        Staff detached = staffRepository.findByFullName("Max Mustermann").orElseThrow();
+
+        // Act & Assert
+        assertThatThrownBy(() -> detached.getGroup().getName()).isInstanceOf(LazyInitializationException.class);
+        assertThatThrownBy(() -> detached.getScheduleEntries().size()).isInstanceOf(LazyInitializationException.class);
+    }
+
+    @Test
+    void identityAndToString_Detached_ShouldNotTouchAssociations() {
+        // Arrange
+        Staff detached = staffRepository.findByFullName("Max Mustermann").orElseThrow();
+
+        // Act & Assert
+        assertThat(detached.toString()).contains("Max Mustermann").doesNotContain("scheduleEntries");
+        assertThat(detached).isEqualTo(staff).hasSameHashCodeAs(staff);
+        assertThat(group).isEqualTo(detached.getGroup());
+    }
+
+    @Test
+    void groupService_ShouldCountStaffWithoutLoadingMembers() {
+        // Act
+        List<GroupDTO> groups = groupService.getAllGroups();
+
+        // Assert
+        assertThat(groups).singleElement().extracting(GroupDTO::getStaffCount).isEqualTo(2);
+        assertThat(groupService.getGroupById(group.getId())).get().extracting(GroupDTO::getStaffCount).isEqualTo(2);
+    }
+}
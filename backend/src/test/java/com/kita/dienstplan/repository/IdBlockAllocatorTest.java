@@ -0,0 +1,74 @@
+package com.kita.dienstplan.repository;
+
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.util.TestDataBuilder;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Integration tests for IdBlockAllocator against the H2 schema
+ * Verifies that reserved ranges never overlap each other or the ids Hibernate hands out
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, IdBlockAllocator.class})
+@Sql(scripts = "/test-schema.sql")
+class IdBlockAllocatorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IdBlockAllocator idBlockAllocator;
+
+    @Test
+    void reserve_ShouldHandOutConsecutiveRanges() {
+        // Act
+        long first = idBlockAllocator.reserve(Staff.ID_SEQUENCE, 10);
+        long second = idBlockAllocator.reserve(Staff.ID_SEQUENCE, 5);
+        long third = idBlockAllocator.reserve(Staff.ID_SEQUENCE, 0);
+
+        // Assert
+        assertThat(second).isEqualTo(first + 10);
+        assertThat(third).isEqualTo(second + 5);
+    }
+
+    @Test
+    void reserve_ShouldNotOverlapEntityIds() {
+        // Arrange - Hibernate takes its first block
+        Staff before = entityManager.persistAndFlush(TestDataBuilder.createTestStaff("Vor", "Her", null));
+
+        // Act
+        long first = idBlockAllocator.reserve(Staff.ID_SEQUENCE, 20);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            ids.add(entityManager.persist(TestDataBuilder.createTestStaff("Staff", "N" + i, null)).getId());
+        }
+        entityManager.flush();
+
+        // Assert
+        assertThat(before.getId()).isLessThan(first);
+        assertThat(ids).doesNotHaveDuplicates()
+            .noneMatch(id -> id >= first && id < first + 20);
+    }
+
+    @Test
+    void reserve_UnknownSequence_ShouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> idBlockAllocator.reserve("no_such_table", 1))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,106 @@
+package com.kita.dienstplan.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the native queries of all repositories for constructs H2 accepts but MySQL does not
+ * The repository tests run on H2 in MySQL mode, which is more lenient than the production database
+ */
+class NativeQuerySyntaxTest {
+
+    // The type names MySQL takes as a CAST target (BIGINT, INT and VARCHAR are not among them)
+    private static final Set<String> MYSQL_CAST_TYPES = Set.of("BINARY", "CHAR", "DATE", "DATETIME", "DECIMAL",
+            "DOUBLE", "FLOAT", "JSON", "NCHAR", "REAL", "SIGNED", "UNSIGNED", "TIME", "YEAR");
+
+    private static final Pattern CAST = Pattern.compile("\\bCAST\\s*\\(", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CAST_TARGET = Pattern.compile("\\bAS\\s+([A-Za-z]+)\\s*(\\([^()]*\\))?\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
+    @Test
+    void nativeQueries_ShouldOnlyCastToMySqlTypes() throws Exception {
+        // Arrange
+        List<String> queries = nativeQueries();
+
+        // Act
+        List<String> invalid = new ArrayList<>();
+        for (String query : queries) {
+            for (String target : castTargets(query)) {
+                if (!MYSQL_CAST_TYPES.contains(target.toUpperCase(Locale.ROOT))) {
+                    invalid.add(target + " in: " + query);
+                }
+            }
+        }
+
+        // Assert
+        assertThat(queries).isNotEmpty();
+        assertThat(invalid).isEmpty();
+    }
+
+    @Test
+    void castTargets_ShouldFindTargetBehindNestedExpressions() {
+        assertThat(castTargets("SELECT CAST(COALESCE(x, 0) + 1 AS BIGINT), CAST(y AS DECIMAL(10, 2)) FROM t"))
+                .containsExactly("BIGINT", "DECIMAL");
+    }
+
+    private static List<String> nativeQueries() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+
+        List<String> queries = new ArrayList<>();
+        for (BeanDefinition definition : scanner.findCandidateComponents(NativeQuerySyntaxTest.class.getPackageName())) {
+            for (Method method : Class.forName(definition.getBeanClassName()).getDeclaredMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                if (query != null && query.nativeQuery()) {
+                    queries.add(query.value());
+                }
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * The type each CAST converts to, read up to the parenthesis closing the CAST
+     */
+    private static List<String> castTargets(String query) {
+        List<String> targets = new ArrayList<>();
+        Matcher cast = CAST.matcher(query);
+        while (cast.find()) {
+            int depth = 1;
+            int end = cast.end();
+            while (end < query.length() && depth > 0) {
+                char c = query.charAt(end++);
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                }
+            }
+            Matcher target = CAST_TARGET.matcher(query.substring(cast.end(), end - 1));
+            if (target.find()) {
+                targets.add(target.group(1));
+            }
+        }
+        return targets;
+    }
+}
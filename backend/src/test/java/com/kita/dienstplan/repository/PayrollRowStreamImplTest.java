@@ -0,0 +1,26 @@
+package com.kita.dienstplan.repository;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MariaDBDialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the payroll stream's fetch size
+ * Connector/J streams row by row only with Integer.MIN_VALUE unless the pool enables cursor fetch
+ */
+class PayrollRowStreamImplTest {
+
+    @Test
+    void fetchSize_OnMySql_ShouldStreamRowByRow() {
+        assertThat(PayrollRowStreamImpl.fetchSize(new MySQLDialect())).isEqualTo(Integer.MIN_VALUE);
+        assertThat(PayrollRowStreamImpl.fetchSize(new MariaDBDialect())).isEqualTo(Integer.MIN_VALUE);
+    }
+
+    @Test
+    void fetchSize_OnOtherDatabases_ShouldFetchInChunks() {
+        assertThat(PayrollRowStreamImpl.fetchSize(new H2Dialect())).isEqualTo(PayrollRowStreamImpl.FETCH_SIZE);
+    }
+}
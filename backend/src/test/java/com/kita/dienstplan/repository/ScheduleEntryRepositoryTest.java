@@ -15,6 +15,8 @@ import org.springframework.test.context.jdbc.Sql;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -356,6 +358,29 @@ class ScheduleEntryRepositoryTest {
         assertEquals(1, atEnd.size());
     }
 
+    @Test
+    void minuteColumns_ShouldBeGeneratedFromTimes() {
+        // Arrange - Entry from 7:30 to 15:45
+        ScheduleEntry entry = createEntry(week5_2026, staff1, 0, LocalTime.of(7, 30), LocalTime.of(15, 45));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        ScheduleEntry loaded = scheduleEntryRepository.findById(entry.getId()).orElseThrow();
+        List<Object[]> rows = scheduleEntryRepository.findStaffingRows(week5_2026.getId());
+        List<ScheduleEntry> at450 = scheduleEntryRepository.findWhoIsWorkingAt(loaded.getWorkDate(), 7 * 60 + 30);
+        List<ScheduleEntry> at449 = scheduleEntryRepository.findWhoIsWorkingAt(loaded.getWorkDate(), 7 * 60 + 29);
+
+        // Assert - Generated by the database, read back as minutes since midnight
+        assertEquals((short) 450, loaded.getStartMinute());
+        assertEquals((short) 945, loaded.getEndMinute());
+        assertEquals(1, rows.size());
+        assertEquals(450, ((Number) rows.get(0)[6]).intValue());
+        assertEquals(945, ((Number) rows.get(0)[7]).intValue());
+        assertEquals(1, at450.size());
+        assertTrue(at449.isEmpty());
+    }
+
     @Test
     void getWeeklyStaffTotals_ShouldOrderByGroupAndName() {
         // Arrange - Create entries for multiple staff in different groups
@@ -382,6 +407,57 @@ class ScheduleEntryRepositoryTest {
         assertEquals("Max Mustermann", results.get(2)[1]);
     }
 
+    @Test
+    void findWeekMatrixRows_ShouldReturnScalarRowsOrderedByStaffAndDay() {
+        // Arrange
+        createEntry(week5_2026, staff1, 1, LocalTime.of(8, 0), LocalTime.of(16, 0));
+        createEntry(week5_2026, staff1, 0, LocalTime.of(9, 0), LocalTime.of(13, 0));
+        createEntry(week5_2026, staff2, 0, LocalTime.of(7, 30), LocalTime.of(15, 30));
+        createEntry(week6_2026, staff1, 0, LocalTime.of(8, 0), LocalTime.of(16, 0)); // Different week
+
+        entityManager.flush();
+
+        // Act
+        List<Object[]> rows = scheduleEntryRepository.findWeekMatrixRows(week5_2026.getId());
+
+        // Assert - Lisa Schmidt sorts before Max Mustermann, days ascending
+        assertEquals(3, rows.size());
+        assertEquals("Lisa Schmidt", rows.get(0)[1]);
+        assertEquals("Bienen", rows.get(0)[3]);
+        assertEquals("Max Mustermann", rows.get(1)[1]);
+        assertEquals(0, rows.get(1)[6]);
+        assertEquals(1, rows.get(2)[6]);
+        assertEquals(LocalTime.of(8, 0), rows.get(2)[7]);
+        assertEquals(450, ((Number) rows.get(2)[10]).intValue());
+    }
+
+    @Test
+    void streamPayrollRows_ShouldOrderByMonthThenStaff() {
+        // Arrange - one February entry, two January entries
+        createEntry(week6_2026, staff1, 0, LocalTime.of(8, 0), LocalTime.of(16, 0));
+        createEntry(week5_2026, staff1, 0, LocalTime.of(8, 0), LocalTime.of(16, 0))
+                .setWorkDate(LocalDate.of(2026, 1, 26));
+        createEntry(week5_2026, staff2, 0, LocalTime.of(7, 30), LocalTime.of(15, 30))
+                .setWorkDate(LocalDate.of(2026, 1, 26));
+
+        entityManager.flush();
+
+        // Act
+        List<Object[]> rows;
+        try (Stream<Object[]> stream = scheduleEntryRepository.streamPayrollRows(
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 28))) {
+            rows = stream.collect(Collectors.toList());
+        }
+
+        // Assert
+        assertEquals(3, rows.size());
+        assertEquals("Lisa Schmidt", rows.get(0)[1]);
+        assertEquals("Max Mustermann", rows.get(1)[1]);
+        assertEquals(LocalDate.of(2026, 1, 26), rows.get(1)[5]);
+        assertEquals("Max Mustermann", rows.get(2)[1]);
+        assertEquals(LocalDate.of(2026, 2, 9), rows.get(2)[5]);
+    }
+
     // Helper method to create and persist schedule entries
     private ScheduleEntry createEntry(WeeklySchedule schedule, Staff staff, int dayOfWeek,
                                       LocalTime startTime, LocalTime endTime) {
@@ -1,5 +1,7 @@
 package com.kita.dienstplan.repository;
 
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
 import com.kita.dienstplan.entity.WeeklySchedule;
 import com.kita.dienstplan.util.TestDataBuilder;
 import com.kita.dienstplan.util.TestJpaAuditingConfig;
@@ -221,4 +223,26 @@ class WeeklyScheduleRepositoryTest {
             .extracting(WeeklySchedule::getYear)
             .containsExactlyInAnyOrder(2024, 2025);
     }
+
+    @Test
+    void deleteById_ShouldDeleteWeekAndOnlyItsEntries() {
+        // Arrange
+        Staff staff = entityManager.persist(TestDataBuilder.createTestStaff());
+        entityManager.persist(TestDataBuilder.createTestScheduleEntry(schedule2026Week5, staff));
+        entityManager.persist(TestDataBuilder.createTestScheduleEntry(schedule2026Week10, staff));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        weeklyScheduleRepository.deleteById(schedule2026Week5.getId());
+
+        // Assert
+        assertThat(weeklyScheduleRepository.findById(schedule2026Week5.getId())).isEmpty();
+        List<ScheduleEntry> remaining = entityManager.getEntityManager()
+            .createQuery("SELECT se FROM ScheduleEntry se", ScheduleEntry.class)
+            .getResultList();
+        assertThat(remaining)
+            .extracting(entry -> entry.getWeeklySchedule().getId())
+            .containsExactly(schedule2026Week10.getId());
+    }
 }
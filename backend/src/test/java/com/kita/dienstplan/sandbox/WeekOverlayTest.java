@@ -0,0 +1,95 @@
+package com.kita.dienstplan.sandbox;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WeekOverlay
+ * Tests that overlays share their snapshot, keep only their own changes and diff to the net change
+ */
+class WeekOverlayTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 2, 2);
+    private static final LocalTime EARLY = LocalTime.of(7, 0);
+    private static final LocalTime LATE = LocalTime.of(15, 0);
+
+    private final WeekSnapshot snapshot = snapshot();
+
+    @Test
+    void update_ShouldNotTouchSnapshotOrOtherOverlays() {
+        // Arrange
+        WeekOverlay first = new WeekOverlay("a", snapshot);
+        WeekOverlay second = new WeekOverlay("b", snapshot);
+
+        // Act
+        first.update(10L, LocalTime.of(9, 0), LocalTime.of(17, 0), null, null, null);
+        first.remove(11L);
+
+        // Assert
+        assertSame(first.getBase(), second.getBase());
+        assertEquals(EARLY, snapshot.entry(10L).startTime());
+        assertEquals(LocalTime.of(9, 0), first.entries().get(0).startTime());
+        assertEquals(1, first.entries().size());
+        assertEquals(2, second.entries().size());
+        assertEquals(0, second.changeCount());
+    }
+
+    @Test
+    void diff_ShouldBeNetChange() {
+        // Arrange
+        WeekOverlay overlay = new WeekOverlay("a", snapshot);
+
+        // Act: an edit that is undone, an added entry that is removed again, one real addition
+        overlay.update(10L, LocalTime.of(9, 0), null, null, null, null);
+        overlay.update(10L, EARLY, null, null, null, null);
+        SandboxEntry temporary = overlay.add(2L, 3, EARLY, LATE, null, null, null);
+        overlay.remove(temporary.id());
+        SandboxEntry added = overlay.add(2L, 4, EARLY, LATE, null, null, null);
+        WeekOverlay.Diff diff = overlay.diff();
+
+        // Assert
+        assertEquals(List.of(added), diff.added());
+        assertTrue(diff.updated().isEmpty());
+        assertTrue(diff.deleted().isEmpty());
+        assertTrue(added.isAdded());
+        assertEquals(MONDAY.plusDays(4), added.workDate());
+        assertEquals(450, added.workingMinutes());
+    }
+
+    @Test
+    void add_ShouldRejectOccupiedDayAndUnknownStaff() {
+        // Arrange
+        WeekOverlay overlay = new WeekOverlay("a", snapshot);
+
+        // Act & Assert: Anna already works on Monday; a deleted entry frees the day
+        assertThrows(IllegalArgumentException.class, () -> overlay.add(1L, 0, EARLY, LATE, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> overlay.add(99L, 2, EARLY, LATE, null, null, null));
+        overlay.remove(10L);
+        assertNotNull(overlay.add(1L, 0, LATE, LocalTime.of(20, 0), null, null, null));
+        assertEquals(1, overlay.diff().deleted().size());
+    }
+
+    private static WeekSnapshot snapshot() {
+        WeeklySchedule week = new WeeklySchedule();
+        week.setId(5L);
+        week.setWeekNumber(6);
+        week.setYear(2026);
+        week.setStartDate(MONDAY);
+        LocalDateTime read = LocalDateTime.of(2026, 1, 20, 12, 0);
+        return WeekSnapshot.of(week, List.of(
+                        new Object[]{10L, 1L, "Anna Muster", "Erzieher", 7L, "Käfer", false, 0, MONDAY,
+                                EARLY, LATE, "normal", null, null, read},
+                        new Object[]{11L, 1L, "Anna Muster", "Erzieher", 7L, "Käfer", false, 1, MONDAY.plusDays(1),
+                                EARLY, LATE, "normal", null, null, read}),
+                List.<Object[]>of(new Object[]{2L, "Bernd Muster", "Erzieher", 7L, "Käfer", false, null}),
+                AbsenceIndex.empty());
+    }
+}
@@ -0,0 +1,284 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.AbsenceCompactionResultDTO;
+import com.kita.dienstplan.dto.AbsenceDTO;
+import com.kita.dienstplan.dto.DailyTotalDTO;
+import com.kita.dienstplan.dto.HoursBalanceDTO;
+import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.dto.WeekMatrixDTO;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.export.ExportFormat;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.IdBlockAllocator;
+import com.kita.dienstplan.repository.ScheduleEntryBatchWriter;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AbsenceService against the H2 schema
+ * Verifies that absence ranges are merged into week reads, totals and hours accounts,
+ * and that compaction folds per-day entries without changing any total
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, AbsenceService.class, ScheduleService.class, ComplianceService.class,
+        HolidayCalendarService.class, ScheduleEntryBatchWriter.class, IdBlockAllocator.class, WeekProvisioningService.class,
+        HoursAccountService.class, ArchiveService.class, PayrollExportService.class})
+@Sql(scripts = "/test-schema.sql")
+class AbsenceServiceTest {
+
+    // Week 28 of 2026; no holidays
+    private static final LocalDate MONDAY = LocalDate.of(2026, 7, 6);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AbsenceService absenceService;
+
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Autowired
+    private HoursAccountService hoursAccountService;
+
+    @Autowired
+    private PayrollExportService payrollExportService;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Autowired
+    private AbsenceRepository absenceRepository;
+
+    private Staff max;
+    private Staff erika;
+    private WeeklySchedule week28;
+
+    @BeforeEach
+    void setUp() {
+        max = staff("Max", "Mustermann");
+        erika = staff("Erika", "Musterfrau");
+        week28 = week(28, MONDAY);
+        entityManager.flush();
+    }
+
+    @Test
+    void createAbsence_ShouldOverlayWeekReads() {
+        // Arrange: Max planned Monday and Tuesday, Erika Monday
+        entry(week28, max, MONDAY, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0));
+        entry(week28, max, MONDAY.plusDays(1), "frei", null, null);
+        entry(week28, erika, MONDAY, "normal", LocalTime.of(7, 0), LocalTime.of(15, 0));
+        entityManager.flush();
+
+        // Act
+        AbsenceDTO absence = absenceService.createAbsence(max.getId(), "urlaub", MONDAY, MONDAY.plusDays(11),
+                null, "Sommer").orElseThrow();
+
+        // Assert: Monday overlaid, Tuesday (frei) kept, Wednesday to Friday added
+        assertEquals("Urlaub", absence.getStatus());
+        assertEquals(List.of(1, 2, 3, 4, 5), absence.getWeekdays());
+        List<ScheduleEntryDTO> maxWeek = scheduleService.getScheduleForStaffInWeek(max.getId(), 28, 2026);
+        assertEquals(5, maxWeek.size());
+        ScheduleEntryDTO monday = maxWeek.stream().filter(e -> e.getWorkDate().equals(MONDAY)).findFirst().orElseThrow();
+        assertEquals("Urlaub", monday.getStatus());
+        assertEquals(absence.getId(), monday.getAbsenceId());
+        assertNotNull(monday.getId());
+        assertEquals(0, monday.getWorkingHoursMinutes());
+        assertEquals(1, maxWeek.stream().filter(e -> "frei".equals(e.getStatus())).count());
+        assertEquals(6, scheduleService.getScheduleForWeek(28, 2026).size());
+        assertEquals(2, scheduleEntryRepository.findByStaffAndWeek(max.getId(), 28, 2026).size(),
+                "ranges are never expanded into rows");
+
+        List<DailyTotalDTO> totals = scheduleService.getDailyTotals(28, 2026);
+        assertEquals(5, totals.size());
+        assertEquals(450, totals.get(0).getTotalMinutesWithPraktikanten());
+        assertEquals(2L, totals.get(0).getTotalStaffCount());
+
+        assertTrue(scheduleService.getWhoIsWorkingAt(MONDAY, LocalTime.of(10, 0)).stream()
+                .noneMatch(e -> e.getStaffId().equals(max.getId())));
+        WeekMatrixDTO matrix = scheduleService.getWeekMatrix(28, 2026).orElseThrow();
+        assertEquals(max.getId(), matrix.getStaff().get(1).getId());
+        int urlaub = matrix.getStatuses().indexOf("Urlaub");
+        assertEquals(urlaub, matrix.getDays().get(0).getStatus()[1]);
+        assertEquals(urlaub, matrix.getDays().get(4).getStatus()[1]);
+        assertEquals(1, matrix.getDays().get(4).getTotalStaffCount());
+    }
+
+    @Test
+    void getEntriesByStatus_ShouldIncludeRangeDays() {
+        // Arrange: one sick day as an entry, two more as a range over a planned day
+        entry(week28, erika, MONDAY, "krank", null, null);
+        entry(week28, max, MONDAY.plusDays(2), "normal", LocalTime.of(8, 0), LocalTime.of(16, 0));
+        entityManager.flush();
+        absenceService.createAbsence(max.getId(), "krank", MONDAY.plusDays(2), MONDAY.plusDays(3), null, null);
+
+        // Act
+        List<ScheduleEntryDTO> sick = scheduleService.getEntriesByStatus("krank", MONDAY, MONDAY.plusDays(6));
+
+        // Assert
+        assertEquals(3, sick.size());
+        assertEquals(erika.getId(), sick.get(0).getStaffId());
+        assertNotNull(sick.get(1).getId(), "overlaid planned entry keeps its id");
+        assertEquals(week28.getId(), sick.get(1).getWeeklyScheduleId());
+        assertNull(sick.get(2).getId());
+        assertEquals(MONDAY.plusDays(3), sick.get(2).getWorkDate());
+    }
+
+    @Test
+    void absenceChanges_ShouldUpdateHoursAccount() {
+        // Arrange: 39h contract, one 8h day planned
+        entry(week28, max, MONDAY, "normal", LocalTime.of(8, 0), LocalTime.of(16, 30));
+        entityManager.flush();
+        int plannedActual = rebuiltBalance(max).getActualMinutes();
+
+        // Act: Monday and Tuesday on leave, each credited with 39h / 5
+        AbsenceDTO absence = absenceService.createAbsence(max.getId(), "Urlaub", MONDAY, MONDAY.plusDays(1),
+                null, null).orElseThrow();
+
+        // Assert
+        assertEquals(2 * 468, balance(max).getActualMinutes());
+        assertEquals(39 * 60, balance(max).getTargetMinutes());
+        assertEquals(balance(max).getActualMinutes(), rebuiltBalance(max).getActualMinutes());
+
+        absenceService.deleteAbsence(absence.getId());
+        assertEquals(plannedActual, balance(max).getActualMinutes());
+        assertTrue(absenceRepository.findByStaffId(max.getId()).isEmpty());
+    }
+
+    @Test
+    void compact_ShouldFoldRunsWithoutChangingTotals() {
+        // Arrange: Urlaub Monday to Friday, Schule on two consecutive Mondays, a single sick day
+        WeeklySchedule week29 = week(29, MONDAY.plusDays(7));
+        for (int day = 0; day < 5; day++) {
+            entry(week28, max, MONDAY.plusDays(day), "urlaub", null, null);
+        }
+        entry(week28, erika, MONDAY, "Schule", null, null);
+        entry(week29, erika, MONDAY.plusDays(7), "Schule", null, null);
+        entry(week29, erika, MONDAY.plusDays(8), "krank", null, null);
+        entityManager.flush();
+        hoursAccountService.rebuild();
+        HoursBalanceDTO maxBefore = balance(max);
+        HoursBalanceDTO erikaBefore = balance(erika);
+
+        // Act
+        AbsenceCompactionResultDTO result = absenceService.compact(MONDAY, MONDAY.plusDays(13));
+
+        // Assert
+        assertEquals(2, result.getRangesCreated());
+        assertEquals(7, result.getEntriesRemoved());
+        assertEquals(1, scheduleEntryRepository.findByWorkDateOrderByStaff_FullName(MONDAY.plusDays(8)).size());
+        assertEquals(List.of(1), absenceService.getAbsencesForStaff(erika.getId()).get(0).getWeekdays());
+        assertEquals(5, scheduleService.getEntriesByStatus("Urlaub", MONDAY, MONDAY.plusDays(13)).size());
+        assertEquals(maxBefore.getActualMinutes(), balance(max).getActualMinutes());
+        assertEquals(erikaBefore.getActualMinutes(), balance(erika).getActualMinutes());
+        assertEquals(erikaBefore.getTargetMinutes(), rebuiltBalance(erika).getTargetMinutes());
+    }
+
+    @Test
+    void compact_ShouldKeepPayrollExportUnchanged() throws Exception {
+        // Arrange: Max is on Urlaub all week, Erika works Monday and is sick Tuesday and Wednesday
+        for (int day = 0; day < 5; day++) {
+            entry(week28, max, MONDAY.plusDays(day), "Urlaub", null, null);
+        }
+        entry(week28, erika, MONDAY, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0));
+        entry(week28, erika, MONDAY.plusDays(1), "krank", null, null);
+        entry(week28, erika, MONDAY.plusDays(2), "krank", null, null);
+        entityManager.flush();
+        String before = payroll(MONDAY.withDayOfMonth(1), MONDAY.plusDays(30));
+
+        // Act
+        AbsenceCompactionResultDTO result = absenceService.compact(MONDAY, MONDAY.plusDays(6));
+
+        // Assert
+        assertEquals(7, result.getEntriesRemoved());
+        String after = payroll(MONDAY.withDayOfMonth(1), MONDAY.plusDays(30));
+        assertEquals(before, after);
+        assertTrue(after.contains(";Max Mustermann;Erzieher;;nein;0;0;0:00;0;0;5;0"));
+    }
+
+    @Test
+    void createAbsence_InvalidInput_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> absenceService.createAbsence(max.getId(), "frei",
+                MONDAY, MONDAY, null, null));
+        assertThrows(IllegalArgumentException.class, () -> absenceService.createAbsence(max.getId(), "krank",
+                MONDAY, MONDAY.minusDays(1), null, null));
+        assertThrows(IllegalArgumentException.class, () -> absenceService.createAbsence(max.getId(), "krank",
+                MONDAY, MONDAY, List.of(8), null));
+        assertTrue(absenceService.createAbsence(999L, "krank", MONDAY, MONDAY, null, null).isEmpty());
+    }
+
+    private HoursBalanceDTO balance(Staff staff) {
+        entityManager.flush();
+        entityManager.clear();
+        return hoursAccountService.getBalance(staff.getId()).orElseThrow();
+    }
+
+    private String payroll(LocalDate startDate, LocalDate endDate) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payrollExportService.export(startDate, endDate, ExportFormat.CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private HoursBalanceDTO rebuiltBalance(Staff staff) {
+        hoursAccountService.rebuild();
+        return balance(staff);
+    }
+
+    private WeeklySchedule week(int weekNumber, LocalDate monday) {
+        WeeklySchedule week = new WeeklySchedule();
+        week.setWeekNumber(weekNumber);
+        week.setYear(2026);
+        week.setStartDate(monday);
+        week.setEndDate(monday.plusDays(6));
+        return entityManager.persist(week);
+    }
+
+    private Staff staff(String firstName, String lastName) {
+        Staff staff = new Staff();
+        staff.setFirstName(firstName);
+        staff.setLastName(lastName);
+        staff.setFullName(firstName + " " + lastName);
+        staff.setRole("Erzieher");
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        return entityManager.persist(staff);
+    }
+
+    private void entry(WeeklySchedule week, Staff staff, LocalDate day, String status,
+                       LocalTime startTime, LocalTime endTime) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(week);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(day.getDayOfWeek().getValue() - 1);
+        entry.setWorkDate(day);
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setStatus(status);
+        entityManager.persist(entry);
+    }
+}
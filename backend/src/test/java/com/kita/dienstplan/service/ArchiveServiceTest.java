@@ -0,0 +1,270 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.archive.ArchivedEntry;
+import com.kita.dienstplan.archive.ArchivedWeek;
+import com.kita.dienstplan.archive.SegmentStore;
+import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.dto.WeeklyScheduleDTO;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ArchiveService against the H2 schema
+ * Verifies that archiving moves a week's entries into a segment and reads go there instead,
+ * and that a restore brings back the same rows; both directions publish a bulk change of the week
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(TestJpaAuditingConfig.class)
+@Sql(scripts = "/test-schema.sql")
+class ArchiveServiceTest {
+
+    private static final LocalDate OLD_MONDAY = LocalDate.of(2025, 3, 3);
+    private static final LocalDate RECENT_MONDAY = LocalDate.of(2026, 2, 2);
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private WeeklyScheduleRepository weeklyScheduleRepository;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object> events = new ArrayList<>();
+    private SegmentStore store;
+    private ArchiveService archiveService;
+    private WeeklySchedule oldWeek;
+    private WeeklySchedule recentWeek;
+    private ScheduleEntry annaMonday;
+
+    @BeforeEach
+    void setUp() {
+        store = new SegmentStore(directory);
+        archiveService = new ArchiveService(weeklyScheduleRepository, scheduleEntryRepository, staffRepository,
+                jdbcTemplate, transactionManager, events::add, store,
+                Clock.fixed(LocalDate.of(2026, 10, 19).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+                        ZoneId.systemDefault()),
+                false, 365);
+
+        Group kaefer = new Group();
+        kaefer.setName("Käfer");
+        entityManager.persist(kaefer);
+        Staff anna = staff("Anna", kaefer);
+        Staff bernd = staff("Bernd", kaefer);
+        oldWeek = week(10, 2025, OLD_MONDAY);
+        recentWeek = week(6, 2026, RECENT_MONDAY);
+        annaMonday = entry(oldWeek, anna, 0, "normal");
+        annaMonday.setNotes("Elternabend");
+        entry(oldWeek, anna, 1, "krank");
+        entry(oldWeek, bernd, 0, "normal");
+        entry(recentWeek, anna, 0, "normal");
+        entityManager.flush();
+    }
+
+    @AfterEach
+    void tearDown() {
+        archiveService.close();
+    }
+
+    @Test
+    void archiveEligible_ShouldMoveOldWeeksOutOfTheTable() {
+        // Act
+        List<WeeklyScheduleDTO> archived = archiveService.archiveEligible();
+
+        // Assert: only the week that ended more than a year ago
+        assertEquals(1, archived.size());
+        assertEquals(oldWeek.getId(), archived.get(0).getId());
+        assertNotNull(archived.get(0).getArchivedAt());
+        assertTrue(scheduleEntryRepository.findByWeekNumberAndYear(10, 2025).isEmpty());
+        assertEquals(1, scheduleEntryRepository.findByWeekNumberAndYear(6, 2026).size());
+        WeeklySchedule week = weeklyScheduleRepository.findById(oldWeek.getId()).orElseThrow();
+        assertNotNull(week.getArchivedAt());
+
+        List<ScheduleEntryDTO> entries = archiveService.findWeekEntries(week, null);
+        assertEquals(3, entries.size());
+        ScheduleEntryDTO first = entries.get(0);
+        assertEquals(annaMonday.getId(), first.getId());
+        assertEquals("Anna Muster", first.getStaffName());
+        assertEquals("Käfer", first.getGroupName());
+        assertEquals("Elternabend", first.getNotes());
+        assertEquals(450, first.getWorkingHoursMinutes());
+        assertEquals("7:30", first.getWorkingHoursFormatted());
+        assertEquals(2, archiveService.findEntriesBetween(OLD_MONDAY, OLD_MONDAY).size());
+        List<Object[]> rows = archiveService.findWeekMatrixRows(week);
+        assertEquals(3, rows.size());
+        assertEquals("Anna Muster", rows.get(0)[1]);
+        assertEquals(1, rows.get(1)[6]);
+        assertEquals("krank", rows.get(1)[9]);
+        assertEquals(List.of(new ScheduleEntriesBulkChangedEvent(Set.of(oldWeek.getId()), OLD_MONDAY,
+                OLD_MONDAY.plusDays(6), Set.of())), events);
+    }
+
+    @Test
+    void existsArchivedWeekBetween_ShouldMatchRangesOverlappingArchivedWeeks() {
+        // Arrange
+        archiveService.archiveWeek(oldWeek.getId());
+
+        // Act & Assert
+        assertTrue(scheduleEntryRepository.existsArchivedWeekBetween(OLD_MONDAY.minusDays(30), OLD_MONDAY));
+        assertTrue(scheduleEntryRepository.existsArchivedWeekBetween(OLD_MONDAY.plusDays(6), OLD_MONDAY.plusDays(60)));
+        assertFalse(scheduleEntryRepository.existsArchivedWeekBetween(OLD_MONDAY.plusDays(7), RECENT_MONDAY));
+    }
+
+    @Test
+    void archiveWeek_TooRecentOrArchived_ShouldThrow() {
+        // Arrange
+        archiveService.archiveWeek(oldWeek.getId());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> archiveService.archiveWeek(recentWeek.getId()));
+        assertThrows(IllegalStateException.class, () -> archiveService.archiveWeek(oldWeek.getId()));
+        assertThrows(IllegalStateException.class, () -> archiveService.restoreWeek(recentWeek.getId()));
+        assertTrue(archiveService.archiveWeek(999L).isEmpty());
+    }
+
+    @Test
+    void restoreWeek_ShouldInsertTheSameRowsAgain() {
+        // Arrange
+        archiveService.archiveWeek(oldWeek.getId());
+
+        // Act
+        WeeklyScheduleDTO restored = archiveService.restoreWeek(oldWeek.getId()).orElseThrow();
+
+        // Assert
+        assertNull(restored.getArchivedAt());
+        assertNull(weeklyScheduleRepository.findById(oldWeek.getId()).orElseThrow().getArchivedAt());
+        List<ScheduleEntry> entries = scheduleEntryRepository.findByWeekNumberAndYear(10, 2025);
+        assertEquals(3, entries.size());
+        ScheduleEntry monday = entries.stream()
+                .filter(entry -> entry.getId().equals(annaMonday.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Elternabend", monday.getNotes());
+        assertEquals(LocalTime.of(7, 0), monday.getStartTime());
+        assertEquals(450, monday.getWorkingHoursMinutes());
+        assertTrue(archiveService.findEntriesBetween(OLD_MONDAY, OLD_MONDAY).isEmpty());
+        assertEquals(0, archiveService.getSegments().get(0).getWeeks());
+        assertEquals(2, events.size());
+        assertEquals(Set.of(oldWeek.getId()), ((ScheduleEntriesBulkChangedEvent) events.get(1)).getWeeklyScheduleIds());
+        assertFalse(scheduleEntryRepository.existsArchivedWeekBetween(OLD_MONDAY, OLD_MONDAY.plusDays(6)));
+    }
+
+    @Test
+    void restoreWeek_BlankStatus_ShouldRestoreWithoutStatus() {
+        // Arrange: a block written before statuses were validated
+        archiveHandWritten(archived(9001L, " "));
+
+        // Act
+        archiveService.restoreWeek(recentWeek.getId());
+
+        // Assert
+        assertNull(jdbcTemplate.queryForObject("SELECT status FROM schedule_entries WHERE id = 9001", Byte.class));
+    }
+
+    @Test
+    void restoreWeek_UnknownStatus_ShouldFailBeforeWritingAnyRow() {
+        // Arrange
+        archiveHandWritten(archived(9001L, "normal"), archived(9002L, "Dienstreise"));
+
+        // Act & Assert
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> archiveService.restoreWeek(recentWeek.getId()));
+        assertTrue(ex.getMessage().contains("Dienstreise"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM schedule_entries WHERE id IN (9001, 9002)", Integer.class));
+    }
+
+    private void archiveHandWritten(ArchivedEntry... entries) {
+        store.append(new ArchivedWeek(recentWeek.getId(), recentWeek.getWeekNumber(), recentWeek.getYear(),
+                RECENT_MONDAY, List.of(entries)));
+        weeklyScheduleRepository.updateArchivedAt(recentWeek.getId(), LocalDateTime.of(2026, 10, 1, 4, 0));
+        entityManager.clear();
+    }
+
+    private ArchivedEntry archived(long id, String status) {
+        return new ArchivedEntry(id, annaMonday.getStaff().getId(), 2, RECENT_MONDAY.plusDays(2),
+                LocalTime.of(8, 0), LocalTime.of(16, 0), status, 450, 30, null, null,
+                null, null, null, null);
+    }
+
+    private WeeklySchedule week(int weekNumber, int year, LocalDate monday) {
+        WeeklySchedule schedule = new WeeklySchedule();
+        schedule.setWeekNumber(weekNumber);
+        schedule.setYear(year);
+        schedule.setStartDate(monday);
+        schedule.setEndDate(monday.plusDays(6));
+        return entityManager.persist(schedule);
+    }
+
+    private Staff staff(String firstName, Group group) {
+        Staff staff = new Staff();
+        staff.setFirstName(firstName);
+        staff.setLastName("Muster");
+        staff.setFullName(firstName + " Muster");
+        staff.setRole("Erzieher");
+        staff.setGroup(group);
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        return entityManager.persist(staff);
+    }
+
+    private ScheduleEntry entry(WeeklySchedule schedule, Staff staff, int dayOfWeek, String status) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(schedule);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(dayOfWeek);
+        entry.setWorkDate(schedule.getStartDate().plusDays(dayOfWeek));
+        entry.setStartTime(LocalTime.of(7, 0));
+        entry.setEndTime(LocalTime.of(15, 0));
+        entry.setStatus(status);
+        return entityManager.persist(entry);
+    }
+}
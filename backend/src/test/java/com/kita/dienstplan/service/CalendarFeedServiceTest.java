@@ -0,0 +1,235 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.StaffChangedEvent;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.GroupRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import com.kita.dienstplan.service.CalendarFeedService.CalendarFeed;
+import com.kita.dienstplan.util.TestDataBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CalendarFeedService
+ * Tests iCalendar rendering, feed caching, invalidation and subscription tokens
+ */
+@ExtendWith(MockitoExtension.class)
+class CalendarFeedServiceTest {
+
+    @Mock
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Mock
+    private StaffRepository staffRepository;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private AbsenceRepository absenceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CalendarFeedService calendarFeedService;
+
+    private Group testGroup;
+    private Staff testStaff;
+    private ScheduleEntry testEntry;
+
+    @BeforeEach
+    void setUp() {
+        calendarFeedService = new CalendarFeedService(
+                scheduleEntryRepository, staffRepository, groupRepository, absenceRepository, transactionManager,
+                4, 12, "test-secret");
+
+        testGroup = TestDataBuilder.createTestGroup();
+        testGroup.setId(1L);
+
+        testStaff = TestDataBuilder.createTestStaff("Max", "Mustermann", testGroup);
+        testStaff.setId(1L);
+
+        WeeklySchedule week = TestDataBuilder.createTestWeeklySchedule(5, 2026);
+        week.setId(1L);
+
+        testEntry = TestDataBuilder.createTestScheduleEntry(
+                week, testStaff, 0, LocalTime.of(8, 0), LocalTime.of(16, 0));
+        testEntry.setId(42L);
+        testEntry.setWorkDate(LocalDate.of(2026, 1, 26));
+    }
+
+    @Test
+    void getStaffFeed_ShouldRenderTimedEventWithStableUid() {
+        // Arrange
+        stubStaffFeed(List.of(testEntry));
+
+        // Act
+        CalendarFeed feed = calendarFeedService.getStaffFeed(1L).orElseThrow();
+
+        // Assert
+        String body = feed.getBody();
+        assertTrue(body.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(body.contains("UID:schedule-entry-42@kita-casa-azul\r\n"));
+        assertTrue(body.contains("DTSTART;TZID=Europe/Berlin:20260126T080000\r\n"));
+        assertTrue(body.contains("DTEND;TZID=Europe/Berlin:20260126T160000\r\n"));
+        assertTrue(body.endsWith("END:VCALENDAR\r\n"));
+        assertTrue(feed.getEtag().startsWith("\""));
+    }
+
+    @Test
+    void getStaffFeed_ShouldRenderAbsenceAsAllDayAndSkipFreeDays() {
+        // Arrange
+        ScheduleEntry free = TestDataBuilder.createFreiScheduleEntry(testEntry.getWeeklySchedule(), testStaff, 1);
+        free.setId(43L);
+        free.setWorkDate(LocalDate.of(2026, 1, 27));
+        testEntry.setStatus("krank");
+        stubStaffFeed(List.of(testEntry, free));
+
+        // Act
+        String body = calendarFeedService.getStaffFeed(1L).orElseThrow().getBody();
+
+        // Assert
+        assertTrue(body.contains("DTSTART;VALUE=DATE:20260126\r\n"));
+        assertTrue(body.contains("SUMMARY:krank\r\n"));
+        assertFalse(body.contains("schedule-entry-43@"));
+    }
+
+    @Test
+    void getStaffFeed_ShouldOverlayAbsenceRanges() {
+        // Arrange: Urlaub Monday to Tuesday; only Monday still has its entry
+        LocalDate monday = calendarFeedService.windowStart();
+        testEntry.setWorkDate(monday);
+        Absence urlaub = new Absence();
+        urlaub.setId(7L);
+        urlaub.setStaff(testStaff);
+        urlaub.setStatus("Urlaub");
+        urlaub.setStartDate(monday);
+        urlaub.setEndDate(monday.plusDays(1));
+        when(absenceRepository.findOverlappingForStaff(eq(1L), any(), any())).thenReturn(List.of(urlaub));
+        stubStaffFeed(List.of(testEntry));
+
+        // Act
+        String body = calendarFeedService.getStaffFeed(1L).orElseThrow().getBody();
+
+        // Assert: the covered shift shows as the absence, the day without an entry is added
+        assertFalse(body.contains("SUMMARY:Dienst"));
+        assertTrue(body.contains("UID:schedule-entry-42@kita-casa-azul\r\nDTSTAMP:"));
+        assertTrue(body.contains("UID:absence-7-" + date(monday.plusDays(1))
+                + "@kita-casa-azul\r\n"));
+        assertEquals(2, body.split("SUMMARY:Urlaub\r\n", -1).length - 1);
+    }
+
+    @Test
+    void getStaffFeed_ShouldServeSecondRequestFromCache() {
+        // Arrange
+        stubStaffFeed(List.of(testEntry));
+
+        // Act
+        CalendarFeed first = calendarFeedService.getStaffFeed(1L).orElseThrow();
+        CalendarFeed second = calendarFeedService.getStaffFeed(1L).orElseThrow();
+
+        // Assert: the hit takes no transaction either
+        assertSame(first, second);
+        verify(scheduleEntryRepository, times(1)).findByStaffAndDateRange(eq(1L), any(), any());
+        verify(transactionManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void onStaffChanged_ShouldEvictStaffAndGroupFeeds() {
+        // Arrange
+        stubStaffFeed(List.of(testEntry));
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+        when(scheduleEntryRepository.findByGroupAndDateRange(eq(1L), any(), any())).thenReturn(List.of(testEntry));
+        calendarFeedService.getStaffFeed(1L);
+        calendarFeedService.getGroupFeed(1L);
+
+        // Act: e.g. renamed or moved to another group
+        calendarFeedService.onStaffChanged(new StaffChangedEvent(1L));
+        calendarFeedService.getStaffFeed(1L);
+        calendarFeedService.getGroupFeed(1L);
+
+        // Assert
+        verify(scheduleEntryRepository, times(2)).findByStaffAndDateRange(eq(1L), any(), any());
+        verify(scheduleEntryRepository, times(2)).findByGroupAndDateRange(eq(1L), any(), any());
+    }
+
+    @Test
+    void onScheduleEntryChanged_ShouldEvictAffectedStaffFeed() {
+        // Arrange
+        stubStaffFeed(List.of(testEntry));
+        calendarFeedService.getStaffFeed(1L);
+
+        // Act
+        calendarFeedService.onScheduleEntryChanged(ScheduleEntryChangedEvent.of(testEntry, null, null));
+        calendarFeedService.getStaffFeed(1L);
+
+        // Assert
+        verify(scheduleEntryRepository, times(2)).findByStaffAndDateRange(eq(1L), any(), any());
+    }
+
+    @Test
+    void getStaffFeed_WithUnchangedData_ShouldKeepEtag() {
+        // Arrange
+        stubStaffFeed(List.of(testEntry));
+
+        // Act
+        String before = calendarFeedService.getStaffFeed(1L).orElseThrow().getEtag();
+        calendarFeedService.evictAll();
+        String after = calendarFeedService.getStaffFeed(1L).orElseThrow().getEtag();
+
+        // Assert
+        assertEquals(before, after);
+    }
+
+    @Test
+    void getStaffFeed_UnknownStaff_ShouldReturnEmpty() {
+        // Arrange
+        when(staffRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(calendarFeedService.getStaffFeed(99L).isEmpty());
+        verify(scheduleEntryRepository, never()).findByStaffAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void tokens_ShouldOnlyValidateForTheirOwnFeed() {
+        // Act
+        String token = calendarFeedService.staffToken(1L);
+
+        // Assert
+        assertTrue(calendarFeedService.isValidStaffToken(1L, token));
+        assertFalse(calendarFeedService.isValidStaffToken(2L, token));
+        assertFalse(calendarFeedService.isValidGroupToken(1L, token));
+        assertFalse(calendarFeedService.isValidStaffToken(1L, null));
+    }
+
+    private static String date(LocalDate day) {
+        return day.toString().replace("-", "");
+    }
+
+    private void stubStaffFeed(List<ScheduleEntry> entries) {
+        when(staffRepository.findById(1L)).thenReturn(Optional.of(testStaff));
+        when(scheduleEntryRepository.findByStaffAndDateRange(eq(1L), any(), any())).thenReturn(entries);
+    }
+}
@@ -0,0 +1,268 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.compliance.ComplianceRule;
+import com.kita.dienstplan.dto.ComplianceReportDTO;
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.exception.ComplianceViolationException;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ComplianceService against the H2 schema
+ * Verifies the write check in warn and block mode and the week and year reports
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, ComplianceService.class})
+@Sql(scripts = "/test-schema.sql")
+class ComplianceServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ComplianceService complianceService;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Autowired
+    private WeeklyScheduleRepository weeklyScheduleRepository;
+
+    @Autowired
+    private AbsenceRepository absenceRepository;
+
+    private Staff staff;
+    private WeeklySchedule week5;
+    private WeeklySchedule week6;
+
+    @BeforeEach
+    void setUp() {
+        staff = new Staff();
+        staff.setFirstName("Max");
+        staff.setLastName("Mustermann");
+        staff.setFullName("Max Mustermann");
+        staff.setRole("Erzieher");
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        entityManager.persist(staff);
+
+        week5 = week(5, LocalDate.of(2026, 1, 26));
+        week6 = week(6, LocalDate.of(2026, 2, 2));
+        entityManager.flush();
+    }
+
+    @Test
+    void checkEntry_NewShiftAfterLateShift_ShouldWarnAboutRest() {
+        // Arrange
+        ScheduleEntry late = persisted(entry(week6, 0, LocalTime.of(13, 0), LocalTime.of(21, 0)));
+        ScheduleEntry early = entry(week6, 1, LocalTime.of(6, 0), LocalTime.of(12, 0));
+
+        // Act
+        List<ComplianceViolationDTO> violations = complianceService.checkEntry(early);
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals(ComplianceRule.MIN_REST, violations.get(0).getRule());
+        assertNull(violations.get(0).getEntryId());
+        assertEquals(late.getId(), violations.get(0).getRelatedEntryId());
+    }
+
+    @Test
+    void checkEntry_ExistingViolationOnOtherDay_ShouldNotBeBlamedOnEntry() {
+        // Arrange: Wednesday is already too long, the new Thursday shift is fine
+        persisted(entry(week6, 2, LocalTime.of(6, 0), LocalTime.of(18, 0)));
+        ScheduleEntry thursday = entry(week6, 3, LocalTime.of(8, 0), LocalTime.of(16, 0));
+
+        // Act & Assert
+        assertTrue(complianceService.checkEntry(thursday).isEmpty());
+    }
+
+    @Test
+    void checkEntry_NewShiftBeforeTenHourShift_ShouldNotReportNeighboursViolations() {
+        // Arrange: Tuesday is ten hours without a break, the new Monday shift is fine
+        persisted(entry(week6, 1, LocalTime.of(7, 0), LocalTime.of(17, 0)));
+        ScheduleEntry monday = entry(week6, 0, LocalTime.of(7, 0), LocalTime.of(15, 30));
+        monday.setBreakMinutes(30);
+
+        // Act & Assert
+        assertTrue(complianceService.checkEntry(monday).isEmpty());
+    }
+
+    @Test
+    void checkEntry_UpdatedEntry_ShouldReplaceItsStoredState() {
+        // Arrange: stored as a short shift, now extended to 11:30 of work
+        ScheduleEntry stored = persisted(entry(week6, 2, LocalTime.of(8, 0), LocalTime.of(12, 0)));
+        stored.setStartTime(LocalTime.of(6, 0));
+        stored.setEndTime(LocalTime.of(18, 0));
+
+        // Act
+        List<ComplianceViolationDTO> violations = complianceService.checkEntry(stored);
+
+        // Assert
+        assertTrue(violations.stream().anyMatch(v -> v.getRule() == ComplianceRule.MAX_DAILY_WORK
+                && v.getActualMinutes() == 690 && stored.getId().equals(v.getEntryId())));
+        assertTrue(violations.stream().noneMatch(v -> v.getRule() == ComplianceRule.OVERLAP));
+    }
+
+    @Test
+    void checkEntry_Absence_ShouldBeSkipped() {
+        // Arrange
+        ScheduleEntry krank = entry(week6, 0, null, null);
+        krank.setStatus("krank");
+
+        // Act & Assert
+        assertTrue(complianceService.checkEntry(krank).isEmpty());
+    }
+
+    @Test
+    void checkEntry_InBlockMode_ShouldThrow() {
+        // Arrange
+        ComplianceService blocking = new ComplianceService(scheduleEntryRepository, weeklyScheduleRepository,
+                absenceRepository, "block", 1);
+        ScheduleEntry tooLong = entry(week6, 0, LocalTime.of(6, 0), LocalTime.of(18, 0));
+
+        // Act
+        ComplianceViolationException ex = assertThrows(ComplianceViolationException.class,
+                () -> blocking.checkEntry(tooLong));
+
+        // Assert
+        assertTrue(ex.getViolations().stream().anyMatch(v -> v.getRule() == ComplianceRule.MAX_DAILY_WORK));
+        assertTrue(ex.getViolations().stream().anyMatch(v -> v.getRule() == ComplianceRule.MIN_BREAK));
+    }
+
+    @Test
+    void checkEntry_InOffMode_ShouldNotQuery() {
+        // Arrange
+        ComplianceService off = new ComplianceService(scheduleEntryRepository, weeklyScheduleRepository, absenceRepository,
+                "off", 1);
+
+        // Act & Assert
+        assertTrue(off.checkEntry(entry(week6, 0, LocalTime.of(6, 0), LocalTime.of(18, 0))).isEmpty());
+        assertEquals(ComplianceService.Mode.OFF, off.getMode());
+    }
+
+    @Test
+    void validateStaffWeek_ShouldSeeRestAcrossWeekBoundary() {
+        // Arrange: Sunday of week 5 ends late, Monday of week 6 starts early
+        persisted(entry(week5, 6, LocalTime.of(15, 0), LocalTime.of(22, 0)));
+        persisted(entry(week6, 0, LocalTime.of(6, 0), LocalTime.of(14, 0)));
+
+        // Act
+        List<ComplianceViolationDTO> violations =
+                complianceService.validateStaffWeek(staff.getId(), 6, 2026).orElseThrow();
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals(ComplianceRule.MIN_REST, violations.get(0).getRule());
+        assertEquals(LocalDate.of(2026, 2, 2), violations.get(0).getWorkDate());
+    }
+
+    @Test
+    void validateStaffWeek_ShiftsCoveredByAbsence_ShouldNotCount() {
+        // Arrange: a late Tuesday and a twelve-hour Wednesday, both during a sick leave;
+        // Thursday starts ten hours after Wednesday would have ended
+        persisted(entry(week6, 1, LocalTime.of(13, 0), LocalTime.of(22, 0)));
+        persisted(entry(week6, 2, LocalTime.of(6, 0), LocalTime.of(18, 0)));
+        Absence krank = new Absence();
+        krank.setStaff(staff);
+        krank.setStatus("krank");
+        krank.setStartDate(LocalDate.of(2026, 2, 3));
+        krank.setEndDate(LocalDate.of(2026, 2, 4));
+        entityManager.persist(krank);
+        entityManager.flush();
+        ScheduleEntry thursday = entry(week6, 3, LocalTime.of(4, 0), LocalTime.of(12, 0));
+
+        // Act & Assert
+        assertTrue(complianceService.validateStaffWeek(staff.getId(), 6, 2026).orElseThrow().isEmpty());
+        assertEquals(0, complianceService.validateWeek(6, 2026).orElseThrow().getViolationCount());
+        assertTrue(complianceService.checkEntry(thursday).isEmpty());
+    }
+
+    @Test
+    void validateStaffWeek_UnknownWeek_ShouldBeEmpty() {
+        assertTrue(complianceService.validateStaffWeek(staff.getId(), 40, 2026).isEmpty());
+    }
+
+    @Test
+    void validateYear_ShouldReportAllStaffAndCountByRule() {
+        // Arrange
+        Staff other = new Staff();
+        other.setFirstName("Erika");
+        other.setLastName("Musterfrau");
+        other.setFullName("Erika Musterfrau");
+        other.setRole("Erzieherin");
+        other.setWeeklyHours(new BigDecimal("30.00"));
+        other.setIsPraktikant(false);
+        other.setIsActive(true);
+        entityManager.persist(other);
+
+        persisted(entry(week5, 0, LocalTime.of(8, 0), LocalTime.of(16, 0)));
+        persisted(entry(week6, 0, LocalTime.of(6, 0), LocalTime.of(18, 0)));
+        ScheduleEntry otherEntry = entry(week6, 1, LocalTime.of(7, 0), LocalTime.of(16, 45));
+        otherEntry.setStaff(other);
+        persisted(otherEntry);
+
+        // Act
+        ComplianceReportDTO report = complianceService.validateYear(2026);
+
+        // Assert
+        assertEquals(2, report.getStaffCount());
+        assertEquals(3, report.getShiftCount());
+        assertEquals(1, report.getViolationsByRule().get(ComplianceRule.MAX_DAILY_WORK));
+        assertEquals(2, report.getViolationsByRule().get(ComplianceRule.MIN_BREAK));
+        assertEquals(report.getViolations().size(), report.getViolationCount());
+        assertEquals(LocalDate.of(2026, 2, 2), report.getViolations().get(0).getWorkDate());
+    }
+
+    private ScheduleEntry persisted(ScheduleEntry entry) {
+        entityManager.persist(entry);
+        entityManager.flush();
+        return entry;
+    }
+
+    private ScheduleEntry entry(WeeklySchedule schedule, int dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(schedule);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(dayOfWeek);
+        entry.setWorkDate(schedule.getStartDate().plusDays(dayOfWeek));
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setStatus("normal");
+        return entry;
+    }
+
+    private WeeklySchedule week(int weekNumber, LocalDate startDate) {
+        WeeklySchedule schedule = new WeeklySchedule();
+        schedule.setWeekNumber(weekNumber);
+        schedule.setYear(2026);
+        schedule.setStartDate(startDate);
+        schedule.setEndDate(startDate.plusDays(6));
+        return entityManager.persist(schedule);
+    }
+}
@@ -0,0 +1,95 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.export.ExportFormat;
+import com.kita.dienstplan.export.ExportJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Unit tests for ExportJobService
+ * Tests background execution, result files and failure reporting
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 12, 31);
+
+    @Mock
+    private PayrollExportService payrollExportService;
+
+    @TempDir
+    Path directory;
+
+    private ExportJobService exportJobService;
+
+    @BeforeEach
+    void setUp() {
+        exportJobService = new ExportJobService(payrollExportService, directory.toString(), 24, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exportJobService.shutdown();
+    }
+
+    @Test
+    void submit_ShouldWriteResultFileInBackground() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("Monat;Name\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(payrollExportService).export(eq(START), eq(END), eq(ExportFormat.CSV), any(OutputStream.class));
+
+        // Act
+        ExportJob job = exportJobService.submit(START, END, ExportFormat.CSV);
+        awaitFinished(job);
+
+        // Assert
+        assertEquals(ExportJob.Status.DONE, job.getStatus());
+        assertEquals("Monat;Name\r\n", Files.readString(job.getFile()));
+        assertSame(job, exportJobService.getJob(job.getId()).orElseThrow());
+    }
+
+    @Test
+    void submit_WhenExportFails_ShouldMarkJobFailedAndRemoveFile() throws Exception {
+        // Arrange
+        doThrow(new IOException("disk full"))
+                .when(payrollExportService).export(eq(START), eq(END), eq(ExportFormat.XLSX), any(OutputStream.class));
+
+        // Act
+        ExportJob job = exportJobService.submit(START, END, ExportFormat.XLSX);
+        awaitFinished(job);
+
+        // Assert
+        assertEquals(ExportJob.Status.FAILED, job.getStatus());
+        assertEquals("disk full", job.getError());
+        assertFalse(Files.exists(job.getFile()));
+    }
+
+    private static void awaitFinished(ExportJob job) throws InterruptedException {
+        for (int i = 0; i < 200 && job.getFinishedAt() == null; i++) {
+            Thread.sleep(25);
+        }
+        assertNotNull(job.getFinishedAt(), "job did not finish in time");
+    }
+}
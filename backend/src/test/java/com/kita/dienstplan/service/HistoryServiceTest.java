@@ -0,0 +1,174 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.HistoryAggregateDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.history.HistoryDimension;
+import com.kita.dienstplan.history.HistoryQuery;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HistoryService against the H2 schema
+ * Verifies the load with the absence overlay and that committed changes keep the store in sync
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, HistoryService.class})
+@Sql(scripts = "/test-schema.sql")
+class HistoryServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 2, 2);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private HistoryService historyService;
+
+    private WeeklySchedule week;
+    private Staff anna;
+    private Staff bernd;
+    private ScheduleEntry annaTuesday;
+    private Absence berndUrlaub;
+
+    @BeforeEach
+    void setUp() {
+        Group kaefer = new Group();
+        kaefer.setName("Käfer");
+        entityManager.persist(kaefer);
+        WeeklySchedule lastYear = week(10, 2025, LocalDate.of(2025, 3, 3));
+        week = week(6, 2026, MONDAY);
+        anna = staff("Anna", kaefer);
+        bernd = staff("Bernd", kaefer);
+        entry(lastYear, anna, 0, LocalTime.of(7, 0), LocalTime.of(15, 0));
+        entry(week, anna, 0, LocalTime.of(7, 0), LocalTime.of(15, 0));
+        annaTuesday = entry(week, anna, 1, LocalTime.of(7, 0), LocalTime.of(15, 0));
+        entry(week, bernd, 0, LocalTime.of(7, 0), LocalTime.of(15, 0));
+        berndUrlaub = new Absence();
+        berndUrlaub.setStaff(bernd);
+        berndUrlaub.setStatus("Urlaub");
+        berndUrlaub.setStartDate(MONDAY);
+        berndUrlaub.setEndDate(MONDAY.plusDays(2));
+        entityManager.persist(berndUrlaub);
+        entityManager.flush();
+        // The store outlives each test's rolled-back data
+        historyService.reload();
+    }
+
+    @Test
+    void reload_ShouldApplyAbsenceOverlay() {
+        // Act
+        HistoryAggregateDTO result = byYearAndStatus();
+
+        // Assert: Bernd's Monday entry counts as Urlaub, Tuesday and Wednesday are added
+        assertEquals(6L, result.getScannedRows());
+        assertEquals(3, result.getBuckets().size());
+        assertBucket(result.getBuckets().get(0), List.of("2025", "normal"), 1, 450);
+        assertBucket(result.getBuckets().get(1), List.of("2026", "normal"), 2, 900);
+        assertBucket(result.getBuckets().get(2), List.of("2026", "Urlaub"), 3, 0);
+        assertTrue(historyService.getStats().getLoaded());
+    }
+
+    @Test
+    void changes_ShouldKeepStoreInSync() {
+        // Arrange
+        ScheduleEntry berndWednesday = entry(week, bernd, 2, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        entityManager.remove(annaTuesday);
+        entityManager.flush();
+
+        // Act: one entry deleted, one created on an Urlaub day
+        historyService.onScheduleEntryChanged(ScheduleEntryChangedEvent.of(annaTuesday,
+                EntryState.of(annaTuesday), null));
+        historyService.onScheduleEntryChanged(ScheduleEntryChangedEvent.of(berndWednesday,
+                null, EntryState.of(berndWednesday)));
+
+        // Assert
+        HistoryAggregateDTO afterEntries = byYearAndStatus();
+        assertEquals(5L, afterEntries.getScannedRows());
+        assertBucket(afterEntries.getBuckets().get(1), List.of("2026", "normal"), 1, 450);
+        assertBucket(afterEntries.getBuckets().get(2), List.of("2026", "Urlaub"), 3, 0);
+
+        // Act: the Urlaub is withdrawn, which reloads 2026
+        entityManager.remove(berndUrlaub);
+        entityManager.flush();
+        historyService.onScheduleEntriesBulkChanged(new ScheduleEntriesBulkChangedEvent(Set.of(week.getId()),
+                MONDAY, MONDAY.plusDays(2), Set.of(bernd.getId())));
+
+        // Assert
+        HistoryAggregateDTO afterAbsence = byYearAndStatus();
+        assertEquals(4L, afterAbsence.getScannedRows());
+        assertEquals(2, afterAbsence.getBuckets().size());
+        assertBucket(afterAbsence.getBuckets().get(1), List.of("2026", "normal"), 3, 1350);
+    }
+
+    private HistoryAggregateDTO byYearAndStatus() {
+        return historyService.aggregate(new HistoryQuery(LocalDate.of(2025, 1, 1), LocalDate.of(2026, 12, 31),
+                null, List.of(HistoryDimension.YEAR, HistoryDimension.STATUS), null, null, true));
+    }
+
+    private static void assertBucket(HistoryAggregateDTO.Bucket bucket, List<String> keys, long entries,
+                                     long workingMinutes) {
+        assertEquals(keys, bucket.getKeys());
+        assertEquals(entries, bucket.getEntries());
+        assertEquals(workingMinutes, bucket.getWorkingMinutes());
+    }
+
+    private WeeklySchedule week(int weekNumber, int year, LocalDate monday) {
+        WeeklySchedule schedule = new WeeklySchedule();
+        schedule.setWeekNumber(weekNumber);
+        schedule.setYear(year);
+        schedule.setStartDate(monday);
+        schedule.setEndDate(monday.plusDays(6));
+        return entityManager.persist(schedule);
+    }
+
+    private Staff staff(String firstName, Group group) {
+        Staff staff = new Staff();
+        staff.setFirstName(firstName);
+        staff.setLastName("Muster");
+        staff.setFullName(firstName + " Muster");
+        staff.setRole("Erzieher");
+        staff.setGroup(group);
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        return entityManager.persist(staff);
+    }
+
+    private ScheduleEntry entry(WeeklySchedule schedule, Staff staff, int dayOfWeek, LocalTime startTime,
+                                LocalTime endTime) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(schedule);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(dayOfWeek);
+        entry.setWorkDate(schedule.getStartDate().plusDays(dayOfWeek));
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setStatus("normal");
+        return entityManager.persist(entry);
+    }
+}
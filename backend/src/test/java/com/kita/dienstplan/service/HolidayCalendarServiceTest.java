@@ -0,0 +1,213 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.HolidayFillResultDTO;
+import com.kita.dienstplan.dto.SpecialDayDTO;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.holiday.DayKind;
+import com.kita.dienstplan.repository.IdBlockAllocator;
+import com.kita.dienstplan.repository.ScheduleEntryBatchWriter;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HolidayCalendarService against the H2 schema
+ * Verifies the merged year calendar, closure-day maintenance and the batched Feiertag fill
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, HolidayCalendarService.class, ScheduleEntryBatchWriter.class, IdBlockAllocator.class,
+        WeekProvisioningService.class, HoursAccountService.class})
+@Sql(scripts = "/test-schema.sql")
+class HolidayCalendarServiceTest {
+
+    private static final LocalDate KARFREITAG = LocalDate.of(2026, 4, 3);
+    private static final LocalDate OSTERMONTAG = LocalDate.of(2026, 4, 6);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    private Staff max;
+    private Staff erika;
+
+    @BeforeEach
+    void setUp() {
+        max = staff("Max", "Mustermann", true);
+        erika = staff("Erika", "Musterfrau", true);
+        staff("Paul", "Ehemalig", false);
+        entityManager.flush();
+    }
+
+    @Test
+    void getDays_ShouldMergeHolidaysAndClosureDays() {
+        // Arrange
+        SpecialDayDTO closure = holidayCalendarService.addClosureDay(LocalDate.of(2026, 12, 28),
+                DayKind.CLOSURE, "Schließzeit");
+        holidayCalendarService.addClosureDay(LocalDate.of(2026, 9, 14), DayKind.TEAM_DAY, "Teamtag");
+
+        // Act
+        List<SpecialDayDTO> days = holidayCalendarService.getDays(2026);
+
+        // Assert
+        assertEquals(12, days.size());
+        assertEquals(LocalDate.of(2026, 1, 1), days.get(0).getDate());
+        SpecialDayDTO last = days.get(days.size() - 1);
+        assertEquals(DayKind.CLOSURE, last.getKind());
+        assertEquals(closure.getClosureDayId(), last.getClosureDayId());
+        assertTrue(last.getClosed());
+        SpecialDayDTO teamDay = days.stream().filter(day -> day.getKind() == DayKind.TEAM_DAY).findFirst().orElseThrow();
+        assertFalse(teamDay.getClosed());
+        assertNull(days.get(0).getClosureDayId());
+    }
+
+    @Test
+    void dayKind_ShouldFollowClosureDayChanges() {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 12, 28);
+        assertNull(holidayCalendarService.dayKind(day));
+
+        // Act
+        SpecialDayDTO added = holidayCalendarService.addClosureDay(day, DayKind.CLOSURE, "Schließzeit");
+
+        // Assert
+        assertEquals(DayKind.CLOSURE, holidayCalendarService.dayKind(day));
+        assertTrue(holidayCalendarService.isClosed(day));
+        assertTrue(holidayCalendarService.deleteClosureDay(added.getClosureDayId()));
+        assertNull(holidayCalendarService.dayKind(day));
+        assertFalse(holidayCalendarService.deleteClosureDay(added.getClosureDayId()));
+    }
+
+    @Test
+    void addClosureDay_Holiday_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> holidayCalendarService.addClosureDay(
+                LocalDate.of(2026, 6, 1), DayKind.HOLIDAY, "Eigener Feiertag"));
+    }
+
+    @Test
+    void fillHolidays_ShouldBookClosedWeekdaysForActiveStaff() {
+        // Arrange: Max is on leave on Karfreitag, Erika was planned to work on Ostermontag
+        WeeklySchedule week14 = week(14, LocalDate.of(2026, 3, 30));
+        WeeklySchedule week15 = week(15, OSTERMONTAG);
+        entry(week14, max, KARFREITAG, "Urlaub", null, null);
+        entry(week15, erika, OSTERMONTAG, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0));
+        entityManager.flush();
+
+        // Act: 2026 has 7 holidays on weekdays (8.3., 3.10. and 26.12. fall on a weekend)
+        HolidayFillResultDTO result = holidayCalendarService.fillHolidays(2026, true);
+
+        // Assert
+        assertEquals(7, result.getClosedDays());
+        assertEquals(5, result.getWeeksCreated());
+        assertEquals(7 * 2 - 2, result.getEntriesCreated());
+        assertEquals(1, result.getEntriesConverted());
+
+        assertEquals("Urlaub", entryOn(max, KARFREITAG).getStatus());
+        ScheduleEntry converted = entryOn(erika, OSTERMONTAG);
+        assertEquals("Feiertag", converted.getStatus());
+        assertNull(converted.getStartTime());
+        assertEquals(0, converted.getWorkingHoursMinutes());
+        ScheduleEntry created = entryOn(max, LocalDate.of(2026, 5, 14));
+        assertEquals("Feiertag", created.getStatus());
+        assertEquals(3, created.getDayOfWeek());
+        assertEquals("test-user", created.getCreatedBy());
+        assertTrue(scheduleEntryRepository.findByWorkDateOrderByStaff_FullName(LocalDate.of(2026, 10, 3)).isEmpty());
+    }
+
+    @Test
+    void fillHolidays_ShouldIncludeClosureDaysAndBeRepeatable() {
+        // Arrange
+        holidayCalendarService.addClosureDay(LocalDate.of(2026, 12, 28), DayKind.CLOSURE, "Schließzeit");
+        holidayCalendarService.addClosureDay(LocalDate.of(2026, 9, 14), DayKind.TEAM_DAY, "Teamtag");
+        holidayCalendarService.fillHolidays(2026, true);
+
+        // Act
+        HolidayFillResultDTO again = holidayCalendarService.fillHolidays(2026, true);
+
+        // Assert
+        assertEquals(8, again.getClosedDays());
+        assertEquals(0, again.getEntriesCreated());
+        assertEquals(0, again.getEntriesConverted());
+        assertEquals(2, scheduleEntryRepository.findByWorkDateOrderByStaff_FullName(LocalDate.of(2026, 12, 28)).size());
+        assertTrue(scheduleEntryRepository.findByWorkDateOrderByStaff_FullName(LocalDate.of(2026, 9, 14)).isEmpty());
+    }
+
+    @Test
+    void fillHolidays_WithoutConvertPlanned_ShouldKeepPlannedDays() {
+        // Arrange
+        WeeklySchedule week15 = week(15, OSTERMONTAG);
+        entry(week15, erika, OSTERMONTAG, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0));
+        entityManager.flush();
+
+        // Act
+        HolidayFillResultDTO result = holidayCalendarService.fillHolidays(2026, false);
+
+        // Assert
+        assertEquals(0, result.getEntriesConverted());
+        assertEquals("normal", entryOn(erika, OSTERMONTAG).getStatus());
+    }
+
+    private ScheduleEntry entryOn(Staff staff, LocalDate day) {
+        return scheduleEntryRepository.findByWorkDateOrderByStaff_FullName(day).stream()
+                .filter(entry -> entry.getStaff().getId().equals(staff.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private WeeklySchedule week(int weekNumber, LocalDate monday) {
+        WeeklySchedule week = new WeeklySchedule();
+        week.setWeekNumber(weekNumber);
+        week.setYear(2026);
+        week.setStartDate(monday);
+        week.setEndDate(monday.plusDays(6));
+        return entityManager.persist(week);
+    }
+
+    private Staff staff(String firstName, String lastName, boolean active) {
+        Staff staff = new Staff();
+        staff.setFirstName(firstName);
+        staff.setLastName(lastName);
+        staff.setFullName(firstName + " " + lastName);
+        staff.setRole("Erzieher");
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(active);
+        return entityManager.persist(staff);
+    }
+
+    private void entry(WeeklySchedule week, Staff staff, LocalDate day, String status,
+                       LocalTime startTime, LocalTime endTime) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(week);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(day.getDayOfWeek().getValue() - 1);
+        entry.setWorkDate(day);
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setStatus(status);
+        entityManager.persist(entry);
+    }
+}
@@ -0,0 +1,213 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.HoursBalanceDTO;
+import com.kita.dienstplan.dto.HoursPeriodDTO;
+import com.kita.dienstplan.entity.HoursAccount;
+import com.kita.dienstplan.entity.HoursAccountPeriod.PeriodType;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.repository.HoursAccountRepository;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HoursAccountService against the H2 schema
+ * Verifies the incremental Soll/Ist deltas and that a rebuild reaches the same balances
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, HoursAccountService.class})
+@Sql(scripts = "/test-schema.sql")
+class HoursAccountServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private HoursAccountService hoursAccountService;
+
+    @Autowired
+    private HoursAccountRepository hoursAccountRepository;
+
+    private Staff staff;
+    private WeeklySchedule week6;
+    private WeeklySchedule week7;
+
+    @BeforeEach
+    void setUp() {
+        staff = new Staff();
+        staff.setFirstName("Max");
+        staff.setLastName("Mustermann");
+        staff.setFullName("Max Mustermann");
+        staff.setRole("Erzieher");
+        staff.setWeeklyHours(new BigDecimal("30.00")); // 1800 minutes, 360 per average day
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        entityManager.persist(staff);
+
+        week6 = week(6, LocalDate.of(2026, 2, 2));
+        week7 = week(7, LocalDate.of(2026, 2, 9));
+        entityManager.flush();
+    }
+
+    @Test
+    void create_FirstEntryOfWeek_ShouldBookWeeklySollOnce() {
+        // Act
+        created(entry(week6, 0, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0)));
+        created(entry(week6, 1, "normal", LocalTime.of(8, 0), LocalTime.of(12, 0)));
+
+        // Assert
+        HoursAccount account = account();
+        assertEquals(1800, account.getTargetMinutes());
+        assertEquals(450 + 240, account.getActualMinutes());
+        assertEquals(690 - 1800, account.getBalanceMinutes());
+    }
+
+    @Test
+    void create_AbsenceShouldBeCreditedWithAverageDayAndFreiWithNothing() {
+        // Act
+        created(entry(week6, 0, "krank", null, null));
+        created(entry(week6, 1, "frei", null, null));
+
+        // Assert
+        assertEquals(360, account().getActualMinutes());
+    }
+
+    @Test
+    void update_WithinWeek_ShouldKeepSollAndApplyDifference() {
+        // Arrange
+        ScheduleEntry entry = created(entry(week6, 0, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0)));
+        EntryState before = EntryState.of(entry);
+
+        // Act
+        entry.setStatus("Urlaub");
+        entry.setStartTime(null);
+        entry.setEndTime(null);
+        entityManager.flush();
+        hoursAccountService.onScheduleEntryChanged(ScheduleEntryChangedEvent.of(entry, before, EntryState.of(entry)));
+
+        // Assert
+        assertEquals(1800, account().getTargetMinutes());
+        assertEquals(360, account().getActualMinutes());
+    }
+
+    @Test
+    void delete_LastEntryOfWeek_ShouldReleaseSoll() {
+        // Arrange
+        ScheduleEntry entry = created(entry(week6, 0, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0)));
+
+        // Act
+        hoursAccountService.onScheduleEntryChanged(ScheduleEntryChangedEvent.of(entry, EntryState.of(entry), null));
+
+        // Assert
+        assertEquals(0, account().getTargetMinutes());
+        assertEquals(0, account().getActualMinutes());
+    }
+
+    @Test
+    void getHistory_ShouldReturnRunningBalancePerWeek() {
+        // Arrange
+        created(entry(week6, 0, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0)));
+        created(entry(week7, 0, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0)));
+
+        // Act
+        List<HoursPeriodDTO> history = hoursAccountService.getHistory(
+                staff.getId(), PeriodType.WEEK, LocalDate.of(2026, 2, 9), LocalDate.of(2026, 2, 28));
+
+        // Assert - only week 7 requested, but its running balance includes week 6
+        assertEquals(1, history.size());
+        assertEquals(LocalDate.of(2026, 2, 9), history.get(0).getPeriodStart());
+        assertEquals(450 - 1800, history.get(0).getBalanceMinutes());
+        assertEquals(2 * (450 - 1800), history.get(0).getRunningBalanceMinutes());
+    }
+
+    @Test
+    void getOutliers_ShouldReturnStaffBeyondThreshold() {
+        // Arrange
+        created(entry(week6, 0, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0)));
+
+        // Act
+        List<HoursBalanceDTO> outliers = hoursAccountService.getOutliers(600, 10);
+        List<HoursBalanceDTO> none = hoursAccountService.getOutliers(5000, 10);
+
+        // Assert
+        assertEquals(1, outliers.size());
+        assertEquals("Max Mustermann", outliers.get(0).getStaffName());
+        assertEquals("-22:30", outliers.get(0).getBalanceFormatted());
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldMatchIncrementalBalances() {
+        // Arrange
+        created(entry(week6, 0, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0)));
+        created(entry(week6, 1, "krank", null, null));
+        created(entry(week7, 2, "normal", LocalTime.of(9, 0), LocalTime.of(13, 0)));
+        entityManager.flush();
+        entityManager.clear();
+        HoursAccount incremental = account();
+
+        // Act
+        int accounts = hoursAccountService.rebuild();
+
+        // Assert
+        assertEquals(1, accounts);
+        HoursAccount rebuilt = account();
+        assertEquals(incremental.getTargetMinutes(), rebuilt.getTargetMinutes());
+        assertEquals(incremental.getActualMinutes(), rebuilt.getActualMinutes());
+        assertEquals(2, hoursAccountService.getHistory(staff.getId(), PeriodType.WEEK,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)).size());
+    }
+
+    private HoursAccount account() {
+        return hoursAccountRepository.findById(staff.getId()).orElseThrow();
+    }
+
+    private ScheduleEntry created(ScheduleEntry entry) {
+        hoursAccountService.onScheduleEntryChanged(ScheduleEntryChangedEvent.of(entry, null, EntryState.of(entry)));
+        return entry;
+    }
+
+    private ScheduleEntry entry(WeeklySchedule schedule, int dayOfWeek, String status,
+                                LocalTime startTime, LocalTime endTime) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(schedule);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(dayOfWeek);
+        entry.setWorkDate(schedule.getStartDate().plusDays(dayOfWeek));
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setStatus(status);
+        entityManager.persist(entry);
+        entityManager.flush();
+        return entry;
+    }
+
+    private WeeklySchedule week(int weekNumber, LocalDate startDate) {
+        WeeklySchedule schedule = new WeeklySchedule();
+        schedule.setWeekNumber(weekNumber);
+        schedule.setYear(2026);
+        schedule.setStartDate(startDate);
+        schedule.setEndDate(startDate.plusDays(6));
+        return entityManager.persist(schedule);
+    }
+}
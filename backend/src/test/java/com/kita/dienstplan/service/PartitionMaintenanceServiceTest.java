@@ -0,0 +1,115 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.PartitionDTO;
+import com.kita.dienstplan.dto.PartitionMaintenanceResultDTO;
+import com.kita.dienstplan.service.PartitionMaintenanceService.ExpiredAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PartitionMaintenanceService
+ * Verifies the DDL issued for upcoming and expired years and the no-op outside MySQL
+ */
+@ExtendWith(MockitoExtension.class)
+class PartitionMaintenanceServiceTest {
+
+    // 2026-10-19
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T08:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void maintain_OnH2_ShouldDoNothing() {
+        // Arrange
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+        PartitionMaintenanceService service = service(0, ExpiredAction.ARCHIVE);
+
+        // Act
+        PartitionMaintenanceResultDTO result = service.maintain();
+
+        // Assert
+        assertFalse(result.getSupported());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void maintain_ShouldSplitCatchAllForUpcomingYears() {
+        // Arrange
+        mySqlWith(partition("p2025", 2025), partition("p2026", 2026), partition("pmax", null));
+        PartitionMaintenanceService service = service(0, ExpiredAction.ARCHIVE);
+
+        // Act
+        PartitionMaintenanceResultDTO result = service.maintain();
+
+        // Assert
+        assertEquals(List.of("p2027", "p2028"), result.getCreated());
+        verify(jdbcTemplate).execute("ALTER TABLE schedule_entries REORGANIZE PARTITION pmax INTO (" +
+                "PARTITION p2027 VALUES LESS THAN ('2028-01-01'), " +
+                "PARTITION p2028 VALUES LESS THAN ('2029-01-01'), " +
+                "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+    }
+
+    @Test
+    void maintain_WithRetention_ShouldArchiveExpiredYears() {
+        // Arrange: two years kept before 2026, so 2023 expires; its archive does not exist yet
+        mySqlWith(partition("p2023", 2023), partition("p2024", 2024), partition("p2028", 2028),
+                partition("pmax", null));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("schedule_entries_archive_2023")))
+                .thenReturn(0);
+        PartitionMaintenanceService service = service(2, ExpiredAction.ARCHIVE);
+
+        // Act
+        PartitionMaintenanceResultDTO result = service.maintain();
+
+        // Assert
+        assertTrue(result.getCreated().isEmpty());
+        assertEquals(List.of("schedule_entries_archive_2023"), result.getArchived());
+        verify(jdbcTemplate).execute("CREATE TABLE schedule_entries_archive_2023 LIKE schedule_entries");
+        verify(jdbcTemplate).execute("ALTER TABLE schedule_entries_archive_2023 REMOVE PARTITIONING");
+        verify(jdbcTemplate).execute("ALTER TABLE schedule_entries EXCHANGE PARTITION p2023 " +
+                "WITH TABLE schedule_entries_archive_2023");
+        verify(jdbcTemplate, never()).execute(contains("DROP PARTITION"));
+    }
+
+    @Test
+    void dropYear_CurrentYear_ShouldThrow() {
+        // Arrange
+        PartitionMaintenanceService service = service(0, ExpiredAction.DROP);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> service.dropYear(2026));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private PartitionMaintenanceService service(int retentionYears, ExpiredAction expiredAction) {
+        return new PartitionMaintenanceService(jdbcTemplate, CLOCK, true, 2, retentionYears, expiredAction);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mySqlWith(PartitionDTO... partitions) {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("MySQL");
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(partitions));
+    }
+
+    private static PartitionDTO partition(String name, Integer year) {
+        return new PartitionDTO(name, year, year != null ? LocalDate.of(year + 1, 1, 1) : null, 100L, 16_384L, 0L);
+    }
+}
@@ -0,0 +1,139 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.export.ExportFormat;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.util.TestDataBuilder;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PayrollExportService
+ * Tests the single-pass aggregation into staff lines, month subtotals and the grand total
+ */
+@ExtendWith(MockitoExtension.class)
+class PayrollExportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 2, 28);
+
+    @Mock
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Mock
+    private AbsenceRepository absenceRepository;
+
+    @InjectMocks
+    private PayrollExportService payrollExportService;
+
+    @BeforeEach
+    void setUp() {
+        // Rows ordered by month, then staff, as the repository query returns them
+        when(scheduleEntryRepository.streamPayrollRows(START, END)).thenReturn(Stream.of(
+                row(1L, "Lisa Schmidt", false, LocalDate.of(2026, 1, 26), "normal", 450, 30),
+                row(1L, "Lisa Schmidt", false, LocalDate.of(2026, 1, 27), "krank", 0, 0),
+                row(2L, "Max Mustermann", false, LocalDate.of(2026, 1, 26), "normal", 480, 30),
+                row(2L, "Max Mustermann", false, LocalDate.of(2026, 1, 27), "Urlaub", 0, 0),
+                row(2L, "Max Mustermann", false, LocalDate.of(2026, 2, 2), "Fachschule", 0, 0),
+                row(2L, "Max Mustermann", false, LocalDate.of(2026, 2, 3), "normal", 240, 0)
+        ));
+    }
+
+    @Test
+    void exportCsv_ShouldWriteStaffLinesSubtotalsAndTotal() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payrollExportService.export(START, END, ExportFormat.CSV, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(7, lines.length);
+        assertTrue(lines[0].startsWith("﻿Monat;"));
+        assertEquals("2026-01;1;Lisa Schmidt;Erzieher;Käfer;nein;1;450;7:30;30;1;0;0", lines[1]);
+        assertEquals("2026-01;2;Max Mustermann;Erzieher;Käfer;nein;1;480;8:00;30;0;1;0", lines[2]);
+        assertEquals("2026-01;;Summe 2026-01;;;;2;930;15:30;60;1;1;0", lines[3]);
+        assertEquals("2026-02;2;Max Mustermann;Erzieher;Käfer;nein;1;240;4:00;0;0;0;1", lines[4]);
+        assertEquals("2026-02;;Summe 2026-02;;;;1;240;4:00;0;0;0;1", lines[5]);
+        assertEquals(";;Gesamt;;;;3;1170;19:30;60;1;1;1", lines[6]);
+    }
+
+    @Test
+    void exportCsv_WithAbsenceRanges_ShouldCountCoveredAndCompactedDays() throws Exception {
+        // Arrange: Anna's Urlaub days were compacted away, Lisa's Monday shift is covered by a sick leave
+        when(absenceRepository.findOverlapping(START, END)).thenReturn(List.of(
+                absence(staff(3L, "Anna Adler"), "Urlaub", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 6)),
+                absence(staff(1L, "Lisa Schmidt"), "krank", LocalDate.of(2026, 1, 26), LocalDate.of(2026, 1, 27))));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payrollExportService.export(START, END, ExportFormat.CSV, out);
+
+        // Assert: Anna gets a line of her own, ahead of Lisa by name
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(8, lines.length);
+        assertEquals("2026-01;3;Anna Adler;Erzieher;Käfer;nein;0;0;0:00;0;0;2;0", lines[1]);
+        assertEquals("2026-01;1;Lisa Schmidt;Erzieher;Käfer;nein;0;0;0:00;0;2;0;0", lines[2]);
+        assertEquals("2026-01;2;Max Mustermann;Erzieher;Käfer;nein;1;480;8:00;30;0;1;0", lines[3]);
+        assertEquals("2026-01;;Summe 2026-01;;;;1;480;8:00;30;2;3;0", lines[4]);
+        assertEquals(";;Gesamt;;;;2;720;12:00;30;2;3;1", lines[7]);
+    }
+
+    @Test
+    void exportXlsx_ShouldWriteReadableWorkbook() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        payrollExportService.export(START, END, ExportFormat.XLSX, out);
+
+        // Assert
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(6, sheet.getLastRowNum());
+            Row first = sheet.getRow(1);
+            assertEquals("Lisa Schmidt", first.getCell(2).getStringCellValue());
+            assertEquals(450, first.getCell(7).getNumericCellValue());
+            Row total = sheet.getRow(6);
+            assertEquals("Gesamt", total.getCell(2).getStringCellValue());
+            assertEquals(1170, total.getCell(7).getNumericCellValue());
+        }
+    }
+
+    private static Staff staff(Long id, String fullName) {
+        String[] names = fullName.split(" ");
+        Staff staff = TestDataBuilder.createTestStaff(names[0], names[1], TestDataBuilder.createTestGroup());
+        staff.setId(id);
+        return staff;
+    }
+
+    private static Absence absence(Staff staff, String status, LocalDate start, LocalDate end) {
+        Absence absence = new Absence();
+        absence.setStaff(staff);
+        absence.setStatus(status);
+        absence.setStartDate(start);
+        absence.setEndDate(end);
+        return absence;
+    }
+
+    private static Object[] row(Long staffId, String name, boolean praktikant, LocalDate date,
+                                String status, int workingMinutes, int breakMinutes) {
+        return new Object[]{staffId, name, "Erzieher", "Käfer", praktikant, date, status, workingMinutes, breakMinutes};
+    }
+}
@@ -0,0 +1,183 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.RollupDTO;
+import com.kita.dienstplan.dto.RollupRefreshResultDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.ScheduleRollup.Dimension;
+import com.kita.dienstplan.entity.ScheduleRollup.Granularity;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RollupService against the H2 schema
+ * Verifies the first full build with the absence overlay and incremental refreshes after changes;
+ * without the overlap window a refresh reads exactly the entries written since the last one
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, RollupService.class})
+@Sql(scripts = "/test-schema.sql")
+@TestPropertySource(properties = "rollups.watermark-overlap-seconds=0")
+class RollupServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 2, 2);
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 12, 31);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RollupService rollupService;
+
+    private Group kaefer;
+    private Staff anna;
+    private Staff bernd;
+    private ScheduleEntry annaMonday;
+    private ScheduleEntry annaTuesday;
+
+    @BeforeEach
+    void setUp() {
+        kaefer = new Group();
+        kaefer.setName("Käfer");
+        entityManager.persist(kaefer);
+        WeeklySchedule lastYear = week(10, 2025, LocalDate.of(2025, 3, 3));
+        WeeklySchedule week = week(6, 2026, MONDAY);
+        anna = staff("Anna", kaefer);
+        bernd = staff("Bernd", kaefer);
+        entry(lastYear, anna, 0);
+        annaMonday = entry(week, anna, 0);
+        annaTuesday = entry(week, anna, 1);
+        entry(week, bernd, 0);
+        Absence berndUrlaub = new Absence();
+        berndUrlaub.setStaff(bernd);
+        berndUrlaub.setStatus("Urlaub");
+        berndUrlaub.setStartDate(MONDAY);
+        berndUrlaub.setEndDate(MONDAY.plusDays(2));
+        entityManager.persist(berndUrlaub);
+        entityManager.flush();
+    }
+
+    @Test
+    void refresh_FirstRun_ShouldBuildAllGranularities() {
+        // Act
+        RollupRefreshResultDTO result = rollupService.refresh();
+
+        // Assert: Bernd's Monday entry counts as Urlaub, Tuesday and Wednesday are added
+        assertTrue(result.getFullRebuild());
+        List<RollupDTO> years = rollupService.getRollups(Granularity.YEAR, Dimension.GROUP, FROM, TO, null);
+        assertEquals(2, years.size());
+        assertEquals(LocalDate.of(2025, 1, 1), years.get(0).getPeriodStart());
+        assertEquals(450, years.get(0).getWorkedMinutes());
+        RollupDTO year2026 = years.get(1);
+        assertEquals("Käfer", year2026.getLabel());
+        assertEquals(900, year2026.getWorkedMinutes());
+        assertEquals(60, year2026.getBreakMinutes());
+        assertEquals(5, year2026.getEntryDays());
+        assertEquals(2, year2026.getNormalDays());
+        assertEquals(3, year2026.getUrlaubDays());
+
+        List<RollupDTO> weeks = rollupService.getRollups(Granularity.WEEK, Dimension.STAFF, MONDAY, MONDAY,
+                String.valueOf(bernd.getId()));
+        assertEquals(1, weeks.size());
+        assertEquals("Bernd Muster", weeks.get(0).getLabel());
+        assertEquals(0, weeks.get(0).getWorkedMinutes());
+        assertEquals(3, weeks.get(0).getUrlaubDays());
+    }
+
+    @Test
+    void refresh_AfterChanges_ShouldOnlyRebuildChangedDays() {
+        // Arrange
+        rollupService.refresh();
+        annaMonday.setStatus("krank");
+        entityManager.remove(annaTuesday);
+        entityManager.flush();
+        rollupService.onScheduleEntryChanged(ScheduleEntryChangedEvent.of(annaTuesday,
+                EntryState.of(annaTuesday), null));
+
+        // Act
+        RollupRefreshResultDTO result = rollupService.refresh();
+
+        // Assert: the updated Monday and the deleted Tuesday; the 2025 entry is untouched
+        assertFalse(result.getFullRebuild());
+        assertEquals(2, result.getDaysRefreshed());
+        List<RollupDTO> years = rollupService.getRollups(Granularity.YEAR, Dimension.ROLE, FROM, TO, "Erzieher");
+        assertEquals(450, years.get(0).getWorkedMinutes());
+        assertEquals(0, years.get(1).getWorkedMinutes());
+        assertEquals(1, years.get(1).getKrankDays());
+        assertEquals(0, years.get(1).getNormalDays());
+        assertEquals(4, years.get(1).getEntryDays());
+        List<RollupDTO> days = rollupService.getRollups(Granularity.DAY, Dimension.STAFF,
+                MONDAY.plusDays(1), MONDAY.plusDays(1), String.valueOf(anna.getId()));
+        assertTrue(days.isEmpty());
+
+        // Act: nothing changed since
+        RollupRefreshResultDTO idle = rollupService.refresh();
+
+        // Assert
+        assertEquals(0, idle.getDaysRefreshed());
+    }
+
+    @Test
+    void getRollups_InvertedRange_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> rollupService.getRollups(Granularity.DAY, Dimension.STAFF, TO, FROM, null));
+    }
+
+    private WeeklySchedule week(int weekNumber, int year, LocalDate monday) {
+        WeeklySchedule schedule = new WeeklySchedule();
+        schedule.setWeekNumber(weekNumber);
+        schedule.setYear(year);
+        schedule.setStartDate(monday);
+        schedule.setEndDate(monday.plusDays(6));
+        return entityManager.persist(schedule);
+    }
+
+    private Staff staff(String firstName, Group group) {
+        Staff staff = new Staff();
+        staff.setFirstName(firstName);
+        staff.setLastName("Muster");
+        staff.setFullName(firstName + " Muster");
+        staff.setRole("Erzieher");
+        staff.setGroup(group);
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        return entityManager.persist(staff);
+    }
+
+    private ScheduleEntry entry(WeeklySchedule schedule, Staff staff, int dayOfWeek) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(schedule);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(dayOfWeek);
+        entry.setWorkDate(schedule.getStartDate().plusDays(dayOfWeek));
+        entry.setStartTime(LocalTime.of(7, 0));
+        entry.setEndTime(LocalTime.of(15, 0));
+        entry.setStatus("normal");
+        return entityManager.persist(entry);
+    }
+}
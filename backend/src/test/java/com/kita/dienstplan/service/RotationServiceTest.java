@@ -0,0 +1,271 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.RotationExpansionResultDTO;
+import com.kita.dienstplan.dto.RotationPatternDTO;
+import com.kita.dienstplan.dto.ShiftTypeUsageDTO;
+import com.kita.dienstplan.entity.HoursAccount;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.ShiftType;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.repository.HoursAccountRepository;
+import com.kita.dienstplan.repository.IdBlockAllocator;
+import com.kita.dienstplan.repository.ScheduleEntryBatchWriter;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RotationService and ShiftCatalogService against the H2 schema
+ * Verifies pattern validation, batched expansion (cycle anchoring, existing days, weeks) and shift usage
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, RotationService.class, ShiftCatalogService.class,
+        ScheduleEntryBatchWriter.class, IdBlockAllocator.class, WeekProvisioningService.class, HoursAccountService.class})
+@Sql(scripts = "/test-schema.sql")
+class RotationServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RotationService rotationService;
+
+    @Autowired
+    private ShiftCatalogService shiftCatalogService;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Autowired
+    private WeeklyScheduleRepository weeklyScheduleRepository;
+
+    @Autowired
+    private HoursAccountRepository hoursAccountRepository;
+
+    private Staff max;
+    private Staff erika;
+    private ShiftType frueh;
+    private ShiftType spaet;
+
+    @BeforeEach
+    void setUp() {
+        max = staff("Max Mustermann");
+        erika = staff("Erika Musterfrau");
+        frueh = shiftType("FRUEH", "Früh", LocalTime.of(7, 30), LocalTime.of(16, 0));
+        spaet = shiftType("SPAET", "Spät", LocalTime.of(9, 0), LocalTime.of(17, 0));
+        entityManager.flush();
+    }
+
+    @Test
+    void createPattern_ShouldNormalizeCodes() {
+        // Act
+        RotationPatternDTO pattern = rotationService.createPattern(max.getId(), "Früh/Spät",
+                List.of("frueh", " Spaet", "-"), LocalDate.of(2026, 3, 2), null).orElseThrow();
+
+        // Assert
+        assertEquals(List.of("FRUEH", "SPAET", "-"), pattern.getSlots());
+        assertEquals("Max Mustermann", pattern.getStaffName());
+        assertTrue(pattern.getIsActive());
+    }
+
+    @Test
+    void createPattern_UnknownCode_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> rotationService.createPattern(max.getId(), "Nacht",
+                List.of("NACHT"), LocalDate.of(2026, 3, 2), null));
+    }
+
+    @Test
+    void createPattern_UnknownStaff_ShouldReturnEmpty() {
+        assertTrue(rotationService.createPattern(999L, "Früh", List.of("FRUEH"),
+                LocalDate.of(2026, 3, 2), null).isEmpty());
+    }
+
+    @Test
+    void expand_ShouldFollowCycleFromAnchorAndCreateWeeks() {
+        // Arrange: anchored on a Wednesday, so Monday 9 March is slot (5 mod 3) = 2
+        rotationService.createPattern(max.getId(), "Früh/Spät/frei", List.of("FRUEH", "SPAET", "-"),
+                LocalDate.of(2026, 3, 4), null);
+
+        // Act
+        RotationExpansionResultDTO result = rotationService.expand(
+                LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 22), null);
+
+        // Assert
+        assertEquals(1, result.getPatternCount());
+        assertEquals(2, result.getWeeksCreated());
+        assertEquals(14, result.getEntriesCreated());
+        assertEquals(0, result.getSkippedSlots());
+
+        List<ScheduleEntry> week11 = entries(11);
+        assertEquals(7, week11.size());
+        assertEquals("frei", week11.get(0).getStatus());
+        assertNull(week11.get(0).getShiftTypeId());
+        ScheduleEntry tuesday = week11.get(1);
+        assertEquals(LocalDate.of(2026, 3, 10), tuesday.getWorkDate());
+        assertEquals(1, tuesday.getDayOfWeek());
+        assertEquals(frueh.getId(), tuesday.getShiftTypeId());
+        assertEquals(LocalTime.of(7, 30), tuesday.getStartTime());
+        assertEquals(480, tuesday.getWorkingHoursMinutes());
+        assertEquals(30, tuesday.getBreakMinutes());
+        assertEquals("test-user", tuesday.getCreatedBy());
+        assertEquals(spaet.getId(), week11.get(2).getShiftTypeId());
+
+        WeeklySchedule week = weeklyScheduleRepository.findByWeekNumberAndYear(11, 2026).orElseThrow();
+        assertEquals(LocalDate.of(2026, 3, 9), week.getStartDate());
+        assertEquals(LocalDate.of(2026, 3, 15), week.getEndDate());
+    }
+
+    @Test
+    void expand_ShouldRespectValidityAndExistingEntries() {
+        // Arrange: Max's pattern ends Wednesday; Erika already has a Monday entry
+        rotationService.createPattern(max.getId(), "Früh", List.of("FRUEH"),
+                LocalDate.of(2026, 1, 5), LocalDate.of(2026, 3, 11));
+        rotationService.createPattern(erika.getId(), "Spät", List.of("SPAET"), LocalDate.of(2026, 1, 5), null);
+        rotationService.expand(LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 9), List.of(erika.getId()));
+
+        // Act
+        RotationExpansionResultDTO result = rotationService.expand(
+                LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 15), null);
+
+        // Assert
+        assertEquals(0, result.getWeeksCreated());
+        assertEquals(3 + 6, result.getEntriesCreated());
+        assertEquals(1, result.getSkippedSlots());
+        assertEquals(10, entries(11).size());
+    }
+
+    @Test
+    void expand_NewerPatternShouldWinOverlappingDays() {
+        // Arrange
+        rotationService.createPattern(max.getId(), "Alt", List.of("FRUEH"), LocalDate.of(2026, 1, 5), null);
+        rotationService.createPattern(max.getId(), "Neu", List.of("SPAET"), LocalDate.of(2026, 3, 12), null);
+
+        // Act
+        rotationService.expand(LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 15), null);
+
+        // Assert
+        List<ScheduleEntry> week11 = entries(11);
+        assertEquals(frueh.getId(), week11.get(2).getShiftTypeId());
+        assertEquals(spaet.getId(), week11.get(3).getShiftTypeId());
+    }
+
+    @Test
+    void expand_InactiveStaffOrPattern_ShouldBeSkipped() {
+        // Arrange
+        rotationService.createPattern(max.getId(), "Früh", List.of("FRUEH"), LocalDate.of(2026, 1, 5), null);
+        RotationPatternDTO paused = rotationService.createPattern(erika.getId(), "Spät", List.of("SPAET"),
+                LocalDate.of(2026, 1, 5), null).orElseThrow();
+        rotationService.updatePattern(paused.getId(), null, null, null, null, false);
+        max.setIsActive(false);
+        entityManager.flush();
+
+        // Act
+        RotationExpansionResultDTO result = rotationService.expand(
+                LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 15), null);
+
+        // Assert
+        assertEquals(0, result.getPatternCount());
+        assertEquals(0, result.getEntriesCreated());
+        assertTrue(weeklyScheduleRepository.findByWeekNumberAndYear(11, 2026).isEmpty());
+    }
+
+    @Test
+    void expand_ShouldBookEntriesInHoursAccounts() {
+        // Arrange
+        rotationService.createPattern(max.getId(), "Früh", List.of("FRUEH", "FRUEH", "FRUEH", "FRUEH", "FRUEH",
+                "-", "-"), LocalDate.of(2026, 3, 9), null);
+
+        // Act
+        rotationService.expand(LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 15), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert: 5 x 8:00 against a 39h week
+        HoursAccount account = hoursAccountRepository.findById(max.getId()).orElseThrow();
+        assertEquals(2340, account.getTargetMinutes());
+        assertEquals(2400, account.getActualMinutes());
+    }
+
+    @Test
+    void getUsage_ShouldGroupByShiftType() {
+        // Arrange
+        rotationService.createPattern(max.getId(), "Früh/Spät", List.of("FRUEH", "SPAET"),
+                LocalDate.of(2026, 3, 9), null);
+        rotationService.expand(LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 15), null);
+
+        // Act
+        List<ShiftTypeUsageDTO> usage = shiftCatalogService.getUsage(LocalDate.of(2026, 3, 9),
+                LocalDate.of(2026, 3, 15));
+
+        // Assert
+        assertEquals(2, usage.size());
+        ShiftTypeUsageDTO fruehUsage = usage.stream().filter(u -> "FRUEH".equals(u.getCode())).findFirst().orElseThrow();
+        assertEquals(4, fruehUsage.getEntryCount());
+        assertEquals(1920, fruehUsage.getWorkingMinutes());
+        assertEquals("32:00", fruehUsage.getWorkingHoursFormatted());
+    }
+
+    @Test
+    void updateShiftType_ShouldKeepCode() {
+        // Arrange
+        ShiftType details = new ShiftType();
+        details.setCode("OTHER");
+        details.setEndTime(LocalTime.of(15, 30));
+
+        // Act
+        var updated = shiftCatalogService.updateShiftType(frueh.getId(), details).orElseThrow();
+
+        // Assert
+        assertEquals("FRUEH", updated.getCode());
+        assertEquals(LocalTime.of(15, 30), updated.getEndTime());
+        assertEquals(450, updated.getWorkingMinutes());
+    }
+
+    private List<ScheduleEntry> entries(int week) {
+        return scheduleEntryRepository.findByWeekNumberAndYear(week, 2026).stream()
+                .sorted(Comparator.comparing((ScheduleEntry entry) -> entry.getStaff().getFullName()).reversed()
+                        .thenComparing(ScheduleEntry::getDayOfWeek))
+                .toList();
+    }
+
+    private Staff staff(String fullName) {
+        Staff staff = new Staff();
+        staff.setFirstName(fullName.split(" ")[0]);
+        staff.setLastName(fullName.split(" ")[1]);
+        staff.setFullName(fullName);
+        staff.setRole("Erzieher");
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        return entityManager.persist(staff);
+    }
+
+    private ShiftType shiftType(String code, String name, LocalTime start, LocalTime end) {
+        ShiftType shiftType = new ShiftType();
+        shiftType.setCode(code);
+        shiftType.setName(name);
+        shiftType.setStartTime(start);
+        shiftType.setEndTime(end);
+        return entityManager.persist(shiftType);
+    }
+}
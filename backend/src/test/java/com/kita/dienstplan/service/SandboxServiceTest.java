@@ -0,0 +1,174 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.SandboxCommitResultDTO;
+import com.kita.dienstplan.dto.SandboxDTO;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.StaffChangedEvent;
+import com.kita.dienstplan.event.StaffingRulesChangedEvent;
+import com.kita.dienstplan.exception.SandboxConflictException;
+import com.kita.dienstplan.repository.IdBlockAllocator;
+import com.kita.dienstplan.repository.ScheduleEntryBatchWriter;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SandboxService against the H2 schema
+ * Verifies that edits stay in the sandbox until commit, and that commits write the net diff or detect conflicts
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, SandboxService.class, ComplianceService.class, HolidayCalendarService.class,
+        ScheduleEntryBatchWriter.class, IdBlockAllocator.class, WeekProvisioningService.class, HoursAccountService.class,
+        StaffingRuleService.class})
+@Sql(scripts = "/test-schema.sql")
+class SandboxServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 2, 2);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SandboxService sandboxService;
+
+    @Autowired
+    private StaffingRuleService staffingRuleService;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    private WeeklySchedule week;
+    private Staff anna;
+    private Staff bernd;
+    private ScheduleEntry annaMonday;
+    private ScheduleEntry annaTuesday;
+
+    @BeforeEach
+    void setUp() {
+        Group kaefer = new Group();
+        kaefer.setName("Käfer");
+        entityManager.persist(kaefer);
+        week = new WeeklySchedule();
+        week.setWeekNumber(6);
+        week.setYear(2026);
+        week.setStartDate(MONDAY);
+        week.setEndDate(MONDAY.plusDays(6));
+        entityManager.persist(week);
+        anna = staff("Anna", kaefer);
+        bernd = staff("Bernd", kaefer);
+        annaMonday = entry(anna, 0, LocalTime.of(7, 0), LocalTime.of(15, 0));
+        annaTuesday = entry(anna, 1, LocalTime.of(7, 0), LocalTime.of(15, 0));
+        entityManager.flush();
+        // The services outlive each test's rolled-back data
+        sandboxService.onStaffChanged(new StaffChangedEvent(null));
+        staffingRuleService.onStaffingRulesChanged(new StaffingRulesChangedEvent(null));
+    }
+
+    @Test
+    void edits_ShouldStayInSandboxUntilCommit() {
+        // Arrange
+        String id = sandboxService.open(2026, 6).orElseThrow().getId();
+
+        // Act: Bernd takes Monday, Anna's Tuesday becomes a short day
+        sandboxService.addEntry(id, bernd.getId(), 0, LocalTime.of(9, 0), LocalTime.of(17, 0), null, null, null);
+        SandboxDTO view = sandboxService.updateEntry(id, annaTuesday.getId(), null, LocalTime.of(12, 0),
+                null, null, null).orElseThrow();
+
+        // Assert
+        assertEquals(2, view.getChanges());
+        assertEquals(3, view.getEntries().size());
+        assertEquals(2 * 450, view.getDailyTotals().get(0).getTotalMinutesWithoutPraktikanten());
+        assertEquals(2L, view.getDailyTotals().get(0).getTotalStaffCount());
+        assertEquals(300, view.getDailyTotals().get(1).getTotalMinutesWithPraktikanten());
+        assertEquals(2, scheduleEntryRepository.findAll().size());
+        assertEquals(LocalTime.of(15, 0), scheduleEntryRepository.findById(annaTuesday.getId()).orElseThrow().getEndTime());
+        // A second sandbox on the same week sees the committed state only
+        assertEquals(0, sandboxService.open(2026, 6).orElseThrow().getChanges());
+    }
+
+    @Test
+    void commit_ShouldWriteNetDiffAndCloseSandbox() {
+        // Arrange
+        String id = sandboxService.open(2026, 6).orElseThrow().getId();
+        sandboxService.addEntry(id, bernd.getId(), 2, LocalTime.of(7, 0), LocalTime.of(15, 0), null, null, null);
+        sandboxService.updateEntry(id, annaTuesday.getId(), null, null, "frei", null, null);
+        sandboxService.deleteEntry(id, annaMonday.getId());
+
+        // Act
+        SandboxCommitResultDTO result = sandboxService.commit(id).orElseThrow();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, result.getEntriesCreated());
+        assertEquals(1, result.getEntriesUpdated());
+        assertEquals(1, result.getEntriesDeleted());
+        List<ScheduleEntry> entries = scheduleEntryRepository.findAll().stream()
+                .sorted(Comparator.comparing(ScheduleEntry::getDayOfWeek)).toList();
+        assertEquals(2, entries.size());
+        assertEquals("frei", entries.get(0).getStatus());
+        assertEquals(0, entries.get(0).getWorkingHoursMinutes());
+        assertEquals(bernd.getId(), entries.get(1).getStaff().getId());
+        assertEquals(450, entries.get(1).getWorkingHoursMinutes());
+        assertTrue(sandboxService.get(id).isEmpty());
+    }
+
+    @Test
+    void commit_EntryDeletedMeanwhile_ShouldThrowConflict() {
+        // Arrange
+        String id = sandboxService.open(2026, 6).orElseThrow().getId();
+        sandboxService.updateEntry(id, annaMonday.getId(), LocalTime.of(8, 0), null, null, null, null);
+        entityManager.remove(annaMonday);
+        entityManager.flush();
+
+        // Act & Assert: the sandbox stays open so the planner can discard or rebase it
+        assertThrows(SandboxConflictException.class, () -> sandboxService.commit(id));
+        assertTrue(sandboxService.get(id).isPresent());
+    }
+
+    private Staff staff(String firstName, Group group) {
+        Staff staff = new Staff();
+        staff.setFirstName(firstName);
+        staff.setLastName("Muster");
+        staff.setFullName(firstName + " Muster");
+        staff.setRole("Erzieher");
+        staff.setGroup(group);
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        return entityManager.persist(staff);
+    }
+
+    private ScheduleEntry entry(Staff staff, int dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(week);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(dayOfWeek);
+        entry.setWorkDate(MONDAY.plusDays(dayOfWeek));
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setStatus("normal");
+        return entityManager.persist(entry);
+    }
+}
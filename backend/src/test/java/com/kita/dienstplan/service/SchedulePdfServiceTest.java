@@ -0,0 +1,172 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.pdf.DienstplanPdfRenderer;
+import com.kita.dienstplan.pdf.DienstplanPdfTemplate;
+import com.kita.dienstplan.repository.AbsenceRepository;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.WeeklyScheduleRepository;
+import com.kita.dienstplan.util.TestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SchedulePdfService
+ * Tests PDF output, per-version caching and batch rendering
+ */
+@ExtendWith(MockitoExtension.class)
+class SchedulePdfServiceTest {
+
+    @Mock
+    private WeeklyScheduleRepository weeklyScheduleRepository;
+
+    @Mock
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Mock
+    private AbsenceRepository absenceRepository;
+
+    @Mock
+    private ArchiveService archiveService;
+
+    private SchedulePdfService schedulePdfService;
+
+    private WeeklySchedule week5;
+    private WeeklySchedule week6;
+
+    @BeforeEach
+    void setUp() {
+        DienstplanPdfTemplate template =
+                new DienstplanPdfTemplate(new ClassPathResource("templates/dienstplan-pdf.properties"));
+        schedulePdfService = new SchedulePdfService(weeklyScheduleRepository, scheduleEntryRepository, absenceRepository,
+                archiveService, new DienstplanPdfRenderer(template), 2, 16);
+
+        week5 = TestDataBuilder.createTestWeeklySchedule(5, 2026);
+        week5.setId(5L);
+        week6 = TestDataBuilder.createTestWeeklySchedule(6, 2026);
+        week6.setId(6L);
+
+        lenient().when(scheduleEntryRepository.findWeekMatrixRows(any())).thenReturn(rows());
+    }
+
+    @AfterEach
+    void tearDown() {
+        schedulePdfService.shutdown();
+    }
+
+    @Test
+    void renderWeek_ShouldProducePdf() {
+        // Arrange
+        when(weeklyScheduleRepository.findByWeekNumberAndYear(5, 2026)).thenReturn(Optional.of(week5));
+        stubVersion(week5, 3L);
+
+        // Act
+        byte[] pdf = schedulePdfService.renderWeek(5, 2026).orElseThrow();
+
+        // Assert
+        assertTrue(new String(pdf, 0, 5, StandardCharsets.US_ASCII).startsWith("%PDF-"));
+    }
+
+    @Test
+    void renderWeek_UnknownWeek_ShouldReturnEmpty() {
+        // Arrange
+        when(weeklyScheduleRepository.findByWeekNumberAndYear(99, 2026)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(schedulePdfService.renderWeek(99, 2026).isEmpty());
+    }
+
+    @Test
+    void renderWeeks_WithUnchangedVersion_ShouldServeFromCache() {
+        // Arrange
+        stubVersion(week5, 3L);
+
+        // Act
+        byte[] first = schedulePdfService.renderWeeks(List.of(week5)).get(week5);
+        byte[] second = schedulePdfService.renderWeeks(List.of(week5)).get(week5);
+
+        // Assert
+        assertSame(first, second);
+        verify(scheduleEntryRepository, times(1)).findWeekMatrixRows(5L);
+    }
+
+    @Test
+    void renderWeeks_WithChangedVersion_ShouldRenderAgain() {
+        // Arrange
+        stubVersion(week5, 3L);
+        schedulePdfService.renderWeeks(List.of(week5));
+        stubVersion(week5, 4L);
+
+        // Act
+        schedulePdfService.renderWeeks(List.of(week5));
+
+        // Assert
+        verify(scheduleEntryRepository, times(2)).findWeekMatrixRows(5L);
+    }
+
+    @Test
+    void onScheduleEntryChanged_ShouldEvictWeek() {
+        // Arrange
+        stubVersion(week5, 3L);
+        schedulePdfService.renderWeeks(List.of(week5));
+        ScheduleEntryChangedEvent event = mock(ScheduleEntryChangedEvent.class);
+        when(event.getWeeklyScheduleId()).thenReturn(5L);
+
+        // Act
+        schedulePdfService.onScheduleEntryChanged(event);
+        schedulePdfService.renderWeeks(List.of(week5));
+
+        // Assert
+        verify(scheduleEntryRepository, times(2)).findWeekMatrixRows(5L);
+    }
+
+    @Test
+    void renderYear_ShouldNameFilesLikeOldToolInWeekOrder() {
+        // Arrange
+        when(weeklyScheduleRepository.findByYearOrderByWeekNumberDesc(2026)).thenReturn(List.of(week6, week5));
+        when(scheduleEntryRepository.findWeekVersionStamps(any())).thenReturn(List.of());
+
+        // Act
+        Map<String, byte[]> files = schedulePdfService.renderYear(2026);
+
+        // Assert
+        assertEquals(List.of(SchedulePdfService.fileName(week5), SchedulePdfService.fileName(week6)),
+                new ArrayList<>(files.keySet()));
+        assertTrue(SchedulePdfService.fileName(week5).matches("PDienstplan \\d{6}-\\d{6}\\.pdf"));
+    }
+
+    private void stubVersion(WeeklySchedule week, long count) {
+        List<Object[]> stamps = new ArrayList<>();
+        stamps.add(new Object[]{week.getId(), count, 10L, null, null});
+        when(scheduleEntryRepository.findWeekVersionStamps(any())).thenReturn(stamps);
+    }
+
+    private static List<Object[]> rows() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, "Max Mustermann", "Erzieher", "Käfer", false, 11L, 0,
+                LocalTime.of(8, 0), LocalTime.of(16, 0), "normal", 450, 30});
+        rows.add(new Object[]{1L, "Max Mustermann", "Erzieher", "Käfer", false, 12L, 1,
+                null, null, "krank", 0, 0});
+        rows.add(new Object[]{2L, "Anna Praktikant", "Praktikant", "Käfer", true, 13L, 0,
+                LocalTime.of(9, 0), LocalTime.of(13, 0), "normal", 240, 0});
+        return rows;
+    }
+}
@@ -1,28 +1,43 @@
 package com.kita.dienstplan.service;
 
+import com.kita.dienstplan.compliance.ComplianceRule;
+import com.kita.dienstplan.dto.ComplianceViolationDTO;
 import com.kita.dienstplan.dto.DailyTotalDTO;
 import com.kita.dienstplan.dto.ScheduleEntryDTO;
+import com.kita.dienstplan.dto.WeekMatrixDTO;
+import com.kita.dienstplan.dto.WeeklyStaffTotalDTO;
 import com.kita.dienstplan.entity.Group;
 import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.ShiftType;
 import com.kita.dienstplan.entity.Staff;
 import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.exception.ArchivedWeekException;
+import com.kita.dienstplan.exception.ComplianceViolationException;
+import com.kita.dienstplan.repository.AbsenceRepository;
 import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.ShiftTypeRepository;
 import com.kita.dienstplan.repository.StaffRepository;
 import com.kita.dienstplan.repository.WeeklyScheduleRepository;
 import com.kita.dienstplan.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -45,6 +60,24 @@ class ScheduleServiceTest {
     @Mock
     private StaffRepository staffRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ComplianceService complianceService;
+
+    @Mock
+    private ShiftTypeRepository shiftTypeRepository;
+
+    @Mock
+    private HolidayCalendarService holidayCalendarService;
+
+    @Mock
+    private AbsenceRepository absenceRepository;
+
+    @Mock
+    private ArchiveService archiveService;
+
     @InjectMocks
     private ScheduleService scheduleService;
 
@@ -104,6 +137,27 @@ class ScheduleServiceTest {
         verify(scheduleEntryRepository, times(1)).findByWeekNumberAndYear(99, 2026);
     }
 
+    @Test
+    void getScheduleForWeek_ArchivedWeek_ShouldReadFromArchive() {
+        // Arrange
+        testWeeklySchedule.setArchivedAt(LocalDate.of(2026, 10, 1).atStartOfDay());
+        ScheduleEntryDTO archived = new ScheduleEntryDTO();
+        archived.setId(42L);
+        archived.setStaffId(1L);
+        archived.setWorkDate(testWeeklySchedule.getStartDate());
+        archived.setStatus("normal");
+        when(scheduleEntryRepository.findByWeekNumberAndYear(5, 2026)).thenReturn(Collections.emptyList());
+        when(weeklyScheduleRepository.findByWeekNumberAndYear(5, 2026)).thenReturn(Optional.of(testWeeklySchedule));
+        when(archiveService.findWeekEntries(testWeeklySchedule, null)).thenReturn(List.of(archived));
+
+        // Act
+        List<ScheduleEntryDTO> results = scheduleService.getScheduleForWeek(5, 2026);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertEquals(42L, results.get(0).getId());
+    }
+
     @Test
     void getScheduleForStaffInWeek_ShouldFilterByStaff() {
         // Arrange
@@ -223,6 +277,29 @@ class ScheduleServiceTest {
         assertEquals("0:00", results.get(0).getHoursWithPraktikanten());
     }
 
+    @Test
+    void getWeeklyStaffTotals_ShouldTransformObjectArrayToDTO() {
+        // Arrange
+        Object[] row = new Object[]{1L, "Anna Muster", "Erzieher", "Käfer", 1800L, 120L, 4L, 1L, 0L, 0L};
+
+        when(scheduleEntryRepository.getWeeklyStaffTotals(5, 2026))
+                .thenReturn(Collections.singletonList(row));
+
+        // Act
+        List<WeeklyStaffTotalDTO> results = scheduleService.getWeeklyStaffTotals(5, 2026);
+
+        // Assert
+        assertEquals(1, results.size());
+        WeeklyStaffTotalDTO dto = results.get(0);
+        assertEquals("Anna Muster", dto.getFullName());
+        assertEquals("Käfer", dto.getGroupName());
+        assertEquals(1800, dto.getTotalWorkingMinutes());
+        assertEquals("30:00", dto.getTotalHoursFormatted());
+        assertEquals("2:00", dto.getTotalBreakFormatted());
+        assertEquals(4L, dto.getDaysWorked());
+        assertEquals(1L, dto.getDaysSick());
+    }
+
     @Test
     void createScheduleEntry_ShouldSaveAndReturnDTO() {
         // Arrange
@@ -243,6 +320,18 @@ class ScheduleServiceTest {
         verify(scheduleEntryRepository, times(1)).save(newEntry);
     }
 
+    @Test
+    void createScheduleEntry_InArchivedWeek_ShouldThrowArchivedWeekException() {
+        // Arrange
+        testWeeklySchedule.setArchivedAt(LocalDateTime.of(2026, 10, 1, 4, 0));
+        ScheduleEntry newEntry = TestDataBuilder.createTestScheduleEntry(
+            testWeeklySchedule, testStaff, 1, LocalTime.of(9, 0), LocalTime.of(17, 0));
+
+        // Act & Assert
+        assertThrows(ArchivedWeekException.class, () -> scheduleService.createScheduleEntry(newEntry));
+        verify(scheduleEntryRepository, never()).save(any());
+    }
+
     @Test
     void updateScheduleEntry_ShouldUpdateFields() {
         // Arrange
@@ -495,4 +584,287 @@ class ScheduleServiceTest {
         assertEquals(450, testEntry.getWorkingHoursMinutes());
         assertEquals(450, result.getWorkingHoursMinutes());
     }
+
+    @Test
+    void getWeekMatrix_ShouldBuildDenseArraysAndTotals() {
+        // Arrange
+        Object[] maxMonday = new Object[]{1L, "Max Mustermann", "Erzieher", "Käfer", false,
+                10L, 0, LocalTime.of(8, 0), LocalTime.of(16, 0), "normal", 450, 30};
+        Object[] maxTuesday = new Object[]{1L, "Max Mustermann", "Erzieher", "Käfer", false,
+                11L, 1, null, null, "krank", 0, 0};
+        Object[] annaMonday = new Object[]{2L, "Anna Praktikant", "Praktikant", null, true,
+                12L, 0, LocalTime.of(9, 15), LocalTime.of(13, 0), "normal", 225, 0};
+
+        when(weeklyScheduleRepository.findByWeekNumberAndYear(5, 2026))
+                .thenReturn(Optional.of(testWeeklySchedule));
+        when(scheduleEntryRepository.findWeekMatrixRows(1L))
+                .thenReturn(Arrays.asList(maxMonday, maxTuesday, annaMonday));
+
+        // Act
+        WeekMatrixDTO matrix = scheduleService.getWeekMatrix(5, 2026).orElseThrow();
+
+        // Assert - staff dictionary sent once
+        assertEquals(2, matrix.getStaff().size());
+        assertEquals("Max Mustermann", matrix.getStaff().get(0).getName());
+        assertEquals(450, matrix.getStaff().get(0).getWeeklyMinutes());
+        assertTrue(matrix.getStaff().get(1).getPraktikant());
+        assertEquals(WeekMatrixDTO.DAYS_PER_WEEK, matrix.getDays().size());
+
+        // Monday: both staff working, minute-of-day times
+        WeekMatrixDTO.DayColumn monday = matrix.getDays().get(0);
+        assertArrayEquals(new int[]{480, 555}, monday.getStart());
+        assertArrayEquals(new int[]{960, 780}, monday.getEnd());
+        assertArrayEquals(new long[]{10L, 12L}, monday.getEntryIds());
+        assertEquals(450, monday.getTotalMinutesWithoutPraktikanten());
+        assertEquals(675, monday.getTotalMinutesWithPraktikanten());
+        assertEquals(1, monday.getStaffCountWithoutPraktikanten());
+        assertEquals(2, monday.getTotalStaffCount());
+        assertEquals(testWeeklySchedule.getStartDate(), monday.getWorkDate());
+
+        // Tuesday: Max is sick, Anna has no entry
+        WeekMatrixDTO.DayColumn tuesday = matrix.getDays().get(1);
+        assertEquals("krank", matrix.getStatuses().get(tuesday.getStatus()[0]));
+        assertEquals(WeekMatrixDTO.NO_VALUE, tuesday.getStart()[0]);
+        assertEquals(WeekMatrixDTO.NO_VALUE, tuesday.getStatus()[1]);
+        assertEquals(0L, tuesday.getEntryIds()[1]);
+    }
+
+    @Test
+    void getWeekMatrix_WithUnknownStatus_ShouldExtendStatusTable() {
+        // Arrange
+        Object[] row = new Object[]{1L, "Max Mustermann", "Erzieher", "Käfer", false,
+                10L, 2, null, null, "Fortbildung", 0, 0};
+
+        when(weeklyScheduleRepository.findByWeekNumberAndYear(5, 2026))
+                .thenReturn(Optional.of(testWeeklySchedule));
+        when(scheduleEntryRepository.findWeekMatrixRows(1L))
+                .thenReturn(Collections.singletonList(row));
+
+        // Act
+        WeekMatrixDTO matrix = scheduleService.getWeekMatrix(5, 2026).orElseThrow();
+
+        // Assert
+        int code = matrix.getDays().get(2).getStatus()[0];
+        assertEquals("Fortbildung", matrix.getStatuses().get(code));
+    }
+
+    @Test
+    void getWeekMatrix_WithUnknownWeek_ShouldReturnEmpty() {
+        // Arrange
+        when(weeklyScheduleRepository.findByWeekNumberAndYear(99, 2026))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(scheduleService.getWeekMatrix(99, 2026).isEmpty());
+        verify(scheduleEntryRepository, never()).findWeekMatrixRows(any());
+    }
+
+    @Test
+    void createScheduleEntry_ShouldPublishCreatedEvent() {
+        // Arrange
+        when(scheduleEntryRepository.save(any(ScheduleEntry.class))).thenReturn(testEntry);
+        ArgumentCaptor<ScheduleEntryChangedEvent> captor = ArgumentCaptor.forClass(ScheduleEntryChangedEvent.class);
+
+        // Act
+        scheduleService.createScheduleEntry(testEntry);
+
+        // Assert
+        verify(eventPublisher).publishEvent(captor.capture());
+        ScheduleEntryChangedEvent event = captor.getValue();
+        assertTrue(event.isCreated());
+        assertEquals(testStaff.getId(), event.getStaffId());
+        assertEquals(testGroup.getId(), event.getGroupId());
+    }
+
+    @Test
+    void updateScheduleEntry_ShouldPublishBeforeAndAfterState() {
+        // Arrange
+        testEntry.setStatus("normal");
+        ScheduleEntry updateData = new ScheduleEntry();
+        updateData.setStatus("krank");
+
+        when(scheduleEntryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(scheduleEntryRepository.save(any(ScheduleEntry.class))).thenReturn(testEntry);
+        ArgumentCaptor<ScheduleEntryChangedEvent> captor = ArgumentCaptor.forClass(ScheduleEntryChangedEvent.class);
+
+        // Act
+        scheduleService.updateScheduleEntry(1L, updateData);
+
+        // Assert
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals("normal", captor.getValue().getBefore().getStatus());
+        assertEquals("krank", captor.getValue().getAfter().getStatus());
+    }
+
+    @Test
+    void deleteScheduleEntry_ShouldPublishDeletedEvent() {
+        // Arrange
+        when(scheduleEntryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        ArgumentCaptor<ScheduleEntryChangedEvent> captor = ArgumentCaptor.forClass(ScheduleEntryChangedEvent.class);
+
+        // Act
+        scheduleService.deleteScheduleEntry(1L);
+
+        // Assert
+        verify(scheduleEntryRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertTrue(captor.getValue().isDeleted());
+        assertEquals(1L, captor.getValue().getEntryId());
+    }
+
+    @Test
+    void deleteWeek_ShouldDeleteSetBasedAndPublishBulkEvent() {
+        // Arrange
+        when(weeklyScheduleRepository.findById(1L)).thenReturn(Optional.of(testWeeklySchedule));
+        LocalDate monday = testWeeklySchedule.getStartDate();
+
+        // Act
+        scheduleService.deleteWeek(1L);
+
+        // Assert
+        verify(weeklyScheduleRepository).deleteWeekEntries(1L);
+        verify(weeklyScheduleRepository).deleteWeek(1L);
+        verify(eventPublisher).publishEvent(new ScheduleEntriesBulkChangedEvent(Set.of(1L), monday,
+                monday.plusDays(6), Set.of()));
+    }
+
+    @Test
+    void deleteWeek_UnknownId_ShouldDoNothing() {
+        // Arrange
+        when(weeklyScheduleRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        scheduleService.deleteWeek(999L);
+
+        // Assert
+        verify(weeklyScheduleRepository, never()).deleteWeek(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void createScheduleEntry_WithWarnings_ShouldReturnViolationsOnDTO() {
+        // Arrange
+        ComplianceViolationDTO violation = new ComplianceViolationDTO(1L, null, 2L, testEntry.getWorkDate(),
+                ComplianceRule.MIN_REST, 600, 660, "Rest period 10:00 is shorter than the required 11:00");
+        when(complianceService.checkEntry(testEntry)).thenReturn(List.of(violation));
+        when(scheduleEntryRepository.save(any(ScheduleEntry.class))).thenReturn(testEntry);
+
+        // Act
+        ScheduleEntryDTO result = scheduleService.createScheduleEntry(testEntry);
+
+        // Assert
+        assertEquals(List.of(violation), result.getViolations());
+    }
+
+    @Test
+    void createScheduleEntry_WhenBlocked_ShouldNotSaveOrPublish() {
+        // Arrange
+        ComplianceViolationDTO violation = new ComplianceViolationDTO(1L, null, null, testEntry.getWorkDate(),
+                ComplianceRule.MAX_DAILY_WORK, 660, 600, "Working time 11:00 exceeds the daily maximum of 10:00");
+        when(complianceService.checkEntry(testEntry)).thenThrow(new ComplianceViolationException(List.of(violation)));
+
+        // Act & Assert
+        assertThrows(ComplianceViolationException.class, () -> scheduleService.createScheduleEntry(testEntry));
+        verify(scheduleEntryRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateScheduleEntry_ShouldCheckUpdatedState() {
+        // Arrange
+        ScheduleEntry updateData = new ScheduleEntry();
+        updateData.setEndTime(LocalTime.of(19, 0));
+        when(scheduleEntryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(scheduleEntryRepository.save(any(ScheduleEntry.class))).thenReturn(testEntry);
+        ArgumentCaptor<ScheduleEntry> captor = ArgumentCaptor.forClass(ScheduleEntry.class);
+
+        // Act
+        scheduleService.updateScheduleEntry(1L, updateData);
+
+        // Assert
+        verify(complianceService).checkEntry(captor.capture());
+        assertEquals(LocalTime.of(19, 0), captor.getValue().getEndTime());
+    }
+
+    @Test
+    void createScheduleEntry_WithShiftType_ShouldTakeShiftTimes() {
+        // Arrange
+        testEntry.setStartTime(null);
+        testEntry.setEndTime(null);
+        testEntry.setShiftTypeId((short) 2);
+        when(shiftTypeRepository.findById((short) 2)).thenReturn(Optional.of(spaet()));
+        when(scheduleEntryRepository.save(any(ScheduleEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ScheduleEntryDTO result = scheduleService.createScheduleEntry(testEntry);
+
+        // Assert
+        assertEquals(LocalTime.of(9, 0), result.getStartTime());
+        assertEquals(LocalTime.of(17, 0), result.getEndTime());
+        assertEquals((short) 2, result.getShiftTypeId());
+    }
+
+    @Test
+    void updateScheduleEntry_ToDayOff_ShouldDropShiftType() {
+        // Arrange
+        testEntry.setStartTime(LocalTime.of(9, 0));
+        testEntry.setEndTime(LocalTime.of(17, 0));
+        testEntry.setShiftTypeId((short) 2);
+        ScheduleEntry updateData = new ScheduleEntry();
+        updateData.setStatus("krank");
+        when(scheduleEntryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(scheduleEntryRepository.save(any(ScheduleEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ScheduleEntryDTO result = scheduleService.updateScheduleEntry(1L, updateData);
+
+        // Assert
+        assertNull(result.getShiftTypeId());
+    }
+
+    @Test
+    void updateScheduleEntry_WithMatchingTimes_ShouldKeepShiftType() {
+        // Arrange
+        testEntry.setStartTime(LocalTime.of(8, 0));
+        testEntry.setShiftTypeId((short) 2);
+        ScheduleEntry updateData = new ScheduleEntry();
+        updateData.setStartTime(LocalTime.of(9, 0));
+        updateData.setEndTime(LocalTime.of(17, 0));
+        when(scheduleEntryRepository.findById(1L)).thenReturn(Optional.of(testEntry));
+        when(shiftTypeRepository.findById((short) 2)).thenReturn(Optional.of(spaet()));
+        when(scheduleEntryRepository.save(any(ScheduleEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ScheduleEntryDTO result = scheduleService.updateScheduleEntry(1L, updateData);
+
+        // Assert
+        assertEquals((short) 2, result.getShiftTypeId());
+    }
+
+    @Test
+    void createScheduleEntry_OnClosedDayWithoutStatus_ShouldBookFeiertag() {
+        // Arrange
+        testEntry.setStatus(null);
+        testEntry.setWorkDate(LocalDate.of(2026, 4, 3));
+        when(holidayCalendarService.isClosed(LocalDate.of(2026, 4, 3))).thenReturn(true);
+        when(holidayCalendarService.dayName(LocalDate.of(2026, 4, 3))).thenReturn("Karfreitag");
+        when(scheduleEntryRepository.save(any(ScheduleEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        ScheduleEntryDTO result = scheduleService.createScheduleEntry(testEntry);
+
+        // Assert
+        assertEquals("Feiertag", result.getStatus());
+        assertEquals("Karfreitag", result.getSpecialDay());
+    }
+
+    private ShiftType spaet() {
+        ShiftType shiftType = new ShiftType();
+        shiftType.setId((short) 2);
+        shiftType.setCode("SPAET");
+        shiftType.setName("Spät");
+        shiftType.setStartTime(LocalTime.of(9, 0));
+        shiftType.setEndTime(LocalTime.of(17, 0));
+        return shiftType;
+    }
 }
@@ -0,0 +1,139 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.StaffDTO;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.StaffChangedEvent;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.StaffRepository;
+import com.kita.dienstplan.util.TestDataBuilder;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the delete paths of StaffService against the H2 schema
+ * Verifies the set-based hard delete and the soft delete that keeps history, and their change events
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, StaffService.class})
+@Sql(scripts = "/test-schema.sql")
+@RecordApplicationEvents
+class StaffServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StaffService staffService;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private Staff max;
+    private Staff erika;
+    private WeeklySchedule week6;
+    private WeeklySchedule week7;
+
+    @BeforeEach
+    void setUp() {
+        max = entityManager.persist(TestDataBuilder.createTestStaff("Max", "Mustermann", null));
+        erika = entityManager.persist(TestDataBuilder.createTestStaff("Erika", "Musterfrau", null));
+        week6 = entityManager.persist(TestDataBuilder.createTestWeeklySchedule(6, 2026));
+        week7 = entityManager.persist(TestDataBuilder.createTestWeeklySchedule(7, 2026));
+
+        for (int day = 0; day < 5; day++) {
+            entry(week6, max, day);
+            entry(week7, max, day);
+            entry(week6, erika, day);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void deleteStaff_ShouldDeleteStaffAndAllTheirEntries() {
+        // Act
+        boolean deleted = staffService.deleteStaff(max.getId());
+
+        // Assert
+        assertTrue(deleted);
+        assertFalse(staffRepository.existsById(max.getId()));
+        List<ScheduleEntry> remaining = scheduleEntryRepository.findAll();
+        assertEquals(5, remaining.size());
+        assertTrue(remaining.stream().allMatch(entry -> entry.getStaff().getId().equals(erika.getId())));
+        ScheduleEntriesBulkChangedEvent event = events.stream(ScheduleEntriesBulkChangedEvent.class)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(Set.of(week6.getId(), week7.getId()), event.getWeeklyScheduleIds());
+        assertEquals(Set.of(max.getId()), event.getStaffIds());
+        assertEquals(1, events.stream(StaffChangedEvent.class).count());
+    }
+
+    @Test
+    void deleteStaff_UnknownId_ShouldReturnFalse() {
+        // Act & Assert
+        assertFalse(staffService.deleteStaff(999L));
+        assertEquals(15, scheduleEntryRepository.count());
+    }
+
+    @Test
+    void archiveStaff_ShouldDeactivateAndDropOnlyEntriesAfterTerminationDate() {
+        // Arrange - Wednesday of week 6
+        LocalDate lastDay = week6.getStartDate().plusDays(2);
+
+        // Act
+        StaffDTO archived = staffService.archiveStaff(max.getId(), lastDay).orElseThrow();
+
+        // Assert
+        assertFalse(archived.getIsActive());
+        assertEquals(lastDay, archived.getTerminationDate());
+        Staff reloaded = staffRepository.findById(max.getId()).orElseThrow();
+        assertFalse(reloaded.getIsActive());
+        List<ScheduleEntry> kept = scheduleEntryRepository.findAll().stream()
+                .filter(entry -> entry.getStaff().getId().equals(max.getId()))
+                .toList();
+        assertEquals(3, kept.size());
+        assertTrue(kept.stream().noneMatch(entry -> entry.getWorkDate().isAfter(lastDay)));
+        assertEquals(5, scheduleEntryRepository.findAll().stream()
+                .filter(entry -> entry.getStaff().getId().equals(erika.getId()))
+                .count());
+    }
+
+    @Test
+    void archiveStaff_UnknownId_ShouldReturnEmpty() {
+        // Act & Assert
+        assertTrue(staffService.archiveStaff(999L, LocalDate.of(2026, 2, 4)).isEmpty());
+    }
+
+    private void entry(WeeklySchedule week, Staff staff, int day) {
+        entityManager.persist(TestDataBuilder.createTestScheduleEntry(week, staff, day,
+                LocalTime.of(8, 0), LocalTime.of(16, 0)));
+    }
+}
@@ -0,0 +1,147 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.StaffingReportDTO;
+import com.kita.dienstplan.dto.StaffingRuleDTO;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.event.StaffingRulesChangedEvent;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for StaffingRuleService against the H2 schema
+ * Verifies rule validation, the week report and incremental updates of a kept week
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, StaffingRuleService.class})
+@Sql(scripts = "/test-schema.sql")
+class StaffingRuleServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 2, 2);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StaffingRuleService staffingRuleService;
+
+    private WeeklySchedule week;
+    private Group kaefer;
+    private Staff anna;
+    private Staff bernd;
+
+    @BeforeEach
+    void setUp() {
+        kaefer = new Group();
+        kaefer.setName("Käfer");
+        entityManager.persist(kaefer);
+        week = new WeeklySchedule();
+        week.setWeekNumber(6);
+        week.setYear(2026);
+        week.setStartDate(MONDAY);
+        week.setEndDate(MONDAY.plusDays(6));
+        entityManager.persist(week);
+        anna = staff("Anna");
+        bernd = staff("Bernd");
+        entityManager.flush();
+        // The service outlives each test's rolled-back data
+        staffingRuleService.onStaffingRulesChanged(new StaffingRulesChangedEvent(null));
+    }
+
+    @Test
+    void createRule_ShouldRejectEmptyWindow() {
+        // Arrange
+        StaffingRuleDTO request = request(LocalTime.of(12, 0), LocalTime.of(8, 0));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> staffingRuleService.createRule(request));
+    }
+
+    @Test
+    void getWeekReport_ShouldApplyEntryChangesIncrementally() {
+        // Arrange: Kernzeit 8:00-12:00 needs two Erzieher of the Käfer group
+        StaffingRuleDTO rule = staffingRuleService.createRule(request(LocalTime.of(8, 0), LocalTime.of(12, 0))).orElseThrow();
+        entry(anna, LocalTime.of(7, 0), LocalTime.of(15, 0));
+        ScheduleEntry late = entry(bernd, LocalTime.of(10, 0), LocalTime.of(18, 0));
+        entityManager.flush();
+
+        // Act
+        StaffingReportDTO before = staffingRuleService.getWeekReport(2026, 6).orElseThrow();
+        EntryState previous = EntryState.of(late);
+        late.setStartTime(LocalTime.of(8, 0));
+        late.setEndTime(LocalTime.of(16, 0));
+        staffingRuleService.onScheduleEntryChanged(ScheduleEntryChangedEvent.of(late, previous, EntryState.of(late)));
+        StaffingReportDTO after = staffingRuleService.getWeekReport(2026, 6).orElseThrow();
+
+        // Assert: Monday is short from 8:00 to 10:00 until Bernd starts earlier; Tuesday-Friday stay empty
+        StaffingReportDTO.RuleDay monday = before.getDays().get(0);
+        assertEquals(rule.getId(), monday.getRuleId());
+        assertEquals(List.of(new StaffingReportDTO.Gap(LocalTime.of(8, 0), LocalTime.of(10, 0), 1, 2)), monday.getGaps());
+        assertEquals(8 + 4 * 16, before.getFailingSlots());
+        assertTrue(after.getDays().get(0).getSatisfied());
+        assertEquals(4 * 16, after.getFailingSlots());
+        assertFalse(after.getSatisfied());
+    }
+
+    @Test
+    void getWeekReport_UnknownWeek_ShouldReturnEmpty() {
+        assertTrue(staffingRuleService.getWeekReport(2026, 40).isEmpty());
+    }
+
+    private StaffingRuleDTO request(LocalTime startTime, LocalTime endTime) {
+        StaffingRuleDTO request = new StaffingRuleDTO();
+        request.setName("Käfer Kernzeit");
+        request.setGroupId(kaefer.getId());
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setRoles(List.of("Erzieher"));
+        request.setMinStaff(2);
+        return request;
+    }
+
+    private Staff staff(String firstName) {
+        Staff staff = new Staff();
+        staff.setFirstName(firstName);
+        staff.setLastName("Muster");
+        staff.setFullName(firstName + " Muster");
+        staff.setRole("Erzieher");
+        staff.setGroup(kaefer);
+        staff.setWeeklyHours(new BigDecimal("39.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        return entityManager.persist(staff);
+    }
+
+    private ScheduleEntry entry(Staff staff, LocalTime startTime, LocalTime endTime) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(week);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(0);
+        entry.setWorkDate(MONDAY);
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setStatus("normal");
+        return entityManager.persist(entry);
+    }
+}
@@ -0,0 +1,160 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.SubstituteCandidateDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.event.ScheduleEntriesBulkChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent;
+import com.kita.dienstplan.event.ScheduleEntryChangedEvent.EntryState;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SubstituteService against the H2 schema
+ * Verifies the candidate ranking from real entries and absences and the eviction of cached days
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, SubstituteService.class})
+@Sql(scripts = "/test-schema.sql")
+class SubstituteServiceTest {
+
+    // Wednesday of week 6 of 2026
+    private static final LocalDate MONDAY = LocalDate.of(2026, 2, 2);
+    private static final LocalDate DAY = MONDAY.plusDays(2);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SubstituteService substituteService;
+
+    private WeeklySchedule week;
+    private Staff anna;
+    private Staff bernd;
+    private Staff clara;
+    private Staff dora;
+
+    @BeforeEach
+    void setUp() {
+        Group kaefer = group("Käfer");
+        Group bienen = group("Bienen");
+        week = new WeeklySchedule();
+        week.setWeekNumber(6);
+        week.setYear(2026);
+        week.setStartDate(MONDAY);
+        week.setEndDate(MONDAY.plusDays(6));
+        entityManager.persist(week);
+        anna = staff("Anna", kaefer, "39.00");
+        bernd = staff("Bernd", bienen, "39.00");
+        clara = staff("Clara", kaefer, "20.00");
+        dora = staff("Dora", kaefer, "39.00");
+        entityManager.flush();
+        // The service outlives each test's rolled-back data
+        substituteService.onScheduleEntriesBulkChanged(
+                new ScheduleEntriesBulkChangedEvent(Set.of(), MONDAY, MONDAY.plusDays(6), Set.of()));
+    }
+
+    @Test
+    void findCandidates_ShouldRankByGroupAndRemainingHours() {
+        // Arrange: Anna calls in sick; Clara already worked 16 of her 20 hours this week, Dora is on leave
+        entry(anna, DAY, "krank", null, null);
+        entry(clara, MONDAY, "normal", LocalTime.of(7, 0), LocalTime.of(15, 30));
+        entry(clara, MONDAY.plusDays(1), "normal", LocalTime.of(7, 0), LocalTime.of(15, 30));
+        absence(dora, DAY.minusDays(2), DAY.plusDays(2));
+        entityManager.flush();
+
+        // Act
+        List<SubstituteCandidateDTO> candidates = substituteService.findCandidates(DAY,
+                LocalTime.of(7, 0), LocalTime.of(15, 0), anna.getId(), null, false, 10);
+
+        // Assert: Clara is in Anna's group but would run into overtime; Bernd is next
+        assertEquals(2, candidates.size());
+        assertEquals(clara.getId(), candidates.get(0).getStaffId());
+        assertTrue(candidates.get(0).getSameGroup());
+        assertEquals(20 * 60 - 2 * 480, candidates.get(0).getRemainingMinutes());
+        assertEquals(450 - 240, candidates.get(0).getOvertimeMinutes());
+        assertEquals(bernd.getId(), candidates.get(1).getStaffId());
+        assertEquals(39 * 60, candidates.get(1).getRemainingMinutes());
+    }
+
+    @Test
+    void findCandidates_ShouldServeCachedDayUntilAChangeIsPublished() {
+        // Arrange
+        substituteService.warm(DAY, DAY);
+        ScheduleEntry late = entry(bernd, DAY.minusDays(1), "normal", LocalTime.of(14, 0), LocalTime.of(22, 0));
+        entityManager.flush();
+
+        // Act
+        List<SubstituteCandidateDTO> cached = substituteService.findCandidates(DAY,
+                LocalTime.of(7, 0), LocalTime.of(15, 0), null, null, false, 10);
+        substituteService.onScheduleEntryChanged(ScheduleEntryChangedEvent.of(late, null, EntryState.of(late)));
+        List<SubstituteCandidateDTO> fresh = substituteService.findCandidates(DAY,
+                LocalTime.of(7, 0), LocalTime.of(15, 0), null, null, false, 10);
+
+        // Assert: after the late shift, Bernd has only 9 hours of rest before 7:00
+        assertEquals(4, cached.size());
+        assertEquals(3, fresh.size());
+        assertTrue(fresh.stream().noneMatch(candidate -> candidate.getStaffId().equals(bernd.getId())));
+    }
+
+    private Group group(String name) {
+        Group group = new Group();
+        group.setName(name);
+        return entityManager.persist(group);
+    }
+
+    private Staff staff(String firstName, Group group, String weeklyHours) {
+        Staff staff = new Staff();
+        staff.setFirstName(firstName);
+        staff.setLastName("Muster");
+        staff.setFullName(firstName + " Muster");
+        staff.setRole("Erzieher");
+        staff.setGroup(group);
+        staff.setWeeklyHours(new BigDecimal(weeklyHours));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(true);
+        return entityManager.persist(staff);
+    }
+
+    private void absence(Staff staff, LocalDate startDate, LocalDate endDate) {
+        Absence absence = new Absence();
+        absence.setStaff(staff);
+        absence.setStatus("Urlaub");
+        absence.setStartDate(startDate);
+        absence.setEndDate(endDate);
+        entityManager.persist(absence);
+    }
+
+    private ScheduleEntry entry(Staff staff, LocalDate day, String status, LocalTime startTime, LocalTime endTime) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(week);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(day.getDayOfWeek().getValue() - 1);
+        entry.setWorkDate(day);
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setStatus(status);
+        return entityManager.persist(entry);
+    }
+}
@@ -0,0 +1,272 @@
+package com.kita.dienstplan.service;
+
+import com.kita.dienstplan.dto.WeekCopyRequest;
+import com.kita.dienstplan.dto.WeekCopyResultDTO;
+import com.kita.dienstplan.dto.WeekTemplateDTO;
+import com.kita.dienstplan.entity.HoursAccount;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.WeeklySchedule;
+import com.kita.dienstplan.repository.HoursAccountRepository;
+import com.kita.dienstplan.repository.IdBlockAllocator;
+import com.kita.dienstplan.repository.ScheduleEntryRepository;
+import com.kita.dienstplan.repository.WeekTemplateRepository;
+import com.kita.dienstplan.util.TestJpaAuditingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for WeekCopyService against the H2 schema
+ * Verifies the set-based copy (dates, filters, status reset, replace) and week templates
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({TestJpaAuditingConfig.class, WeekCopyService.class, IdBlockAllocator.class, HoursAccountService.class})
+@Sql(scripts = "/test-schema.sql")
+class WeekCopyServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private WeekCopyService weekCopyService;
+
+    @Autowired
+    private ScheduleEntryRepository scheduleEntryRepository;
+
+    @Autowired
+    private WeekTemplateRepository weekTemplateRepository;
+
+    @Autowired
+    private HoursAccountRepository hoursAccountRepository;
+
+    private Staff max;
+    private Staff erika;
+    private WeeklySchedule week6;
+
+    @BeforeEach
+    void setUp() {
+        max = staff("Max", "Mustermann", true);
+        erika = staff("Erika", "Musterfrau", true);
+
+        week6 = new WeeklySchedule();
+        week6.setWeekNumber(6);
+        week6.setYear(2026);
+        week6.setStartDate(LocalDate.of(2026, 2, 2));
+        week6.setEndDate(LocalDate.of(2026, 2, 8));
+        entityManager.persist(week6);
+
+        entry(max, 0, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0));
+        entry(max, 1, "krank", null, null);
+        entry(erika, 0, "normal", LocalTime.of(7, 0), LocalTime.of(13, 0));
+        entry(erika, 2, "frei", null, null);
+        entityManager.flush();
+    }
+
+    @Test
+    void copyWeek_ShouldCreateTargetWeekAndShiftDates() {
+        // Act
+        WeekCopyResultDTO result = weekCopyService.copyWeek(2026, 6, request(2026, 9)).orElseThrow();
+
+        // Assert
+        assertTrue(result.getWeekCreated());
+        assertEquals(LocalDate.of(2026, 2, 23), result.getStartDate());
+        assertEquals(4, result.getCopiedEntries());
+
+        List<ScheduleEntry> copied = targetEntries(result);
+        assertEquals(4, copied.size());
+        ScheduleEntry maxMonday = copied.get(0);
+        assertEquals(LocalDate.of(2026, 2, 23), maxMonday.getWorkDate());
+        assertEquals(LocalTime.of(8, 0), maxMonday.getStartTime());
+        assertEquals(450, maxMonday.getWorkingHoursMinutes());
+        assertEquals(30, maxMonday.getBreakMinutes());
+        assertEquals("test-user", maxMonday.getCreatedBy());
+        assertNull(maxMonday.getNotes());
+        assertTrue(copied.stream().anyMatch(entry -> entry.getWorkDate().equals(LocalDate.of(2026, 2, 25))));
+    }
+
+    @Test
+    void copyWeek_WithResetStatus_ShouldResetOneOffAbsencesOnly() {
+        // Act
+        WeekCopyResultDTO result = weekCopyService.copyWeek(2026, 6, request(2026, 9)).orElseThrow();
+
+        // Assert
+        List<String> statuses = targetEntries(result).stream().map(ScheduleEntry::getStatus).toList();
+        assertFalse(statuses.contains("krank"));
+        assertTrue(statuses.contains("frei"));
+    }
+
+    @Test
+    void copyWeek_WithoutResetStatus_ShouldKeepStatuses() {
+        // Arrange
+        WeekCopyRequest request = request(2026, 9);
+        request.setResetStatus(false);
+
+        // Act
+        WeekCopyResultDTO result = weekCopyService.copyWeek(2026, 6, request).orElseThrow();
+
+        // Assert
+        assertTrue(targetEntries(result).stream().anyMatch(entry -> "krank".equals(entry.getStatus())));
+    }
+
+    @Test
+    void copyWeek_WithStaffFilter_ShouldCopyOnlySelectedStaff() {
+        // Arrange
+        WeekCopyRequest request = request(2026, 9);
+        request.setStaffIds(List.of(erika.getId()));
+
+        // Act
+        WeekCopyResultDTO result = weekCopyService.copyWeek(2026, 6, request).orElseThrow();
+
+        // Assert
+        assertEquals(2, result.getCopiedEntries());
+        assertTrue(targetEntries(result).stream().allMatch(entry -> entry.getStaff().getId().equals(erika.getId())));
+    }
+
+    @Test
+    void copyWeek_ShouldSkipInactiveStaffAndExistingSlots() {
+        // Arrange: Erika leaves, Max already has a Monday in the target week
+        erika.setIsActive(false);
+        weekCopyService.copyWeek(2026, 6, request(2026, 9));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        WeekCopyResultDTO again = weekCopyService.copyWeek(2026, 6, request(2026, 9)).orElseThrow();
+
+        // Assert
+        assertFalse(again.getWeekCreated());
+        assertEquals(0, again.getCopiedEntries());
+        assertEquals(2, targetEntries(again).size());
+    }
+
+    @Test
+    void copyWeek_WithReplaceExisting_ShouldOverwriteTargetEntries() {
+        // Arrange
+        WeekCopyResultDTO first = weekCopyService.copyWeek(2026, 6, request(2026, 9)).orElseThrow();
+        WeekCopyRequest replace = request(2026, 9);
+        replace.setReplaceExisting(true);
+
+        // Act
+        WeekCopyResultDTO result = weekCopyService.copyWeek(2026, 6, replace).orElseThrow();
+
+        // Assert
+        assertEquals(first.getWeeklyScheduleId(), result.getWeeklyScheduleId());
+        assertEquals(4, result.getDeletedEntries());
+        assertEquals(4, result.getCopiedEntries());
+        assertEquals(4, targetEntries(result).size());
+    }
+
+    @Test
+    void copyWeek_UnknownSourceWeek_ShouldReturnEmpty() {
+        assertTrue(weekCopyService.copyWeek(2026, 40, request(2026, 41)).isEmpty());
+    }
+
+    @Test
+    void copyWeek_ShouldBookCopiedWeekInHoursAccounts() {
+        // Act
+        weekCopyService.copyWeek(2026, 6, request(2026, 9));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert: one planned week of 30h Soll; the reset sick day has no times, so only Monday counts
+        HoursAccount account = hoursAccountRepository.findById(max.getId()).orElseThrow();
+        assertEquals(1800, account.getTargetMinutes());
+        assertEquals(450, account.getActualMinutes());
+    }
+
+    @Test
+    void template_ShouldRoundTripIntoAnotherWeek() {
+        // Arrange
+        WeekTemplateDTO template = weekCopyService
+                .createTemplate("Regelwoche", "Standard week", 2026, 6, null).orElseThrow();
+
+        // Act
+        WeekCopyResultDTO result = weekCopyService.applyTemplate(template.getId(), request(2026, 12)).orElseThrow();
+
+        // Assert
+        assertEquals(4, template.getEntryCount());
+        assertEquals(2, template.getStaffCount());
+        assertEquals("test-user", template.getCreatedBy());
+        assertEquals(4, result.getCopiedEntries());
+        assertEquals(LocalDate.of(2026, 3, 16), targetEntries(result).get(0).getWorkDate());
+        assertEquals(1, weekCopyService.getTemplates().size());
+    }
+
+    @Test
+    void deleteTemplate_ShouldRemoveTemplateRows() {
+        // Arrange
+        WeekTemplateDTO template = weekCopyService
+                .createTemplate("Regelwoche", null, 2026, 6, List.of(max.getId())).orElseThrow();
+
+        // Act
+        boolean deleted = weekCopyService.deleteTemplate(template.getId());
+
+        // Assert
+        assertTrue(deleted);
+        assertEquals(2, template.getEntryCount());
+        assertTrue(weekTemplateRepository.countEntries(List.of(template.getId())).isEmpty());
+        assertFalse(weekCopyService.deleteTemplate(template.getId()));
+    }
+
+    @Test
+    void weekStart_ShouldFollowIsoWeeks() {
+        assertEquals(LocalDate.of(2025, 12, 29), WeekCopyService.weekStart(2026, 1));
+        assertEquals(LocalDate.of(2026, 12, 28), WeekCopyService.weekStart(2026, 53));
+    }
+
+    private List<ScheduleEntry> targetEntries(WeekCopyResultDTO result) {
+        return scheduleEntryRepository.findByWeekNumberAndYear(result.getWeekNumber(), result.getYear()).stream()
+                .sorted(Comparator.comparing((ScheduleEntry entry) -> entry.getStaff().getFullName()).reversed()
+                        .thenComparing(ScheduleEntry::getDayOfWeek))
+                .toList();
+    }
+
+    private WeekCopyRequest request(int year, int week) {
+        WeekCopyRequest request = new WeekCopyRequest();
+        request.setTargetYear(year);
+        request.setTargetWeek(week);
+        return request;
+    }
+
+    private Staff staff(String firstName, String lastName, boolean active) {
+        Staff staff = new Staff();
+        staff.setFirstName(firstName);
+        staff.setLastName(lastName);
+        staff.setFullName(firstName + " " + lastName);
+        staff.setRole("Erzieher");
+        staff.setWeeklyHours(new BigDecimal("30.00"));
+        staff.setIsPraktikant(false);
+        staff.setIsActive(active);
+        return entityManager.persist(staff);
+    }
+
+    private void entry(Staff staff, int dayOfWeek, String status, LocalTime startTime, LocalTime endTime) {
+        ScheduleEntry entry = new ScheduleEntry();
+        entry.setWeeklySchedule(week6);
+        entry.setStaff(staff);
+        entry.setDayOfWeek(dayOfWeek);
+        entry.setWorkDate(week6.getStartDate().plusDays(dayOfWeek));
+        entry.setStartTime(startTime);
+        entry.setEndTime(endTime);
+        entry.setStatus(status);
+        entry.setNotes("Nur diese Woche");
+        entityManager.persist(entry);
+    }
+}
@@ -0,0 +1,147 @@
+package com.kita.dienstplan.staffing;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.dto.StaffingReportDTO;
+import com.kita.dienstplan.entity.Absence;
+import com.kita.dienstplan.entity.Group;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import com.kita.dienstplan.entity.Staff;
+import com.kita.dienstplan.entity.StaffingRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompiledRule and WeekStaffing
+ * Tests the staff filter, slot coverage, gaps and that deltas match a full rebuild
+ */
+class WeekStaffingTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 2, 2);
+
+    private final CompiledRule[] rules = {
+            CompiledRule.compile(rule(1L, 10L, "08:00", "12:00", "Erzieher,Erzieherin", false, 2)),
+            CompiledRule.compile(rule(2L, null, "07:10", "16:50", null, true, 1))
+    };
+
+    @Test
+    void compile_ShouldFilterByGroupRoleAndPraktikant() {
+        // Arrange
+        CompiledRule rule = rules[0];
+
+        // Act & Assert
+        assertTrue(rule.qualifies(new StaffProfile(1L, 10L, "erzieherin", false)));
+        assertFalse(rule.qualifies(new StaffProfile(2L, 20L, "Erzieher", false)));
+        assertFalse(rule.qualifies(new StaffProfile(3L, 10L, "Koch", false)));
+        assertFalse(rule.qualifies(new StaffProfile(4L, 10L, "Erzieher", true)));
+        assertTrue(rules[1].qualifies(new StaffProfile(4L, 0L, null, true)));
+        // 07:10-16:50 is widened to whole slots
+        assertEquals(28, rules[1].getFirstSlot());
+        assertEquals(40, rules[1].getSlotCount());
+    }
+
+    @Test
+    void evaluate_ShouldReportCountsAndGaps() {
+        // Arrange: two Erzieher overlap only from 9:00 to 11:00 on Monday
+        WeekStaffing week = WeekStaffing.build(rules, MONDAY, List.of(
+                row(1L, 10L, "Erzieher", false, MONDAY, "normal", "07:00", "11:00"),
+                row(2L, 10L, "Erzieherin", false, MONDAY, "normal", "09:00", "15:00"),
+                row(3L, 10L, "Praktikant", true, MONDAY, "normal", "08:00", "12:00")), AbsenceIndex.empty());
+
+        // Act
+        StaffingReportDTO.RuleDay monday = week.evaluate().get(0);
+
+        // Assert
+        assertEquals(1L, monday.getRuleId());
+        assertEquals(MONDAY, monday.getWorkDate());
+        assertFalse(monday.getSatisfied());
+        assertEquals(16, monday.getCounts().length);
+        assertEquals(1, monday.getCounts()[0]);
+        assertEquals(2, monday.getCounts()[4]);
+        assertEquals(2, monday.getGaps().size());
+        assertEquals(LocalTime.of(8, 0), monday.getGaps().get(0).getStartTime());
+        assertEquals(LocalTime.of(9, 0), monday.getGaps().get(0).getEndTime());
+        assertEquals(LocalTime.of(11, 0), monday.getGaps().get(1).getStartTime());
+        assertEquals(LocalTime.of(12, 0), monday.getGaps().get(1).getEndTime());
+        assertEquals(1, monday.getGaps().get(1).getPresent());
+        // Monday to Friday by default
+        assertEquals(5, week.evaluate().stream().filter(day -> day.getRuleId() == 1L).count());
+    }
+
+    @Test
+    void apply_ShouldMatchRebuild() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>(List.of(
+                row(1L, 10L, "Erzieher", false, MONDAY, "normal", "07:00", "11:00"),
+                row(2L, 10L, "Erzieherin", false, MONDAY, "normal", "09:00", "15:00")));
+        WeekStaffing week = WeekStaffing.build(rules, MONDAY, rows, AbsenceIndex.empty());
+
+        // Act: Anna's shift moves to 8:00-16:00
+        assertTrue(week.apply(1L, MONDAY, "normal", LocalTime.of(7, 0), LocalTime.of(11, 0), -1));
+        assertTrue(week.apply(1L, MONDAY, "normal", LocalTime.of(8, 0), LocalTime.of(16, 0), 1));
+        rows.set(0, row(1L, 10L, "Erzieher", false, MONDAY, "normal", "08:00", "16:00"));
+        WeekStaffing rebuilt = WeekStaffing.build(rules, MONDAY, rows, AbsenceIndex.empty());
+
+        // Assert
+        assertEquals(rebuilt.failingSlots(), week.failingSlots());
+        List<StaffingReportDTO.RuleDay> expected = rebuilt.evaluate();
+        List<StaffingReportDTO.RuleDay> actual = week.evaluate();
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i).getCounts(), actual.get(i).getCounts());
+            assertEquals(expected.get(i).getSatisfied(), actual.get(i).getSatisfied());
+        }
+        assertEquals(1, actual.get(0).getGaps().size());
+        assertEquals(LocalTime.of(9, 0), actual.get(0).getGaps().get(0).getEndTime());
+    }
+
+    @Test
+    void apply_ShouldSkipAbsentDaysAndReportUnknownStaff() {
+        // Arrange: Anna is on leave on Monday
+        Staff anna = new Staff();
+        anna.setId(1L);
+        Absence leave = new Absence();
+        leave.setId(5L);
+        leave.setStaff(anna);
+        leave.setStatus("Urlaub");
+        leave.setStartDate(MONDAY);
+        leave.setEndDate(MONDAY);
+        WeekStaffing week = WeekStaffing.build(rules, MONDAY, List.<Object[]>of(
+                row(1L, 10L, "Erzieher", false, MONDAY, "normal", "08:00", "12:00")), AbsenceIndex.of(List.of(leave)));
+
+        // Act & Assert
+        assertEquals(0, week.evaluate().get(0).getCounts()[0]);
+        assertTrue(week.apply(9L, MONDAY, "krank", null, null, 1));
+        assertFalse(week.apply(9L, MONDAY, "normal", LocalTime.of(8, 0), LocalTime.of(12, 0), 1));
+    }
+
+    private static StaffingRule rule(Long id, Long groupId, String start, String end, String roles,
+                                     boolean includePraktikanten, int minStaff) {
+        StaffingRule rule = new StaffingRule();
+        rule.setId(id);
+        rule.setName("Regel " + id);
+        if (groupId != null) {
+            Group group = new Group();
+            group.setId(groupId);
+            group.setName("Käfer");
+            rule.setGroup(group);
+        }
+        rule.setStartTime(LocalTime.parse(start));
+        rule.setEndTime(LocalTime.parse(end));
+        rule.setRoles(roles);
+        rule.setIncludePraktikanten(includePraktikanten);
+        rule.setMinStaff(minStaff);
+        return rule;
+    }
+
+    private static Object[] row(Long staffId, Long groupId, String role, boolean praktikant, LocalDate day,
+                                String status, String start, String end) {
+        return new Object[]{staffId, groupId, role, praktikant, day, status,
+                ScheduleEntry.minuteOfDay(start != null ? LocalTime.parse(start) : null),
+                ScheduleEntry.minuteOfDay(end != null ? LocalTime.parse(end) : null)};
+    }
+}
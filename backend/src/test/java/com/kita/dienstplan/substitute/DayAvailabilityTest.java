@@ -0,0 +1,123 @@
+package com.kita.dienstplan.substitute;
+
+import com.kita.dienstplan.absence.AbsenceIndex;
+import com.kita.dienstplan.dto.SubstituteCandidateDTO;
+import com.kita.dienstplan.entity.ScheduleEntry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DayAvailability
+ * Tests the hard constraints (absence, overlap, rest periods) and the ranking order
+ */
+class DayAvailabilityTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 4);
+    private static final LocalTime EARLY = LocalTime.of(7, 0);
+    private static final LocalTime LATE = LocalTime.of(15, 0);
+
+    private final List<Object[]> staff = List.of(
+            staffRow(1L, "Anna Sick", 10L, "Käfer", false, "39.00"),
+            staffRow(2L, "Bernd Frei", 20L, "Bienen", false, "39.00"),
+            staffRow(3L, "Clara Gruppe", 10L, "Käfer", false, "30.00"),
+            staffRow(4L, "Dora Urlaub", 10L, "Käfer", false, "39.00"),
+            staffRow(5L, "Emil Spät", 20L, "Bienen", false, "39.00"),
+            staffRow(6L, "Fritz Frühdienst", 10L, "Käfer", false, "39.00"),
+            staffRow(7L, "Greta Praktikantin", 10L, "Käfer", true, "20.00"),
+            staffRow(8L, "Hans Voll", 20L, "Bienen", false, "20.00"));
+
+    @Test
+    void rank_ShouldApplyHardConstraints() {
+        // Arrange
+        DayAvailability availability = DayAvailability.build(DAY, staff, List.of(
+                entryRow(1L, DAY, "krank", null, null),
+                entryRow(4L, DAY, "Urlaub", null, null),
+                entryRow(5L, DAY.minusDays(1), "normal", LocalTime.of(14, 0), LocalTime.of(22, 0)),
+                entryRow(6L, DAY, "normal", LocalTime.of(6, 0), LocalTime.of(9, 0))),
+                AbsenceIndex.empty(), Map.of());
+
+        // Act
+        List<SubstituteCandidateDTO> candidates = availability.rank(EARLY, LATE, 10L, 1L, false, 10);
+
+        // Assert: sick, on leave, too little rest after a late shift, overlapping shift, Praktikantin
+        assertEquals(List.of(3L, 2L, 8L), ids(candidates));
+    }
+
+    @Test
+    void rank_ShouldPreferGroupThenNoOvertimeThenMostRemainingHours() {
+        // Arrange: Hans has booked his 20 hours already, Bernd has 24 of 39 hours left
+        DayAvailability availability = DayAvailability.build(DAY, staff, List.of(),
+                AbsenceIndex.empty(), Map.of(2L, 15 * 60, 8L, 20 * 60));
+
+        // Act
+        List<SubstituteCandidateDTO> candidates = availability.rank(EARLY, LATE, 10L, 1L, true, 10);
+
+        // Assert
+        assertEquals(List.of(4L, 6L, 3L, 5L, 2L, 8L, 7L), ids(candidates));
+        SubstituteCandidateDTO hans = candidates.get(5);
+        assertEquals(0, hans.getRemainingMinutes());
+        assertEquals(450, hans.getOvertimeMinutes());
+        assertTrue(candidates.get(0).getSameGroup());
+        assertEquals(Availability.FREE, candidates.get(0).getAvailability());
+    }
+
+    @Test
+    void rank_ShouldOfferExtensionAndDayOff() {
+        // Arrange: Fritz works 6:00-9:00, Bernd has a day off
+        DayAvailability availability = DayAvailability.build(DAY, staff, List.of(
+                entryRow(6L, DAY, "normal", LocalTime.of(6, 0), LocalTime.of(9, 0)),
+                entryRow(2L, DAY, "frei", null, null)),
+                AbsenceIndex.empty(), Map.of());
+
+        // Act
+        List<SubstituteCandidateDTO> afternoon = availability.rank(LocalTime.of(12, 0), LocalTime.of(17, 0),
+                null, null, false, 10);
+
+        // Assert
+        SubstituteCandidateDTO fritz = afternoon.stream().filter(c -> c.getStaffId() == 6L).findFirst().orElseThrow();
+        assertEquals(Availability.EXTEND, fritz.getAvailability());
+        assertEquals(Availability.DAY_OFF, afternoon.get(afternoon.size() - 1).getAvailability());
+        assertTrue(availability.rank(LocalTime.of(10, 0), LocalTime.of(18, 0), null, null, false, 10).stream()
+                .noneMatch(c -> c.getStaffId() == 6L), "would exceed 10 hours of work");
+    }
+
+    @Test
+    void rank_ShouldReportRestAndRejectInvalidWindows() {
+        // Arrange
+        DayAvailability availability = DayAvailability.build(DAY, staff, List.<Object[]>of(
+                entryRow(3L, DAY.plusDays(1), "normal", LocalTime.of(7, 0), LocalTime.of(15, 0))),
+                AbsenceIndex.empty(), Map.of());
+
+        // Act
+        List<SubstituteCandidateDTO> candidates = availability.rank(EARLY, LATE, null, null, false, 2);
+
+        // Assert
+        assertEquals(2, candidates.size());
+        SubstituteCandidateDTO clara = availability.rank(EARLY, LATE, 10L, null, false, 10).stream()
+                .filter(c -> c.getStaffId() == 3L).findFirst().orElseThrow();
+        assertEquals(16 * 60, clara.getRestAfterMinutes());
+        assertNull(clara.getRestBeforeMinutes());
+        assertTrue(availability.rank(LocalTime.of(6, 0), LocalTime.of(17, 30), null, null, false, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> availability.rank(LATE, EARLY, null, null, false, 10));
+    }
+
+    private static List<Long> ids(List<SubstituteCandidateDTO> candidates) {
+        return candidates.stream().map(SubstituteCandidateDTO::getStaffId).toList();
+    }
+
+    private static Object[] staffRow(Long id, String name, Long groupId, String groupName, boolean praktikant,
+                                     String weeklyHours) {
+        return new Object[]{id, name, "Erzieher", groupId, groupName, praktikant, new BigDecimal(weeklyHours)};
+    }
+
+    private static Object[] entryRow(Long staffId, LocalDate day, String status, LocalTime start, LocalTime end) {
+        return new Object[]{staffId, day, status, ScheduleEntry.minuteOfDay(start), ScheduleEntry.minuteOfDay(end), null};
+    }
+}
@@ -5,8 +5,35 @@
 -- Based on Flyway V1__Initial_Schema.sql
 -- ============================================================================
 
+-- ============================================================================
+-- id_sequences
+-- ============================================================================
+-- Never dropped: Hibernate keeps blocks of ids it took from here across test
+-- classes, so the counters must not go back while the JVM runs. Seeded before
+-- the DDL below, which commits the rows outside the test's transaction.
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT name, 1 FROM (VALUES ('age_groups'), ('staff'), ('weekly_schedules'), ('schedule_entries')) AS s(name)
+WHERE name NOT IN (SELECT sequence_name FROM id_sequences);
+
 -- Drop tables in reverse dependency order (for test cleanup)
+DROP TABLE IF EXISTS rollup_dirty_ranges;
+DROP TABLE IF EXISTS rollup_watermarks;
+DROP TABLE IF EXISTS schedule_rollups;
+DROP TABLE IF EXISTS staffing_rules;
+DROP TABLE IF EXISTS absences;
+DROP TABLE IF EXISTS closure_days;
+DROP TABLE IF EXISTS rotation_patterns;
+DROP TABLE IF EXISTS week_template_entries;
+DROP TABLE IF EXISTS week_templates;
+DROP TABLE IF EXISTS hours_account_periods;
+DROP TABLE IF EXISTS hours_accounts;
 DROP TABLE IF EXISTS schedule_entries;
+DROP TABLE IF EXISTS shift_types;
 DROP TABLE IF EXISTS staff;
 DROP TABLE IF EXISTS age_groups;
 DROP TABLE IF EXISTS weekly_schedules;
@@ -46,10 +73,12 @@ CREATE TABLE weekly_schedules (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_by VARCHAR(50),
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    archived_at TIMESTAMP NULL,
     CONSTRAINT unique_week UNIQUE (week_number, `YEAR`)
 );
 
 CREATE INDEX idx_weekly_schedules_dates ON weekly_schedules(start_date, end_date);
+CREATE INDEX idx_weekly_schedules_archived ON weekly_schedules(archived_at, end_date);
 
 -- ============================================================================
 -- TABLE 3: age_groups
@@ -105,7 +134,9 @@ CREATE TABLE schedule_entries (
     work_date DATE NOT NULL,
     start_time TIME,
     end_time TIME,
-    status VARCHAR(50) DEFAULT 'normal',
+    start_minute SMALLINT GENERATED ALWAYS AS (HOUR(start_time) * 60 + MINUTE(start_time)),
+    end_minute SMALLINT GENERATED ALWAYS AS (HOUR(end_time) * 60 + MINUTE(end_time)),
+    status TINYINT DEFAULT 1,
     working_hours_minutes INT DEFAULT 0,
     break_minutes INT DEFAULT 0,
     notes TEXT,
@@ -122,3 +153,212 @@ CREATE INDEX idx_schedule_entries_week ON schedule_entries(weekly_schedule_id);
 CREATE INDEX idx_schedule_entries_staff ON schedule_entries(staff_id);
 CREATE INDEX idx_schedule_entries_date ON schedule_entries(work_date);
 CREATE INDEX idx_schedule_entries_status ON schedule_entries(status);
+CREATE INDEX idx_schedule_entries_on_duty ON schedule_entries(work_date, start_minute, end_minute);
+
+-- ============================================================================
+-- TABLE 6: hours_accounts
+-- ============================================================================
+CREATE TABLE hours_accounts (
+    staff_id BIGINT PRIMARY KEY,
+    target_minutes INT NOT NULL DEFAULT 0,
+    actual_minutes INT NOT NULL DEFAULT 0,
+    balance_minutes INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_hours_accounts_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_hours_accounts_balance ON hours_accounts(balance_minutes);
+
+-- ============================================================================
+-- TABLE 7: hours_account_periods
+-- ============================================================================
+CREATE TABLE hours_account_periods (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    staff_id BIGINT NOT NULL,
+    period_type VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    target_minutes INT NOT NULL DEFAULT 0,
+    actual_minutes INT NOT NULL DEFAULT 0,
+    entry_count INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_hours_periods_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE,
+    CONSTRAINT unique_hours_period UNIQUE (staff_id, period_type, period_start)
+);
+
+-- ============================================================================
+-- TABLE 8: week_templates
+-- ============================================================================
+CREATE TABLE week_templates (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    description TEXT,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- ============================================================================
+-- TABLE 9: week_template_entries
+-- ============================================================================
+CREATE TABLE week_template_entries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    template_id BIGINT NOT NULL,
+    staff_id BIGINT NOT NULL,
+    day_of_week INT NOT NULL,
+    start_time TIME,
+    end_time TIME,
+    status TINYINT DEFAULT 1,
+    working_hours_minutes INT DEFAULT 0,
+    break_minutes INT DEFAULT 0,
+    CONSTRAINT fk_week_template_entries_template FOREIGN KEY (template_id) REFERENCES week_templates(id) ON DELETE CASCADE,
+    CONSTRAINT fk_week_template_entries_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE,
+    CONSTRAINT unique_week_template_entry UNIQUE (template_id, staff_id, day_of_week)
+);
+
+-- ============================================================================
+-- TABLE 10: shift_types (referenced by schedule_entries and week_template_entries)
+-- ============================================================================
+CREATE TABLE shift_types (
+    id SMALLINT AUTO_INCREMENT PRIMARY KEY,
+    code VARCHAR(20) NOT NULL UNIQUE,
+    name VARCHAR(50) NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    color VARCHAR(7),
+    is_active BOOLEAN DEFAULT TRUE,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE schedule_entries ADD COLUMN shift_type_id SMALLINT NULL;
+ALTER TABLE schedule_entries ADD CONSTRAINT fk_schedule_entries_shift_type
+    FOREIGN KEY (shift_type_id) REFERENCES shift_types(id) ON DELETE SET NULL;
+CREATE INDEX idx_schedule_entries_shift_type ON schedule_entries(shift_type_id);
+
+ALTER TABLE week_template_entries ADD COLUMN shift_type_id SMALLINT NULL;
+ALTER TABLE week_template_entries ADD CONSTRAINT fk_week_template_entries_shift_type
+    FOREIGN KEY (shift_type_id) REFERENCES shift_types(id) ON DELETE SET NULL;
+
+-- ============================================================================
+-- TABLE 11: rotation_patterns
+-- ============================================================================
+CREATE TABLE rotation_patterns (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    staff_id BIGINT NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    slots VARCHAR(500) NOT NULL,
+    valid_from DATE NOT NULL,
+    valid_until DATE,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_rotation_patterns_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_rotation_patterns_staff ON rotation_patterns(staff_id);
+
+-- ============================================================================
+-- TABLE 12: closure_days
+-- ============================================================================
+CREATE TABLE closure_days (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    closure_date DATE NOT NULL UNIQUE,
+    kind VARCHAR(20) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- ============================================================================
+-- TABLE 13: absences
+-- ============================================================================
+CREATE TABLE absences (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    staff_id BIGINT NOT NULL,
+    status TINYINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    weekdays SMALLINT NOT NULL DEFAULT 31,
+    notes VARCHAR(500),
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_absences_staff FOREIGN KEY (staff_id) REFERENCES staff(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_absences_staff_range ON absences(staff_id, start_date, end_date);
+CREATE INDEX idx_absences_range ON absences(start_date, end_date);
+
+-- ============================================================================
+-- TABLE 14: staffing_rules
+-- ============================================================================
+CREATE TABLE staffing_rules (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    group_id BIGINT,
+    weekdays SMALLINT NOT NULL DEFAULT 31,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    roles VARCHAR(255),
+    include_praktikanten BOOLEAN NOT NULL DEFAULT FALSE,
+    min_staff INT NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_by VARCHAR(50),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_by VARCHAR(50),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_staffing_rules_group FOREIGN KEY (group_id) REFERENCES age_groups(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_staffing_rules_group ON staffing_rules(group_id);
+
+-- ============================================================================
+-- TABLE 15: schedule_rollups
+-- ============================================================================
+CREATE TABLE schedule_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    granularity VARCHAR(5) NOT NULL,
+    period_start DATE NOT NULL,
+    dimension VARCHAR(5) NOT NULL,
+    dimension_key VARCHAR(100) NOT NULL,
+    worked_minutes INT NOT NULL DEFAULT 0,
+    break_minutes INT NOT NULL DEFAULT 0,
+    entry_days INT NOT NULL DEFAULT 0,
+    normal_days INT NOT NULL DEFAULT 0,
+    frei_days INT NOT NULL DEFAULT 0,
+    krank_days INT NOT NULL DEFAULT 0,
+    urlaub_days INT NOT NULL DEFAULT 0,
+    schule_days INT NOT NULL DEFAULT 0,
+    feiertag_days INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_schedule_rollup UNIQUE (granularity, dimension, dimension_key, period_start)
+);
+
+CREATE INDEX idx_schedule_rollups_period ON schedule_rollups(granularity, dimension, period_start);
+
+-- ============================================================================
+-- TABLE 16: rollup_watermarks
+-- ============================================================================
+CREATE TABLE rollup_watermarks (
+    name VARCHAR(50) PRIMARY KEY,
+    watermark TIMESTAMP(6),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- ============================================================================
+-- TABLE 17: rollup_dirty_ranges
+-- ============================================================================
+CREATE TABLE rollup_dirty_ranges (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -56,11 +56,11 @@ export class ScheduleEntryDialogComponent implements OnInit, OnDestroy {
   ];
 
   statusOptions = [
-    { value: 'NORMAL', label: 'Normal' },
-    { value: 'FREI', label: 'Frei' },
-    { value: 'URLAUB', label: 'Urlaub' },
-    { value: 'KRANK', label: 'Krank' },
-    { value: 'FORTBILDUNG', label: 'Fortbildung' }
+    { value: 'normal', label: 'Normal' },
+    { value: 'frei', label: 'Frei' },
+    { value: 'Urlaub', label: 'Urlaub' },
+    { value: 'krank', label: 'Krank' },
+    { value: 'Fortbildung', label: 'Fortbildung' }
   ];
 
   constructor(
@@ -93,7 +93,7 @@ export class ScheduleEntryDialogComponent implements OnInit, OnDestroy {
         dayOfWeek: this.data.entry.dayOfWeek,
         startTime: this.data.entry.startTime,
         endTime: this.data.entry.endTime,
-        status: this.data.entry.status || 'NORMAL',
+        status: this.data.entry.status || 'normal',
         notes: this.data.entry.notes || ''
       });
       this.updateWorkingHours();
@@ -103,7 +103,7 @@ export class ScheduleEntryDialogComponent implements OnInit, OnDestroy {
         dayOfWeek: 1, // Monday
         startTime: '08:00',
         endTime: '16:00',
-        status: 'NORMAL'
+        status: 'normal'
       });
       this.updateWorkingHours();
     }
@@ -120,7 +120,7 @@ export class ScheduleEntryDialogComponent implements OnInit, OnDestroy {
       dayOfWeek: ['', Validators.required],
       startTime: ['', [Validators.required, Validators.pattern(/^([0-1][0-9]|2[0-3]):[0-5][0-9]$/)]],
       endTime: ['', [Validators.required, Validators.pattern(/^([0-1][0-9]|2[0-3]):[0-5][0-9]$/)]],
-      status: ['NORMAL', Validators.required],
+      status: ['normal', Validators.required],
       notes: ['']
     }, { validators: this.timeRangeValidator });
   }
@@ -87,7 +87,7 @@ export class ScheduleTableComponent implements OnChanges {
   formatCellContent(entry: ScheduleEntry | undefined): string {
     if (!entry) return '';
 
-    if (entry.status === 'NORMAL') {
+    if (entry.status === 'normal') {
       // Show times in PDF format: "9:15 17:00" (space-separated, no leading zeros)
       const startTime = this.formatTime(entry.startTime);
       const endTime = this.formatTime(entry.endTime);
@@ -215,11 +215,11 @@ export class ScheduleTableComponent implements OnChanges {
    */
   getStatusIcon(status: string): string {
     const iconMap: { [key: string]: string } = {
-      'NORMAL': 'schedule',
-      'FREI': 'beach_access',
-      'KRANK': 'local_hospital',
-      'URLAUB': 'flight_takeoff',
-      'FORTBILDUNG': 'school'
+      'normal': 'schedule',
+      'frei': 'beach_access',
+      'krank': 'local_hospital',
+      'Urlaub': 'flight_takeoff',
+      'Fortbildung': 'school'
     };
     return iconMap[status] || 'event';
   }
@@ -228,7 +228,7 @@ export class ScheduleTableComponent implements OnChanges {
    * Calculate work hours from start and end time
    */
   getWorkHours(entry: ScheduleEntry): string {
-    if (entry.status !== 'NORMAL' || !entry.startTime || !entry.endTime) {
+    if (entry.status !== 'normal' || !entry.startTime || !entry.endTime) {
       return '';
     }
 
@@ -66,6 +66,7 @@ export interface WeeklySchedule {
   updatedBy?: string;
   createdAt?: string;
   updatedAt?: string;
+  archivedAt?: string; // set while the entries are held in the archive (read-only)
 }
 
 export interface ScheduleEntry {
@@ -79,14 +80,21 @@ export interface ScheduleEntry {
   workDate: string;
   startTime: string;
   endTime: string;
+  // Minutes since midnight, sent instead of startTime/endTime when requested with minuteTimes=true
+  startMinute?: number;
+  endMinute?: number;
   status: string;
   workingHoursMinutes: number;
   breakMinutes: number;
   workingHoursFormatted: string;
   breakTimeFormatted: string;
   notes?: string;
+  shiftTypeId?: number;
+  specialDay?: string;
+  absenceId?: number;
   createdBy?: string;
   updatedBy?: string;
+  violations?: ComplianceViolation[];
 }
 
 export interface CreateScheduleEntryRequest {
@@ -96,6 +104,7 @@ export interface CreateScheduleEntryRequest {
   workDate: string;
   startTime: string;
   endTime: string;
+  shiftTypeId?: number;
   status: string;
   notes?: string;
 }
@@ -103,6 +112,7 @@ export interface CreateScheduleEntryRequest {
 export interface UpdateScheduleEntryRequest {
   startTime?: string;
   endTime?: string;
+  shiftTypeId?: number;
   status?: string;
   notes?: string;
 }
@@ -117,4 +127,475 @@ export interface DailyTotal {
   hoursWithPraktikanten: string;
   staffCountWithoutPraktikanten: number;
   totalStaffCount: number;
+  specialDayKind?: DayKind;
+  specialDayName?: string;
+}
+
+export interface WeeklyStaffTotal {
+  staffId: number;
+  fullName: string;
+  role: string;
+  groupName?: string;
+  totalWorkingMinutes: number;
+  totalBreakMinutes: number;
+  totalHoursFormatted: string;
+  totalBreakFormatted: string;
+  daysWorked: number;
+  daysSick: number;
+  daysOff: number;
+  schoolDays: number;
+}
+
+// Compact week matrix (GET /schedules/week/{year}/{week}/matrix)
+// Per-day arrays are indexed by position in `staff`; -1 marks an empty cell.
+export interface WeekMatrixStaff {
+  id: number;
+  name: string;
+  role: string;
+  groupName?: string;
+  praktikant: boolean;
+  weeklyMinutes: number;
+}
+
+export interface WeekMatrixDay {
+  dayOfWeek: number;
+  workDate: string;
+  entryIds: number[];
+  start: number[];
+  end: number[];
+  status: number[];
+  workingMinutes: number[];
+  breakMinutes: number[];
+  totalMinutesWithoutPraktikanten: number;
+  totalMinutesWithPraktikanten: number;
+  staffCountWithoutPraktikanten: number;
+  totalStaffCount: number;
+  specialDayKind?: DayKind;
+  specialDayName?: string;
+}
+
+export interface WeekMatrix {
+  weeklyScheduleId: number;
+  weekNumber: number;
+  year: number;
+  startDate: string;
+  statuses: string[];
+  staff: WeekMatrixStaff[];
+  days: WeekMatrixDay[];
+}
+
+export interface ExportJob {
+  id: string;
+  format: 'CSV' | 'XLSX';
+  startDate: string;
+  endDate: string;
+  createdAt: string;
+  status: 'QUEUED' | 'RUNNING' | 'DONE' | 'FAILED';
+  finishedAt?: string;
+  error?: string;
+  fileName: string;
+  done: boolean;
+}
+
+export interface HoursBalance {
+  staffId: number;
+  staffName: string;
+  weeklyHours?: number;
+  targetMinutes: number;
+  actualMinutes: number;
+  balanceMinutes: number;
+  balanceFormatted: string;
+}
+
+export interface HoursPeriod {
+  periodType: 'WEEK' | 'MONTH';
+  periodStart: string;
+  targetMinutes: number;
+  actualMinutes: number;
+  balanceMinutes: number;
+  runningBalanceMinutes: number;
+  runningBalanceFormatted: string;
+  entryCount: number;
+}
+
+export type ComplianceRule = 'MAX_DAILY_WORK' | 'MIN_BREAK' | 'MIN_REST' | 'OVERLAP';
+
+export interface ComplianceViolation {
+  staffId: number;
+  entryId?: number;
+  relatedEntryId?: number;
+  workDate: string;
+  rule: ComplianceRule;
+  actualMinutes: number;
+  limitMinutes: number;
+  message: string;
+}
+
+export interface ComplianceReport {
+  startDate: string;
+  endDate: string;
+  staffCount: number;
+  shiftCount: number;
+  violationCount: number;
+  violationsByRule: Partial<Record<ComplianceRule, number>>;
+  violations: ComplianceViolation[];
+}
+
+export interface WeekCopyRequest {
+  targetYear: number;
+  targetWeek: number;
+  staffIds?: number[];
+  resetStatus?: boolean;
+  replaceExisting?: boolean;
+}
+
+export interface WeekCopyResult {
+  weeklyScheduleId: number;
+  year: number;
+  weekNumber: number;
+  startDate: string;
+  weekCreated: boolean;
+  deletedEntries: number;
+  copiedEntries: number;
+}
+
+export interface WeekTemplate {
+  id: number;
+  name: string;
+  description?: string;
+  entryCount: number;
+  staffCount: number;
+  createdBy?: string;
+  createdAt?: string;
+}
+
+export interface CreateWeekTemplateRequest {
+  name: string;
+  description?: string;
+  sourceYear: number;
+  sourceWeek: number;
+  staffIds?: number[];
+}
+
+export interface ShiftType {
+  id: number;
+  code: string;
+  name: string;
+  startTime: string;
+  endTime: string;
+  workingMinutes: number;
+  breakMinutes: number;
+  color?: string;
+  isActive: boolean;
+}
+
+export interface ShiftTypeUsage {
+  shiftTypeId: number;
+  code: string;
+  name: string;
+  entryCount: number;
+  workingMinutes: number;
+  workingHoursFormatted: string;
+}
+
+export interface RotationPattern {
+  id: number;
+  staffId: number;
+  staffName: string;
+  name: string;
+  slots: string[]; // shift codes, '-' for a free day
+  validFrom: string;
+  validUntil?: string;
+  isActive: boolean;
+}
+
+export interface RotationPatternRequest {
+  staffId?: number;
+  name?: string;
+  slots?: string[];
+  validFrom?: string;
+  validUntil?: string;
+  isActive?: boolean;
+}
+
+export interface RotationExpansionResult {
+  startDate: string;
+  endDate: string;
+  patternCount: number;
+  weeksCreated: number;
+  entriesCreated: number;
+  skippedSlots: number;
+}
+
+// Holidays and closure days (/holidays)
+export type DayKind = 'HOLIDAY' | 'CLOSURE' | 'TEAM_DAY';
+
+export interface SpecialDay {
+  date: string;
+  kind: DayKind;
+  name: string;
+  closed: boolean;
+  closureDayId?: number;
+}
+
+export interface ClosureDayRequest {
+  date: string;
+  kind: Exclude<DayKind, 'HOLIDAY'>;
+  name: string;
+}
+
+export interface HolidayFillResult {
+  year: number;
+  closedDays: number;
+  weeksCreated: number;
+  entriesCreated: number;
+  entriesConverted: number;
+}
+
+// Absence ranges (/absences)
+export type AbsenceStatus = 'krank' | 'Urlaub' | 'Schule' | 'Fachschule';
+
+export interface Absence {
+  id: number;
+  staffId: number;
+  staffName: string;
+  status: AbsenceStatus;
+  startDate: string;
+  endDate: string;
+  weekdays: number[]; // 1 = Monday ... 7 = Sunday
+  notes?: string;
+}
+
+export interface AbsenceRequest {
+  staffId: number;
+  status: AbsenceStatus;
+  startDate: string;
+  endDate: string;
+  weekdays?: number[];
+  notes?: string;
+}
+
+export interface AbsenceCompactionResult {
+  startDate: string;
+  endDate: string;
+  rangesCreated: number;
+  entriesRemoved: number;
+}
+
+// Substitute finder (/substitutes)
+export type SubstituteAvailability = 'FREE' | 'EXTEND' | 'DAY_OFF';
+
+export interface SubstituteQuery {
+  date: string;
+  start: string; // HH:mm
+  end: string;
+  absentStaffId?: number;
+  groupId?: number;
+  includePraktikanten?: boolean;
+  limit?: number;
+}
+
+export interface SubstituteCandidate {
+  staffId: number;
+  staffName: string;
+  role: string;
+  groupName?: string;
+  praktikant: boolean;
+  sameGroup: boolean;
+  availability: SubstituteAvailability;
+  remainingMinutes: number;
+  overtimeMinutes: number;
+  restBeforeMinutes?: number;
+  restAfterMinutes?: number;
+}
+
+// Staffing rules (/staffing)
+export interface StaffingRule {
+  id?: number;
+  name: string;
+  groupId?: number; // whole Kita if not set
+  groupName?: string;
+  weekdays?: number[]; // 1 = Monday ... 7 = Sunday, default Monday-Friday
+  startTime: string;
+  endTime: string;
+  roles?: string[]; // any role if empty
+  includePraktikanten?: boolean;
+  minStaff: number;
+  active?: boolean;
+}
+
+export interface StaffingGap {
+  startTime: string;
+  endTime: string;
+  present: number;
+  required: number;
+}
+
+export interface StaffingRuleDay {
+  ruleId: number;
+  ruleName: string;
+  groupName?: string;
+  dayOfWeek: number; // 0 = Monday
+  workDate: string;
+  startTime: string;
+  endTime: string;
+  minStaff: number;
+  satisfied: boolean;
+  counts: number[]; // qualifying staff per slot
+  gaps: StaffingGap[];
+}
+
+export interface StaffingReport {
+  weeklyScheduleId: number;
+  weekNumber: number;
+  year: number;
+  slotMinutes: number;
+  satisfied: boolean;
+  failingSlots: number;
+  days: StaffingRuleDay[];
+}
+
+// What-if sandboxes (/sandboxes)
+export interface Sandbox {
+  id: string;
+  weeklyScheduleId: number;
+  weekNumber: number;
+  year: number;
+  changes: number;
+  entries: ScheduleEntry[]; // entries added in the sandbox have negative ids
+  dailyTotals: DailyTotal[];
+  staffing: StaffingReport;
+}
+
+export interface SandboxEntryRequest {
+  staffId?: number;
+  dayOfWeek?: number; // 0 = Monday
+  startTime?: string;
+  endTime?: string;
+  status?: string;
+  notes?: string;
+  shiftTypeId?: number;
+}
+
+export interface SandboxCommitResult {
+  weeklyScheduleId: number;
+  entriesCreated: number;
+  entriesUpdated: number;
+  entriesDeleted: number;
+  violations?: ComplianceViolation[];
+}
+
+// History analytics (/history)
+export type HistoryDimension = 'YEAR' | 'MONTH' | 'WEEKDAY' | 'STAFF' | 'GROUP' | 'STATUS';
+
+export interface HistoryQuery {
+  from: string;
+  to: string;
+  statuses?: string[];
+  groupBy?: HistoryDimension[]; // at most two
+  groupId?: number;
+  staffId?: number;
+  includePraktikanten?: boolean;
+}
+
+export interface HistoryBucket {
+  keys: (string | null)[];
+  labels: (string | null)[];
+  entries: number;
+  workingMinutes: number;
+}
+
+export interface HistoryAggregate {
+  from: string;
+  to: string;
+  groupBy: HistoryDimension[];
+  buckets: HistoryBucket[];
+  scannedRows: number;
+  elapsedMicros: number;
+}
+
+export interface HistoryYearStats {
+  year: number;
+  rows: number;
+  bytes: number;
+}
+
+export interface HistoryStats {
+  loaded: boolean;
+  rows: number;
+  bytes: number;
+  bytesPerRow?: number;
+  years: HistoryYearStats[];
+}
+
+// Schedule rollups (GET /rollups); periods are keyed by their first day, weeks by their Monday
+export type RollupGranularity = 'DAY' | 'WEEK' | 'MONTH' | 'YEAR';
+export type RollupDimension = 'STAFF' | 'GROUP' | 'ROLE';
+
+export interface Rollup {
+  granularity: RollupGranularity;
+  periodStart: string;
+  dimension: RollupDimension;
+  key: string; // staff id, group id ('0' = no group) or role
+  label?: string;
+  workedMinutes: number;
+  breakMinutes: number;
+  entryDays: number;
+  normalDays: number;
+  freiDays: number;
+  krankDays: number;
+  urlaubDays: number;
+  schuleDays: number;
+  feiertagDays: number;
+}
+
+export interface RollupRefreshResult {
+  fullRebuild: boolean;
+  daysRefreshed: number;
+  periodsRefreshed: number;
+  rowsWritten: number;
+  watermark: string;
+  elapsedMillis: number;
+}
+
+// Yearly partitions of schedule entries (MySQL only; empty elsewhere)
+export interface SchedulePartition {
+  name: string;
+  year?: number;       // absent for the catch-all partition
+  upperBound?: string; // exclusive; absent for MAXVALUE
+  rows: number;
+  dataBytes: number;
+  indexBytes: number;
+}
+
+export interface PartitionMaintenanceResult {
+  supported: boolean;
+  created: string[];
+  archived: string[];
+  dropped: string[];
+  partitions: SchedulePartition[];
+}
+
+// Archive of finished weeks, one segment file per year
+export interface ArchiveSegment {
+  year: number;
+  fileName: string;
+  fileBytes: number;
+  weeks: number;
+  entries: number;
+  rawBytes: number; // uncompressed size of the weeks held
+}
+
+// Connection pool of one workload (interactive, reporting, batch)
+export interface WorkloadPool {
+  workload: string;
+  maxPoolSize: number;
+  connectionTimeoutMs: number;
+  active: number;
+  idle: number;
+  waiting: number;     // threads waiting for a connection
+  acquired: number;
+  timeouts: number;
+  averageWaitMs: number;
+  maxWaitMs: number;
 }
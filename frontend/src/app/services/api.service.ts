@@ -1,5 +1,5 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpParams } from '@angular/common/http';
+import { HttpClient, HttpParams, HttpResponse } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../environments/environment';
 import {
@@ -9,7 +9,47 @@ import {
   ScheduleEntry,
   CreateScheduleEntryRequest,
   UpdateScheduleEntryRequest,
-  DailyTotal
+  DailyTotal,
+  WeeklyStaffTotal,
+  WeekMatrix,
+  ExportJob,
+  HoursBalance,
+  HoursPeriod,
+  ComplianceReport,
+  ComplianceViolation,
+  WeekCopyRequest,
+  WeekCopyResult,
+  WeekTemplate,
+  CreateWeekTemplateRequest,
+  ShiftType,
+  ShiftTypeUsage,
+  RotationPattern,
+  RotationPatternRequest,
+  RotationExpansionResult,
+  SpecialDay,
+  ClosureDayRequest,
+  HolidayFillResult,
+  Absence,
+  AbsenceRequest,
+  AbsenceCompactionResult,
+  StaffingReport,
+  StaffingRule,
+  Sandbox,
+  SandboxEntryRequest,
+  SandboxCommitResult,
+  HistoryQuery,
+  HistoryAggregate,
+  HistoryStats,
+  Rollup,
+  RollupGranularity,
+  RollupDimension,
+  RollupRefreshResult,
+  SchedulePartition,
+  PartitionMaintenanceResult,
+  ArchiveSegment,
+  WorkloadPool,
+  SubstituteCandidate,
+  SubstituteQuery
 } from '../models/models';
 
 @Injectable({
@@ -49,6 +89,14 @@ export class ApiService {
     return this.http.delete<void>(`${this.baseUrl}/staff/${id}`);
   }
 
+  archiveStaff(id: number, terminationDate?: string): Observable<Staff> {
+    let params = new HttpParams();
+    if (terminationDate) {
+      params = params.set('terminationDate', terminationDate);
+    }
+    return this.http.post<Staff>(`${this.baseUrl}/staff/${id}/archive`, null, { params });
+  }
+
   // Group endpoints
   getAllGroups(): Observable<Group[]> {
     return this.http.get<Group[]>(`${this.baseUrl}/age-groups`);
@@ -104,6 +152,18 @@ export class ApiService {
     return this.http.get<ScheduleEntry[]>(`${this.baseUrl}/schedules/week/${year}/${week}`);
   }
 
+  getWeekMatrix(year: number, week: number): Observable<WeekMatrix> {
+    return this.http.get<WeekMatrix>(`${this.baseUrl}/schedules/week/${year}/${week}/matrix`);
+  }
+
+  getWeekPdf(year: number, week: number): Observable<Blob> {
+    return this.http.get(`${this.baseUrl}/schedules/week/${year}/${week}/pdf`, { responseType: 'blob' });
+  }
+
+  getYearPdfs(year: number): Observable<Blob> {
+    return this.http.get(`${this.baseUrl}/schedules/year/${year}/pdf`, { responseType: 'blob' });
+  }
+
   getStaffWeekSchedule(staffId: number, year: number, week: number): Observable<ScheduleEntry[]> {
     return this.http.get<ScheduleEntry[]>(`${this.baseUrl}/schedules/staff/${staffId}/week/${year}/${week}`);
   }
@@ -119,10 +179,21 @@ export class ApiService {
     return this.http.get<ScheduleEntry[]>(`${this.baseUrl}/schedules/on-duty`, { params });
   }
 
+  getEntriesByStatus(status: string, startDate: string, endDate: string): Observable<ScheduleEntry[]> {
+    const params = new HttpParams()
+      .set('startDate', startDate)
+      .set('endDate', endDate);
+    return this.http.get<ScheduleEntry[]>(`${this.baseUrl}/schedules/status/${encodeURIComponent(status)}`, { params });
+  }
+
   getDailyTotals(year: number, week: number): Observable<DailyTotal[]> {
     return this.http.get<DailyTotal[]>(`${this.baseUrl}/schedules/daily-totals/${year}/${week}`);
   }
 
+  getWeeklyStaffTotals(year: number, week: number): Observable<WeeklyStaffTotal[]> {
+    return this.http.get<WeeklyStaffTotal[]>(`${this.baseUrl}/schedules/weekly-staff-totals/${year}/${week}`);
+  }
+
   createScheduleEntry(entry: CreateScheduleEntryRequest): Observable<ScheduleEntry> {
     return this.http.post<ScheduleEntry>(`${this.baseUrl}/schedules/entries`, entry);
   }
@@ -134,4 +205,335 @@ export class ApiService {
   deleteScheduleEntry(id: number): Observable<void> {
     return this.http.delete<void>(`${this.baseUrl}/schedules/entries/${id}`);
   }
+
+  // Calendar feed endpoints
+  getStaffCalendarSubscription(staffId: number): Observable<{ url: string }> {
+    return this.http.get<{ url: string }>(`${this.baseUrl}/calendar/staff/${staffId}/subscription`);
+  }
+
+  getGroupCalendarSubscription(groupId: number): Observable<{ url: string }> {
+    return this.http.get<{ url: string }>(`${this.baseUrl}/calendar/groups/${groupId}/subscription`);
+  }
+
+  // Payroll export endpoints
+  exportPayroll(startDate: string, endDate: string, format: 'csv' | 'xlsx'): Observable<HttpResponse<Blob>> {
+    return this.http.get(`${this.baseUrl}/exports/payroll`, {
+      params: { startDate, endDate, format },
+      observe: 'response',
+      responseType: 'blob'
+    });
+  }
+
+  submitPayrollExportJob(startDate: string, endDate: string, format: 'csv' | 'xlsx'): Observable<ExportJob> {
+    return this.http.post<ExportJob>(`${this.baseUrl}/exports/payroll/jobs`, null, {
+      params: { startDate, endDate, format }
+    });
+  }
+
+  getExportJob(id: string): Observable<ExportJob> {
+    return this.http.get<ExportJob>(`${this.baseUrl}/exports/jobs/${id}`);
+  }
+
+  downloadExportJob(id: string): Observable<Blob> {
+    return this.http.get(`${this.baseUrl}/exports/jobs/${id}/download`, { responseType: 'blob' });
+  }
+
+  // Hours account endpoints
+  getHoursBalance(staffId: number): Observable<HoursBalance> {
+    return this.http.get<HoursBalance>(`${this.baseUrl}/hours-accounts/staff/${staffId}`);
+  }
+
+  getHoursHistory(staffId: number, period: 'WEEK' | 'MONTH', startDate: string, endDate: string): Observable<HoursPeriod[]> {
+    return this.http.get<HoursPeriod[]>(`${this.baseUrl}/hours-accounts/staff/${staffId}/history`, {
+      params: { period, startDate, endDate }
+    });
+  }
+
+  getHoursOutliers(thresholdMinutes = 600, limit = 20): Observable<HoursBalance[]> {
+    return this.http.get<HoursBalance[]>(`${this.baseUrl}/hours-accounts/outliers`, {
+      params: { thresholdMinutes, limit }
+    });
+  }
+
+  // Working-time compliance endpoints
+  getComplianceWeekReport(year: number, week: number): Observable<ComplianceReport> {
+    return this.http.get<ComplianceReport>(`${this.baseUrl}/compliance/week/${year}/${week}`);
+  }
+
+  getStaffComplianceViolations(staffId: number, year: number, week: number): Observable<ComplianceViolation[]> {
+    return this.http.get<ComplianceViolation[]>(`${this.baseUrl}/compliance/staff/${staffId}/week/${year}/${week}`);
+  }
+
+  getComplianceYearReport(year: number): Observable<ComplianceReport> {
+    return this.http.get<ComplianceReport>(`${this.baseUrl}/compliance/year/${year}`);
+  }
+
+  // Week copy and template endpoints
+  copyWeek(year: number, week: number, request: WeekCopyRequest): Observable<WeekCopyResult> {
+    return this.http.post<WeekCopyResult>(`${this.baseUrl}/schedules/week/${year}/${week}/copy`, request);
+  }
+
+  getWeekTemplates(): Observable<WeekTemplate[]> {
+    return this.http.get<WeekTemplate[]>(`${this.baseUrl}/week-templates`);
+  }
+
+  createWeekTemplate(request: CreateWeekTemplateRequest): Observable<WeekTemplate> {
+    return this.http.post<WeekTemplate>(`${this.baseUrl}/week-templates`, request);
+  }
+
+  applyWeekTemplate(id: number, request: WeekCopyRequest): Observable<WeekCopyResult> {
+    return this.http.post<WeekCopyResult>(`${this.baseUrl}/week-templates/${id}/apply`, request);
+  }
+
+  deleteWeekTemplate(id: number): Observable<void> {
+    return this.http.delete<void>(`${this.baseUrl}/week-templates/${id}`);
+  }
+
+  // Shift catalogue and rotation endpoints
+  getShiftTypes(): Observable<ShiftType[]> {
+    return this.http.get<ShiftType[]>(`${this.baseUrl}/shift-types`);
+  }
+
+  createShiftType(shiftType: Partial<ShiftType>): Observable<ShiftType> {
+    return this.http.post<ShiftType>(`${this.baseUrl}/shift-types`, shiftType);
+  }
+
+  updateShiftType(id: number, shiftType: Partial<ShiftType>): Observable<ShiftType> {
+    return this.http.put<ShiftType>(`${this.baseUrl}/shift-types/${id}`, shiftType);
+  }
+
+  getShiftTypeUsage(startDate: string, endDate: string): Observable<ShiftTypeUsage[]> {
+    return this.http.get<ShiftTypeUsage[]>(`${this.baseUrl}/shift-types/usage`, {
+      params: { startDate, endDate }
+    });
+  }
+
+  getRotationPatterns(staffId?: number): Observable<RotationPattern[]> {
+    const params: Record<string, number> = staffId !== undefined ? { staffId } : {};
+    return this.http.get<RotationPattern[]>(`${this.baseUrl}/rotations`, { params });
+  }
+
+  createRotationPattern(request: RotationPatternRequest): Observable<RotationPattern> {
+    return this.http.post<RotationPattern>(`${this.baseUrl}/rotations`, request);
+  }
+
+  updateRotationPattern(id: number, request: RotationPatternRequest): Observable<RotationPattern> {
+    return this.http.put<RotationPattern>(`${this.baseUrl}/rotations/${id}`, request);
+  }
+
+  deleteRotationPattern(id: number): Observable<void> {
+    return this.http.delete<void>(`${this.baseUrl}/rotations/${id}`);
+  }
+
+  expandRotations(startDate: string, endDate: string, staffIds?: number[]): Observable<RotationExpansionResult> {
+    return this.http.post<RotationExpansionResult>(`${this.baseUrl}/rotations/expand`, { startDate, endDate, staffIds });
+  }
+
+  getHolidays(year: number): Observable<SpecialDay[]> {
+    return this.http.get<SpecialDay[]>(`${this.baseUrl}/holidays/${year}`);
+  }
+
+  addClosureDay(request: ClosureDayRequest): Observable<SpecialDay> {
+    return this.http.post<SpecialDay>(`${this.baseUrl}/holidays/closure-days`, request);
+  }
+
+  deleteClosureDay(id: number): Observable<void> {
+    return this.http.delete<void>(`${this.baseUrl}/holidays/closure-days/${id}`);
+  }
+
+  fillHolidays(year: number, convertPlanned = true): Observable<HolidayFillResult> {
+    return this.http.post<HolidayFillResult>(`${this.baseUrl}/holidays/${year}/fill`, null, {
+      params: { convertPlanned }
+    });
+  }
+
+  // Absence range endpoints
+  getAbsences(startDate: string, endDate: string): Observable<Absence[]> {
+    return this.http.get<Absence[]>(`${this.baseUrl}/absences`, { params: { startDate, endDate } });
+  }
+
+  getStaffAbsences(staffId: number): Observable<Absence[]> {
+    return this.http.get<Absence[]>(`${this.baseUrl}/absences`, { params: { staffId } });
+  }
+
+  createAbsence(request: AbsenceRequest): Observable<Absence> {
+    return this.http.post<Absence>(`${this.baseUrl}/absences`, request);
+  }
+
+  updateAbsence(id: number, request: Partial<AbsenceRequest>): Observable<Absence> {
+    return this.http.put<Absence>(`${this.baseUrl}/absences/${id}`, request);
+  }
+
+  deleteAbsence(id: number): Observable<void> {
+    return this.http.delete<void>(`${this.baseUrl}/absences/${id}`);
+  }
+
+  compactAbsences(startDate: string, endDate: string): Observable<AbsenceCompactionResult> {
+    return this.http.post<AbsenceCompactionResult>(`${this.baseUrl}/absences/compact`, null, {
+      params: { startDate, endDate }
+    });
+  }
+
+  // Substitute finder endpoints
+  findSubstitutes(query: SubstituteQuery): Observable<SubstituteCandidate[]> {
+    let params = new HttpParams()
+      .set('date', query.date)
+      .set('start', query.start)
+      .set('end', query.end);
+    if (query.absentStaffId != null) {
+      params = params.set('absentStaffId', query.absentStaffId);
+    }
+    if (query.groupId != null) {
+      params = params.set('groupId', query.groupId);
+    }
+    if (query.includePraktikanten) {
+      params = params.set('includePraktikanten', true);
+    }
+    if (query.limit != null) {
+      params = params.set('limit', query.limit);
+    }
+    return this.http.get<SubstituteCandidate[]>(`${this.baseUrl}/substitutes`, { params });
+  }
+
+  warmSubstitutes(startDate: string, endDate: string): Observable<void> {
+    return this.http.post<void>(`${this.baseUrl}/substitutes/warm`, null, { params: { startDate, endDate } });
+  }
+
+  // Staffing rule endpoints
+  getStaffingRules(): Observable<StaffingRule[]> {
+    return this.http.get<StaffingRule[]>(`${this.baseUrl}/staffing/rules`);
+  }
+
+  createStaffingRule(rule: StaffingRule): Observable<StaffingRule> {
+    return this.http.post<StaffingRule>(`${this.baseUrl}/staffing/rules`, rule);
+  }
+
+  updateStaffingRule(id: number, rule: StaffingRule): Observable<StaffingRule> {
+    return this.http.put<StaffingRule>(`${this.baseUrl}/staffing/rules/${id}`, rule);
+  }
+
+  deleteStaffingRule(id: number): Observable<void> {
+    return this.http.delete<void>(`${this.baseUrl}/staffing/rules/${id}`);
+  }
+
+  getStaffingReport(year: number, week: number): Observable<StaffingReport> {
+    return this.http.get<StaffingReport>(`${this.baseUrl}/staffing/week/${year}/${week}`);
+  }
+
+  // What-if sandbox endpoints
+  openSandbox(year: number, week: number): Observable<Sandbox> {
+    return this.http.post<Sandbox>(`${this.baseUrl}/sandboxes/week/${year}/${week}`, null);
+  }
+
+  getSandbox(id: string): Observable<Sandbox> {
+    return this.http.get<Sandbox>(`${this.baseUrl}/sandboxes/${id}`);
+  }
+
+  addSandboxEntry(id: string, request: SandboxEntryRequest): Observable<Sandbox> {
+    return this.http.post<Sandbox>(`${this.baseUrl}/sandboxes/${id}/entries`, request);
+  }
+
+  updateSandboxEntry(id: string, entryId: number, request: SandboxEntryRequest): Observable<Sandbox> {
+    return this.http.put<Sandbox>(`${this.baseUrl}/sandboxes/${id}/entries/${entryId}`, request);
+  }
+
+  deleteSandboxEntry(id: string, entryId: number): Observable<Sandbox> {
+    return this.http.delete<Sandbox>(`${this.baseUrl}/sandboxes/${id}/entries/${entryId}`);
+  }
+
+  commitSandbox(id: string): Observable<SandboxCommitResult> {
+    return this.http.post<SandboxCommitResult>(`${this.baseUrl}/sandboxes/${id}/commit`, null);
+  }
+
+  discardSandbox(id: string): Observable<void> {
+    return this.http.delete<void>(`${this.baseUrl}/sandboxes/${id}`);
+  }
+
+  // History analytics endpoints
+  getHistoryAggregate(query: HistoryQuery): Observable<HistoryAggregate> {
+    let params = new HttpParams()
+      .set('from', query.from)
+      .set('to', query.to);
+    (query.statuses ?? []).forEach(status => params = params.append('status', status));
+    (query.groupBy ?? []).forEach(dimension => params = params.append('groupBy', dimension));
+    if (query.groupId != null) {
+      params = params.set('groupId', query.groupId);
+    }
+    if (query.staffId != null) {
+      params = params.set('staffId', query.staffId);
+    }
+    if (query.includePraktikanten === false) {
+      params = params.set('includePraktikanten', false);
+    }
+    return this.http.get<HistoryAggregate>(`${this.baseUrl}/history/aggregate`, { params });
+  }
+
+  getHistoryStats(): Observable<HistoryStats> {
+    return this.http.get<HistoryStats>(`${this.baseUrl}/history/stats`);
+  }
+
+  reloadHistory(): Observable<HistoryStats> {
+    return this.http.post<HistoryStats>(`${this.baseUrl}/history/reload`, null);
+  }
+
+  // Rollup reporting endpoints
+  getRollups(granularity: RollupGranularity, dimension: RollupDimension, from: string, to: string,
+             key?: string): Observable<Rollup[]> {
+    let params = new HttpParams()
+      .set('granularity', granularity)
+      .set('dimension', dimension)
+      .set('from', from)
+      .set('to', to);
+    if (key != null) {
+      params = params.set('key', key);
+    }
+    return this.http.get<Rollup[]>(`${this.baseUrl}/rollups`, { params });
+  }
+
+  refreshRollups(): Observable<RollupRefreshResult> {
+    return this.http.post<RollupRefreshResult>(`${this.baseUrl}/rollups/refresh`, null);
+  }
+
+  rebuildRollups(): Observable<RollupRefreshResult> {
+    return this.http.post<RollupRefreshResult>(`${this.baseUrl}/rollups/rebuild`, null);
+  }
+
+  // Schedule entry partition endpoints
+  getPartitions(): Observable<SchedulePartition[]> {
+    return this.http.get<SchedulePartition[]>(`${this.baseUrl}/partitions`);
+  }
+
+  maintainPartitions(): Observable<PartitionMaintenanceResult> {
+    return this.http.post<PartitionMaintenanceResult>(`${this.baseUrl}/partitions/maintain`, null);
+  }
+
+  archivePartitionYear(year: number): Observable<void> {
+    return this.http.post<void>(`${this.baseUrl}/partitions/${year}/archive`, null);
+  }
+
+  dropPartitionYear(year: number): Observable<void> {
+    return this.http.delete<void>(`${this.baseUrl}/partitions/${year}`);
+  }
+
+  // Week archive endpoints
+  getArchiveSegments(): Observable<ArchiveSegment[]> {
+    return this.http.get<ArchiveSegment[]>(`${this.baseUrl}/archive`);
+  }
+
+  archiveEligibleWeeks(): Observable<WeeklySchedule[]> {
+    return this.http.post<WeeklySchedule[]>(`${this.baseUrl}/archive/run`, null);
+  }
+
+  archiveWeek(weeklyScheduleId: number): Observable<WeeklySchedule> {
+    return this.http.post<WeeklySchedule>(`${this.baseUrl}/archive/weeks/${weeklyScheduleId}`, null);
+  }
+
+  restoreArchivedWeek(weeklyScheduleId: number): Observable<WeeklySchedule> {
+    return this.http.post<WeeklySchedule>(`${this.baseUrl}/archive/weeks/${weeklyScheduleId}/restore`, null);
+  }
+
+  // Workload pool endpoints
+  getWorkloadPools(): Observable<WorkloadPool[]> {
+    return this.http.get<WorkloadPool[]>(`${this.baseUrl}/workloads`);
+  }
 }